@@ -267,6 +267,10 @@ public final class Array2D<N extends Comparable<N>> implements Access2D.Visitabl
             return TensorFactory2D.of(this);
         }
 
+        public Array2D<N> wrap(final BasicArray<N> array, final long structure) {
+            return array.wrapInArray2D(structure);
+        }
+
     }
 
     public static final Factory<ComplexNumber> C128 = Array2D.factory(ArrayC128.FACTORY);
@@ -42,6 +42,7 @@ import org.ojalgo.function.NullaryFunction;
 import org.ojalgo.function.PrimitiveFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.special.PowerOf2;
 import org.ojalgo.function.aggregator.AggregatorSet;
 import org.ojalgo.function.aggregator.PrimitiveAggregator;
 import org.ojalgo.function.constant.PrimitiveMath;
@@ -164,9 +165,23 @@ public abstract class BufferArray extends PlainArray<Double> implements AutoClos
             return (BufferArray) super.make(count);
         }
 
+        /**
+         * Maps the file as a sequence of segments rather than as a single buffer. Use this when the total
+         * size is (or may be) larger than what a single {@link MappedByteBuffer} can handle – 2GB.
+         */
         @Override
-        SegmentedArray<Double> makeSegmented(final long... structure) {
-            return super.makeSegmented(structure);
+        public MappedSegmentedArray makeSegmented(final long... structure) {
+
+            long count = StructureAnyD.count(structure);
+
+            int indexBits = PowerOf2.powerOf2Smaller(myTypeFactory.getCapacityLimit());
+            indexBits = Math.min(indexBits, PowerOf2.powerOf2Larger(count));
+
+            return this.makeSegmented(count, indexBits);
+        }
+
+        MappedSegmentedArray makeSegmented(final long count, final int indexBits) {
+            return MappedSegmentedArray.make(myTypeFactory, myFile, count, indexBits);
         }
 
         public BufferArray make(final int count) {
@@ -192,6 +207,11 @@ public abstract class BufferArray extends PlainArray<Double> implements AutoClos
             return myTypeFactory.aggregator();
         }
 
+        @Override
+        long getCapacityLimit() {
+            return myTypeFactory.getCapacityLimit();
+        }
+
         @Override
         BufferArray makeDenseArray(final long size) {
 
@@ -0,0 +1,433 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array;
+
+import java.util.Arrays;
+
+import org.ojalgo.function.BinaryFunction;
+import org.ojalgo.function.ComplexFunction;
+import org.ojalgo.function.FunctionSet;
+import org.ojalgo.function.NullaryFunction;
+import org.ojalgo.function.UnaryFunction;
+import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.aggregator.AggregatorSet;
+import org.ojalgo.function.aggregator.ComplexAggregator;
+import org.ojalgo.function.special.MissingMath;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.PrimitiveScalar;
+import org.ojalgo.scalar.Scalar;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Mutate1D;
+import org.ojalgo.type.NumberDefinition;
+import org.ojalgo.type.math.MathType;
+
+/**
+ * A one- and/or arbitrary-dimensional array of {@linkplain org.ojalgo.scalar.ComplexNumber}, but without any
+ * {@link ComplexNumber} instances. The real and imaginary parts are stored interleaved in a double[] – [re0,
+ * im0, re1, im1...] – twice as long as the array itself. {@link ComplexNumber} instances are only created
+ * when explicitly asked for, like when calling {@link #get(long)}.
+ *
+ * @author apete
+ */
+public class InterleavedC128 extends PlainArray<ComplexNumber> implements Mutate1D.Sortable {
+
+    public static final DenseArray.Factory<ComplexNumber> FACTORY = new DenseArray.Factory<>() {
+
+        @Override
+        public AggregatorSet<ComplexNumber> aggregator() {
+            return ComplexAggregator.getSet();
+        }
+
+        @Override
+        public FunctionSet<ComplexNumber> function() {
+            return ComplexFunction.getSet();
+        }
+
+        @Override
+        public Scalar.Factory<ComplexNumber> scalar() {
+            return ComplexNumber.FACTORY;
+        }
+
+        @Override
+        MathType getMathType() {
+            return MathType.C128;
+        }
+
+        @Override
+        PlainArray<ComplexNumber> makeDenseArray(final long size) {
+            return InterleavedC128.make((int) size);
+        }
+
+    };
+
+    public static InterleavedC128 make(final int size) {
+        return new InterleavedC128(size);
+    }
+
+    /**
+     * @param data The real and imaginary parts interleaved. Not copied!
+     */
+    public static InterleavedC128 wrap(final double... data) {
+        return new InterleavedC128(data);
+    }
+
+    /**
+     * The real and imaginary parts interleaved – [re0, im0, re1, im1...]
+     */
+    public final double[] data;
+
+    /**
+     * Array not copied! No checking!
+     */
+    protected InterleavedC128(final double[] data) {
+
+        super(FACTORY, data.length / 2);
+
+        this.data = data;
+    }
+
+    protected InterleavedC128(final int size) {
+
+        super(FACTORY, size);
+
+        data = new double[2 * size];
+    }
+
+    @Override
+    public void axpy(final double a, final Mutate1D.Modifiable<?> y) {
+        for (int i = 0, limit = this.size(); i < limit; i++) {
+            y.add(i, ComplexNumber.of(a * data[2 * i], a * data[2 * i + 1]));
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof InterleavedC128)) {
+            return false;
+        }
+        InterleavedC128 other = (InterleavedC128) obj;
+        if (!Arrays.equals(data, other.data)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void fillMatching(final Access1D<?> values) {
+        if (values instanceof InterleavedC128) {
+            double[] source = ((InterleavedC128) values).data;
+            System.arraycopy(source, 0, data, 0, Math.min(data.length, source.length));
+        } else {
+            for (int i = 0, limit = MissingMath.toMinIntExact(this.count(), values.count()); i < limit; i++) {
+                this.set(i, values.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void fillMatching(final Access1D<ComplexNumber> left, final BinaryFunction<ComplexNumber> function, final Access1D<ComplexNumber> right) {
+        for (int i = 0, limit = MissingMath.toMinIntExact(this.count(), left.count(), right.count()); i < limit; i++) {
+            this.fillOne(i, function.invoke(left.get(i), right.get(i)));
+        }
+    }
+
+    @Override
+    public void fillMatching(final UnaryFunction<ComplexNumber> function, final Access1D<ComplexNumber> arguments) {
+        for (int i = 0, limit = MissingMath.toMinIntExact(this.count(), arguments.count()); i < limit; i++) {
+            this.fillOne(i, function.invoke(arguments.get(i)));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        return prime * result + Arrays.hashCode(data);
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(data, 0.0);
+    }
+
+    @Override
+    public void sortAscending() {
+        ComplexNumber[] sorted = this.toComplexNumbers();
+        Arrays.parallelSort(sorted);
+        this.fillFrom(sorted);
+    }
+
+    @Override
+    public void sortDescending() {
+        ComplexNumber[] sorted = this.toComplexNumbers();
+        Arrays.parallelSort(sorted, (a, b) -> b.compareTo(a));
+        this.fillFrom(sorted);
+    }
+
+    private void fillFrom(final ComplexNumber[] values) {
+        for (int i = 0; i < values.length; i++) {
+            this.fillOne(i, values[i]);
+        }
+    }
+
+    private ComplexNumber[] toComplexNumbers() {
+        ComplexNumber[] retVal = new ComplexNumber[this.size()];
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = this.get(i);
+        }
+        return retVal;
+    }
+
+    @Override
+    protected void add(final int index, final Comparable<?> addend) {
+        ComplexNumber value = ComplexNumber.valueOf(addend);
+        data[2 * index] += value.getReal();
+        data[2 * index + 1] += value.getImaginary();
+    }
+
+    @Override
+    protected void add(final int index, final double addend) {
+        data[2 * index] += addend;
+    }
+
+    @Override
+    protected byte byteValue(final int index) {
+        return (byte) Math.round(data[2 * index]);
+    }
+
+    protected final double[] copyOfData() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    @Override
+    protected final double doubleValue(final int index) {
+        return data[2 * index];
+    }
+
+    @Override
+    protected final void exchange(final int firstA, final int firstB, final int step, final int count) {
+
+        double tmpVal;
+
+        for (int i = 0, a = 2 * firstA, b = 2 * firstB; i < count; i++, a += 2 * step, b += 2 * step) {
+            tmpVal = data[a];
+            data[a] = data[b];
+            data[b] = tmpVal;
+            tmpVal = data[a + 1];
+            data[a + 1] = data[b + 1];
+            data[b + 1] = tmpVal;
+        }
+    }
+
+    @Override
+    protected final void fill(final int first, final int limit, final int step, final ComplexNumber value) {
+
+        double re = value.getReal();
+        double im = value.getImaginary();
+
+        for (int i = first; i < limit; i += step) {
+            data[2 * i] = re;
+            data[2 * i + 1] = im;
+        }
+    }
+
+    @Override
+    protected final void fill(final int first, final int limit, final int step, final NullaryFunction<?> supplier) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, ComplexNumber.valueOf(supplier.get()));
+        }
+    }
+
+    @Override
+    protected final void fillOne(final int index, final Access1D<?> values, final long valueIndex) {
+        this.fillOne(index, ComplexNumber.valueOf(values.get(valueIndex)));
+    }
+
+    @Override
+    protected final void fillOne(final int index, final ComplexNumber value) {
+        data[2 * index] = value.getReal();
+        data[2 * index + 1] = value.getImaginary();
+    }
+
+    @Override
+    protected final void fillOne(final int index, final NullaryFunction<?> supplier) {
+        this.fillOne(index, ComplexNumber.valueOf(supplier.get()));
+    }
+
+    @Override
+    protected final float floatValue(final int index) {
+        return (float) data[2 * index];
+    }
+
+    @Override
+    protected final ComplexNumber get(final int index) {
+        return ComplexNumber.of(data[2 * index], data[2 * index + 1]);
+    }
+
+    @Override
+    protected final int indexOfLargest(final int first, final int limit, final int step) {
+
+        int retVal = first;
+        double largest = -1.0;
+
+        double re, im, squared;
+        for (int i = first; i < limit; i += step) {
+            re = data[2 * i];
+            im = data[2 * i + 1];
+            squared = re * re + im * im;
+            if (squared > largest) {
+                largest = squared;
+                retVal = i;
+            }
+        }
+
+        return retVal;
+    }
+
+    @Override
+    protected int intValue(final int index) {
+        return (int) Math.round(data[2 * index]);
+    }
+
+    @Override
+    protected final boolean isAbsolute(final int index) {
+        return this.get(index).isAbsolute();
+    }
+
+    @Override
+    protected final boolean isSmall(final int index, final double comparedTo) {
+        return PrimitiveScalar.isSmall(comparedTo, Math.hypot(data[2 * index], data[2 * index + 1]));
+    }
+
+    @Override
+    protected long longValue(final int index) {
+        return Math.round(data[2 * index]);
+    }
+
+    @Override
+    protected final void modify(final int first, final int limit, final int step, final Access1D<ComplexNumber> left,
+            final BinaryFunction<ComplexNumber> function) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, function.invoke(left.get(i), this.get(i)));
+        }
+    }
+
+    @Override
+    protected final void modify(final int first, final int limit, final int step, final BinaryFunction<ComplexNumber> function,
+            final Access1D<ComplexNumber> right) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, function.invoke(this.get(i), right.get(i)));
+        }
+    }
+
+    @Override
+    protected final void modify(final int first, final int limit, final int step, final UnaryFunction<ComplexNumber> function) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, function.invoke(this.get(i)));
+        }
+    }
+
+    @Override
+    protected final void modifyOne(final int index, final UnaryFunction<ComplexNumber> modifier) {
+        this.fillOne(index, modifier.invoke(this.get(index)));
+    }
+
+    @Override
+    protected final int searchAscending(final ComplexNumber number) {
+
+        int low = 0;
+        int high = this.size() - 1;
+
+        while (low <= high) {
+
+            int mid = low + high >>> 1;
+            int comparison = this.get(mid).compareTo(number);
+
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    @Override
+    protected final void set(final int index, final Comparable<?> value) {
+        if (value instanceof ComplexNumber) {
+            this.fillOne(index, (ComplexNumber) value);
+        } else {
+            data[2 * index] = NumberDefinition.doubleValue(value);
+            data[2 * index + 1] = 0.0;
+        }
+    }
+
+    @Override
+    protected final void set(final int index, final double value) {
+        data[2 * index] = value;
+        data[2 * index + 1] = 0.0;
+    }
+
+    @Override
+    protected void set(final int index, final long value) {
+        this.set(index, (double) value);
+    }
+
+    @Override
+    protected short shortValue(final int index) {
+        return (short) Math.round(data[2 * index]);
+    }
+
+    @Override
+    protected final void visit(final int first, final int limit, final int step, final VoidFunction<ComplexNumber> visitor) {
+        for (int i = first; i < limit; i += step) {
+            visitor.invoke(this.get(i));
+        }
+    }
+
+    @Override
+    protected void visitOne(final int index, final VoidFunction<ComplexNumber> visitor) {
+        visitor.invoke(this.get(index));
+    }
+
+    @Override
+    void modify(final long extIndex, final int intIndex, final Access1D<ComplexNumber> left, final BinaryFunction<ComplexNumber> function) {
+        this.fillOne(intIndex, function.invoke(left.get(extIndex), this.get(intIndex)));
+    }
+
+    @Override
+    void modify(final long extIndex, final int intIndex, final BinaryFunction<ComplexNumber> function, final Access1D<ComplexNumber> right) {
+        this.fillOne(intIndex, function.invoke(this.get(intIndex), right.get(extIndex)));
+    }
+
+    @Override
+    void modify(final long extIndex, final int intIndex, final UnaryFunction<ComplexNumber> function) {
+        this.fillOne(intIndex, function.invoke(this.get(intIndex)));
+    }
+
+}
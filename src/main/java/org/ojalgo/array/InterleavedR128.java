@@ -0,0 +1,439 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array;
+
+import java.util.Arrays;
+
+import org.ojalgo.array.operation.DoubleDouble;
+import org.ojalgo.function.BinaryFunction;
+import org.ojalgo.function.FunctionSet;
+import org.ojalgo.function.NullaryFunction;
+import org.ojalgo.function.QuadrupleFunction;
+import org.ojalgo.function.UnaryFunction;
+import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.aggregator.AggregatorSet;
+import org.ojalgo.function.aggregator.QuadrupleAggregator;
+import org.ojalgo.function.special.MissingMath;
+import org.ojalgo.scalar.Quadruple;
+import org.ojalgo.scalar.Scalar;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Mutate1D;
+import org.ojalgo.type.math.MathType;
+
+/**
+ * A one- and/or arbitrary-dimensional array of {@linkplain org.ojalgo.scalar.Quadruple}, but without any
+ * {@link Quadruple} instances. Each element is stored as its double-double (base, remainder) pair, interleaved
+ * in a double[] – [base0, remainder0, base1, remainder1...] – twice as long as the array itself.
+ * {@link Quadruple} instances are only created when explicitly asked for, like when calling
+ * {@link #get(long)}. The arithmetic is done using {@link DoubleDouble}.
+ *
+ * @author apete
+ */
+public class InterleavedR128 extends PlainArray<Quadruple> implements Mutate1D.Sortable {
+
+    public static final DenseArray.Factory<Quadruple> FACTORY = new DenseArray.Factory<>() {
+
+        @Override
+        public AggregatorSet<Quadruple> aggregator() {
+            return QuadrupleAggregator.getSet();
+        }
+
+        @Override
+        public FunctionSet<Quadruple> function() {
+            return QuadrupleFunction.getSet();
+        }
+
+        @Override
+        public Scalar.Factory<Quadruple> scalar() {
+            return Quadruple.FACTORY;
+        }
+
+        @Override
+        MathType getMathType() {
+            return MathType.R128;
+        }
+
+        @Override
+        PlainArray<Quadruple> makeDenseArray(final long size) {
+            return InterleavedR128.make((int) size);
+        }
+
+    };
+
+    public static InterleavedR128 make(final int size) {
+        return new InterleavedR128(size);
+    }
+
+    /**
+     * @param data The base and remainder parts interleaved. Not copied!
+     */
+    public static InterleavedR128 wrap(final double... data) {
+        return new InterleavedR128(data);
+    }
+
+    /**
+     * Primitive doubles (and other primitive wrappers) are converted directly – other types via
+     * {@link Quadruple#valueOf(Comparable)}.
+     */
+    static Quadruple toQuadruple(final Comparable<?> value) {
+        if (value instanceof Quadruple) {
+            return (Quadruple) value;
+        }
+        if (value instanceof Double || value instanceof Float || value instanceof Integer || value instanceof Long) {
+            return Quadruple.valueOf(((Number) value).doubleValue());
+        }
+        return Quadruple.valueOf(value);
+    }
+
+    /**
+     * The base and remainder parts interleaved – [base0, remainder0, base1, remainder1...]
+     */
+    public final double[] data;
+
+    /**
+     * Array not copied! No checking!
+     */
+    protected InterleavedR128(final double[] data) {
+
+        super(FACTORY, data.length / 2);
+
+        this.data = data;
+    }
+
+    protected InterleavedR128(final int size) {
+
+        super(FACTORY, size);
+
+        data = new double[2 * size];
+    }
+
+    @Override
+    public void axpy(final double a, final Mutate1D.Modifiable<?> y) {
+        for (int i = 0, limit = this.size(); i < limit; i++) {
+            y.add(i, this.get(i).multiply(a));
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof InterleavedR128)) {
+            return false;
+        }
+        InterleavedR128 other = (InterleavedR128) obj;
+        if (!Arrays.equals(data, other.data)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void fillMatching(final Access1D<?> values) {
+        if (values instanceof InterleavedR128) {
+            double[] source = ((InterleavedR128) values).data;
+            System.arraycopy(source, 0, data, 0, Math.min(data.length, source.length));
+        } else {
+            for (int i = 0, limit = MissingMath.toMinIntExact(this.count(), values.count()); i < limit; i++) {
+                this.set(i, values.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void fillMatching(final Access1D<Quadruple> left, final BinaryFunction<Quadruple> function, final Access1D<Quadruple> right) {
+        for (int i = 0, limit = MissingMath.toMinIntExact(this.count(), left.count(), right.count()); i < limit; i++) {
+            this.fillOne(i, function.invoke(left.get(i), right.get(i)));
+        }
+    }
+
+    @Override
+    public void fillMatching(final UnaryFunction<Quadruple> function, final Access1D<Quadruple> arguments) {
+        for (int i = 0, limit = MissingMath.toMinIntExact(this.count(), arguments.count()); i < limit; i++) {
+            this.fillOne(i, function.invoke(arguments.get(i)));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        return prime * result + Arrays.hashCode(data);
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(data, 0.0);
+    }
+
+    @Override
+    public void sortAscending() {
+        Quadruple[] sorted = this.toQuadruples();
+        Arrays.parallelSort(sorted);
+        this.fillFrom(sorted);
+    }
+
+    @Override
+    public void sortDescending() {
+        Quadruple[] sorted = this.toQuadruples();
+        Arrays.parallelSort(sorted, (a, b) -> b.compareTo(a));
+        this.fillFrom(sorted);
+    }
+
+    private void fillFrom(final Quadruple[] values) {
+        for (int i = 0; i < values.length; i++) {
+            this.fillOne(i, values[i]);
+        }
+    }
+
+    private Quadruple[] toQuadruples() {
+        Quadruple[] retVal = new Quadruple[this.size()];
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = this.get(i);
+        }
+        return retVal;
+    }
+
+    @Override
+    protected void add(final int index, final Comparable<?> addend) {
+        Quadruple value = InterleavedR128.toQuadruple(addend);
+        DoubleDouble.add(data, index, value.getBase(), value.getRemainder());
+    }
+
+    @Override
+    protected void add(final int index, final double addend) {
+        DoubleDouble.add(data, index, addend, 0.0);
+    }
+
+    @Override
+    protected byte byteValue(final int index) {
+        return (byte) this.longValue(index);
+    }
+
+    protected final double[] copyOfData() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    @Override
+    protected final double doubleValue(final int index) {
+        return data[2 * index] + data[2 * index + 1];
+    }
+
+    @Override
+    protected final void exchange(final int firstA, final int firstB, final int step, final int count) {
+
+        double tmpVal;
+
+        for (int i = 0, a = 2 * firstA, b = 2 * firstB; i < count; i++, a += 2 * step, b += 2 * step) {
+            tmpVal = data[a];
+            data[a] = data[b];
+            data[b] = tmpVal;
+            tmpVal = data[a + 1];
+            data[a + 1] = data[b + 1];
+            data[b + 1] = tmpVal;
+        }
+    }
+
+    @Override
+    protected final void fill(final int first, final int limit, final int step, final Quadruple value) {
+
+        double base = value.getBase();
+        double remainder = value.getRemainder();
+
+        for (int i = first; i < limit; i += step) {
+            data[2 * i] = base;
+            data[2 * i + 1] = remainder;
+        }
+    }
+
+    @Override
+    protected final void fill(final int first, final int limit, final int step, final NullaryFunction<?> supplier) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, InterleavedR128.toQuadruple(supplier.get()));
+        }
+    }
+
+    @Override
+    protected final void fillOne(final int index, final Access1D<?> values, final long valueIndex) {
+        this.fillOne(index, InterleavedR128.toQuadruple(values.get(valueIndex)));
+    }
+
+    @Override
+    protected final void fillOne(final int index, final Quadruple value) {
+        data[2 * index] = value.getBase();
+        data[2 * index + 1] = value.getRemainder();
+    }
+
+    @Override
+    protected final void fillOne(final int index, final NullaryFunction<?> supplier) {
+        this.fillOne(index, InterleavedR128.toQuadruple(supplier.get()));
+    }
+
+    @Override
+    protected final float floatValue(final int index) {
+        return (float) this.doubleValue(index);
+    }
+
+    @Override
+    protected final Quadruple get(final int index) {
+        return Quadruple.of(data[2 * index], data[2 * index + 1]);
+    }
+
+    @Override
+    protected final int indexOfLargest(final int first, final int limit, final int step) {
+
+        int retVal = first;
+        double largest = -1.0;
+
+        double magnitude;
+        for (int i = first; i < limit; i += step) {
+            magnitude = Math.abs(data[2 * i]);
+            if (magnitude > largest) {
+                largest = magnitude;
+                retVal = i;
+            }
+        }
+
+        return retVal;
+    }
+
+    @Override
+    protected int intValue(final int index) {
+        return (int) this.longValue(index);
+    }
+
+    @Override
+    protected final boolean isAbsolute(final int index) {
+        return data[2 * index] >= 0.0;
+    }
+
+    @Override
+    protected final boolean isSmall(final int index, final double comparedTo) {
+        return Quadruple.isSmall(comparedTo, this.get(index));
+    }
+
+    @Override
+    protected long longValue(final int index) {
+        return Math.round(this.doubleValue(index));
+    }
+
+    @Override
+    protected final void modify(final int first, final int limit, final int step, final Access1D<Quadruple> left,
+            final BinaryFunction<Quadruple> function) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, function.invoke(left.get(i), this.get(i)));
+        }
+    }
+
+    @Override
+    protected final void modify(final int first, final int limit, final int step, final BinaryFunction<Quadruple> function,
+            final Access1D<Quadruple> right) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, function.invoke(this.get(i), right.get(i)));
+        }
+    }
+
+    @Override
+    protected final void modify(final int first, final int limit, final int step, final UnaryFunction<Quadruple> function) {
+        for (int i = first; i < limit; i += step) {
+            this.fillOne(i, function.invoke(this.get(i)));
+        }
+    }
+
+    @Override
+    protected final void modifyOne(final int index, final UnaryFunction<Quadruple> modifier) {
+        this.fillOne(index, modifier.invoke(this.get(index)));
+    }
+
+    @Override
+    protected final int searchAscending(final Quadruple number) {
+
+        int low = 0;
+        int high = this.size() - 1;
+
+        while (low <= high) {
+
+            int mid = low + high >>> 1;
+            int comparison = this.get(mid).compareTo(number);
+
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    @Override
+    protected final void set(final int index, final Comparable<?> value) {
+        this.fillOne(index, InterleavedR128.toQuadruple(value));
+    }
+
+    @Override
+    protected final void set(final int index, final double value) {
+        data[2 * index] = value;
+        data[2 * index + 1] = 0.0;
+    }
+
+    @Override
+    protected void set(final int index, final long value) {
+        this.set(index, (double) value);
+    }
+
+    @Override
+    protected short shortValue(final int index) {
+        return (short) this.longValue(index);
+    }
+
+    @Override
+    protected final void visit(final int first, final int limit, final int step, final VoidFunction<Quadruple> visitor) {
+        for (int i = first; i < limit; i += step) {
+            visitor.invoke(this.get(i));
+        }
+    }
+
+    @Override
+    protected void visitOne(final int index, final VoidFunction<Quadruple> visitor) {
+        visitor.invoke(this.get(index));
+    }
+
+    @Override
+    void modify(final long extIndex, final int intIndex, final Access1D<Quadruple> left, final BinaryFunction<Quadruple> function) {
+        this.fillOne(intIndex, function.invoke(left.get(extIndex), this.get(intIndex)));
+    }
+
+    @Override
+    void modify(final long extIndex, final int intIndex, final BinaryFunction<Quadruple> function, final Access1D<Quadruple> right) {
+        this.fillOne(intIndex, function.invoke(this.get(intIndex), right.get(extIndex)));
+    }
+
+    @Override
+    void modify(final long extIndex, final int intIndex, final UnaryFunction<Quadruple> function) {
+        this.fillOne(intIndex, function.invoke(this.get(intIndex)));
+    }
+
+}
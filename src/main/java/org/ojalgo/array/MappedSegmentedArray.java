@@ -0,0 +1,205 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.type.NativeMemory;
+
+/**
+ * <p>
+ * A memory mapped file array that is not limited by the 2GB maximum size of a single {@link MappedByteBuffer}.
+ * The file is mapped as a sequence of equally sized (power of 2) segments, each one a {@link BufferArray},
+ * and addressing is done exactly as with any other segmented array.
+ * </p>
+ * <p>
+ * Create instances using {@link BufferArray.MappedFileFactory#makeSegmented(long...)}. Always {@link #close()}
+ * when done – that unmaps all segments immediately rather than whenever the garbage collector gets around to
+ * it. An instance must not be accessed (by any thread) after it has been closed.
+ * </p>
+ *
+ * @author apete
+ */
+public final class MappedSegmentedArray extends SegmentedArray<Double> implements AutoCloseable {
+
+    static MappedSegmentedArray make(final BufferArray.Factory typeFactory, final File file, final long count, final int indexBits) {
+
+        if (count <= 0L) {
+            throw new ProgrammingError("The number of elements must be positive!");
+        }
+
+        long segmentSize = 1L << indexBits;
+        long elementSize = typeFactory.getElementSize();
+
+        int nbSegments = Math.toIntExact((count + segmentSize - 1L) / segmentSize);
+
+        BufferArray[] segments = new BufferArray[nbSegments];
+        MappedByteBuffer[] buffers = new MappedByteBuffer[nbSegments];
+
+        FileChannel channel = null;
+        try {
+
+            channel = new RandomAccessFile(file, "rw").getChannel();
+
+            for (int s = 0; s < nbSegments; s++) {
+                long first = s * segmentSize;
+                long size = Math.min(segmentSize, count - first);
+                buffers[s] = channel.map(FileChannel.MapMode.READ_WRITE, first * elementSize, size * elementSize);
+                segments[s] = typeFactory.newInstance(typeFactory, buffers[s], null);
+            }
+
+        } catch (IOException cause) {
+            for (int s = 0; s < nbSegments; s++) {
+                NativeMemory.release(buffers[s]);
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                    // Already failing
+                }
+            }
+            throw new RuntimeException(cause);
+        }
+
+        return new MappedSegmentedArray(segments, indexBits, typeFactory, buffers, channel);
+    }
+
+    private final MappedByteBuffer[] myBuffers;
+    private final FileChannel myChannel;
+    private volatile boolean myClosed = false;
+    private final int myIndexBits;
+    private final BasicArray<Double>[] mySegments;
+
+    private MappedSegmentedArray(final BasicArray<Double>[] segments, final int indexBits, final BufferArray.Factory segmentFactory,
+            final MappedByteBuffer[] buffers, final FileChannel channel) {
+
+        super(segments, indexBits, segmentFactory);
+
+        mySegments = segments;
+        myIndexBits = indexBits;
+        myBuffers = buffers;
+        myChannel = channel;
+    }
+
+    /**
+     * Unmaps all segments and closes the underlying file. Changes not yet written to the file will still be
+     * written by the operating system, but if you need a guarantee call {@link #force()} first. Calling this
+     * method more than once has no effect.
+     */
+    public synchronized void close() {
+
+        if (myClosed) {
+            return;
+        }
+        myClosed = true;
+
+        DenseArray<Double> empty = ((BufferArray.Factory) this.factory()).makeDenseArray(0L);
+
+        for (int s = 0; s < mySegments.length; s++) {
+            // Any (erroneous) access after close should fail with an exception rather than crash the JVM
+            mySegments[s] = empty;
+            NativeMemory.release(myBuffers[s]);
+            myBuffers[s] = null;
+        }
+
+        try {
+            myChannel.close();
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Forces any changes made to the mapped segments to be written to the storage device.
+     *
+     * @see MappedByteBuffer#force()
+     */
+    public void force() {
+        this.checkOpen();
+        for (MappedByteBuffer buffer : myBuffers) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * The number of segments the file is mapped as
+     */
+    public int getNumberOfSegments() {
+        return myBuffers.length;
+    }
+
+    public boolean isClosed() {
+        return myClosed;
+    }
+
+    /**
+     * @return true if all segments are likely to be resident in physical memory
+     * @see MappedByteBuffer#isLoaded()
+     */
+    public boolean isLoaded() {
+        this.checkOpen();
+        for (MappedByteBuffer buffer : myBuffers) {
+            if (!buffer.isLoaded()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hint that the range [first,limit) will be needed (soon) – typically before a sequential scan. The
+     * segments covering that range are loaded into physical memory. For random access patterns simply don't
+     * call this method, and pages will be faulted in on demand.
+     *
+     * @see MappedByteBuffer#load()
+     */
+    public void load(final long first, final long limit) {
+
+        this.checkOpen();
+
+        if (limit <= first) {
+            return;
+        }
+
+        long segmentSize = 1L << myIndexBits;
+
+        int firstSegment = (int) (first / segmentSize);
+        int lastSegment = (int) Math.min((limit - 1L) / segmentSize, myBuffers.length - 1);
+
+        for (int s = firstSegment; s <= lastSegment; s++) {
+            myBuffers[s].load();
+        }
+    }
+
+    private void checkOpen() {
+        if (myClosed) {
+            throw new IllegalStateException("Closed!");
+        }
+    }
+
+}
@@ -21,6 +21,7 @@
  */
 package org.ojalgo.array;
 
+import java.lang.ref.Cleaner;
 import java.util.function.LongFunction;
 
 import org.ojalgo.function.BinaryFunction;
@@ -34,6 +35,7 @@ import org.ojalgo.function.aggregator.PrimitiveAggregator;
 import org.ojalgo.scalar.PrimitiveScalar;
 import org.ojalgo.scalar.Scalar;
 import org.ojalgo.structure.Access1D;
+import org.ojalgo.type.NativeMemory;
 import org.ojalgo.type.math.MathType;
 
 /**
@@ -43,10 +45,13 @@ import org.ojalgo.type.math.MathType;
  * When just instantiated these array classes contain uninitialized memory – memory is allocated but not
  * initialized. To initialize call {@link #reset()}. Explicit initialization is only necessary if your code
  * depends on having zeros as the default/initial value.
+ * <p>
+ * The memory is freed when the array is garbage collected, or explicitly (and immediately) by calling
+ * {@link #close()}.
  *
  * @author apete
  */
-public abstract class OffHeapArray extends DenseArray<Double> {
+public abstract class OffHeapArray extends DenseArray<Double> implements AutoCloseable {
 
     static final class Factory extends DenseArray.Factory<Double> {
 
@@ -125,6 +130,7 @@ public abstract class OffHeapArray extends DenseArray<Double> {
         return new OffHeapR064(count);
     }
 
+    private Cleaner.Cleanable myCleanable = null;
     private final long myCount;
 
     OffHeapArray(final DenseArray.Factory<Double> factory, final long count) {
@@ -158,6 +164,15 @@ public abstract class OffHeapArray extends DenseArray<Double> {
         this.set(index, this.byteValue(index) + addend);
     }
 
+    /**
+     * Free the off-heap memory now, rather than waiting for this array to be garbage collected. The array (and
+     * anything wrapping it) must not be used after this – that's undefined behaviour, and may crash the JVM.
+     * Calling this more than once has no effect.
+     */
+    public final void close() {
+        myCleanable.clean();
+    }
+
     public final long count() {
         return myCount;
     }
@@ -209,6 +224,14 @@ public abstract class OffHeapArray extends DenseArray<Double> {
         }
     }
 
+    /**
+     * Have the memory freed when this array is garbage collected, or when closed.
+     */
+    final long register(final long pointer) {
+        myCleanable = NativeMemory.register(this, pointer);
+        return pointer;
+    }
+
     @Override
     void modify(final long extIndex, final int intIndex, final Access1D<Double> left, final BinaryFunction<Double> function) {
         this.set(intIndex, function.invoke(left.doubleValue(extIndex), this.doubleValue(intIndex)));
@@ -32,7 +32,7 @@ final class OffHeapR032 extends OffHeapArray {
 
         super(OffHeapArray.R032, count);
 
-        myPointer = NativeMemory.allocateFloatArray(this, count);
+        myPointer = this.register(NativeMemory.allocateFloatArray(null, count));
     }
 
     public void add(final long index, final Comparable<?> addend) {
@@ -32,7 +32,7 @@ final class OffHeapR064 extends OffHeapArray {
 
         super(OffHeapArray.R064, count);
 
-        myPointer = NativeMemory.allocateDoubleArray(this, count);
+        myPointer = this.register(NativeMemory.allocateDoubleArray(null, count));
     }
 
     public void add(final long index, final Comparable<?> addend) {
@@ -32,7 +32,7 @@ final class OffHeapZ008 extends OffHeapArray {
 
         super(OffHeapArray.Z008, count);
 
-        myPointer = NativeMemory.allocateByteArray(this, count);
+        myPointer = this.register(NativeMemory.allocateByteArray(null, count));
     }
 
     public void add(final long index, final Comparable<?> addend) {
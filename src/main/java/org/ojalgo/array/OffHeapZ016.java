@@ -32,7 +32,7 @@ final class OffHeapZ016 extends OffHeapArray {
 
         super(OffHeapArray.Z016, count);
 
-        myPointer = NativeMemory.allocateShortArray(this, count);
+        myPointer = this.register(NativeMemory.allocateShortArray(null, count));
     }
 
     public void add(final long index, final Comparable<?> addend) {
@@ -32,7 +32,7 @@ final class OffHeapZ032 extends OffHeapArray {
 
         super(OffHeapArray.Z032, count);
 
-        myPointer = NativeMemory.allocateIntArray(this, count);
+        myPointer = this.register(NativeMemory.allocateIntArray(null, count));
     }
 
     public void add(final long index, final Comparable<?> addend) {
@@ -32,7 +32,7 @@ final class OffHeapZ064 extends OffHeapArray {
 
         super(OffHeapArray.Z064, count);
 
-        myPointer = NativeMemory.allocateLongArray(this, count);
+        myPointer = this.register(NativeMemory.allocateLongArray(null, count));
     }
 
     public void add(final long index, final Comparable<?> addend) {
@@ -39,7 +39,7 @@ import org.ojalgo.type.NumberDefinition;
  *
  * @author apete
  */
-final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
+class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
 
     private final int myIndexBits;
     private final long myIndexMask;
@@ -78,6 +78,33 @@ final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
         mySegmentFactory = segmentFactory;
     }
 
+    /**
+     * Same as {@link #SegmentedArray(BasicArray[], ArrayFactory)} but with the segment size explicitly given
+     * (as 2^indexBits). That allows the number of segments to be 1, with that single segment being shorter
+     * than the (nominal) segment size.
+     */
+    SegmentedArray(final BasicArray<N>[] segments, final int indexBits, final ArrayFactory<N, ?> segmentFactory) {
+
+        super(segmentFactory);
+
+        mySegmentSize = 1L << indexBits;
+        int tmpIndexOfLastSegment = segments.length - 1;
+        for (int s = 0; s < tmpIndexOfLastSegment; s++) {
+            if (segments[s].count() != mySegmentSize) {
+                throw new IllegalArgumentException("All segments (except possibly the last) must have the same size!");
+            }
+        }
+        if (segments[tmpIndexOfLastSegment].count() > mySegmentSize) {
+            throw new IllegalArgumentException("The last segment cannot be larger than the others!");
+        }
+
+        myIndexBits = indexBits;
+        myIndexMask = mySegmentSize - 1L;
+
+        mySegments = segments;
+        mySegmentFactory = segmentFactory;
+    }
+
     @SuppressWarnings("unchecked")
     SegmentedArray(final long count, final int indexBits, final ArrayFactory<N, ?> segmentFactory) {
 
@@ -123,7 +150,7 @@ final class SegmentedArray<N extends Comparable<N>> extends BasicArray<N> {
 
     @Override
     public long count() {
-        return mySegments[0].count() * (mySegments.length - 1) + mySegments[mySegments.length - 1].count();
+        return mySegmentSize * (mySegments.length - 1) + mySegments[mySegments.length - 1].count();
     }
 
     @Override
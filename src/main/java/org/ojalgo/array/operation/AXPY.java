@@ -87,4 +87,32 @@ public abstract class AXPY implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. All indices (bases, first and limit) are
+     * complex element indices, and the complex scalar a is given as its real and imaginary parts.
+     */
+    public static void invokeInterleaved(final double[] y, final int basey, final double aRe, final double aIm, final double[] x, final int basex,
+            final int first, final int limit) {
+        double xRe, xIm;
+        for (int i = first, iy = 2 * (basey + first), ix = 2 * (basex + first); i < limit; i++, iy += 2, ix += 2) {
+            xRe = x[ix];
+            xIm = x[ix + 1];
+            y[iy] += aRe * xRe - aIm * xIm;
+            y[iy + 1] += aRe * xIm + aIm * xRe;
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. All indices are
+     * element indices, and the scalar a is given as its base and remainder.
+     */
+    public static void invokeR128(final double[] y, final int basey, final double aBase, final double aRemainder, final double[] x, final int basex,
+            final int first, final int limit) {
+        int ix;
+        for (int i = first; i < limit; i++) {
+            ix = 2 * (basex + i);
+            DoubleDouble.addProduct(y, basey + i, aBase, aRemainder, x[ix], x[ix + 1]);
+        }
+    }
+
 }
@@ -33,10 +33,36 @@ public abstract class ApplyCholesky implements ArrayOperation {
         }
     }
 
+    public static void invoke(final float[] data, final int structure, final int firstColumn, final int columnLimit, final float[] multipliers) {
+        for (int j = firstColumn; j < columnLimit; j++) {
+            AXPY.invoke(data, j * structure, -multipliers[j], multipliers, 0, j, structure);
+        }
+    }
+
     public static <N extends Scalar<N>> void invoke(final N[] data, final int structure, final int firstColumn, final int columnLimit, final N[] multipliers) {
         for (int j = firstColumn; j < columnLimit; j++) {
             AXPY.invoke(data, j * structure, multipliers[j].conjugate().negate().get(), multipliers, 0, j, structure);
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. All indices are complex element indices.
+     */
+    public static void invokeInterleaved(final double[] data, final int structure, final int firstColumn, final int columnLimit, final double[] multipliers) {
+        for (int j = firstColumn; j < columnLimit; j++) {
+            // Negated conjugate
+            AXPY.invokeInterleaved(data, j * structure, -multipliers[2 * j], multipliers[2 * j + 1], multipliers, 0, j, structure);
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. All indices are
+     * element indices.
+     */
+    public static void invokeR128(final double[] data, final int structure, final int firstColumn, final int columnLimit, final double[] multipliers) {
+        for (int j = firstColumn; j < columnLimit; j++) {
+            AXPY.invokeR128(data, j * structure, -multipliers[2 * j], -multipliers[2 * j + 1], multipliers, 0, j, structure);
+        }
+    }
+
 }
@@ -35,6 +35,14 @@ public abstract class ApplyLDL implements ArrayOperation {
         }
     }
 
+    public static void invoke(final float[] data, final int structure, final int firstColumn, final int columnLimit, final float[] multipliers,
+            final int iterationPoint) {
+        float diagVal = data[iterationPoint + iterationPoint * structure];
+        for (int j = firstColumn; j < columnLimit; j++) {
+            AXPY.invoke(data, j * structure, -(diagVal * multipliers[j]), multipliers, 0, j, structure);
+        }
+    }
+
     public static <N extends Scalar<N>> void invoke(final N[] data, final int structure, final int firstColumn, final int columnLimit, final N[] multipliers,
             final int iterationPoint) {
         Scalar<N> diagVal = data[iterationPoint + iterationPoint * structure];
@@ -43,4 +51,41 @@ public abstract class ApplyLDL implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. All indices are complex element indices.
+     */
+    public static void invokeInterleaved(final double[] data, final int structure, final int firstColumn, final int columnLimit, final double[] multipliers,
+            final int iterationPoint) {
+
+        int diagIndex = 2 * (iterationPoint + iterationPoint * structure);
+        double dRe = data[diagIndex];
+        double dIm = data[diagIndex + 1];
+
+        double mRe, mIm;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            // Conjugated
+            mRe = multipliers[2 * j];
+            mIm = -multipliers[2 * j + 1];
+            AXPY.invokeInterleaved(data, j * structure, -(dRe * mRe - dIm * mIm), -(dRe * mIm + dIm * mRe), multipliers, 0, j, structure);
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. All indices are
+     * element indices.
+     */
+    public static void invokeR128(final double[] data, final int structure, final int firstColumn, final int columnLimit, final double[] multipliers,
+            final int iterationPoint) {
+
+        int diagIndex = 2 * (iterationPoint + iterationPoint * structure);
+        double diagBase = data[diagIndex];
+        double diagRemainder = data[diagIndex + 1];
+
+        double[] product = new double[2];
+        for (int j = firstColumn; j < columnLimit; j++) {
+            DoubleDouble.multiply(product, 0, diagBase, diagRemainder, multipliers[2 * j], multipliers[2 * j + 1]);
+            AXPY.invokeR128(data, j * structure, -product[0], -product[1], multipliers, 0, j, structure);
+        }
+    }
+
 }
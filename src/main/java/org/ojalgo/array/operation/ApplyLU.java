@@ -34,6 +34,13 @@ public abstract class ApplyLU implements ArrayOperation {
         }
     }
 
+    public static void invoke(final float[] data, final int structure, final int firstColumn, final int columnLimit, final float[] multipliers,
+            final int iterationPoint) {
+        for (int j = firstColumn; j < columnLimit; j++) {
+            AXPY.invoke(data, j * structure, -data[iterationPoint + j * structure], multipliers, 0, iterationPoint + 1, structure);
+        }
+    }
+
     public static <N extends Scalar<N>> void invoke(final N[] data, final int structure, final int firstColumn, final int columnLimit, final N[] multipliers,
             final int iterationPoint) {
         for (int j = firstColumn; j < columnLimit; j++) {
@@ -41,4 +48,29 @@ public abstract class ApplyLU implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. All indices are complex element indices.
+     */
+    public static void invokeInterleaved(final double[] data, final int structure, final int firstColumn, final int columnLimit, final double[] multipliers,
+            final int iterationPoint) {
+        int index;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            index = 2 * (iterationPoint + j * structure);
+            AXPY.invokeInterleaved(data, j * structure, -data[index], -data[index + 1], multipliers, 0, iterationPoint + 1, structure);
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. All indices are
+     * element indices.
+     */
+    public static void invokeR128(final double[] data, final int structure, final int firstColumn, final int columnLimit, final double[] multipliers,
+            final int iterationPoint) {
+        int index;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            index = 2 * (iterationPoint + j * structure);
+            AXPY.invokeR128(data, j * structure, -data[index], -data[index + 1], multipliers, 0, iterationPoint + 1, structure);
+        }
+    }
+
 }
@@ -23,6 +23,8 @@ package org.ojalgo.array.operation;
 
 import java.lang.reflect.Array;
 
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.structure.Access2D;
 
 /**
@@ -88,4 +90,34 @@ public abstract class COPY implements ArrayOperation {
         }
     }
 
+    /**
+     * Copies the real and imaginary parts, interleaved, to a new double[] twice as long as the input. The
+     * elements before first are left as zero (and may be null in the input).
+     */
+    public static double[] interleaved(final ComplexNumber[] source, final int first) {
+        double[] retVal = new double[2 * source.length];
+        ComplexNumber value;
+        for (int i = first; i < source.length; i++) {
+            value = source[i];
+            retVal[2 * i] = value.getReal();
+            retVal[2 * i + 1] = value.getImaginary();
+        }
+        return retVal;
+    }
+
+    /**
+     * Copies the base and remainder parts, interleaved, to a new double[] twice as long as the input. The
+     * elements before first are left as zero (and may be null in the input).
+     */
+    public static double[] interleaved(final Quadruple[] source, final int first) {
+        double[] retVal = new double[2 * source.length];
+        Quadruple value;
+        for (int i = first; i < source.length; i++) {
+            value = source[i];
+            retVal[2 * i] = value.getBase();
+            retVal[2 * i + 1] = value.getRemainder();
+        }
+        return retVal;
+    }
+
 }
@@ -26,6 +26,7 @@ import java.math.BigDecimal;
 import org.ojalgo.function.constant.BigMath;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 import org.ojalgo.structure.Access1D;
 
@@ -376,4 +377,20 @@ public abstract class DOT implements ArrayOperation {
         return sum00 + sum01 + sum02 + sum03 + sum04 + sum05 + sum06 + sum07 + sum08 + sum09 + sum10 + sum11 + sum12 + sum13 + sum14 + sum15;
     }
 
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. All indices are
+     * element indices.
+     */
+    public static Quadruple invokeR128(final double[] array1, final int offset1, final double[] array2, final int offset2, final int first,
+            final int limit) {
+        double[] sum = new double[2];
+        int index1, index2;
+        for (int i = first; i < limit; i++) {
+            index1 = 2 * (offset1 + i);
+            index2 = 2 * (offset2 + i);
+            DoubleDouble.addProduct(sum, 0, array1[index1], array1[index1 + 1], array2[index2], array2[index2 + 1]);
+        }
+        return Quadruple.of(sum[0], sum[1]);
+    }
+
 }
@@ -21,6 +21,8 @@
  */
 package org.ojalgo.array.operation;
 
+import org.ojalgo.scalar.ComplexNumber;
+
 /**
  * The ?dotc routines perform a vector-vector operation defined as: Equation
  *
@@ -30,4 +32,27 @@ public abstract class DOTC implements ArrayOperation {
 
     public static int THRESHOLD = 128;
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. All indices are complex element indices.
+     *
+     * @return The conjugated x (transposed) multiplied by y
+     */
+    public static ComplexNumber invokeInterleaved(final double[] x, final int basex, final double[] y, final int basey, final int first, final int limit) {
+
+        double re = 0.0;
+        double im = 0.0;
+
+        double xRe, xIm, yRe, yIm;
+        for (int i = first, ix = 2 * (basex + first), iy = 2 * (basey + first); i < limit; i++, ix += 2, iy += 2) {
+            xRe = x[ix];
+            xIm = x[ix + 1];
+            yRe = y[iy];
+            yIm = y[iy + 1];
+            re += xRe * yRe + xIm * yIm;
+            im += xRe * yIm - xIm * yRe;
+        }
+
+        return ComplexNumber.of(re, im);
+    }
+
 }
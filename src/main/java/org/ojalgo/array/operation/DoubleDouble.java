@@ -0,0 +1,151 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+/**
+ * Allocation free double-double arithmetic – the same algorithms as {@link org.ojalgo.scalar.Quadruple} but
+ * working directly with (base, remainder) pairs stored in a double[] – [base0, remainder0, base1,
+ * remainder1...]. All indices are (double-double) element indices, and the results are always written to
+ * the destination array (that may also be one of the arguments).
+ *
+ * @author apete
+ */
+public abstract class DoubleDouble implements ArrayOperation {
+
+    /**
+     * 1+2^27
+     */
+    private static final double SPLIT = 134217729.0;
+
+    /**
+     * y[index] += (base, remainder)
+     */
+    public static void add(final double[] y, final int index, final double base, final double remainder) {
+
+        int i = 2 * index;
+
+        double base1 = y[i];
+
+        double t1 = base1 + base;
+        double e = t1 - base1;
+        double t2 = base - e + (base1 - (t1 - e)) + y[i + 1] + remainder;
+
+        y[i] = t1 + t2;
+        y[i + 1] = t2 - (y[i] - t1);
+    }
+
+    /**
+     * y[index] += (base1, remainder1) * (base2, remainder2)
+     */
+    public static void addProduct(final double[] y, final int index, final double base1, final double remainder1, final double base2,
+            final double remainder2) {
+
+        double cona = base1 * SPLIT;
+        double conb = base2 * SPLIT;
+        double a1 = cona - (cona - base1);
+        double b1 = conb - (conb - base2);
+        double a2 = base1 - a1;
+        double b2 = base2 - b1;
+
+        double c11 = base1 * base2;
+        double c21 = a2 * b2 + (a2 * b1 + (a1 * b2 + (a1 * b1 - c11)));
+
+        double c2 = base1 * remainder2 + remainder1 * base2;
+
+        double t1 = c11 + c2;
+        double e = t1 - c11;
+        double t2 = remainder1 * remainder2 + (c2 - e + (c11 - (t1 - e))) + c21;
+
+        double base = t1 + t2;
+
+        DoubleDouble.add(y, index, base, t2 - (base - t1));
+    }
+
+    /**
+     * y[index] = (base1, remainder1) / (base2, remainder2)
+     */
+    public static void divide(final double[] y, final int index, final double base1, final double remainder1, final double base2,
+            final double remainder2) {
+
+        int i = 2 * index;
+
+        double q1 = base1 / base2;
+
+        if (!Double.isFinite(q1) || q1 == 0.0) {
+            y[i] = q1;
+            y[i + 1] = 0.0;
+            return;
+        }
+
+        // The remainder (base1, remainder1) - q1 * (base2, remainder2)
+        y[i] = base1;
+        y[i + 1] = remainder1;
+        DoubleDouble.addProduct(y, index, -q1, 0.0, base2, remainder2);
+
+        double q2 = y[i] / base2;
+
+        y[i] = q1 + q2;
+        y[i + 1] = q2 - (y[i] - q1);
+    }
+
+    /**
+     * y[index] = (base1, remainder1) * (base2, remainder2)
+     */
+    public static void multiply(final double[] y, final int index, final double base1, final double remainder1, final double base2,
+            final double remainder2) {
+
+        int i = 2 * index;
+
+        y[i] = 0.0;
+        y[i + 1] = 0.0;
+
+        DoubleDouble.addProduct(y, index, base1, remainder1, base2, remainder2);
+    }
+
+    /**
+     * y[index] = sqrt((base, remainder)) – one Newton iteration starting from the double precision square
+     * root.
+     */
+    public static void sqrt(final double[] y, final int index, final double base, final double remainder) {
+
+        int i = 2 * index;
+
+        double root = Math.sqrt(base);
+
+        if (!Double.isFinite(root) || root == 0.0) {
+            y[i] = root;
+            y[i + 1] = 0.0;
+            return;
+        }
+
+        // The residual (base, remainder) - root * root
+        y[i] = base;
+        y[i + 1] = remainder;
+        DoubleDouble.addProduct(y, index, -root, 0.0, root, 0.0);
+
+        double correction = y[i] / (2.0 * root);
+
+        y[i] = root + correction;
+        y[i + 1] = correction - (y[i] - root);
+    }
+
+}
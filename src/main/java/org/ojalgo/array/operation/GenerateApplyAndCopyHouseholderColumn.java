@@ -23,7 +23,9 @@ package org.ojalgo.array.operation;
 
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.PrimitiveScalar;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 
 public abstract class GenerateApplyAndCopyHouseholderColumn implements ArrayOperation {
@@ -179,4 +181,181 @@ public abstract class GenerateApplyAndCopyHouseholderColumn implements ArrayOper
         return retVal;
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The row and column indices are complex
+     * element indices.
+     */
+    public static boolean invokeInterleaved(final double[] data, final int structure, final int row, final int col,
+            final Householder.Generic<ComplexNumber> destination) {
+
+        int tmpColBase = col * structure;
+
+        ComplexNumber[] tmpVector = destination.vector;
+        destination.first = row;
+
+        double tmpNormInf = PrimitiveMath.ZERO;
+        for (int i = row; i < structure; i++) {
+            tmpNormInf = PrimitiveMath.MAX.invoke(tmpNormInf, PrimitiveMath.HYPOT.invoke(data[2 * (i + tmpColBase)], data[2 * (i + tmpColBase) + 1]));
+        }
+
+        boolean retVal = tmpNormInf != PrimitiveMath.ZERO;
+        double tmpRe, tmpIm;
+        double tmpNorm2 = PrimitiveMath.ZERO;
+
+        if (retVal) {
+            for (int i = row + 1; i < structure; i++) {
+                tmpRe = data[2 * (i + tmpColBase)] / tmpNormInf;
+                tmpIm = data[2 * (i + tmpColBase) + 1] / tmpNormInf;
+                tmpNorm2 += tmpRe * tmpRe + tmpIm * tmpIm;
+            }
+            retVal = !PrimitiveScalar.isSmall(PrimitiveMath.ONE, tmpNorm2);
+        }
+
+        if (retVal) {
+
+            int index = 2 * (row + tmpColBase);
+
+            double scaleRe = data[index] / tmpNormInf;
+            double scaleIm = data[index + 1] / tmpNormInf;
+            double scaleNorm = PrimitiveMath.HYPOT.invoke(scaleRe, scaleIm);
+            tmpNorm2 += scaleNorm * scaleNorm;
+            tmpNorm2 = PrimitiveMath.SQRT.invoke(tmpNorm2);
+
+            double signumRe = PrimitiveMath.ONE;
+            double signumIm = PrimitiveMath.ZERO;
+            if (!PrimitiveScalar.isSmall(PrimitiveMath.ONE, scaleNorm)) {
+                signumRe = scaleRe / scaleNorm;
+                signumIm = scaleIm / scaleNorm;
+            }
+
+            data[index] = signumRe * tmpNorm2 * tmpNormInf;
+            data[index + 1] = signumIm * tmpNorm2 * tmpNormInf;
+
+            scaleRe -= signumRe * tmpNorm2;
+            scaleIm -= signumIm * tmpNorm2;
+            scaleNorm = PrimitiveMath.HYPOT.invoke(scaleRe, scaleIm);
+
+            tmpVector[row] = ComplexNumber.ONE;
+
+            // Reciprocal of (scale * normInf)
+            double divRe = scaleRe * tmpNormInf;
+            double divIm = scaleIm * tmpNormInf;
+            double invRe, invIm, r, d;
+            if (Math.abs(divRe) > Math.abs(divIm)) {
+                r = divIm / divRe;
+                d = divRe + r * divIm;
+                invRe = PrimitiveMath.ONE / d;
+                invIm = -r / d;
+            } else {
+                r = divRe / divIm;
+                d = divIm + r * divRe;
+                invRe = r / d;
+                invIm = -PrimitiveMath.ONE / d;
+            }
+
+            for (int i = row + 1; i < structure; i++) {
+                index += 2;
+                tmpRe = data[index];
+                tmpIm = data[index + 1];
+                data[index] = tmpRe * invRe - tmpIm * invIm;
+                data[index + 1] = tmpRe * invIm + tmpIm * invRe;
+                tmpVector[i] = ComplexNumber.of(data[index], data[index + 1]);
+            }
+
+            destination.beta = ComplexNumber.valueOf(scaleNorm / tmpNorm2);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. The row and column
+     * indices are element indices.
+     */
+    public static boolean invokeR128(final double[] data, final int structure, final int row, final int col,
+            final Householder.Generic<Quadruple> destination) {
+        return GenerateApplyAndCopyHouseholderColumn.invokeR128(data, col * structure, 1, row, structure, destination);
+    }
+
+    /**
+     * The vector to transform is data[offset + k * stride] for k in [first, limit). Everything, including
+     * the 2-norm and beta, is calculated in double-double precision. Scaling is done with a power of 2 (rather
+     * than the inf-norm itself) so that it is exact.
+     */
+    static boolean invokeR128(final double[] data, final int offset, final int stride, final int first, final int limit,
+            final Householder.Generic<Quadruple> destination) {
+
+        Quadruple[] tmpVector = destination.vector;
+        destination.first = first;
+
+        double tmpNormInf = PrimitiveMath.ZERO;
+        for (int k = first; k < limit; k++) {
+            tmpNormInf = Math.max(tmpNormInf, Math.abs(data[2 * (offset + k * stride)]));
+        }
+
+        boolean retVal = tmpNormInf != PrimitiveMath.ZERO;
+
+        double tmpFactor = retVal ? Math.scalb(PrimitiveMath.ONE, -Math.getExponent(tmpNormInf)) : PrimitiveMath.ONE;
+
+        // [norm, scale, beta]
+        double[] tmpWork = new double[6];
+
+        int index;
+        double tmpBase, tmpRemainder;
+
+        if (retVal) {
+            for (int k = first + 1; k < limit; k++) {
+                index = 2 * (offset + k * stride);
+                tmpBase = data[index] * tmpFactor;
+                tmpRemainder = data[index + 1] * tmpFactor;
+                DoubleDouble.addProduct(tmpWork, 0, tmpBase, tmpRemainder, tmpBase, tmpRemainder);
+            }
+            retVal = !PrimitiveScalar.isSmall(PrimitiveMath.ONE, tmpWork[0]);
+        }
+
+        if (retVal) {
+
+            index = 2 * (offset + first * stride);
+
+            tmpWork[2] = data[index] * tmpFactor;
+            tmpWork[3] = data[index + 1] * tmpFactor;
+
+            DoubleDouble.addProduct(tmpWork, 0, tmpWork[2], tmpWork[3], tmpWork[2], tmpWork[3]);
+            DoubleDouble.sqrt(tmpWork, 0, tmpWork[0], tmpWork[1]);
+
+            double normBase = tmpWork[0];
+            double normRemainder = tmpWork[1];
+
+            if (tmpWork[2] <= PrimitiveMath.ZERO) {
+                data[index] = normBase / tmpFactor;
+                data[index + 1] = normRemainder / tmpFactor;
+                DoubleDouble.add(tmpWork, 1, -normBase, -normRemainder);
+            } else {
+                data[index] = -normBase / tmpFactor;
+                data[index + 1] = -normRemainder / tmpFactor;
+                DoubleDouble.add(tmpWork, 1, normBase, normRemainder);
+            }
+
+            double scaleBase = tmpWork[2];
+            double scaleRemainder = tmpWork[3];
+
+            tmpVector[first] = Quadruple.ONE;
+
+            for (int k = first + 1; k < limit; k++) {
+                index = 2 * (offset + k * stride);
+                DoubleDouble.divide(data, offset + k * stride, data[index] * tmpFactor, data[index + 1] * tmpFactor, scaleBase, scaleRemainder);
+                tmpVector[k] = Quadruple.of(data[index], data[index + 1]);
+            }
+
+            if (scaleBase < PrimitiveMath.ZERO) {
+                DoubleDouble.divide(tmpWork, 2, -scaleBase, -scaleRemainder, normBase, normRemainder);
+            } else {
+                DoubleDouble.divide(tmpWork, 2, scaleBase, scaleRemainder, normBase, normRemainder);
+            }
+            destination.beta = Quadruple.of(tmpWork[4], tmpWork[5]);
+        }
+
+        return retVal;
+    }
+
 }
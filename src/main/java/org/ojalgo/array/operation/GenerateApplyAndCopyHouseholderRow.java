@@ -23,7 +23,9 @@ package org.ojalgo.array.operation;
 
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.PrimitiveScalar;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 
 public abstract class GenerateApplyAndCopyHouseholderRow implements ArrayOperation {
@@ -184,4 +186,101 @@ public abstract class GenerateApplyAndCopyHouseholderRow implements ArrayOperati
         return retVal;
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The row and column indices are complex
+     * element indices.
+     */
+    public static boolean invokeInterleaved(final double[] data, final int structure, final int row, final int col,
+            final Householder.Generic<ComplexNumber> destination) {
+
+        int tmpColDim = data.length / (2 * structure);
+
+        ComplexNumber[] tmpVector = destination.vector;
+        destination.first = col;
+
+        double tmpNormInf = PrimitiveMath.ZERO;
+        for (int j = col; j < tmpColDim; j++) {
+            tmpNormInf = PrimitiveMath.MAX.invoke(tmpNormInf, PrimitiveMath.HYPOT.invoke(data[2 * (row + j * structure)], data[2 * (row + j * structure) + 1]));
+        }
+
+        boolean retVal = tmpNormInf != PrimitiveMath.ZERO;
+        double tmpRe, tmpIm;
+        double tmpNorm2 = PrimitiveMath.ZERO;
+
+        if (retVal) {
+            for (int j = col + 1; j < tmpColDim; j++) {
+                tmpRe = data[2 * (row + j * structure)] / tmpNormInf;
+                tmpIm = data[2 * (row + j * structure) + 1] / tmpNormInf;
+                tmpNorm2 += tmpRe * tmpRe + tmpIm * tmpIm;
+            }
+            retVal = !PrimitiveScalar.isSmall(PrimitiveMath.ONE, tmpNorm2);
+        }
+
+        if (retVal) {
+
+            int index = 2 * (row + col * structure);
+
+            double scaleRe = data[index] / tmpNormInf;
+            double scaleIm = data[index + 1] / tmpNormInf;
+            double scaleNorm = PrimitiveMath.HYPOT.invoke(scaleRe, scaleIm);
+            tmpNorm2 += scaleNorm * scaleNorm;
+            tmpNorm2 = PrimitiveMath.SQRT.invoke(tmpNorm2);
+
+            double signumRe = PrimitiveMath.ONE;
+            double signumIm = PrimitiveMath.ZERO;
+            if (!PrimitiveScalar.isSmall(PrimitiveMath.ONE, scaleNorm)) {
+                signumRe = scaleRe / scaleNorm;
+                signumIm = scaleIm / scaleNorm;
+            }
+
+            data[index] = signumRe * tmpNorm2 * tmpNormInf;
+            data[index + 1] = signumIm * tmpNorm2 * tmpNormInf;
+
+            scaleRe -= signumRe * tmpNorm2;
+            scaleIm -= signumIm * tmpNorm2;
+            scaleNorm = PrimitiveMath.HYPOT.invoke(scaleRe, scaleIm);
+
+            tmpVector[col] = ComplexNumber.ONE;
+
+            // Reciprocal of (scale * normInf)
+            double divRe = scaleRe * tmpNormInf;
+            double divIm = scaleIm * tmpNormInf;
+            double invRe, invIm, r, d;
+            if (Math.abs(divRe) > Math.abs(divIm)) {
+                r = divIm / divRe;
+                d = divRe + r * divIm;
+                invRe = PrimitiveMath.ONE / d;
+                invIm = -r / d;
+            } else {
+                r = divRe / divIm;
+                d = divIm + r * divRe;
+                invRe = r / d;
+                invIm = -PrimitiveMath.ONE / d;
+            }
+
+            for (int j = col + 1; j < tmpColDim; j++) {
+                index += 2 * structure;
+                tmpRe = data[index];
+                tmpIm = data[index + 1];
+                // Conjugated
+                data[index] = tmpRe * invRe - tmpIm * invIm;
+                data[index + 1] = -(tmpRe * invIm + tmpIm * invRe);
+                tmpVector[j] = ComplexNumber.of(data[index], data[index + 1]);
+            }
+
+            destination.beta = ComplexNumber.valueOf(scaleNorm / tmpNorm2);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. The row and column
+     * indices are element indices.
+     */
+    public static boolean invokeR128(final double[] data, final int structure, final int row, final int col,
+            final Householder.Generic<Quadruple> destination) {
+        return GenerateApplyAndCopyHouseholderColumn.invokeR128(data, row, structure, col, data.length / (2 * structure), destination);
+    }
+
 }
@@ -97,4 +97,60 @@ public abstract class HermitianRank2Update implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The column indices are complex element
+     * indices.
+     */
+    public static void invokeInterleaved(final double[] data, final int firstColumn, final int columnLimit, final double[] vector1, final double[] vector2) {
+
+        int structure = vector1.length / 2;
+
+        double c1Re, c1Im, c2Re, c2Im;
+        double v1Re, v1Im, v2Re, v2Im;
+
+        int tmpIndex;
+        for (int j = firstColumn; j < columnLimit; j++) {
+
+            // Conjugated
+            c1Re = vector1[2 * j];
+            c1Im = -vector1[2 * j + 1];
+            c2Re = vector2[2 * j];
+            c2Im = -vector2[2 * j + 1];
+
+            tmpIndex = 2 * (j + j * structure);
+            for (int i = j; i < structure; i++) {
+                v1Re = vector1[2 * i];
+                v1Im = vector1[2 * i + 1];
+                v2Re = vector2[2 * i];
+                v2Im = vector2[2 * i + 1];
+                data[tmpIndex++] -= v2Re * c1Re - v2Im * c1Im + v1Re * c2Re - v1Im * c2Im;
+                data[tmpIndex++] -= v2Re * c1Im + v2Im * c1Re + v1Re * c2Im + v1Im * c2Re;
+            }
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. The column
+     * indices are element indices.
+     */
+    public static void invokeR128(final double[] data, final int firstColumn, final int columnLimit, final double[] vector1, final double[] vector2) {
+
+        int structure = vector1.length / 2;
+
+        double c1Base, c1Remainder, c2Base, c2Remainder;
+
+        for (int j = firstColumn; j < columnLimit; j++) {
+
+            c1Base = -vector1[2 * j];
+            c1Remainder = -vector1[2 * j + 1];
+            c2Base = -vector2[2 * j];
+            c2Remainder = -vector2[2 * j + 1];
+
+            for (int i = j; i < structure; i++) {
+                DoubleDouble.addProduct(data, i + j * structure, vector2[2 * i], vector2[2 * i + 1], c1Base, c1Remainder);
+                DoubleDouble.addProduct(data, i + j * structure, vector1[2 * i], vector1[2 * i + 1], c2Base, c2Remainder);
+            }
+        }
+    }
+
 }
@@ -28,6 +28,8 @@ import java.util.Arrays;
 import org.ojalgo.concurrent.DivideAndConquer;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 import org.ojalgo.type.context.NumberContext;
 
@@ -389,4 +391,129 @@ public abstract class HouseholderHermitian implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The worker array must be (at least) as long
+     * as the Householder vector's interleaved representation.
+     */
+    public static void invokeInterleaved(final double[] data, final Householder.Generic<ComplexNumber> householder, final double[] worker) {
+
+        int tmpFirst = householder.first;
+        double[] tmpVector = COPY.interleaved(householder.vector, tmpFirst);
+        int tmpLength = householder.vector.length;
+        double betaRe = householder.beta.getReal();
+        double betaIm = householder.beta.getImaginary();
+        int tmpCount = tmpLength - tmpFirst;
+
+        if (tmpCount > MultiplyHermitianAndVector.THRESHOLD) {
+
+            DivideAndConquer tmpConqurer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    MultiplyHermitianAndVector.invokeInterleaved(worker, first, limit, data, tmpVector, tmpFirst);
+                }
+            };
+
+            tmpConqurer.invoke(tmpFirst, tmpLength, MultiplyHermitianAndVector.THRESHOLD);
+
+        } else {
+
+            MultiplyHermitianAndVector.invokeInterleaved(worker, tmpFirst, tmpLength, data, tmpVector, tmpFirst);
+        }
+
+        ComplexNumber tmpDot = DOTC.invokeInterleaved(tmpVector, 0, worker, 0, tmpFirst, tmpLength);
+        // tmpVal = tmpDot * beta / 2
+        double valRe = (tmpDot.getReal() * betaRe - tmpDot.getImaginary() * betaIm) / PrimitiveMath.TWO;
+        double valIm = (tmpDot.getReal() * betaIm + tmpDot.getImaginary() * betaRe) / PrimitiveMath.TWO;
+
+        double wRe, wIm, vRe, vIm;
+        for (int c = tmpFirst; c < tmpLength; c++) {
+            // worker[c] = beta * (worker[c] - tmpVal * vector[c])
+            vRe = tmpVector[2 * c];
+            vIm = tmpVector[2 * c + 1];
+            wRe = worker[2 * c] - (valRe * vRe - valIm * vIm);
+            wIm = worker[2 * c + 1] - (valRe * vIm + valIm * vRe);
+            worker[2 * c] = betaRe * wRe - betaIm * wIm;
+            worker[2 * c + 1] = betaRe * wIm + betaIm * wRe;
+        }
+
+        if (tmpCount > HermitianRank2Update.THRESHOLD) {
+
+            DivideAndConquer tmpConqurer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    HermitianRank2Update.invokeInterleaved(data, first, limit, tmpVector, worker);
+                }
+            };
+
+            tmpConqurer.invoke(tmpFirst, tmpLength, HermitianRank2Update.THRESHOLD);
+
+        } else {
+
+            HermitianRank2Update.invokeInterleaved(data, tmpFirst, tmpLength, tmpVector, worker);
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. The worker
+     * array must be (at least) as long as the Householder vector's interleaved representation.
+     */
+    public static void invokeR128(final double[] data, final Householder.Generic<Quadruple> householder, final double[] worker) {
+
+        int tmpFirst = householder.first;
+        double[] tmpVector = COPY.interleaved(householder.vector, tmpFirst);
+        int tmpLength = householder.vector.length;
+        double betaBase = householder.beta.getBase();
+        double betaRemainder = householder.beta.getRemainder();
+        int tmpCount = tmpLength - tmpFirst;
+
+        if (tmpCount > MultiplyHermitianAndVector.THRESHOLD) {
+
+            DivideAndConquer tmpConqurer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    MultiplyHermitianAndVector.invokeR128(worker, first, limit, data, tmpVector, tmpFirst);
+                }
+            };
+
+            tmpConqurer.invoke(tmpFirst, tmpLength, MultiplyHermitianAndVector.THRESHOLD);
+
+        } else {
+
+            MultiplyHermitianAndVector.invokeR128(worker, tmpFirst, tmpLength, data, tmpVector, tmpFirst);
+        }
+
+        Quadruple tmpDot = DOT.invokeR128(tmpVector, 0, worker, 0, tmpFirst, tmpLength);
+        // [val, tmp] with val = dot * beta / 2
+        double[] tmpWork = new double[4];
+        DoubleDouble.multiply(tmpWork, 0, tmpDot.getBase() / PrimitiveMath.TWO, tmpDot.getRemainder() / PrimitiveMath.TWO, betaBase, betaRemainder);
+
+        for (int c = tmpFirst; c < tmpLength; c++) {
+            // worker[c] = beta * (worker[c] - val * vector[c])
+            tmpWork[2] = worker[2 * c];
+            tmpWork[3] = worker[2 * c + 1];
+            DoubleDouble.addProduct(tmpWork, 1, -tmpWork[0], -tmpWork[1], tmpVector[2 * c], tmpVector[2 * c + 1]);
+            DoubleDouble.multiply(worker, c, betaBase, betaRemainder, tmpWork[2], tmpWork[3]);
+        }
+
+        if (tmpCount > HermitianRank2Update.THRESHOLD) {
+
+            DivideAndConquer tmpConqurer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    HermitianRank2Update.invokeR128(data, first, limit, tmpVector, worker);
+                }
+            };
+
+            tmpConqurer.invoke(tmpFirst, tmpLength, HermitianRank2Update.THRESHOLD);
+
+        } else {
+
+            HermitianRank2Update.invokeR128(data, tmpFirst, tmpLength, tmpVector, worker);
+        }
+    }
+
 }
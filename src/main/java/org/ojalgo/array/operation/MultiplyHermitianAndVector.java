@@ -71,4 +71,66 @@ public abstract class MultiplyHermitianAndVector implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The row and column indices are complex
+     * element indices.
+     */
+    public static void invokeInterleaved(final double[] productMatrix, final int firstRow, final int rowLimit, final double[] hermitianMatrix,
+            final double[] rightVector, final int firstColumn) {
+
+        int structure = rightVector.length / 2;
+
+        double re, im, hRe, hIm, vRe, vIm;
+        int index;
+        for (int i = firstRow; i < rowLimit; i++) {
+            re = ZERO;
+            im = ZERO;
+            for (int c = firstColumn; c < i; c++) {
+                index = 2 * (i + c * structure);
+                hRe = hermitianMatrix[index];
+                hIm = hermitianMatrix[index + 1];
+                vRe = rightVector[2 * c];
+                vIm = rightVector[2 * c + 1];
+                re += hRe * vRe - hIm * vIm;
+                im += hRe * vIm + hIm * vRe;
+            }
+            for (int c = i; c < structure; c++) {
+                index = 2 * (c + i * structure);
+                // Conjugated
+                hRe = hermitianMatrix[index];
+                hIm = -hermitianMatrix[index + 1];
+                vRe = rightVector[2 * c];
+                vIm = rightVector[2 * c + 1];
+                re += hRe * vRe - hIm * vIm;
+                im += hRe * vIm + hIm * vRe;
+            }
+            productMatrix[2 * i] = re;
+            productMatrix[2 * i + 1] = im;
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. The row and
+     * column indices are element indices.
+     */
+    public static void invokeR128(final double[] productMatrix, final int firstRow, final int rowLimit, final double[] symmetricMatrix,
+            final double[] rightVector, final int firstColumn) {
+
+        int structure = rightVector.length / 2;
+
+        int index;
+        for (int i = firstRow; i < rowLimit; i++) {
+            productMatrix[2 * i] = ZERO;
+            productMatrix[2 * i + 1] = ZERO;
+            for (int c = firstColumn; c < i; c++) {
+                index = 2 * (i + c * structure);
+                DoubleDouble.addProduct(productMatrix, i, symmetricMatrix[index], symmetricMatrix[index + 1], rightVector[2 * c], rightVector[2 * c + 1]);
+            }
+            for (int c = i; c < structure; c++) {
+                index = 2 * (c + i * structure);
+                DoubleDouble.addProduct(productMatrix, i, symmetricMatrix[index], symmetricMatrix[index + 1], rightVector[2 * c], rightVector[2 * c + 1]);
+            }
+        }
+    }
+
 }
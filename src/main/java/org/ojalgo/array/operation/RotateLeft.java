@@ -21,6 +21,8 @@
  */
 package org.ojalgo.array.operation;
 
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 
 public abstract class RotateLeft implements ArrayOperation {
@@ -90,4 +92,72 @@ public abstract class RotateLeft implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The row indices are complex element indices.
+     */
+    public static void invokeInterleaved(final double[] data, final int structure, final int rowA, final int rowB, final ComplexNumber cos,
+            final ComplexNumber sin) {
+
+        double cRe = cos.getReal(), cIm = cos.getImaginary();
+        double sRe = sin.getReal(), sIm = sin.getImaginary();
+
+        double aRe, aIm, bRe, bIm;
+
+        int indexA = 2 * rowA;
+        int indexB = 2 * rowB;
+
+        for (int j = 0, lim = data.length / (2 * structure); j < lim; j++) {
+
+            aRe = data[indexA];
+            aIm = data[indexA + 1];
+            bRe = data[indexB];
+            bIm = data[indexB + 1];
+
+            data[indexA] = cRe * aRe - cIm * aIm + sRe * bRe - sIm * bIm;
+            data[indexA + 1] = cRe * aIm + cIm * aRe + sRe * bIm + sIm * bRe;
+            data[indexB] = cRe * bRe - cIm * bIm - (sRe * aRe - sIm * aIm);
+            data[indexB + 1] = cRe * bIm + cIm * bRe - (sRe * aIm + sIm * aRe);
+
+            indexA += 2 * structure;
+            indexB += 2 * structure;
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. The row indices are
+     * element indices.
+     */
+    public static void invokeR128(final double[] data, final int structure, final int rowA, final int rowB, final Quadruple cos, final Quadruple sin) {
+
+        double cBase = cos.getBase(), cRemainder = cos.getRemainder();
+        double sBase = sin.getBase(), sRemainder = sin.getRemainder();
+
+        double[] rotated = new double[4];
+        double aBase, aRemainder, bBase, bRemainder;
+
+        int indexA = 2 * rowA;
+        int indexB = 2 * rowB;
+
+        for (int j = 0, lim = data.length / (2 * structure); j < lim; j++) {
+
+            aBase = data[indexA];
+            aRemainder = data[indexA + 1];
+            bBase = data[indexB];
+            bRemainder = data[indexB + 1];
+
+            DoubleDouble.multiply(rotated, 0, cBase, cRemainder, aBase, aRemainder);
+            DoubleDouble.addProduct(rotated, 0, sBase, sRemainder, bBase, bRemainder);
+            DoubleDouble.multiply(rotated, 1, cBase, cRemainder, bBase, bRemainder);
+            DoubleDouble.addProduct(rotated, 1, -sBase, -sRemainder, aBase, aRemainder);
+
+            data[indexA] = rotated[0];
+            data[indexA + 1] = rotated[1];
+            data[indexB] = rotated[2];
+            data[indexB + 1] = rotated[3];
+
+            indexA += 2 * structure;
+            indexB += 2 * structure;
+        }
+    }
+
 }
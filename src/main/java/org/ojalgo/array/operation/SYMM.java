@@ -0,0 +1,60 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+/**
+ * Symmetric matrix-matrix multiplication, [C] = [A][B], where the symmetric [A] is stored in (lower
+ * triangular, column major) packed format – n(n+1)/2 elements. [B] and [C] are ordinary dense (column major)
+ * n x k matrices. Each call handles the columns [first,limit) of [B] and [C].
+ *
+ * @author apete
+ */
+public abstract class SYMM implements ArrayOperation {
+
+    public static int THRESHOLD = 16;
+
+    public static void invoke(final double[] product, final double[] packed, final int dim, final double[] right, final int first, final int limit) {
+
+        for (int c = first; c < limit; c++) {
+
+            int offset = c * dim;
+
+            for (int i = 0; i < dim; i++) {
+                product[offset + i] = ZERO;
+            }
+
+            for (int j = 0, start = 0; j < dim; start += dim - j, j++) {
+
+                double value = right[offset + j];
+
+                // Below the diagonal, column j of [A]
+                AXPY.invoke(product, offset + j - start, value, packed, 0, start + 1, start + dim - j);
+
+                // Above the diagonal, row j of [A] (the same elements)
+                product[offset + j] += packed[start] * value + DOT.invoke(packed, start, right, offset + j, 1, dim - j);
+            }
+        }
+    }
+
+}
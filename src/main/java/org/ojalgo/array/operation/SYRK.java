@@ -0,0 +1,58 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+/**
+ * Symmetric rank k update, [C] += a [A][A]<sup>T</sup>, where the symmetric [C] is stored in (lower
+ * triangular, column major) packed format – n(n+1)/2 elements – and [A] is an ordinary dense (column major)
+ * n x k matrix. Each call updates the columns [first,limit) of [C].
+ *
+ * @author apete
+ */
+public abstract class SYRK implements ArrayOperation {
+
+    public static int THRESHOLD = 64;
+
+    public static void invoke(final double[] packed, final int dim, final double scalar, final double[] matrix, final int nbCols, final int first,
+            final int limit) {
+
+        for (int j = first, start = SYRK.start(dim, first); j < limit; start += dim - j, j++) {
+            for (int c = 0, offset = 0; c < nbCols; c++, offset += dim) {
+                double value = scalar * matrix[offset + j];
+                if (value != ZERO) {
+                    AXPY.invoke(packed, start - j, value, matrix, offset, j, dim);
+                }
+            }
+        }
+    }
+
+    /**
+     * The index of the first (diagonal) element of column j, in a (lower triangular, column major) packed
+     * array
+     */
+    static int start(final int dim, final int j) {
+        return (int) (j * (2L * dim - j + 1L) / 2L);
+    }
+
+}
@@ -23,6 +23,8 @@ package org.ojalgo.array.operation;
 
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.function.special.MissingMath;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 import org.ojalgo.structure.Access2D;
 
@@ -178,4 +180,116 @@ public abstract class SubstituteBackwards implements ArrayOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. All indices are complex element indices.
+     */
+    public static void invokeInterleaved(final double[] data, final int structure, final int first, final int limit, final Access2D<ComplexNumber> body,
+            final boolean unitDiagonal, final boolean conjugated, final boolean hermitian) {
+
+        int diagDim = (int) Math.min(body.countRows(), body.countColumns());
+        double[] bodyRow = new double[2 * diagDim];
+        ComplexNumber bodyVal;
+        double re, im, bRe, bIm, xRe, xIm, invRe, invIm, r, d;
+        int colBaseIndex, index;
+
+        int firstRow = hermitian ? first : 0;
+        for (int i = diagDim - 1; i >= firstRow; i--) {
+
+            for (int j = i; j < diagDim; j++) {
+                bodyVal = conjugated ? body.get(j, i).conjugate() : body.get(i, j);
+                bodyRow[2 * j] = bodyVal.getReal();
+                bodyRow[2 * j + 1] = bodyVal.getImaginary();
+            }
+
+            // Reciprocal of the diagonal element
+            bRe = bodyRow[2 * i];
+            bIm = bodyRow[2 * i + 1];
+            if (Math.abs(bRe) > Math.abs(bIm)) {
+                r = bIm / bRe;
+                d = bRe + r * bIm;
+                invRe = PrimitiveMath.ONE / d;
+                invIm = -r / d;
+            } else {
+                r = bRe / bIm;
+                d = bIm + r * bRe;
+                invRe = r / d;
+                invIm = -PrimitiveMath.ONE / d;
+            }
+
+            int columnLimit = hermitian ? Math.min(i + 1, limit) : limit;
+            for (int s = first; s < columnLimit; s++) {
+
+                colBaseIndex = s * structure;
+
+                re = PrimitiveMath.ZERO;
+                im = PrimitiveMath.ZERO;
+                for (int j = i + 1; j < diagDim; j++) {
+                    index = 2 * (j + colBaseIndex);
+                    bRe = bodyRow[2 * j];
+                    bIm = bodyRow[2 * j + 1];
+                    xRe = data[index];
+                    xIm = data[index + 1];
+                    re += bRe * xRe - bIm * xIm;
+                    im += bRe * xIm + bIm * xRe;
+                }
+
+                index = 2 * (i + colBaseIndex);
+                re = data[index] - re;
+                im = data[index + 1] - im;
+
+                if (unitDiagonal) {
+                    data[index] = re;
+                    data[index + 1] = im;
+                } else {
+                    data[index] = re * invRe - im * invIm;
+                    data[index + 1] = re * invIm + im * invRe;
+                }
+            }
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link DoubleDouble}. All indices are
+     * element indices.
+     */
+    public static void invokeR128(final double[] data, final int structure, final int first, final int limit, final Access2D<Quadruple> body,
+            final boolean unitDiagonal, final boolean conjugated, final boolean hermitian) {
+
+        int diagDim = MissingMath.toMinIntExact(body.countRows(), body.countColumns());
+        double[] bodyRow = new double[2 * diagDim];
+        double[] sum = new double[2];
+        Quadruple bodyVal;
+        int colBaseIndex, index;
+
+        int firstRow = hermitian ? first : 0;
+        for (int i = diagDim - 1; i >= firstRow; i--) {
+
+            for (int j = i; j < diagDim; j++) {
+                bodyVal = conjugated ? body.get(j, i) : body.get(i, j);
+                bodyRow[2 * j] = bodyVal.getBase();
+                bodyRow[2 * j + 1] = bodyVal.getRemainder();
+            }
+
+            int columnLimit = hermitian ? Math.min(i + 1, limit) : limit;
+            for (int s = first; s < columnLimit; s++) {
+
+                colBaseIndex = s * structure;
+                index = 2 * (i + colBaseIndex);
+
+                sum[0] = data[index];
+                sum[1] = data[index + 1];
+                for (int j = i + 1; j < diagDim; j++) {
+                    DoubleDouble.addProduct(sum, 0, -bodyRow[2 * j], -bodyRow[2 * j + 1], data[2 * (j + colBaseIndex)], data[2 * (j + colBaseIndex) + 1]);
+                }
+
+                if (unitDiagonal) {
+                    data[index] = sum[0];
+                    data[index + 1] = sum[1];
+                } else {
+                    DoubleDouble.divide(data, i + colBaseIndex, sum[0], sum[1], bodyRow[2 * i], bodyRow[2 * i + 1]);
+                }
+            }
+        }
+    }
+
 }
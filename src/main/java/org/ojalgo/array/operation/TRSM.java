@@ -0,0 +1,70 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.array.operation;
+
+/**
+ * Triangular equation system solving, [T][X] = [B] or [T]<sup>T</sup>[X] = [B], where the triangular [T] is
+ * stored in (column major) packed format – n(n+1)/2 elements – and [B] is an ordinary dense (column major) n
+ * x k matrix that is overwritten with the solution [X]. Each call handles the columns [first,limit) of [B].
+ *
+ * @author apete
+ */
+public abstract class TRSM implements ArrayOperation {
+
+    public static int THRESHOLD = 16;
+
+    public static void invoke(final double[] matrix, final double[] packed, final int dim, final boolean upper, final boolean transposed, final int first,
+            final int limit) {
+
+        for (int c = first; c < limit; c++) {
+
+            int offset = c * dim;
+
+            if (upper) {
+                if (transposed) {
+                    for (int j = 0, start = 0; j < dim; start += ++j) {
+                        matrix[offset + j] = (matrix[offset + j] - DOT.invoke(packed, start, matrix, offset, 0, j)) / packed[start + j];
+                    }
+                } else {
+                    for (int j = dim - 1; j >= 0; j--) {
+                        int start = (int) (j * (j + 1L) / 2L);
+                        double value = matrix[offset + j] / packed[start + j];
+                        matrix[offset + j] = value;
+                        AXPY.invoke(matrix, offset - start, -value, packed, 0, start, start + j);
+                    }
+                }
+            } else if (transposed) {
+                for (int j = dim - 1; j >= 0; j--) {
+                    int start = SYRK.start(dim, j);
+                    matrix[offset + j] = (matrix[offset + j] - DOT.invoke(packed, start, matrix, offset + j, 1, dim - j)) / packed[start];
+                }
+            } else {
+                for (int j = 0, start = 0; j < dim; start += dim - j, j++) {
+                    double value = matrix[offset + j] / packed[start];
+                    matrix[offset + j] = value;
+                    AXPY.invoke(matrix, offset + j - start, -value, packed, 0, start + 1, start + dim - j);
+                }
+            }
+        }
+    }
+
+}
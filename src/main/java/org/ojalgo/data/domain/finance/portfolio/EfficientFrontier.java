@@ -21,9 +21,14 @@
  */
 package org.ojalgo.data.domain.finance.portfolio;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.function.constant.BigMath;
 import org.ojalgo.matrix.MatrixR064;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
@@ -62,6 +67,50 @@ public final class EfficientFrontier extends OptimisedPortfolio {
         myOptimisationModel = this.makeModel(CONSTRAINTS);
     }
 
+    /**
+     * Calculates the efficient portfolios (asset weights) for a range of risk aversion factors in one go,
+     * without altering the state of this instance. The factors are sorted and split into contiguous chunks
+     * that are processed in parallel. Within each chunk the same solver instance is reused and every solve is
+     * warm started from the solution of the neighbouring risk aversion factor.
+     *
+     * @param riskAversions The risk aversion factors
+     * @return The asset weights, in the same order as the risk aversion factors
+     */
+    public List<MatrixR064> sweep(final double... riskAversions) {
+
+        final int tmpNbPoints = riskAversions.length;
+
+        final Integer[] tmpOrder = new Integer[tmpNbPoints];
+        for (int i = 0; i < tmpNbPoints; i++) {
+            tmpOrder[i] = i;
+        }
+        Arrays.sort(tmpOrder, (i1, i2) -> Double.compare(riskAversions[i1], riskAversions[i2]));
+
+        final int tmpNbChunks = Math.min(tmpNbPoints, Parallelism.CORES.getAsInt());
+
+        // The models are created here, as that is not thread safe, but solved in parallel
+        final List<Runnable> tmpWork = new ArrayList<>(tmpNbChunks);
+        final MatrixR064[] retVal = new MatrixR064[tmpNbPoints];
+
+        for (int c = 0; c < tmpNbChunks; c++) {
+
+            final int tmpFirst = (c * tmpNbPoints) / tmpNbChunks;
+            final int tmpLimit = ((c + 1) * tmpNbPoints) / tmpNbChunks;
+            final ParametricSolver tmpSolver = new ParametricSolver(this.makeModel(CONSTRAINTS));
+
+            tmpWork.add(() -> {
+                for (int i = tmpFirst; i < tmpLimit; i++) {
+                    final int tmpIndex = tmpOrder[i];
+                    retVal[tmpIndex] = this.toWeights(tmpSolver.solve(riskAversions[tmpIndex]));
+                }
+            });
+        }
+
+        ProcessingService.INSTANCE.process(tmpWork, tmpNbChunks, Runnable::run);
+
+        return Arrays.asList(retVal);
+    }
+
     @Override
     protected MatrixR064 calculateAssetWeights() {
 
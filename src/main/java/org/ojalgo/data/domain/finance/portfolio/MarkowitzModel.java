@@ -99,6 +99,7 @@ public final class MarkowitzModel extends OptimisedPortfolio {
 
     private final HashMap<int[], LowerUpper> myConstraints = new HashMap<>();
     private transient ExpressionsBasedModel myOptimisationModel;
+    private transient ParametricSolver myParametricSolver;
     private BigDecimal myTargetReturn;
     private BigDecimal myTargetVariance;
 
@@ -142,7 +143,8 @@ public final class MarkowitzModel extends OptimisedPortfolio {
      * </p>
      * <p>
      * There is a performance penalty for setting a target return as the underlying optimisation model has to
-     * be solved several (many) times with different pararmeters (different risk aversion factors).
+     * be solved several (many) times with different pararmeters (different risk aversion factors). The
+     * solver is reused, and warm started, between those iterations.
      * </p>
      * <p>
      * Setting a target return (or variance) is not recommnded. It's much better to simply modify the risk
@@ -167,7 +169,8 @@ public final class MarkowitzModel extends OptimisedPortfolio {
      * </p>
      * <p>
      * There is a performance penalty for setting a target variance as the underlying optimisation model has
-     * to be solved several (many) times with different pararmeters (different risk aversion factors).
+     * to be solved several (many) times with different pararmeters (different risk aversion factors). The
+     * solver is reused, and warm started, between those iterations.
      * </p>
      * <p>
      * Setting a target variance is not recommnded. It's much better to modify the risk aversion factor.
@@ -216,6 +219,20 @@ public final class MarkowitzModel extends OptimisedPortfolio {
         return myOptimisationModel;
     }
 
+    /**
+     * The model, and its solver, is reused for all risk aversion factors (until reset).
+     */
+    private Optimisation.Result optimise(final double riskAversion) {
+
+        ExpressionsBasedModel tmpModel = this.generateOptimisationModel(riskAversion);
+
+        if (myParametricSolver == null) {
+            myParametricSolver = new ParametricSolver(tmpModel);
+        }
+
+        return myParametricSolver.solve(riskAversion);
+    }
+
     /**
      * Constrained optimisation.
      */
@@ -243,7 +260,7 @@ public final class MarkowitzModel extends OptimisedPortfolio {
                 tmpTargetValue = _0_0;
             }
 
-            tmpResult = this.generateOptimisationModel(_0_0).minimise();
+            tmpResult = this.optimise(_0_0);
 
             double tmpTargetNow = _0_0;
             double tmpTargetDiff = _0_0;
@@ -266,8 +283,7 @@ public final class MarkowitzModel extends OptimisedPortfolio {
 
                 do {
 
-                    final ExpressionsBasedModel tmpModel = this.generateOptimisationModel(tmpCurrent);
-                    tmpResult = tmpModel.minimise();
+                    tmpResult = this.optimise(tmpCurrent);
 
                     tmpTargetLast = tmpTargetNow;
                     if (myTargetVariance != null) {
@@ -302,7 +318,7 @@ public final class MarkowitzModel extends OptimisedPortfolio {
 
         } else {
 
-            tmpResult = this.generateOptimisationModel(this.getRiskAversion().doubleValue()).minimise();
+            tmpResult = this.optimise(this.getRiskAversion().doubleValue());
 
         }
 
@@ -315,6 +331,7 @@ public final class MarkowitzModel extends OptimisedPortfolio {
         super.reset();
 
         myOptimisationModel = null;
+        myParametricSolver = null;
 
     }
 
@@ -165,26 +165,15 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
 
     protected final MatrixR064 handle(final Optimisation.Result optimisationResult) {
 
-        final int tmpLength = myVariables.length;
-
         myOptimisationState = optimisationResult.getState();
-        final boolean tmpFeasible = optimisationResult.getState().isFeasible();
-        final boolean tmpShortingAllowed = this.isShortingAllowed();
 
-        final MatrixR064.DenseReceiver tmpMtrxBuilder = MATRIX_FACTORY.makeDense(tmpLength);
+        final MatrixR064 retVal = this.toWeights(optimisationResult);
 
-        BigDecimal tmpValue;
-        for (int i = 0; i < tmpLength; i++) {
-            if (tmpFeasible) {
-                tmpValue = tmpShortingAllowed ? optimisationResult.get(i) : optimisationResult.get(i).max(ZERO);
-            } else {
-                tmpValue = ZERO;
-            }
-            myVariables[i].setValue(tmpValue);
-            tmpMtrxBuilder.set(i, tmpValue);
+        for (int i = 0; i < myVariables.length; i++) {
+            myVariables[i].setValue(TypeUtils.toBigDecimal(retVal.get(i)));
         }
 
-        return tmpMtrxBuilder.get();
+        return retVal;
     }
 
     @Override
@@ -248,4 +237,29 @@ abstract class OptimisedPortfolio extends EquilibriumModel {
         return retVal;
     }
 
+    /**
+     * The asset weights of an optimisation result – all zero if the result is not feasible.
+     */
+    final MatrixR064 toWeights(final Optimisation.Result optimisationResult) {
+
+        final int tmpLength = myVariables.length;
+
+        final boolean tmpFeasible = optimisationResult.getState().isFeasible();
+        final boolean tmpShortingAllowed = this.isShortingAllowed();
+
+        final MatrixR064.DenseReceiver tmpMtrxBuilder = MATRIX_FACTORY.makeDense(tmpLength);
+
+        BigDecimal tmpValue;
+        for (int i = 0; i < tmpLength; i++) {
+            if (tmpFeasible) {
+                tmpValue = tmpShortingAllowed ? optimisationResult.get(i) : optimisationResult.get(i).max(ZERO);
+            } else {
+                tmpValue = ZERO;
+            }
+            tmpMtrxBuilder.set(i, tmpValue);
+        }
+
+        return tmpMtrxBuilder.get();
+    }
+
 }
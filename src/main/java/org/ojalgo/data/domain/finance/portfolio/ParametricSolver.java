@@ -0,0 +1,127 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.domain.finance.portfolio;
+
+import java.math.BigDecimal;
+
+import org.ojalgo.function.constant.BigMath;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.convex.ConvexSolver;
+import org.ojalgo.structure.Structure1D.IntIndex;
+
+/**
+ * Solves the same (Markowitz) optimisation model, min (RAF/2) [w]<sup>T</sup>[C][w] - [w]<sup>T</sup>[r],
+ * for a sequence of risk aversion factors. Dividing the objective function by RAF gives ½
+ * [w]<sup>T</sup>[C][w] - [w]<sup>T</sup>[r]/RAF – only the linear part changes. The same
+ * {@link ConvexSolver} instance, and its decomposition of [C], is reused and each solve is warm started from
+ * the previous solution (its active set). Neighbouring risk aversion factors typically have the same, or
+ * almost the same, active set.
+ * <p>
+ * Falls back to {@link ExpressionsBasedModel#minimise()} when RAF is not positive, if the model has fixed
+ * variables or when the reused solver does not return an optimal solution.
+ * <p>
+ * Not thread safe – use one instance per thread (and per model).
+ *
+ * @author apete
+ */
+final class ParametricSolver {
+
+    private final ExpressionsBasedModel myModel;
+    private Optimisation.Result myPrevious = null;
+    private double[] myReturns = null;
+    private ConvexSolver mySolver = null;
+
+    ParametricSolver(final ExpressionsBasedModel model) {
+        super();
+        myModel = model;
+    }
+
+    /**
+     * @param riskAversion The risk aversion factor (RAF)
+     * @return The model state result
+     */
+    Optimisation.Result solve(final double riskAversion) {
+
+        Expression variance = myModel.getExpression(OptimisedPortfolio.VARIANCE);
+
+        if (riskAversion > 0.0 && this.isParametric()) {
+
+            for (int i = 0; i < myReturns.length; i++) {
+                mySolver.updateObjective(i, myReturns[i] / riskAversion);
+            }
+
+            // The previous solution is feasible, but (most likely) no longer optimal
+            Optimisation.Result result = mySolver.solve(myPrevious);
+
+            // An iteration limited, or otherwise non-optimal, result must not be used as the model solution
+            if (result.getState().isOptimal()) {
+
+                myPrevious = new Optimisation.Result(Optimisation.State.FEASIBLE, result);
+
+                variance.weight(riskAversion / 2.0);
+
+                Optimisation.Result solution = ConvexSolver.INTEGRATION.toModelState(result, myModel);
+
+                return new Optimisation.Result(solution.getState(), myModel.objective().evaluate(solution).doubleValue(), solution);
+            }
+
+            myPrevious = null;
+        }
+
+        variance.weight(riskAversion / 2.0);
+
+        return myModel.minimise();
+    }
+
+    private boolean isParametric() {
+
+        if (mySolver == null && myReturns == null) {
+
+            myReturns = new double[myModel.countVariables()];
+
+            if (myModel.getFixedVariables().isEmpty()) {
+
+                Expression variance = myModel.getExpression(OptimisedPortfolio.VARIANCE);
+                BigDecimal before = variance.getContributionWeight();
+                variance.weight(BigMath.HALF);
+
+                if (ConvexSolver.INTEGRATION.isCapable(myModel)) {
+
+                    mySolver = ConvexSolver.INTEGRATION.build(myModel);
+
+                    // The same (adjusted/scaled) factors as the solver got
+                    Expression objective = myModel.objective();
+                    for (IntIndex key : objective.getLinearKeySet()) {
+                        myReturns[key.index] = -objective.doubleValue(key, true);
+                    }
+                }
+
+                variance.weight(before);
+            }
+        }
+
+        return mySolver != null;
+    }
+
+}
@@ -24,107 +24,92 @@ package org.ojalgo.data.domain.finance.series;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.ojalgo.machine.JavaType;
+import org.ojalgo.machine.MemoryEstimator;
 import org.ojalgo.series.BasicSeries;
 import org.ojalgo.series.SimpleSeries;
-import org.ojalgo.type.CalendarDate;
 import org.ojalgo.type.CalendarDateUnit;
+import org.ojalgo.type.ConcurrentCache;
 import org.ojalgo.type.PrimitiveNumber;
-
+import org.ojalgo.type.management.CacheStatistics;
+
+/**
+ * Caches price series. Series are refreshed (in the background) when accessed more than 1 refresh interval
+ * after they were (re)loaded, and expire 2 refresh intervals after they were (re)loaded. Series accessed at
+ * least once every refresh interval are thus kept, and refreshed, indefinitely. Concurrent readers of cached
+ * series never block each other. A refreshed series is a new instance containing all the previously cached
+ * data as well as the newly fetched.
+ */
 public final class SourceCache {
 
-    private static final class Value {
-
-        final BasicSeries<LocalDate, PrimitiveNumber> series;
-        CalendarDate updated = new CalendarDate();
-        CalendarDate used = null;
+    /**
+     * Estimated memory size of each series entry – a tree map node with its key and value.
+     */
+    private static final long ENTRY_SIZE = MemoryEstimator.makeForClassExtendingObject().add(JavaType.REFERENCE).add(JavaType.REFERENCE)
+            .add(JavaType.REFERENCE).add(JavaType.REFERENCE).add(JavaType.REFERENCE).add(JavaType.BOOLEAN).estimate()
+            + MemoryEstimator.estimateObject(LocalDate.class) + MemoryEstimator.estimateObject(DatePrice.class);
+
+    private static BasicSeries<LocalDate, PrimitiveNumber> load(final FinanceData<?> key) {
+        BasicSeries<LocalDate, PrimitiveNumber> retVal = new SimpleSeries<>();
+        retVal.name(key.getSymbol());
+        return SourceCache.update(key, retVal);
+    }
 
-        Value(final String name) {
+    private static BasicSeries<LocalDate, PrimitiveNumber> update(final FinanceData<?> key, final BasicSeries<LocalDate, PrimitiveNumber> cached) {
 
-            super();
+        BasicSeries<LocalDate, PrimitiveNumber> retVal = new SimpleSeries<>();
+        retVal.name(cached.getName());
+        retVal.putAll(cached);
 
-            series = new SimpleSeries<>();
-            series.name(name);
+        BasicSeries<LocalDate, PrimitiveNumber> priceSeries = key.getPriceSeries();
+        for (Entry<LocalDate, PrimitiveNumber> entry : priceSeries.entrySet()) {
+            retVal.put(entry.getKey(), entry.getValue());
         }
 
+        return retVal;
     }
 
-    private static final Timer TIMER = new Timer("SourceCache-Daemon", true);
-
-    private final Map<FinanceData, SourceCache.Value> myCache = new ConcurrentHashMap<>();
-    private final Map<FinanceData, FinanceData> myFallback = new ConcurrentHashMap<>();
-
-    private final CalendarDate.Resolution myRefreshInterval;
+    private final ConcurrentCache<FinanceData<?>, BasicSeries<LocalDate, PrimitiveNumber>> myCache;
+    private final Map<FinanceData<?>, FinanceData<?>> myFallback = new ConcurrentHashMap<>();
 
     public SourceCache(final CalendarDateUnit refreshInterval) {
+        this(refreshInterval, Long.MAX_VALUE);
+    }
 
-        super();
-
-        myRefreshInterval = refreshInterval;
-
-        TIMER.schedule(new TimerTask() {
-
-            @Override
-            public void run() {
-                SourceCache.this.cleanUp();
-            }
+    /**
+     * @param refreshInterval How often to refresh cached series
+     * @param maximumSize The maximum (estimated) total memory size (bytes) of the cached series
+     */
+    public SourceCache(final CalendarDateUnit refreshInterval, final long maximumSize) {
 
-        }, 0L, refreshInterval.toDurationInMillis());
+        super();
 
+        myCache = ConcurrentCache.<FinanceData<?>, BasicSeries<LocalDate, PrimitiveNumber>> newBuilder(SourceCache::load).reloader(SourceCache::update)
+                .refreshAfterWrite(1L, refreshInterval).expireAfterWrite(2L, refreshInterval).maximumWeight(maximumSize)
+                .weigher(series -> series.size() * ENTRY_SIZE).build();
     }
 
-    public synchronized BasicSeries<LocalDate, PrimitiveNumber> get(final FinanceData key) {
+    public BasicSeries<LocalDate, PrimitiveNumber> get(final FinanceData<?> key) {
 
-        final CalendarDate now = new CalendarDate();
+        BasicSeries<LocalDate, PrimitiveNumber> series = myCache.get(key);
 
-        Value value = myCache.computeIfAbsent(key, k -> new SourceCache.Value(k.getSymbol()));
+        FinanceData<?> fallback = myFallback.get(key);
 
-        if ((value.used == null) || ((now.millis - value.updated.millis) > myRefreshInterval.toDurationInMillis())) {
-            this.update(value, key, now);
-        }
-
-        if ((value.series.size() <= 1) && myFallback.containsKey(key)) {
-            return this.get(myFallback.get(key));
+        if (series.size() <= 1 && fallback != null) {
+            return this.get(fallback);
         } else {
-            value.used = now;
-            return value.series;
+            return series;
         }
     }
 
-    public synchronized void register(final FinanceData primary, final FinanceData secondary) {
-
-        myCache.computeIfAbsent(primary, k -> new SourceCache.Value(k.getSymbol()));
-
-        myCache.computeIfAbsent(secondary, k -> new SourceCache.Value(k.getSymbol()));
-
-        myFallback.put(primary, secondary);
+    public CacheStatistics getStatistics() {
+        return myCache.getStatistics();
     }
 
-    private void cleanUp() {
-
-        final CalendarDate now = new CalendarDate();
-
-        for (final Entry<FinanceData, SourceCache.Value> entry : myCache.entrySet()) {
-            FinanceData key = entry.getKey();
-            Value value = entry.getValue();
-            if ((value.used == null) || ((now.millis - value.used.millis) > myRefreshInterval.toDurationInMillis())) {
-                value.series.clear();
-                myCache.remove(key);
-            }
-        }
+    public void register(final FinanceData<?> primary, final FinanceData<?> secondary) {
+        myFallback.put(primary, secondary);
     }
 
-    private void update(final Value cacheValue, final FinanceData cacheKey, final CalendarDate now) {
-        BasicSeries<LocalDate, PrimitiveNumber> priceSeries = cacheKey.getPriceSeries();
-        for (Entry<LocalDate, PrimitiveNumber> entry : priceSeries.entrySet()) {
-            LocalDate entryKey = entry.getKey();
-            PrimitiveNumber entryValue = entry.getValue();
-            BasicSeries<LocalDate, PrimitiveNumber> cacheValueSeries = cacheValue.series;
-            cacheValueSeries.put(entryKey, entryValue);
-        }
-        cacheValue.updated = now;
-    }
 }
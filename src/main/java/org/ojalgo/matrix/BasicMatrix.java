@@ -42,6 +42,8 @@ import org.ojalgo.matrix.decomposition.SingularValue;
 import org.ojalgo.matrix.store.ElementsSupplier;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.ProductChain;
+import org.ojalgo.matrix.store.StorePool;
 import org.ojalgo.matrix.store.TransformableRegion;
 import org.ojalgo.matrix.task.DeterminantTask;
 import org.ojalgo.matrix.task.InverterTask;
@@ -212,13 +214,17 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
     }
 
     /**
-     * The returned instance can be have its elements mutated in various ways, while the size/shape is fixed.
+     * The returned instance can be have its elements mutated in various ways. The size/shape is fixed, except
+     * for the in-place multiply and transpose operations.
+     * <p>
+     * Within an open {@link StorePool.Scope} the copy, as well as any buffers needed by the in-place
+     * operations, are taken from (and returned to) the pool.
      *
      * @return A fully mutable matrix builder with the elements initially set to a copy of this matrix –
      *         always creates a full dense copy.
      * @see #logical()
      */
-    public abstract Mutator2D<N, M, PhysicalStore<N>> copy();
+    public abstract DenseMutator2D<N, M, ?> copy();
 
     public long count() {
         return mySupplier.count();
@@ -473,6 +479,21 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
         return this.newInstance(this.store().multiply(multiplicand.store()));
     }
 
+    /**
+     * Multiply a chain of matrices – [this][multiplicand][more...]. The order in which the multiplications are
+     * performed is chosen to minimise the total number of operations, see {@link ProductChain}.
+     */
+    @SafeVarargs
+    public final M multiply(final M multiplicand, final M... more) {
+
+        ProductChain<N> chain = ProductChain.of(this.store(), multiplicand.store());
+        for (int m = 0; m < more.length; m++) {
+            chain.multiply(more[m].store());
+        }
+
+        return this.newInstance(chain);
+    }
+
     public M multiply(final N scalarMultiplicand) {
         return this.newInstance(this.store().multiply(scalarMultiplicand));
     }
@@ -748,6 +769,14 @@ public abstract class BasicMatrix<N extends Comparable<N>, M extends BasicMatrix
 
     abstract Cholesky<N> newCholesky(Structure2D typical);
 
+    /**
+     * A full dense copy – taken from the calling thread's {@link StorePool} (reused if within an open
+     * scope).
+     */
+    final PhysicalStore<N> newDenseCopy() {
+        return StorePool.of(myFactory).copy(this.store());
+    }
+
     abstract DeterminantTask<N> newDeterminantTask(Structure2D template);
 
     abstract Eigenvalue<N> newEigenvalue(Structure2D typical);
@@ -45,7 +45,7 @@ import org.ojalgo.structure.Structure2D;
 @Deprecated
 public final class ComplexMatrix extends BasicMatrix<ComplexNumber, ComplexMatrix> {
 
-    public static final class DenseReceiver extends Mutator2D<ComplexNumber, ComplexMatrix, PhysicalStore<ComplexNumber>> {
+    public static final class DenseReceiver extends DenseMutator2D<ComplexNumber, ComplexMatrix, ComplexMatrix.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<ComplexNumber> delegate) {
             super(delegate);
@@ -56,6 +56,11 @@ public final class ComplexMatrix extends BasicMatrix<ComplexNumber, ComplexMatri
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        ComplexMatrix.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<ComplexNumber, ComplexMatrix, ComplexMatrix.DenseReceiver, ComplexMatrix.SparseReceiver> {
@@ -76,7 +81,7 @@ public final class ComplexMatrix extends BasicMatrix<ComplexNumber, ComplexMatri
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<ComplexNumber, ComplexMatrix, SparseStore<ComplexNumber>> {
+    public static final class SparseReceiver extends Mutator2D<ComplexNumber, ComplexMatrix, SparseStore<ComplexNumber>, ComplexMatrix.SparseReceiver> {
 
         SparseReceiver(final SparseStore<ComplexNumber> delegate) {
             super(delegate);
@@ -87,6 +92,11 @@ public final class ComplexMatrix extends BasicMatrix<ComplexNumber, ComplexMatri
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        ComplexMatrix.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -100,7 +110,7 @@ public final class ComplexMatrix extends BasicMatrix<ComplexNumber, ComplexMatri
 
     @Override
     public ComplexMatrix.DenseReceiver copy() {
-        return new ComplexMatrix.DenseReceiver(this.store().copy());
+        return new ComplexMatrix.DenseReceiver(this.newDenseCopy());
     }
 
     /**
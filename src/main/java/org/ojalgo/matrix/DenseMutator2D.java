@@ -0,0 +1,103 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.StorePool;
+import org.ojalgo.structure.Access2D;
+
+/**
+ * The dense receivers can also change shape – the in-place {@link #multiply(Access2D)} and
+ * {@link #transpose()} replace the underlying store with a new one taken from the calling thread's
+ * {@link StorePool}.
+ *
+ * @author apete
+ */
+abstract class DenseMutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, R extends DenseMutator2D<N, M, R>>
+        extends Mutator2D<N, M, PhysicalStore<N>, R> {
+
+    DenseMutator2D(final PhysicalStore<N> delegate) {
+        super(delegate);
+    }
+
+    /**
+     * The underlying store is detached from its {@link StorePool.Scope} (if any), so the returned matrix
+     * remains valid after that scope is closed.
+     */
+    @Override
+    public M get() {
+        StorePool.detach(this.getDelegate());
+        return super.get();
+    }
+
+    /**
+     * [this] = [this][right] – the product is calculated to a new dense store (from the calling thread's
+     * {@link StorePool}) that then replaces the current one. If the current store was taken from the pool,
+     * within a still open scope, it is released.
+     */
+    public R multiply(final Access2D<N> right) {
+        if (!this.isSafe()) {
+            throw new IllegalStateException();
+        }
+
+        PhysicalStore<N> delegate = this.getDelegate();
+
+        ProgrammingError.throwIfMultiplicationNotPossible(delegate, right);
+
+        StorePool<N> pool = StorePool.of(delegate.physical());
+
+        PhysicalStore<N> product = pool.make(delegate.countRows(), right.countColumns());
+        product.fillByMultiplying(delegate, right);
+
+        this.replace(pool, product);
+
+        return this.self();
+    }
+
+    /**
+     * [this] = [this]<sup>T</sup> – a new dense store (from the calling thread's {@link StorePool}) replaces
+     * the current one, the same way as with {@link #multiply(Access2D)}.
+     */
+    public R transpose() {
+        if (!this.isSafe()) {
+            throw new IllegalStateException();
+        }
+
+        PhysicalStore<N> delegate = this.getDelegate();
+
+        StorePool<N> pool = StorePool.of(delegate.physical());
+
+        PhysicalStore<N> transposed = pool.make(delegate.countColumns(), delegate.countRows());
+        transposed.fillMatching(delegate.transpose());
+
+        this.replace(pool, transposed);
+
+        return this.self();
+    }
+
+    private void replace(final StorePool<N> pool, final PhysicalStore<N> store) {
+        pool.release(this.getDelegate());
+        this.setDelegate(store);
+    }
+
+}
@@ -50,7 +50,7 @@ import org.ojalgo.structure.Structure2D;
  */
 public final class MatrixC128 extends BasicMatrix<ComplexNumber, MatrixC128> {
 
-    public static final class DenseReceiver extends Mutator2D<ComplexNumber, MatrixC128, PhysicalStore<ComplexNumber>> {
+    public static final class DenseReceiver extends DenseMutator2D<ComplexNumber, MatrixC128, MatrixC128.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<ComplexNumber> delegate) {
             super(delegate);
@@ -61,6 +61,11 @@ public final class MatrixC128 extends BasicMatrix<ComplexNumber, MatrixC128> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixC128.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<ComplexNumber, MatrixC128, MatrixC128.DenseReceiver, MatrixC128.SparseReceiver> {
@@ -81,7 +86,7 @@ public final class MatrixC128 extends BasicMatrix<ComplexNumber, MatrixC128> {
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<ComplexNumber, MatrixC128, SparseStore<ComplexNumber>> {
+    public static final class SparseReceiver extends Mutator2D<ComplexNumber, MatrixC128, SparseStore<ComplexNumber>, MatrixC128.SparseReceiver> {
 
         SparseReceiver(final SparseStore<ComplexNumber> delegate) {
             super(delegate);
@@ -92,6 +97,11 @@ public final class MatrixC128 extends BasicMatrix<ComplexNumber, MatrixC128> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixC128.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -105,7 +115,7 @@ public final class MatrixC128 extends BasicMatrix<ComplexNumber, MatrixC128> {
 
     @Override
     public MatrixC128.DenseReceiver copy() {
-        return new MatrixC128.DenseReceiver(this.store().copy());
+        return new MatrixC128.DenseReceiver(this.newDenseCopy());
     }
 
     /**
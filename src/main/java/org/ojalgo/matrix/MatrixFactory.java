@@ -34,6 +34,7 @@ import org.ojalgo.matrix.store.ElementsSupplier;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.SparseStore;
+import org.ojalgo.matrix.store.StorePool;
 import org.ojalgo.scalar.Scalar;
 import org.ojalgo.scalar.Scalar.Factory;
 import org.ojalgo.structure.Access1D;
@@ -108,8 +109,12 @@ public abstract class MatrixFactory<N extends Comparable<N>, M extends BasicMatr
         return this.makeDense(count, 1);
     }
 
+    /**
+     * Within an open {@link StorePool.Scope} the underlying store is taken from (and later returned to) the
+     * calling thread's pool.
+     */
     public DR makeDense(final long rows, final long columns) {
-        return this.dense(myPhysicalFactory.make(rows, columns));
+        return this.dense(StorePool.of(myPhysicalFactory).make(rows, columns));
     }
 
     public M makeDiagonal(final Access1D<?> diagonal) {
@@ -49,7 +49,7 @@ import org.ojalgo.structure.Structure2D;
  */
 public final class MatrixH256 extends BasicMatrix<Quaternion, MatrixH256> {
 
-    public static final class DenseReceiver extends Mutator2D<Quaternion, MatrixH256, PhysicalStore<Quaternion>> {
+    public static final class DenseReceiver extends DenseMutator2D<Quaternion, MatrixH256, MatrixH256.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Quaternion> delegate) {
             super(delegate);
@@ -60,6 +60,11 @@ public final class MatrixH256 extends BasicMatrix<Quaternion, MatrixH256> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixH256.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Quaternion, MatrixH256, MatrixH256.DenseReceiver, MatrixH256.SparseReceiver> {
@@ -80,7 +85,7 @@ public final class MatrixH256 extends BasicMatrix<Quaternion, MatrixH256> {
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Quaternion, MatrixH256, SparseStore<Quaternion>> {
+    public static final class SparseReceiver extends Mutator2D<Quaternion, MatrixH256, SparseStore<Quaternion>, MatrixH256.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Quaternion> delegate) {
             super(delegate);
@@ -91,6 +96,11 @@ public final class MatrixH256 extends BasicMatrix<Quaternion, MatrixH256> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixH256.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -104,7 +114,7 @@ public final class MatrixH256 extends BasicMatrix<Quaternion, MatrixH256> {
 
     @Override
     public MatrixH256.DenseReceiver copy() {
-        return new MatrixH256.DenseReceiver(this.store().copy());
+        return new MatrixH256.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
@@ -49,7 +49,7 @@ import org.ojalgo.structure.Structure2D;
  */
 public final class MatrixQ128 extends BasicMatrix<RationalNumber, MatrixQ128> {
 
-    public static final class DenseReceiver extends Mutator2D<RationalNumber, MatrixQ128, PhysicalStore<RationalNumber>> {
+    public static final class DenseReceiver extends DenseMutator2D<RationalNumber, MatrixQ128, MatrixQ128.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<RationalNumber> delegate) {
             super(delegate);
@@ -60,6 +60,11 @@ public final class MatrixQ128 extends BasicMatrix<RationalNumber, MatrixQ128> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixQ128.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<RationalNumber, MatrixQ128, MatrixQ128.DenseReceiver, MatrixQ128.SparseReceiver> {
@@ -80,7 +85,7 @@ public final class MatrixQ128 extends BasicMatrix<RationalNumber, MatrixQ128> {
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<RationalNumber, MatrixQ128, SparseStore<RationalNumber>> {
+    public static final class SparseReceiver extends Mutator2D<RationalNumber, MatrixQ128, SparseStore<RationalNumber>, MatrixQ128.SparseReceiver> {
 
         SparseReceiver(final SparseStore<RationalNumber> delegate) {
             super(delegate);
@@ -91,6 +96,11 @@ public final class MatrixQ128 extends BasicMatrix<RationalNumber, MatrixQ128> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixQ128.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -104,7 +114,7 @@ public final class MatrixQ128 extends BasicMatrix<RationalNumber, MatrixQ128> {
 
     @Override
     public MatrixQ128.DenseReceiver copy() {
-        return new MatrixQ128.DenseReceiver(this.store().copy());
+        return new MatrixQ128.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
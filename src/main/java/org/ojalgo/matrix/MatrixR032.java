@@ -46,7 +46,7 @@ import org.ojalgo.structure.Structure2D;
  */
 public final class MatrixR032 extends BasicMatrix<Double, MatrixR032> {
 
-    public static final class DenseReceiver extends Mutator2D<Double, MatrixR032, PhysicalStore<Double>> {
+    public static final class DenseReceiver extends DenseMutator2D<Double, MatrixR032, MatrixR032.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Double> delegate) {
             super(delegate);
@@ -57,6 +57,11 @@ public final class MatrixR032 extends BasicMatrix<Double, MatrixR032> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixR032.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Double, MatrixR032, MatrixR032.DenseReceiver, MatrixR032.SparseReceiver> {
@@ -77,7 +82,7 @@ public final class MatrixR032 extends BasicMatrix<Double, MatrixR032> {
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Double, MatrixR032, SparseStore<Double>> {
+    public static final class SparseReceiver extends Mutator2D<Double, MatrixR032, SparseStore<Double>, MatrixR032.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Double> delegate) {
             super(delegate);
@@ -88,6 +93,11 @@ public final class MatrixR032 extends BasicMatrix<Double, MatrixR032> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixR032.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -101,7 +111,7 @@ public final class MatrixR032 extends BasicMatrix<Double, MatrixR032> {
 
     @Override
     public MatrixR032.DenseReceiver copy() {
-        return new MatrixR032.DenseReceiver(this.store().copy());
+        return new MatrixR032.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
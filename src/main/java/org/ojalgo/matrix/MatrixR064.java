@@ -46,7 +46,7 @@ import org.ojalgo.structure.Structure2D;
  */
 public final class MatrixR064 extends BasicMatrix<Double, MatrixR064> {
 
-    public static final class DenseReceiver extends Mutator2D<Double, MatrixR064, PhysicalStore<Double>> {
+    public static final class DenseReceiver extends DenseMutator2D<Double, MatrixR064, MatrixR064.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Double> delegate) {
             super(delegate);
@@ -57,6 +57,11 @@ public final class MatrixR064 extends BasicMatrix<Double, MatrixR064> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixR064.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Double, MatrixR064, MatrixR064.DenseReceiver, MatrixR064.SparseReceiver> {
@@ -77,7 +82,7 @@ public final class MatrixR064 extends BasicMatrix<Double, MatrixR064> {
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Double, MatrixR064, SparseStore<Double>> {
+    public static final class SparseReceiver extends Mutator2D<Double, MatrixR064, SparseStore<Double>, MatrixR064.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Double> delegate) {
             super(delegate);
@@ -88,6 +93,11 @@ public final class MatrixR064 extends BasicMatrix<Double, MatrixR064> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixR064.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -101,7 +111,7 @@ public final class MatrixR064 extends BasicMatrix<Double, MatrixR064> {
 
     @Override
     public MatrixR064.DenseReceiver copy() {
-        return new MatrixR064.DenseReceiver(this.store().copy());
+        return new MatrixR064.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
@@ -49,7 +49,7 @@ import org.ojalgo.structure.Structure2D;
  */
 public final class MatrixR128 extends BasicMatrix<Quadruple, MatrixR128> {
 
-    public static final class DenseReceiver extends Mutator2D<Quadruple, MatrixR128, PhysicalStore<Quadruple>> {
+    public static final class DenseReceiver extends DenseMutator2D<Quadruple, MatrixR128, MatrixR128.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Quadruple> delegate) {
             super(delegate);
@@ -60,6 +60,11 @@ public final class MatrixR128 extends BasicMatrix<Quadruple, MatrixR128> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixR128.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Quadruple, MatrixR128, MatrixR128.DenseReceiver, MatrixR128.SparseReceiver> {
@@ -80,7 +85,7 @@ public final class MatrixR128 extends BasicMatrix<Quadruple, MatrixR128> {
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Quadruple, MatrixR128, SparseStore<Quadruple>> {
+    public static final class SparseReceiver extends Mutator2D<Quadruple, MatrixR128, SparseStore<Quadruple>, MatrixR128.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Quadruple> delegate) {
             super(delegate);
@@ -91,6 +96,11 @@ public final class MatrixR128 extends BasicMatrix<Quadruple, MatrixR128> {
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        MatrixR128.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -104,7 +114,7 @@ public final class MatrixR128 extends BasicMatrix<Quadruple, MatrixR128> {
 
     @Override
     public MatrixR128.DenseReceiver copy() {
-        return new MatrixR128.DenseReceiver(this.store().copy());
+        return new MatrixR128.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
@@ -24,6 +24,7 @@ package org.ojalgo.matrix;
 import java.util.function.Supplier;
 
 import org.ojalgo.function.BinaryFunction;
+import org.ojalgo.function.FunctionSet;
 import org.ojalgo.function.NullaryFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.matrix.store.MatrixStore;
@@ -33,10 +34,10 @@ import org.ojalgo.structure.Access2D;
 import org.ojalgo.structure.Mutate2D;
 import org.ojalgo.structure.Transformation2D;
 
-abstract class Mutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, MR extends MatrixStore<N> & Mutate2D.ModifiableReceiver<N>>
+abstract class Mutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, MR extends MatrixStore<N> & Mutate2D.ModifiableReceiver<N>, R extends Mutator2D<N, M, MR, R>>
         implements Mutate2D.ModifiableReceiver<N>, Supplier<M>, Access2D.Collectable<N, TransformableRegion<N>> {
 
-    private final MR myDelegate;
+    private MR myDelegate;
     private boolean mySafe = true;
 
     Mutator2D(final MR delegate) {
@@ -53,6 +54,28 @@ abstract class Mutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, M
         myDelegate.accept(supplied);
     }
 
+    /**
+     * In-place [this] = [this] + [addend]
+     */
+    public R add(final Access2D<N> addend) {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyMatching(this.function().add(), addend);
+        return this.self();
+    }
+
+    /**
+     * In-place [this] = [this] + scalarAddend
+     */
+    public R add(final double scalarAddend) {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyAll(this.function().add().second(myDelegate.physical().scalar().cast(scalarAddend)));
+        return this.self();
+    }
+
     public void add(final long index, final Comparable<?> addend) {
         if (!mySafe) {
             throw new IllegalStateException();
@@ -93,6 +116,17 @@ abstract class Mutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, M
         return myDelegate.countRows();
     }
 
+    /**
+     * In-place [this] = [this] / scalarDivisor
+     */
+    public R divide(final double scalarDivisor) {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyAll(this.function().divide().second(myDelegate.physical().scalar().cast(scalarDivisor)));
+        return this.self();
+    }
+
     public double doubleValue(final long row, final long col) {
         if (mySafe) {
             return myDelegate.doubleValue(row, col);
@@ -463,6 +497,28 @@ abstract class Mutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, M
         myDelegate.modifyRow(row, modifier);
     }
 
+    /**
+     * In-place [this] = [this] * scalarMultiplicand
+     */
+    public R multiply(final double scalarMultiplicand) {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyAll(this.function().multiply().second(myDelegate.physical().scalar().cast(scalarMultiplicand)));
+        return this.self();
+    }
+
+    /**
+     * In-place [this] = -[this]
+     */
+    public R negate() {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyAll(this.function().negate());
+        return this.self();
+    }
+
     public void reset() {
         if (!mySafe) {
             throw new IllegalStateException();
@@ -498,10 +554,53 @@ abstract class Mutator2D<N extends Comparable<N>, M extends BasicMatrix<N, M>, M
         myDelegate.set(row, col, value);
     }
 
+    /**
+     * In-place [this] = [this] - [subtrahend]
+     */
+    public R subtract(final Access2D<N> subtrahend) {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyMatching(this.function().subtract(), subtrahend);
+        return this.self();
+    }
+
+    /**
+     * In-place [this] = [this] - scalarSubtrahend
+     */
+    public R subtract(final double scalarSubtrahend) {
+        if (!mySafe) {
+            throw new IllegalStateException();
+        }
+        myDelegate.modifyAll(this.function().subtract().second(myDelegate.physical().scalar().cast(scalarSubtrahend)));
+        return this.self();
+    }
+
     public void supplyTo(final TransformableRegion<N> receiver) {
         myDelegate.supplyTo(receiver);
     }
 
     abstract M instantiate(MatrixStore<N> store);
 
+    /**
+     * @return This instance, as its concrete (receiver) type
+     */
+    abstract R self();
+
+    MR getDelegate() {
+        return myDelegate;
+    }
+
+    boolean isSafe() {
+        return mySafe;
+    }
+
+    void setDelegate(final MR delegate) {
+        myDelegate = delegate;
+    }
+
+    private FunctionSet<N> function() {
+        return myDelegate.physical().function();
+    }
+
 }
@@ -43,7 +43,7 @@ import org.ojalgo.structure.Structure2D;
 @Deprecated
 public final class Primitive32Matrix extends BasicMatrix<Double, Primitive32Matrix> {
 
-    public static final class DenseReceiver extends Mutator2D<Double, Primitive32Matrix, PhysicalStore<Double>> {
+    public static final class DenseReceiver extends DenseMutator2D<Double, Primitive32Matrix, Primitive32Matrix.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Double> delegate) {
             super(delegate);
@@ -54,6 +54,11 @@ public final class Primitive32Matrix extends BasicMatrix<Double, Primitive32Matr
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        Primitive32Matrix.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Double, Primitive32Matrix, Primitive32Matrix.DenseReceiver, Primitive32Matrix.SparseReceiver> {
@@ -74,7 +79,7 @@ public final class Primitive32Matrix extends BasicMatrix<Double, Primitive32Matr
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Double, Primitive32Matrix, SparseStore<Double>> {
+    public static final class SparseReceiver extends Mutator2D<Double, Primitive32Matrix, SparseStore<Double>, Primitive32Matrix.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Double> delegate) {
             super(delegate);
@@ -85,6 +90,11 @@ public final class Primitive32Matrix extends BasicMatrix<Double, Primitive32Matr
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        Primitive32Matrix.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -98,7 +108,7 @@ public final class Primitive32Matrix extends BasicMatrix<Double, Primitive32Matr
 
     @Override
     public Primitive32Matrix.DenseReceiver copy() {
-        return new Primitive32Matrix.DenseReceiver(this.store().copy());
+        return new Primitive32Matrix.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
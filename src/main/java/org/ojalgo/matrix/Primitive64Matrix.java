@@ -43,7 +43,7 @@ import org.ojalgo.structure.Structure2D;
 @Deprecated
 public final class Primitive64Matrix extends BasicMatrix<Double, Primitive64Matrix> {
 
-    public static final class DenseReceiver extends Mutator2D<Double, Primitive64Matrix, PhysicalStore<Double>> {
+    public static final class DenseReceiver extends DenseMutator2D<Double, Primitive64Matrix, Primitive64Matrix.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Double> delegate) {
             super(delegate);
@@ -54,6 +54,11 @@ public final class Primitive64Matrix extends BasicMatrix<Double, Primitive64Matr
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        Primitive64Matrix.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Double, Primitive64Matrix, Primitive64Matrix.DenseReceiver, Primitive64Matrix.SparseReceiver> {
@@ -74,7 +79,7 @@ public final class Primitive64Matrix extends BasicMatrix<Double, Primitive64Matr
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Double, Primitive64Matrix, SparseStore<Double>> {
+    public static final class SparseReceiver extends Mutator2D<Double, Primitive64Matrix, SparseStore<Double>, Primitive64Matrix.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Double> delegate) {
             super(delegate);
@@ -85,6 +90,11 @@ public final class Primitive64Matrix extends BasicMatrix<Double, Primitive64Matr
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        Primitive64Matrix.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -98,7 +108,7 @@ public final class Primitive64Matrix extends BasicMatrix<Double, Primitive64Matr
 
     @Override
     public Primitive64Matrix.DenseReceiver copy() {
-        return new Primitive64Matrix.DenseReceiver(this.store().copy());
+        return new Primitive64Matrix.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
@@ -44,7 +44,7 @@ import org.ojalgo.structure.Structure2D;
 @Deprecated
 public final class QuaternionMatrix extends BasicMatrix<Quaternion, QuaternionMatrix> {
 
-    public static final class DenseReceiver extends Mutator2D<Quaternion, QuaternionMatrix, PhysicalStore<Quaternion>> {
+    public static final class DenseReceiver extends DenseMutator2D<Quaternion, QuaternionMatrix, QuaternionMatrix.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<Quaternion> delegate) {
             super(delegate);
@@ -55,6 +55,11 @@ public final class QuaternionMatrix extends BasicMatrix<Quaternion, QuaternionMa
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        QuaternionMatrix.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<Quaternion, QuaternionMatrix, QuaternionMatrix.DenseReceiver, QuaternionMatrix.SparseReceiver> {
@@ -75,7 +80,7 @@ public final class QuaternionMatrix extends BasicMatrix<Quaternion, QuaternionMa
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<Quaternion, QuaternionMatrix, SparseStore<Quaternion>> {
+    public static final class SparseReceiver extends Mutator2D<Quaternion, QuaternionMatrix, SparseStore<Quaternion>, QuaternionMatrix.SparseReceiver> {
 
         SparseReceiver(final SparseStore<Quaternion> delegate) {
             super(delegate);
@@ -86,6 +91,11 @@ public final class QuaternionMatrix extends BasicMatrix<Quaternion, QuaternionMa
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        QuaternionMatrix.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -99,7 +109,7 @@ public final class QuaternionMatrix extends BasicMatrix<Quaternion, QuaternionMa
 
     @Override
     public QuaternionMatrix.DenseReceiver copy() {
-        return new QuaternionMatrix.DenseReceiver(this.store().copy());
+        return new QuaternionMatrix.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
@@ -44,7 +44,7 @@ import org.ojalgo.structure.Structure2D;
 @Deprecated
 public final class RationalMatrix extends BasicMatrix<RationalNumber, RationalMatrix> {
 
-    public static final class DenseReceiver extends Mutator2D<RationalNumber, RationalMatrix, PhysicalStore<RationalNumber>> {
+    public static final class DenseReceiver extends DenseMutator2D<RationalNumber, RationalMatrix, RationalMatrix.DenseReceiver> {
 
         DenseReceiver(final PhysicalStore<RationalNumber> delegate) {
             super(delegate);
@@ -55,6 +55,11 @@ public final class RationalMatrix extends BasicMatrix<RationalNumber, RationalMa
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        RationalMatrix.DenseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final class Factory extends MatrixFactory<RationalNumber, RationalMatrix, RationalMatrix.DenseReceiver, RationalMatrix.SparseReceiver> {
@@ -75,7 +80,7 @@ public final class RationalMatrix extends BasicMatrix<RationalNumber, RationalMa
 
     }
 
-    public static final class SparseReceiver extends Mutator2D<RationalNumber, RationalMatrix, SparseStore<RationalNumber>> {
+    public static final class SparseReceiver extends Mutator2D<RationalNumber, RationalMatrix, SparseStore<RationalNumber>, RationalMatrix.SparseReceiver> {
 
         SparseReceiver(final SparseStore<RationalNumber> delegate) {
             super(delegate);
@@ -86,6 +91,11 @@ public final class RationalMatrix extends BasicMatrix<RationalNumber, RationalMa
             return FACTORY.instantiate(store);
         }
 
+        @Override
+        RationalMatrix.SparseReceiver self() {
+            return this;
+        }
+
     }
 
     public static final Factory FACTORY = new Factory();
@@ -99,7 +109,7 @@ public final class RationalMatrix extends BasicMatrix<RationalNumber, RationalMa
 
     @Override
     public RationalMatrix.DenseReceiver copy() {
-        return new RationalMatrix.DenseReceiver(this.store().copy());
+        return new RationalMatrix.DenseReceiver(this.newDenseCopy());
     }
 
     @Override
@@ -21,6 +21,8 @@
  */
 package org.ojalgo.matrix.decomposition;
 
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -60,8 +62,20 @@ public interface Bidiagonal<N extends Comparable<N>> extends MatrixDecomposition
 
     Factory<ComplexNumber> C128 = (typical, fullSize) -> new BidiagonalDecomposition.C128(fullSize);
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = (typical, fullSize) -> new BidiagonalDecomposition.C128(InterleavedC128Store.FACTORY, fullSize);
+
     Factory<Quadruple> R128 = (typical, fullSize) -> new BidiagonalDecomposition.R128(fullSize);
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = (typical, fullSize) -> new BidiagonalDecomposition.R128(InterleavedR128Store.FACTORY, fullSize);
+
     Factory<Double> R064 = (typical, fullSize) -> new BidiagonalDecomposition.R064(fullSize);
 
     Factory<Quaternion> H256 = (typical, fullSize) -> new BidiagonalDecomposition.H256(fullSize);
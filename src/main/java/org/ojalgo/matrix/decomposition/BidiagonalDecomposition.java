@@ -46,7 +46,11 @@ abstract class BidiagonalDecomposition<N extends Comparable<N>> extends InPlaceD
         }
 
         C128(final boolean fullSize) {
-            super(GenericStore.C128, fullSize);
+            this(GenericStore.C128, fullSize);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory, final boolean fullSize) {
+            super(factory, fullSize);
         }
 
         @Override
@@ -186,7 +190,11 @@ abstract class BidiagonalDecomposition<N extends Comparable<N>> extends InPlaceD
         }
 
         R128(final boolean fullSize) {
-            super(GenericStore.R128, fullSize);
+            this(GenericStore.R128, fullSize);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory, final boolean fullSize) {
+            super(factory, fullSize);
         }
 
         @Override
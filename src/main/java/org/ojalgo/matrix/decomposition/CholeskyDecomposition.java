@@ -29,7 +29,9 @@ import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.aggregator.AggregatorFunction;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.Primitive32Store;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -44,7 +46,11 @@ abstract class CholeskyDecomposition<N extends Comparable<N>> extends InPlaceDec
     static final class C128 extends CholeskyDecomposition<ComplexNumber> {
 
         C128() {
-            super(GenericStore.C128);
+            this(GenericStore.C128);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory) {
+            super(factory);
         }
 
     }
@@ -57,6 +63,19 @@ abstract class CholeskyDecomposition<N extends Comparable<N>> extends InPlaceDec
 
     }
 
+    static final class OffHeap extends CholeskyDecomposition<Double> implements AutoCloseable {
+
+        OffHeap() {
+            super(OffHeapR064Store.FACTORY);
+        }
+
+        public void close() {
+            this.reset();
+            this.closeInPlace();
+        }
+
+    }
+
     static final class Q128 extends CholeskyDecomposition<RationalNumber> {
 
         Q128() {
@@ -65,6 +84,14 @@ abstract class CholeskyDecomposition<N extends Comparable<N>> extends InPlaceDec
 
     }
 
+    static final class R032 extends CholeskyDecomposition<Double> {
+
+        R032() {
+            super(Primitive32Store.FACTORY);
+        }
+
+    }
+
     static final class R064 extends CholeskyDecomposition<Double> {
 
         R064() {
@@ -76,7 +103,11 @@ abstract class CholeskyDecomposition<N extends Comparable<N>> extends InPlaceDec
     static final class R128 extends CholeskyDecomposition<Quadruple> {
 
         R128() {
-            super(GenericStore.R128);
+            this(GenericStore.R128);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory) {
+            super(factory);
         }
 
     }
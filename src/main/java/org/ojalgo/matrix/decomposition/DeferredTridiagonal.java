@@ -26,6 +26,7 @@ import org.ojalgo.array.BasicArray;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.matrix.transformation.Householder;
@@ -45,7 +46,11 @@ abstract class DeferredTridiagonal<N extends Comparable<N>> extends TridiagonalD
     static final class C128 extends DeferredTridiagonal<ComplexNumber> {
 
         C128() {
-            super(GenericStore.C128);
+            this(GenericStore.C128);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory) {
+            super(factory);
         }
 
         @Override
@@ -114,6 +119,24 @@ abstract class DeferredTridiagonal<N extends Comparable<N>> extends TridiagonalD
 
     }
 
+    static final class OffHeap extends DeferredTridiagonal<Double> implements AutoCloseable {
+
+        OffHeap() {
+            super(OffHeapR064Store.FACTORY);
+        }
+
+        public void close() {
+            this.reset();
+            this.closeInPlace();
+        }
+
+        @Override
+        Array1D<Double> makeReal(final BasicArray<Double> offDiagonal) {
+            return null;
+        }
+
+    }
+
     static final class Q128 extends DeferredTridiagonal<RationalNumber> {
 
         Q128() {
@@ -142,7 +165,11 @@ abstract class DeferredTridiagonal<N extends Comparable<N>> extends TridiagonalD
     static final class R128 extends DeferredTridiagonal<Quadruple> {
 
         R128() {
-            super(GenericStore.R128);
+            this(GenericStore.R128);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory) {
+            super(factory);
         }
 
         @Override
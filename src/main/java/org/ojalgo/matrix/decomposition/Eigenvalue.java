@@ -32,7 +32,10 @@ import org.ojalgo.array.Array1D;
 import org.ojalgo.array.PlainArray;
 import org.ojalgo.matrix.Provider2D;
 import org.ojalgo.matrix.store.GenericStore;
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.scalar.ComplexNumber;
@@ -238,6 +241,51 @@ public interface Eigenvalue<N extends Comparable<N>> extends MatrixDecomposition
 
     };
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = new Factory<>() {
+
+        @Override
+        public Eigenvalue<ComplexNumber> make(final Structure2D typical, final boolean hermitian) {
+            return hermitian ? new HermitianEvD.C128(InterleavedC128Store.FACTORY) : null;
+        }
+
+        @Override
+        public Eigenvalue.Generalised<ComplexNumber> makeGeneralised(final Structure2D typical, final Eigenvalue.Generalisation type) {
+
+            Cholesky<ComplexNumber> cholesky = Cholesky.C128_INTERLEAVED.make(typical);
+            Eigenvalue<ComplexNumber> eigenvalue = this.make(typical, true);
+
+            return new GeneralisedEvD<>(InterleavedC128Store.FACTORY, cholesky, eigenvalue, type);
+        }
+
+    };
+
+    /**
+     * Double precision, with the matrix stored off-heap – see {@link org.ojalgo.matrix.store.OffHeapR064Store}.
+     * For matrices too large to be stored in a Java array. Only hermitian (symmetric) matrices are supported.
+     * The decompositions are {@link AutoCloseable} – close them to free the off-heap memory immediately.
+     */
+    Factory<Double> OFF_HEAP = new Factory<>() {
+
+        @Override
+        public Eigenvalue<Double> make(final Structure2D typical, final boolean hermitian) {
+            return hermitian ? new HermitianEvD.OffHeap() : null;
+        }
+
+        @Override
+        public Eigenvalue.Generalised<Double> makeGeneralised(final Structure2D typical, final Eigenvalue.Generalisation type) {
+
+            Cholesky<Double> cholesky = Cholesky.OFF_HEAP.make(typical);
+            Eigenvalue<Double> eigenvalue = this.make(typical, true);
+
+            return new GeneralisedEvD<>(OffHeapR064Store.FACTORY, cholesky, eigenvalue, type);
+        }
+
+    };
+
     Factory<Double> R064 = new Factory<>() {
 
         @Override
@@ -331,6 +379,28 @@ public interface Eigenvalue<N extends Comparable<N>> extends MatrixDecomposition
 
     };
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = new Factory<>() {
+
+        @Override
+        public Eigenvalue<Quadruple> make(final Structure2D typical, final boolean hermitian) {
+            return hermitian ? new HermitianEvD.R128(InterleavedR128Store.FACTORY) : null;
+        }
+
+        @Override
+        public Eigenvalue.Generalised<Quadruple> makeGeneralised(final Structure2D typical, final Eigenvalue.Generalisation type) {
+
+            Cholesky<Quadruple> cholesky = Cholesky.R128_INTERLEAVED.make(typical);
+            Eigenvalue<Quadruple> eigenvalue = this.make(typical, true);
+
+            return new GeneralisedEvD<>(InterleavedR128Store.FACTORY, cholesky, eigenvalue, type);
+        }
+
+    };
+
     /**
      * Sorts on the norm in descending order. If the 2 eigenvalues have equal norm then the usual
      * {@link ComplexNumber} sort order is used (reversed).
@@ -37,6 +37,7 @@ import org.ojalgo.matrix.decomposition.function.ExchangeColumns;
 import org.ojalgo.matrix.decomposition.function.RotateRight;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.scalar.ComplexNumber;
@@ -66,7 +67,11 @@ abstract class HermitianEvD<N extends Comparable<N>> extends EigenvalueDecomposi
     static final class C128 extends HermitianEvD<ComplexNumber> {
 
         C128() {
-            super(GenericStore.C128, new DeferredTridiagonal.C128());
+            this(GenericStore.C128);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory) {
+            super(factory, new DeferredTridiagonal.C128(factory));
         }
 
         public Eigenpair getEigenpair(final int index) {
@@ -95,6 +100,26 @@ abstract class HermitianEvD<N extends Comparable<N>> extends EigenvalueDecomposi
 
     }
 
+    static final class OffHeap extends HermitianEvD<Double> implements AutoCloseable {
+
+        private final SimultaneousTridiagonal myOffHeapTridiagonal;
+
+        OffHeap() {
+            this(new SimultaneousTridiagonal(OffHeapR064Store.FACTORY));
+        }
+
+        private OffHeap(final SimultaneousTridiagonal tridiagonal) {
+            super(OffHeapR064Store.FACTORY, tridiagonal);
+            myOffHeapTridiagonal = tridiagonal;
+        }
+
+        public void close() {
+            this.reset();
+            myOffHeapTridiagonal.closeInPlace();
+        }
+
+    }
+
     static final class Q128 extends HermitianEvD<RationalNumber> {
 
         Q128() {
@@ -106,7 +131,11 @@ abstract class HermitianEvD<N extends Comparable<N>> extends EigenvalueDecomposi
     static final class R128 extends HermitianEvD<Quadruple> {
 
         R128() {
-            super(GenericStore.R128, new DeferredTridiagonal.R128());
+            this(GenericStore.R128);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory) {
+            super(factory, new DeferredTridiagonal.R128(factory));
         }
 
     }
@@ -21,6 +21,8 @@
  */
 package org.ojalgo.matrix.decomposition;
 
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.scalar.ComplexNumber;
@@ -48,8 +50,20 @@ public interface Hessenberg<N extends Comparable<N>> extends MatrixDecomposition
 
     Factory<ComplexNumber> C128 = typical -> new HessenbergDecomposition.C128();
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = typical -> new HessenbergDecomposition.C128(InterleavedC128Store.FACTORY);
+
     Factory<Quadruple> R128 = typical -> new HessenbergDecomposition.R128();
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = typical -> new HessenbergDecomposition.R128(InterleavedR128Store.FACTORY);
+
     Factory<Double> R064 = typical -> new HessenbergDecomposition.R064();
 
     Factory<Quaternion> H256 = typical -> new HessenbergDecomposition.H256();
@@ -38,7 +38,11 @@ abstract class HessenbergDecomposition<N extends Comparable<N>> extends InPlaceD
     static final class C128 extends HessenbergDecomposition<ComplexNumber> {
 
         C128() {
-            super(GenericStore.C128);
+            this(GenericStore.C128);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory) {
+            super(factory);
         }
 
     }
@@ -70,7 +74,11 @@ abstract class HessenbergDecomposition<N extends Comparable<N>> extends InPlaceD
     static final class R128 extends HessenbergDecomposition<Quadruple> {
 
         R128() {
-            super(GenericStore.R128);
+            this(GenericStore.R128);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory) {
+            super(factory);
         }
 
     }
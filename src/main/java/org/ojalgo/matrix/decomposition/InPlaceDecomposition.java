@@ -23,6 +23,7 @@ package org.ojalgo.matrix.decomposition;
 
 import org.ojalgo.ProgrammingError;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.structure.Access2D;
 
@@ -59,6 +60,21 @@ abstract class InPlaceDecomposition<N extends Comparable<N>> extends GenericDeco
         return myInPlace;
     }
 
+    /**
+     * Frees the in-place store immediately, if it's off-heap, and forgets it. The next decomposition allocates
+     * a new one. Anything obtained from this decomposition, backed by that store, must not be used after this.
+     */
+    void closeInPlace() {
+
+        if (myInPlace instanceof OffHeapR064Store) {
+            ((OffHeapR064Store) myInPlace).close();
+        }
+
+        myInPlace = null;
+        myRowDim = 0;
+        myColDim = 0;
+    }
+
     DecompositionStore<N> setInPlace(final Access2D.Collectable<N, ? super DecompositionStore<N>> matrix) {
 
         int tmpRowDim = (int) matrix.countRows();
@@ -21,6 +21,8 @@
  */
 package org.ojalgo.matrix.decomposition;
 
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -86,6 +88,12 @@ public interface LDL<N extends Comparable<N>> extends LDU<N>, MatrixDecompositio
 
     Factory<ComplexNumber> C128 = typical -> new LDLDecomposition.C128();
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = typical -> new LDLDecomposition.C128(InterleavedC128Store.FACTORY);
+
     /**
      * @deprecated
      */
@@ -102,8 +110,21 @@ public interface LDL<N extends Comparable<N>> extends LDU<N>, MatrixDecompositio
 
     Factory<Double> R064 = typical -> new LDLDecomposition.R064();
 
+    /**
+     * Double precision, with the matrix stored off-heap – see {@link org.ojalgo.matrix.store.OffHeapR064Store}.
+     * For matrices too large to be stored in a Java array. The decompositions are {@link AutoCloseable} – close
+     * them to free the off-heap memory immediately.
+     */
+    Factory<Double> OFF_HEAP = typical -> new LDLDecomposition.OffHeap();
+
     Factory<Quadruple> R128 = typical -> new LDLDecomposition.R128();
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = typical -> new LDLDecomposition.R128(InterleavedR128Store.FACTORY);
+
     /**
      * @deprecated
      */
@@ -31,6 +31,7 @@ import org.ojalgo.function.aggregator.AggregatorFunction;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.scalar.ComplexNumber;
@@ -48,7 +49,11 @@ abstract class LDLDecomposition<N extends Comparable<N>> extends InPlaceDecompos
     static final class C128 extends LDLDecomposition<ComplexNumber> {
 
         C128() {
-            super(GenericStore.C128);
+            this(GenericStore.C128);
+        }
+
+        C128(final PhysicalStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory) {
+            super(factory);
         }
 
     }
@@ -61,6 +66,19 @@ abstract class LDLDecomposition<N extends Comparable<N>> extends InPlaceDecompos
 
     }
 
+    static final class OffHeap extends LDLDecomposition<Double> implements AutoCloseable {
+
+        OffHeap() {
+            super(OffHeapR064Store.FACTORY);
+        }
+
+        public void close() {
+            this.reset();
+            this.closeInPlace();
+        }
+
+    }
+
     static final class Q128 extends LDLDecomposition<RationalNumber> {
 
         Q128() {
@@ -80,7 +98,11 @@ abstract class LDLDecomposition<N extends Comparable<N>> extends InPlaceDecompos
     static final class R128 extends LDLDecomposition<Quadruple> {
 
         R128() {
-            super(GenericStore.R128);
+            this(GenericStore.R128);
+        }
+
+        R128(final PhysicalStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory) {
+            super(factory);
         }
 
     }
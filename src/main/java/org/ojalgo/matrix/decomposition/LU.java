@@ -22,6 +22,8 @@
 package org.ojalgo.matrix.decomposition;
 
 import org.ojalgo.array.PlainArray;
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -60,6 +62,18 @@ public interface LU<N extends Comparable<N>> extends LDU<N>, MatrixDecomposition
 
     Factory<ComplexNumber> C128 = typical -> new LUDecomposition.C128();
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = typical -> new LUDecomposition.C128(InterleavedC128Store.FACTORY);
+
+    /**
+     * Single precision (float) storage and arithmetic – half the memory (traffic) of {@link #R064} but a lot
+     * less accurate. Primarily intended to be used with iterative refinement.
+     */
+    Factory<Double> R032 = typical -> new LUDecomposition.R032();
+
     Factory<Double> R064 = typical -> {
 
         if (512L < typical.countColumns() && typical.count() <= PlainArray.MAX_SIZE) {
@@ -68,8 +82,21 @@ public interface LU<N extends Comparable<N>> extends LDU<N>, MatrixDecomposition
         return new RawLU();
     };
 
+    /**
+     * Double precision, with the matrix stored off-heap – see {@link org.ojalgo.matrix.store.OffHeapR064Store}.
+     * For matrices too large to be stored in a Java array. The decompositions are {@link AutoCloseable} – close
+     * them to free the off-heap memory immediately.
+     */
+    Factory<Double> OFF_HEAP = typical -> new LUDecomposition.OffHeap();
+
     Factory<Quadruple> R128 = typical -> new LUDecomposition.R128();
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = typical -> new LUDecomposition.R128(InterleavedR128Store.FACTORY);
+
     Factory<Quaternion> H256 = typical -> new LUDecomposition.H256();
 
     Factory<RationalNumber> Q128 = typical -> new LUDecomposition.Q128();
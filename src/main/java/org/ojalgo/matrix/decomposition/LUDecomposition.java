@@ -30,7 +30,9 @@ import org.ojalgo.function.aggregator.AggregatorFunction;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.Primitive32Store;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -47,7 +49,11 @@ abstract class LUDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
     static final class C128 extends LUDecomposition<ComplexNumber> {
 
         C128() {
-            super(GenericStore.C128);
+            this(GenericStore.C128);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory) {
+            super(factory);
         }
 
     }
@@ -60,6 +66,19 @@ abstract class LUDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
 
     }
 
+    static final class OffHeap extends LUDecomposition<Double> implements AutoCloseable {
+
+        OffHeap() {
+            super(OffHeapR064Store.FACTORY);
+        }
+
+        public void close() {
+            this.reset();
+            this.closeInPlace();
+        }
+
+    }
+
     static final class Q128 extends LUDecomposition<RationalNumber> {
 
         Q128() {
@@ -68,6 +87,14 @@ abstract class LUDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
 
     }
 
+    static final class R032 extends LUDecomposition<Double> {
+
+        R032() {
+            super(Primitive32Store.FACTORY);
+        }
+
+    }
+
     static final class R064 extends LUDecomposition<Double> {
 
         R064() {
@@ -79,7 +106,11 @@ abstract class LUDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
     static final class R128 extends LUDecomposition<Quadruple> {
 
         R128() {
-            super(GenericStore.R128);
+            this(GenericStore.R128);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory) {
+            super(factory);
         }
 
     }
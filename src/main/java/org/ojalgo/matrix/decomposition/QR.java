@@ -22,6 +22,8 @@
 package org.ojalgo.matrix.decomposition;
 
 import org.ojalgo.array.PlainArray;
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -71,6 +73,12 @@ public interface QR<N extends Comparable<N>> extends MatrixDecomposition<N>, Mat
 
     Factory<ComplexNumber> C128 = (typical, fullSize) -> new QRDecomposition.C128(fullSize);
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = (typical, fullSize) -> new QRDecomposition.C128(InterleavedC128Store.FACTORY, fullSize);
+
     Factory<Double> R064 = (typical, fullSize) -> {
         if (fullSize || typical.isFat() || 64L >= typical.countColumns() && typical.count() <= PlainArray.MAX_SIZE) {
             return new QRDecomposition.R064(fullSize);
@@ -78,8 +86,21 @@ public interface QR<N extends Comparable<N>> extends MatrixDecomposition<N>, Mat
         return new RawQR();
     };
 
+    /**
+     * Double precision, with the matrix stored off-heap – see {@link org.ojalgo.matrix.store.OffHeapR064Store}.
+     * For matrices too large to be stored in a Java array. The decompositions are {@link AutoCloseable} – close
+     * them to free the off-heap memory immediately.
+     */
+    Factory<Double> OFF_HEAP = (typical, fullSize) -> new QRDecomposition.OffHeap(fullSize);
+
     Factory<Quadruple> R128 = (typical, fullSize) -> new QRDecomposition.R128(fullSize);
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = (typical, fullSize) -> new QRDecomposition.R128(InterleavedR128Store.FACTORY, fullSize);
+
     Factory<Quaternion> H256 = (typical, fullSize) -> new QRDecomposition.H256(fullSize);
 
     Factory<RationalNumber> Q128 = (typical, fullSize) -> new QRDecomposition.Q128(fullSize);
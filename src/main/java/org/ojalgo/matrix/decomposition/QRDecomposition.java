@@ -28,6 +28,7 @@ import org.ojalgo.function.aggregator.Aggregator;
 import org.ojalgo.function.aggregator.AggregatorFunction;
 import org.ojalgo.matrix.store.GenericStore;
 import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.OffHeapR064Store;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.matrix.transformation.Householder;
@@ -50,7 +51,11 @@ abstract class QRDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
         }
 
         C128(final boolean fullSize) {
-            super(GenericStore.C128, fullSize);
+            this(GenericStore.C128, fullSize);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory, final boolean fullSize) {
+            super(factory, fullSize);
         }
 
     }
@@ -67,6 +72,19 @@ abstract class QRDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
 
     }
 
+    static final class OffHeap extends QRDecomposition<Double> implements AutoCloseable {
+
+        OffHeap(final boolean fullSize) {
+            super(OffHeapR064Store.FACTORY, fullSize);
+        }
+
+        public void close() {
+            this.reset();
+            this.closeInPlace();
+        }
+
+    }
+
     static final class Q128 extends QRDecomposition<RationalNumber> {
 
         Q128() {
@@ -98,7 +116,11 @@ abstract class QRDecomposition<N extends Comparable<N>> extends InPlaceDecomposi
         }
 
         R128(final boolean fullSize) {
-            super(GenericStore.R128, fullSize);
+            this(GenericStore.R128, fullSize);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory, final boolean fullSize) {
+            super(factory, fullSize);
         }
 
     }
@@ -39,7 +39,11 @@ class SimultaneousTridiagonal extends TridiagonalDecomposition<Double> {
     private BasicArray<Double> myDiagE;
 
     SimultaneousTridiagonal() {
-        super(Primitive64Store.FACTORY);
+        this(Primitive64Store.FACTORY);
+    }
+
+    SimultaneousTridiagonal(final DecompositionStore.Factory<Double, ? extends DecompositionStore<Double>> factory) {
+        super(factory);
     }
 
     public boolean decompose(final Access2D.Collectable<Double, ? super PhysicalStore<Double>> matrix) {
@@ -56,7 +56,11 @@ abstract class SingularValueDecomposition<N extends Comparable<N>> extends Gener
         }
 
         C128(final boolean fullSize) {
-            super(GenericStore.C128, new BidiagonalDecomposition.C128(fullSize), fullSize);
+            this(GenericStore.C128, fullSize);
+        }
+
+        C128(final DecompositionStore.Factory<ComplexNumber, ? extends DecompositionStore<ComplexNumber>> factory, final boolean fullSize) {
+            super(factory, new BidiagonalDecomposition.C128(factory, fullSize), fullSize);
         }
 
     }
@@ -104,7 +108,11 @@ abstract class SingularValueDecomposition<N extends Comparable<N>> extends Gener
         }
 
         R128(final boolean fullSize) {
-            super(GenericStore.R128, new BidiagonalDecomposition.R128(fullSize), fullSize);
+            this(GenericStore.R128, fullSize);
+        }
+
+        R128(final DecompositionStore.Factory<Quadruple, ? extends DecompositionStore<Quadruple>> factory, final boolean fullSize) {
+            super(factory, new BidiagonalDecomposition.R128(factory, fullSize), fullSize);
         }
 
     }
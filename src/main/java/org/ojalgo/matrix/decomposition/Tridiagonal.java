@@ -21,6 +21,8 @@
  */
 package org.ojalgo.matrix.decomposition;
 
+import org.ojalgo.matrix.store.InterleavedC128Store;
+import org.ojalgo.matrix.store.InterleavedR128Store;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.scalar.Quadruple;
@@ -46,10 +48,29 @@ public interface Tridiagonal<N extends Comparable<N>> extends MatrixDecompositio
 
     Factory<ComplexNumber> C128 = typical -> new DeferredTridiagonal.C128();
 
+    /**
+     * Same as {@link #C128}, but the decomposition stores its data in an {@link InterleavedC128Store} – primitive
+     * (interleaved) real and imaginary parts rather than {@link ComplexNumber} instances.
+     */
+    Factory<ComplexNumber> C128_INTERLEAVED = typical -> new DeferredTridiagonal.C128(InterleavedC128Store.FACTORY);
+
+    /**
+     * Double precision, with the matrix stored off-heap – see {@link org.ojalgo.matrix.store.OffHeapR064Store}.
+     * For matrices too large to be stored in a Java array. The decompositions are {@link AutoCloseable} – close
+     * them to free the off-heap memory immediately.
+     */
+    Factory<Double> OFF_HEAP = typical -> new DeferredTridiagonal.OffHeap();
+
     Factory<Double> R064 = typical -> new DeferredTridiagonal.R064();
 
     Factory<Quadruple> R128 = typical -> new DeferredTridiagonal.R128();
 
+    /**
+     * Same as {@link #R128}, but the decomposition stores its data in an {@link InterleavedR128Store} – primitive
+     * (interleaved) base and remainder parts rather than {@link Quadruple} instances.
+     */
+    Factory<Quadruple> R128_INTERLEAVED = typical -> new DeferredTridiagonal.R128(InterleavedR128Store.FACTORY);
+
     Factory<Quaternion> H256 = typical -> new DeferredTridiagonal.H256();
 
     Factory<RationalNumber> Q128 = typical -> new DeferredTridiagonal.Q128();
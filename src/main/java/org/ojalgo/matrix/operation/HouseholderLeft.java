@@ -24,12 +24,16 @@ package org.ojalgo.matrix.operation;
 import java.util.function.IntSupplier;
 
 import org.ojalgo.array.operation.AXPY;
+import org.ojalgo.array.operation.COPY;
 import org.ojalgo.array.operation.DOT;
+import org.ojalgo.array.operation.DoubleDouble;
 import org.ojalgo.concurrent.DivideAndConquer;
 import org.ojalgo.concurrent.DivideAndConquer.Conquerer;
 import org.ojalgo.concurrent.Parallelism;
 import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 
 public final class HouseholderLeft implements MatrixOperation {
@@ -92,6 +96,44 @@ public final class HouseholderLeft implements MatrixOperation {
         }
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The structure and first column are complex
+     * element indices/counts.
+     */
+    public static void callInterleaved(final double[] data, final int structure, final int first, final Householder.Generic<ComplexNumber> householder) {
+
+        int nbCols = data.length / (2 * structure);
+
+        double[] hVector = COPY.interleaved(householder.vector, householder.first);
+        int hFirst = householder.first;
+        ComplexNumber hBeta = householder.beta;
+
+        if (nbCols > THRESHOLD) {
+            HouseholderLeft.divide(first, nbCols, (f, l) -> HouseholderLeft.invokeInterleaved(data, structure, f, l, hVector, hFirst, hBeta));
+        } else {
+            HouseholderLeft.invokeInterleaved(data, structure, first, nbCols, hVector, hFirst, hBeta);
+        }
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link org.ojalgo.array.operation.DoubleDouble}. The structure
+     * and first column are element indices/counts.
+     */
+    public static void callR128(final double[] data, final int structure, final int first, final Householder.Generic<Quadruple> householder) {
+
+        int nbCols = data.length / (2 * structure);
+
+        double[] hVector = COPY.interleaved(householder.vector, householder.first);
+        int hFirst = householder.first;
+        Quadruple hBeta = householder.beta;
+
+        if (nbCols > THRESHOLD) {
+            HouseholderLeft.divide(first, nbCols, (f, l) -> HouseholderLeft.invokeR128(data, structure, f, l, hVector, hFirst, hBeta));
+        } else {
+            HouseholderLeft.invokeR128(data, structure, first, nbCols, hVector, hFirst, hBeta);
+        }
+    }
+
     private static void doColumn(final double[] data, final int offset, final double[] vector, final double beta, final int first, final int limit) {
         double scale = beta * DOT.invoke(data, offset, vector, 0, first, limit);
         AXPY.invoke(data, offset, -scale, vector, 0, first, limit);
@@ -159,4 +201,62 @@ public final class HouseholderLeft implements MatrixOperation {
         super();
     }
 
+    static void invokeInterleaved(final double[] data, final int structure, final int first, final int limit, final double[] hVector, final int hFirst,
+            final ComplexNumber hBeta) {
+
+        double betaRe = hBeta.getReal();
+        double betaIm = hBeta.getImaginary();
+
+        double re, im, scaleRe, scaleIm, hRe, hIm, aRe, aIm;
+        int tmpIndex;
+        for (int j = first; j < limit; j++) {
+            re = 0.0;
+            im = 0.0;
+            tmpIndex = 2 * (hFirst + j * structure);
+            for (int i = hFirst; i < structure; i++) {
+                // Conjugated
+                hRe = hVector[2 * i];
+                hIm = -hVector[2 * i + 1];
+                aRe = data[tmpIndex++];
+                aIm = data[tmpIndex++];
+                re += hRe * aRe - hIm * aIm;
+                im += hRe * aIm + hIm * aRe;
+            }
+            scaleRe = re * betaRe - im * betaIm;
+            scaleIm = re * betaIm + im * betaRe;
+            tmpIndex = 2 * (hFirst + j * structure);
+            for (int i = hFirst; i < structure; i++) {
+                hRe = hVector[2 * i];
+                hIm = hVector[2 * i + 1];
+                data[tmpIndex++] -= scaleRe * hRe - scaleIm * hIm;
+                data[tmpIndex++] -= scaleRe * hIm + scaleIm * hRe;
+            }
+        }
+    }
+
+    static void invokeR128(final double[] data, final int structure, final int first, final int limit, final double[] hVector, final int hFirst,
+            final Quadruple hBeta) {
+
+        double betaBase = hBeta.getBase();
+        double betaRemainder = hBeta.getRemainder();
+
+        // [sum, scale]
+        double[] tmpWork = new double[4];
+
+        int tmpIndex;
+        for (int j = first; j < limit; j++) {
+            tmpWork[0] = 0.0;
+            tmpWork[1] = 0.0;
+            tmpIndex = 2 * (hFirst + j * structure);
+            for (int i = hFirst; i < structure; i++) {
+                DoubleDouble.addProduct(tmpWork, 0, hVector[2 * i], hVector[2 * i + 1], data[tmpIndex], data[tmpIndex + 1]);
+                tmpIndex += 2;
+            }
+            DoubleDouble.multiply(tmpWork, 1, tmpWork[0], tmpWork[1], betaBase, betaRemainder);
+            for (int i = hFirst; i < structure; i++) {
+                DoubleDouble.addProduct(data, i + j * structure, -tmpWork[2], -tmpWork[3], hVector[2 * i], hVector[2 * i + 1]);
+            }
+        }
+    }
+
 }
@@ -24,12 +24,16 @@ package org.ojalgo.matrix.operation;
 import java.util.function.IntSupplier;
 
 import org.ojalgo.array.operation.AXPY;
+import org.ojalgo.array.operation.COPY;
+import org.ojalgo.array.operation.DoubleDouble;
 import org.ojalgo.concurrent.DivideAndConquer;
 import org.ojalgo.concurrent.DivideAndConquer.Conquerer;
 import org.ojalgo.concurrent.Parallelism;
 import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
 import org.ojalgo.scalar.Scalar;
 
 public final class HouseholderRight implements MatrixOperation {
@@ -84,6 +88,38 @@ public final class HouseholderRight implements MatrixOperation {
         HouseholderRight.divide(first, nbRows, (f, l) -> HouseholderRight.invoke(data, structure, f, l, nbCols, householder, scalar));
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The structure and first row are complex
+     * element indices/counts.
+     */
+    public static void callInterleaved(final double[] data, final int structure, final int first, final Householder.Generic<ComplexNumber> householder) {
+
+        int nbRows = structure;
+        int nbCols = data.length / (2 * structure);
+
+        double[] hVector = COPY.interleaved(householder.vector, householder.first);
+        int hFirst = householder.first;
+        ComplexNumber hBeta = householder.beta;
+
+        HouseholderRight.divide(first, nbRows, (f, l) -> HouseholderRight.invokeInterleaved(data, structure, f, l, nbCols, hVector, hFirst, hBeta));
+    }
+
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs – see {@link org.ojalgo.array.operation.DoubleDouble}. The structure
+     * and first row are element indices/counts.
+     */
+    public static void callR128(final double[] data, final int structure, final int first, final Householder.Generic<Quadruple> householder) {
+
+        int nbRows = structure;
+        int nbCols = data.length / (2 * structure);
+
+        double[] hVector = COPY.interleaved(householder.vector, householder.first);
+        int hFirst = householder.first;
+        Quadruple hBeta = householder.beta;
+
+        HouseholderRight.divide(first, nbRows, (f, l) -> HouseholderRight.invokeR128(data, structure, f, l, nbCols, hVector, hFirst, hBeta));
+    }
+
     private static void invoke(final double[] data, final int structure, final int first, final int limit, final int numberOfColumns,
             final Householder.Primitive64 householder, final double[] work) {
 
@@ -131,6 +167,67 @@ public final class HouseholderRight implements MatrixOperation {
         }
     }
 
+    private static void invokeInterleaved(final double[] data, final int structure, final int first, final int limit, final int numberOfColumns,
+            final double[] hVector, final int hFirst, final ComplexNumber hBeta) {
+
+        double betaRe = hBeta.getReal();
+        double betaIm = hBeta.getImaginary();
+
+        double re, im, scaleRe, scaleIm, hRe, hIm, aRe, aIm;
+        int tmpIndex;
+        for (int i = first; i < limit; i++) {
+            re = 0.0;
+            im = 0.0;
+            tmpIndex = 2 * (i + hFirst * structure);
+            for (int j = hFirst; j < numberOfColumns; j++) {
+                // conj(h) * conj(a)
+                hRe = hVector[2 * j];
+                hIm = hVector[2 * j + 1];
+                aRe = data[tmpIndex];
+                aIm = data[tmpIndex + 1];
+                re += hRe * aRe - hIm * aIm;
+                im -= hRe * aIm + hIm * aRe;
+                tmpIndex += 2 * structure;
+            }
+            scaleRe = re * betaRe - im * betaIm;
+            scaleIm = re * betaIm + im * betaRe;
+            tmpIndex = 2 * (i + hFirst * structure);
+            for (int j = hFirst; j < numberOfColumns; j++) {
+                // a -= conj(scale * h)
+                hRe = hVector[2 * j];
+                hIm = hVector[2 * j + 1];
+                data[tmpIndex] -= scaleRe * hRe - scaleIm * hIm;
+                data[tmpIndex + 1] += scaleRe * hIm + scaleIm * hRe;
+                tmpIndex += 2 * structure;
+            }
+        }
+    }
+
+    private static void invokeR128(final double[] data, final int structure, final int first, final int limit, final int numberOfColumns,
+            final double[] hVector, final int hFirst, final Quadruple hBeta) {
+
+        double betaBase = hBeta.getBase();
+        double betaRemainder = hBeta.getRemainder();
+
+        // [sum, scale]
+        double[] tmpWork = new double[4];
+
+        int tmpIndex;
+        for (int i = first; i < limit; i++) {
+            tmpWork[0] = 0.0;
+            tmpWork[1] = 0.0;
+            tmpIndex = 2 * (i + hFirst * structure);
+            for (int j = hFirst; j < numberOfColumns; j++) {
+                DoubleDouble.addProduct(tmpWork, 0, hVector[2 * j], hVector[2 * j + 1], data[tmpIndex], data[tmpIndex + 1]);
+                tmpIndex += 2 * structure;
+            }
+            DoubleDouble.multiply(tmpWork, 1, tmpWork[0], tmpWork[1], betaBase, betaRemainder);
+            for (int j = hFirst; j < numberOfColumns; j++) {
+                DoubleDouble.addProduct(data, i + j * structure, -tmpWork[2], -tmpWork[3], hVector[2 * j], hVector[2 * j + 1]);
+            }
+        }
+    }
+
     private static void invoke2new(final double[] data, final int structure, final int first, final int limit, final int numberOfColumns,
             final Householder.Primitive64 householder) {
 
@@ -74,6 +74,14 @@ public class MultiplyBoth implements MatrixOperation {
         if (rows > THRESHOLD && columns > THRESHOLD) {
             return MultiplyBoth::fillMxN_MT_P64;
         }
+        return MultiplyBoth.newPrimitive64Sequential(rows, columns);
+    }
+
+    /**
+     * Same as {@link #newPrimitive64(int, int)} but never multi-threaded – for when the caller already
+     * parallelises, like when multiplying batches of small matrices.
+     */
+    public static MultiplyBoth.Primitive newPrimitive64Sequential(final int rows, final int columns) {
         if (rows == 5 && columns == 5) {
             return MultiplyBoth::fill5x5_P64;
         }
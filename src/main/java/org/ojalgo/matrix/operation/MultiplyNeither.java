@@ -43,6 +43,17 @@ public class MultiplyNeither implements MatrixOperation {
 
     }
 
+    /**
+     * Complex numbers stored interleaved – [re, im, re, im...]. The complexity is the number of complex
+     * elements.
+     */
+    @FunctionalInterface
+    public interface Interleaved {
+
+        void invoke(double[] product, double[] left, int complexity, double[] right);
+
+    }
+
     @FunctionalInterface
     public interface Primitive32 {
 
@@ -57,6 +68,17 @@ public class MultiplyNeither implements MatrixOperation {
 
     }
 
+    /**
+     * Quadruple numbers stored as interleaved (base, remainder) pairs. The complexity is the number of
+     * elements (not doubles).
+     */
+    @FunctionalInterface
+    public interface R128 {
+
+        void invoke(double[] product, double[] left, int complexity, double[] right);
+
+    }
+
     public static IntSupplier PARALLELISM = Parallelism.THREADS;
     public static int THRESHOLD = 32;
 
@@ -75,6 +97,13 @@ public class MultiplyNeither implements MatrixOperation {
         return MultiplyNeither::fillMxN;
     }
 
+    public static MultiplyNeither.Interleaved newInterleaved(final long rows, final long columns) {
+        if (rows > THRESHOLD && columns > THRESHOLD) {
+            return MultiplyNeither::fillInterleaved_MT;
+        }
+        return MultiplyNeither::fillInterleaved;
+    }
+
     public static MultiplyNeither.Primitive32 newPrimitive32(final long rows, final long columns) {
         if (rows > THRESHOLD && columns > THRESHOLD) {
             return MultiplyNeither::fillMxN_MT;
@@ -131,6 +160,13 @@ public class MultiplyNeither implements MatrixOperation {
         return MultiplyNeither::fillMxN;
     }
 
+    public static MultiplyNeither.R128 newR128(final long rows, final long columns) {
+        if (rows > THRESHOLD && columns > THRESHOLD) {
+            return MultiplyNeither::fillR128_MT;
+        }
+        return MultiplyNeither::fillR128;
+    }
+
     /**
      * Not running code. Copies used as a starting point when coding various variants
      */
@@ -162,6 +198,20 @@ public class MultiplyNeither implements MatrixOperation {
         }
     }
 
+    static void addInterleaved(final double[] product, final int firstColumn, final int columnLimit, final double[] left, final int complexity,
+            final double[] right) {
+
+        int nbRows = left.length / (2 * complexity);
+
+        int index;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            for (int c = 0; c < complexity; c++) {
+                index = 2 * (c + j * complexity);
+                AXPY.invokeInterleaved(product, j * nbRows, right[index], right[index + 1], left, c * nbRows, 0, nbRows);
+            }
+        }
+    }
+
     static void addMx1(final double[] product, final double[] left, final int complexity, final double[] right) {
 
         int nbRows = product.length;
@@ -235,6 +285,20 @@ public class MultiplyNeither implements MatrixOperation {
         MultiplyNeither.divide(0, right.length / complexity, (f, l) -> MultiplyNeither.addMxC(product, f, l, left, complexity, right));
     }
 
+    static void addR128(final double[] product, final int firstColumn, final int columnLimit, final double[] left, final int complexity,
+            final double[] right) {
+
+        int nbRows = left.length / (2 * complexity);
+
+        int index;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            for (int c = 0; c < complexity; c++) {
+                index = 2 * (c + j * complexity);
+                AXPY.invokeR128(product, j * nbRows, right[index], right[index + 1], left, c * nbRows, 0, nbRows);
+            }
+        }
+    }
+
     static void divide(final int first, final int limit, final Conquerer conquerer) {
         DIVIDER.parallelism(PARALLELISM).threshold(THRESHOLD).divide(first, limit, conquerer);
     }
@@ -735,6 +799,20 @@ public class MultiplyNeither implements MatrixOperation {
         }
     }
 
+    static void fillInterleaved(final double[] product, final double[] left, final int complexity, final double[] right) {
+
+        Arrays.fill(product, 0D);
+
+        MultiplyNeither.addInterleaved(product, 0, right.length / (2 * complexity), left, complexity, right);
+    }
+
+    static void fillInterleaved_MT(final double[] product, final double[] left, final int complexity, final double[] right) {
+
+        Arrays.fill(product, 0D);
+
+        MultiplyNeither.divide(0, right.length / (2 * complexity), (f, l) -> MultiplyNeither.addInterleaved(product, f, l, left, complexity, right));
+    }
+
     static void fillMx1(final double[] product, final double[] left, final int complexity, final double[] right) {
 
         Arrays.fill(product, 0D);
@@ -798,4 +876,18 @@ public class MultiplyNeither implements MatrixOperation {
         MultiplyNeither.addMxN_MT(product, left, complexity, right);
     }
 
+    static void fillR128(final double[] product, final double[] left, final int complexity, final double[] right) {
+
+        Arrays.fill(product, 0D);
+
+        MultiplyNeither.addR128(product, 0, right.length / (2 * complexity), left, complexity, right);
+    }
+
+    static void fillR128_MT(final double[] product, final double[] left, final int complexity, final double[] right) {
+
+        Arrays.fill(product, 0D);
+
+        MultiplyNeither.divide(0, right.length / (2 * complexity), (f, l) -> MultiplyNeither.addR128(product, f, l, left, complexity, right));
+    }
+
 }
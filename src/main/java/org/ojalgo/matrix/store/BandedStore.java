@@ -0,0 +1,542 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.util.Optional;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.operation.AXPY;
+import org.ojalgo.array.operation.DOT;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.Mutate2D;
+import org.ojalgo.type.NumberDefinition;
+
+/**
+ * A physical banded matrix store – only the elements within the band, kl sub-diagonals and ku
+ * super-diagonals, are stored. That's n(kl+ku+1) rather than n<sup>2</sup> elements. The storage is column
+ * major, with element (i,j) at data[j(kl+ku+1) + ku + i - j], the same as LAPACK's band storage. The
+ * elements outside the band are always zero, and can't be set.
+ * <p>
+ * Multiplication, {@link #cholesky()} and {@link #solve(Access2D)} (banded LU with partial pivoting, or
+ * substitution if the band is triangular) all only touch the elements within the band – the work is
+ * O(n·b) rather than O(n<sup>3</sup>). Systems with many right hand sides are solved in parallel.
+ *
+ * @author apete
+ */
+public final class BandedStore extends FactoryStore<Double> implements Mutate2D {
+
+    public static int THRESHOLD = 16;
+
+    /**
+     * Copies the elements within the band (the rest are ignored).
+     */
+    public static BandedStore copy(final Access2D<?> source, final int lowerBandwidth, final int upperBandwidth) {
+
+        ProgrammingError.throwIfNotSquare(source);
+
+        BandedStore retVal = BandedStore.make(source.getRowDim(), lowerBandwidth, upperBandwidth);
+
+        for (int j = 0, dim = retVal.myDim; j < dim; j++) {
+            for (int i = retVal.firstInColumn(j), limit = retVal.limitOfColumn(j); i < limit; i++) {
+                retVal.data[retVal.index(i, j)] = source.doubleValue(i, j);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * @param dim The number of rows and columns
+     * @param lowerBandwidth The number of sub-diagonals (kl)
+     * @param upperBandwidth The number of super-diagonals (ku)
+     */
+    public static BandedStore make(final int dim, final int lowerBandwidth, final int upperBandwidth) {
+
+        if (lowerBandwidth < 0 || upperBandwidth < 0) {
+            throw new ProgrammingError("The bandwidths must not be negative!");
+        }
+
+        int lower = Math.min(lowerBandwidth, Math.max(0, dim - 1));
+        int upper = Math.min(upperBandwidth, Math.max(0, dim - 1));
+
+        return new BandedStore(dim, lower, upper, new double[Math.multiplyExact(dim, lower + upper + 1)]);
+    }
+
+    /**
+     * [B] = [L][U] in place, LAPACK's xGBTF2. The work array has room for kl extra super-diagonals, (2kl+ku+1)
+     * rows, to accommodate the fill-in caused by the row interchanges.
+     *
+     * @return false if singular
+     */
+    private static boolean factorise(final double[] work, final int dim, final int kl, final int ku, final int[] pivots) {
+
+        int ld = 2 * kl + ku + 1;
+        int kv = kl + ku;
+
+        for (int j = 0, last = 0; j < dim; j++) {
+
+            int diagonal = j * ld + kv;
+            int km = Math.min(kl, dim - 1 - j);
+
+            int jp = 0;
+            double largest = Math.abs(work[diagonal]);
+            for (int r = 1; r <= km; r++) {
+                double value = Math.abs(work[diagonal + r]);
+                if (value > largest) {
+                    largest = value;
+                    jp = r;
+                }
+            }
+
+            pivots[j] = j + jp;
+
+            if (largest == ZERO) {
+                return false;
+            }
+
+            last = Math.max(last, Math.min(j + ku + jp, dim - 1));
+
+            if (jp != 0) {
+                for (int c = j, index = diagonal; c <= last; c++, index += ld - 1) {
+                    double tmp = work[index];
+                    work[index] = work[index + jp];
+                    work[index + jp] = tmp;
+                }
+            }
+
+            if (km > 0) {
+
+                double pivot = work[diagonal];
+                for (int r = 1; r <= km; r++) {
+                    work[diagonal + r] /= pivot;
+                }
+
+                for (int c = j + 1, index = diagonal + ld - 1; c <= last; c++, index += ld - 1) {
+                    double value = work[index];
+                    if (value != ZERO) {
+                        AXPY.invoke(work, index - diagonal, -value, work, 0, diagonal + 1, diagonal + km + 1);
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Solves using the [L][U] factorisation, LAPACK's xGBTRS.
+     */
+    private static void solve(final double[] work, final int dim, final int kl, final int ku, final int[] pivots, final double[] rhs, final int first,
+            final int limit) {
+
+        int ld = 2 * kl + ku + 1;
+        int kv = kl + ku;
+
+        for (int c = first; c < limit; c++) {
+
+            int offset = c * dim;
+
+            for (int j = 0; j < dim; j++) {
+                int p = pivots[j];
+                if (p != j) {
+                    double tmp = rhs[offset + j];
+                    rhs[offset + j] = rhs[offset + p];
+                    rhs[offset + p] = tmp;
+                }
+                double value = rhs[offset + j];
+                if (value != ZERO) {
+                    int km = Math.min(kl, dim - 1 - j);
+                    AXPY.invoke(rhs, offset, -value, work, j * ld + kv - j, j + 1, j + 1 + km);
+                }
+            }
+
+            for (int j = dim - 1; j >= 0; j--) {
+                int base = j * ld + kv - j;
+                double value = rhs[offset + j] / work[base + j];
+                rhs[offset + j] = value;
+                if (value != ZERO) {
+                    AXPY.invoke(rhs, offset, -value, work, base, Math.max(0, j - kv), j);
+                }
+            }
+        }
+    }
+
+    final double[] data;
+
+    private final int myDim;
+    private final int myLower;
+    private final int myUpper;
+
+    BandedStore(final int dim, final int lowerBandwidth, final int upperBandwidth, final double[] data) {
+        super(Primitive64Store.FACTORY, dim, dim);
+        myDim = dim;
+        myLower = lowerBandwidth;
+        myUpper = upperBandwidth;
+        this.data = data;
+    }
+
+    public void add(final long row, final long col, final Comparable<?> addend) {
+        this.add(row, col, NumberDefinition.doubleValue(addend));
+    }
+
+    public void add(final long row, final long col, final double addend) {
+        data[this.index(this.verify(row, col), Math.toIntExact(col))] += addend;
+    }
+
+    /**
+     * Cholesky factorisation, [A] = [L][L]<sup>T</sup>, of a symmetric positive definite banded matrix. Only
+     * the lower band is used.
+     *
+     * @return The lower triangular banded factor [L], with the same lower bandwidth as this matrix, or nothing
+     *         if this matrix is not positive definite. Solve using {@link #substitute(Primitive64Store, boolean)}
+     *         twice – first not transposed, then transposed.
+     */
+    public Optional<BandedStore> cholesky() {
+
+        int dim = myDim;
+        int kl = myLower;
+        int ld = kl + 1;
+
+        BandedStore retVal = BandedStore.make(dim, kl, 0);
+        double[] factor = retVal.data;
+
+        for (int j = 0; j < dim; j++) {
+            System.arraycopy(data, this.index(j, j), factor, j * ld, Math.min(ld, dim - j));
+        }
+
+        for (int j = 0; j < dim; j++) {
+
+            int diagonal = j * ld;
+            int km = Math.min(kl, dim - 1 - j);
+
+            double value = factor[diagonal];
+            if (!(value > ZERO) || !Double.isFinite(value)) {
+                return Optional.empty();
+            }
+            value = SQRT.invoke(value);
+            factor[diagonal] = value;
+
+            for (int r = 1; r <= km; r++) {
+                factor[diagonal + r] /= value;
+            }
+
+            for (int r = 1; r <= km; r++) {
+                double multiplier = factor[diagonal + r];
+                if (multiplier != ZERO) {
+                    int column = (j + r) * ld;
+                    AXPY.invoke(factor, column - r, -multiplier, factor, diagonal, r, km + 1);
+                }
+            }
+        }
+
+        return Optional.of(retVal);
+    }
+
+    public double doubleValue(final long row, final long col) {
+        long diff = row - col;
+        if (diff > myLower || -diff > myUpper) {
+            return ZERO;
+        }
+        return data[this.index(Math.toIntExact(row), Math.toIntExact(col))];
+    }
+
+    @Override
+    public int firstInColumn(final int col) {
+        return Math.max(0, col - myUpper);
+    }
+
+    @Override
+    public int firstInRow(final int row) {
+        return Math.max(0, row - myLower);
+    }
+
+    public Double get(final long row, final long col) {
+        return Double.valueOf(this.doubleValue(row, col));
+    }
+
+    /**
+     * @return The number of sub-diagonals (kl)
+     */
+    public int getLowerBandwidth() {
+        return myLower;
+    }
+
+    /**
+     * @return The number of super-diagonals (ku)
+     */
+    public int getUpperBandwidth() {
+        return myUpper;
+    }
+
+    @Override
+    public int limitOfColumn(final int col) {
+        return Math.min(myDim, col + myLower + 1);
+    }
+
+    @Override
+    public int limitOfRow(final int row) {
+        return Math.min(myDim, row + myUpper + 1);
+    }
+
+    @Override
+    public MatrixStore<Double> multiply(final MatrixStore<Double> right) {
+
+        ProgrammingError.throwIfMultiplicationNotPossible(this, right);
+
+        double[] dense = right instanceof Primitive64Store ? ((Primitive64Store) right).data : Primitive64Store.FACTORY.copy(right).data;
+        int nbCols = right.getColDim();
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.make(myDim, nbCols);
+        double[] product = retVal.data;
+
+        if (nbCols > THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    BandedStore.this.multiply(product, dense, first, limit);
+                }
+
+            };
+
+            conquerer.invoke(0, nbCols, THRESHOLD);
+
+        } else {
+
+            this.multiply(product, dense, 0, nbCols);
+        }
+
+        return retVal;
+    }
+
+    public void set(final long row, final long col, final Comparable<?> value) {
+        this.set(row, col, NumberDefinition.doubleValue(value));
+    }
+
+    public void set(final long row, final long col, final double value) {
+        data[this.index(this.verify(row, col), Math.toIntExact(col))] = value;
+    }
+
+    /**
+     * Solves [this][X] = [B]. If the band is triangular (one of the bandwidths is zero) that's done by
+     * substitution, otherwise using a banded LU decomposition with partial pivoting. The columns of [B] are
+     * solved in parallel – solve for all right hand sides in one call rather than one at the time.
+     *
+     * @param rhs [B]
+     * @return [X], or nothing if this matrix is singular
+     */
+    public Optional<Primitive64Store> solve(final Access2D<?> rhs) {
+
+        if (rhs.countRows() != myDim) {
+            throw new ProgrammingError("The right hand side must have as many rows as the matrix!");
+        }
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.copy(rhs);
+
+        if (myLower == 0 || myUpper == 0) {
+
+            for (int j = 0; j < myDim; j++) {
+                if (data[this.index(j, j)] == ZERO) {
+                    return Optional.empty();
+                }
+            }
+
+            this.substitute(retVal, false);
+
+            return Optional.of(retVal);
+        }
+
+        int kl = myLower;
+        int ku = myUpper;
+        int dim = myDim;
+        int ld = 2 * kl + ku + 1;
+
+        double[] work = new double[Math.multiplyExact(dim, ld)];
+        for (int j = 0; j < dim; j++) {
+            int first = this.firstInColumn(j);
+            System.arraycopy(data, this.index(first, j), work, j * ld + kl + ku + first - j, this.limitOfColumn(j) - first);
+        }
+        int[] pivots = new int[dim];
+
+        if (!BandedStore.factorise(work, dim, kl, ku, pivots)) {
+            return Optional.empty();
+        }
+
+        double[] solution = retVal.data;
+        int nbCols = retVal.getColDim();
+
+        if (nbCols > THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    BandedStore.solve(work, dim, kl, ku, pivots, solution, first, limit);
+                }
+
+            };
+
+            conquerer.invoke(0, nbCols, THRESHOLD);
+
+        } else {
+
+            BandedStore.solve(work, dim, kl, ku, pivots, solution, 0, nbCols);
+        }
+
+        return Optional.of(retVal);
+    }
+
+    /**
+     * Solves [this][X] = [B], or [this]<sup>T</sup>[X] = [B], in place. Only possible if the band is
+     * triangular – one of the bandwidths must be zero.
+     *
+     * @param rhs [B] on input, and [X] on output
+     * @param transposed Solve with the transpose of this matrix
+     */
+    public void substitute(final Primitive64Store rhs, final boolean transposed) {
+
+        if (myLower != 0 && myUpper != 0) {
+            throw new ProgrammingError("Substitution requires a triangular band!");
+        }
+        if (rhs.countRows() != myDim) {
+            throw new ProgrammingError("The right hand side must have as many rows as the matrix!");
+        }
+
+        double[] solution = rhs.data;
+        int nbCols = rhs.getColDim();
+
+        if (nbCols > THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    BandedStore.this.substitute(solution, transposed, first, limit);
+                }
+
+            };
+
+            conquerer.invoke(0, nbCols, THRESHOLD);
+
+        } else {
+
+            this.substitute(solution, transposed, 0, nbCols);
+        }
+    }
+
+    @Override
+    public void supplyTo(final TransformableRegion<Double> receiver) {
+
+        receiver.reset();
+
+        int dim = myDim;
+
+        if (receiver instanceof Primitive64Store && ((Primitive64Store) receiver).getRowDim() == dim) {
+
+            double[] target = ((Primitive64Store) receiver).data;
+
+            for (int j = 0; j < dim; j++) {
+                int first = this.firstInColumn(j);
+                System.arraycopy(data, this.index(first, j), target, first + j * dim, this.limitOfColumn(j) - first);
+            }
+
+        } else {
+
+            for (int j = 0; j < dim; j++) {
+                for (int i = this.firstInColumn(j), limit = this.limitOfColumn(j); i < limit; i++) {
+                    receiver.set(i, j, data[this.index(i, j)]);
+                }
+            }
+        }
+    }
+
+    private int index(final int row, final int col) {
+        return col * (myLower + myUpper + 1) + myUpper + row - col;
+    }
+
+    private void multiply(final double[] product, final double[] right, final int first, final int limit) {
+
+        int dim = myDim;
+        int ld = myLower + myUpper + 1;
+
+        for (int c = first; c < limit; c++) {
+            int offset = c * dim;
+            for (int j = 0; j < dim; j++) {
+                double value = right[offset + j];
+                if (value != ZERO) {
+                    AXPY.invoke(product, offset, value, data, j * ld + myUpper - j, this.firstInColumn(j), this.limitOfColumn(j));
+                }
+            }
+        }
+    }
+
+    private void substitute(final double[] rhs, final boolean transposed, final int first, final int limit) {
+
+        int dim = myDim;
+        int ld = myLower + myUpper + 1;
+        boolean lower = myUpper == 0;
+
+        for (int c = first; c < limit; c++) {
+
+            int offset = c * dim;
+
+            if (lower != transposed) {
+                // Forward
+                for (int j = 0; j < dim; j++) {
+                    int base = j * ld + myUpper - j;
+                    if (transposed) {
+                        rhs[offset + j] = (rhs[offset + j] - DOT.invoke(data, base, rhs, offset, this.firstInColumn(j), j)) / data[base + j];
+                    } else {
+                        double value = rhs[offset + j] / data[base + j];
+                        rhs[offset + j] = value;
+                        AXPY.invoke(rhs, offset, -value, data, base, j + 1, this.limitOfColumn(j));
+                    }
+                }
+            } else {
+                // Backward
+                for (int j = dim - 1; j >= 0; j--) {
+                    int base = j * ld + myUpper - j;
+                    if (transposed) {
+                        rhs[offset + j] = (rhs[offset + j] - DOT.invoke(data, base, rhs, offset, j + 1, this.limitOfColumn(j))) / data[base + j];
+                    } else {
+                        double value = rhs[offset + j] / data[base + j];
+                        rhs[offset + j] = value;
+                        AXPY.invoke(rhs, offset, -value, data, base, this.firstInColumn(j), j);
+                    }
+                }
+            }
+        }
+    }
+
+    private int verify(final long row, final long col) {
+        long diff = row - col;
+        if (diff > myLower || -diff > myUpper) {
+            throw new ProgrammingError("Can't set elements outside the band!");
+        }
+        return Math.toIntExact(row);
+    }
+
+}
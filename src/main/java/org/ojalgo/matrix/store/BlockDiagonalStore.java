@@ -0,0 +1,246 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.matrix.decomposition.LU;
+import org.ojalgo.structure.Access2D;
+
+/**
+ * A block diagonal matrix – a sequence of square blocks along the diagonal, and zeros everywhere else. Only
+ * the blocks are stored, and they can be any (double) {@link MatrixStore} – dense, {@link BandedStore},
+ * {@link PackedSymmetricStore}...
+ * <p>
+ * Multiplication and {@link #solve(Access2D)} handle the blocks independently, and in parallel. Each block
+ * is solved using its own (banded or packed Cholesky) solver if it has one, otherwise using a dense LU
+ * decomposition.
+ *
+ * @author apete
+ */
+public final class BlockDiagonalStore extends FactoryStore<Double> {
+
+    @SafeVarargs
+    public static BlockDiagonalStore of(final MatrixStore<Double>... blocks) {
+
+        if (blocks.length == 0) {
+            throw new ProgrammingError("There must be at least one block!");
+        }
+
+        @SuppressWarnings("unchecked")
+        MatrixStore<Double>[] copy = (MatrixStore<Double>[]) new MatrixStore<?>[blocks.length];
+        int[] offsets = new int[blocks.length + 1];
+
+        for (int b = 0; b < blocks.length; b++) {
+            ProgrammingError.throwIfNotSquare(blocks[b]);
+            copy[b] = blocks[b];
+            offsets[b + 1] = Math.addExact(offsets[b], blocks[b].getRowDim());
+        }
+
+        return new BlockDiagonalStore(copy, offsets);
+    }
+
+    private static Optional<? extends MatrixStore<Double>> solve(final MatrixStore<Double> block, final MatrixStore<Double> rhs) {
+
+        if (block instanceof BandedStore) {
+            return ((BandedStore) block).solve(rhs);
+        }
+
+        if (block instanceof PackedSymmetricStore) {
+            Optional<PackedTriangularStore> cholesky = ((PackedSymmetricStore) block).cholesky();
+            if (cholesky.isPresent()) {
+                Primitive64Store retVal = cholesky.get().solve(rhs);
+                cholesky.get().substitute(retVal, true);
+                return Optional.of(retVal);
+            }
+        }
+
+        LU<Double> decomposition = LU.R064.make(block);
+
+        if (decomposition.decompose(block) && decomposition.isSolvable()) {
+            return Optional.of(decomposition.getSolution(rhs));
+        }
+
+        return Optional.empty();
+    }
+
+    private final MatrixStore<Double>[] myBlocks;
+    private final int[] myOffsets;
+
+    BlockDiagonalStore(final MatrixStore<Double>[] blocks, final int[] offsets) {
+        super(Primitive64Store.FACTORY, offsets[blocks.length], offsets[blocks.length]);
+        myBlocks = blocks;
+        myOffsets = offsets;
+    }
+
+    public int countBlocks() {
+        return myBlocks.length;
+    }
+
+    public double doubleValue(final long row, final long col) {
+
+        int b = this.block(Math.toIntExact(row));
+        int offset = myOffsets[b];
+
+        if (col < offset || col >= myOffsets[b + 1]) {
+            return ZERO;
+        }
+
+        return myBlocks[b].doubleValue(row - offset, col - offset);
+    }
+
+    @Override
+    public int firstInColumn(final int col) {
+        return myOffsets[this.block(col)];
+    }
+
+    @Override
+    public int firstInRow(final int row) {
+        return myOffsets[this.block(row)];
+    }
+
+    public Double get(final long row, final long col) {
+        return Double.valueOf(this.doubleValue(row, col));
+    }
+
+    public MatrixStore<Double> getBlock(final int index) {
+        return myBlocks[index];
+    }
+
+    @Override
+    public int limitOfColumn(final int col) {
+        return myOffsets[this.block(col) + 1];
+    }
+
+    @Override
+    public int limitOfRow(final int row) {
+        return myOffsets[this.block(row) + 1];
+    }
+
+    @Override
+    public MatrixStore<Double> multiply(final MatrixStore<Double> right) {
+
+        ProgrammingError.throwIfMultiplicationNotPossible(this, right);
+
+        int nbCols = right.getColDim();
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.make(this.getRowDim(), nbCols);
+
+        DivideAndConquer conquerer = new DivideAndConquer() {
+
+            @Override
+            public void conquer(final int first, final int limit) {
+                for (int b = first; b < limit; b++) {
+                    MatrixStore<Double> block = myBlocks[b];
+                    block.multiply(BlockDiagonalStore.this.rows(right, b)).supplyTo(BlockDiagonalStore.this.region(retVal, b));
+                }
+            }
+
+        };
+
+        conquerer.invoke(0, myBlocks.length, 1);
+
+        return retVal;
+    }
+
+    /**
+     * Solves [this][X] = [B], each block (and its rows of [B]) independently and in parallel.
+     *
+     * @param rhs [B]
+     * @return [X], or nothing if any of the blocks is singular
+     */
+    public Optional<Primitive64Store> solve(final Access2D<?> rhs) {
+
+        if (rhs.countRows() != this.countRows()) {
+            throw new ProgrammingError("The right hand side must have as many rows as the matrix!");
+        }
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.copy(rhs);
+
+        AtomicBoolean solvable = new AtomicBoolean(true);
+
+        DivideAndConquer conquerer = new DivideAndConquer() {
+
+            @Override
+            public void conquer(final int first, final int limit) {
+                for (int b = first; b < limit && solvable.get(); b++) {
+                    Optional<? extends MatrixStore<Double>> solution = BlockDiagonalStore.solve(myBlocks[b], BlockDiagonalStore.this.rows(retVal, b));
+                    if (solution.isPresent()) {
+                        solution.get().supplyTo(BlockDiagonalStore.this.region(retVal, b));
+                    } else {
+                        solvable.set(false);
+                    }
+                }
+            }
+
+        };
+
+        conquerer.invoke(0, myBlocks.length, 1);
+
+        return solvable.get() ? Optional.of(retVal) : Optional.empty();
+    }
+
+    @Override
+    public void supplyTo(final TransformableRegion<Double> receiver) {
+
+        receiver.reset();
+
+        for (int b = 0; b < myBlocks.length; b++) {
+            int offset = myOffsets[b];
+            int limit = myOffsets[b + 1];
+            myBlocks[b].supplyTo(receiver.regionByLimits(limit, limit).regionByOffsets(offset, offset));
+        }
+    }
+
+    /**
+     * @return The index of the block containing this row (or column)
+     */
+    private int block(final int index) {
+        int retVal = Arrays.binarySearch(myOffsets, index);
+        if (retVal < 0) {
+            retVal = -retVal - 2;
+        } else {
+            while (retVal + 1 < myOffsets.length && myOffsets[retVal + 1] == index) {
+                retVal++; // Skip empty blocks
+            }
+        }
+        return Math.min(retVal, myBlocks.length - 1);
+    }
+
+    private TransformableRegion<Double> region(final Primitive64Store matrix, final int block) {
+        return matrix.regionByLimits(myOffsets[block + 1], matrix.getColDim()).regionByOffsets(myOffsets[block], 0);
+    }
+
+    /**
+     * The rows, of a matrix with the same number of rows as this, corresponding to a block
+     */
+    private MatrixStore<Double> rows(final MatrixStore<Double> matrix, final int block) {
+        return matrix.limits(myOffsets[block + 1], matrix.countColumns()).offsets(myOffsets[block], 0L);
+    }
+
+}
@@ -0,0 +1,1031 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.Array1D;
+import org.ojalgo.array.Array2D;
+import org.ojalgo.array.BasicArray;
+import org.ojalgo.array.DenseArray;
+import org.ojalgo.array.InterleavedC128;
+import org.ojalgo.array.operation.*;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.function.ComplexFunction;
+import org.ojalgo.function.FunctionSet;
+import org.ojalgo.function.NullaryFunction;
+import org.ojalgo.function.UnaryFunction;
+import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.aggregator.AggregatorSet;
+import org.ojalgo.function.aggregator.ComplexAggregator;
+import org.ojalgo.matrix.decomposition.DecompositionStore;
+import org.ojalgo.matrix.operation.HouseholderLeft;
+import org.ojalgo.matrix.operation.HouseholderRight;
+import org.ojalgo.matrix.operation.MultiplyBoth;
+import org.ojalgo.matrix.operation.MultiplyNeither;
+import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.matrix.transformation.HouseholderReference;
+import org.ojalgo.matrix.transformation.Rotation;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Scalar;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Access2D;
+
+/**
+ * A {@linkplain ComplexNumber} implementation of {@linkplain PhysicalStore} that does not store any
+ * {@link ComplexNumber} instances. The elements are stored (column major) in a double[] with the real and
+ * imaginary parts interleaved – see {@link InterleavedC128}. Multiplication, the decomposition related
+ * operations and the transformations all work directly with the primitive array. {@link ComplexNumber}
+ * instances are only created when elements are accessed via the {@link ComplexNumber} API.
+ * <p>
+ * Functionally interchangeable with {@link GenericStore#C128}, but without the per element object overhead
+ * (memory and indirection).
+ *
+ * @author apete
+ */
+public final class InterleavedC128Store extends InterleavedC128 implements PhysicalStore<ComplexNumber>, DecompositionStore<ComplexNumber> {
+
+    public static final PhysicalStore.Factory<ComplexNumber, InterleavedC128Store> FACTORY = new PhysicalStore.Factory<>() {
+
+        public AggregatorSet<ComplexNumber> aggregator() {
+            return ComplexAggregator.getSet();
+        }
+
+        public DenseArray.Factory<ComplexNumber> array() {
+            return InterleavedC128.FACTORY;
+        }
+
+        public InterleavedC128Store columns(final Access1D<?>... source) {
+
+            int tmpRowDim = source[0].size();
+            int tmpColDim = source.length;
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            Access1D<?> tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.set(i + tmpRowDim * j, tmpColumn.get(i));
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store columns(final Comparable<?>[]... source) {
+
+            int tmpRowDim = source[0].length;
+            int tmpColDim = source.length;
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            Comparable<?>[] tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.set(i + tmpRowDim * j, tmpColumn[i]);
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store columns(final double[]... source) {
+
+            int tmpRowDim = source[0].length;
+            int tmpColDim = source.length;
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            double[] tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.data[2 * (i + tmpRowDim * j)] = tmpColumn[i];
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store columns(final List<? extends Comparable<?>>... source) {
+
+            int tmpRowDim = source[0].size();
+            int tmpColDim = source.length;
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            List<? extends Comparable<?>> tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.set(i + tmpRowDim * j, tmpColumn.get(i));
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store conjugate(final Access2D<?> source) {
+
+            InterleavedC128Store retVal = new InterleavedC128Store(source.getColDim(), source.getRowDim());
+
+            int tmpRowDim = retVal.getRowDim();
+            int tmpColDim = retVal.getColDim();
+
+            if (tmpColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int aFirst, final int aLimit) {
+                        InterleavedC128Store.transpose(retVal.data, tmpRowDim, aFirst, aLimit, source, true);
+                    }
+
+                };
+
+                tmpConquerer.invoke(0, tmpColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                InterleavedC128Store.transpose(retVal.data, tmpRowDim, 0, tmpColDim, source, true);
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store copy(final Access2D<?> source) {
+
+            int tmpRowDim = source.getRowDim();
+            int tmpColDim = source.getColDim();
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            if (source instanceof InterleavedC128Store) {
+
+                System.arraycopy(((InterleavedC128Store) source).data, 0, retVal.data, 0, retVal.data.length);
+
+            } else if (tmpColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int aFirst, final int aLimit) {
+                        InterleavedC128Store.copy(retVal.data, tmpRowDim, aFirst, aLimit, source);
+                    }
+
+                };
+
+                tmpConquerer.invoke(0, tmpColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                InterleavedC128Store.copy(retVal.data, tmpRowDim, 0, tmpColDim, source);
+            }
+
+            return retVal;
+        }
+
+        public FunctionSet<ComplexNumber> function() {
+            return ComplexFunction.getSet();
+        }
+
+        public InterleavedC128Store make(final long rows, final long columns) {
+            return new InterleavedC128Store(Math.toIntExact(rows), Math.toIntExact(columns));
+        }
+
+        public Householder.Generic<ComplexNumber> makeHouseholder(final int length) {
+            return new Householder.Generic<>(ComplexNumber.FACTORY, length);
+        }
+
+        public Rotation.Generic<ComplexNumber> makeRotation(final int low, final int high, final ComplexNumber cos, final ComplexNumber sin) {
+            return new Rotation.Generic<>(low, high, cos, sin);
+        }
+
+        public Rotation.Generic<ComplexNumber> makeRotation(final int low, final int high, final double cos, final double sin) {
+            return this.makeRotation(low, high, ComplexNumber.valueOf(cos), ComplexNumber.valueOf(sin));
+        }
+
+        public InterleavedC128Store rows(final Access1D<?>... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].size();
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            Access1D<?> tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.set(i + tmpRowDim * j, tmpRow.get(j));
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store rows(final Comparable<?>[]... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].length;
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            Comparable<?>[] tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.set(i + tmpRowDim * j, tmpRow[j]);
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store rows(final double[]... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].length;
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            double[] tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.data[2 * (i + tmpRowDim * j)] = tmpRow[j];
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedC128Store rows(final List<? extends Comparable<?>>... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].size();
+
+            InterleavedC128Store retVal = new InterleavedC128Store(tmpRowDim, tmpColDim);
+
+            List<? extends Comparable<?>> tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.set(i + tmpRowDim * j, tmpRow.get(j));
+                }
+            }
+
+            return retVal;
+        }
+
+        public Scalar.Factory<ComplexNumber> scalar() {
+            return ComplexNumber.FACTORY;
+        }
+
+        public InterleavedC128Store transpose(final Access2D<?> source) {
+
+            InterleavedC128Store retVal = new InterleavedC128Store(source.getColDim(), source.getRowDim());
+
+            int tmpRowDim = retVal.getRowDim();
+            int tmpColDim = retVal.getColDim();
+
+            if (tmpColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int aFirst, final int aLimit) {
+                        InterleavedC128Store.transpose(retVal.data, tmpRowDim, aFirst, aLimit, source, false);
+                    }
+
+                };
+
+                tmpConquerer.invoke(0, tmpColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                InterleavedC128Store.transpose(retVal.data, tmpRowDim, 0, tmpColDim, source, false);
+            }
+
+            return retVal;
+        }
+
+    };
+
+    /**
+     * @param data The real and imaginary parts interleaved, column major. Not copied!
+     */
+    public static InterleavedC128Store wrap(final double[] data, final int structure) {
+        return new InterleavedC128Store(structure, data.length / (2 * structure), data);
+    }
+
+    static void copy(final double[] destination, final int structure, final int firstColumn, final int columnLimit, final Access2D<?> source) {
+        Comparable<?> value;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            for (int i = 0, index = 2 * j * structure; i < structure; i++, index += 2) {
+                value = source.get(i, j);
+                if (value instanceof ComplexNumber) {
+                    destination[index] = ((ComplexNumber) value).getReal();
+                    destination[index + 1] = ((ComplexNumber) value).getImaginary();
+                } else {
+                    destination[index] = source.doubleValue(i, j);
+                    destination[index + 1] = 0.0;
+                }
+            }
+        }
+    }
+
+    static void transpose(final double[] destination, final int structure, final int firstColumn, final int columnLimit, final Access2D<?> source,
+            final boolean conjugate) {
+        Comparable<?> value;
+        for (int j = firstColumn; j < columnLimit; j++) {
+            for (int i = 0, index = 2 * j * structure; i < structure; i++, index += 2) {
+                value = source.get(j, i);
+                if (value instanceof ComplexNumber) {
+                    destination[index] = ((ComplexNumber) value).getReal();
+                    destination[index + 1] = conjugate ? -((ComplexNumber) value).getImaginary() : ((ComplexNumber) value).getImaginary();
+                } else {
+                    destination[index] = source.doubleValue(j, i);
+                    destination[index + 1] = 0.0;
+                }
+            }
+        }
+    }
+
+    private final MultiplyBoth.Generic<ComplexNumber> multiplyBoth;
+    private final MultiplyNeither.Interleaved multiplyNeither;
+    private final int myColDim;
+    private final int myRowDim;
+    private final Array2D<ComplexNumber> myUtility;
+    private transient double[] myWorkerColumn;
+
+    InterleavedC128Store(final int numbRows, final int numbCols) {
+
+        super(numbRows * numbCols);
+
+        myRowDim = numbRows;
+        myColDim = numbCols;
+
+        myUtility = this.wrapInArray2D(myRowDim);
+
+        multiplyBoth = MultiplyBoth.newGeneric(myRowDim, myColDim);
+        multiplyNeither = MultiplyNeither.newInterleaved(myRowDim, myColDim);
+    }
+
+    InterleavedC128Store(final int numbRows, final int numbCols, final double[] dataArray) {
+
+        super(dataArray);
+
+        myRowDim = numbRows;
+        myColDim = numbCols;
+
+        myUtility = this.wrapInArray2D(myRowDim);
+
+        multiplyBoth = MultiplyBoth.newGeneric(myRowDim, myColDim);
+        multiplyNeither = MultiplyNeither.newInterleaved(myRowDim, myColDim);
+    }
+
+    public void accept(final Access2D<?> supplied) {
+        for (long j = 0L; j < supplied.countColumns(); j++) {
+            for (long i = 0L; i < supplied.countRows(); i++) {
+                this.set(i, j, supplied.get(i, j));
+            }
+        }
+    }
+
+    public void add(final long row, final long col, final Comparable<?> addend) {
+        myUtility.add(row, col, addend);
+    }
+
+    public void add(final long row, final long col, final double addend) {
+        myUtility.add(row, col, addend);
+    }
+
+    public void applyCholesky(final int iterationPoint, final BasicArray<ComplexNumber> multipliers) {
+
+        final double[] tmpData = data;
+        final double[] tmpColumn = InterleavedC128Store.interleaved(multipliers);
+
+        if (myColDim - iterationPoint - 1 > ApplyCholesky.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int aFirst, final int aLimit) {
+                    ApplyCholesky.invokeInterleaved(tmpData, myRowDim, aFirst, aLimit, tmpColumn);
+                }
+            };
+
+            tmpConquerer.invoke(iterationPoint + 1, myColDim, ApplyCholesky.THRESHOLD);
+
+        } else {
+
+            ApplyCholesky.invokeInterleaved(tmpData, myRowDim, iterationPoint + 1, myColDim, tmpColumn);
+        }
+    }
+
+    public void applyLDL(final int iterationPoint, final BasicArray<ComplexNumber> multipliers) {
+
+        final double[] tmpData = data;
+        final double[] tmpColumn = InterleavedC128Store.interleaved(multipliers);
+
+        if (myColDim - iterationPoint - 1 > ApplyLDL.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    ApplyLDL.invokeInterleaved(tmpData, myRowDim, first, limit, tmpColumn, iterationPoint);
+                }
+            };
+
+            tmpConquerer.invoke(iterationPoint + 1, myColDim, ApplyLDL.THRESHOLD);
+
+        } else {
+
+            ApplyLDL.invokeInterleaved(tmpData, myRowDim, iterationPoint + 1, myColDim, tmpColumn, iterationPoint);
+        }
+    }
+
+    public void applyLU(final int iterationPoint, final BasicArray<ComplexNumber> multipliers) {
+
+        final double[] tmpData = data;
+        final double[] tmpColumn = InterleavedC128Store.interleaved(multipliers);
+
+        if (myColDim - iterationPoint - 1 > ApplyLU.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int aFirst, final int aLimit) {
+                    ApplyLU.invokeInterleaved(tmpData, myRowDim, aFirst, aLimit, tmpColumn, iterationPoint);
+                }
+            };
+
+            tmpConquerer.invoke(iterationPoint + 1, myColDim, ApplyLU.THRESHOLD);
+
+        } else {
+
+            ApplyLU.invokeInterleaved(tmpData, myRowDim, iterationPoint + 1, myColDim, tmpColumn, iterationPoint);
+        }
+    }
+
+    public Array1D<ComplexNumber> asList() {
+        return myUtility.flatten();
+    }
+
+    public Array1D<ComplexNumber> computeInPlaceSchur(final PhysicalStore<ComplexNumber> transformationCollector, final boolean eigenvalue) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+        return null;
+    }
+
+    public MatrixStore<ComplexNumber> conjugate() {
+        return new ConjugatedStore<>(this);
+    }
+
+    public InterleavedC128Store copy() {
+        return new InterleavedC128Store(myRowDim, myColDim, this.copyOfData());
+    }
+
+    public long countColumns() {
+        return myColDim;
+    }
+
+    public long countRows() {
+        return myRowDim;
+    }
+
+    public void divideAndCopyColumn(final int row, final int column, final BasicArray<ComplexNumber> destination) {
+
+        int index = 2 * (row + column * myRowDim);
+
+        double denRe = data[index];
+        double denIm = data[index + 1];
+        double denSq = denRe * denRe + denIm * denIm;
+        double recRe = denRe / denSq;
+        double recIm = -denIm / denSq;
+
+        double re, im;
+        for (int i = row + 1; i < myRowDim; i++) {
+            index += 2;
+            re = data[index];
+            im = data[index + 1];
+            data[index] = re * recRe - im * recIm;
+            data[index + 1] = re * recIm + im * recRe;
+            if (destination instanceof InterleavedC128) {
+                ((InterleavedC128) destination).data[2 * i] = data[index];
+                ((InterleavedC128) destination).data[2 * i + 1] = data[index + 1];
+            } else {
+                destination.set(i, ComplexNumber.of(data[index], data[index + 1]));
+            }
+        }
+    }
+
+    public double doubleValue(final long row, final long col) {
+        return data[2 * Math.toIntExact(row + col * myRowDim)];
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj) || !(obj instanceof InterleavedC128Store)) {
+            return false;
+        }
+        InterleavedC128Store other = (InterleavedC128Store) obj;
+        if (myColDim != other.myColDim) {
+            return false;
+        }
+        if (myRowDim != other.myRowDim) {
+            return false;
+        }
+        return true;
+    }
+
+    public void exchangeColumns(final long colA, final long colB) {
+        myUtility.exchangeColumns(colA, colB);
+    }
+
+    public void exchangeHermitian(final int indexA, final int indexB) {
+
+        final int tmpMin = Math.min(indexA, indexB);
+        final int tmpMax = Math.max(indexA, indexB);
+
+        for (int j = 0; j < tmpMin; j++) {
+            this.swap(tmpMin + j * myRowDim, tmpMax + j * myRowDim, false);
+        }
+
+        this.swap(tmpMin + tmpMin * myRowDim, tmpMax + tmpMax * myRowDim, false);
+
+        for (int ij = tmpMin + 1; ij < tmpMax; ij++) {
+            this.swap(ij + tmpMin * myRowDim, tmpMax + ij * myRowDim, true);
+        }
+
+        for (int i = tmpMax + 1; i < myRowDim; i++) {
+            this.swap(i + tmpMin * myRowDim, i + tmpMax * myRowDim, false);
+        }
+    }
+
+    public void exchangeRows(final long rowA, final long rowB) {
+        myUtility.exchangeRows(rowA, rowB);
+    }
+
+    public void fillByMultiplying(final Access1D<ComplexNumber> left, final Access1D<ComplexNumber> right) {
+
+        final int complexity = Math.toIntExact(left.count() / this.countRows());
+        if (complexity != Math.toIntExact(right.count() / this.countColumns())) {
+            ProgrammingError.throwForMultiplicationNotPossible();
+        }
+
+        multiplyNeither.invoke(data, this.cast(left).data, complexity, this.cast(right).data);
+    }
+
+    public void fillColumn(final long row, final long col, final Access1D<ComplexNumber> values) {
+        myUtility.fillColumn(row, col, values);
+    }
+
+    public void fillColumn(final long row, final long col, final ComplexNumber value) {
+        myUtility.fillColumn(row, col, value);
+    }
+
+    public void fillColumn(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillColumn(row, col, supplier);
+    }
+
+    public void fillDiagonal(final long row, final long col, final ComplexNumber value) {
+        myUtility.fillDiagonal(row, col, value);
+    }
+
+    public void fillDiagonal(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillDiagonal(row, col, supplier);
+    }
+
+    @Override
+    public void fillMatching(final Access1D<?> values) {
+
+        if (values instanceof ConjugatedStore) {
+
+            this.fillTransposed(((ConjugatedStore<?>) values).getOriginal(), true);
+
+        } else if (values instanceof TransposedStore) {
+
+            this.fillTransposed(((TransposedStore<?>) values).getOriginal(), false);
+
+        } else {
+
+            super.fillMatching(values);
+        }
+    }
+
+    public void fillOne(final long row, final long col, final Access1D<?> values, final long valueIndex) {
+        this.set(row, col, values.get(valueIndex));
+    }
+
+    public void fillOne(final long row, final long col, final ComplexNumber value) {
+        myUtility.fillOne(row, col, value);
+    }
+
+    public void fillOne(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillOne(row, col, supplier);
+    }
+
+    public void fillRow(final long row, final long col, final Access1D<ComplexNumber> values) {
+        myUtility.fillRow(row, col, values);
+    }
+
+    public void fillRow(final long row, final long col, final ComplexNumber value) {
+        myUtility.fillRow(row, col, value);
+    }
+
+    public void fillRow(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillRow(row, col, supplier);
+    }
+
+    public boolean generateApplyAndCopyHouseholderColumn(final int row, final int column, final Householder<ComplexNumber> destination) {
+        return GenerateApplyAndCopyHouseholderColumn.invokeInterleaved(data, myRowDim, row, column, (Householder.Generic<ComplexNumber>) destination);
+    }
+
+    public boolean generateApplyAndCopyHouseholderRow(final int row, final int column, final Householder<ComplexNumber> destination) {
+        return GenerateApplyAndCopyHouseholderRow.invokeInterleaved(data, myRowDim, row, column, (Householder.Generic<ComplexNumber>) destination);
+    }
+
+    public MatrixStore<ComplexNumber> get() {
+        return this;
+    }
+
+    public ComplexNumber get(final long row, final long col) {
+        int index = 2 * Math.toIntExact(row + col * myRowDim);
+        return ComplexNumber.of(data[index], data[index + 1]);
+    }
+
+    public int getColDim() {
+        return myColDim;
+    }
+
+    public int getMaxDim() {
+        return Math.max(myRowDim, myColDim);
+    }
+
+    public int getMinDim() {
+        return Math.min(myRowDim, myColDim);
+    }
+
+    public int getRowDim() {
+        return myRowDim;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = super.hashCode();
+        result = prime * result + myColDim;
+        return prime * result + myRowDim;
+    }
+
+    public void modifyColumn(final long row, final long col, final UnaryFunction<ComplexNumber> modifier) {
+        myUtility.modifyColumn(row, col, modifier);
+    }
+
+    public void modifyDiagonal(final long row, final long col, final UnaryFunction<ComplexNumber> modifier) {
+        myUtility.modifyDiagonal(row, col, modifier);
+    }
+
+    public void modifyOne(final long row, final long col, final UnaryFunction<ComplexNumber> modifier) {
+        this.set(row, col, modifier.invoke(this.get(row, col)));
+    }
+
+    public void modifyRow(final long row, final long col, final UnaryFunction<ComplexNumber> modifier) {
+        myUtility.modifyRow(row, col, modifier);
+    }
+
+    public MatrixStore<ComplexNumber> multiply(final MatrixStore<ComplexNumber> right) {
+
+        InterleavedC128Store retVal = FACTORY.make(myRowDim, right.count() / myColDim);
+
+        retVal.multiplyNeither.invoke(retVal.data, data, myColDim, this.cast(right).data);
+
+        return retVal;
+    }
+
+    public ComplexNumber multiplyBoth(final Access1D<ComplexNumber> leftAndRight) {
+
+        double[] tmpVector = this.cast(leftAndRight).data;
+        double[] tmpProduct = new double[2 * myRowDim];
+
+        for (int j = 0; j < myColDim; j++) {
+            AXPY.invokeInterleaved(tmpProduct, 0, tmpVector[2 * j], tmpVector[2 * j + 1], data, j * myRowDim, 0, myRowDim);
+        }
+
+        return DOTC.invokeInterleaved(tmpVector, 0, tmpProduct, 0, 0, myRowDim);
+    }
+
+    public void negateColumn(final int column) {
+        for (int i = 2 * column * myRowDim, limit = 2 * (column + 1) * myRowDim; i < limit; i++) {
+            data[i] = -data[i];
+        }
+    }
+
+    public PhysicalStore.Factory<ComplexNumber, InterleavedC128Store> physical() {
+        return FACTORY;
+    }
+
+    public TransformableRegion<ComplexNumber> regionByColumns(final int... columns) {
+        return new Subregion2D.ColumnsRegion<>(this, multiplyBoth, columns);
+    }
+
+    public TransformableRegion<ComplexNumber> regionByLimits(final int rowLimit, final int columnLimit) {
+        return new Subregion2D.LimitRegion<>(this, multiplyBoth, rowLimit, columnLimit);
+    }
+
+    public TransformableRegion<ComplexNumber> regionByOffsets(final int rowOffset, final int columnOffset) {
+        return new Subregion2D.OffsetRegion<>(this, multiplyBoth, rowOffset, columnOffset);
+    }
+
+    public TransformableRegion<ComplexNumber> regionByRows(final int... rows) {
+        return new Subregion2D.RowsRegion<>(this, multiplyBoth, rows);
+    }
+
+    public TransformableRegion<ComplexNumber> regionByTransposing() {
+        return new Subregion2D.TransposedRegion<>(this, multiplyBoth);
+    }
+
+    public void rotateRight(final int low, final int high, final double cos, final double sin) {
+        RotateRight.invokeInterleaved(data, myRowDim, low, high, ComplexNumber.valueOf(cos), ComplexNumber.valueOf(sin));
+    }
+
+    public void set(final long row, final long col, final Comparable<?> value) {
+        this.set(Math.toIntExact(row + col * myRowDim), value);
+    }
+
+    public void set(final long row, final long col, final double value) {
+        this.set(Math.toIntExact(row + col * myRowDim), value);
+    }
+
+    public void setToIdentity(final int col) {
+        int index = 2 * (col + col * myRowDim);
+        data[index] = 1.0;
+        Arrays.fill(data, index + 1, 2 * (col + 1) * myRowDim, 0.0);
+    }
+
+    public Array1D<ComplexNumber> sliceColumn(final long row, final long col) {
+        return myUtility.sliceColumn(row, col);
+    }
+
+    public Array1D<ComplexNumber> sliceDiagonal(final long row, final long col) {
+        return myUtility.sliceDiagonal(row, col);
+    }
+
+    public Array1D<ComplexNumber> sliceRange(final long first, final long limit) {
+        return myUtility.sliceRange(first, limit);
+    }
+
+    public Array1D<ComplexNumber> sliceRow(final long row, final long col) {
+        return myUtility.sliceRow(row, col);
+    }
+
+    public void substituteBackwards(final Access2D<ComplexNumber> body, final boolean unitDiagonal, final boolean conjugated, final boolean hermitian) {
+
+        final int tmpRowDim = myRowDim;
+        final int tmpColDim = myColDim;
+
+        if (tmpColDim > SubstituteBackwards.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int aFirst, final int aLimit) {
+                    SubstituteBackwards.invokeInterleaved(InterleavedC128Store.this.data, tmpRowDim, aFirst, aLimit, body, unitDiagonal, conjugated, hermitian);
+                }
+
+            };
+
+            tmpConquerer.invoke(0, tmpColDim, SubstituteBackwards.THRESHOLD);
+
+        } else {
+
+            SubstituteBackwards.invokeInterleaved(data, tmpRowDim, 0, tmpColDim, body, unitDiagonal, conjugated, hermitian);
+        }
+    }
+
+    public void substituteForwards(final Access2D<ComplexNumber> body, final boolean unitDiagonal, final boolean conjugated, final boolean identity) {
+
+        final int tmpRowDim = myRowDim;
+        final int tmpColDim = myColDim;
+
+        if (tmpColDim > SubstituteForwards.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int aFirst, final int aLimit) {
+                    SubstituteForwards.invokeInterleaved(InterleavedC128Store.this.data, tmpRowDim, aFirst, aLimit, body, unitDiagonal, conjugated, identity);
+                }
+
+            };
+
+            tmpConquerer.invoke(0, tmpColDim, SubstituteForwards.THRESHOLD);
+
+        } else {
+
+            SubstituteForwards.invokeInterleaved(data, tmpRowDim, 0, tmpColDim, body, unitDiagonal, conjugated, identity);
+        }
+    }
+
+    public Scalar<ComplexNumber> toScalar(final long row, final long column) {
+        return this.get(row, column);
+    }
+
+    @Override
+    public String toString() {
+        return Access2D.toString(this);
+    }
+
+    public void transformLeft(final Householder<ComplexNumber> transformation, final int firstColumn) {
+        HouseholderLeft.callInterleaved(data, myRowDim, firstColumn, this.cast(transformation));
+    }
+
+    public void transformLeft(final Rotation<ComplexNumber> transformation) {
+
+        final Rotation.Generic<ComplexNumber> tmpTransf = this.cast(transformation);
+
+        final int tmpLow = tmpTransf.low;
+        final int tmpHigh = tmpTransf.high;
+
+        if (tmpLow != tmpHigh) {
+            if (tmpTransf.cos != null && tmpTransf.sin != null) {
+                RotateLeft.invokeInterleaved(data, myRowDim, tmpLow, tmpHigh, tmpTransf.cos, tmpTransf.sin);
+            } else {
+                myUtility.exchangeRows(tmpLow, tmpHigh);
+            }
+        } else if (tmpTransf.cos != null) {
+            myUtility.modifyRow(tmpLow, 0, FACTORY.function().multiply().second(tmpTransf.cos));
+        } else if (tmpTransf.sin != null) {
+            myUtility.modifyRow(tmpLow, 0, FACTORY.function().divide().second(tmpTransf.sin));
+        } else {
+            myUtility.modifyRow(tmpLow, 0, FACTORY.function().negate());
+        }
+    }
+
+    public void transformRight(final Householder<ComplexNumber> transformation, final int firstRow) {
+        HouseholderRight.callInterleaved(data, myRowDim, firstRow, this.cast(transformation));
+    }
+
+    public void transformRight(final Rotation<ComplexNumber> transformation) {
+
+        final Rotation.Generic<ComplexNumber> tmpTransf = this.cast(transformation);
+
+        final int tmpLow = tmpTransf.low;
+        final int tmpHigh = tmpTransf.high;
+
+        if (tmpLow != tmpHigh) {
+            if (tmpTransf.cos != null && tmpTransf.sin != null) {
+                RotateRight.invokeInterleaved(data, myRowDim, tmpLow, tmpHigh, tmpTransf.cos, tmpTransf.sin);
+            } else {
+                myUtility.exchangeColumns(tmpLow, tmpHigh);
+            }
+        } else if (tmpTransf.cos != null) {
+            myUtility.modifyColumn(0, tmpHigh, FACTORY.function().multiply().second(tmpTransf.cos));
+        } else if (tmpTransf.sin != null) {
+            myUtility.modifyColumn(0, tmpHigh, FACTORY.function().divide().second(tmpTransf.sin));
+        } else {
+            myUtility.modifyColumn(0, tmpHigh, FACTORY.function().negate());
+        }
+    }
+
+    public void transformSymmetric(final Householder<ComplexNumber> transformation) {
+        HouseholderHermitian.invokeInterleaved(data, this.cast(transformation), this.getWorkerColumn());
+    }
+
+    public MatrixStore<ComplexNumber> transpose() {
+        return new TransposedStore<>(this);
+    }
+
+    public void tred2(final BasicArray<ComplexNumber> mainDiagonal, final BasicArray<ComplexNumber> offDiagonal, final boolean yesvecs) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+    }
+
+    public void visitColumn(final long row, final long col, final VoidFunction<ComplexNumber> visitor) {
+        myUtility.visitColumn(row, col, visitor);
+    }
+
+    public void visitDiagonal(final long row, final long col, final VoidFunction<ComplexNumber> visitor) {
+        myUtility.visitDiagonal(row, col, visitor);
+    }
+
+    public void visitRow(final long row, final long col, final VoidFunction<ComplexNumber> visitor) {
+        myUtility.visitRow(row, col, visitor);
+    }
+
+    private static double[] interleaved(final BasicArray<ComplexNumber> array) {
+        if (array instanceof InterleavedC128) {
+            return ((InterleavedC128) array).data;
+        }
+        double[] retVal = new double[2 * array.size()];
+        ComplexNumber value;
+        for (int i = 0, limit = array.size(); i < limit; i++) {
+            value = array.get(i);
+            if (value != null) {
+                retVal[2 * i] = value.getReal();
+                retVal[2 * i + 1] = value.getImaginary();
+            }
+        }
+        return retVal;
+    }
+
+    private InterleavedC128 cast(final Access1D<ComplexNumber> matrix) {
+        if (matrix instanceof InterleavedC128) {
+            return (InterleavedC128) matrix;
+        }
+        if (matrix instanceof Access2D<?>) {
+            return FACTORY.copy((Access2D<?>) matrix);
+        }
+        return FACTORY.columns(matrix);
+    }
+
+    private Householder.Generic<ComplexNumber> cast(final Householder<ComplexNumber> transformation) {
+        if (transformation instanceof Householder.Generic) {
+            return (Householder.Generic<ComplexNumber>) transformation;
+        }
+        if (transformation instanceof HouseholderReference<?>) {
+            return ((Householder.Generic<ComplexNumber>) ((HouseholderReference<ComplexNumber>) transformation).getWorker(FACTORY)).copy(transformation);
+        }
+        return new Householder.Generic<>(ComplexNumber.FACTORY, transformation);
+    }
+
+    private Rotation.Generic<ComplexNumber> cast(final Rotation<ComplexNumber> transformation) {
+        if (transformation instanceof Rotation.Generic) {
+            return (Rotation.Generic<ComplexNumber>) transformation;
+        }
+        return new Rotation.Generic<>(transformation);
+    }
+
+    private void fillTransposed(final Access2D<?> source, final boolean conjugate) {
+
+        if (myColDim > FillMatchingSingle.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    InterleavedC128Store.transpose(data, myRowDim, first, limit, source, conjugate);
+                }
+
+            };
+
+            tmpConquerer.invoke(0, myColDim, FillMatchingSingle.THRESHOLD);
+
+        } else {
+
+            InterleavedC128Store.transpose(data, myRowDim, 0, myColDim, source, conjugate);
+        }
+    }
+
+    private double[] getWorkerColumn() {
+
+        if (myWorkerColumn == null) {
+            myWorkerColumn = new double[2 * myRowDim];
+        }
+
+        Arrays.fill(myWorkerColumn, 0.0);
+
+        return myWorkerColumn;
+    }
+
+    /**
+     * Swap the elements at the 2 (complex element) indices, optionally conjugating both.
+     */
+    private void swap(final int indexA, final int indexB, final boolean conjugate) {
+
+        double tmpRe = data[2 * indexA];
+        double tmpIm = data[2 * indexA + 1];
+
+        data[2 * indexA] = data[2 * indexB];
+        data[2 * indexA + 1] = conjugate ? -data[2 * indexB + 1] : data[2 * indexB + 1];
+        data[2 * indexB] = tmpRe;
+        data[2 * indexB + 1] = conjugate ? -tmpIm : tmpIm;
+    }
+
+}
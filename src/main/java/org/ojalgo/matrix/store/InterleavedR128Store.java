@@ -0,0 +1,1035 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.Array1D;
+import org.ojalgo.array.Array2D;
+import org.ojalgo.array.BasicArray;
+import org.ojalgo.array.DenseArray;
+import org.ojalgo.array.InterleavedR128;
+import org.ojalgo.array.operation.*;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.function.FunctionSet;
+import org.ojalgo.function.NullaryFunction;
+import org.ojalgo.function.QuadrupleFunction;
+import org.ojalgo.function.UnaryFunction;
+import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.constant.PrimitiveMath;
+import org.ojalgo.function.aggregator.AggregatorSet;
+import org.ojalgo.function.aggregator.QuadrupleAggregator;
+import org.ojalgo.matrix.decomposition.DecompositionStore;
+import org.ojalgo.matrix.operation.HouseholderLeft;
+import org.ojalgo.matrix.operation.HouseholderRight;
+import org.ojalgo.matrix.operation.MultiplyBoth;
+import org.ojalgo.matrix.operation.MultiplyNeither;
+import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.matrix.transformation.HouseholderReference;
+import org.ojalgo.matrix.transformation.Rotation;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.Quadruple;
+import org.ojalgo.scalar.Scalar;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Access2D;
+
+/**
+ * A {@linkplain Quadruple} implementation of {@linkplain PhysicalStore} that does not store any
+ * {@link Quadruple} instances. The elements are stored (column major) in a double[] with the base and
+ * remainder parts interleaved – see {@link InterleavedR128}. Multiplication, the decomposition related
+ * operations and the transformations all work directly with the primitive array using double-double
+ * arithmetic – see {@link DoubleDouble}. {@link Quadruple} instances are only created when elements are
+ * accessed via the {@link Quadruple} API.
+ * <p>
+ * Functionally interchangeable with {@link GenericStore#R128}, but without the per element object overhead
+ * (memory, indirection and intermediate {@link java.math.BigDecimal} arithmetic).
+ *
+ * @author apete
+ */
+public final class InterleavedR128Store extends InterleavedR128 implements PhysicalStore<Quadruple>, DecompositionStore<Quadruple> {
+
+    public static final PhysicalStore.Factory<Quadruple, InterleavedR128Store> FACTORY = new PhysicalStore.Factory<>() {
+
+        public AggregatorSet<Quadruple> aggregator() {
+            return QuadrupleAggregator.getSet();
+        }
+
+        public DenseArray.Factory<Quadruple> array() {
+            return InterleavedR128.FACTORY;
+        }
+
+        public InterleavedR128Store columns(final Access1D<?>... source) {
+
+            int tmpRowDim = source[0].size();
+            int tmpColDim = source.length;
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            Access1D<?> tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.set(i + tmpRowDim * j, tmpColumn.get(i));
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store columns(final Comparable<?>[]... source) {
+
+            int tmpRowDim = source[0].length;
+            int tmpColDim = source.length;
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            Comparable<?>[] tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.set(i + tmpRowDim * j, tmpColumn[i]);
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store columns(final double[]... source) {
+
+            int tmpRowDim = source[0].length;
+            int tmpColDim = source.length;
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            double[] tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.data[2 * (i + tmpRowDim * j)] = tmpColumn[i];
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store columns(final List<? extends Comparable<?>>... source) {
+
+            int tmpRowDim = source[0].size();
+            int tmpColDim = source.length;
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            List<? extends Comparable<?>> tmpColumn;
+            for (int j = 0; j < tmpColDim; j++) {
+                tmpColumn = source[j];
+                for (int i = 0; i < tmpRowDim; i++) {
+                    retVal.set(i + tmpRowDim * j, tmpColumn.get(i));
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store conjugate(final Access2D<?> source) {
+
+            InterleavedR128Store retVal = new InterleavedR128Store(source.getColDim(), source.getRowDim());
+
+            int tmpRowDim = retVal.getRowDim();
+            int tmpColDim = retVal.getColDim();
+
+            if (tmpColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int aFirst, final int aLimit) {
+                        InterleavedR128Store.transpose(retVal.data, tmpRowDim, aFirst, aLimit, source);
+                    }
+
+                };
+
+                tmpConquerer.invoke(0, tmpColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                InterleavedR128Store.transpose(retVal.data, tmpRowDim, 0, tmpColDim, source);
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store copy(final Access2D<?> source) {
+
+            int tmpRowDim = source.getRowDim();
+            int tmpColDim = source.getColDim();
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            if (source instanceof InterleavedR128Store) {
+
+                System.arraycopy(((InterleavedR128Store) source).data, 0, retVal.data, 0, retVal.data.length);
+
+            } else if (tmpColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int aFirst, final int aLimit) {
+                        InterleavedR128Store.copy(retVal.data, tmpRowDim, aFirst, aLimit, source);
+                    }
+
+                };
+
+                tmpConquerer.invoke(0, tmpColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                InterleavedR128Store.copy(retVal.data, tmpRowDim, 0, tmpColDim, source);
+            }
+
+            return retVal;
+        }
+
+        public FunctionSet<Quadruple> function() {
+            return QuadrupleFunction.getSet();
+        }
+
+        public InterleavedR128Store make(final long rows, final long columns) {
+            return new InterleavedR128Store(Math.toIntExact(rows), Math.toIntExact(columns));
+        }
+
+        public Householder.Generic<Quadruple> makeHouseholder(final int length) {
+            return new Householder.Generic<>(Quadruple.FACTORY, length);
+        }
+
+        public Rotation.Generic<Quadruple> makeRotation(final int low, final int high, final Quadruple cos, final Quadruple sin) {
+            return new Rotation.Generic<>(low, high, cos, sin);
+        }
+
+        public Rotation.Generic<Quadruple> makeRotation(final int low, final int high, final double cos, final double sin) {
+            return this.makeRotation(low, high, Quadruple.valueOf(cos), Quadruple.valueOf(sin));
+        }
+
+        public InterleavedR128Store rows(final Access1D<?>... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].size();
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            Access1D<?> tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.set(i + tmpRowDim * j, tmpRow.get(j));
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store rows(final Comparable<?>[]... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].length;
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            Comparable<?>[] tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.set(i + tmpRowDim * j, tmpRow[j]);
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store rows(final double[]... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].length;
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            double[] tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.data[2 * (i + tmpRowDim * j)] = tmpRow[j];
+                }
+            }
+
+            return retVal;
+        }
+
+        public InterleavedR128Store rows(final List<? extends Comparable<?>>... source) {
+
+            int tmpRowDim = source.length;
+            int tmpColDim = source[0].size();
+
+            InterleavedR128Store retVal = new InterleavedR128Store(tmpRowDim, tmpColDim);
+
+            List<? extends Comparable<?>> tmpRow;
+            for (int i = 0; i < tmpRowDim; i++) {
+                tmpRow = source[i];
+                for (int j = 0; j < tmpColDim; j++) {
+                    retVal.set(i + tmpRowDim * j, tmpRow.get(j));
+                }
+            }
+
+            return retVal;
+        }
+
+        public Scalar.Factory<Quadruple> scalar() {
+            return Quadruple.FACTORY;
+        }
+
+        public InterleavedR128Store transpose(final Access2D<?> source) {
+
+            InterleavedR128Store retVal = new InterleavedR128Store(source.getColDim(), source.getRowDim());
+
+            int tmpRowDim = retVal.getRowDim();
+            int tmpColDim = retVal.getColDim();
+
+            if (tmpColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int aFirst, final int aLimit) {
+                        InterleavedR128Store.transpose(retVal.data, tmpRowDim, aFirst, aLimit, source);
+                    }
+
+                };
+
+                tmpConquerer.invoke(0, tmpColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                InterleavedR128Store.transpose(retVal.data, tmpRowDim, 0, tmpColDim, source);
+            }
+
+            return retVal;
+        }
+
+    };
+
+    /**
+     * @param data The base and remainder parts interleaved, column major. Not copied!
+     */
+    public static InterleavedR128Store wrap(final double[] data, final int structure) {
+        return new InterleavedR128Store(structure, data.length / (2 * structure), data);
+    }
+
+    static void copy(final double[] destination, final int structure, final int firstColumn, final int columnLimit, final Access2D<?> source) {
+        for (int j = firstColumn; j < columnLimit; j++) {
+            for (int i = 0, index = 2 * j * structure; i < structure; i++, index += 2) {
+                InterleavedR128Store.set(destination, index, source, i, j);
+            }
+        }
+    }
+
+    static void transpose(final double[] destination, final int structure, final int firstColumn, final int columnLimit, final Access2D<?> source) {
+        for (int j = firstColumn; j < columnLimit; j++) {
+            for (int i = 0, index = 2 * j * structure; i < structure; i++, index += 2) {
+                InterleavedR128Store.set(destination, index, source, j, i);
+            }
+        }
+    }
+
+    /**
+     * Primitive (double) elements are copied as is, other types are converted via {@link Quadruple#valueOf(Comparable)}
+     * so that nothing is lost for (for instance) {@link java.math.BigDecimal} or {@link org.ojalgo.scalar.RationalNumber}.
+     */
+    private static void set(final double[] destination, final int index, final Access2D<?> source, final long row, final long col) {
+        Comparable<?> value = source.get(row, col);
+        if (value instanceof Double || value instanceof Float) {
+            destination[index] = source.doubleValue(row, col);
+            destination[index + 1] = 0.0;
+        } else {
+            Quadruple quadruple = value instanceof Quadruple ? (Quadruple) value : Quadruple.valueOf(value);
+            destination[index] = quadruple.getBase();
+            destination[index + 1] = quadruple.getRemainder();
+        }
+    }
+
+    private final MultiplyBoth.Generic<Quadruple> multiplyBoth;
+    private final MultiplyNeither.R128 multiplyNeither;
+    private final int myColDim;
+    private final int myRowDim;
+    private final Array2D<Quadruple> myUtility;
+    private transient double[] myWorkerColumn;
+
+    InterleavedR128Store(final int numbRows, final int numbCols) {
+
+        super(numbRows * numbCols);
+
+        myRowDim = numbRows;
+        myColDim = numbCols;
+
+        myUtility = this.wrapInArray2D(myRowDim);
+
+        multiplyBoth = MultiplyBoth.newGeneric(myRowDim, myColDim);
+        multiplyNeither = MultiplyNeither.newR128(myRowDim, myColDim);
+    }
+
+    InterleavedR128Store(final int numbRows, final int numbCols, final double[] dataArray) {
+
+        super(dataArray);
+
+        myRowDim = numbRows;
+        myColDim = numbCols;
+
+        myUtility = this.wrapInArray2D(myRowDim);
+
+        multiplyBoth = MultiplyBoth.newGeneric(myRowDim, myColDim);
+        multiplyNeither = MultiplyNeither.newR128(myRowDim, myColDim);
+    }
+
+    public void accept(final Access2D<?> supplied) {
+        for (long j = 0L; j < supplied.countColumns(); j++) {
+            for (long i = 0L; i < supplied.countRows(); i++) {
+                this.set(i, j, supplied.get(i, j));
+            }
+        }
+    }
+
+    public void add(final long row, final long col, final Comparable<?> addend) {
+        myUtility.add(row, col, addend);
+    }
+
+    public void add(final long row, final long col, final double addend) {
+        myUtility.add(row, col, addend);
+    }
+
+    public void applyCholesky(final int iterationPoint, final BasicArray<Quadruple> multipliers) {
+
+        final double[] tmpData = data;
+        final double[] tmpColumn = InterleavedR128Store.interleaved(multipliers);
+
+        if (myColDim - iterationPoint - 1 > ApplyCholesky.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int aFirst, final int aLimit) {
+                    ApplyCholesky.invokeR128(tmpData, myRowDim, aFirst, aLimit, tmpColumn);
+                }
+            };
+
+            tmpConquerer.invoke(iterationPoint + 1, myColDim, ApplyCholesky.THRESHOLD);
+
+        } else {
+
+            ApplyCholesky.invokeR128(tmpData, myRowDim, iterationPoint + 1, myColDim, tmpColumn);
+        }
+    }
+
+    public void applyLDL(final int iterationPoint, final BasicArray<Quadruple> multipliers) {
+
+        final double[] tmpData = data;
+        final double[] tmpColumn = InterleavedR128Store.interleaved(multipliers);
+
+        if (myColDim - iterationPoint - 1 > ApplyLDL.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    ApplyLDL.invokeR128(tmpData, myRowDim, first, limit, tmpColumn, iterationPoint);
+                }
+            };
+
+            tmpConquerer.invoke(iterationPoint + 1, myColDim, ApplyLDL.THRESHOLD);
+
+        } else {
+
+            ApplyLDL.invokeR128(tmpData, myRowDim, iterationPoint + 1, myColDim, tmpColumn, iterationPoint);
+        }
+    }
+
+    public void applyLU(final int iterationPoint, final BasicArray<Quadruple> multipliers) {
+
+        final double[] tmpData = data;
+        final double[] tmpColumn = InterleavedR128Store.interleaved(multipliers);
+
+        if (myColDim - iterationPoint - 1 > ApplyLU.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int aFirst, final int aLimit) {
+                    ApplyLU.invokeR128(tmpData, myRowDim, aFirst, aLimit, tmpColumn, iterationPoint);
+                }
+            };
+
+            tmpConquerer.invoke(iterationPoint + 1, myColDim, ApplyLU.THRESHOLD);
+
+        } else {
+
+            ApplyLU.invokeR128(tmpData, myRowDim, iterationPoint + 1, myColDim, tmpColumn, iterationPoint);
+        }
+    }
+
+    public Array1D<Quadruple> asList() {
+        return myUtility.flatten();
+    }
+
+    public Array1D<ComplexNumber> computeInPlaceSchur(final PhysicalStore<Quadruple> transformationCollector, final boolean eigenvalue) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+        return null;
+    }
+
+    public MatrixStore<Quadruple> conjugate() {
+        return this.transpose();
+    }
+
+    public InterleavedR128Store copy() {
+        return new InterleavedR128Store(myRowDim, myColDim, this.copyOfData());
+    }
+
+    public long countColumns() {
+        return myColDim;
+    }
+
+    public long countRows() {
+        return myRowDim;
+    }
+
+    public void divideAndCopyColumn(final int row, final int column, final BasicArray<Quadruple> destination) {
+
+        int index = 2 * (row + column * myRowDim);
+
+        double denBase = data[index];
+        double denRemainder = data[index + 1];
+
+        for (int i = row + 1; i < myRowDim; i++) {
+            index += 2;
+            DoubleDouble.divide(data, index / 2, data[index], data[index + 1], denBase, denRemainder);
+            if (destination instanceof InterleavedR128) {
+                ((InterleavedR128) destination).data[2 * i] = data[index];
+                ((InterleavedR128) destination).data[2 * i + 1] = data[index + 1];
+            } else {
+                destination.set(i, Quadruple.of(data[index], data[index + 1]));
+            }
+        }
+    }
+
+    public double doubleValue(final long row, final long col) {
+        return data[2 * Math.toIntExact(row + col * myRowDim)];
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj) || !(obj instanceof InterleavedR128Store)) {
+            return false;
+        }
+        InterleavedR128Store other = (InterleavedR128Store) obj;
+        if (myColDim != other.myColDim) {
+            return false;
+        }
+        if (myRowDim != other.myRowDim) {
+            return false;
+        }
+        return true;
+    }
+
+    public void exchangeColumns(final long colA, final long colB) {
+        myUtility.exchangeColumns(colA, colB);
+    }
+
+    public void exchangeHermitian(final int indexA, final int indexB) {
+
+        final int tmpMin = Math.min(indexA, indexB);
+        final int tmpMax = Math.max(indexA, indexB);
+
+        for (int j = 0; j < tmpMin; j++) {
+            this.swap(tmpMin + j * myRowDim, tmpMax + j * myRowDim);
+        }
+
+        this.swap(tmpMin + tmpMin * myRowDim, tmpMax + tmpMax * myRowDim);
+
+        for (int ij = tmpMin + 1; ij < tmpMax; ij++) {
+            this.swap(ij + tmpMin * myRowDim, tmpMax + ij * myRowDim);
+        }
+
+        for (int i = tmpMax + 1; i < myRowDim; i++) {
+            this.swap(i + tmpMin * myRowDim, i + tmpMax * myRowDim);
+        }
+    }
+
+    public void exchangeRows(final long rowA, final long rowB) {
+        myUtility.exchangeRows(rowA, rowB);
+    }
+
+    public void fillByMultiplying(final Access1D<Quadruple> left, final Access1D<Quadruple> right) {
+
+        final int complexity = Math.toIntExact(left.count() / this.countRows());
+        if (complexity != Math.toIntExact(right.count() / this.countColumns())) {
+            ProgrammingError.throwForMultiplicationNotPossible();
+        }
+
+        multiplyNeither.invoke(data, this.cast(left).data, complexity, this.cast(right).data);
+    }
+
+    public void fillColumn(final long row, final long col, final Access1D<Quadruple> values) {
+        myUtility.fillColumn(row, col, values);
+    }
+
+    public void fillColumn(final long row, final long col, final Quadruple value) {
+        myUtility.fillColumn(row, col, value);
+    }
+
+    public void fillColumn(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillColumn(row, col, supplier);
+    }
+
+    public void fillDiagonal(final long row, final long col, final Quadruple value) {
+        myUtility.fillDiagonal(row, col, value);
+    }
+
+    public void fillDiagonal(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillDiagonal(row, col, supplier);
+    }
+
+    @Override
+    public void fillMatching(final Access1D<?> values) {
+
+        if (values instanceof ConjugatedStore) {
+
+            this.fillTransposed(((ConjugatedStore<?>) values).getOriginal());
+
+        } else if (values instanceof TransposedStore) {
+
+            this.fillTransposed(((TransposedStore<?>) values).getOriginal());
+
+        } else {
+
+            super.fillMatching(values);
+        }
+    }
+
+    public void fillOne(final long row, final long col, final Access1D<?> values, final long valueIndex) {
+        this.set(row, col, values.get(valueIndex));
+    }
+
+    public void fillOne(final long row, final long col, final Quadruple value) {
+        myUtility.fillOne(row, col, value);
+    }
+
+    public void fillOne(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillOne(row, col, supplier);
+    }
+
+    public void fillRow(final long row, final long col, final Access1D<Quadruple> values) {
+        myUtility.fillRow(row, col, values);
+    }
+
+    public void fillRow(final long row, final long col, final Quadruple value) {
+        myUtility.fillRow(row, col, value);
+    }
+
+    public void fillRow(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillRow(row, col, supplier);
+    }
+
+    public boolean generateApplyAndCopyHouseholderColumn(final int row, final int column, final Householder<Quadruple> destination) {
+        return GenerateApplyAndCopyHouseholderColumn.invokeR128(data, myRowDim, row, column, (Householder.Generic<Quadruple>) destination);
+    }
+
+    public boolean generateApplyAndCopyHouseholderRow(final int row, final int column, final Householder<Quadruple> destination) {
+        return GenerateApplyAndCopyHouseholderRow.invokeR128(data, myRowDim, row, column, (Householder.Generic<Quadruple>) destination);
+    }
+
+    public MatrixStore<Quadruple> get() {
+        return this;
+    }
+
+    public Quadruple get(final long row, final long col) {
+        int index = 2 * Math.toIntExact(row + col * myRowDim);
+        return Quadruple.of(data[index], data[index + 1]);
+    }
+
+    public int getColDim() {
+        return myColDim;
+    }
+
+    public int getMaxDim() {
+        return Math.max(myRowDim, myColDim);
+    }
+
+    public int getMinDim() {
+        return Math.min(myRowDim, myColDim);
+    }
+
+    public int getRowDim() {
+        return myRowDim;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = super.hashCode();
+        result = prime * result + myColDim;
+        return prime * result + myRowDim;
+    }
+
+    public void modifyColumn(final long row, final long col, final UnaryFunction<Quadruple> modifier) {
+        myUtility.modifyColumn(row, col, modifier);
+    }
+
+    public void modifyDiagonal(final long row, final long col, final UnaryFunction<Quadruple> modifier) {
+        myUtility.modifyDiagonal(row, col, modifier);
+    }
+
+    public void modifyOne(final long row, final long col, final UnaryFunction<Quadruple> modifier) {
+        this.set(row, col, modifier.invoke(this.get(row, col)));
+    }
+
+    public void modifyRow(final long row, final long col, final UnaryFunction<Quadruple> modifier) {
+        myUtility.modifyRow(row, col, modifier);
+    }
+
+    public MatrixStore<Quadruple> multiply(final MatrixStore<Quadruple> right) {
+
+        InterleavedR128Store retVal = FACTORY.make(myRowDim, right.count() / myColDim);
+
+        retVal.multiplyNeither.invoke(retVal.data, data, myColDim, this.cast(right).data);
+
+        return retVal;
+    }
+
+    public Quadruple multiplyBoth(final Access1D<Quadruple> leftAndRight) {
+
+        double[] tmpVector = this.cast(leftAndRight).data;
+        double[] tmpProduct = new double[2 * myRowDim];
+
+        for (int j = 0; j < myColDim; j++) {
+            AXPY.invokeR128(tmpProduct, 0, tmpVector[2 * j], tmpVector[2 * j + 1], data, j * myRowDim, 0, myRowDim);
+        }
+
+        return DOT.invokeR128(tmpVector, 0, tmpProduct, 0, 0, myRowDim);
+    }
+
+    public void negateColumn(final int column) {
+        for (int i = 2 * column * myRowDim, limit = 2 * (column + 1) * myRowDim; i < limit; i++) {
+            data[i] = -data[i];
+        }
+    }
+
+    public PhysicalStore.Factory<Quadruple, InterleavedR128Store> physical() {
+        return FACTORY;
+    }
+
+    public TransformableRegion<Quadruple> regionByColumns(final int... columns) {
+        return new Subregion2D.ColumnsRegion<>(this, multiplyBoth, columns);
+    }
+
+    public TransformableRegion<Quadruple> regionByLimits(final int rowLimit, final int columnLimit) {
+        return new Subregion2D.LimitRegion<>(this, multiplyBoth, rowLimit, columnLimit);
+    }
+
+    public TransformableRegion<Quadruple> regionByOffsets(final int rowOffset, final int columnOffset) {
+        return new Subregion2D.OffsetRegion<>(this, multiplyBoth, rowOffset, columnOffset);
+    }
+
+    public TransformableRegion<Quadruple> regionByRows(final int... rows) {
+        return new Subregion2D.RowsRegion<>(this, multiplyBoth, rows);
+    }
+
+    public TransformableRegion<Quadruple> regionByTransposing() {
+        return new Subregion2D.TransposedRegion<>(this, multiplyBoth);
+    }
+
+    public void rotateRight(final int low, final int high, final double cos, final double sin) {
+        RotateRight.invokeR128(data, myRowDim, low, high, Quadruple.valueOf(cos), Quadruple.valueOf(sin));
+    }
+
+    public void set(final long row, final long col, final Comparable<?> value) {
+        this.set(Math.toIntExact(row + col * myRowDim), value);
+    }
+
+    public void set(final long row, final long col, final double value) {
+        this.set(Math.toIntExact(row + col * myRowDim), value);
+    }
+
+    public void setToIdentity(final int col) {
+        int index = 2 * (col + col * myRowDim);
+        data[index] = 1.0;
+        Arrays.fill(data, index + 1, 2 * (col + 1) * myRowDim, 0.0);
+    }
+
+    public Array1D<Quadruple> sliceColumn(final long row, final long col) {
+        return myUtility.sliceColumn(row, col);
+    }
+
+    public Array1D<Quadruple> sliceDiagonal(final long row, final long col) {
+        return myUtility.sliceDiagonal(row, col);
+    }
+
+    public Array1D<Quadruple> sliceRange(final long first, final long limit) {
+        return myUtility.sliceRange(first, limit);
+    }
+
+    public Array1D<Quadruple> sliceRow(final long row, final long col) {
+        return myUtility.sliceRow(row, col);
+    }
+
+    public void substituteBackwards(final Access2D<Quadruple> body, final boolean unitDiagonal, final boolean conjugated, final boolean hermitian) {
+
+        final int tmpRowDim = myRowDim;
+        final int tmpColDim = myColDim;
+
+        if (tmpColDim > SubstituteBackwards.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int aFirst, final int aLimit) {
+                    SubstituteBackwards.invokeR128(InterleavedR128Store.this.data, tmpRowDim, aFirst, aLimit, body, unitDiagonal, conjugated, hermitian);
+                }
+
+            };
+
+            tmpConquerer.invoke(0, tmpColDim, SubstituteBackwards.THRESHOLD);
+
+        } else {
+
+            SubstituteBackwards.invokeR128(data, tmpRowDim, 0, tmpColDim, body, unitDiagonal, conjugated, hermitian);
+        }
+    }
+
+    public void substituteForwards(final Access2D<Quadruple> body, final boolean unitDiagonal, final boolean conjugated, final boolean identity) {
+
+        final int tmpRowDim = myRowDim;
+        final int tmpColDim = myColDim;
+
+        if (tmpColDim > SubstituteForwards.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int aFirst, final int aLimit) {
+                    SubstituteForwards.invokeR128(InterleavedR128Store.this.data, tmpRowDim, aFirst, aLimit, body, unitDiagonal, conjugated, identity);
+                }
+
+            };
+
+            tmpConquerer.invoke(0, tmpColDim, SubstituteForwards.THRESHOLD);
+
+        } else {
+
+            SubstituteForwards.invokeR128(data, tmpRowDim, 0, tmpColDim, body, unitDiagonal, conjugated, identity);
+        }
+    }
+
+    public Scalar<Quadruple> toScalar(final long row, final long column) {
+        return this.get(row, column);
+    }
+
+    @Override
+    public String toString() {
+        return Access2D.toString(this);
+    }
+
+    public void transformLeft(final Householder<Quadruple> transformation, final int firstColumn) {
+        HouseholderLeft.callR128(data, myRowDim, firstColumn, this.cast(transformation));
+    }
+
+    public void transformLeft(final Rotation<Quadruple> transformation) {
+
+        final Rotation.Generic<Quadruple> tmpTransf = this.cast(transformation);
+
+        final int tmpLow = tmpTransf.low;
+        final int tmpHigh = tmpTransf.high;
+
+        if (tmpLow != tmpHigh) {
+            if (tmpTransf.cos != null && tmpTransf.sin != null) {
+                RotateLeft.invokeR128(data, myRowDim, tmpLow, tmpHigh, tmpTransf.cos, tmpTransf.sin);
+            } else {
+                myUtility.exchangeRows(tmpLow, tmpHigh);
+            }
+        } else if (tmpTransf.cos != null) {
+            myUtility.modifyRow(tmpLow, 0, FACTORY.function().multiply().second(tmpTransf.cos));
+        } else if (tmpTransf.sin != null) {
+            myUtility.modifyRow(tmpLow, 0, FACTORY.function().divide().second(tmpTransf.sin));
+        } else {
+            myUtility.modifyRow(tmpLow, 0, FACTORY.function().negate());
+        }
+    }
+
+    public void transformRight(final Householder<Quadruple> transformation, final int firstRow) {
+        HouseholderRight.callR128(data, myRowDim, firstRow, this.cast(transformation));
+    }
+
+    public void transformRight(final Rotation<Quadruple> transformation) {
+
+        final Rotation.Generic<Quadruple> tmpTransf = this.cast(transformation);
+
+        final int tmpLow = tmpTransf.low;
+        final int tmpHigh = tmpTransf.high;
+
+        if (tmpLow != tmpHigh) {
+            if (tmpTransf.cos != null && tmpTransf.sin != null) {
+                RotateRight.invokeR128(data, myRowDim, tmpLow, tmpHigh, tmpTransf.cos, tmpTransf.sin);
+            } else {
+                myUtility.exchangeColumns(tmpLow, tmpHigh);
+            }
+        } else if (tmpTransf.cos != null) {
+            myUtility.modifyColumn(0, tmpHigh, FACTORY.function().multiply().second(tmpTransf.cos));
+        } else if (tmpTransf.sin != null) {
+            myUtility.modifyColumn(0, tmpHigh, FACTORY.function().divide().second(tmpTransf.sin));
+        } else {
+            myUtility.modifyColumn(0, tmpHigh, FACTORY.function().negate());
+        }
+    }
+
+    public void transformSymmetric(final Householder<Quadruple> transformation) {
+        HouseholderHermitian.invokeR128(data, this.cast(transformation), this.getWorkerColumn());
+    }
+
+    public MatrixStore<Quadruple> transpose() {
+        return new TransposedStore<>(this);
+    }
+
+    public void tred2(final BasicArray<Quadruple> mainDiagonal, final BasicArray<Quadruple> offDiagonal, final boolean yesvecs) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+    }
+
+    public void visitColumn(final long row, final long col, final VoidFunction<Quadruple> visitor) {
+        myUtility.visitColumn(row, col, visitor);
+    }
+
+    public void visitDiagonal(final long row, final long col, final VoidFunction<Quadruple> visitor) {
+        myUtility.visitDiagonal(row, col, visitor);
+    }
+
+    public void visitRow(final long row, final long col, final VoidFunction<Quadruple> visitor) {
+        myUtility.visitRow(row, col, visitor);
+    }
+
+    private static double[] interleaved(final BasicArray<Quadruple> array) {
+        if (array instanceof InterleavedR128) {
+            return ((InterleavedR128) array).data;
+        }
+        double[] retVal = new double[2 * array.size()];
+        Quadruple value;
+        for (int i = 0, limit = array.size(); i < limit; i++) {
+            value = array.get(i);
+            if (value != null) {
+                retVal[2 * i] = value.getBase();
+                retVal[2 * i + 1] = value.getRemainder();
+            }
+        }
+        return retVal;
+    }
+
+    private InterleavedR128 cast(final Access1D<Quadruple> matrix) {
+        if (matrix instanceof InterleavedR128) {
+            return (InterleavedR128) matrix;
+        }
+        if (matrix instanceof Access2D<?>) {
+            return FACTORY.copy((Access2D<?>) matrix);
+        }
+        return FACTORY.columns(matrix);
+    }
+
+    private Householder.Generic<Quadruple> cast(final Householder<Quadruple> transformation) {
+        if (transformation instanceof Householder.Generic) {
+            return (Householder.Generic<Quadruple>) transformation;
+        }
+        if (transformation instanceof HouseholderReference<?>) {
+            // Householder.Generic#copy(Householder) would calculate beta in double precision only
+            double[] tmpWork = new double[2];
+            Quadruple tmpValue;
+            for (int i = transformation.first(), limit = transformation.size(); i < limit; i++) {
+                tmpValue = transformation.get(i);
+                DoubleDouble.addProduct(tmpWork, 0, tmpValue.getBase(), tmpValue.getRemainder(), tmpValue.getBase(), tmpValue.getRemainder());
+            }
+            DoubleDouble.divide(tmpWork, 0, PrimitiveMath.TWO, PrimitiveMath.ZERO, tmpWork[0], tmpWork[1]);
+            Householder.Generic<Quadruple> tmpWorker = ((HouseholderReference<Quadruple>) transformation).getWorker(FACTORY);
+            return tmpWorker.copy(transformation, Quadruple.of(tmpWork[0], tmpWork[1]));
+        }
+        return new Householder.Generic<>(Quadruple.FACTORY, transformation);
+    }
+
+    private Rotation.Generic<Quadruple> cast(final Rotation<Quadruple> transformation) {
+        if (transformation instanceof Rotation.Generic) {
+            return (Rotation.Generic<Quadruple>) transformation;
+        }
+        return new Rotation.Generic<>(transformation);
+    }
+
+    private void fillTransposed(final Access2D<?> source) {
+
+        if (myColDim > FillMatchingSingle.THRESHOLD) {
+
+            final DivideAndConquer tmpConquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    InterleavedR128Store.transpose(data, myRowDim, first, limit, source);
+                }
+
+            };
+
+            tmpConquerer.invoke(0, myColDim, FillMatchingSingle.THRESHOLD);
+
+        } else {
+
+            InterleavedR128Store.transpose(data, myRowDim, 0, myColDim, source);
+        }
+    }
+
+    private double[] getWorkerColumn() {
+
+        if (myWorkerColumn == null) {
+            myWorkerColumn = new double[2 * myRowDim];
+        }
+
+        Arrays.fill(myWorkerColumn, 0.0);
+
+        return myWorkerColumn;
+    }
+
+    /**
+     * Swap the elements at the 2 (double-double element) indices.
+     */
+    private void swap(final int indexA, final int indexB) {
+
+        double tmpBase = data[2 * indexA];
+        double tmpRemainder = data[2 * indexA + 1];
+
+        data[2 * indexA] = data[2 * indexB];
+        data[2 * indexA + 1] = data[2 * indexB + 1];
+        data[2 * indexB] = tmpBase;
+        data[2 * indexB + 1] = tmpRemainder;
+    }
+
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.DenseArray;
+import org.ojalgo.array.operation.AXPY;
+import org.ojalgo.array.operation.DOT;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.matrix.operation.MultiplyBoth;
+import org.ojalgo.structure.Access2D;
+
+/**
+ * A batch of many same-sized small (double) matrices, stored one after the other in a contiguous buffer – an
+ * {@link ArrayR064} or an off-heap array (any {@link DenseArray}). Each matrix is stored column major, the
+ * same as a {@link Primitive64Store}, and matrix m starts at offset + m * stride.
+ * <p>
+ * Multiplying, solving and inverting are done for the whole batch in one call, in parallel across the batch.
+ * There are no per matrix objects – each thread copies the matrices it works on to its own small work arrays
+ * (reused for all of them). The multiplications use the same (unrolled) kernels as {@link Primitive64Store}.
+ * <p>
+ * Any operand batch may contain just 1 matrix, that is then used with every matrix of the other batch(es).
+ *
+ * @author apete
+ */
+public final class MatrixBatch {
+
+    /**
+     * The (minimum) number of matrices processed by each task
+     */
+    public static int THRESHOLD = 64;
+
+    /**
+     * On-heap, backed by an {@link ArrayR064}.
+     */
+    public static MatrixBatch make(final int count, final int rows, final int columns) {
+        return MatrixBatch.make(ArrayR064.FACTORY, count, rows, columns);
+    }
+
+    /**
+     * @param factory Any (double) dense array factory, like {@link org.ojalgo.array.OffHeapArray#R064}.
+     */
+    public static MatrixBatch make(final DenseArray.Factory<Double> factory, final int count, final int rows, final int columns) {
+
+        long stride = (long) rows * columns;
+
+        DenseArray<Double> buffer = factory.make(count * stride);
+        buffer.reset();
+
+        return new MatrixBatch(buffer, 0L, stride, count, rows, columns);
+    }
+
+    /**
+     * Use existing data. The buffer is not copied.
+     */
+    public static MatrixBatch wrap(final DenseArray<Double> buffer, final long offset, final long stride, final int count, final int rows,
+            final int columns) {
+
+        if (stride < (long) rows * columns || offset + (count - 1L) * stride + (long) rows * columns > buffer.count()) {
+            throw new ProgrammingError("The buffer is too small, or the stride too short!");
+        }
+
+        return new MatrixBatch(buffer, offset, stride, count, rows, columns);
+    }
+
+    /**
+     * In place Cholesky factorisation, and then solving, of a column major dim x dim matrix.
+     */
+    private static boolean cholesky(final double[] body, final int dim, final double[] rhs, final int nbCols) {
+
+        for (int j = 0; j < dim; j++) {
+
+            int diagonal = j + j * dim;
+
+            double value = body[diagonal];
+            if (!(value > ZERO) || !Double.isFinite(value)) {
+                return false;
+            }
+            value = SQRT.invoke(value);
+            body[diagonal] = value;
+
+            for (int i = j + 1; i < dim; i++) {
+                body[i + j * dim] /= value;
+            }
+            for (int c = j + 1; c < dim; c++) {
+                AXPY.invoke(body, c * dim, -body[c + j * dim], body, j * dim, c, dim);
+            }
+        }
+
+        for (int c = 0, offset = 0; c < nbCols; c++, offset += dim) {
+            for (int j = 0; j < dim; j++) {
+                double value = rhs[offset + j] / body[j + j * dim];
+                rhs[offset + j] = value;
+                AXPY.invoke(rhs, offset, -value, body, j * dim, j + 1, dim);
+            }
+            for (int j = dim - 1; j >= 0; j--) {
+                rhs[offset + j] = (rhs[offset + j] - DOT.invoke(body, j * dim, rhs, offset, j + 1, dim)) / body[j + j * dim];
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * In place LU factorisation, with partial pivoting, and then solving, of a column major dim x dim matrix.
+     */
+    private static boolean lu(final double[] body, final int dim, final double[] rhs, final int nbCols) {
+
+        for (int j = 0; j < dim; j++) {
+
+            int pivot = j;
+            double largest = Math.abs(body[j + j * dim]);
+            for (int i = j + 1; i < dim; i++) {
+                double value = Math.abs(body[i + j * dim]);
+                if (value > largest) {
+                    largest = value;
+                    pivot = i;
+                }
+            }
+
+            if (!(largest > ZERO)) {
+                return false;
+            }
+
+            if (pivot != j) {
+                MatrixBatch.swap(body, dim, dim, j, pivot);
+                MatrixBatch.swap(rhs, dim, nbCols, j, pivot);
+            }
+
+            double value = body[j + j * dim];
+            for (int i = j + 1; i < dim; i++) {
+                body[i + j * dim] /= value;
+            }
+            for (int c = j + 1; c < dim; c++) {
+                AXPY.invoke(body, c * dim, -body[j + c * dim], body, j * dim, j + 1, dim);
+            }
+            for (int c = 0; c < nbCols; c++) {
+                AXPY.invoke(rhs, c * dim, -rhs[j + c * dim], body, j * dim, j + 1, dim);
+            }
+        }
+
+        for (int c = 0, offset = 0; c < nbCols; c++, offset += dim) {
+            for (int j = dim - 1; j >= 0; j--) {
+                double value = rhs[offset + j] / body[j + j * dim];
+                rhs[offset + j] = value;
+                AXPY.invoke(rhs, offset, -value, body, j * dim, 0, j);
+            }
+        }
+
+        return true;
+    }
+
+    private static void swap(final double[] matrix, final int nbRows, final int nbCols, final int row1, final int row2) {
+        for (int c = 0, offset = 0; c < nbCols; c++, offset += nbRows) {
+            double tmp = matrix[offset + row1];
+            matrix[offset + row1] = matrix[offset + row2];
+            matrix[offset + row2] = tmp;
+        }
+    }
+
+    private final DenseArray<Double> myBuffer;
+    private final int myColumns;
+    private final int myCount;
+    private final long myOffset;
+    private final int myRows;
+    private final long myStride;
+
+    MatrixBatch(final DenseArray<Double> buffer, final long offset, final long stride, final int count, final int rows, final int columns) {
+        super();
+        myBuffer = buffer;
+        myOffset = offset;
+        myStride = stride;
+        myCount = count;
+        myRows = rows;
+        myColumns = columns;
+    }
+
+    /**
+     * @return The number of matrices in the batch
+     */
+    public int count() {
+        return myCount;
+    }
+
+    public double doubleValue(final int matrix, final int row, final int col) {
+        return myBuffer.doubleValue(this.index(matrix, row, col));
+    }
+
+    /**
+     * Copy the elements of one of the matrices.
+     */
+    public void fill(final int matrix, final Access2D<?> values) {
+        for (int j = 0; j < myColumns; j++) {
+            for (int i = 0; i < myRows; i++) {
+                myBuffer.set(this.index(matrix, i, j), values.doubleValue(i, j));
+            }
+        }
+    }
+
+    /**
+     * this[m] = left[m] x right[m], for all m
+     */
+    public void fillByMultiplying(final MatrixBatch left, final MatrixBatch right) {
+
+        this.verify(left, myRows);
+        this.verify(right, left.getColDim());
+        if (right.getColDim() != myColumns) {
+            throw new ProgrammingError("Wrong number of columns!");
+        }
+
+        int complexity = left.getColDim();
+        MultiplyBoth.Primitive kernel = MultiplyBoth.newPrimitive64Sequential(myRows, myColumns);
+
+        DivideAndConquer conquerer = new DivideAndConquer() {
+
+            @Override
+            public void conquer(final int first, final int limit) {
+
+                double[] work = new double[myRows * myColumns];
+                Primitive64Store product = Primitive64Store.wrap(work, myRows);
+                Primitive64Store leftWork = Primitive64Store.wrap(new double[myRows * complexity], myRows);
+                Primitive64Store rightWork = Primitive64Store.wrap(new double[complexity * myColumns], complexity);
+
+                for (int m = first; m < limit; m++) {
+                    if (m == first || left.count() != 1) {
+                        left.load(m, leftWork.data);
+                    }
+                    if (m == first || right.count() != 1) {
+                        right.load(m, rightWork.data);
+                    }
+                    kernel.invoke(product, leftWork, complexity, rightWork);
+                    MatrixBatch.this.save(m, work);
+                }
+            }
+
+        };
+
+        conquerer.invoke(0, myCount, THRESHOLD);
+    }
+
+    /**
+     * this[m] = body[m]<sup>-1</sup>, for all m
+     *
+     * @param positiveDefinite Use Cholesky (rather than LU) decompositions. The bodies must be symmetric
+     *        positive definite.
+     * @return true if all matrices could be inverted. Those that couldn't are set to NaN.
+     */
+    public boolean fillByInverting(final MatrixBatch body, final boolean positiveDefinite) {
+        return this.solve(body, null, positiveDefinite);
+    }
+
+    /**
+     * this[m] = body[m]<sup>-1</sup> rhs[m], for all m – solves [body][this]=[rhs].
+     *
+     * @param positiveDefinite Use Cholesky (rather than LU) decompositions. The bodies must be symmetric
+     *        positive definite.
+     * @return true if all equation systems could be solved. The solutions of those that couldn't are set to
+     *         NaN.
+     */
+    public boolean fillBySolving(final MatrixBatch body, final MatrixBatch rhs, final boolean positiveDefinite) {
+        return this.solve(body, rhs, positiveDefinite);
+    }
+
+    /**
+     * @return The underlying buffer – not a copy
+     */
+    public DenseArray<Double> getBuffer() {
+        return myBuffer;
+    }
+
+    public int getColDim() {
+        return myColumns;
+    }
+
+    public int getRowDim() {
+        return myRows;
+    }
+
+    public void set(final int matrix, final int row, final int col, final double value) {
+        myBuffer.set(this.index(matrix, row, col), value);
+    }
+
+    /**
+     * @return A copy of one of the matrices
+     */
+    public Primitive64Store toStore(final int matrix) {
+        Primitive64Store retVal = Primitive64Store.FACTORY.make(myRows, myColumns);
+        this.load(matrix, retVal.data);
+        return retVal;
+    }
+
+    private long index(final int matrix, final int row, final int col) {
+        return myOffset + matrix * myStride + row + (long) col * myRows;
+    }
+
+    /**
+     * Copy matrix m (or the only matrix) to the array
+     */
+    private void load(final int matrix, final double[] destination) {
+
+        long first = myOffset + (myCount == 1 ? 0 : matrix) * myStride;
+        int size = destination.length;
+
+        if (myBuffer instanceof ArrayR064) {
+            System.arraycopy(((ArrayR064) myBuffer).data, Math.toIntExact(first), destination, 0, size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                destination[i] = myBuffer.doubleValue(first + i);
+            }
+        }
+    }
+
+    private void save(final int matrix, final double[] source) {
+
+        long first = myOffset + matrix * myStride;
+        int size = source.length;
+
+        if (myBuffer instanceof ArrayR064) {
+            System.arraycopy(source, 0, ((ArrayR064) myBuffer).data, Math.toIntExact(first), size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                myBuffer.set(first + i, source[i]);
+            }
+        }
+    }
+
+    private boolean solve(final MatrixBatch body, final MatrixBatch rhs, final boolean positiveDefinite) {
+
+        int dim = myRows;
+
+        this.verify(body, dim);
+        if (body.getColDim() != dim) {
+            throw new ProgrammingError("The bodies must be square!");
+        }
+        if (rhs != null) {
+            this.verify(rhs, dim);
+            if (rhs.getColDim() != myColumns) {
+                throw new ProgrammingError("Wrong number of columns!");
+            }
+        } else if (myColumns != dim) {
+            throw new ProgrammingError("The inverses must be square!");
+        }
+
+        AtomicBoolean solvable = new AtomicBoolean(true);
+
+        DivideAndConquer conquerer = new DivideAndConquer() {
+
+            @Override
+            public void conquer(final int first, final int limit) {
+
+                double[] bodyWork = new double[dim * dim];
+                double[] work = new double[dim * myColumns];
+
+                for (int m = first; m < limit; m++) {
+
+                    body.load(m, bodyWork);
+
+                    if (rhs != null) {
+                        rhs.load(m, work);
+                    } else {
+                        Arrays.fill(work, ZERO);
+                        for (int i = 0; i < dim; i++) {
+                            work[i + i * dim] = ONE;
+                        }
+                    }
+
+                    boolean solved = positiveDefinite ? MatrixBatch.cholesky(bodyWork, dim, work, myColumns) : MatrixBatch.lu(bodyWork, dim, work, myColumns);
+
+                    if (!solved) {
+                        Arrays.fill(work, NaN);
+                        solvable.set(false);
+                    }
+
+                    MatrixBatch.this.save(m, work);
+                }
+            }
+
+        };
+
+        conquerer.invoke(0, myCount, THRESHOLD);
+
+        return solvable.get();
+    }
+
+    private void verify(final MatrixBatch operand, final int rows) {
+        if (operand.count() != myCount && operand.count() != 1) {
+            throw new ProgrammingError("The batches must contain the same number of matrices (or just 1)!");
+        }
+        if (operand.getRowDim() != rows) {
+            throw new ProgrammingError("Wrong number of rows!");
+        }
+    }
+
+}
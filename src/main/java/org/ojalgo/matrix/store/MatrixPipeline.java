@@ -21,6 +21,11 @@
  */
 package org.ojalgo.matrix.store;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ojalgo.array.operation.ModifyAll;
+import org.ojalgo.concurrent.DivideAndConquer;
 import org.ojalgo.function.BinaryFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.aggregator.Aggregator;
@@ -30,7 +35,7 @@ import org.ojalgo.structure.Transformation2D;
 
 abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSupplier<N> {
 
-    static final class BinaryOperatorLeft<N extends Comparable<N>> extends MatrixPipeline<N> {
+    static final class BinaryOperatorLeft<N extends Comparable<N>> extends ElementWise<N> {
 
         private final Access2D<N> myLeft;
         private final BinaryFunction<N> myOperator;
@@ -42,13 +47,17 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
         }
 
         @Override
-        public void supplyTo(final TransformableRegion<N> receiver) {
-            this.getContext().supplyTo(receiver);
-            receiver.modifyMatching(myLeft, myOperator);
+        double invoke(final long row, final long col, final double arg) {
+            return myOperator.invoke(myLeft.doubleValue(row, col), arg);
+        }
+
+        @Override
+        N invoke(final long row, final long col, final N arg) {
+            return myOperator.invoke(myLeft.get(row, col), arg);
         }
     }
 
-    static final class BinaryOperatorRight<N extends Comparable<N>> extends MatrixPipeline<N> {
+    static final class BinaryOperatorRight<N extends Comparable<N>> extends ElementWise<N> {
 
         private final BinaryFunction<N> myOperator;
         private final Access2D<N> myRight;
@@ -60,13 +69,17 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
         }
 
         @Override
-        public void supplyTo(final TransformableRegion<N> receiver) {
-            this.getContext().supplyTo(receiver);
-            receiver.modifyMatching(myOperator, myRight);
+        double invoke(final long row, final long col, final double arg) {
+            return myOperator.invoke(arg, myRight.doubleValue(row, col));
+        }
+
+        @Override
+        N invoke(final long row, final long col, final N arg) {
+            return myOperator.invoke(arg, myRight.get(row, col));
         }
     }
 
-    static final class ColumnsModifier<N extends Comparable<N>> extends MatrixPipeline<N> {
+    static final class ColumnsModifier<N extends Comparable<N>> extends ElementWise<N> {
 
         private final BinaryFunction<N> myFunction;
         private final Access1D<N> myRightArgumnts;
@@ -78,18 +91,13 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
         }
 
         @Override
-        public void supplyTo(final TransformableRegion<N> receiver) {
-
-            this.getContext().supplyTo(receiver);
-
-            UnaryFunction<N> modifier;
-
-            final long limit = Math.min(receiver.countColumns(), myRightArgumnts.count());
-            for (long j = 0; j < limit; j++) {
-                modifier = myFunction.second(myRightArgumnts.get(j));
-                receiver.modifyColumn(j, modifier);
-            }
+        double invoke(final long row, final long col, final double arg) {
+            return col < myRightArgumnts.count() ? myFunction.invoke(arg, myRightArgumnts.doubleValue(col)) : arg;
+        }
 
+        @Override
+        N invoke(final long row, final long col, final N arg) {
+            return col < myRightArgumnts.count() ? myFunction.invoke(arg, myRightArgumnts.get(col)) : arg;
         }
 
     }
@@ -112,6 +120,179 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
 
     }
 
+    /**
+     * Element-wise operations – the value of each element only depends on the value of the same element in
+     * the context (and on its position). A chain of element-wise operations, possibly with transposes in
+     * between, is fused and evaluated in a single traversal rather than first materialising the context in
+     * the receiver and then re-traversing the receiver once per operation.
+     */
+    static abstract class ElementWise<N extends Comparable<N>> extends MatrixPipeline<N> {
+
+        /**
+         * Conquer the column range [0,nbCols) – divided and processed in parallel if there are enough columns.
+         */
+        private static void divide(final int nbCols, final DivideAndConquer.Conquerer conquerer) {
+
+            if (nbCols > ModifyAll.THRESHOLD) {
+
+                DivideAndConquer divider = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int first, final int limit) {
+                        conquerer.conquer(first, limit);
+                    }
+
+                };
+
+                divider.invoke(0, nbCols, ModifyAll.THRESHOLD);
+
+            } else {
+
+                conquerer.conquer(0, nbCols);
+            }
+        }
+
+        ElementWise(final ElementsSupplier<N> context) {
+            super(context);
+        }
+
+        @Override
+        public final void supplyTo(final TransformableRegion<N> receiver) {
+
+            List<ElementWise<N>> chain = new ArrayList<>();
+            List<Boolean> orientation = new ArrayList<>();
+
+            boolean transposed = false;
+            ElementsSupplier<N> base = this;
+            for (;;) {
+                if (base instanceof ElementWise) {
+                    chain.add((ElementWise<N>) base);
+                    orientation.add(Boolean.valueOf(transposed));
+                } else if (base instanceof Transpose) {
+                    transposed = !transposed;
+                } else {
+                    break;
+                }
+                base = ((MatrixPipeline<N>) base).getContext();
+            }
+
+            Fusion<N> fusion;
+            if (base instanceof MatrixStore) {
+                // Read the elements directly from the base – no need to first copy them to the receiver
+                fusion = new Fusion<>((MatrixStore<N>) base, transposed, chain, orientation);
+            } else {
+                base.supplyTo(transposed ? receiver.regionByTransposing() : receiver);
+                fusion = new Fusion<>(receiver, false, chain, orientation);
+            }
+
+            int nbRows = Math.toIntExact(this.countRows());
+            int nbCols = Math.toIntExact(this.countColumns());
+
+            if (receiver instanceof Primitive64Store) {
+
+                double[] data = ((Primitive64Store) receiver).data;
+                int structure = receiver.getRowDim();
+
+                ElementWise.divide(nbCols, (first, limit) -> fusion.invoke(data, structure, nbRows, first, limit));
+
+            } else if (receiver instanceof Primitive32Store) {
+
+                float[] data = ((Primitive32Store) receiver).data;
+                int structure = receiver.getRowDim();
+
+                ElementWise.divide(nbCols, (first, limit) -> fusion.invoke(data, structure, nbRows, first, limit));
+
+            } else if (base instanceof Primitive64Store || base instanceof Primitive32Store) {
+
+                for (int j = 0; j < nbCols; j++) {
+                    for (int i = 0; i < nbRows; i++) {
+                        receiver.set(i, j, fusion.doubleValue(i, j));
+                    }
+                }
+
+            } else {
+
+                for (int j = 0; j < nbCols; j++) {
+                    for (int i = 0; i < nbRows; i++) {
+                        receiver.set(i, j, fusion.get(i, j));
+                    }
+                }
+            }
+        }
+
+        abstract double invoke(long row, long col, double arg);
+
+        abstract N invoke(long row, long col, N arg);
+
+    }
+
+    /**
+     * A fused chain of element-wise operations. The operations are ordered innermost (applied first) to
+     * outermost, and each has a flag indicating if it's evaluated transposed relative to the receiver.
+     */
+    static final class Fusion<N extends Comparable<N>> {
+
+        private final ElementWise<N>[] myOperations;
+        private final Access2D<N> mySource;
+        private final boolean mySourceTransposed;
+        private final boolean[] myTransposed;
+
+        Fusion(final Access2D<N> source, final boolean sourceTransposed, final List<ElementWise<N>> chain, final List<Boolean> orientation) {
+
+            super();
+
+            mySource = source;
+            mySourceTransposed = sourceTransposed;
+
+            int nbOperations = chain.size();
+
+            @SuppressWarnings("unchecked")
+            ElementWise<N>[] operations = (ElementWise<N>[]) new ElementWise<?>[nbOperations];
+            myOperations = operations;
+            myTransposed = new boolean[nbOperations];
+
+            for (int o = 0; o < nbOperations; o++) {
+                myOperations[o] = chain.get(nbOperations - 1 - o);
+                myTransposed[o] = orientation.get(nbOperations - 1 - o).booleanValue();
+            }
+        }
+
+        double doubleValue(final long row, final long col) {
+            double retVal = mySourceTransposed ? mySource.doubleValue(col, row) : mySource.doubleValue(row, col);
+            for (int o = 0; o < myOperations.length; o++) {
+                retVal = myTransposed[o] ? myOperations[o].invoke(col, row, retVal) : myOperations[o].invoke(row, col, retVal);
+            }
+            return retVal;
+        }
+
+        N get(final long row, final long col) {
+            N retVal = mySourceTransposed ? mySource.get(col, row) : mySource.get(row, col);
+            for (int o = 0; o < myOperations.length; o++) {
+                retVal = myTransposed[o] ? myOperations[o].invoke(col, row, retVal) : myOperations[o].invoke(row, col, retVal);
+            }
+            return retVal;
+        }
+
+        void invoke(final double[] data, final int structure, final int nbRows, final int first, final int limit) {
+            for (int j = first; j < limit; j++) {
+                int offset = j * structure;
+                for (int i = 0; i < nbRows; i++) {
+                    data[offset + i] = this.doubleValue(i, j);
+                }
+            }
+        }
+
+        void invoke(final float[] data, final int structure, final int nbRows, final int first, final int limit) {
+            for (int j = first; j < limit; j++) {
+                int offset = j * structure;
+                for (int i = 0; i < nbRows; i++) {
+                    data[offset + i] = (float) this.doubleValue(i, j);
+                }
+            }
+        }
+
+    }
+
     static final class Multiplication<N extends Comparable<N>> extends MatrixPipeline<N> {
 
         private final Access1D<N> myLeft;
@@ -132,7 +313,7 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
 
     }
 
-    static final class RowsModifier<N extends Comparable<N>> extends MatrixPipeline<N> {
+    static final class RowsModifier<N extends Comparable<N>> extends ElementWise<N> {
 
         private final BinaryFunction<N> myFunction;
         private final Access1D<N> myRightArgumnts;
@@ -144,18 +325,13 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
         }
 
         @Override
-        public void supplyTo(final TransformableRegion<N> receiver) {
-
-            this.getContext().supplyTo(receiver);
-
-            UnaryFunction<N> modifier;
-
-            final long limit = Math.min(receiver.countRows(), myRightArgumnts.count());
-            for (long i = 0; i < limit; i++) {
-                modifier = myFunction.second(myRightArgumnts.get(i));
-                receiver.modifyRow(i, modifier);
-            }
+        double invoke(final long row, final long col, final double arg) {
+            return row < myRightArgumnts.count() ? myFunction.invoke(arg, myRightArgumnts.doubleValue(row)) : arg;
+        }
 
+        @Override
+        N invoke(final long row, final long col, final N arg) {
+            return row < myRightArgumnts.count() ? myFunction.invoke(arg, myRightArgumnts.get(row)) : arg;
         }
 
     }
@@ -210,7 +386,7 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
         }
     }
 
-    static final class UnaryOperator<N extends Comparable<N>> extends MatrixPipeline<N> {
+    static final class UnaryOperator<N extends Comparable<N>> extends ElementWise<N> {
 
         private final UnaryFunction<N> myOperator;
 
@@ -220,9 +396,13 @@ abstract class MatrixPipeline<N extends Comparable<N>> implements ElementsSuppli
         }
 
         @Override
-        public void supplyTo(final TransformableRegion<N> receiver) {
-            this.getContext().supplyTo(receiver);
-            receiver.modifyAll(myOperator);
+        double invoke(final long row, final long col, final double arg) {
+            return myOperator.invoke(arg);
+        }
+
+        @Override
+        N invoke(final long row, final long col, final N arg) {
+            return myOperator.invoke(arg);
         }
     }
 
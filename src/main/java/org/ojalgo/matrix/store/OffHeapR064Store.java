@@ -0,0 +1,1562 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.Array1D;
+import org.ojalgo.array.Array2D;
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.BasicArray;
+import org.ojalgo.array.DenseArray;
+import org.ojalgo.array.OffHeapArray;
+import org.ojalgo.array.operation.ApplyCholesky;
+import org.ojalgo.array.operation.ApplyLDL;
+import org.ojalgo.array.operation.ApplyLU;
+import org.ojalgo.array.operation.FillMatchingSingle;
+import org.ojalgo.array.operation.HermitianRank2Update;
+import org.ojalgo.array.operation.HouseholderHermitian;
+import org.ojalgo.array.operation.MultiplyHermitianAndVector;
+import org.ojalgo.array.operation.SubstituteBackwards;
+import org.ojalgo.array.operation.SubstituteForwards;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.function.BinaryFunction;
+import org.ojalgo.function.NullaryFunction;
+import org.ojalgo.function.UnaryFunction;
+import org.ojalgo.function.VoidFunction;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.function.constant.PrimitiveMath;
+import org.ojalgo.matrix.decomposition.DecompositionStore;
+import org.ojalgo.matrix.operation.HouseholderLeft;
+import org.ojalgo.matrix.operation.MultiplyBoth;
+import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.matrix.transformation.Rotation;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.scalar.PrimitiveScalar;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.ElementView2D;
+import org.ojalgo.structure.Mutate1D;
+import org.ojalgo.structure.Mutate2D;
+import org.ojalgo.structure.Structure2D;
+import org.ojalgo.structure.Transformation2D;
+import org.ojalgo.type.NumberDefinition;
+
+/**
+ * A double precision {@linkplain PhysicalStore} with its elements stored off-heap, in an
+ * {@link OffHeapArray}. The total number of elements is not limited to what fits in a Java array, and the
+ * memory does not burden the garbage collector. The row and column dimensions are still limited to int.
+ * <p>
+ * The memory is freed when the store is garbage collected, or explicitly (and immediately) by calling
+ * {@link #close()}. After that the store, and anything wrapping it, must not be used.
+ * <p>
+ * It's a {@link DecompositionStore} – use with {@link org.ojalgo.matrix.decomposition.LU#OFF_HEAP},
+ * {@link org.ojalgo.matrix.decomposition.Cholesky#OFF_HEAP}, {@link org.ojalgo.matrix.decomposition.LDL#OFF_HEAP},
+ * {@link org.ojalgo.matrix.decomposition.QR#OFF_HEAP}, {@link org.ojalgo.matrix.decomposition.Tridiagonal#OFF_HEAP}
+ * or (hermitian only) {@link org.ojalgo.matrix.decomposition.Eigenvalue#OFF_HEAP}. The Schur decomposition is
+ * not supported.
+ *
+ * @author apete
+ */
+public final class OffHeapR064Store implements PhysicalStore<Double>, DecompositionStore<Double>, AutoCloseable {
+
+    public static final PhysicalStore.Factory<Double, OffHeapR064Store> FACTORY = new PrimitiveFactory<OffHeapR064Store>() {
+
+        @Override
+        public DenseArray.Factory<Double> array() {
+            return ArrayR064.FACTORY;
+        }
+
+        public OffHeapR064Store columns(final Access1D<?>... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source[0].count(), source.length);
+
+            for (int j = 0; j < retVal.myColDim; j++) {
+                Access1D<?> column = source[j];
+                for (int i = 0; i < retVal.myRowDim; i++) {
+                    retVal.set(i, j, column.doubleValue(i));
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store columns(final Comparable<?>[]... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source[0].length, source.length);
+
+            for (int j = 0; j < retVal.myColDim; j++) {
+                Comparable<?>[] column = source[j];
+                for (int i = 0; i < retVal.myRowDim; i++) {
+                    retVal.set(i, j, NumberDefinition.doubleValue(column[i]));
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store columns(final double[]... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source[0].length, source.length);
+
+            for (int j = 0; j < retVal.myColDim; j++) {
+                double[] column = source[j];
+                for (int i = 0; i < retVal.myRowDim; i++) {
+                    retVal.set(i, j, column[i]);
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store columns(final List<? extends Comparable<?>>... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source[0].size(), source.length);
+
+            for (int j = 0; j < retVal.myColDim; j++) {
+                List<? extends Comparable<?>> column = source[j];
+                for (int i = 0; i < retVal.myRowDim; i++) {
+                    retVal.set(i, j, NumberDefinition.doubleValue(column.get(i)));
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store copy(final Access2D<?> source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source.countRows(), source.countColumns());
+
+            if (retVal.myColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer conquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int first, final int limit) {
+                        retVal.copy(first, limit, source, false);
+                    }
+
+                };
+
+                conquerer.invoke(0, retVal.myColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                retVal.copy(0, retVal.myColDim, source, false);
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store make(final long rows, final long columns) {
+            OffHeapR064Store retVal = new OffHeapR064Store(rows, columns);
+            retVal.reset();
+            return retVal;
+        }
+
+        public OffHeapR064Store rows(final Access1D<?>... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source.length, source[0].count());
+
+            for (int i = 0; i < retVal.myRowDim; i++) {
+                Access1D<?> row = source[i];
+                for (int j = 0; j < retVal.myColDim; j++) {
+                    retVal.set(i, j, row.doubleValue(j));
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store rows(final Comparable<?>[]... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source.length, source[0].length);
+
+            for (int i = 0; i < retVal.myRowDim; i++) {
+                Comparable<?>[] row = source[i];
+                for (int j = 0; j < retVal.myColDim; j++) {
+                    retVal.set(i, j, NumberDefinition.doubleValue(row[j]));
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store rows(final double[]... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source.length, source[0].length);
+
+            for (int i = 0; i < retVal.myRowDim; i++) {
+                double[] row = source[i];
+                for (int j = 0; j < retVal.myColDim; j++) {
+                    retVal.set(i, j, row[j]);
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store rows(final List<? extends Comparable<?>>... source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source.length, source[0].size());
+
+            for (int i = 0; i < retVal.myRowDim; i++) {
+                List<? extends Comparable<?>> row = source[i];
+                for (int j = 0; j < retVal.myColDim; j++) {
+                    retVal.set(i, j, NumberDefinition.doubleValue(row.get(j)));
+                }
+            }
+
+            return retVal;
+        }
+
+        public OffHeapR064Store transpose(final Access2D<?> source) {
+
+            OffHeapR064Store retVal = new OffHeapR064Store(source.countColumns(), source.countRows());
+
+            if (retVal.myColDim > FillMatchingSingle.THRESHOLD) {
+
+                DivideAndConquer conquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int first, final int limit) {
+                        retVal.copy(first, limit, source, true);
+                    }
+
+                };
+
+                conquerer.invoke(0, retVal.myColDim, FillMatchingSingle.THRESHOLD);
+
+            } else {
+
+                retVal.copy(0, retVal.myColDim, source, true);
+            }
+
+            return retVal;
+        }
+
+    };
+
+    private final OffHeapArray myArray;
+    private final int myColDim;
+    private final MultiplyBoth.Primitive myMultiplier;
+    private final int myRowDim;
+    private final Array2D<Double> myUtility;
+
+    OffHeapR064Store(final long numbRows, final long numbCols) {
+
+        super();
+
+        myRowDim = Math.toIntExact(numbRows);
+        myColDim = Math.toIntExact(numbCols);
+
+        myArray = (OffHeapArray) OffHeapArray.R064.make(numbRows * numbCols);
+        myUtility = Array2D.R064.wrap(myArray, numbRows);
+
+        myMultiplier = MultiplyBoth.newPrimitive64(myRowDim, myColDim);
+    }
+
+    public void accept(final Access2D<?> supplied) {
+        myUtility.accept(supplied);
+    }
+
+    public void add(final long index, final Comparable<?> addend) {
+        myArray.add(index, addend);
+    }
+
+    public void add(final long index, final double addend) {
+        myArray.add(index, addend);
+    }
+
+    public void add(final long row, final long col, final Comparable<?> addend) {
+        myUtility.add(row, col, addend);
+    }
+
+    public void add(final long row, final long col, final double addend) {
+        myUtility.add(row, col, addend);
+    }
+
+    public Double aggregateAll(final Aggregator aggregator) {
+        return myArray.aggregateAll(aggregator);
+    }
+
+    public Double aggregateColumn(final long col, final Aggregator aggregator) {
+        return myUtility.aggregateColumn(col, aggregator);
+    }
+
+    public Double aggregateColumn(final long row, final long col, final Aggregator aggregator) {
+        return myUtility.aggregateColumn(row, col, aggregator);
+    }
+
+    public Double aggregateDiagonal(final Aggregator aggregator) {
+        return myUtility.aggregateDiagonal(aggregator);
+    }
+
+    public Double aggregateDiagonal(final long row, final long col, final Aggregator aggregator) {
+        return myUtility.aggregateDiagonal(row, col, aggregator);
+    }
+
+    public Double aggregateRange(final long first, final long limit, final Aggregator aggregator) {
+        return myUtility.aggregateRange(first, limit, aggregator);
+    }
+
+    public Double aggregateRow(final long row, final Aggregator aggregator) {
+        return myUtility.aggregateRow(row, aggregator);
+    }
+
+    public Double aggregateRow(final long row, final long col, final Aggregator aggregator) {
+        return myUtility.aggregateRow(row, col, aggregator);
+    }
+
+    public void applyCholesky(final int iterationPoint, final BasicArray<Double> multipliers) {
+
+        double[] column = ((ArrayR064) multipliers).data;
+
+        if (myColDim - iterationPoint - 1 > ApplyCholesky.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.update(first, limit, column, PrimitiveMath.ONE);
+                }
+            };
+
+            conquerer.invoke(iterationPoint + 1, myColDim, ApplyCholesky.THRESHOLD);
+
+        } else {
+
+            this.update(iterationPoint + 1, myColDim, column, PrimitiveMath.ONE);
+        }
+    }
+
+    public void applyLDL(final int iterationPoint, final BasicArray<Double> multipliers) {
+
+        double[] column = ((ArrayR064) multipliers).data;
+        double diagonal = this.doubleValue(iterationPoint, iterationPoint);
+
+        if (myColDim - iterationPoint - 1 > ApplyLDL.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.update(first, limit, column, diagonal);
+                }
+            };
+
+            conquerer.invoke(iterationPoint + 1, myColDim, ApplyLDL.THRESHOLD);
+
+        } else {
+
+            this.update(iterationPoint + 1, myColDim, column, diagonal);
+        }
+    }
+
+    public void applyLU(final int iterationPoint, final BasicArray<Double> multipliers) {
+
+        double[] column = ((ArrayR064) multipliers).data;
+
+        if (myColDim - iterationPoint - 1 > ApplyLU.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.updateLU(first, limit, column, iterationPoint);
+                }
+            };
+
+            conquerer.invoke(iterationPoint + 1, myColDim, ApplyLU.THRESHOLD);
+
+        } else {
+
+            this.updateLU(iterationPoint + 1, myColDim, column, iterationPoint);
+        }
+    }
+
+    public <NN extends Comparable<NN>, R extends Mutate2D.Receiver<NN>> Access2D.Collectable<NN, R> asCollectable2D() {
+        return myUtility.asCollectable2D();
+    }
+
+    public Array1D<Double> asList() {
+        return myUtility.flatten();
+    }
+
+    public byte byteValue(final long row, final long col) {
+        return myUtility.byteValue(row, col);
+    }
+
+    /**
+     * Free the off-heap memory now, rather than waiting for this store to be garbage collected.
+     *
+     * @see OffHeapArray#close()
+     */
+    public void close() {
+        myArray.close();
+    }
+
+    public ColumnView<Double> columns() {
+        return myUtility.columns();
+    }
+
+    public Array1D<ComplexNumber> computeInPlaceSchur(final PhysicalStore<Double> transformationCollector, final boolean eigenvalue) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+        return null;
+    }
+
+    public MatrixStore<Double> conjugate() {
+        return this.transpose();
+    }
+
+    public long count() {
+        return myArray.count();
+    }
+
+    public long countColumns() {
+        return myColDim;
+    }
+
+    public long countRows() {
+        return myRowDim;
+    }
+
+    public void divideAndCopyColumn(final int row, final int column, final BasicArray<Double> destination) {
+
+        double[] destinationData = ((ArrayR064) destination).data;
+
+        long index = this.index(row, column);
+        double denominator = myArray.doubleValue(index);
+
+        for (int i = row + 1; i < myRowDim; i++) {
+            index++;
+            destinationData[i] = myArray.doubleValue(index) / denominator;
+            myArray.set(index, destinationData[i]);
+        }
+    }
+
+    public double dot(final Access1D<?> vector) {
+        return myUtility.dot(vector);
+    }
+
+    public double doubleValue(final long index) {
+        return myArray.doubleValue(index);
+    }
+
+    public double doubleValue(final long row, final long col) {
+        return myArray.doubleValue(row + col * myRowDim);
+    }
+
+    public ElementView2D<Double, ?> elements() {
+        return myUtility.elements();
+    }
+
+    public void exchangeColumns(final long colA, final long colB) {
+        myUtility.exchangeColumns(colA, colB);
+    }
+
+    public void exchangeHermitian(final int indexA, final int indexB) {
+
+        int indexMin = Math.min(indexA, indexB);
+        int indexMax = Math.max(indexA, indexB);
+
+        for (int j = 0; j < indexMin; j++) {
+            this.swap(this.index(indexMin, j), this.index(indexMax, j));
+        }
+
+        this.swap(this.index(indexMin, indexMin), this.index(indexMax, indexMax));
+
+        for (int ij = indexMin + 1; ij < indexMax; ij++) {
+            this.swap(this.index(ij, indexMin), this.index(indexMax, ij));
+        }
+
+        for (int i = indexMax + 1; i < myRowDim; i++) {
+            this.swap(this.index(i, indexMin), this.index(i, indexMax));
+        }
+    }
+
+    public void exchangeRows(final long rowA, final long rowB) {
+        myUtility.exchangeRows(rowA, rowB);
+    }
+
+    public void fillAll(final Double value) {
+        myArray.fillAll(value);
+    }
+
+    public void fillAll(final NullaryFunction<?> supplier) {
+        myArray.fillAll(supplier);
+    }
+
+    public void fillByMultiplying(final Access1D<Double> left, final Access1D<Double> right) {
+
+        int complexity = Math.toIntExact(left.count() / this.countRows());
+        if (complexity != Math.toIntExact(right.count() / this.countColumns())) {
+            ProgrammingError.throwForMultiplicationNotPossible();
+        }
+
+        myMultiplier.invoke(this, left, complexity, right);
+    }
+
+    public void fillColumn(final long col, final Access1D<Double> values) {
+        myUtility.fillColumn(col, values);
+    }
+
+    public void fillColumn(final long col, final Double value) {
+        myUtility.fillColumn(col, value);
+    }
+
+    public void fillColumn(final long row, final long col, final Access1D<Double> values) {
+        myUtility.fillColumn(row, col, values);
+    }
+
+    public void fillColumn(final long row, final long col, final Double value) {
+        myUtility.fillColumn(row, col, value);
+    }
+
+    public void fillColumn(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillColumn(row, col, supplier);
+    }
+
+    public void fillColumn(final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillColumn(col, supplier);
+    }
+
+    public void fillDiagonal(final Access1D<Double> values) {
+        myUtility.fillDiagonal(values);
+    }
+
+    public void fillDiagonal(final Double value) {
+        myUtility.fillDiagonal(value);
+    }
+
+    public void fillDiagonal(final long row, final long col, final Access1D<Double> values) {
+        myUtility.fillDiagonal(row, col, values);
+    }
+
+    public void fillDiagonal(final long row, final long col, final Double value) {
+        myUtility.fillDiagonal(row, col, value);
+    }
+
+    public void fillDiagonal(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillDiagonal(row, col, supplier);
+    }
+
+    public void fillDiagonal(final NullaryFunction<?> supplier) {
+        myUtility.fillDiagonal(supplier);
+    }
+
+    public void fillMatching(final Access1D<?> values) {
+        myArray.fillMatching(values);
+    }
+
+    public void fillMatching(final Access1D<Double> left, final BinaryFunction<Double> function, final Access1D<Double> right) {
+        myUtility.fillMatching(left, function, right);
+    }
+
+    public void fillMatching(final UnaryFunction<Double> function, final Access1D<Double> arguments) {
+        myUtility.fillMatching(function, arguments);
+    }
+
+    public void fillOne(final long index, final Access1D<?> values, final long valueIndex) {
+        myArray.fillOne(index, values, valueIndex);
+    }
+
+    public void fillOne(final long index, final Double value) {
+        myArray.fillOne(index, value);
+    }
+
+    public void fillOne(final long index, final NullaryFunction<?> supplier) {
+        myArray.fillOne(index, supplier);
+    }
+
+    public void fillOne(final long row, final long col, final Access1D<?> values, final long valueIndex) {
+        myUtility.fillOne(row, col, values, valueIndex);
+    }
+
+    public void fillOne(final long row, final long col, final Double value) {
+        myUtility.fillOne(row, col, value);
+    }
+
+    public void fillOne(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillOne(row, col, supplier);
+    }
+
+    public void fillRange(final long first, final long limit, final Double value) {
+        myArray.fillRange(first, limit, value);
+    }
+
+    public void fillRange(final long first, final long limit, final NullaryFunction<?> supplier) {
+        myArray.fillRange(first, limit, supplier);
+    }
+
+    public void fillRow(final long row, final Access1D<Double> values) {
+        myUtility.fillRow(row, values);
+    }
+
+    public void fillRow(final long row, final Double value) {
+        myUtility.fillRow(row, value);
+    }
+
+    public void fillRow(final long row, final long col, final Access1D<Double> values) {
+        myUtility.fillRow(row, col, values);
+    }
+
+    public void fillRow(final long row, final long col, final Double value) {
+        myUtility.fillRow(row, col, value);
+    }
+
+    public void fillRow(final long row, final long col, final NullaryFunction<?> supplier) {
+        myUtility.fillRow(row, col, supplier);
+    }
+
+    public void fillRow(final long row, final NullaryFunction<?> supplier) {
+        myUtility.fillRow(row, supplier);
+    }
+
+    public float floatValue(final long row, final long col) {
+        return myUtility.floatValue(row, col);
+    }
+
+    public boolean generateApplyAndCopyHouseholderColumn(final int row, final int column, final Householder<Double> destination) {
+
+        Householder.Primitive64 householder = (Householder.Primitive64) destination;
+
+        double[] vector = householder.vector;
+        householder.first = row;
+
+        long base = this.index(0, column);
+
+        double normInf = PrimitiveMath.ZERO; // Copy column and calculate its infinity-norm.
+        for (int i = row; i < myRowDim; i++) {
+            normInf = Math.max(normInf, Math.abs(vector[i] = myArray.doubleValue(base + i)));
+        }
+
+        boolean retVal = normInf != PrimitiveMath.ZERO;
+        double norm2 = PrimitiveMath.ZERO;
+
+        if (retVal) {
+            for (int i = row + 1; i < myRowDim; i++) {
+                double value = vector[i] /= normInf;
+                norm2 += value * value;
+            }
+            retVal = !PrimitiveScalar.isSmall(PrimitiveMath.ONE, norm2);
+        }
+
+        if (retVal) {
+
+            double scale = vector[row] / normInf;
+            norm2 += scale * scale;
+            norm2 = Math.sqrt(norm2); // 2-norm of the vector to transform (scaled by inf-norm)
+
+            if (scale <= PrimitiveMath.ZERO) {
+                myArray.set(base + row, norm2 * normInf);
+                scale -= norm2;
+            } else {
+                myArray.set(base + row, -norm2 * normInf);
+                scale += norm2;
+            }
+
+            vector[row] = PrimitiveMath.ONE;
+
+            for (int i = row + 1; i < myRowDim; i++) {
+                myArray.set(base + i, vector[i] /= scale);
+            }
+
+            householder.beta = Math.abs(scale) / norm2;
+        }
+
+        return retVal;
+    }
+
+    public boolean generateApplyAndCopyHouseholderRow(final int row, final int column, final Householder<Double> destination) {
+
+        Householder.Primitive64 householder = (Householder.Primitive64) destination;
+
+        double[] vector = householder.vector;
+        householder.first = column;
+
+        double normInf = PrimitiveMath.ZERO; // Copy row and calculate its infinity-norm.
+        for (int j = column; j < myColDim; j++) {
+            normInf = Math.max(normInf, Math.abs(vector[j] = this.doubleValue(row, j)));
+        }
+
+        boolean retVal = normInf != PrimitiveMath.ZERO;
+        double norm2 = PrimitiveMath.ZERO;
+
+        if (retVal) {
+            for (int j = column + 1; j < myColDim; j++) {
+                double value = vector[j] /= normInf;
+                norm2 += value * value;
+            }
+            retVal = !PrimitiveScalar.isSmall(PrimitiveMath.ONE, norm2);
+        }
+
+        if (retVal) {
+
+            double scale = vector[column] / normInf;
+            norm2 += scale * scale;
+            norm2 = Math.sqrt(norm2); // 2-norm of the vector to transform (scaled by inf-norm)
+
+            if (scale <= PrimitiveMath.ZERO) {
+                this.set(row, column, norm2 * normInf);
+                scale -= norm2;
+            } else {
+                this.set(row, column, -norm2 * normInf);
+                scale += norm2;
+            }
+
+            vector[column] = PrimitiveMath.ONE;
+
+            for (int j = column + 1; j < myColDim; j++) {
+                this.set(row, j, vector[j] /= scale);
+            }
+
+            householder.beta = Math.abs(scale) / norm2;
+        }
+
+        return retVal;
+    }
+
+    public Double get(final long index) {
+        return myArray.get(index);
+    }
+
+    public Double get(final long row, final long col) {
+        return myUtility.get(row, col);
+    }
+
+    public int getColDim() {
+        return myColDim;
+    }
+
+    public int getMaxDim() {
+        return Math.max(myRowDim, myColDim);
+    }
+
+    public int getMinDim() {
+        return Math.min(myRowDim, myColDim);
+    }
+
+    public int getRowDim() {
+        return myRowDim;
+    }
+
+    public int intValue(final long row, final long col) {
+        return myUtility.intValue(row, col);
+    }
+
+    public boolean isAcceptable(final Structure2D supplier) {
+        return myUtility.isAcceptable(supplier);
+    }
+
+    public boolean isEmpty() {
+        return myUtility.isEmpty();
+    }
+
+    public boolean isFat() {
+        return myUtility.isFat();
+    }
+
+    public boolean isScalar() {
+        return myUtility.isScalar();
+    }
+
+    public boolean isSquare() {
+        return myUtility.isSquare();
+    }
+
+    public boolean isTall() {
+        return myUtility.isTall();
+    }
+
+    public boolean isVector() {
+        return myUtility.isVector();
+    }
+
+    public long longValue(final long row, final long col) {
+        return myUtility.longValue(row, col);
+    }
+
+    public void modifyAll(final UnaryFunction<Double> modifier) {
+        myArray.modifyAll(modifier);
+    }
+
+    public void modifyAny(final Transformation2D<Double> modifier) {
+        myUtility.modifyAny(modifier);
+    }
+
+    public void modifyColumn(final long row, final long col, final UnaryFunction<Double> modifier) {
+        myUtility.modifyColumn(row, col, modifier);
+    }
+
+    public void modifyColumn(final long col, final UnaryFunction<Double> modifier) {
+        myUtility.modifyColumn(col, modifier);
+    }
+
+    public void modifyDiagonal(final long row, final long col, final UnaryFunction<Double> modifier) {
+        myUtility.modifyDiagonal(row, col, modifier);
+    }
+
+    public void modifyDiagonal(final UnaryFunction<Double> modifier) {
+        myUtility.modifyDiagonal(modifier);
+    }
+
+    public void modifyMatching(final Access1D<Double> left, final BinaryFunction<Double> function) {
+        myUtility.modifyMatching(left, function);
+    }
+
+    public void modifyMatching(final BinaryFunction<Double> function, final Access1D<Double> right) {
+        myUtility.modifyMatching(function, right);
+    }
+
+    public void modifyMatchingInColumns(final Access1D<Double> left, final BinaryFunction<Double> function) {
+        myUtility.modifyMatchingInColumns(left, function);
+    }
+
+    public void modifyMatchingInColumns(final BinaryFunction<Double> function, final Access1D<Double> right) {
+        myUtility.modifyMatchingInColumns(function, right);
+    }
+
+    public void modifyMatchingInRows(final Access1D<Double> left, final BinaryFunction<Double> function) {
+        myUtility.modifyMatchingInRows(left, function);
+    }
+
+    public void modifyMatchingInRows(final BinaryFunction<Double> function, final Access1D<Double> right) {
+        myUtility.modifyMatchingInRows(function, right);
+    }
+
+    public void modifyOne(final long index, final UnaryFunction<Double> modifier) {
+        myArray.modifyOne(index, modifier);
+    }
+
+    public void modifyOne(final long row, final long col, final UnaryFunction<Double> modifier) {
+        myUtility.modifyOne(row, col, modifier);
+    }
+
+    public void modifyRange(final long first, final long limit, final UnaryFunction<Double> modifier) {
+        myArray.modifyRange(first, limit, modifier);
+    }
+
+    public void modifyRow(final long row, final long col, final UnaryFunction<Double> modifier) {
+        myUtility.modifyRow(row, col, modifier);
+    }
+
+    public void modifyRow(final long row, final UnaryFunction<Double> modifier) {
+        myUtility.modifyRow(row, modifier);
+    }
+
+    public MatrixStore<Double> multiply(final MatrixStore<Double> right) {
+
+        OffHeapR064Store retVal = FACTORY.make(myRowDim, right.countColumns());
+
+        retVal.fillByMultiplying(this, right);
+
+        return retVal;
+    }
+
+    public Double multiplyBoth(final Access1D<Double> leftAndRight) {
+
+        PhysicalStore<Double> step1 = FACTORY.make(1L, leftAndRight.count());
+        PhysicalStore<Double> step2 = FACTORY.make(1L, 1L);
+
+        step1.fillByMultiplying(leftAndRight, this);
+        step2.fillByMultiplying(step1, leftAndRight);
+
+        return step2.get(0L);
+    }
+
+    public void negateColumn(final int column) {
+        myUtility.modifyColumn(0, column, PrimitiveMath.NEGATE);
+    }
+
+    public PhysicalStore.Factory<Double, ?> physical() {
+        return FACTORY;
+    }
+
+    public void reduceColumns(final Aggregator aggregator, final Mutate1D receiver) {
+        myUtility.reduceColumns(aggregator, receiver);
+    }
+
+    public void reduceRows(final Aggregator aggregator, final Mutate1D receiver) {
+        myUtility.reduceRows(aggregator, receiver);
+    }
+
+    public TransformableRegion<Double> regionByColumns(final int... columns) {
+        return new Subregion2D.ColumnsRegion<>(this, myMultiplier, columns);
+    }
+
+    public TransformableRegion<Double> regionByLimits(final int rowLimit, final int columnLimit) {
+        return new Subregion2D.LimitRegion<>(this, myMultiplier, rowLimit, columnLimit);
+    }
+
+    public TransformableRegion<Double> regionByOffsets(final int rowOffset, final int columnOffset) {
+        return new Subregion2D.OffsetRegion<>(this, myMultiplier, rowOffset, columnOffset);
+    }
+
+    public TransformableRegion<Double> regionByRows(final int... rows) {
+        return new Subregion2D.RowsRegion<>(this, myMultiplier, rows);
+    }
+
+    public TransformableRegion<Double> regionByTransposing() {
+        return new Subregion2D.TransposedRegion<>(this, myMultiplier);
+    }
+
+    public void reset() {
+        myArray.reset();
+    }
+
+    public void rotateRight(final int low, final int high, final double cos, final double sin) {
+
+        long baseA = this.index(0, low);
+        long baseB = this.index(0, high);
+
+        for (int i = 0; i < myRowDim; i++) {
+
+            double oldA = myArray.doubleValue(baseA + i);
+            double oldB = myArray.doubleValue(baseB + i);
+
+            myArray.set(baseA + i, cos * oldA - sin * oldB);
+            myArray.set(baseB + i, cos * oldB + sin * oldA);
+        }
+    }
+
+    public RowView<Double> rows() {
+        return myUtility.rows();
+    }
+
+    public void set(final long index, final Comparable<?> value) {
+        myArray.set(index, value);
+    }
+
+    public void set(final long index, final double value) {
+        myArray.set(index, value);
+    }
+
+    public void set(final long row, final long col, final Comparable<?> value) {
+        myUtility.set(row, col, value);
+    }
+
+    public void set(final long row, final long col, final double value) {
+        myArray.set(row + col * myRowDim, value);
+    }
+
+    public void setToIdentity(final int col) {
+        myUtility.set(col, col, PrimitiveMath.ONE);
+        myUtility.fillColumn(col + 1, col, PrimitiveMath.ZERO);
+    }
+
+    public short shortValue(final long row, final long col) {
+        return myUtility.shortValue(row, col);
+    }
+
+    public Array1D<Double> sliceColumn(final long col) {
+        return myUtility.sliceColumn(col);
+    }
+
+    public Array1D<Double> sliceColumn(final long row, final long col) {
+        return myUtility.sliceColumn(row, col);
+    }
+
+    public Access1D<Double> sliceDiagonal() {
+        return myUtility.sliceDiagonal();
+    }
+
+    public Array1D<Double> sliceDiagonal(final long row, final long col) {
+        return myUtility.sliceDiagonal(row, col);
+    }
+
+    public Array1D<Double> sliceRange(final long first, final long limit) {
+        return myUtility.sliceRange(first, limit);
+    }
+
+    public Array1D<Double> sliceRow(final long row) {
+        return myUtility.sliceRow(row);
+    }
+
+    public Array1D<Double> sliceRow(final long row, final long col) {
+        return myUtility.sliceRow(row, col);
+    }
+
+    public void substituteBackwards(final Access2D<Double> body, final boolean unitDiagonal, final boolean conjugated, final boolean hermitian) {
+
+        if (myColDim > SubstituteBackwards.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.substituteBackwards(first, limit, body, unitDiagonal, conjugated, hermitian);
+                }
+
+            };
+
+            conquerer.invoke(0, myColDim, SubstituteBackwards.THRESHOLD);
+
+        } else {
+
+            this.substituteBackwards(0, myColDim, body, unitDiagonal, conjugated, hermitian);
+        }
+    }
+
+    public void substituteForwards(final Access2D<Double> body, final boolean unitDiagonal, final boolean conjugated, final boolean identity) {
+
+        if (myColDim > SubstituteForwards.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.substituteForwards(first, limit, body, unitDiagonal, conjugated, identity);
+                }
+
+            };
+
+            conquerer.invoke(0, myColDim, SubstituteForwards.THRESHOLD);
+
+        } else {
+
+            this.substituteForwards(0, myColDim, body, unitDiagonal, conjugated, identity);
+        }
+    }
+
+    public double[] toRawCopy1D() {
+        return myUtility.toRawCopy1D();
+    }
+
+    public double[][] toRawCopy2D() {
+        return myUtility.toRawCopy2D();
+    }
+
+    @Override
+    public String toString() {
+        return Access2D.toString(this);
+    }
+
+    public void transformLeft(final Householder<Double> transformation, final int firstColumn) {
+
+        Householder.Primitive64 householder = Primitive64Store.cast(transformation);
+
+        if (myColDim - firstColumn > HouseholderLeft.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.transformLeft(first, limit, householder);
+                }
+
+            };
+
+            conquerer.invoke(firstColumn, myColDim, HouseholderLeft.THRESHOLD);
+
+        } else {
+
+            this.transformLeft(firstColumn, myColDim, householder);
+        }
+    }
+
+    public void transformLeft(final Rotation<Double> transformation) {
+
+        Rotation.Primitive rotation = Primitive64Store.cast(transformation);
+
+        int low = rotation.low;
+        int high = rotation.high;
+
+        if (low != high) {
+            if (!Double.isNaN(rotation.cos) && !Double.isNaN(rotation.sin)) {
+                for (int j = 0; j < myColDim; j++) {
+                    double oldA = this.doubleValue(low, j);
+                    double oldB = this.doubleValue(high, j);
+                    this.set(low, j, rotation.cos * oldA + rotation.sin * oldB);
+                    this.set(high, j, rotation.cos * oldB - rotation.sin * oldA);
+                }
+            } else {
+                myUtility.exchangeRows(low, high);
+            }
+        } else if (!Double.isNaN(rotation.cos)) {
+            myUtility.modifyRow(low, 0L, PrimitiveMath.MULTIPLY.second(rotation.cos));
+        } else if (!Double.isNaN(rotation.sin)) {
+            myUtility.modifyRow(low, 0L, PrimitiveMath.DIVIDE.second(rotation.sin));
+        } else {
+            myUtility.modifyRow(low, 0, PrimitiveMath.NEGATE);
+        }
+    }
+
+    public void transformRight(final Householder<Double> transformation, final int firstRow) {
+
+        Householder.Primitive64 householder = Primitive64Store.cast(transformation);
+
+        double[] vector = householder.vector;
+        int hFirst = householder.first;
+        double beta = householder.beta;
+
+        // [A][v] for the rows from firstRow
+        double[] work = new double[myRowDim];
+        for (int j = hFirst; j < myColDim; j++) {
+            long base = this.index(0, j);
+            double value = vector[j];
+            for (int i = firstRow; i < myRowDim; i++) {
+                work[i] += value * myArray.doubleValue(base + i);
+            }
+        }
+
+        for (int j = hFirst; j < myColDim; j++) {
+            long base = this.index(0, j);
+            double value = beta * vector[j];
+            for (int i = firstRow; i < myRowDim; i++) {
+                myArray.add(base + i, -value * work[i]);
+            }
+        }
+    }
+
+    public void transformRight(final Rotation<Double> transformation) {
+
+        Rotation.Primitive rotation = Primitive64Store.cast(transformation);
+
+        int low = rotation.low;
+        int high = rotation.high;
+
+        if (low != high) {
+            if (!Double.isNaN(rotation.cos) && !Double.isNaN(rotation.sin)) {
+                this.rotateRight(low, high, rotation.cos, rotation.sin);
+            } else {
+                myUtility.exchangeColumns(low, high);
+            }
+        } else if (!Double.isNaN(rotation.cos)) {
+            myUtility.modifyColumn(0L, high, PrimitiveMath.MULTIPLY.second(rotation.cos));
+        } else if (!Double.isNaN(rotation.sin)) {
+            myUtility.modifyColumn(0L, high, PrimitiveMath.DIVIDE.second(rotation.sin));
+        } else {
+            myUtility.modifyColumn(0, high, PrimitiveMath.NEGATE);
+        }
+    }
+
+    /**
+     * Same as {@link HouseholderHermitian#invoke(double[], Householder.Primitive64, double[])}
+     */
+    public void transformSymmetric(final Householder<Double> transformation) {
+
+        Householder.Primitive64 householder = Primitive64Store.cast(transformation);
+
+        double[] vector = householder.vector;
+        int hFirst = householder.first;
+        double beta = householder.beta;
+
+        // [A][v] – only reading the lower triangular part of [A]
+        double[] work = new double[myRowDim];
+
+        if (myRowDim - hFirst > MultiplyHermitianAndVector.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.multiplyHermitian(first, limit, vector, hFirst, work);
+                }
+
+            };
+
+            conquerer.invoke(hFirst, myRowDim, MultiplyHermitianAndVector.THRESHOLD);
+
+        } else {
+
+            this.multiplyHermitian(hFirst, myRowDim, vector, hFirst, work);
+        }
+
+        double value = PrimitiveMath.ZERO;
+        for (int c = hFirst; c < myRowDim; c++) {
+            value += vector[c] * work[c];
+        }
+        value *= beta / PrimitiveMath.TWO;
+        for (int c = hFirst; c < myRowDim; c++) {
+            work[c] = beta * (work[c] - value * vector[c]);
+        }
+
+        if (myRowDim - hFirst > HermitianRank2Update.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    OffHeapR064Store.this.updateHermitian(first, limit, vector, work);
+                }
+
+            };
+
+            conquerer.invoke(hFirst, myRowDim, HermitianRank2Update.THRESHOLD);
+
+        } else {
+
+            this.updateHermitian(hFirst, myRowDim, vector, work);
+        }
+    }
+
+    /**
+     * Same as {@link HouseholderHermitian#tred2j(double[], double[], double[], boolean)}
+     */
+    public void tred2(final BasicArray<Double> mainDiagonal, final BasicArray<Double> offDiagonal, final boolean yesvecs) {
+
+        double[] d = ((ArrayR064) mainDiagonal).data;
+        double[] e = ((ArrayR064) offDiagonal).data;
+
+        int n = d.length;
+        int last = n - 1;
+
+        double scale;
+        double h;
+        double f;
+        double g;
+        double value;
+
+        // The last column (same as the last row) is the first to be worked on
+        long lastColumn = this.index(0, last);
+        for (int k = 0; k < n; k++) {
+            d[k] = myArray.doubleValue(lastColumn + k);
+        }
+
+        // Householder reduction to tridiagonal form
+        for (int i = last; i > 0; i--) {
+            int l = i - 1;
+
+            h = scale = PrimitiveMath.ZERO;
+
+            for (int k = 0; k < i; k++) {
+                scale = Math.max(scale, Math.abs(d[k]));
+            }
+
+            if (scale == PrimitiveMath.ZERO) {
+
+                e[i] = d[l];
+                for (int j = 0; j < i; j++) {
+                    d[j] = myArray.doubleValue(this.index(l, j));
+                    myArray.set(this.index(i, j), PrimitiveMath.ZERO);
+                    myArray.set(this.index(j, i), PrimitiveMath.ZERO);
+                }
+
+            } else {
+
+                for (int k = 0; k < i; k++) {
+                    value = d[k] /= scale;
+                    h += value * value;
+                }
+                f = d[l];
+                g = Math.sqrt(h);
+                if (f > 0) {
+                    g = -g;
+                }
+                e[i] = scale * g;
+                h -= f * g;
+                d[l] = f - g;
+                Arrays.fill(e, 0, i, PrimitiveMath.ZERO);
+
+                for (int j = 0; j < i; j++) {
+                    long base = this.index(0, j);
+                    f = d[j];
+                    myArray.set(this.index(j, i), f);
+                    g = e[j] + myArray.doubleValue(base + j) * f;
+                    for (int k = j + 1; k <= l; k++) {
+                        value = myArray.doubleValue(base + k);
+                        g += value * d[k];
+                        e[k] += value * f;
+                    }
+                    e[j] = g;
+                }
+                f = PrimitiveMath.ZERO;
+                for (int j = 0; j < i; j++) {
+                    e[j] /= h;
+                    f += e[j] * d[j];
+                }
+                value = f / (h + h);
+                for (int j = 0; j < i; j++) {
+                    e[j] -= value * d[j];
+                }
+                for (int j = 0; j < i; j++) {
+                    long base = this.index(0, j);
+                    f = d[j];
+                    g = e[j];
+                    for (int k = j; k <= l; k++) {
+                        myArray.add(base + k, -(f * e[k] + g * d[k]));
+                    }
+                    d[j] = myArray.doubleValue(base + l);
+                    myArray.set(base + i, PrimitiveMath.ZERO);
+                }
+            }
+            d[i] = h;
+        }
+
+        // Accumulate transformations
+        if (yesvecs) {
+
+            for (int i = 0; i < last; i++) {
+
+                int l = i + 1;
+                long baseI = this.index(0, i);
+                long baseL = this.index(0, l);
+
+                myArray.set(baseI + last, myArray.doubleValue(baseI + i));
+                myArray.set(baseI + i, PrimitiveMath.ONE);
+                h = d[l];
+                if (h != PrimitiveMath.ZERO) {
+                    for (int k = 0; k <= i; k++) {
+                        d[k] = myArray.doubleValue(baseL + k) / h;
+                    }
+                    for (int j = 0; j <= i; j++) {
+                        long base = this.index(0, j);
+                        g = PrimitiveMath.ZERO;
+                        for (int k = 0; k <= i; k++) {
+                            g += myArray.doubleValue(baseL + k) * myArray.doubleValue(base + k);
+                        }
+                        for (int k = 0; k <= i; k++) {
+                            myArray.add(base + k, -g * d[k]);
+                        }
+                    }
+                }
+                for (int k = 0; k <= i; k++) {
+                    myArray.set(baseL + k, PrimitiveMath.ZERO);
+                }
+            }
+            for (int j = 0; j < n; j++) {
+                long index = this.index(last, j);
+                d[j] = myArray.doubleValue(index);
+                myArray.set(index, PrimitiveMath.ZERO);
+            }
+            myArray.set(this.index(last, last), PrimitiveMath.ONE);
+
+            e[0] = PrimitiveMath.ZERO;
+        }
+
+        for (int i = 1; i < e.length; i++) {
+            e[i - 1] = e[i];
+        }
+        e[e.length - 1] = PrimitiveMath.ZERO;
+    }
+
+    public void visitColumn(final long row, final long col, final VoidFunction<Double> visitor) {
+        myUtility.visitColumn(row, col, visitor);
+    }
+
+    public void visitColumn(final long col, final VoidFunction<Double> visitor) {
+        myUtility.visitColumn(col, visitor);
+    }
+
+    public void visitDiagonal(final long row, final long col, final VoidFunction<Double> visitor) {
+        myUtility.visitDiagonal(row, col, visitor);
+    }
+
+    public void visitDiagonal(final VoidFunction<Double> visitor) {
+        myUtility.visitDiagonal(visitor);
+    }
+
+    public void visitOne(final long index, final VoidFunction<Double> visitor) {
+        myArray.visitOne(index, visitor);
+    }
+
+    public void visitOne(final long row, final long col, final VoidFunction<Double> visitor) {
+        myUtility.visitOne(row, col, visitor);
+    }
+
+    public void visitRange(final long first, final long limit, final VoidFunction<Double> visitor) {
+        myArray.visitRange(first, limit, visitor);
+    }
+
+    public void visitRow(final long row, final long col, final VoidFunction<Double> visitor) {
+        myUtility.visitRow(row, col, visitor);
+    }
+
+    public void visitRow(final long row, final VoidFunction<Double> visitor) {
+        myUtility.visitRow(row, visitor);
+    }
+
+    private void copy(final int first, final int limit, final Access2D<?> source, final boolean transpose) {
+        for (int j = first; j < limit; j++) {
+            long base = this.index(0, j);
+            for (int i = 0; i < myRowDim; i++) {
+                myArray.set(base + i, transpose ? source.doubleValue(j, i) : source.doubleValue(i, j));
+            }
+        }
+    }
+
+    private long index(final int row, final int col) {
+        return row + col * (long) myRowDim;
+    }
+
+    /**
+     * For each row [first,limit) – [w](i) = [A](i,..)[v], where [A] is symmetric and only its lower triangular
+     * part is read.
+     */
+    private void multiplyHermitian(final int first, final int limit, final double[] vector, final int firstColumn, final double[] work) {
+        for (int i = first; i < limit; i++) {
+            double value = PrimitiveMath.ZERO;
+            for (int c = firstColumn; c < i; c++) {
+                value += myArray.doubleValue(this.index(i, c)) * vector[c];
+            }
+            long base = this.index(0, i);
+            for (int c = i; c < myRowDim; c++) {
+                value += myArray.doubleValue(base + c) * vector[c];
+            }
+            work[i] = value;
+        }
+    }
+
+    /**
+     * Same as {@link SubstituteBackwards#invoke(double[], int, int, int, Access2D, boolean, boolean, boolean)}
+     */
+    private void substituteBackwards(final int first, final int limit, final Access2D<?> body, final boolean unitDiagonal, final boolean conjugated,
+            final boolean hermitian) {
+
+        int diagDim = Math.min(body.getRowDim(), body.getColDim());
+        double[] bodyRow = new double[diagDim];
+
+        int firstRow = hermitian ? first : 0;
+        for (int i = diagDim - 1; i >= firstRow; i--) {
+
+            for (int j = i; j < diagDim; j++) {
+                bodyRow[j] = conjugated ? body.doubleValue(j, i) : body.doubleValue(i, j);
+            }
+
+            int columnLimit = hermitian ? Math.min(i + 1, limit) : limit;
+            for (int s = first; s < columnLimit; s++) {
+                long base = this.index(0, s);
+
+                double value = PrimitiveMath.ZERO;
+                for (int j = i + 1; j < diagDim; j++) {
+                    value += bodyRow[j] * myArray.doubleValue(base + j);
+                }
+                value = myArray.doubleValue(base + i) - value;
+                if (!unitDiagonal) {
+                    value /= bodyRow[i];
+                }
+
+                myArray.set(base + i, value);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link SubstituteForwards#invoke(double[], int, int, int, Access2D, boolean, boolean, boolean)}
+     */
+    private void substituteForwards(final int first, final int limit, final Access2D<?> body, final boolean unitDiagonal, final boolean conjugated,
+            final boolean identity) {
+
+        int diagDim = Math.min(body.getRowDim(), body.getColDim());
+        double[] bodyRow = new double[diagDim];
+
+        for (int i = 0; i < diagDim; i++) {
+
+            for (int j = 0; j <= i; j++) {
+                bodyRow[j] = conjugated ? body.doubleValue(j, i) : body.doubleValue(i, j);
+            }
+
+            for (int s = first; s < limit; s++) {
+                long base = this.index(0, s);
+
+                double value = PrimitiveMath.ZERO;
+                for (int j = identity ? s : 0; j < i; j++) {
+                    value += bodyRow[j] * myArray.doubleValue(base + j);
+                }
+                if (identity) {
+                    value = i == s ? PrimitiveMath.ONE - value : -value;
+                } else {
+                    value = myArray.doubleValue(base + i) - value;
+                }
+
+                if (!unitDiagonal) {
+                    value /= bodyRow[i];
+                }
+
+                myArray.set(base + i, value);
+            }
+        }
+    }
+
+    private void swap(final long indexA, final long indexB) {
+        double value = myArray.doubleValue(indexA);
+        myArray.set(indexA, myArray.doubleValue(indexB));
+        myArray.set(indexB, value);
+    }
+
+    private void transformLeft(final int first, final int limit, final Householder.Primitive64 householder) {
+
+        double[] vector = householder.vector;
+        int hFirst = householder.first;
+        double beta = householder.beta;
+
+        for (int j = first; j < limit; j++) {
+            long base = this.index(0, j);
+
+            double scale = PrimitiveMath.ZERO;
+            for (int i = hFirst; i < myRowDim; i++) {
+                scale += vector[i] * myArray.doubleValue(base + i);
+            }
+            scale *= beta;
+
+            for (int i = hFirst; i < myRowDim; i++) {
+                myArray.add(base + i, -scale * vector[i]);
+            }
+        }
+    }
+
+    /**
+     * For each column [first,limit) – [A](j..,j) -= (d * m[j]) * [m](j..), where d is the diagonal element
+     * (LDL) or 1 (Cholesky).
+     */
+    private void update(final int first, final int limit, final double[] multipliers, final double diagonal) {
+        for (int j = first; j < limit; j++) {
+            long base = this.index(0, j);
+            double factor = diagonal * multipliers[j];
+            for (int i = j; i < myRowDim; i++) {
+                myArray.add(base + i, -factor * multipliers[i]);
+            }
+        }
+    }
+
+    /**
+     * For each column [first,limit) – [A](j..,j) -= [w](j..) * v[j] + [v](j..) * w[j], the lower triangular
+     * part of a symmetric rank 2 update.
+     */
+    private void updateHermitian(final int first, final int limit, final double[] vector, final double[] work) {
+        for (int j = first; j < limit; j++) {
+            long base = this.index(0, j);
+            double vj = vector[j];
+            double wj = work[j];
+            for (int i = j; i < myRowDim; i++) {
+                myArray.add(base + i, -(work[i] * vj + vector[i] * wj));
+            }
+        }
+    }
+
+    /**
+     * For each column [first,limit) – [A](ip+1..,j) -= [A](ip,j) * [m](ip+1..)
+     */
+    private void updateLU(final int first, final int limit, final double[] multipliers, final int iterationPoint) {
+        for (int j = first; j < limit; j++) {
+            long base = this.index(0, j);
+            double factor = myArray.doubleValue(base + iterationPoint);
+            for (int i = iterationPoint + 1; i < myRowDim; i++) {
+                myArray.add(base + i, -factor * multipliers[i]);
+            }
+        }
+    }
+
+}
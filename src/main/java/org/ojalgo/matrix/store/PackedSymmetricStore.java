@@ -0,0 +1,285 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import java.util.Optional;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.operation.AXPY;
+import org.ojalgo.array.operation.SYMM;
+import org.ojalgo.array.operation.SYRK;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.Mutate2D;
+import org.ojalgo.type.NumberDefinition;
+
+/**
+ * A physical symmetric matrix store – only the lower triangular part is stored, in (column major) packed
+ * format. That's n(n+1)/2 rather than n<sup>2</sup> elements. Setting an element (i,j) implicitly also sets
+ * (j,i).
+ * <p>
+ * Multiplication uses the {@link SYMM} kernel and rank k updates (building covariance matrices) the
+ * {@link SYRK} kernel. There is a packed {@link #cholesky()} factorisation, and when used as input to any
+ * of the (dense) decompositions this store supplies its elements directly to their internal work stores
+ * and reports itself as Hermitian without checking.
+ *
+ * @author apete
+ */
+public final class PackedSymmetricStore extends FactoryStore<Double> implements Mutate2D {
+
+    /**
+     * Copies the lower triangular part of the source.
+     */
+    public static PackedSymmetricStore copy(final Access2D<?> source) {
+
+        ProgrammingError.throwIfNotSquare(source);
+
+        int dim = source.getRowDim();
+
+        PackedSymmetricStore retVal = PackedSymmetricStore.make(dim);
+
+        double[] data = retVal.data;
+        for (int j = 0, start = 0; j < dim; start += dim - j, j++) {
+            for (int i = j; i < dim; i++) {
+                data[start + i - j] = source.doubleValue(i, j);
+            }
+        }
+
+        return retVal;
+    }
+
+    public static PackedSymmetricStore make(final int dim) {
+        return new PackedSymmetricStore(dim, new double[Math.toIntExact(Math.multiplyExact((long) dim, dim + 1L) / 2L)]);
+    }
+
+    static int index(final int dim, final int row, final int col) {
+        if (row >= col) {
+            return (int) (col * (2L * dim - col + 1L) / 2L) + row - col;
+        }
+        return (int) (row * (2L * dim - row + 1L) / 2L) + col - row;
+    }
+
+    final double[] data;
+
+    private final int myDim;
+
+    PackedSymmetricStore(final int dim, final double[] data) {
+        super(Primitive64Store.FACTORY, dim, dim);
+        myDim = dim;
+        this.data = data;
+    }
+
+    public void add(final long row, final long col, final Comparable<?> addend) {
+        this.add(row, col, NumberDefinition.doubleValue(addend));
+    }
+
+    public void add(final long row, final long col, final double addend) {
+        data[PackedSymmetricStore.index(myDim, Math.toIntExact(row), Math.toIntExact(col))] += addend;
+    }
+
+    /**
+     * Cholesky factorisation, [A] = [L][L]<sup>T</sup>, performed on a packed copy of this store.
+     *
+     * @return The lower triangular (packed) factor [L], or nothing if this matrix is not positive definite.
+     */
+    public Optional<PackedTriangularStore> cholesky() {
+
+        double[] factor = data.clone();
+        int dim = myDim;
+
+        for (int j = 0, start = 0; j < dim; start += dim - j, j++) {
+
+            double diagonal = factor[start];
+            if (!(diagonal > ZERO) || !Double.isFinite(diagonal)) {
+                return Optional.empty();
+            }
+            diagonal = SQRT.invoke(diagonal);
+            factor[start] = diagonal;
+
+            for (int p = start + 1, limit = start + dim - j; p < limit; p++) {
+                factor[p] /= diagonal;
+            }
+
+            // Rank 1 update of the trailing columns – they are stored contiguously after column j
+            int column = j;
+            int offset = start;
+
+            if (dim - j > SYRK.THRESHOLD) {
+
+                DivideAndConquer conquerer = new DivideAndConquer() {
+
+                    @Override
+                    public void conquer(final int first, final int limit) {
+                        PackedSymmetricStore.update(factor, dim, column, offset, first, limit);
+                    }
+
+                };
+
+                conquerer.invoke(j + 1, dim, SYRK.THRESHOLD);
+
+            } else {
+
+                PackedSymmetricStore.update(factor, dim, column, offset, j + 1, dim);
+            }
+        }
+
+        return Optional.of(new PackedTriangularStore(dim, false, factor));
+    }
+
+    @Override
+    public PackedSymmetricStore conjugate() {
+        return this;
+    }
+
+    public double doubleValue(final long row, final long col) {
+        return data[PackedSymmetricStore.index(myDim, Math.toIntExact(row), Math.toIntExact(col))];
+    }
+
+    public Double get(final long row, final long col) {
+        return Double.valueOf(this.doubleValue(row, col));
+    }
+
+    @Override
+    public boolean isHermitian() {
+        return true;
+    }
+
+    @Override
+    public MatrixStore<Double> multiply(final MatrixStore<Double> right) {
+
+        ProgrammingError.throwIfMultiplicationNotPossible(this, right);
+
+        double[] dense = right instanceof Primitive64Store ? ((Primitive64Store) right).data : Primitive64Store.FACTORY.copy(right).data;
+        int nbCols = right.getColDim();
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.make(myDim, nbCols);
+        double[] product = retVal.data;
+
+        if (nbCols > SYMM.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    SYMM.invoke(product, data, myDim, dense, first, limit);
+                }
+
+            };
+
+            conquerer.invoke(0, nbCols, SYMM.THRESHOLD);
+
+        } else {
+
+            SYMM.invoke(product, data, myDim, dense, 0, nbCols);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * [this] += scalar [V][V]<sup>T</sup> – a symmetric rank k update, where k is the number of columns in
+     * [V]. With [V] being (centered) observations/returns, one asset per row, and the scalar 1/(k-1) this
+     * accumulates the covariance matrix.
+     */
+    public void rankKUpdate(final double scalar, final Access2D<?> vectors) {
+
+        if (vectors.countRows() != myDim) {
+            throw new ProgrammingError("The vectors must have as many rows as the matrix!");
+        }
+
+        double[] dense = vectors instanceof Primitive64Store ? ((Primitive64Store) vectors).data : Primitive64Store.FACTORY.copy(vectors).data;
+        int nbCols = vectors.getColDim();
+
+        if (myDim > SYRK.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    SYRK.invoke(data, myDim, scalar, dense, nbCols, first, limit);
+                }
+
+            };
+
+            conquerer.invoke(0, myDim, SYRK.THRESHOLD);
+
+        } else {
+
+            SYRK.invoke(data, myDim, scalar, dense, nbCols, 0, myDim);
+        }
+    }
+
+    public void set(final long row, final long col, final Comparable<?> value) {
+        this.set(row, col, NumberDefinition.doubleValue(value));
+    }
+
+    public void set(final long row, final long col, final double value) {
+        data[PackedSymmetricStore.index(myDim, Math.toIntExact(row), Math.toIntExact(col))] = value;
+    }
+
+    @Override
+    public void supplyTo(final TransformableRegion<Double> receiver) {
+
+        int dim = myDim;
+
+        if (receiver instanceof Primitive64Store && ((Primitive64Store) receiver).getRowDim() == dim) {
+
+            double[] target = ((Primitive64Store) receiver).data;
+
+            for (int j = 0, start = 0; j < dim; start += dim - j, j++) {
+                for (int i = j; i < dim; i++) {
+                    double value = data[start + i - j];
+                    target[i + j * dim] = value;
+                    target[j + i * dim] = value;
+                }
+            }
+
+        } else {
+
+            for (int j = 0, start = 0; j < dim; start += dim - j, j++) {
+                for (int i = j; i < dim; i++) {
+                    double value = data[start + i - j];
+                    receiver.set(i, j, value);
+                    receiver.set(j, i, value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public PackedSymmetricStore transpose() {
+        return this;
+    }
+
+    private static void update(final double[] factor, final int dim, final int column, final int offset, final int first, final int limit) {
+        for (int k = first; k < limit; k++) {
+            double value = factor[offset + k - column];
+            if (value != ZERO) {
+                int start = k * dim - k * (k - 1) / 2;
+                AXPY.invoke(factor, start - k, -value, factor, offset - column, k, dim);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.operation.TRMM;
+import org.ojalgo.array.operation.TRSM;
+import org.ojalgo.concurrent.DivideAndConquer;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.Mutate2D;
+import org.ojalgo.type.NumberDefinition;
+
+/**
+ * A physical (lower or upper) triangular matrix store – only the triangular part is stored, in (column major)
+ * packed format. That's n(n+1)/2 rather than n<sup>2</sup> elements. The elements outside the triangle are
+ * always zero, and can't be set.
+ * <p>
+ * Multiplication uses the {@link TRMM} kernel, and {@link #solve(Access2D)} (forward or back substitution)
+ * the {@link TRSM} kernel. This is what {@link PackedSymmetricStore#cholesky()} returns.
+ *
+ * @author apete
+ */
+public final class PackedTriangularStore extends FactoryStore<Double> implements Mutate2D {
+
+    /**
+     * Copies the (lower or upper) triangular part of the source.
+     */
+    public static PackedTriangularStore copy(final Access2D<?> source, final boolean upper) {
+
+        ProgrammingError.throwIfNotSquare(source);
+
+        int dim = source.getRowDim();
+
+        PackedTriangularStore retVal = PackedTriangularStore.make(dim, upper);
+
+        for (int j = 0; j < dim; j++) {
+            for (int i = upper ? 0 : j, limit = upper ? j + 1 : dim; i < limit; i++) {
+                retVal.data[retVal.index(i, j)] = source.doubleValue(i, j);
+            }
+        }
+
+        return retVal;
+    }
+
+    public static PackedTriangularStore make(final int dim, final boolean upper) {
+        return new PackedTriangularStore(dim, upper, new double[Math.toIntExact(Math.multiplyExact((long) dim, dim + 1L) / 2L)]);
+    }
+
+    final double[] data;
+
+    private final int myDim;
+    private final boolean myUpper;
+
+    PackedTriangularStore(final int dim, final boolean upper, final double[] data) {
+        super(Primitive64Store.FACTORY, dim, dim);
+        myDim = dim;
+        myUpper = upper;
+        this.data = data;
+    }
+
+    public void add(final long row, final long col, final Comparable<?> addend) {
+        this.add(row, col, NumberDefinition.doubleValue(addend));
+    }
+
+    public void add(final long row, final long col, final double addend) {
+        data[this.index(this.verify(row, col), Math.toIntExact(col))] += addend;
+    }
+
+    public double doubleValue(final long row, final long col) {
+        if (myUpper ? row > col : row < col) {
+            return ZERO;
+        }
+        return data[this.index(Math.toIntExact(row), Math.toIntExact(col))];
+    }
+
+    @Override
+    public int firstInColumn(final int col) {
+        return myUpper ? 0 : col;
+    }
+
+    @Override
+    public int firstInRow(final int row) {
+        return myUpper ? row : 0;
+    }
+
+    public Double get(final long row, final long col) {
+        return Double.valueOf(this.doubleValue(row, col));
+    }
+
+    public boolean isUpper() {
+        return myUpper;
+    }
+
+    @Override
+    public int limitOfColumn(final int col) {
+        return myUpper ? col + 1 : myDim;
+    }
+
+    @Override
+    public int limitOfRow(final int row) {
+        return myUpper ? myDim : row + 1;
+    }
+
+    @Override
+    public MatrixStore<Double> multiply(final MatrixStore<Double> right) {
+
+        ProgrammingError.throwIfMultiplicationNotPossible(this, right);
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.copy(right);
+
+        this.apply(retVal, false, false);
+
+        return retVal;
+    }
+
+    public void set(final long row, final long col, final Comparable<?> value) {
+        this.set(row, col, NumberDefinition.doubleValue(value));
+    }
+
+    public void set(final long row, final long col, final double value) {
+        data[this.index(this.verify(row, col), Math.toIntExact(col))] = value;
+    }
+
+    /**
+     * Solves [this][X] = [B]
+     *
+     * @param rhs [B]
+     * @return [X]
+     */
+    public Primitive64Store solve(final Access2D<?> rhs) {
+
+        Primitive64Store retVal = Primitive64Store.FACTORY.copy(rhs);
+
+        this.substitute(retVal, false);
+
+        return retVal;
+    }
+
+    /**
+     * Solves [this][X] = [B], or [this]<sup>T</sup>[X] = [B], in place.
+     *
+     * @param rhs [B] on input, and [X] on output
+     * @param transposed Solve with the transpose of this matrix
+     */
+    public void substitute(final Primitive64Store rhs, final boolean transposed) {
+
+        if (rhs.countRows() != myDim) {
+            throw new ProgrammingError("The right hand side must have as many rows as the matrix!");
+        }
+
+        this.apply(rhs, true, transposed);
+    }
+
+    @Override
+    public void supplyTo(final TransformableRegion<Double> receiver) {
+
+        int dim = myDim;
+
+        if (receiver instanceof Primitive64Store && ((Primitive64Store) receiver).getRowDim() == dim) {
+
+            double[] target = ((Primitive64Store) receiver).data;
+
+            for (int j = 0; j < dim; j++) {
+                for (int i = 0; i < dim; i++) {
+                    target[i + j * dim] = myUpper ? i <= j ? data[this.index(i, j)] : ZERO : i >= j ? data[this.index(i, j)] : ZERO;
+                }
+            }
+
+        } else {
+
+            receiver.reset();
+
+            for (int j = 0; j < dim; j++) {
+                for (int i = this.firstInColumn(j), limit = this.limitOfColumn(j); i < limit; i++) {
+                    receiver.set(i, j, data[this.index(i, j)]);
+                }
+            }
+        }
+    }
+
+    private void apply(final Primitive64Store matrix, final boolean solve, final boolean transposed) {
+
+        double[] dense = matrix.data;
+        int nbCols = matrix.getColDim();
+
+        if (nbCols > TRSM.THRESHOLD) {
+
+            DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                public void conquer(final int first, final int limit) {
+                    if (solve) {
+                        TRSM.invoke(dense, data, myDim, myUpper, transposed, first, limit);
+                    } else {
+                        TRMM.invoke(dense, data, myDim, myUpper, transposed, first, limit);
+                    }
+                }
+
+            };
+
+            conquerer.invoke(0, nbCols, TRSM.THRESHOLD);
+
+        } else if (solve) {
+
+            TRSM.invoke(dense, data, myDim, myUpper, transposed, 0, nbCols);
+
+        } else {
+
+            TRMM.invoke(dense, data, myDim, myUpper, transposed, 0, nbCols);
+        }
+    }
+
+    private int index(final int row, final int col) {
+        if (myUpper) {
+            return (int) (col * (col + 1L) / 2L) + row;
+        }
+        return (int) (col * (2L * myDim - col + 1L) / 2L) + row - col;
+    }
+
+    private int verify(final long row, final long col) {
+        if (myUpper ? row > col : row < col) {
+            throw new ProgrammingError("Can't set elements outside the triangle!");
+        }
+        return Math.toIntExact(row);
+    }
+
+}
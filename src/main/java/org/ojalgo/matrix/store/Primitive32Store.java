@@ -28,8 +28,14 @@ import org.ojalgo.ProgrammingError;
 import org.ojalgo.array.Array1D;
 import org.ojalgo.array.Array2D;
 import org.ojalgo.array.ArrayR032;
+import org.ojalgo.array.BasicArray;
 import org.ojalgo.array.DenseArray;
+import org.ojalgo.array.operation.ApplyCholesky;
+import org.ojalgo.array.operation.ApplyLDL;
+import org.ojalgo.array.operation.ApplyLU;
 import org.ojalgo.array.operation.FillMatchingSingle;
+import org.ojalgo.array.operation.GenerateApplyAndCopyHouseholderColumn;
+import org.ojalgo.array.operation.GenerateApplyAndCopyHouseholderRow;
 import org.ojalgo.array.operation.RotateLeft;
 import org.ojalgo.array.operation.RotateRight;
 import org.ojalgo.array.operation.SubstituteBackwards;
@@ -41,6 +47,7 @@ import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.VoidFunction;
 import org.ojalgo.function.aggregator.Aggregator;
 import org.ojalgo.function.constant.PrimitiveMath;
+import org.ojalgo.matrix.decomposition.DecompositionStore;
 import org.ojalgo.matrix.operation.HouseholderLeft;
 import org.ojalgo.matrix.operation.HouseholderRight;
 import org.ojalgo.matrix.operation.MultiplyBoth;
@@ -50,6 +57,7 @@ import org.ojalgo.matrix.operation.MultiplyRight;
 import org.ojalgo.matrix.transformation.Householder;
 import org.ojalgo.matrix.transformation.HouseholderReference;
 import org.ojalgo.matrix.transformation.Rotation;
+import org.ojalgo.scalar.ComplexNumber;
 import org.ojalgo.structure.Access1D;
 import org.ojalgo.structure.Access2D;
 import org.ojalgo.structure.ElementView2D;
@@ -64,7 +72,7 @@ import org.ojalgo.type.NumberDefinition;
  *
  * @author apete
  */
-public final class Primitive32Store extends ArrayR032 implements PhysicalStore<Double> {
+public final class Primitive32Store extends ArrayR032 implements PhysicalStore<Double>, DecompositionStore<Double> {
 
     public static final PhysicalStore.Factory<Double, Primitive32Store> FACTORY = new PrimitiveFactory<Primitive32Store>() {
 
@@ -392,6 +400,72 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         return myUtility.aggregateRow(row, col, aggregator);
     }
 
+    public void applyCholesky(final int iterationPoint, final BasicArray<Double> multipliers) {
+
+        final float[] column = ((ArrayR032) multipliers).data;
+
+        if (myColDim - iterationPoint - 1 > ApplyCholesky.THRESHOLD) {
+
+            final DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    ApplyCholesky.invoke(data, myRowDim, first, limit, column);
+                }
+            };
+
+            conquerer.invoke(iterationPoint + 1, myColDim, ApplyCholesky.THRESHOLD);
+
+        } else {
+
+            ApplyCholesky.invoke(data, myRowDim, iterationPoint + 1, myColDim, column);
+        }
+    }
+
+    public void applyLDL(final int iterationPoint, final BasicArray<Double> multipliers) {
+
+        final float[] column = ((ArrayR032) multipliers).data;
+
+        if (myColDim - iterationPoint - 1 > ApplyLDL.THRESHOLD) {
+
+            final DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    ApplyLDL.invoke(data, myRowDim, first, limit, column, iterationPoint);
+                }
+            };
+
+            conquerer.invoke(iterationPoint + 1, myColDim, ApplyLDL.THRESHOLD);
+
+        } else {
+
+            ApplyLDL.invoke(data, myRowDim, iterationPoint + 1, myColDim, column, iterationPoint);
+        }
+    }
+
+    public void applyLU(final int iterationPoint, final BasicArray<Double> multipliers) {
+
+        final float[] column = ((ArrayR032) multipliers).data;
+
+        if (myColDim - iterationPoint - 1 > ApplyLU.THRESHOLD) {
+
+            final DivideAndConquer conquerer = new DivideAndConquer() {
+
+                @Override
+                protected void conquer(final int first, final int limit) {
+                    ApplyLU.invoke(data, myRowDim, first, limit, column, iterationPoint);
+                }
+            };
+
+            conquerer.invoke(iterationPoint + 1, myColDim, ApplyLU.THRESHOLD);
+
+        } else {
+
+            ApplyLU.invoke(data, myRowDim, iterationPoint + 1, myColDim, column, iterationPoint);
+        }
+    }
+
     public <NN extends Comparable<NN>, R extends Mutate2D.Receiver<NN>> Access2D.Collectable<NN, R> asCollectable2D() {
         return myUtility.asCollectable2D();
     }
@@ -408,6 +482,11 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         return myUtility.columns();
     }
 
+    public Array1D<ComplexNumber> computeInPlaceSchur(final PhysicalStore<Double> transformationCollector, final boolean eigenvalue) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+        return null;
+    }
+
     public MatrixStore<Double> conjugate() {
         return this.transpose();
     }
@@ -421,6 +500,18 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
     }
 
     @Override
+    public void divideAndCopyColumn(final int row, final int column, final BasicArray<Double> destination) {
+
+        float[] destinationData = ((ArrayR032) destination).data;
+
+        int index = row + column * myRowDim;
+        float denominator = data[index];
+
+        for (int i = row + 1; i < myRowDim; i++) {
+            destinationData[i] = data[++index] /= denominator;
+        }
+    }
+
     public double dot(final Access1D<?> vector) {
         return myUtility.dot(vector);
     }
@@ -452,6 +543,36 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         myUtility.exchangeColumns(colA, colB);
     }
 
+    public void exchangeHermitian(final int indexA, final int indexB) {
+
+        final int indexMin = Math.min(indexA, indexB);
+        final int indexMax = Math.max(indexA, indexB);
+
+        float tmpVal;
+
+        for (int j = 0; j < indexMin; j++) {
+            tmpVal = data[indexMin + j * myRowDim];
+            data[indexMin + j * myRowDim] = data[indexMax + j * myRowDim];
+            data[indexMax + j * myRowDim] = tmpVal;
+        }
+
+        tmpVal = data[indexMin + indexMin * myRowDim];
+        data[indexMin + indexMin * myRowDim] = data[indexMax + indexMax * myRowDim];
+        data[indexMax + indexMax * myRowDim] = tmpVal;
+
+        for (int ij = indexMin + 1; ij < indexMax; ij++) {
+            tmpVal = data[ij + indexMin * myRowDim];
+            data[ij + indexMin * myRowDim] = data[indexMax + ij * myRowDim];
+            data[indexMax + ij * myRowDim] = tmpVal;
+        }
+
+        for (int i = indexMax + 1; i < myRowDim; i++) {
+            tmpVal = data[i + indexMin * myRowDim];
+            data[i + indexMin * myRowDim] = data[i + indexMax * myRowDim];
+            data[i + indexMax * myRowDim] = tmpVal;
+        }
+    }
+
     public void exchangeRows(final long rowA, final long rowB) {
         myUtility.exchangeRows(rowA, rowB);
     }
@@ -574,6 +695,14 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         return myUtility.floatValue(row, col);
     }
 
+    public boolean generateApplyAndCopyHouseholderColumn(final int row, final int column, final Householder<Double> destination) {
+        return GenerateApplyAndCopyHouseholderColumn.invoke(data, myRowDim, row, column, (Householder.Primitive32) destination);
+    }
+
+    public boolean generateApplyAndCopyHouseholderRow(final int row, final int column, final Householder<Double> destination) {
+        return GenerateApplyAndCopyHouseholderRow.invoke(data, myRowDim, row, column, (Householder.Primitive32) destination);
+    }
+
     public Double get(final long row, final long col) {
         return myUtility.get(row, col);
     }
@@ -744,6 +873,10 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         return tmpStep2.get(0L);
     }
 
+    public void negateColumn(final int column) {
+        myUtility.modifyColumn(0, column, PrimitiveMath.NEGATE);
+    }
+
     public PhysicalStore.Factory<Double, ?> physical() {
         return FACTORY;
     }
@@ -776,6 +909,10 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         return new Subregion2D.TransposedRegion<>(this, multiplyBoth);
     }
 
+    public void rotateRight(final int low, final int high, final double cos, final double sin) {
+        RotateRight.invoke(data, myRowDim, low, high, (float) cos, (float) sin);
+    }
+
     public RowView<Double> rows() {
         return myUtility.rows();
     }
@@ -788,6 +925,11 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         myUtility.set(row, col, value);
     }
 
+    public void setToIdentity(final int col) {
+        myUtility.set(col, col, PrimitiveMath.ONE);
+        myUtility.fillColumn(col + 1, col, PrimitiveMath.ZERO);
+    }
+
     public short shortValue(final long row, final long col) {
         return myUtility.shortValue(row, col);
     }
@@ -808,6 +950,10 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         return myUtility.sliceDiagonal(row, col);
     }
 
+    public Array1D<Double> sliceRange(final long first, final long limit) {
+        return myUtility.sliceRange(first, limit);
+    }
+
     public Array1D<Double> sliceRow(final long row) {
         return myUtility.sliceRow(row);
     }
@@ -929,6 +1075,14 @@ public final class Primitive32Store extends ArrayR032 implements PhysicalStore<D
         }
     }
 
+    public void transformSymmetric(final Householder<Double> transformation) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+    }
+
+    public void tred2(final BasicArray<Double> mainDiagonal, final BasicArray<Double> offDiagonal, final boolean yesvecs) {
+        ProgrammingError.throwForUnsupportedOptionalOperation();
+    }
+
     public void visitColumn(final long row, final long col, final VoidFunction<Double> visitor) {
         myUtility.visitColumn(row, col, visitor);
     }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ojalgo.ProgrammingError;
+
+/**
+ * A lazy product of a chain of matrices – [A][B][C]...[Z]. Nothing is calculated until the elements are
+ * supplied/collected. Then the order in which to perform the multiplications (the parenthesisation) is
+ * chosen to minimise the total number of scalar multiplications, intermediate results with matching shapes
+ * share the same buffer, and the final product is written directly to the receiver.
+ * <p>
+ * With tall/skinny shapes, or when the last factor is a vector, the optimal order can be orders of magnitude
+ * cheaper than evaluating the product strictly left-to-right.
+ * <p>
+ * The factors can be any {@link MatrixStore} – transposed, or otherwise logical, stores are used as is.
+ * Each multiplication is performed by the {@link TransformableRegion#fillByMultiplying(org.ojalgo.structure.Access1D, org.ojalgo.structure.Access1D)}
+ * implementation of the (physical) intermediate or final receiver.
+ *
+ * @author apete
+ */
+public final class ProductChain<N extends Comparable<N>> implements ElementsSupplier<N> {
+
+    @SafeVarargs
+    public static <N extends Comparable<N>> ProductChain<N> of(final MatrixStore<N> first, final MatrixStore<N>... rest) {
+        ProductChain<N> retVal = new ProductChain<>(first);
+        for (int f = 0; f < rest.length; f++) {
+            retVal.multiply(rest[f]);
+        }
+        return retVal;
+    }
+
+    private final List<MatrixStore<N>> myFactors = new ArrayList<>();
+    private int[][] mySplits = null;
+
+    ProductChain(final MatrixStore<N> first) {
+        super();
+        myFactors.add(first);
+    }
+
+    public long countColumns() {
+        return myFactors.get(myFactors.size() - 1).countColumns();
+    }
+
+    /**
+     * @return The number of scalar multiplications required to calculate the product using the optimal
+     *         parenthesisation.
+     */
+    public double countMultiplications() {
+        return this.plan()[0][myFactors.size() - 1];
+    }
+
+    public long countRows() {
+        return myFactors.get(0).countRows();
+    }
+
+    /**
+     * Calculate the product – collect it using the physical store factory of the first factor.
+     */
+    public MatrixStore<N> get() {
+        if (myFactors.size() == 1) {
+            return myFactors.get(0);
+        }
+        return this.collect(myFactors.get(0).physical());
+    }
+
+    /**
+     * Append another factor to the chain.
+     */
+    public ProductChain<N> multiply(final MatrixStore<N> right) {
+
+        ProgrammingError.throwIfMultiplicationNotPossible(myFactors.get(myFactors.size() - 1), right);
+
+        myFactors.add(right);
+        mySplits = null;
+
+        return this;
+    }
+
+    public void supplyTo(final TransformableRegion<N> receiver) {
+
+        int last = myFactors.size() - 1;
+
+        if (last == 0) {
+            myFactors.get(0).supplyTo(receiver);
+        } else {
+            this.plan();
+            this.evaluate(0, last, receiver, new ArrayList<>());
+        }
+    }
+
+    /**
+     * The optimal parenthesisation, with the factors numbered from 0, like "((0 1) 2)".
+     */
+    @Override
+    public String toString() {
+        return this.toString(0, myFactors.size() - 1);
+    }
+
+    /**
+     * Calculate the product of the factors [first,last] to the receiver, recursively using the planned
+     * split. Intermediate results are taken from, and (once consumed) returned to, the pool of buffers.
+     */
+    private void evaluate(final int first, final int last, final TransformableRegion<N> receiver, final List<PhysicalStore<N>> pool) {
+
+        int split = mySplits[first][last];
+
+        MatrixStore<N> left = this.intermediate(first, split, pool);
+        MatrixStore<N> right = this.intermediate(split + 1, last, pool);
+
+        receiver.fillByMultiplying(left, right);
+
+        if (first != split) {
+            pool.add((PhysicalStore<N>) left);
+        }
+        if (split + 1 != last) {
+            pool.add((PhysicalStore<N>) right);
+        }
+    }
+
+    private MatrixStore<N> intermediate(final int first, final int last, final List<PhysicalStore<N>> pool) {
+
+        if (first == last) {
+            return myFactors.get(first);
+        }
+
+        long nbRows = myFactors.get(first).countRows();
+        long nbCols = myFactors.get(last).countColumns();
+
+        PhysicalStore<N> retVal = null;
+        for (int p = 0; retVal == null && p < pool.size(); p++) {
+            PhysicalStore<N> candidate = pool.get(p);
+            if (candidate.countRows() == nbRows && candidate.countColumns() == nbCols) {
+                retVal = pool.remove(p);
+            }
+        }
+        if (retVal == null) {
+            retVal = myFactors.get(0).physical().make(nbRows, nbCols);
+        }
+
+        this.evaluate(first, last, retVal, pool);
+
+        return retVal;
+    }
+
+    /**
+     * Dynamic programming on the dimensions – the classic matrix chain ordering algorithm. Returns the
+     * minimal costs and stores the optimal splits.
+     */
+    private double[][] plan() {
+
+        int nbFactors = myFactors.size();
+
+        long[] dimensions = new long[nbFactors + 1];
+        for (int f = 0; f < nbFactors; f++) {
+            dimensions[f] = myFactors.get(f).countRows();
+        }
+        dimensions[nbFactors] = this.countColumns();
+
+        double[][] costs = new double[nbFactors][nbFactors];
+        int[][] splits = new int[nbFactors][nbFactors];
+
+        for (int length = 1; length < nbFactors; length++) {
+            for (int i = 0, j = length; j < nbFactors; i++, j++) {
+                costs[i][j] = Double.POSITIVE_INFINITY;
+                for (int k = i; k < j; k++) {
+                    double cost = costs[i][k] + costs[k + 1][j] + (double) dimensions[i] * dimensions[k + 1] * dimensions[j + 1];
+                    if (cost < costs[i][j]) {
+                        costs[i][j] = cost;
+                        splits[i][j] = k;
+                    }
+                }
+            }
+        }
+
+        mySplits = splits;
+
+        return costs;
+    }
+
+    private String toString(final int first, final int last) {
+        if (first == last) {
+            return Integer.toString(first);
+        }
+        if (mySplits == null) {
+            this.plan();
+        }
+        int split = mySplits[first][last];
+        return "(" + this.toString(first, split) + " " + this.toString(split + 1, last) + ")";
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.ojalgo.structure.Access2D;
+
+/**
+ * A pool of {@link PhysicalStore} instances, all from the same factory. There is one pool per thread and
+ * factory – get it using {@link #of(PhysicalStore.Factory)}. A pool is registered with its thread when its
+ * outermost scope is opened, and must only be used by that thread.
+ * <p>
+ * Stores made within a {@link Scope} are returned to the pool when that scope is closed, and then reused by
+ * later (nested or sibling) scopes. Released stores are kept in free lists per size class – the size classes
+ * are the exact shapes (rows and columns). Scopes may be nested, but have to be closed in reverse order.
+ * Outside of any scope the pool simply delegates to the factory.
+ * <p>
+ * When the outermost scope is closed the free lists are cleared, and the (then idle) pool is removed from
+ * the thread, so nothing is retained between outermost scopes. To reuse stores between the iterations of a
+ * loop, wrap the loop in an outer scope and open a scope per iteration.
+ * <p>
+ * Stores made within a scope, and anything that wraps them, must not be used after that scope is closed –
+ * unless they've been {@link #detach(PhysicalStore) detached} from it.
+ *
+ * @author apete
+ */
+public final class StorePool<N extends Comparable<N>> {
+
+    /**
+     * Use with try-with-resources. Everything made within the scope is returned to the pool when it's
+     * closed.
+     */
+    public final class Scope implements AutoCloseable {
+
+        private final Set<PhysicalStore<N>> myStores = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Scope() {
+            super();
+        }
+
+        public void close() {
+            StorePool.this.close(this);
+        }
+
+    }
+
+    private static final ThreadLocal<Map<PhysicalStore.Factory<?, ?>, StorePool<?>>> POOLS = new ThreadLocal<>();
+
+    /**
+     * Remove a store from its scope, without returning it to the pool, so that it may be used after that
+     * scope is closed. Does nothing if the store was not made, within a still open scope, by the calling
+     * thread's pool for the store's factory. Never creates a pool.
+     */
+    public static void detach(final PhysicalStore<?> store) {
+        Map<PhysicalStore.Factory<?, ?>, StorePool<?>> pools = POOLS.get();
+        if (pools != null) {
+            StorePool<?> pool = pools.get(store.physical());
+            if (pool != null) {
+                pool.remove(store);
+            }
+        }
+    }
+
+    /**
+     * @return The calling thread's pool for this factory – the one with an open scope, or else a new (idle)
+     *         pool. An idle pool is not registered with the thread until its first scope is opened.
+     */
+    public static <N extends Comparable<N>> StorePool<N> of(final PhysicalStore.Factory<N, ?> factory) {
+        Map<PhysicalStore.Factory<?, ?>, StorePool<?>> pools = POOLS.get();
+        if (pools != null) {
+            @SuppressWarnings("unchecked")
+            StorePool<N> existing = (StorePool<N>) pools.get(factory);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return new StorePool<>(factory);
+    }
+
+    private static long key(final long rows, final long columns) {
+        return Math.toIntExact(rows) * (1L << 32) + Math.toIntExact(columns);
+    }
+
+    private static Map<PhysicalStore.Factory<?, ?>, StorePool<?>> pools() {
+        Map<PhysicalStore.Factory<?, ?>, StorePool<?>> retVal = POOLS.get();
+        if (retVal == null) {
+            retVal = new HashMap<>();
+            POOLS.set(retVal);
+        }
+        return retVal;
+    }
+
+    private final PhysicalStore.Factory<N, ?> myFactory;
+    private final Map<Long, ArrayDeque<PhysicalStore<N>>> myFree = new HashMap<>();
+    private final ArrayDeque<Scope> myScopes = new ArrayDeque<>();
+
+    StorePool(final PhysicalStore.Factory<N, ?> factory) {
+        super();
+        myFactory = factory;
+    }
+
+    /**
+     * Same as {@link #make(long, long)} followed by filling the store with the source elements.
+     */
+    public PhysicalStore<N> copy(final Access2D<?> source) {
+        PhysicalStore<N> retVal = this.make(source.countRows(), source.countColumns());
+        retVal.fillMatching(source);
+        return retVal;
+    }
+
+    /**
+     * @return The number of stores, of any size class, currently available for reuse
+     */
+    public int countFree() {
+        int retVal = 0;
+        for (ArrayDeque<PhysicalStore<N>> free : myFree.values()) {
+            retVal += free.size();
+        }
+        return retVal;
+    }
+
+    /**
+     * Within a scope: reuse (reset) a previously released store of the same shape, or make a new one. Either
+     * way it's returned to the pool when the scope is closed. Outside of any scope: the same as
+     * {@link PhysicalStore.Factory#make(long, long)}.
+     */
+    public PhysicalStore<N> make(final long rows, final long columns) {
+
+        Scope scope = myScopes.peekLast();
+
+        if (scope == null) {
+            return myFactory.make(rows, columns);
+        }
+
+        ArrayDeque<PhysicalStore<N>> free = myFree.get(Long.valueOf(StorePool.key(rows, columns)));
+
+        PhysicalStore<N> retVal = free != null ? free.pollLast() : null;
+
+        if (retVal != null) {
+            retVal.reset();
+        } else {
+            retVal = myFactory.make(rows, columns);
+        }
+
+        scope.myStores.add(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Open a new (nested) scope.
+     */
+    public Scope newScope() {
+
+        if (myScopes.isEmpty()) {
+            StorePool.pools().putIfAbsent(myFactory, this);
+        }
+
+        Scope retVal = new Scope();
+
+        myScopes.addLast(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Return a store to the pool before its scope is closed. Does nothing if the store was not made by this
+     * pool within a still open scope.
+     */
+    public void release(final PhysicalStore<N> store) {
+        if (this.remove(store)) {
+            this.free(store);
+        }
+    }
+
+    void close(final Scope scope) {
+
+        if (myScopes.peekLast() != scope) {
+            throw new IllegalStateException("Scopes must be closed in reverse order!");
+        }
+
+        myScopes.removeLast();
+
+        for (PhysicalStore<N> store : scope.myStores) {
+            this.free(store);
+        }
+        scope.myStores.clear();
+
+        if (myScopes.isEmpty()) {
+            myFree.clear();
+            Map<PhysicalStore.Factory<?, ?>, StorePool<?>> pools = StorePool.pools();
+            pools.remove(myFactory, this);
+            if (pools.isEmpty()) {
+                POOLS.remove();
+            }
+        }
+    }
+
+    private void free(final PhysicalStore<N> store) {
+        Long key = Long.valueOf(StorePool.key(store.countRows(), store.countColumns()));
+        myFree.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(store);
+    }
+
+    /**
+     * Remove the store from the innermost open scope that contains it.
+     *
+     * @return true if it was found (and removed)
+     */
+    private boolean remove(final PhysicalStore<?> store) {
+        for (Iterator<Scope> iterator = myScopes.descendingIterator(); iterator.hasNext();) {
+            if (iterator.next().myStores.remove(store)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
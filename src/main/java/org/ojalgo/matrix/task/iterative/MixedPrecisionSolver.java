@@ -0,0 +1,216 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.task.iterative;
+
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.RecoverableCondition;
+import org.ojalgo.array.operation.AXPY;
+import org.ojalgo.array.operation.DoubleDouble;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.LU;
+import org.ojalgo.matrix.decomposition.MatrixDecomposition;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.Primitive32Store;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * For solving dense [A][x]=[b] using mixed precision iterative refinement. [A] is factorised (LU, or Cholesky
+ * if positive definite) in single precision – {@link Primitive32Store}, half the memory (traffic) of a
+ * double precision factorisation. The residual [r]=[b]-[A][x] is then calculated in double, or optionally
+ * double-double, precision and the correction solved for using the single precision factorisation. That's
+ * repeated until the accuracy context is satisfied, or until it stalls.
+ * <p>
+ * The default accuracy context can't be satisfied using double precision. With it the refinement continues
+ * until it stalls – when the backward error is as small as that of a double precision factorisation.
+ * <p>
+ * If the single precision factorisation fails, or the refinement stalls before reaching double precision
+ * accuracy (the matrix is too ill-conditioned for single precision), the system is instead solved using a
+ * double precision factorisation.
+ *
+ * @author apete
+ */
+public final class MixedPrecisionSolver extends IterativeSolverTask {
+
+    /**
+     * Each iteration must (at least) halve the residual, otherwise the refinement has stalled.
+     */
+    private static final double STALL = HALF;
+
+    private static double normInf(final double[] vector) {
+        double retVal = ZERO;
+        for (int i = 0; i < vector.length; i++) {
+            retVal = Math.max(retVal, Math.abs(vector[i]));
+        }
+        return retVal;
+    }
+
+    private final boolean myExtendedResidual;
+    private final boolean myPositiveDefinite;
+
+    public MixedPrecisionSolver() {
+        this(false, false);
+    }
+
+    /**
+     * @param positiveDefinite Use a Cholesky (rather than LU) decomposition. [A] must be symmetric and
+     *        positive definite.
+     * @param extendedResidual Calculate the residuals using double-double (rather than double) precision
+     *        arithmetic.
+     */
+    public MixedPrecisionSolver(final boolean positiveDefinite, final boolean extendedResidual) {
+        super();
+        myPositiveDefinite = positiveDefinite;
+        myExtendedResidual = extendedResidual;
+    }
+
+    public MatrixStore<Double> solve(final Access2D<?> body, final Access2D<?> rhs, final PhysicalStore<Double> preallocated) throws RecoverableCondition {
+
+        ProgrammingError.throwIfNotSquare(body);
+
+        int dim = body.getRowDim();
+
+        Primitive64Store full = body instanceof Primitive64Store ? (Primitive64Store) body : Primitive64Store.FACTORY.copy(body);
+
+        double[] solution = new double[dim];
+        double[] residual = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            residual[i] = rhs.doubleValue(i);
+        }
+        double[] original = residual.clone();
+
+        double normA = ZERO;
+        for (int i = 0; i < dim; i++) {
+            double sum = ZERO;
+            for (int j = 0; j < dim; j++) {
+                sum += Math.abs(full.data[i + j * dim]);
+            }
+            normA = Math.max(normA, sum);
+        }
+        double normB = MixedPrecisionSolver.normInf(original);
+        double normR = normB;
+        double normX = ZERO;
+
+        boolean converged = false;
+
+        Primitive32Store low = Primitive32Store.FACTORY.copy(full);
+        MatrixDecomposition.Solver<Double> decomposition = myPositiveDefinite ? Cholesky.R032.make(low) : LU.R032.make(low);
+
+        if (decomposition.decompose(low) && decomposition.isSolvable()) {
+
+            Primitive32Store lowResidual = Primitive32Store.FACTORY.make(dim, 1L);
+            Primitive32Store lowCorrection = Primitive32Store.FACTORY.make(dim, 1L);
+
+            NumberContext accuracy = this.getAccuracyContext();
+            int limit = this.getIterationsLimit();
+            int iterations = 0;
+
+            double previous = POSITIVE_INFINITY;
+
+            while (!(converged = accuracy.isSmall(normA * normX + normB, normR)) && normR < STALL * previous && iterations < limit) {
+
+                previous = normR;
+
+                // Scale the residual to avoid float underflow
+                for (int i = 0; i < dim; i++) {
+                    lowResidual.data[i] = (float) (residual[i] / normR);
+                }
+
+                MatrixStore<Double> correction = decomposition.getSolution(lowResidual, lowCorrection);
+
+                for (int i = 0; i < dim; i++) {
+                    solution[i] += normR * correction.doubleValue(i);
+                }
+
+                this.residual(full, original, solution, residual);
+
+                normR = MixedPrecisionSolver.normInf(residual);
+                normX = MixedPrecisionSolver.normInf(solution);
+
+                iterations++;
+
+                if (this.isDebugPrinterSet()) {
+                    this.debug(iterations, normR / (normA * normX + normB), Access1D.wrap(solution));
+                }
+            }
+
+            // Stalled, but as accurate as a double precision factorisation would be?
+            converged |= normR <= dim * MACHINE_EPSILON * (normA * normX + normB);
+        }
+
+        if (!converged) {
+
+            MatrixDecomposition.Solver<Double> fallback = myPositiveDefinite ? Cholesky.R064.make(full) : LU.R064.make(full);
+
+            if (!fallback.decompose(full) || !fallback.isSolvable()) {
+                throw RecoverableCondition.newEquationSystemNotSolvable();
+            }
+
+            MatrixStore<Double> direct = fallback.getSolution(Primitive64Store.FACTORY.columns(original));
+            for (int i = 0; i < dim; i++) {
+                solution[i] = direct.doubleValue(i);
+            }
+        }
+
+        preallocated.fillMatching(Access1D.wrap(solution));
+
+        return preallocated;
+    }
+
+    /**
+     * [r]=[b]-[A][x]
+     */
+    private void residual(final Primitive64Store body, final double[] rhs, final double[] solution, final double[] residual) {
+
+        int dim = rhs.length;
+
+        if (myExtendedResidual) {
+
+            double[] sum = new double[2 * dim];
+            for (int i = 0; i < dim; i++) {
+                sum[2 * i] = rhs[i];
+            }
+            for (int j = 0; j < dim; j++) {
+                double value = -solution[j];
+                for (int i = 0; i < dim; i++) {
+                    DoubleDouble.addProduct(sum, i, value, ZERO, body.data[i + j * dim], ZERO);
+                }
+            }
+            for (int i = 0; i < dim; i++) {
+                residual[i] = sum[2 * i] + sum[2 * i + 1];
+            }
+
+        } else {
+
+            System.arraycopy(rhs, 0, residual, 0, dim);
+            for (int j = 0; j < dim; j++) {
+                AXPY.invoke(residual, 0, -solution[j], body.data, j * dim, 0, dim);
+            }
+        }
+    }
+
+}
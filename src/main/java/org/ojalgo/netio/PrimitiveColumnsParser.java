@@ -0,0 +1,686 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.netio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.ArrayZ064;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.type.NativeMemory;
+
+/**
+ * Parses delimited (CSV) data, with the same semantics as {@link EnumeratedColumnsParser.ParseStrategy#RFC4180},
+ * directly from bytes into primitive columns. Lines are never decoded to {@link String}:s and numeric fields
+ * are parsed directly from the (memory mapped) bytes. Only the selected columns are parsed, all others are
+ * skipped.
+ * <p>
+ * Just as with {@link EnumeratedColumnsParser} empty lines, lines starting with '#' and lines with the wrong
+ * number of columns are ignored. The data is assumed to be in an ASCII compatible encoding (such as UTF-8).
+ * <p>
+ * With parallelism greater than 1 the input is split in chunks at line breaks, and the chunks parsed
+ * concurrently. That requires that there are no line breaks within quoted fields.
+ *
+ * @author apete
+ */
+public final class PrimitiveColumnsParser {
+
+    public static final class Builder implements Supplier<PrimitiveColumnsParser> {
+
+        private char myDelimiter = ',';
+        private final int myNumberOfColumns;
+        private IntSupplier myParallelism = Parallelism.ONE;
+        private final byte[] myTypes;
+
+        Builder(final int numberOfColumns) {
+
+            super();
+
+            myNumberOfColumns = numberOfColumns;
+            myTypes = new byte[numberOfColumns];
+        }
+
+        public Builder delimiter(final char delimiter) {
+            myDelimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Parse these columns as double values, available as {@link ArrayR064}. Empty fields become NaN.
+         */
+        public Builder doubles(final int... columns) {
+            for (int c : columns) {
+                myTypes[c] = R064;
+            }
+            return this;
+        }
+
+        public PrimitiveColumnsParser get() {
+            return new PrimitiveColumnsParser(myNumberOfColumns, (byte) myDelimiter, myTypes.clone(), myParallelism);
+        }
+
+        /**
+         * Parse these columns as long values, available as {@link ArrayZ064}. Empty fields become 0.
+         */
+        public Builder longs(final int... columns) {
+            for (int c : columns) {
+                myTypes[c] = Z064;
+            }
+            return this;
+        }
+
+        public Builder parallelism(final IntSupplier parallelism) {
+            myParallelism = parallelism;
+            return this;
+        }
+
+    }
+
+    /**
+     * The parsed data - one primitive array per selected column.
+     */
+    public static final class Columns {
+
+        private final double[][] myDoubles;
+        private final long[][] myLongs;
+        private int mySize = 0;
+
+        Columns(final byte[] types, final int capacity) {
+
+            super();
+
+            myDoubles = new double[types.length][];
+            myLongs = new long[types.length][];
+
+            for (int c = 0; c < types.length; c++) {
+                if (types[c] == R064) {
+                    myDoubles[c] = new double[capacity];
+                } else if (types[c] == Z064) {
+                    myLongs[c] = new long[capacity];
+                }
+            }
+        }
+
+        public ArrayR064 getR064(final int column) {
+            if (myDoubles[column] == null) {
+                throw new ProgrammingError("Column " + column + " was not parsed as double!");
+            }
+            return ArrayR064.wrap(myDoubles[column].length == mySize ? myDoubles[column] : Arrays.copyOf(myDoubles[column], mySize));
+        }
+
+        public ArrayZ064 getZ064(final int column) {
+            if (myLongs[column] == null) {
+                throw new ProgrammingError("Column " + column + " was not parsed as long!");
+            }
+            return ArrayZ064.wrap(myLongs[column].length == mySize ? myLongs[column] : Arrays.copyOf(myLongs[column], mySize));
+        }
+
+        /**
+         * The number of rows/lines
+         */
+        public int size() {
+            return mySize;
+        }
+
+        void append(final Columns other) {
+            this.ensureCapacity(mySize + other.size());
+            for (int c = 0; c < myDoubles.length; c++) {
+                if (myDoubles[c] != null) {
+                    System.arraycopy(other.myDoubles[c], 0, myDoubles[c], mySize, other.size());
+                } else if (myLongs[c] != null) {
+                    System.arraycopy(other.myLongs[c], 0, myLongs[c], mySize, other.size());
+                }
+            }
+            mySize += other.size();
+        }
+
+        void commit(final double[] doubles, final long[] longs) {
+            if (mySize == this.capacity()) {
+                this.ensureCapacity(Math.max(16, mySize + (mySize >> 1)));
+            }
+            for (int c = 0; c < myDoubles.length; c++) {
+                if (myDoubles[c] != null) {
+                    myDoubles[c][mySize] = doubles[c];
+                } else if (myLongs[c] != null) {
+                    myLongs[c][mySize] = longs[c];
+                }
+            }
+            mySize++;
+        }
+
+        private int capacity() {
+            for (int c = 0; c < myDoubles.length; c++) {
+                if (myDoubles[c] != null) {
+                    return myDoubles[c].length;
+                } else if (myLongs[c] != null) {
+                    return myLongs[c].length;
+                }
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > this.capacity()) {
+                for (int c = 0; c < myDoubles.length; c++) {
+                    if (myDoubles[c] != null) {
+                        myDoubles[c] = Arrays.copyOf(myDoubles[c], capacity);
+                    } else if (myLongs[c] != null) {
+                        myLongs[c] = Arrays.copyOf(myLongs[c], capacity);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The maximum number of bytes mapped (and parsed) in one go
+     */
+    static final int WINDOW = 1 << 30;
+
+    private static final byte CR = (byte) ASCII.CR;
+    private static final byte HASH = (byte) '#';
+    private static final byte LF = (byte) ASCII.LF;
+    private static final double[] POWERS_OF_TEN = { 1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12, 1E13, 1E14, 1E15, 1E16, 1E17, 1E18,
+            1E19, 1E20, 1E21, 1E22 };
+    private static final byte QUOTE = (byte) '"';
+    private static final byte R064 = 1;
+    private static final byte Z064 = 2;
+
+    public static PrimitiveColumnsParser.Builder make(final Class<? extends Enum<?>> columns) {
+        return new PrimitiveColumnsParser.Builder(columns.getFields().length);
+    }
+
+    public static PrimitiveColumnsParser.Builder make(final int numberOfColumns) {
+        return new PrimitiveColumnsParser.Builder(numberOfColumns);
+    }
+
+    /**
+     * Parse a double directly from the bytes in the range [first,limit). Leading/trailing spaces are ignored
+     * and an empty range results in NaN. The common case (no more than 18 significant digits and a moderate
+     * exponent) is parsed without any allocation, and is correctly rounded. Anything else is delegated to
+     * {@link Double#parseDouble(String)}.
+     */
+    public static double toDouble(final ByteBuffer bytes, final int first, final int limit) {
+
+        int i = first;
+        int last = limit;
+
+        while (i < last && bytes.get(i) <= ' ') {
+            i++;
+        }
+        while (last > i && bytes.get(last - 1) <= ' ') {
+            last--;
+        }
+
+        if (i >= last) {
+            return Double.NaN;
+        }
+
+        boolean negative = false;
+        byte b = bytes.get(i);
+        if (b == '-') {
+            negative = true;
+            i++;
+        } else if (b == '+') {
+            i++;
+        }
+
+        long mantissa = 0L;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        boolean point = false;
+
+        for (; i < last; i++) {
+            b = bytes.get(i);
+            if (b >= '0' && b <= '9') {
+                any = true;
+                if (mantissa != 0L || b != '0') {
+                    if (++digits > 18) {
+                        return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+                    }
+                }
+                mantissa = 10L * mantissa + (b - '0');
+                if (point) {
+                    exponent--;
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!any) {
+            return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+        }
+
+        if (i < last) {
+            if (b != 'e' && b != 'E' || ++i >= last) {
+                return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+            }
+            boolean negExp = false;
+            b = bytes.get(i);
+            if (b == '-') {
+                negExp = true;
+                i++;
+            } else if (b == '+') {
+                i++;
+            }
+            int exp = 0;
+            if (i >= last) {
+                return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+            }
+            for (; i < last; i++) {
+                b = bytes.get(i);
+                if (b < '0' || b > '9' || exp > 10_000) {
+                    return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+                }
+                exp = 10 * exp + (b - '0');
+            }
+            exponent += negExp ? -exp : exp;
+        }
+
+        double value;
+        if (mantissa == 0L) {
+            value = 0.0;
+        } else if (exponent == 0) {
+            value = mantissa;
+        } else if (exponent > 0 && exponent < POWERS_OF_TEN.length && mantissa < 1L << 53) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+            if (Double.isInfinite(value)) {
+                return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+            }
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length && mantissa < 1L << 53) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return PrimitiveColumnsParser.fallbackDouble(bytes, first, limit);
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a long directly from the bytes in the range [first,limit). Leading/trailing spaces are ignored and
+     * an empty range results in 0.
+     *
+     * @throws NumberFormatException If the bytes do not represent a long
+     */
+    public static long toLong(final ByteBuffer bytes, final int first, final int limit) {
+
+        int i = first;
+        int last = limit;
+
+        while (i < last && bytes.get(i) <= ' ') {
+            i++;
+        }
+        while (last > i && bytes.get(last - 1) <= ' ') {
+            last--;
+        }
+
+        if (i >= last) {
+            return 0L;
+        }
+
+        boolean negative = false;
+        byte b = bytes.get(i);
+        if (b == '-') {
+            negative = true;
+            i++;
+        } else if (b == '+') {
+            i++;
+        }
+
+        if (i >= last || last - i > 18) {
+            return Long.parseLong(PrimitiveColumnsParser.toString(bytes, first, limit).trim());
+        }
+
+        long value = 0L;
+        for (; i < last; i++) {
+            b = bytes.get(i);
+            if (b < '0' || b > '9') {
+                return Long.parseLong(PrimitiveColumnsParser.toString(bytes, first, limit).trim());
+            }
+            value = 10L * value + (b - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static double fallbackDouble(final ByteBuffer bytes, final int first, final int limit) {
+        return Double.parseDouble(PrimitiveColumnsParser.toString(bytes, first, limit));
+    }
+
+    /**
+     * The first position after the next line feed at or after position
+     */
+    private static long nextLine(final FileChannel channel, final long position, final long size) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        long pos = position;
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == LF) {
+                    return pos + i + 1L;
+                }
+            }
+            pos += read;
+        }
+
+        return size;
+    }
+
+    private static String toString(final ByteBuffer bytes, final int first, final int limit) {
+        byte[] tmp = new byte[limit - first];
+        for (int i = 0; i < tmp.length; i++) {
+            tmp[i] = bytes.get(first + i);
+        }
+        return new String(tmp, StandardCharsets.ISO_8859_1);
+    }
+
+    private final byte myDelimiter;
+    private final int myNumberOfColumns;
+    private final IntSupplier myParallelism;
+    private final byte[] myTypes;
+
+    PrimitiveColumnsParser(final int numberOfColumns, final byte delimiter, final byte[] types, final IntSupplier parallelism) {
+
+        super();
+
+        myNumberOfColumns = numberOfColumns;
+        myDelimiter = delimiter;
+        myTypes = types;
+        myParallelism = parallelism;
+    }
+
+    /**
+     * Parse the bytes from the buffer's current position to its limit.
+     */
+    public Columns parse(final ByteBuffer data, final boolean skipHeader) {
+
+        int first = data.position();
+        int limit = data.limit();
+
+        int parallelism = Math.max(1, Math.min(myParallelism.getAsInt(), (limit - first) >> 16));
+
+        if (parallelism == 1) {
+            Columns retVal = new Columns(myTypes, 16);
+            this.parse(data, first, limit, true, skipHeader, retVal);
+            return retVal;
+        }
+
+        int[] boundaries = new int[parallelism + 1];
+        boundaries[0] = first;
+        for (int p = 1; p < parallelism; p++) {
+            int pos = Math.max(boundaries[p - 1], first + (int) ((long) (limit - first) * p / parallelism));
+            while (pos < limit && data.get(pos++) != LF) {
+                // Find the next line start
+            }
+            boundaries[p] = pos;
+        }
+        boundaries[parallelism] = limit;
+
+        Columns[] results = new Columns[parallelism];
+        List<Integer> chunks = new ArrayList<>(parallelism);
+        for (int p = 0; p < parallelism; p++) {
+            chunks.add(p);
+        }
+        ProcessingService.INSTANCE.process(chunks, parallelism, p -> {
+            Columns part = new Columns(myTypes, 16);
+            this.parse(data, boundaries[p], boundaries[p + 1], true, skipHeader && p == 0, part);
+            results[p] = part;
+        });
+
+        return PrimitiveColumnsParser.merge(myTypes, results);
+    }
+
+    public Columns parse(final byte[] data, final boolean skipHeader) {
+        return this.parse(ByteBuffer.wrap(data), skipHeader);
+    }
+
+    /**
+     * The file is memory mapped, in chunks if it is large, and parsed without decoding the bytes to text.
+     */
+    public Columns parse(final File file, final boolean skipHeader) {
+        return this.parse(file, skipHeader, WINDOW);
+    }
+
+    Columns parse(final File file, final boolean skipHeader, final int window) {
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+
+            long size = channel.size();
+
+            int parallelism = Math.max(1, myParallelism.getAsInt());
+
+            if (parallelism == 1) {
+
+                Columns retVal = new Columns(myTypes, 16);
+
+                long position = 0L;
+                boolean header = skipHeader;
+                while (position < size) {
+                    long length = Math.min(window, size - position);
+                    boolean last = position + length == size;
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    int consumed = this.parse(buffer, 0, (int) length, last, header, retVal);
+                    NativeMemory.release(buffer);
+                    if (consumed == 0 && !last) {
+                        throw new IllegalStateException("Line longer than " + window + " bytes!");
+                    }
+                    position += consumed;
+                    header = false;
+                }
+
+                return retVal;
+            }
+
+            int nbChunks = (int) Math.max(parallelism, (size + window - 1L) / window);
+            long chunkSize = Math.max(1L, size / nbChunks);
+
+            long[] boundaries = new long[nbChunks + 1];
+            for (int p = 1; p < nbChunks; p++) {
+                boundaries[p] = PrimitiveColumnsParser.nextLine(channel, Math.max(boundaries[p - 1], p * chunkSize), size);
+                if (boundaries[p] - boundaries[p - 1] > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Line longer than " + window + " bytes!");
+                }
+            }
+            boundaries[nbChunks] = size;
+
+            Columns[] results = new Columns[nbChunks];
+            List<Integer> chunks = new ArrayList<>(nbChunks);
+            for (int p = 0; p < nbChunks; p++) {
+                chunks.add(p);
+            }
+            ProcessingService.INSTANCE.process(chunks, parallelism, p -> {
+                Columns part = new Columns(myTypes, 16);
+                long length = boundaries[p + 1] - boundaries[p];
+                if (length > 0L) {
+                    try {
+                        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, boundaries[p], length);
+                        this.parse(buffer, 0, (int) length, true, skipHeader && p == 0, part);
+                        NativeMemory.release(buffer);
+                    } catch (IOException cause) {
+                        throw new RuntimeException(cause);
+                    }
+                }
+                results[p] = part;
+            });
+
+            return PrimitiveColumnsParser.merge(myTypes, results);
+
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static Columns merge(final byte[] types, final Columns[] parts) {
+
+        int total = 0;
+        for (Columns part : parts) {
+            total += part.size();
+        }
+
+        Columns retVal = new Columns(types, total);
+        for (Columns part : parts) {
+            retVal.append(part);
+        }
+        return retVal;
+    }
+
+    /**
+     * Parse complete lines in the range [first,limit). If the range does not end with a complete line, and
+     * this is not the last range, the incomplete line is not consumed.
+     *
+     * @return The number of bytes consumed
+     */
+    private int parse(final ByteBuffer bytes, final int first, final int limit, final boolean last, final boolean skipHeader, final Columns receiver) {
+
+        double[] doubles = new double[myNumberOfColumns];
+        long[] longs = new long[myNumberOfColumns];
+
+        boolean header = skipHeader;
+
+        int lineStart = first;
+
+        while (lineStart < limit) {
+
+            byte b = bytes.get(lineStart);
+
+            if (!header && (b == HASH || b == LF || b == CR)) {
+                // Comment or empty line
+                int i = lineStart;
+                while (i < limit && bytes.get(i) != LF) {
+                    i++;
+                }
+                if (i == limit && !last) {
+                    return lineStart - first;
+                }
+                lineStart = i + 1;
+                continue;
+            }
+
+            int column = 0;
+            int fieldStart = lineStart;
+            boolean quoted = false;
+            boolean inQuotes = false;
+            boolean complete = false;
+
+            int i = lineStart;
+            for (; i < limit; i++) {
+
+                b = bytes.get(i);
+
+                if (inQuotes) {
+                    if (b == QUOTE) {
+                        if (i + 1 < limit && bytes.get(i + 1) == QUOTE) {
+                            i++;
+                        } else {
+                            inQuotes = false;
+                        }
+                    }
+                } else if (b == QUOTE && i == fieldStart) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (b == myDelimiter) {
+                    this.field(bytes, fieldStart, i, quoted, column, doubles, longs, header);
+                    column++;
+                    fieldStart = i + 1;
+                    quoted = false;
+                } else if (b == LF) {
+                    int fieldEnd = i > fieldStart && bytes.get(i - 1) == CR ? i - 1 : i;
+                    this.field(bytes, fieldStart, fieldEnd, quoted, column, doubles, longs, header);
+                    complete = true;
+                    break;
+                }
+            }
+
+            if (!complete) {
+                if (!last || inQuotes) {
+                    // Incomplete line - leave it for the next range
+                    return last ? limit - first : lineStart - first;
+                }
+                this.field(bytes, fieldStart, limit, quoted, column, doubles, longs, header);
+            }
+
+            if (!header && column + 1 == myNumberOfColumns) {
+                receiver.commit(doubles, longs);
+            }
+
+            header = false;
+            lineStart = i + 1;
+        }
+
+        return Math.min(lineStart, limit) - first;
+    }
+
+    private void field(final ByteBuffer bytes, final int first, final int limit, final boolean quoted, final int column, final double[] doubles,
+            final long[] longs, final boolean header) {
+
+        if (header || column >= myNumberOfColumns) {
+            return;
+        }
+
+        byte type = myTypes[column];
+
+        if (type == 0) {
+            return;
+        }
+
+        int from = first;
+        int to = limit;
+        if (quoted) {
+            from++;
+            while (to > from && bytes.get(to - 1) != QUOTE) {
+                to--;
+            }
+            to--;
+        }
+
+        if (type == R064) {
+            doubles[column] = PrimitiveColumnsParser.toDouble(bytes, from, to);
+        } else {
+            longs[column] = PrimitiveColumnsParser.toLong(bytes, from, to);
+        }
+    }
+
+}
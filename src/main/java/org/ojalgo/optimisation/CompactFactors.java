@@ -0,0 +1,625 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.ojalgo.function.aggregator.AggregatorFunction;
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
+
+/**
+ * Storage of the linear or quadratic factors of an {@link Expression}. The keys are encoded as (sorted)
+ * primitive long:s and the factors stored as double:s. Factors set as {@link BigDecimal} are also kept, as
+ * is, in a parallel array – otherwise that array is only populated (lazily) when the {@link BigDecimal} value
+ * is requested. The full {@link Map} API is supported (the presolvers and cut generators rely on it) but the
+ * solvers should use the primitive accessors.
+ * <p>
+ * Setting factors in increasing key order is a plain append. Setting them in any other order appends to a
+ * short unsorted tail that is sorted, and merged into the rest, when it grows or when positions are needed.
+ *
+ * @author apete
+ */
+abstract class CompactFactors<K> extends AbstractMap<K, BigDecimal> {
+
+    static final class Linear extends CompactFactors<IntIndex> {
+
+        Linear() {
+            super();
+        }
+
+        Linear(final Linear factorsToCopy) {
+            super(factorsToCopy);
+        }
+
+        int index(final int position) {
+            return (int) this.key(position);
+        }
+
+        @Override
+        IntIndex decode(final long key) {
+            return new IntIndex((int) key);
+        }
+
+        @Override
+        long encode(final Object key) {
+            return ((IntIndex) key).index;
+        }
+
+        @Override
+        boolean isKey(final Object key) {
+            return key instanceof IntIndex;
+        }
+
+    }
+
+    static final class Quadratic extends CompactFactors<IntRowColumn> {
+
+        Quadratic() {
+            super();
+        }
+
+        Quadratic(final Quadratic factorsToCopy) {
+            super(factorsToCopy);
+        }
+
+        int column(final int position) {
+            return (int) this.key(position);
+        }
+
+        int row(final int position) {
+            return (int) (this.key(position) >>> 32);
+        }
+
+        @Override
+        IntRowColumn decode(final long key) {
+            return new IntRowColumn((int) (key >>> 32), (int) key);
+        }
+
+        @Override
+        long encode(final Object key) {
+            IntRowColumn rowColumn = (IntRowColumn) key;
+            return (long) rowColumn.row << 32 | rowColumn.column & 0xFFFFFFFFL;
+        }
+
+        @Override
+        boolean isKey(final Object key) {
+            return key instanceof IntRowColumn;
+        }
+
+    }
+
+    final class Factor implements Map.Entry<K, BigDecimal> {
+
+        private final long myKey;
+
+        Factor(final long key) {
+            super();
+            myKey = key;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            return Objects.equals(this.getKey(), other.getKey()) && Objects.equals(this.getValue(), other.getValue());
+        }
+
+        public K getKey() {
+            return CompactFactors.this.decode(myKey);
+        }
+
+        public BigDecimal getValue() {
+            int position = CompactFactors.this.search(myKey);
+            return position >= 0 ? CompactFactors.this.value(position) : null;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+
+        public BigDecimal setValue(final BigDecimal value) {
+            BigDecimal retVal = this.getValue();
+            CompactFactors.this.set(myKey, value);
+            return retVal;
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+
+    }
+
+    /**
+     * All the factors scaled by 10^exponent
+     */
+    static final class Scaled {
+
+        final int exponent;
+        final double[] values;
+
+        Scaled(final int exponent, final double[] values) {
+            super();
+            this.exponent = exponent;
+            this.values = values;
+        }
+
+    }
+
+    private static final BigDecimal[] NO_DECIMALS = new BigDecimal[0];
+    private static final long[] NO_KEYS = new long[0];
+    private static final double[] NO_VALUES = new double[0];
+    /**
+     * Max length of the unsorted tail – it's searched linearly.
+     */
+    private static final int TAIL = 16;
+
+    private static void sort(final long[] keys, final int[] order, final int[] buffer, final int first, final int limit) {
+        if (limit - first > 1) {
+            int middle = first + limit >>> 1;
+            CompactFactors.sort(keys, order, buffer, first, middle);
+            CompactFactors.sort(keys, order, buffer, middle, limit);
+            System.arraycopy(order, first, buffer, first, limit - first);
+            for (int i = first, l = first, r = middle; i < limit; i++) {
+                if (r >= limit || l < middle && keys[buffer[l]] <= keys[buffer[r]]) {
+                    order[i] = buffer[l++];
+                } else {
+                    order[i] = buffer[r++];
+                }
+            }
+        }
+    }
+
+    /**
+     * The (exact) {@link BigDecimal} factors, null if not (yet) known
+     */
+    private BigDecimal[] myDecimals = NO_DECIMALS;
+    private long[] myKeys = NO_KEYS;
+    /**
+     * Scaling a factor, in the same way as it is done with {@link BigDecimal}, is expensive. When the same
+     * (shared) expression is copied to many solvers it's only done once. Any modification clears it.
+     */
+    private volatile Scaled myScaled = null;
+    private int mySize = 0;
+    /**
+     * The number of leading entries known to be sorted (and unique)
+     */
+    private volatile int mySorted = 0;
+    private double[] myValues = NO_VALUES;
+
+    CompactFactors() {
+        super();
+    }
+
+    CompactFactors(final CompactFactors<K> factorsToCopy) {
+
+        super();
+
+        factorsToCopy.merge();
+
+        int size = factorsToCopy.mySize;
+        if (size > 0) {
+            myDecimals = Arrays.copyOf(factorsToCopy.myDecimals, size);
+            myKeys = Arrays.copyOf(factorsToCopy.myKeys, size);
+            myValues = Arrays.copyOf(factorsToCopy.myValues, size);
+        }
+        mySize = size;
+        mySorted = size;
+    }
+
+    @Override
+    public void clear() {
+        myDecimals = NO_DECIMALS;
+        myKeys = NO_KEYS;
+        myValues = NO_VALUES;
+        myScaled = null;
+        mySize = 0;
+        mySorted = 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.isKey(key) && this.search(this.encode(key)) >= 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, BigDecimal>> entrySet() {
+        return new AbstractSet<Map.Entry<K, BigDecimal>>() {
+
+            @Override
+            public void clear() {
+                CompactFactors.this.clear();
+            }
+
+            @Override
+            public Iterator<Map.Entry<K, BigDecimal>> iterator() {
+                return CompactFactors.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactFactors.this.size();
+            }
+
+        };
+    }
+
+    @Override
+    public BigDecimal get(final Object key) {
+        if (!this.isKey(key)) {
+            return null;
+        }
+        int position = this.search(this.encode(key));
+        return position >= 0 ? this.value(position) : null;
+    }
+
+    @Override
+    public BigDecimal put(final K key, final BigDecimal value) {
+        BigDecimal retVal = this.get(key);
+        this.set(this.encode(key), value);
+        return retVal;
+    }
+
+    @Override
+    public BigDecimal remove(final Object key) {
+        if (!this.isKey(key)) {
+            return null;
+        }
+        int position = this.search(this.encode(key));
+        if (position < 0) {
+            return null;
+        }
+        BigDecimal retVal = this.value(position);
+        this.removeAt(position);
+        return retVal;
+    }
+
+    @Override
+    public int size() {
+        this.merge();
+        return mySize;
+    }
+
+    private void append(final long key, final double value, final BigDecimal decimal) {
+        myScaled = null;
+        if (mySize == myKeys.length) {
+            int capacity = Math.max(4, mySize + (mySize >> 1));
+            myDecimals = Arrays.copyOf(myDecimals, capacity);
+            myKeys = Arrays.copyOf(myKeys, capacity);
+            myValues = Arrays.copyOf(myValues, capacity);
+        }
+        myDecimals[mySize] = decimal;
+        myKeys[mySize] = key;
+        myValues[mySize] = value;
+        mySize++;
+    }
+
+    private Iterator<Map.Entry<K, BigDecimal>> iterator() {
+
+        this.merge();
+
+        return new Iterator<Map.Entry<K, BigDecimal>>() {
+
+            private int myLast = -1;
+            private int myNext = 0;
+
+            public boolean hasNext() {
+                return myNext < mySize;
+            }
+
+            public Map.Entry<K, BigDecimal> next() {
+                if (myNext >= mySize) {
+                    throw new NoSuchElementException();
+                }
+                myLast = myNext++;
+                return new Factor(myKeys[myLast]);
+            }
+
+            public void remove() {
+                if (myLast < 0) {
+                    throw new IllegalStateException();
+                }
+                CompactFactors.this.removeAt(myLast);
+                myNext = myLast;
+                myLast = -1;
+            }
+
+        };
+    }
+
+    /**
+     * Sort the unsorted tail (if there is one) and merge it into the sorted head.
+     */
+    private void merge() {
+        if (mySorted < mySize) {
+            synchronized (this) {
+
+                int head = mySorted;
+                int size = mySize;
+
+                if (head < size) {
+
+                    int tail = size - head;
+
+                    int[] order = new int[tail];
+                    for (int t = 0; t < tail; t++) {
+                        order[t] = head + t;
+                    }
+                    CompactFactors.sort(myKeys, order, new int[tail], 0, tail);
+
+                    BigDecimal[] decimals = new BigDecimal[size];
+                    long[] keys = new long[size];
+                    double[] values = new double[size];
+                    int count = 0;
+
+                    int h = 0;
+                    for (int t = 0; t < tail; t++) {
+
+                        int position = order[t];
+                        long key = myKeys[position];
+
+                        while (h < head && myKeys[h] < key) {
+                            decimals[count] = myDecimals[h];
+                            keys[count] = myKeys[h];
+                            values[count++] = myValues[h++];
+                        }
+
+                        decimals[count] = myDecimals[position];
+                        keys[count] = key;
+                        values[count++] = myValues[position];
+                    }
+                    while (h < head) {
+                        decimals[count] = myDecimals[h];
+                        keys[count] = myKeys[h];
+                        values[count++] = myValues[h++];
+                    }
+
+                    myDecimals = decimals;
+                    myKeys = keys;
+                    myValues = values;
+                    mySorted = count;
+                }
+            }
+        }
+    }
+
+    private void removeAt(final int position) {
+        myScaled = null;
+        int tail = mySize - position - 1;
+        if (tail > 0) {
+            System.arraycopy(myDecimals, position + 1, myDecimals, position, tail);
+            System.arraycopy(myKeys, position + 1, myKeys, position, tail);
+            System.arraycopy(myValues, position + 1, myValues, position, tail);
+        }
+        mySize--;
+        myDecimals[mySize] = null;
+        if (position < mySorted) {
+            mySorted--;
+        }
+    }
+
+    /**
+     * @return The (not necessarily sorted) position of the key, or -1 if there is no such key
+     */
+    private int search(final long key) {
+
+        if (mySize - mySorted > TAIL) {
+            this.merge();
+        }
+
+        for (int t = mySize - 1, head = mySorted; t >= head; t--) {
+            if (myKeys[t] == key) {
+                return t;
+            }
+        }
+
+        int position = Arrays.binarySearch(myKeys, 0, mySorted, key);
+        return position >= 0 ? position : -1;
+    }
+
+    private void set(final long key, final BigDecimal value) {
+        this.update(key, value.doubleValue(), value);
+    }
+
+    private void set(final long key, final double value) {
+        this.update(key, value, null);
+    }
+
+    private void update(final long key, final double value, final BigDecimal decimal) {
+
+        if (mySorted == mySize && (mySize == 0 || key > myKeys[mySize - 1])) {
+            this.append(key, value, decimal);
+            mySorted = mySize;
+            return;
+        }
+
+        int position = this.search(key);
+        if (position >= 0) {
+            myDecimals[position] = decimal;
+            myValues[position] = value;
+            myScaled = null;
+        } else {
+            this.append(key, value, decimal);
+        }
+    }
+
+    /**
+     * Adds the value to the factor (a missing factor being 0.0). If the existing factor is known as a
+     * {@link BigDecimal} the sum is kept exact, otherwise only the double is updated.
+     *
+     * @return The resulting factor
+     */
+    double add(final K key, final double value) {
+
+        long encoded = this.encode(key);
+
+        int position = this.search(encoded);
+        if (position < 0) {
+            this.update(encoded, value, null);
+            return value;
+        }
+
+        myScaled = null;
+
+        BigDecimal decimal = myDecimals[position];
+        if (decimal != null) {
+            decimal = decimal.add(BigDecimal.valueOf(value));
+            myDecimals[position] = decimal;
+            return myValues[position] = decimal.doubleValue();
+        }
+
+        return myValues[position] += value;
+    }
+
+    abstract K decode(long key);
+
+    /**
+     * @param position The (sorted) position
+     * @param exponent The adjustment exponent – the factor is scaled by 10^exponent
+     */
+    double doubleValue(final int position, final int exponent) {
+        if (exponent == 0) {
+            return myValues[position];
+        }
+        Scaled scaled = myScaled;
+        if (scaled != null && scaled.exponent == exponent) {
+            return scaled.values[position];
+        }
+        return this.value(position).movePointRight(exponent).doubleValue();
+    }
+
+    /**
+     * @return The factor, scaled by 10^exponent, or 0.0 if there is no such key
+     */
+    double doubleValue(final K key, final int exponent) {
+        int position = this.search(this.encode(key));
+        return position >= 0 ? this.doubleValue(position, exponent) : 0.0;
+    }
+
+    abstract long encode(Object key);
+
+    /**
+     * @return A hash code based on the keys only – equal key sets have equal hash codes
+     */
+    int hashKeys() {
+        int size = this.prepare();
+        int retVal = size;
+        for (int i = 0; i < size; i++) {
+            retVal = 31 * retVal + Long.hashCode(myKeys[i]);
+        }
+        return retVal;
+    }
+
+    abstract boolean isKey(Object key);
+
+    /**
+     * Same as comparing the key sets, but without creating any key instances.
+     */
+    boolean isKeySetEqual(final CompactFactors<?> other) {
+        int size = this.prepare();
+        if (other.prepare() != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (myKeys[i] != other.myKeys[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long key(final int position) {
+        return myKeys[position];
+    }
+
+    /**
+     * @return The number of factors, and from here on they're sorted so that positions can be used
+     */
+    int prepare() {
+        this.merge();
+        return mySize;
+    }
+
+    /**
+     * @return All factors (in sorted position order) scaled by 10^exponent
+     */
+    double[] scaled(final int exponent) {
+
+        this.merge();
+
+        if (exponent == 0) {
+            return myValues;
+        }
+
+        Scaled scaled = myScaled;
+        if (scaled == null || scaled.exponent != exponent) {
+            double[] values = new double[mySize];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.value(i).movePointRight(exponent).doubleValue();
+            }
+            myScaled = scaled = new Scaled(exponent, values);
+        }
+        return scaled.values;
+    }
+
+    void set(final K key, final BigDecimal value) {
+        this.set(this.encode(key), value);
+    }
+
+    void set(final K key, final double value) {
+        this.set(this.encode(key), value);
+    }
+
+    BigDecimal value(final int position) {
+        BigDecimal retVal = myDecimals[position];
+        if (retVal == null) {
+            myDecimals[position] = retVal = BigDecimal.valueOf(myValues[position]);
+        }
+        return retVal;
+    }
+
+    /**
+     * Feed all (approximate) factors to the aggregator
+     */
+    void visitAll(final AggregatorFunction<Double> aggregator) {
+        this.merge();
+        for (int i = 0; i < mySize; i++) {
+            aggregator.invoke(myValues[i]);
+        }
+    }
+
+}
@@ -26,10 +26,8 @@ import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -38,7 +36,7 @@ import org.ojalgo.function.BinaryFunction;
 import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.aggregator.AggregatorFunction;
 import org.ojalgo.function.aggregator.AggregatorSet;
-import org.ojalgo.function.aggregator.BigAggregator;
+import org.ojalgo.function.aggregator.PrimitiveAggregator;
 import org.ojalgo.function.constant.BigMath;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.function.multiary.AffineFunction;
@@ -77,12 +75,32 @@ import org.ojalgo.type.context.NumberContext;
  */
 public final class Expression extends ModelEntity<Expression> {
 
+    /**
+     * @see Expression#loopLinear(boolean, LinearCallback)
+     */
+    @FunctionalInterface
+    public interface LinearCallback {
+
+        void call(int index, double factor);
+
+    }
+
+    /**
+     * @see Expression#loopQuadratic(boolean, QuadraticCallback)
+     */
+    @FunctionalInterface
+    public interface QuadraticCallback {
+
+        void call(int row, int column, double factor);
+
+    }
+
     private BigDecimal myConstant = null;
     private transient boolean myInfeasible = false;
     private transient Boolean myInteger = null;
-    private final Map<IntIndex, BigDecimal> myLinear;
+    private final CompactFactors.Linear myLinear;
     private final ExpressionsBasedModel myModel;
-    private final Map<IntRowColumn, BigDecimal> myQuadratic;
+    private final CompactFactors.Quadratic myQuadratic;
     private transient boolean myRedundant = false;
     /**
      * A shallow copy (typically created by presolver or integer solver) shares the Map:s holding the
@@ -111,11 +129,8 @@ public final class Expression extends ModelEntity<Expression> {
 
             myShallowCopy = false;
 
-            myLinear = new HashMap<>();
-            myLinear.putAll(expressionToCopy.getLinear());
-
-            myQuadratic = new HashMap<>();
-            myQuadratic.putAll(expressionToCopy.getQuadratic());
+            myLinear = new CompactFactors.Linear(expressionToCopy.getLinear());
+            myQuadratic = new CompactFactors.Quadratic(expressionToCopy.getQuadratic());
 
         } else {
 
@@ -142,8 +157,8 @@ public final class Expression extends ModelEntity<Expression> {
 
         myShallowCopy = false;
 
-        myLinear = new HashMap<>();
-        myQuadratic = new HashMap<>();
+        myLinear = new CompactFactors.Linear();
+        myQuadratic = new CompactFactors.Quadratic();
     }
 
     /**
@@ -157,7 +172,7 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #add(Variable, Comparable)
      */
     public Expression add(final int index, final double value) {
-        return this.add(index, BigDecimal.valueOf(value));
+        return this.add(myModel.getVariable(index), value);
     }
 
     /**
@@ -171,21 +186,21 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #add(Variable, Comparable)
      */
     public Expression add(final int row, final int column, final double value) {
-        return this.add(row, column, BigDecimal.valueOf(value));
+        return this.add(new IntRowColumn(row, column), value);
     }
 
     /**
      * @see #add(Variable, Comparable)
      */
     public Expression add(final int row, final int column, final long value) {
-        return this.add(row, column, BigDecimal.valueOf(value));
+        return this.add(row, column, (double) value);
     }
 
     /**
      * @see #add(Variable, Comparable)
      */
     public Expression add(final int index, final long value) {
-        return this.add(index, BigDecimal.valueOf(value));
+        return this.add(index, (double) value);
     }
 
     /**
@@ -210,7 +225,25 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression add(final IntIndex key, final double value) {
-        return this.add(key, BigDecimal.valueOf(value));
+
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!Double.isFinite(value)) {
+            throw new NumberFormatException("Infinite or NaN");
+        }
+
+        if (value == PrimitiveMath.ZERO) {
+            return this;
+        }
+
+        if (myLinear.add(key, value) != PrimitiveMath.ZERO) {
+            myModel.addReference(key);
+        } else {
+            myLinear.remove(key);
+        }
+
+        return this;
     }
 
     /**
@@ -226,7 +259,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression add(final IntIndex row, final IntIndex column, final double value) {
-        return this.add(row, column, BigDecimal.valueOf(value));
+        return this.add(new IntRowColumn(row, column), value);
     }
 
     /**
@@ -234,7 +267,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression add(final IntIndex row, final IntIndex column, final long value) {
-        return this.add(row, column, BigDecimal.valueOf(value));
+        return this.add(row, column, (double) value);
     }
 
     /**
@@ -242,7 +275,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression add(final IntIndex key, final long value) {
-        return this.add(key, BigDecimal.valueOf(value));
+        return this.add(key, (double) value);
     }
 
     /**
@@ -267,7 +300,26 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression add(final IntRowColumn key, final double value) {
-        return this.add(key, BigDecimal.valueOf(value));
+
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!Double.isFinite(value)) {
+            throw new NumberFormatException("Infinite or NaN");
+        }
+
+        if (value == PrimitiveMath.ZERO) {
+            return this;
+        }
+
+        if (myQuadratic.add(key, value) != PrimitiveMath.ZERO) {
+            myModel.addReference(key.row());
+            myModel.addReference(key.column());
+        } else {
+            myQuadratic.remove(key);
+        }
+
+        return this;
     }
 
     /**
@@ -275,7 +327,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression add(final IntRowColumn key, final long value) {
-        return this.add(key, BigDecimal.valueOf(value));
+        return this.add(key, (double) value);
     }
 
     /**
@@ -289,14 +341,14 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #add(Variable, Comparable)
      */
     public Expression add(final Variable variable, final double value) {
-        return this.add(variable, BigDecimal.valueOf(value));
+        return this.add(variable.getIndex(), value);
     }
 
     /**
      * @see #add(Variable, Comparable)
      */
     public Expression add(final Variable variable, final long value) {
-        return this.add(variable, BigDecimal.valueOf(value));
+        return this.add(variable, (double) value);
     }
 
     /**
@@ -310,14 +362,14 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #add(Variable, Comparable)
      */
     public Expression add(final Variable variable1, final Variable variable2, final double value) {
-        return this.add(variable1, variable2, BigDecimal.valueOf(value));
+        return this.add(variable1.getIndex().index, variable2.getIndex().index, value);
     }
 
     /**
      * @see #add(Variable, Comparable)
      */
     public Expression add(final Variable variable1, final Variable variable2, final long value) {
-        return this.add(variable1, variable2, BigDecimal.valueOf(value));
+        return this.add(variable1, variable2, (double) value);
     }
 
     @Override
@@ -438,11 +490,11 @@ public final class Expression extends ModelEntity<Expression> {
     }
 
     public double doubleValue(final IntIndex key, final boolean adjusted) {
-        return this.getLinearFactor(key, adjusted).doubleValue();
+        return myLinear.doubleValue(key, adjusted ? this.getAdjustmentExponent() : 0);
     }
 
     public double doubleValue(final IntRowColumn key, final boolean adjusted) {
-        return this.getQuadraticFactor(key, adjusted).doubleValue();
+        return myQuadratic.doubleValue(key, adjusted ? this.getAdjustmentExponent() : 0);
     }
 
     public BigDecimal evaluate(final Access1D<BigDecimal> point) {
@@ -533,7 +585,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public double getAdjustedLinearFactor(final IntIndex key) {
-        return this.getLinearFactor(key, true).doubleValue();
+        return this.doubleValue(key, true);
     }
 
     /**
@@ -557,7 +609,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public double getAdjustedQuadraticFactor(final IntRowColumn key) {
-        return this.getQuadraticFactor(key, true).doubleValue();
+        return this.doubleValue(key, true);
     }
 
     /**
@@ -644,6 +696,33 @@ public final class Expression extends ModelEntity<Expression> {
         return myQuadratic.size() == 0 && myLinear.size() > 0 && myLinear.keySet().stream().anyMatch(i -> myModel.getVariable(i).isInteger());
     }
 
+    /**
+     * Will call the callback with each (non-zero) linear factor, in increasing index order, without creating any
+     * {@link BigDecimal} or key instances. This is the preferred way for solvers to copy the model.
+     *
+     * @param adjusted Whether the factors should be scaled by the adjustment factor or not
+     * @param callback Receives the variable index and the factor
+     */
+    public void loopLinear(final boolean adjusted, final LinearCallback callback) {
+        int limit = myLinear.prepare();
+        double[] factors = myLinear.scaled(adjusted ? this.getAdjustmentExponent() : 0);
+        for (int i = 0; i < limit; i++) {
+            callback.call(myLinear.index(i), factors[i]);
+        }
+    }
+
+    /**
+     * @see #loopLinear(boolean, LinearCallback)
+     * @param callback Receives the row and column variable indices, and the factor
+     */
+    public void loopQuadratic(final boolean adjusted, final QuadraticCallback callback) {
+        int limit = myQuadratic.prepare();
+        double[] factors = myQuadratic.scaled(adjusted ? this.getAdjustmentExponent() : 0);
+        for (int i = 0; i < limit; i++) {
+            callback.call(myQuadratic.row(i), myQuadratic.column(i), factors[i]);
+        }
+    }
+
     /**
      * @see #set(Variable, Comparable)
      */
@@ -655,7 +734,7 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #set(Variable, Comparable)
      */
     public Expression set(final int index, final double value) {
-        return this.set(index, BigDecimal.valueOf(value));
+        return this.set(myModel.getVariable(index), value);
     }
 
     /**
@@ -669,7 +748,7 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #set(Variable, Comparable)
      */
     public Expression set(final int row, final int column, final double value) {
-        return this.set(row, column, BigDecimal.valueOf(value));
+        return this.set(new IntRowColumn(row, column), value);
     }
 
     /**
@@ -699,7 +778,7 @@ public final class Expression extends ModelEntity<Expression> {
         BigDecimal tmpValue = ModelEntity.toBigDecimal(value);
 
         if (tmpValue.signum() != 0) {
-            myLinear.put(key, tmpValue);
+            myLinear.set(key, tmpValue);
             myModel.addReference(key);
         } else {
             myLinear.remove(key);
@@ -713,7 +792,22 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression set(final IntIndex key, final double value) {
-        return this.set(key, BigDecimal.valueOf(value));
+
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!Double.isFinite(value)) {
+            throw new NumberFormatException("Infinite or NaN");
+        }
+
+        if (value != PrimitiveMath.ZERO) {
+            myLinear.set(key, value);
+            myModel.addReference(key);
+        } else {
+            myLinear.remove(key);
+        }
+
+        return this;
     }
 
     /**
@@ -729,7 +823,7 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression set(final IntIndex row, final IntIndex column, final double value) {
-        return this.set(row, column, BigDecimal.valueOf(value));
+        return this.set(new IntRowColumn(row, column), value);
     }
 
     /**
@@ -761,7 +855,7 @@ public final class Expression extends ModelEntity<Expression> {
         BigDecimal tmpValue = ModelEntity.toBigDecimal(value);
 
         if (tmpValue.signum() != 0) {
-            myQuadratic.put(key, tmpValue);
+            myQuadratic.set(key, tmpValue);
             myModel.addReference(key.row());
             myModel.addReference(key.column());
         } else {
@@ -776,7 +870,23 @@ public final class Expression extends ModelEntity<Expression> {
      */
     @Deprecated
     public Expression set(final IntRowColumn key, final double value) {
-        return this.set(key, BigDecimal.valueOf(value));
+
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!Double.isFinite(value)) {
+            throw new NumberFormatException("Infinite or NaN");
+        }
+
+        if (value != PrimitiveMath.ZERO) {
+            myQuadratic.set(key, value);
+            myModel.addReference(key.row());
+            myModel.addReference(key.column());
+        } else {
+            myQuadratic.remove(key);
+        }
+
+        return this;
     }
 
     /**
@@ -798,7 +908,7 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #set(Variable, Comparable)
      */
     public Expression set(final Variable variable, final double value) {
-        return this.set(variable, BigDecimal.valueOf(value));
+        return this.set(variable.getIndex(), value);
     }
 
     /**
@@ -819,7 +929,7 @@ public final class Expression extends ModelEntity<Expression> {
      * @see #set(Variable, Comparable)
      */
     public Expression set(final Variable variable1, final Variable variable2, final double value) {
-        return this.set(variable1, variable2, BigDecimal.valueOf(value));
+        return this.set(variable1.getIndex().index, variable2.getIndex().index, value);
     }
 
     /**
@@ -952,9 +1062,7 @@ public final class Expression extends ModelEntity<Expression> {
         AffineFunction<Double> retVal = AffineFunction.makePrimitive(myModel.countVariables());
 
         if (this.isAnyLinearFactorNonZero()) {
-            for (Entry<IntIndex, BigDecimal> entry : myLinear.entrySet()) {
-                retVal.linear().set(entry.getKey().index, entry.getValue().doubleValue());
-            }
+            this.loopLinear(false, retVal.linear()::set);
         }
 
         retVal.setConstant(this.getConstant());
@@ -971,9 +1079,7 @@ public final class Expression extends ModelEntity<Expression> {
         PureQuadraticFunction<Double> retVal = PureQuadraticFunction.makePrimitive(myModel.countVariables());
 
         if (this.isAnyQuadraticFactorNonZero()) {
-            for (Entry<IntRowColumn, BigDecimal> entry : myQuadratic.entrySet()) {
-                retVal.quadratic().set(entry.getKey().row, entry.getKey().column, entry.getValue().doubleValue());
-            }
+            this.loopQuadratic(false, retVal.quadratic()::set);
         }
 
         retVal.setConstant(this.getConstant());
@@ -986,15 +1092,11 @@ public final class Expression extends ModelEntity<Expression> {
         QuadraticFunction<Double> retVal = QuadraticFunction.makePrimitive(myModel.countVariables());
 
         if (this.isAnyQuadraticFactorNonZero()) {
-            for (Entry<IntRowColumn, BigDecimal> entry : myQuadratic.entrySet()) {
-                retVal.quadratic().set(entry.getKey().row, entry.getKey().column, entry.getValue().doubleValue());
-            }
+            this.loopQuadratic(false, retVal.quadratic()::set);
         }
 
         if (this.isAnyLinearFactorNonZero()) {
-            for (Entry<IntIndex, BigDecimal> entry : myLinear.entrySet()) {
-                retVal.linear().set(entry.getKey().index, entry.getValue().doubleValue());
-            }
+            this.loopLinear(false, retVal.linear()::set);
         }
 
         retVal.setConstant(this.getConstant());
@@ -1107,25 +1209,21 @@ public final class Expression extends ModelEntity<Expression> {
             return 0;
         }
 
-        AggregatorSet<BigDecimal> aggregators = BigAggregator.getSet();
-        AggregatorFunction<BigDecimal> largest = aggregators.largest();
-        AggregatorFunction<BigDecimal> smallest = aggregators.smallest();
+        AggregatorSet<Double> aggregators = PrimitiveAggregator.getSet();
+        AggregatorFunction<Double> largest = aggregators.largest();
+        AggregatorFunction<Double> smallest = aggregators.smallest();
 
         if (this.isAnyQuadraticFactorNonZero()) {
 
-            for (BigDecimal quadraticFactor : myQuadratic.values()) {
-                largest.invoke(quadraticFactor);
-                smallest.invoke(quadraticFactor);
-            }
+            myQuadratic.visitAll(largest);
+            myQuadratic.visitAll(smallest);
 
             return ModelEntity.deriveAdjustmentExponent(largest, smallest, RANGE);
 
         } else if (this.isAnyLinearFactorNonZero()) {
 
-            for (BigDecimal linearFactor : myLinear.values()) {
-                largest.invoke(linearFactor);
-                smallest.invoke(linearFactor);
-            }
+            myLinear.visitAll(largest);
+            myLinear.visitAll(smallest);
 
             return ModelEntity.deriveAdjustmentExponent(largest, smallest, RANGE);
 
@@ -1263,7 +1361,7 @@ public final class Expression extends ModelEntity<Expression> {
         return retVal;
     }
 
-    Map<IntIndex, BigDecimal> getLinear() {
+    CompactFactors.Linear getLinear() {
         return myLinear;
     }
 
@@ -1275,7 +1373,7 @@ public final class Expression extends ModelEntity<Expression> {
         return myModel;
     }
 
-    Map<IntRowColumn, BigDecimal> getQuadratic() {
+    CompactFactors.Quadratic getQuadratic() {
         return myQuadratic;
     }
 
@@ -1350,6 +1448,22 @@ public final class Expression extends ModelEntity<Expression> {
         return myRedundant;
     }
 
+    /**
+     * @return true if this is a shallow copy sharing the factors of the other expression
+     */
+    boolean isShallowCopyOf(final Expression original) {
+        return myShallowCopy && myLinear == original.getLinear() && myQuadratic == original.getQuadratic();
+    }
+
+    @Override
+    void resetTo(final Expression original) {
+        super.resetTo(original);
+        myConstant = original.getConstant();
+        myInfeasible = false;
+        myInteger = original.isInteger() ? Boolean.TRUE : null;
+        myRedundant = false;
+    }
+
     Variable resolve(final Structure1D.IntIndex index) {
         return myModel.getVariable(index);
     }
@@ -41,6 +41,9 @@ import org.ojalgo.array.Array1D;
 import org.ojalgo.array.ArrayR064;
 import org.ojalgo.function.constant.BigMath;
 import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.netio.DataInterpreter;
+import org.ojalgo.netio.DataReader;
+import org.ojalgo.netio.DataWriter;
 import org.ojalgo.netio.InMemoryFile;
 import org.ojalgo.netio.ToFileWriter;
 import org.ojalgo.optimisation.Optimisation.Integration;
@@ -152,12 +155,24 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
 
     public enum FileFormat {
 
-        EBM, MPS;
+        /**
+         * A compact binary version of {@link #EBM}, recognised by the file name ending ".ebmb". This is
+         * what {@link ExpressionsBasedModel#newInterpreter()} reads/writes.
+         */
+        BIN,
+        /**
+         * The "native" EBM file format – text based, and similar in structure to the {@link #BIN} format.
+         */
+        EBM,
+        /**
+         * Free format MPS files, with some of the various extensions.
+         */
+        MPS;
 
         /**
-         * Apart from the "native" EBM file format, currently only supports the MPS file format, but with some
-         * of the various extensions. In particular it is possible to parse QP models using QUADOBJ or QMATRIX
-         * file sections.
+         * Apart from the "native" EBM file formats (text or binary), currently only supports the MPS file
+         * format, but with some of the various extensions. In particular it is possible to parse QP models
+         * using QUADOBJ or QMATRIX file sections.
          */
         public static FileFormat from(final File file) {
             return FileFormat.from(file.getPath());
@@ -175,6 +190,10 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
                 return FileFormat.EBM;
             }
 
+            if (lowerCasePath.endsWith("ebmb")) {
+                return FileFormat.BIN;
+            }
+
             throw new IllegalArgumentException();
         }
     }
@@ -574,12 +593,23 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         }
     }
 
+    /**
+     * Reads/writes models in the {@link FileFormat#BIN} format. Use it with {@link DataReader}/{@link DataWriter}
+     * directly, or to store models in a {@link org.ojalgo.data.batch.BatchNode}. Each model is self-delimiting
+     * so any number of them can be written to the same stream.
+     */
+    public static DataInterpreter<ExpressionsBasedModel> newInterpreter() {
+        return FileFormatBIN.INTERPRETER;
+    }
+
     public static ExpressionsBasedModel parse(final InputStream input, final FileFormat format) {
         switch (format) {
         case MPS:
             return FileFormatMPS.read(input);
         case EBM:
             return FileFormatEBM.read(input);
+        case BIN:
+            return FileFormatBIN.read(input);
         default:
             throw new IllegalArgumentException();
         }
@@ -657,10 +687,15 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
     }
 
     ExpressionsBasedModel(final ExpressionsBasedModel modelToCopy, final boolean shallow, final boolean prune) {
+        this(modelToCopy, modelToCopy.options, shallow, prune);
+    }
+
+    ExpressionsBasedModel(final ExpressionsBasedModel modelToCopy, final Optimisation.Options optimisationOptions, final boolean shallow,
+            final boolean prune) {
 
         super();
 
-        options = modelToCopy.options;
+        options = optimisationOptions;
 
         this.setOptimisationSense(modelToCopy.getOptimisationSense());
         this.addObjectiveConstant(modelToCopy.getObjectiveConstant());
@@ -1356,6 +1391,40 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         return shallowCopy;
     }
 
+    /**
+     * Same as {@link #snapshot()}, but will (if possible) reset and return the previous snapshot rather than
+     * creating a new one. The variables and expressions of the previous snapshot are reset to match those of
+     * this model – no new model entities are created. Any expressions added to the previous snapshot (not
+     * present in this model) are removed. If the previous snapshot was not created from this model (sharing its
+     * options), or if expressions have been added to this model since it was created, a new snapshot is
+     * returned.
+     * <p>
+     * Intended for (single threaded) reuse of the same snapshot instance for many similar, consecutive,
+     * subproblems – like the nodes of a branch-and-bound search.
+     *
+     * @param previous A previous snapshot, no longer in use, or null
+     */
+    public ExpressionsBasedModel snapshot(final ExpressionsBasedModel previous) {
+        return this.snapshot(previous, options);
+    }
+
+    /**
+     * Same as {@link #snapshot(ExpressionsBasedModel)}, but the snapshot has its own options rather than
+     * sharing those of this model. Intended for subproblems that should be solved with different (typically
+     * more restrictive) options than the model itself – like strong branching with an iterations limit.
+     *
+     * @param previous A previous snapshot, created with the same options and no longer in use, or null
+     * @param options The options of the snapshot
+     */
+    public ExpressionsBasedModel snapshot(final ExpressionsBasedModel previous, final Optimisation.Options options) {
+        if (previous != null && previous.options == options && previous.resetTo(this)) {
+            return previous;
+        }
+        ExpressionsBasedModel shallowCopy = new ExpressionsBasedModel(this, options, true, false);
+        shallowCopy.relax(true);
+        return shallowCopy;
+    }
+
     @Override
     public String toString() {
 
@@ -1463,15 +1532,20 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
     }
 
     /**
-     * Save this instance to file. The file format is {@link FileFormat#EBM} and the file name is therefore
-     * recommended to end with ".ebm".
+     * Save this instance to file. If the file name ends with ".mps" the file format is {@link FileFormat#MPS},
+     * if it ends with ".ebmb" it is {@link FileFormat#BIN}, otherwise it is {@link FileFormat#EBM} and the
+     * file name is therefore recommended to end with ".ebm".
      *
      * @param file The path/name of the file to write.
      */
     public void writeTo(final File file) {
+
+        String name = file.getName().toLowerCase();
+        FileFormat format = name.endsWith(".mps") ? FileFormat.MPS : name.endsWith(".ebmb") ? FileFormat.BIN : FileFormat.EBM;
+
         ToFileWriter.mkdirs(file.getParentFile());
         try (FileOutputStream output = new FileOutputStream(file)) {
-            FileFormatEBM.write(this, output);
+            this.writeTo(output, format);
         } catch (IOException cause) {
             throw new RuntimeException(cause);
         }
@@ -1485,6 +1559,26 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         }
     }
 
+    /**
+     * The model is streamed to the output, which is closed when done. The MPS format is written in free
+     * format, and cannot represent quadratic constraints.
+     */
+    public void writeTo(final OutputStream output, final FileFormat format) {
+        switch (format) {
+        case MPS:
+            FileFormatMPS.write(this, output);
+            break;
+        case EBM:
+            FileFormatEBM.write(this, output);
+            break;
+        case BIN:
+            FileFormatBIN.write(this, output);
+            break;
+        default:
+            throw new IllegalArgumentException();
+        }
+    }
+
     private Optimisation.Result optimise() {
 
         if (!myShallowCopy && PRESOLVERS.size() > 0) {
@@ -1511,6 +1605,45 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
         return new Optimisation.Result(retState, retValue, retSolution);
     }
 
+    /**
+     * @return true if this (shallow copy) model could be reset to match the original
+     */
+    private boolean resetTo(final ExpressionsBasedModel original) {
+
+        if (!myShallowCopy || this == original || myVariables.size() != original.countVariables()
+                || myExpressions.size() < original.countExpressions()) {
+            return false;
+        }
+
+        // Iterate over the keys - an expression's name is not always its key (the objective as a constraint)
+        for (Map.Entry<String, Expression> entry : original.myExpressions.entrySet()) {
+            Expression copy = myExpressions.get(entry.getKey());
+            if (copy == null || !copy.isShallowCopyOf(entry.getValue())) {
+                return false;
+            }
+        }
+
+        if (myExpressions.size() > original.countExpressions()) {
+            myExpressions.keySet().removeIf(name -> !original.myExpressions.containsKey(name));
+        }
+
+        for (Map.Entry<String, Expression> entry : original.myExpressions.entrySet()) {
+            myExpressions.get(entry.getKey()).resetTo(entry.getValue());
+        }
+        for (int i = 0; i < myVariables.size(); i++) {
+            myVariables.get(i).resetTo(original.getVariable(i));
+        }
+
+        myInfeasible = false;
+        myObjectiveConstant = original.getObjectiveConstant();
+        myOptimisationSense = original.getOptimisationSense();
+        myRelaxed = true;
+        myFixedVariables.clear();
+        myVariablesCategorisation.reset();
+
+        return true;
+    }
+
     private void scanEntities() {
 
         boolean anyVarInt = this.isAnyVariableInteger();
@@ -1665,41 +1798,37 @@ public final class ExpressionsBasedModel implements Optimisation.Model {
 
         //  myExpressions.values().forEach(expr -> expr.reset());
 
-        boolean needToRepeat = false;
-
         BigDecimal compensatedLowerLimit;
         BigDecimal compensatedUpperLimit;
 
-        do {
+        PresolveQueue queue = new PresolveQueue(myVariables, this.getExpressions());
+        Set<IntIndex> fixedVariables = queue.getFixed();
 
-            Set<IntIndex> fixedVariables = this.getFixedVariables();
-            needToRepeat = false;
+        for (Expression expr = queue.poll(); expr != null; expr = queue.poll()) {
 
-            for (Expression expr : this.getExpressions()) {
-                if (!needToRepeat && expr.isConstraint() && !expr.isInfeasible() && !expr.isRedundant() && expr.countQuadraticFactors() == 0) {
+            BigDecimal calculateSetValue = expr.calculateSetValue(fixedVariables);
 
-                    BigDecimal calculateSetValue = expr.calculateSetValue(fixedVariables);
+            compensatedLowerLimit = expr.getCompensatedLowerLimit(calculateSetValue);
+            compensatedUpperLimit = expr.getCompensatedUpperLimit(calculateSetValue);
 
-                    compensatedLowerLimit = expr.getCompensatedLowerLimit(calculateSetValue);
-                    compensatedUpperLimit = expr.getCompensatedUpperLimit(calculateSetValue);
-
-                    myTemporary.clear();
-                    myTemporary.addAll(expr.getLinearKeySet());
-                    myTemporary.removeAll(fixedVariables);
-
-                    for (Presolver presolver : PRESOLVERS) {
-                        if (!needToRepeat) {
-                            needToRepeat |= presolver.simplify(expr, myTemporary, compensatedLowerLimit, compensatedUpperLimit, options.feasibility);
-                        }
-                    }
+            myTemporary.clear();
+            myTemporary.addAll(expr.getLinearKeySet());
+            myTemporary.removeAll(fixedVariables);
 
+            boolean needToRepeat = false;
+            for (Presolver presolver : PRESOLVERS) {
+                if (!needToRepeat) {
+                    needToRepeat |= presolver.simplify(expr, myTemporary, compensatedLowerLimit, compensatedUpperLimit, options.feasibility);
                 }
             }
 
-        } while (needToRepeat);
+            if (needToRepeat) {
+                queue.requeue();
+            }
+        }
 
         if (!this.isInfeasible()) {
-            Set<IntIndex> fixedVariables = this.getFixedVariables();
+            fixedVariables = this.getFixedVariables();
             for (Expression expr : this.getExpressions()) {
                 if (expr.isConstraint() && expr.isRedundant() && expr.countQuadraticFactors() == 0) {
                     // Specifically need to check that constraints that have been determined redundant
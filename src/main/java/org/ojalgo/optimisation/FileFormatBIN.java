@@ -0,0 +1,437 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.ojalgo.netio.DataInterpreter;
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
+
+/**
+ * A compact binary version of the EBM file format – same contents, but typically several times smaller and
+ * faster to write/read.
+ * <ol>
+ * <li>Header: 4 byte magic number followed by a 1 byte version number, and then 1 byte for the optimisation
+ * sense (if any).
+ * <li>String table: the number of unique names followed by the names themselves. Variables and expressions
+ * then refer to their names by index.
+ * <li>Variables: name, flags, and then whichever of lower/upper limit, contribution weight and value that is
+ * present (as indicated by the flags).
+ * <li>Expressions: name, flags and limits/weight as for variables, and then the linear and quadratic entries
+ * sorted by index and delta encoded.
+ * </ol>
+ * All counts and indices are unsigned variable length integers (7 bits per byte). Numbers are tagged – zero,
+ * integer, decimal (scale and unscaled value, both zigzag variable length), double or, when nothing else can
+ * represent the value exactly, the {@link BigDecimal} unscaled value bytes and scale. Whichever is the
+ * shorter exact representation is used.
+ *
+ * @author apete
+ */
+abstract class FileFormatBIN {
+
+    static final DataInterpreter<ExpressionsBasedModel> INTERPRETER = new DataInterpreter<>() {
+
+        public ExpressionsBasedModel deserialize(final DataInput input) throws IOException {
+            return FileFormatBIN.read(input);
+        }
+
+        public void serialize(final ExpressionsBasedModel data, final DataOutput output) throws IOException {
+            FileFormatBIN.write(data, output);
+        }
+
+    };
+
+    static final int MAGIC = 0x45424D42; // "EBMB"
+    static final byte VERSION = 1;
+
+    private static final int LIMIT_LOWER = 1 << 0;
+    private static final int LIMIT_UPPER = 1 << 1;
+    private static final byte NUMBER_DECIMAL = 2;
+    private static final byte NUMBER_DOUBLE = 3;
+    private static final byte NUMBER_EXACT = 4;
+    private static final byte NUMBER_LONG = 1;
+    private static final byte NUMBER_ZERO = 0;
+    private static final int VARIABLE_INTEGER = 1 << 3;
+    private static final int VARIABLE_VALUE = 1 << 4;
+    private static final int WEIGHT = 1 << 2;
+
+    private static int flags(final ModelEntity<?> entity) {
+        int retVal = 0;
+        if (entity.getLowerLimit() != null) {
+            retVal |= LIMIT_LOWER;
+        }
+        if (entity.getUpperLimit() != null) {
+            retVal |= LIMIT_UPPER;
+        }
+        if (entity.getContributionWeight() != null) {
+            retVal |= WEIGHT;
+        }
+        return retVal;
+    }
+
+    private static void readModelEntity(final ModelEntity<?> entity, final int flags, final DataInput input) throws IOException {
+        if ((flags & LIMIT_LOWER) != 0) {
+            entity.lower(FileFormatBIN.readNumber(input));
+        }
+        if ((flags & LIMIT_UPPER) != 0) {
+            entity.upper(FileFormatBIN.readNumber(input));
+        }
+        if ((flags & WEIGHT) != 0) {
+            entity.weight(FileFormatBIN.readNumber(input));
+        }
+    }
+
+    private static void writeModelEntity(final ModelEntity<?> entity, final int flags, final DataOutput output) throws IOException {
+        if ((flags & LIMIT_LOWER) != 0) {
+            FileFormatBIN.writeNumber(entity.getLowerLimit(), output);
+        }
+        if ((flags & LIMIT_UPPER) != 0) {
+            FileFormatBIN.writeNumber(entity.getUpperLimit(), output);
+        }
+        if ((flags & WEIGHT) != 0) {
+            FileFormatBIN.writeNumber(entity.getContributionWeight(), output);
+        }
+    }
+
+    static ExpressionsBasedModel read(final DataInput input) throws IOException {
+
+        if (input.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary EBM model!");
+        }
+        int version = input.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary EBM version: " + version);
+        }
+
+        ExpressionsBasedModel retVal = new ExpressionsBasedModel();
+
+        int sense = input.readByte();
+        if (sense > 0) {
+            retVal.setOptimisationSense(Optimisation.Sense.values()[sense - 1]);
+        }
+
+        String[] names = new String[FileFormatBIN.readCount(input)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = input.readUTF();
+        }
+
+        for (int v = 0, nbVariables = FileFormatBIN.readCount(input); v < nbVariables; v++) {
+
+            Variable variable = retVal.newVariable(names[FileFormatBIN.readVarInt(input)]);
+            int flags = input.readUnsignedByte();
+
+            FileFormatBIN.readModelEntity(variable, flags, input);
+            variable.integer((flags & VARIABLE_INTEGER) != 0);
+            if ((flags & VARIABLE_VALUE) != 0) {
+                variable.setValue(FileFormatBIN.readNumber(input));
+            }
+        }
+
+        for (int e = 0, nbExpressions = FileFormatBIN.readCount(input); e < nbExpressions; e++) {
+
+            Expression expression = retVal.newExpression(names[FileFormatBIN.readVarInt(input)]);
+            int flags = input.readUnsignedByte();
+
+            FileFormatBIN.readModelEntity(expression, flags, input);
+
+            int index = 0;
+            for (int l = 0, nbLinear = FileFormatBIN.readCount(input); l < nbLinear; l++) {
+                index += FileFormatBIN.readVarInt(input);
+                expression.set(index, FileFormatBIN.readNumber(input));
+            }
+
+            int row = 0;
+            int col = 0;
+            for (int q = 0, nbQuadratic = FileFormatBIN.readCount(input); q < nbQuadratic; q++) {
+                int rowDelta = FileFormatBIN.readVarInt(input);
+                if (rowDelta != 0) {
+                    row += rowDelta;
+                    col = FileFormatBIN.readVarInt(input);
+                } else {
+                    col += FileFormatBIN.readVarInt(input);
+                }
+                expression.set(row, col, FileFormatBIN.readNumber(input));
+            }
+        }
+
+        return retVal;
+    }
+
+    static ExpressionsBasedModel read(final InputStream input) {
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(input))) {
+            return FileFormatBIN.read((DataInput) data);
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    static int readCount(final DataInput input) throws IOException {
+        int retVal = FileFormatBIN.readVarInt(input);
+        if (retVal < 0) {
+            throw new IllegalArgumentException("Corrupt binary EBM data!");
+        }
+        return retVal;
+    }
+
+    static BigDecimal readNumber(final DataInput input) throws IOException {
+        byte tag = input.readByte();
+        switch (tag) {
+        case NUMBER_ZERO:
+            return BigDecimal.ZERO;
+        case NUMBER_LONG:
+            long zigzag = FileFormatBIN.readVarLong(input);
+            return BigDecimal.valueOf(zigzag >>> 1 ^ -(zigzag & 1L));
+        case NUMBER_DECIMAL:
+            int decimalScale = FileFormatBIN.readVarInt(input);
+            long unscaledValue = FileFormatBIN.readVarLong(input);
+            return BigDecimal.valueOf(unscaledValue >>> 1 ^ -(unscaledValue & 1L), decimalScale >>> 1 ^ -(decimalScale & 1));
+        case NUMBER_DOUBLE:
+            return BigDecimal.valueOf(input.readDouble());
+        case NUMBER_EXACT:
+            int scale = FileFormatBIN.readVarInt(input);
+            byte[] unscaled = new byte[FileFormatBIN.readCount(input)];
+            input.readFully(unscaled);
+            return new BigDecimal(new BigInteger(unscaled), scale >>> 1 ^ -(scale & 1));
+        default:
+            throw new IllegalArgumentException("Unknown number tag: " + tag);
+        }
+    }
+
+    static int readVarInt(final DataInput input) throws IOException {
+        int retVal = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            retVal |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return retVal;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt binary EBM data!");
+    }
+
+    static long readVarLong(final DataInput input) throws IOException {
+        long retVal = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.readUnsignedByte();
+            retVal |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return retVal;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt binary EBM data!");
+    }
+
+    static void write(final ExpressionsBasedModel model, final DataOutput output) throws IOException {
+
+        List<Variable> variables = model.getVariables();
+        List<Expression> expressions = new ArrayList<>(model.getExpressions());
+
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] variableNames = new int[variables.size()];
+        int[] expressionNames = new int[expressions.size()];
+        for (int v = 0; v < variableNames.length; v++) {
+            variableNames[v] = FileFormatBIN.lookup(variables.get(v).getName(), indices, names);
+        }
+        for (int e = 0; e < expressionNames.length; e++) {
+            expressionNames[e] = FileFormatBIN.lookup(expressions.get(e).getName(), indices, names);
+        }
+
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+
+        Optimisation.Sense sense = model.getOptimisationSense();
+        output.writeByte(sense != null ? sense.ordinal() + 1 : 0);
+
+        FileFormatBIN.writeVarInt(names.size(), output);
+        for (String name : names) {
+            output.writeUTF(name);
+        }
+
+        FileFormatBIN.writeVarInt(variableNames.length, output);
+        for (int v = 0; v < variableNames.length; v++) {
+
+            Variable variable = variables.get(v);
+            BigDecimal value = variable.getValue();
+
+            int flags = FileFormatBIN.flags(variable);
+            if (variable.isInteger()) {
+                flags |= VARIABLE_INTEGER;
+            }
+            if (value != null) {
+                flags |= VARIABLE_VALUE;
+            }
+
+            FileFormatBIN.writeVarInt(variableNames[v], output);
+            output.writeByte(flags);
+            FileFormatBIN.writeModelEntity(variable, flags, output);
+            if (value != null) {
+                FileFormatBIN.writeNumber(value, output);
+            }
+        }
+
+        FileFormatBIN.writeVarInt(expressionNames.length, output);
+        for (int e = 0; e < expressionNames.length; e++) {
+
+            Expression expression = expressions.get(e);
+
+            int flags = FileFormatBIN.flags(expression);
+
+            FileFormatBIN.writeVarInt(expressionNames[e], output);
+            output.writeByte(flags);
+            FileFormatBIN.writeModelEntity(expression, flags, output);
+
+            List<Entry<IntIndex, BigDecimal>> linear = new ArrayList<>(expression.getLinearEntrySet());
+            linear.sort((e1, e2) -> Integer.compare(e1.getKey().index, e2.getKey().index));
+
+            FileFormatBIN.writeVarInt(linear.size(), output);
+            int index = 0;
+            for (Entry<IntIndex, BigDecimal> entry : linear) {
+                FileFormatBIN.writeVarInt(entry.getKey().index - index, output);
+                index = entry.getKey().index;
+                FileFormatBIN.writeNumber(entry.getValue(), output);
+            }
+
+            List<Entry<IntRowColumn, BigDecimal>> quadratic = new ArrayList<>(expression.getQuadraticEntrySet());
+            quadratic.sort((e1, e2) -> {
+                IntRowColumn k1 = e1.getKey();
+                IntRowColumn k2 = e2.getKey();
+                return k1.row != k2.row ? Integer.compare(k1.row, k2.row) : Integer.compare(k1.column, k2.column);
+            });
+
+            FileFormatBIN.writeVarInt(quadratic.size(), output);
+            int row = 0;
+            int col = 0;
+            for (Entry<IntRowColumn, BigDecimal> entry : quadratic) {
+                IntRowColumn key = entry.getKey();
+                if (key.row != row) {
+                    FileFormatBIN.writeVarInt(key.row - row, output);
+                    FileFormatBIN.writeVarInt(key.column, output);
+                } else {
+                    FileFormatBIN.writeVarInt(0, output);
+                    FileFormatBIN.writeVarInt(key.column - col, output);
+                }
+                row = key.row;
+                col = key.column;
+                FileFormatBIN.writeNumber(entry.getValue(), output);
+            }
+        }
+    }
+
+    static void write(final ExpressionsBasedModel model, final OutputStream output) {
+        try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output))) {
+            FileFormatBIN.write(model, (DataOutput) data);
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    static void writeNumber(final BigDecimal number, final DataOutput output) throws IOException {
+
+        if (number.signum() == 0) {
+            output.writeByte(NUMBER_ZERO);
+            return;
+        }
+
+        BigDecimal stripped = number.stripTrailingZeros();
+        int bits = stripped.unscaledValue().bitLength();
+
+        if (bits < 64 && stripped.scale() == 0) {
+            long value = stripped.longValueExact();
+            output.writeByte(NUMBER_LONG);
+            FileFormatBIN.writeVarLong(value << 1 ^ value >> 63, output);
+            return;
+        }
+
+        // Up to 48 bits the decimal form is never longer than the 8 bytes of a double
+        if (bits > 48) {
+            double value = number.doubleValue();
+            if (Double.isFinite(value) && BigDecimal.valueOf(value).compareTo(number) == 0) {
+                output.writeByte(NUMBER_DOUBLE);
+                output.writeDouble(value);
+                return;
+            }
+        }
+
+        if (bits < 64) {
+            int scale = stripped.scale();
+            long unscaled = stripped.unscaledValue().longValue();
+            output.writeByte(NUMBER_DECIMAL);
+            FileFormatBIN.writeVarInt(scale << 1 ^ scale >> 31, output);
+            FileFormatBIN.writeVarLong(unscaled << 1 ^ unscaled >> 63, output);
+            return;
+        }
+
+        int scale = number.scale();
+        byte[] unscaled = number.unscaledValue().toByteArray();
+        output.writeByte(NUMBER_EXACT);
+        FileFormatBIN.writeVarInt(scale << 1 ^ scale >> 31, output);
+        FileFormatBIN.writeVarInt(unscaled.length, output);
+        output.write(unscaled);
+    }
+
+    static void writeVarInt(final int value, final DataOutput output) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    static void writeVarLong(final long value, final DataOutput output) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0L) {
+            output.writeByte((int) (remaining & 0x7FL) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    private static int lookup(final String name, final Map<String, Integer> indices, final List<String> names) {
+        return indices.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    private FileFormatBIN() {
+        super();
+    }
+
+}
@@ -24,18 +24,40 @@ package org.ojalgo.optimisation;
 import static org.ojalgo.function.constant.BigMath.*;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.netio.ASCII;
+import org.ojalgo.netio.PrimitiveColumnsParser;
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
 
 /**
- * Mathematical Programming System (MPS) parser
+ * Mathematical Programming System (MPS) parser and writer.
+ * <p>
+ * Reading first attempts a fast free-format parse that tokenises the bytes directly (names may not contain
+ * spaces), collects the COLUMNS section in primitive arrays (in parallel chunks for large files) and only
+ * then creates the model entities. If the file can't be read that way (fixed-format names containing spaces
+ * or anything else unexpected) it is parsed again using the original, more lenient, fixed-format aware
+ * parser.
  *
  * @author apete
  */
@@ -67,6 +89,127 @@ final class FileFormatMPS {
         BV, FR, FX, LI, LO, MI, PL, SC, UI, UP;
     }
 
+    /**
+     * The COLUMNS section entries from one chunk of the file, in primitive arrays.
+     */
+    static final class ColumnsChunk {
+
+        int[] column = new int[1024];
+        boolean marker = false;
+        boolean markerState = false;
+        final List<String> names = new ArrayList<>();
+        final List<Boolean> inherit = new ArrayList<>();
+        final List<Boolean> integer = new ArrayList<>();
+        int[] row = new int[1024];
+        int size = 0;
+        double[] value = new double[1024];
+
+        void add(final int col, final int rowIndex, final double val) {
+            if (size == row.length) {
+                int capacity = size + (size >> 1);
+                column = Arrays.copyOf(column, capacity);
+                row = Arrays.copyOf(row, capacity);
+                value = Arrays.copyOf(value, capacity);
+            }
+            column[size] = col;
+            row[size] = rowIndex;
+            value[size] = val;
+            size++;
+        }
+
+    }
+
+    /**
+     * Name to index lookup without first creating a {@link String} from the bytes. Read-only use is thread
+     * safe.
+     */
+    static final class NameIndex {
+
+        private static int hash(final ByteBuffer bytes, final int first, final int limit) {
+            int retVal = 1;
+            for (int i = first; i < limit; i++) {
+                retVal = 31 * retVal + bytes.get(i);
+            }
+            return retVal ^ retVal >>> 16;
+        }
+
+        private int[] myIndices = new int[64];
+        private byte[][] myNames = new byte[64][];
+        private int mySize = 0;
+
+        int get(final ByteBuffer bytes, final int first, final int limit) {
+
+            int mask = myIndices.length - 1;
+
+            for (int slot = NameIndex.hash(bytes, first, limit) & mask; myNames[slot] != null; slot = slot + 1 & mask) {
+                byte[] name = myNames[slot];
+                if (name.length == limit - first) {
+                    boolean match = true;
+                    for (int i = 0; match && i < name.length; i++) {
+                        match = name[i] == bytes.get(first + i);
+                    }
+                    if (match) {
+                        return myIndices[slot];
+                    }
+                }
+            }
+
+            return -1;
+        }
+
+        int get(final String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.ISO_8859_1);
+            return this.get(ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+
+        void put(final String name, final int index) {
+
+            if (2 * (mySize + 1) > myIndices.length) {
+                int[] oldIndices = myIndices;
+                byte[][] oldNames = myNames;
+                myIndices = new int[2 * oldIndices.length];
+                myNames = new byte[2 * oldNames.length][];
+                mySize = 0;
+                for (int i = 0; i < oldNames.length; i++) {
+                    if (oldNames[i] != null) {
+                        this.put(oldNames[i], oldIndices[i]);
+                    }
+                }
+            }
+
+            this.put(name.getBytes(StandardCharsets.ISO_8859_1), index);
+        }
+
+        private void put(final byte[] name, final int index) {
+
+            int mask = myIndices.length - 1;
+
+            int slot = NameIndex.hash(ByteBuffer.wrap(name), 0, name.length) & mask;
+            while (myNames[slot] != null) {
+                slot = slot + 1 & mask;
+            }
+
+            myNames[slot] = name;
+            myIndices[slot] = index;
+            mySize++;
+        }
+
+    }
+
+    /**
+     * Thrown (internally) when the fast free-format parsing fails, and the fixed-format parser has to be used
+     * instead.
+     */
+    static final class NotFreeFormat extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        NotFreeFormat() {
+            super(null, null, false, false);
+        }
+
+    }
+
     final class Column {
 
         private boolean mySemicontinuous = false;
@@ -405,8 +548,43 @@ final class FileFormatMPS {
     private static final String MAX = "MAX";
     private static final String SPACE = " ";
 
+    /**
+     * Don't use parallel COLUMNS parsing for smaller chunks than this
+     */
+    private static final int MIN_CHUNK = 1 << 20;
+    private static final NotFreeFormat NOT_FREE_FORMAT = new NotFreeFormat();
+
     static ExpressionsBasedModel read(final InputStream input) {
 
+        byte[] bytes;
+        try (InputStream stream = input) {
+            bytes = stream.readAllBytes();
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+
+        try {
+
+            return FileFormatMPS.readFree(bytes, Parallelism.CORES.getAsInt());
+
+        } catch (NotFreeFormat | IllegalArgumentException notFree) {
+
+            return FileFormatMPS.readFixed(new ByteArrayInputStream(bytes));
+        }
+    }
+
+    /**
+     * @throws NotFreeFormat (or {@link IllegalArgumentException}) If the data can't be parsed as free-format
+     *         MPS
+     */
+    static ExpressionsBasedModel readFree(final byte[] bytes, final int parallelism) {
+        FileFormatMPS retVal = new FileFormatMPS();
+        retVal.parseFree(ByteBuffer.wrap(bytes), parallelism);
+        return retVal.getModel();
+    }
+
+    static ExpressionsBasedModel readFixed(final InputStream input) {
+
         FileFormatMPS retVal = new FileFormatMPS();
 
         String line;
@@ -432,10 +610,302 @@ final class FileFormatMPS {
         return retVal.getModel();
     }
 
+    static void write(final ExpressionsBasedModel model, final OutputStream output) {
+
+        List<Variable> variables = model.getVariables();
+        int nbVariables = variables.size();
+
+        Set<String> names = new HashSet<>();
+
+        String[] columnNames = new String[nbVariables];
+        for (int j = 0; j < nbVariables; j++) {
+            columnNames[j] = FileFormatMPS.uniqueName(variables.get(j).getName(), "C" + j, names);
+        }
+
+        List<Expression> constraints = new ArrayList<>();
+        for (Expression expression : model.getExpressions()) {
+            if (expression.isConstraint()) {
+                if (expression.isAnyQuadraticFactorNonZero()) {
+                    throw new IllegalArgumentException("The MPS format (as implemented here) cannot represent quadratic constraints!");
+                }
+                constraints.add(expression);
+            }
+        }
+        int nbConstraints = constraints.size();
+
+        String objectiveName = FileFormatMPS.uniqueName("OBJECTIVE", "OBJECTIVE", names);
+        String[] rowNames = new String[nbConstraints];
+        for (int i = 0; i < nbConstraints; i++) {
+            rowNames[i] = FileFormatMPS.uniqueName(constraints.get(i).getName(), "R" + i, names);
+        }
+
+        Expression objective = model.objective();
+
+        // Transpose the (row-wise) constraint expressions to columns
+
+        int[] pointers = new int[nbVariables + 1];
+        for (Expression constraint : constraints) {
+            for (IntIndex key : constraint.getLinearKeySet()) {
+                pointers[key.index + 1]++;
+            }
+        }
+        for (int j = 0; j < nbVariables; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+        int[] rows = new int[pointers[nbVariables]];
+        BigDecimal[] values = new BigDecimal[pointers[nbVariables]];
+        int[] next = Arrays.copyOf(pointers, nbVariables);
+        for (int i = 0; i < nbConstraints; i++) {
+            for (Entry<IntIndex, BigDecimal> entry : constraints.get(i).getLinearEntrySet()) {
+                int position = next[entry.getKey().index]++;
+                rows[position] = i;
+                values[position] = entry.getValue();
+            }
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16)) {
+
+            writer.write(FileSection.NAME.name());
+            writer.newLine();
+
+            if (model.getOptimisationSense() == Optimisation.Sense.MAX) {
+                writer.write(FileSection.OBJSENSE.name());
+                writer.newLine();
+                FileFormatMPS.writeFields(writer, MAX);
+            }
+
+            writer.write(FileSection.ROWS.name());
+            writer.newLine();
+            FileFormatMPS.writeFields(writer, RowType.N.name(), objectiveName);
+            for (int i = 0; i < nbConstraints; i++) {
+                Expression constraint = constraints.get(i);
+                RowType type;
+                if (constraint.isEqualityConstraint()) {
+                    type = RowType.E;
+                } else if (constraint.isLowerLimitSet()) {
+                    type = RowType.G;
+                } else {
+                    type = RowType.L;
+                }
+                FileFormatMPS.writeFields(writer, type.name(), rowNames[i]);
+            }
+
+            writer.write(FileSection.COLUMNS.name());
+            writer.newLine();
+            boolean integer = false;
+            int nbMarkers = 0;
+            for (int j = 0; j < nbVariables; j++) {
+                if (variables.get(j).isInteger() != integer) {
+                    integer = !integer;
+                    FileFormatMPS.writeFields(writer, MARKER + nbMarkers++, "'" + MARKER + "'", integer ? "'" + INTORG + "'" : "'" + INTEND + "'");
+                }
+                BigDecimal cost = objective.get(variables.get(j));
+                if (cost.signum() != 0) {
+                    FileFormatMPS.writeFields(writer, columnNames[j], objectiveName, cost.toString());
+                } else if (pointers[j] == pointers[j + 1]) {
+                    // Make sure the column is defined
+                    FileFormatMPS.writeFields(writer, columnNames[j], objectiveName, "0");
+                }
+                for (int k = pointers[j]; k < pointers[j + 1]; k++) {
+                    FileFormatMPS.writeFields(writer, columnNames[j], rowNames[rows[k]], values[k].toString());
+                }
+            }
+            if (integer) {
+                FileFormatMPS.writeFields(writer, MARKER + nbMarkers++, "'" + MARKER + "'", "'" + INTEND + "'");
+            }
+
+            writer.write(FileSection.RHS.name());
+            writer.newLine();
+            BigDecimal constant = model.getObjectiveConstant();
+            if (constant != null && constant.signum() != 0) {
+                FileFormatMPS.writeFields(writer, FileSection.RHS.name(), objectiveName, constant.negate().toString());
+            }
+            for (int i = 0; i < nbConstraints; i++) {
+                Expression constraint = constraints.get(i);
+                BigDecimal rhs = constraint.isLowerLimitSet() ? constraint.getLowerLimit() : constraint.getUpperLimit();
+                if (rhs.signum() != 0) {
+                    FileFormatMPS.writeFields(writer, FileSection.RHS.name(), rowNames[i], rhs.toString());
+                }
+            }
+
+            boolean ranges = false;
+            for (int i = 0; i < nbConstraints; i++) {
+                Expression constraint = constraints.get(i);
+                if (constraint.isLowerConstraint() && constraint.isUpperConstraint() && !constraint.isEqualityConstraint()) {
+                    if (!ranges) {
+                        writer.write(FileSection.RANGES.name());
+                        writer.newLine();
+                        ranges = true;
+                    }
+                    BigDecimal range = constraint.getUpperLimit().subtract(constraint.getLowerLimit());
+                    FileFormatMPS.writeFields(writer, FileSection.RANGES.name(), rowNames[i], range.toString());
+                }
+            }
+
+            writer.write(FileSection.BOUNDS.name());
+            writer.newLine();
+            String bnd = FileSection.BOUNDS.name();
+            for (int j = 0; j < nbVariables; j++) {
+                Variable variable = variables.get(j);
+                BigDecimal lower = variable.getLowerLimit();
+                BigDecimal upper = variable.getUpperLimit();
+                if (lower != null && upper != null && lower.compareTo(upper) == 0) {
+                    FileFormatMPS.writeFields(writer, BoundType.FX.name(), bnd, columnNames[j], lower.toString());
+                } else if (lower == null && upper == null) {
+                    FileFormatMPS.writeFields(writer, BoundType.FR.name(), bnd, columnNames[j]);
+                } else {
+                    // UP before MI, as UP (re)sets an unset lower bound to 0
+                    if (upper != null) {
+                        FileFormatMPS.writeFields(writer, BoundType.UP.name(), bnd, columnNames[j], upper.toString());
+                    }
+                    if (lower == null) {
+                        FileFormatMPS.writeFields(writer, BoundType.MI.name(), bnd, columnNames[j]);
+                    } else if (lower.signum() != 0) {
+                        FileFormatMPS.writeFields(writer, BoundType.LO.name(), bnd, columnNames[j], lower.toString());
+                    }
+                }
+            }
+
+            if (objective.isAnyQuadraticFactorNonZero()) {
+                writer.write(FileSection.QUADOBJ.name());
+                writer.newLine();
+                Map<IntRowColumn, BigDecimal> lowerTriangle = new HashMap<>();
+                for (Entry<IntRowColumn, BigDecimal> entry : objective.getQuadraticEntrySet()) {
+                    IntRowColumn key = entry.getKey();
+                    IntRowColumn lowerKey = key.row >= key.column ? key : new IntRowColumn(key.column, key.row);
+                    BigDecimal value = key.row == key.column ? entry.getValue().add(entry.getValue()) : entry.getValue();
+                    lowerTriangle.merge(lowerKey, value, BigDecimal::add);
+                }
+                for (Entry<IntRowColumn, BigDecimal> entry : lowerTriangle.entrySet()) {
+                    if (entry.getValue().signum() != 0) {
+                        FileFormatMPS.writeFields(writer, columnNames[entry.getKey().row], columnNames[entry.getKey().column], entry.getValue().toString());
+                    }
+                }
+            }
+
+            writer.write(FileSection.ENDATA.name());
+            writer.newLine();
+
+        } catch (IOException cause) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static boolean contains(final ByteBuffer bytes, final int first, final int limit, final String text) {
+        for (int i = first, last = limit - text.length(); i <= last; i++) {
+            boolean match = true;
+            for (int j = 0; match && j < text.length(); j++) {
+                match = bytes.get(i + j) == text.charAt(j);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equals(final ByteBuffer bytes, final int first1, final int limit1, final int first2, final int limit2) {
+        if (limit1 - first1 != limit2 - first2) {
+            return false;
+        }
+        for (int i = first1, j = first2; i < limit1; i++, j++) {
+            if (bytes.get(i) != bytes.get(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The position of the first line, at or after position, that starts a new section
+     */
+    private static int findSectionStart(final ByteBuffer bytes, final int position, final int limit) {
+        int lineStart = position;
+        while (lineStart < limit) {
+            byte first = bytes.get(lineStart);
+            if (first > ' ' && first != '*' && first != '&') {
+                return lineStart;
+            }
+            int i = lineStart;
+            while (i < limit && bytes.get(i) != '\n') {
+                i++;
+            }
+            lineStart = i + 1;
+        }
+        return limit;
+    }
+
+    private static int nextLine(final ByteBuffer bytes, final int position, final int limit) {
+        int i = position;
+        while (i < limit && bytes.get(i) != '\n') {
+            i++;
+        }
+        return Math.min(i + 1, limit);
+    }
+
+    /**
+     * Whitespace separated tokens. The start and end positions of (at most) the first
+     * {@code tokens.length / 2} tokens are stored, but the total number of tokens is returned.
+     */
+    private static int tokenise(final ByteBuffer bytes, final int first, final int limit, final int[] tokens) {
+
+        int count = 0;
+        int i = first;
+
+        while (i < limit) {
+            while (i < limit && bytes.get(i) <= ' ') {
+                i++;
+            }
+            if (i < limit) {
+                int start = i;
+                while (i < limit && bytes.get(i) > ' ') {
+                    i++;
+                }
+                if (2 * count < tokens.length) {
+                    tokens[2 * count] = start;
+                    tokens[2 * count + 1] = i;
+                }
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static String toString(final ByteBuffer bytes, final int[] tokens, final int index) {
+        int first = tokens[2 * index];
+        byte[] tmp = new byte[tokens[2 * index + 1] - first];
+        for (int i = 0; i < tmp.length; i++) {
+            tmp[i] = bytes.get(first + i);
+        }
+        return new String(tmp, StandardCharsets.UTF_8);
+    }
+
+    private static String uniqueName(final String name, final String alternative, final Set<String> used) {
+
+        String retVal = name != null && name.length() > 0 ? name.replaceAll("\\s", "_") : alternative;
+
+        while (!used.add(retVal)) {
+            retVal = retVal + "_";
+        }
+
+        return retVal;
+    }
+
+    private static void writeFields(final BufferedWriter writer, final String... fields) throws IOException {
+        for (String field : fields) {
+            writer.write("    ");
+            writer.write(field);
+        }
+        writer.newLine();
+    }
+
     private final Map<String, Row> myRows = new HashMap<>();
     private final Map<String, Column> myColumns = new HashMap<>();
     private final FieldPredicate myExistingColumn = (line, start, index, field) -> myColumns.containsKey(field);
     private final FieldPredicate myExistingRow = (line, start, index, field) -> myRows.containsKey(field);
+    private final List<Row> myRowList = new ArrayList<>();
+    private final NameIndex myRowIndex = new NameIndex();
     private final String[] myFields = new String[6];
     private String myIdBOUNDS = null;
     private String myIdRANGES = null;
@@ -515,6 +985,321 @@ final class FileFormatMPS {
         return myModel.toString();
     }
 
+    private Column column(final ByteBuffer bytes, final int[] tokens, final int index) {
+        Column retVal = myColumns.get(FileFormatMPS.toString(bytes, tokens, index));
+        if (retVal == null) {
+            throw NOT_FREE_FORMAT;
+        }
+        return retVal;
+    }
+
+    private void parseColumns(final ByteBuffer bytes, final int first, final int limit, final int parallelism) {
+
+        int nbChunks = Math.max(1, Math.min(parallelism, (limit - first) / MIN_CHUNK));
+
+        ColumnsChunk[] chunks = new ColumnsChunk[nbChunks];
+
+        if (nbChunks == 1) {
+
+            chunks[0] = this.parseColumnsChunk(bytes, first, limit);
+
+        } else {
+
+            int[] boundaries = new int[nbChunks + 1];
+            boundaries[0] = first;
+            for (int c = 1; c < nbChunks; c++) {
+                boundaries[c] = FileFormatMPS.nextLine(bytes, Math.max(boundaries[c - 1], first + (int) ((long) (limit - first) * c / nbChunks)), limit);
+            }
+            boundaries[nbChunks] = limit;
+
+            List<Integer> work = new ArrayList<>(nbChunks);
+            for (int c = 0; c < nbChunks; c++) {
+                work.add(c);
+            }
+
+            ProcessingService.INSTANCE.process(work, parallelism, c -> chunks[c] = this.parseColumnsChunk(bytes, boundaries[c], boundaries[c + 1]));
+        }
+
+        boolean integer = false;
+
+        for (ColumnsChunk chunk : chunks) {
+
+            Variable[] variables = new Variable[chunk.names.size()];
+
+            for (int j = 0; j < variables.length; j++) {
+                Column column = myColumns.computeIfAbsent(chunk.names.get(j), Column::new);
+                if (chunk.integer.get(j) || integer && chunk.inherit.get(j)) {
+                    column.integer(true);
+                }
+                variables[j] = column.getVariable();
+            }
+
+            if (chunk.marker) {
+                integer = chunk.markerState;
+            }
+
+            for (int k = 0; k < chunk.size; k++) {
+                myRowList.get(chunk.row[k]).getExpression().set(variables[chunk.column[k]], chunk.value[k]);
+            }
+        }
+    }
+
+    private ColumnsChunk parseColumnsChunk(final ByteBuffer bytes, final int first, final int limit) {
+
+        ColumnsChunk retVal = new ColumnsChunk();
+
+        int[] tokens = new int[12];
+
+        int current = -1;
+        int currentFirst = -1;
+        int currentLimit = -1;
+
+        for (int position = first; position < limit;) {
+
+            int next = FileFormatMPS.nextLine(bytes, position, limit);
+
+            byte initial = bytes.get(position);
+            int nbTokens = initial == '*' || initial == '&' ? 0 : FileFormatMPS.tokenise(bytes, position, next, tokens);
+
+            if (nbTokens == 3 && FileFormatMPS.contains(bytes, tokens[2], tokens[3], MARKER)) {
+
+                if (FileFormatMPS.contains(bytes, tokens[4], tokens[5], INTORG)) {
+                    retVal.marker = true;
+                    retVal.markerState = true;
+                } else if (FileFormatMPS.contains(bytes, tokens[4], tokens[5], INTEND)) {
+                    retVal.marker = true;
+                    retVal.markerState = false;
+                }
+
+            } else if (nbTokens == 3 || nbTokens == 5) {
+
+                if (current < 0 || !FileFormatMPS.equals(bytes, currentFirst, currentLimit, tokens[0], tokens[1])) {
+                    current = retVal.names.size();
+                    currentFirst = tokens[0];
+                    currentLimit = tokens[1];
+                    retVal.names.add(FileFormatMPS.toString(bytes, tokens, 0));
+                    retVal.integer.add(Boolean.FALSE);
+                    retVal.inherit.add(Boolean.FALSE);
+                }
+
+                if (!retVal.marker) {
+                    retVal.inherit.set(current, Boolean.TRUE);
+                } else if (retVal.markerState) {
+                    retVal.integer.set(current, Boolean.TRUE);
+                }
+
+                for (int t = 1; t < nbTokens; t += 2) {
+                    int row = myRowIndex.get(bytes, tokens[2 * t], tokens[2 * t + 1]);
+                    if (row < 0) {
+                        throw NOT_FREE_FORMAT;
+                    }
+                    retVal.add(current, row, PrimitiveColumnsParser.toDouble(bytes, tokens[2 * t + 2], tokens[2 * t + 3]));
+                }
+
+            } else if (nbTokens != 0) {
+
+                throw NOT_FREE_FORMAT;
+            }
+
+            position = next;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Free-format parsing, with the COLUMNS section parsed in parallel chunks.
+     *
+     * @throws NotFreeFormat If the data can't be parsed this way
+     */
+    private void parseFree(final ByteBuffer bytes, final int parallelism) {
+
+        int limit = bytes.limit();
+        int[] tokens = new int[12];
+
+        FileSection section = null;
+
+        for (int position = 0; position < limit;) {
+
+            int next = FileFormatMPS.nextLine(bytes, position, limit);
+
+            byte initial = bytes.get(position);
+            int nbTokens = initial == '*' || initial == '&' ? 0 : FileFormatMPS.tokenise(bytes, position, next, tokens);
+
+            if (nbTokens == 0) {
+                // Comment or empty line
+            } else if (initial > ' ') {
+
+                section = FileSection.valueOf(FileFormatMPS.toString(bytes, tokens, 0));
+
+                if (section == FileSection.NAME && nbTokens > 1) {
+                    myName = FileFormatMPS.toString(bytes, tokens, 1);
+                } else if (section == FileSection.OBJSENSE && nbTokens > 1 || section == FileSection.OBJNAME && nbTokens > 1) {
+                    this.parseFree(section, bytes, Arrays.copyOfRange(tokens, 2, tokens.length), nbTokens - 1);
+                } else if (section == FileSection.COLUMNS) {
+                    int end = FileFormatMPS.findSectionStart(bytes, next, limit);
+                    this.parseColumns(bytes, next, end, parallelism);
+                    next = end;
+                }
+
+            } else if (section == null) {
+
+                throw NOT_FREE_FORMAT;
+
+            } else {
+
+                this.parseFree(section, bytes, tokens, nbTokens);
+            }
+
+            position = next;
+        }
+    }
+
+    private void parseFree(final FileSection section, final ByteBuffer bytes, final int[] tokens, final int nbTokens) {
+
+        switch (section) {
+
+        case OBJSENSE:
+
+            if (FileFormatMPS.contains(bytes, tokens[0], tokens[1], MAX)) {
+                myModel.setOptimisationSense(Optimisation.Sense.MAX);
+            } else {
+                myModel.setOptimisationSense(Optimisation.Sense.MIN);
+            }
+
+            break;
+
+        case OBJNAME:
+
+            myIdRowN = FileFormatMPS.toString(bytes, tokens, 0);
+
+            break;
+
+        case ROWS:
+
+            if (nbTokens != 2) {
+                throw NOT_FREE_FORMAT;
+            }
+
+            RowType rowType = RowType.valueOf(FileFormatMPS.toString(bytes, tokens, 0));
+            String rowName = FileFormatMPS.toString(bytes, tokens, 1);
+            if (myIdRowN == null && rowType == RowType.N) {
+                myIdRowN = rowName;
+            }
+            if (myRowIndex.get(rowName) >= 0) {
+                throw NOT_FREE_FORMAT;
+            }
+
+            Row row = new Row(rowName, rowType, myIdRowN);
+            myRowIndex.put(rowName, myRowList.size());
+            myRowList.add(row);
+            myRows.put(rowName, row);
+
+            break;
+
+        case RHS:
+        case RANGES:
+
+            int offset = nbTokens % 2;
+            if (nbTokens < 2 || nbTokens > 5) {
+                throw NOT_FREE_FORMAT;
+            }
+            if (offset == 1) {
+                String setName = FileFormatMPS.toString(bytes, tokens, 0);
+                if (section == FileSection.RHS) {
+                    if (myIdRHS == null) {
+                        myIdRHS = setName;
+                    } else if (!myIdRHS.equals(setName)) {
+                        break;
+                    }
+                } else if (myIdRANGES == null) {
+                    myIdRANGES = setName;
+                } else if (!myIdRANGES.equals(setName)) {
+                    break;
+                }
+            }
+
+            for (int t = offset; t < nbTokens; t += 2) {
+                int index = myRowIndex.get(bytes, tokens[2 * t], tokens[2 * t + 1]);
+                if (index < 0) {
+                    throw NOT_FREE_FORMAT;
+                }
+                BigDecimal value = new BigDecimal(FileFormatMPS.toString(bytes, tokens, t + 1));
+                if (section == FileSection.RHS) {
+                    myRowList.get(index).rhs(value);
+                } else {
+                    myRowList.get(index).range(value);
+                }
+            }
+
+            break;
+
+        case BOUNDS:
+
+            BoundType boundType = BoundType.valueOf(FileFormatMPS.toString(bytes, tokens, 0));
+
+            int col;
+            boolean value;
+            if (nbTokens == 4) {
+                col = 2;
+                value = true;
+            } else if (nbTokens == 2) {
+                col = 1;
+                value = false;
+            } else if (nbTokens == 3) {
+                boolean optional = boundType == BoundType.FR || boundType == BoundType.MI || boundType == BoundType.PL || boundType == BoundType.BV;
+                if (optional && myColumns.containsKey(FileFormatMPS.toString(bytes, tokens, 2))) {
+                    col = 2;
+                    value = false;
+                } else {
+                    col = 1;
+                    value = true;
+                }
+            } else {
+                throw NOT_FREE_FORMAT;
+            }
+
+            if (col == 2) {
+                String setName = FileFormatMPS.toString(bytes, tokens, 1);
+                if (myIdBOUNDS == null) {
+                    myIdBOUNDS = setName;
+                } else if (!myIdBOUNDS.equals(setName)) {
+                    break;
+                }
+            }
+
+            this.column(bytes, tokens, col).bound(boundType, value ? new BigDecimal(FileFormatMPS.toString(bytes, tokens, col + 1)) : null);
+
+            break;
+
+        case QUADOBJ:
+        case QMATRIX:
+
+            if (nbTokens != 3) {
+                throw NOT_FREE_FORMAT;
+            }
+
+            if (myQuadObjExpr == null) {
+                myQuadObjExpr = myModel.newExpression(section.name()).weight(HALF);
+            }
+
+            Variable var1 = this.column(bytes, tokens, 0).getVariable();
+            Variable var2 = this.column(bytes, tokens, 1).getVariable();
+            BigDecimal param = new BigDecimal(FileFormatMPS.toString(bytes, tokens, 2));
+
+            myQuadObjExpr.set(var1, var2, param);
+            if (section == FileSection.QUADOBJ && !var1.equals(var2)) {
+                myQuadObjExpr.set(var2, var1, param);
+            }
+
+            break;
+
+        default:
+
+            break;
+        }
+    }
+
     private void extractFields(final String line, final FieldPredicate[] verifiers) {
 
         char tecken;
@@ -48,7 +48,7 @@ public abstract class ModelEntity<ME extends ModelEntity<ME>> implements Optimis
     static final NumberContext PRINT = NumberContext.of(6);
     static final int RANGE = 8;
 
-    static int deriveAdjustmentExponent(final AggregatorFunction<BigDecimal> largest, final AggregatorFunction<BigDecimal> smallest, final int range) {
+    static int deriveAdjustmentExponent(final AggregatorFunction<?> largest, final AggregatorFunction<?> smallest, final int range) {
 
         double expL = MissingMath.log10(largest.doubleValue(), PrimitiveMath.ZERO);
 
@@ -569,4 +569,14 @@ public abstract class ModelEntity<ME extends ModelEntity<ME>> implements Optimis
         return ModelEntity.isInfeasible(myLowerLimit, myUpperLimit);
     }
 
+    /**
+     * Reset the limits and the weight to match those of the entity this one was copied from.
+     */
+    void resetTo(final ME original) {
+        myAdjustmentExponent = original.getAdjustmentExponentValue();
+        myContributionWeight = original.getContributionWeight();
+        myLowerLimit = original.getLowerLimit();
+        myUpperLimit = original.getUpperLimit();
+    }
+
 }
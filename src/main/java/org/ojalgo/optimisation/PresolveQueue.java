@@ -0,0 +1,202 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.ojalgo.structure.Structure1D.IntIndex;
+
+/**
+ * The presolve work list. Initially all (linear) constraint expressions are queued, in model order. When
+ * presolving an expression results in a variable being fixed, only the expressions referencing variables
+ * that changed (fixed or got new bounds) since the previous re-queue are queued again – previously all
+ * expressions were revisited.
+ * <p>
+ * Which expressions reference which variables is kept in a primitive column oriented (compressed sparse)
+ * structure. It's only built if/when first needed.
+ *
+ * @author apete
+ */
+final class PresolveQueue {
+
+    private static boolean isDifferent(final BigDecimal before, final BigDecimal after) {
+        if (before == after) {
+            return false;
+        }
+        if (before == null || after == null) {
+            return true;
+        }
+        return before.compareTo(after) != 0;
+    }
+
+    /**
+     * The rows (expression indices) of column j are at positions myColumnPointers[j] to
+     * myColumnPointers[j+1] in myColumnRows
+     */
+    private int[] myColumnPointers = null;
+    private int[] myColumnRows = null;
+    private final Set<IntIndex> myFixed = new HashSet<>();
+    private int myHead = 0;
+    private final BigDecimal[] myLower;
+    private final int[] myQueue;
+    private int myQueueCount = 0;
+    private final boolean[] myQueued;
+    private final Expression[] myRows;
+    private final BigDecimal[] myUpper;
+    private final List<Variable> myVariables;
+
+    PresolveQueue(final List<Variable> variables, final Collection<Expression> expressions) {
+
+        super();
+
+        myVariables = variables;
+
+        int nbVars = variables.size();
+
+        myLower = new BigDecimal[nbVars];
+        myUpper = new BigDecimal[nbVars];
+        for (int j = 0; j < nbVars; j++) {
+            Variable variable = variables.get(j);
+            myLower[j] = variable.getLowerLimit();
+            myUpper[j] = variable.getUpperLimit();
+            if (variable.isFixed()) {
+                myFixed.add(variable.getIndex());
+            }
+        }
+
+        myRows = expressions.stream().filter(Expression::isConstraint).toArray(Expression[]::new);
+        int nbRows = myRows.length;
+
+        myQueue = new int[nbRows];
+        myQueued = new boolean[nbRows];
+        for (int i = 0; i < nbRows; i++) {
+            this.enqueue(i);
+        }
+    }
+
+    private void buildColumns() {
+
+        int nbVars = myVariables.size();
+        int nbRows = myRows.length;
+
+        int[] counts = new int[nbVars + 1];
+        for (int i = 0; i < nbRows; i++) {
+            myRows[i].loopLinear(false, (index, factor) -> counts[index + 1]++);
+        }
+        for (int j = 0; j < nbVars; j++) {
+            counts[j + 1] += counts[j];
+        }
+
+        myColumnPointers = counts.clone();
+        myColumnRows = new int[counts[nbVars]];
+        for (int i = 0; i < nbRows; i++) {
+            int row = i;
+            myRows[i].loopLinear(false, (index, factor) -> myColumnRows[counts[index]++] = row);
+        }
+    }
+
+    private void enqueue(final int row) {
+        if (!myQueued[row]) {
+            myQueued[row] = true;
+            myQueue[(myHead + myQueueCount) % myQueue.length] = row;
+            myQueueCount++;
+        }
+    }
+
+    /**
+     * @return The (unmodifiable) set of fixed variables, kept up to date with each re-queue.
+     */
+    Set<IntIndex> getFixed() {
+        return Collections.unmodifiableSet(myFixed);
+    }
+
+    /**
+     * @return The next expression to presolve, or null when done. Expressions that are no longer eligible
+     *         (not constraints, redundant, infeasible or quadratic) are skipped.
+     */
+    Expression poll() {
+        while (myQueueCount > 0) {
+
+            int row = myQueue[myHead];
+            myQueued[row] = false;
+            myHead = (myHead + 1) % myQueue.length;
+            myQueueCount--;
+
+            Expression expression = myRows[row];
+            if (expression.isConstraint() && !expression.isInfeasible() && !expression.isRedundant() && expression.countQuadraticFactors() == 0) {
+                return expression;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Call when a presolver reported that a re-run is necessary. All expressions referencing variables that
+     * changed are queued again. Should no variable have changed all expressions are queued again.
+     */
+    void requeue() {
+
+        if (myColumnPointers == null) {
+            this.buildColumns();
+        }
+
+        boolean changed = false;
+
+        for (int j = 0, limit = myVariables.size(); j < limit; j++) {
+
+            Variable variable = myVariables.get(j);
+
+            BigDecimal lower = variable.getLowerLimit();
+            BigDecimal upper = variable.getUpperLimit();
+
+            if (PresolveQueue.isDifferent(myLower[j], lower) || PresolveQueue.isDifferent(myUpper[j], upper)) {
+
+                myLower[j] = lower;
+                myUpper[j] = upper;
+
+                if (variable.isFixed()) {
+                    myFixed.add(variable.getIndex());
+                } else {
+                    myFixed.remove(variable.getIndex());
+                }
+
+                for (int p = myColumnPointers[j], end = myColumnPointers[j + 1]; p < end; p++) {
+                    this.enqueue(myColumnRows[p]);
+                }
+
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            for (int i = 0; i < myRows.length; i++) {
+                this.enqueue(i);
+            }
+        }
+    }
+
+}
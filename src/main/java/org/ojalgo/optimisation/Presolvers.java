@@ -26,11 +26,19 @@ import static org.ojalgo.function.constant.BigMath.*;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.function.constant.BigMath;
 import org.ojalgo.structure.Structure1D.IntIndex;
 import org.ojalgo.type.context.NumberContext;
@@ -245,6 +253,10 @@ public abstract class Presolvers {
         }
     };
 
+    /**
+     * Fewer groups of potentially similar expressions than this are processed sequentially
+     */
+    private static final int PARALLEL_GROUPS = 64;
     private static final NumberContext LEVEL = NumberContext.of(12).withMode(RoundingMode.HALF_DOWN);
     private static final MathContext SIMILARITY = NumberContext.of(12).getMathContext();
 
@@ -265,19 +277,18 @@ public abstract class Presolvers {
     public static boolean checkSimilarity(final Collection<Expression> current, final Expression potential) {
 
         if (potential.isConstraint() && !potential.isRedundant()) {
-            Set<IntIndex> potentialLinearKeySet = potential.getLinearKeySet();
+            CompactFactors.Linear potentialLinear = potential.getLinear();
 
             for (Expression expression : current) {
 
                 if (expression.isConstraint() && !expression.isRedundant()) {
-                    Set<IntIndex> currentLinearKeySet = expression.getLinearKeySet();
 
-                    if (!expression.getName().equals(potential.getName()) && currentLinearKeySet.equals(potentialLinearKeySet)) {
+                    if (!expression.getName().equals(potential.getName()) && expression.getLinear().isKeySetEqual(potentialLinear)) {
 
                         BigDecimal fctVal = null;
                         BigDecimal tmpVal = null;
 
-                        for (IntIndex index : currentLinearKeySet) {
+                        for (IntIndex index : expression.getLinearKeySet()) {
 
                             tmpVal = expression.get(index).divide(potential.get(index), SIMILARITY);
 
@@ -340,12 +351,46 @@ public abstract class Presolvers {
         return false;
     }
 
+    /**
+     * Checks all the expressions for similarity with each other. Only expressions with the same set of
+     * variables can be similar, so the expressions are first grouped on that. The groups are then independent
+     * of each other and (with enough of them) processed in parallel.
+     *
+     * @see #checkSimilarity(Collection, Expression)
+     */
     public static boolean reduce(final Collection<Expression> expressions) {
-        boolean retVal = false;
+
+        Map<Integer, List<Expression>> groups = new LinkedHashMap<>();
         for (Expression expression : expressions) {
-            retVal |= Presolvers.checkSimilarity(expressions, expression);
+            if (expression.isConstraint() && !expression.isRedundant()) {
+                groups.computeIfAbsent(expression.getLinear().hashKeys(), key -> new ArrayList<>()).add(expression);
+            }
+        }
+
+        List<List<Expression>> candidates = new ArrayList<>();
+        for (List<Expression> group : groups.values()) {
+            if (group.size() > 1) {
+                candidates.add(group);
+            }
         }
-        return retVal;
+
+        AtomicBoolean retVal = new AtomicBoolean();
+
+        Consumer<List<Expression>> processor = group -> {
+            for (Expression expression : group) {
+                if (Presolvers.checkSimilarity(group, expression)) {
+                    retVal.set(true);
+                }
+            }
+        };
+
+        if (candidates.size() >= PARALLEL_GROUPS) {
+            ProcessingService.INSTANCE.process(candidates, Parallelism.CORES, processor);
+        } else {
+            candidates.forEach(processor);
+        }
+
+        return retVal.get();
     }
 
     /**
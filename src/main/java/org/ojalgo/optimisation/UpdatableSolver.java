@@ -87,4 +87,31 @@ public interface UpdatableSolver extends Optimisation.Solver {
 
     UpdatableSolver.EntityMap getEntityMap();
 
+    /**
+     * @param index The, solver specific, equality constraint index
+     * @param rhs The new right hand side
+     * @return true if updating is supported and was successful, otherwise false
+     */
+    default boolean updateEquality(final int index, final double rhs) {
+        return false;
+    }
+
+    /**
+     * @param index The, solver specific, inequality constraint index
+     * @param rhs The new right hand side (upper limit)
+     * @return true if updating is supported and was successful, otherwise false
+     */
+    default boolean updateInequality(final int index, final double rhs) {
+        return false;
+    }
+
+    /**
+     * @param index The, solver specific, variable index
+     * @param value The new linear objective function factor (as it is represented in the solver)
+     * @return true if updating is supported and was successful, otherwise false
+     */
+    default boolean updateObjective(final int index, final double value) {
+        return false;
+    }
+
 }
@@ -373,6 +373,14 @@ public final class Variable extends ModelEntity<Variable> {
         return myUnbounded;
     }
 
+    @Override
+    void resetTo(final Variable original) {
+        super.resetTo(original);
+        myInteger = original.isInteger();
+        myUnbounded = false;
+        myValue = original.getValue();
+    }
+
     void setFixed(final BigDecimal value) {
         this.level(value).setValue(value);
     }
@@ -0,0 +1,808 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.operation.NRMINF;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.GenericSolver;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.OptimisationData;
+import org.ojalgo.optimisation.UpdatableSolver;
+import org.ojalgo.structure.Access1D;
+
+/**
+ * A first order, ADMM (alternating direction method of multipliers), solver for convex QP and LP problems
+ * of the same form as {@link ConvexSolver}:
+ * <p>
+ * min 1/2 [X]<sup>T</sup>[Q][X] - [C]<sup>T</sup>[X]<br>
+ * when [AE][X] == [BE]<br>
+ * and [AI][X] <= [BI]
+ * </p>
+ * <p>
+ * The algorithm is that of OSQP: the problem data is scaled (Ruiz equilibration), and every iteration
+ * solves a quasi-definite KKT system with the same matrix – it is factorised once (sparse
+ * LDL<sup>T</sup>) and only refactorised if/when the step size parameter, rho, is adapted. Primal and dual
+ * infeasibility is detected from the differences of successive iterates.
+ * <p>
+ * This solver is meant for re-solving the same problem many times with only [C], [BE] and/or [BI] changing.
+ * Update those using {@link #updateObjective(int, double)}, {@link #updateEquality(int, double)} and
+ * {@link #updateInequality(int, double)} – that does not trigger a refactorisation – then call
+ * {@link #solve(Optimisation.Result)} again. Each solve is warm started from the previous (primal and dual)
+ * iterate, unless a kick-starter with a solution is supplied.
+ * <p>
+ * The accuracy is controlled by {@link ConvexSolver.Configuration#firstOrderTolerance(double)}. Moderate
+ * accuracy solutions are found quickly, high accuracy ones may take very many iterations. Like
+ * {@link InteriorPointSolver} this is not the default solver for any kind of model – register
+ * {@link #INTEGRATION} using {@link ExpressionsBasedModel#addIntegration(ExpressionsBasedModel.Integration)},
+ * or use a {@link ADMMSolver.Builder} directly.
+ *
+ * @author apete
+ */
+public final class ADMMSolver extends GenericSolver implements UpdatableSolver {
+
+    public static final class Builder extends SparseConvexBuilder<ADMMSolver.Builder, ADMMSolver> {
+
+        Builder(final int nbVariables) {
+            super(nbVariables);
+        }
+
+        @Override
+        protected ADMMSolver doBuild(final Optimisation.Options options) {
+            return new ADMMSolver(this, options);
+        }
+
+    }
+
+    public static final class ModelIntegration extends SparseConvexBuilder.SparseIntegration<ADMMSolver.Builder, ADMMSolver> {
+
+        @Override
+        ADMMSolver.Builder newBuilder(final int nbVariables) {
+            return ADMMSolver.newBuilder(nbVariables);
+        }
+
+    }
+
+    /**
+     * Statistics from the most recent call to {@link ADMMSolver#solve(Optimisation.Result)}
+     */
+    public static final class Statistics {
+
+        /**
+         * The (absolute) dual residual at termination
+         */
+        public final double dualResidual;
+        /**
+         * The number of (re)factorisations of the KKT matrix, in total since the solver was created
+         */
+        public final int factorisations;
+        /**
+         * The number of iterations
+         */
+        public final int iterations;
+        /**
+         * The (absolute) primal residual at termination
+         */
+        public final double primalResidual;
+        /**
+         * The step size parameter used at termination
+         */
+        public final double rho;
+        /**
+         * Time spent, in ms
+         */
+        public final long time;
+
+        Statistics(final int iterations, final double primalResidual, final double dualResidual, final double rho, final int factorisations,
+                final long time) {
+            super();
+            this.iterations = iterations;
+            this.primalResidual = primalResidual;
+            this.dualResidual = dualResidual;
+            this.rho = rho;
+            this.factorisations = factorisations;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [iterations=" + iterations + ", primalResidual=" + primalResidual + ", dualResidual=" + dualResidual + ", rho=" + rho
+                    + ", factorisations=" + factorisations + ", time=" + time + "]";
+        }
+
+    }
+
+    public static final ModelIntegration INTEGRATION = new ModelIntegration();
+
+    /**
+     * Over-relaxation parameter
+     */
+    private static final double ALPHA = 1.6;
+    /**
+     * Tolerance used when testing for (primal and dual) infeasibility certificates. Much stricter than the
+     * convergence tolerance – poorly scaled, but bounded, problems could otherwise be deemed unbounded.
+     */
+    private static final double INFEASIBILITY = 1E-8;
+    /**
+     * How often (number of iterations) to consider adapting rho
+     */
+    private static final int INTERVAL = 25;
+    private static final int MAX_ITERATIONS = 4000;
+    private static final double MAX_SCALING = 1E4;
+    private static final double MIN_SCALING = 1E-4;
+    /**
+     * Initial step size parameter
+     */
+    private static final double RHO = 0.1;
+    /**
+     * Rho is scaled by this factor for equality constraints
+     */
+    private static final double RHO_EQUALITY = 1E3;
+    private static final double RHO_MAX = 1E6;
+    private static final double RHO_MIN = 1E-6;
+    /**
+     * Rho is only changed (refactorisation triggered) if the suggested new value differs by more than this
+     * factor.
+     */
+    private static final double RHO_TOLERANCE = 5.0;
+    private static final int SCALING_ITERATIONS = 10;
+    /**
+     * Regularisation of the variables' block of the KKT matrix
+     */
+    private static final double SIGMA = 1E-6;
+
+    /**
+     * Same as {@link InteriorPointSolver#copy(ExpressionsBasedModel, InteriorPointSolver.Builder)}, but for
+     * this solver.
+     */
+    public static void copy(final ExpressionsBasedModel sourceModel, final ADMMSolver.Builder destinationBuilder) {
+        SparseConvexBuilder.copy(sourceModel, destinationBuilder);
+    }
+
+    /**
+     * Same as {@link InteriorPointSolver#newBuilder(ConvexSolver.Builder)}, but for this solver.
+     */
+    public static Builder newBuilder(final ConvexSolver.Builder convex) {
+        return new ADMMSolver.Builder(convex.countVariables()).copy(convex);
+    }
+
+    public static Builder newBuilder(final int nbVariables) {
+        return new ADMMSolver.Builder(nbVariables);
+    }
+
+    /**
+     * 1/sqrt(norm) limited to reasonable values
+     */
+    private static double scaling(final double norm) {
+        if (norm < MIN_SCALING) {
+            return 1.0;
+        } else {
+            return 1.0 / Math.sqrt(Math.min(norm, MAX_SCALING));
+        }
+    }
+
+    /**
+     * [AE] first then [AI] – scaled
+     */
+    private final SparseKKT.Rows myA;
+    /**
+     * Unscaled [C]
+     */
+    private final double[] myC;
+    /**
+     * Cost scaling
+     */
+    private double myCost = 1.0;
+    /**
+     * Variable scaling
+     */
+    private final double[] myD;
+    /**
+     * Constraint scaling
+     */
+    private final double[] myE;
+    private int myFactorisations = 0;
+    private final SparseKKT myKKT;
+    private final SparseLDL myLDL;
+    /**
+     * Scaled lower limits of [A][x]
+     */
+    private final double[] myLower;
+    private final int myNbConstraints;
+    private final int myNbEqualities;
+    private final int myNbVariables;
+    /**
+     * Scaled linear objective function factors – that's -[C] (scaled)
+     */
+    private final double[] myQ;
+    /**
+     * Scaled [Q]
+     */
+    private final SparseKKT.Triplets myQuadratic;
+    private boolean myRefactorise = true;
+    private final double[] myRHS;
+    private double myRho = RHO;
+    private final double[] myRhos;
+    private final double[] mySolution;
+    private Statistics myStatistics = null;
+    /**
+     * Scaled upper limits of [A][x]
+     */
+    private final double[] myUpper;
+    private final double[] myX;
+    private final double[] myY;
+    private final double[] myZ;
+
+    ADMMSolver(final ADMMSolver.Builder builder, final Optimisation.Options optimisationOptions) {
+
+        super(optimisationOptions);
+
+        OptimisationData data = builder.getOptimisationData();
+
+        int n = builder.countVariables();
+        int me = data.countEqualityConstraints();
+        int mi = data.countInequalityConstraints();
+        int m = me + mi;
+
+        myNbVariables = n;
+        myNbEqualities = me;
+        myNbConstraints = m;
+
+        SparseObjectiveFunction objective = builder.getObjective();
+
+        // Q & C
+
+        myQuadratic = new SparseKKT.Triplets(objective.quadratic());
+
+        myC = objective.linear().toRawCopy1D();
+        myQ = new double[n];
+        for (int j = 0; j < n; j++) {
+            myQ[j] = -myC[j];
+        }
+
+        // [A] = [AE;AI] with limits
+
+        myA = new SparseKKT.Rows(m, i -> i < me ? data.getAE(i) : data.getAI(i - me));
+        myLower = new double[m];
+        myUpper = new double[m];
+        for (int i = 0; i < m; i++) {
+            if (i < me) {
+                myLower[i] = myUpper[i] = data.getBE(i);
+            } else {
+                myLower[i] = Double.NEGATIVE_INFINITY;
+                myUpper[i] = data.getBI(i - me);
+            }
+        }
+
+        // Scaling
+
+        myD = new double[n];
+        myE = new double[m];
+        this.scale();
+
+        // The KKT system pattern: [x | y]
+
+        int dim = n + m;
+
+        myKKT = new SparseKKT(dim, myQuadratic.count() + myA.values.length);
+        myKKT.add(myQuadratic);
+        for (int i = 0; i < m; i++) {
+            myKKT.add(myA, i, n + i);
+        }
+
+        myLDL = myKKT.newLDL(n);
+
+        myRHS = new double[dim];
+        mySolution = new double[dim];
+        myRhos = new double[m];
+
+        myX = new double[n];
+        myY = new double[m];
+        myZ = new double[m];
+    }
+
+    public UpdatableSolver.EntityMap getEntityMap() {
+        return null;
+    }
+
+    /**
+     * @return Statistics from the latest solve, or null if not yet solved.
+     */
+    public Statistics getStatistics() {
+        return myStatistics;
+    }
+
+    public Optimisation.Result solve(final Optimisation.Result kickStarter) {
+
+        int n = myNbVariables;
+        int m = myNbConstraints;
+
+        double tolerance = options.convex().firstOrderTolerance();
+
+        if (kickStarter != null && kickStarter.getState().isFeasible() && kickStarter.count() == n) {
+            this.kickStart(kickStarter);
+        } else if (myStatistics != null && !this.getState().isFeasible()) {
+            // Don't warm start from the (diverging) iterates of an infeasible, unbounded or failed solve
+            Arrays.fill(myX, 0.0);
+            Arrays.fill(myY, 0.0);
+            Arrays.fill(myZ, 0.0);
+        }
+
+        this.resetIterationsCount();
+        this.setState(State.VALID);
+
+        double[] xt = new double[n];
+        double[] zt = new double[m];
+        double[] dx = new double[n];
+        double[] dy = new double[m];
+
+        double[] ax = new double[m];
+        double[] px = new double[n];
+        double[] aty = new double[n];
+
+        double primal = Double.NaN;
+        double dual = Double.NaN;
+
+        for (;;) {
+
+            if (myRefactorise && !this.factorise()) {
+                this.setState(State.FAILED);
+                break;
+            }
+
+            // Solve the KKT system
+
+            for (int j = 0; j < n; j++) {
+                myRHS[j] = SIGMA * myX[j] - myQ[j];
+            }
+            for (int i = 0; i < m; i++) {
+                myRHS[n + i] = myZ[i] - myY[i] / myRhos[i];
+            }
+
+            myLDL.solve(myRHS, mySolution);
+
+            for (int j = 0; j < n; j++) {
+                xt[j] = mySolution[j];
+            }
+            for (int i = 0; i < m; i++) {
+                zt[i] = myZ[i] + (mySolution[n + i] - myY[i]) / myRhos[i];
+            }
+
+            // Update the iterates (with over-relaxation)
+
+            for (int j = 0; j < n; j++) {
+                double x = ALPHA * xt[j] + (1.0 - ALPHA) * myX[j];
+                dx[j] = x - myX[j];
+                myX[j] = x;
+            }
+            for (int i = 0; i < m; i++) {
+                double relaxed = ALPHA * zt[i] + (1.0 - ALPHA) * myZ[i];
+                double z = Math.max(myLower[i], Math.min(relaxed + myY[i] / myRhos[i], myUpper[i]));
+                dy[i] = myRhos[i] * (relaxed - z);
+                myY[i] += dy[i];
+                myZ[i] = z;
+            }
+
+            this.incrementIterationsCount();
+
+            // Residuals – unscaled
+
+            myA.multiply(myX, ax);
+            myQuadratic.multiply(myX, px);
+            for (int j = 0; j < n; j++) {
+                aty[j] = 0.0;
+            }
+            myA.multiplyTransposed(myY, aty);
+
+            primal = 0.0;
+            double normAx = 0.0;
+            double normZ = 0.0;
+            for (int i = 0; i < m; i++) {
+                double e = myE[i];
+                primal = Math.max(primal, Math.abs(ax[i] - myZ[i]) / e);
+                normAx = Math.max(normAx, Math.abs(ax[i]) / e);
+                normZ = Math.max(normZ, Math.abs(myZ[i]) / e);
+            }
+
+            dual = 0.0;
+            double normPx = 0.0;
+            double normATy = 0.0;
+            double normQ = 0.0;
+            for (int j = 0; j < n; j++) {
+                double d = myCost * myD[j];
+                dual = Math.max(dual, Math.abs(px[j] + myQ[j] + aty[j]) / d);
+                normPx = Math.max(normPx, Math.abs(px[j]) / d);
+                normATy = Math.max(normATy, Math.abs(aty[j]) / d);
+                normQ = Math.max(normQ, Math.abs(myQ[j]) / d);
+            }
+
+            double limitPrimal = tolerance * (1.0 + Math.max(normAx, normZ));
+            double limitDual = tolerance * (1.0 + Math.max(normPx, Math.max(normATy, normQ)));
+
+            if (primal <= limitPrimal && dual <= limitDual) {
+                this.setState(State.OPTIMAL);
+                break;
+            }
+
+            if (this.isPrimalInfeasible(dy, INFEASIBILITY)) {
+                this.setState(State.INFEASIBLE);
+                break;
+            }
+
+            if (this.isDualInfeasible(dx, INFEASIBILITY)) {
+                this.setState(State.UNBOUNDED);
+                break;
+            }
+
+            if (!this.isIterationAllowed() || this.countIterations() >= MAX_ITERATIONS || !Double.isFinite(primal + dual)) {
+                this.setState(primal <= 10.0 * limitPrimal && Double.isFinite(dual) ? State.APPROXIMATE : State.FAILED);
+                break;
+            }
+
+            if (this.countIterations() % INTERVAL == 0) {
+                this.adapt(primal / Math.max(normAx, normZ), dual / Math.max(normPx, Math.max(normATy, normQ)));
+            }
+        }
+
+        myStatistics = new Statistics(this.countIterations(), primal, dual, myRho, myFactorisations, this.countTime());
+
+        if (this.isLogProgress()) {
+            this.log("{} {} {}", this.getClassSimpleName(), this.getState(), myStatistics);
+        }
+
+        return this.buildResult();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClassSimpleName() + " " + this.getState() + " " + myStatistics;
+    }
+
+    /**
+     * Set a new right hand side of an equality constraint (row in [AE]/[BE]).
+     */
+    @Override
+    public boolean updateEquality(final int index, final double rhs) {
+        if (index < 0 || index >= myNbEqualities) {
+            return false;
+        }
+        myLower[index] = myUpper[index] = myE[index] * rhs;
+        return true;
+    }
+
+    /**
+     * Set a new right hand side of an inequality constraint (row in [AI]/[BI]). May be infinite.
+     */
+    @Override
+    public boolean updateInequality(final int index, final double rhs) {
+        int i = myNbEqualities + index;
+        if (index < 0 || i >= myNbConstraints) {
+            return false;
+        }
+        if (Double.isFinite(rhs) != Double.isFinite(myUpper[i])) {
+            // The rho of this row needs to change
+            myRefactorise = true;
+        }
+        myUpper[i] = myE[i] * rhs;
+        return true;
+    }
+
+    /**
+     * Set a new linear objective function factor – element of [C].
+     */
+    @Override
+    public boolean updateObjective(final int index, final double value) {
+        if (index < 0 || index >= myNbVariables) {
+            return false;
+        }
+        myC[index] = value;
+        myQ[index] = -myCost * myD[index] * value;
+        return true;
+    }
+
+    /**
+     * Adapt rho to balance the (relative) primal and dual residuals.
+     */
+    private void adapt(final double primal, final double dual) {
+
+        if (!Double.isFinite(primal) || !Double.isFinite(dual) || dual <= 0.0) {
+            return;
+        }
+
+        double rho = Math.max(RHO_MIN, Math.min(myRho * Math.sqrt(primal / dual), RHO_MAX));
+
+        if (rho > RHO_TOLERANCE * myRho || rho < myRho / RHO_TOLERANCE) {
+
+            if (this.isLogDebug()) {
+                this.log("Iteration {}: rho {} -> {}", this.countIterations(), myRho, rho);
+            }
+
+            myRho = rho;
+            myRefactorise = true;
+        }
+    }
+
+    private Optimisation.Result buildResult() {
+
+        int n = myNbVariables;
+
+        double[] solution = new double[n];
+        double[] px = new double[n];
+        myQuadratic.multiply(myX, px);
+
+        double value = 0.0;
+        for (int j = 0; j < n; j++) {
+            value += myX[j] * (px[j] / 2.0 + myQ[j]);
+            solution[j] = myD[j] * myX[j];
+        }
+        value /= myCost;
+
+        Optimisation.Result retVal = new Optimisation.Result(this.getState(), value, ArrayR064.wrap(solution));
+
+        ArrayR064 multipliers = ArrayR064.make(myNbConstraints);
+        for (int i = 0; i < myNbConstraints; i++) {
+            multipliers.set(i, myE[i] * myY[i] / myCost);
+        }
+        retVal.multipliers(multipliers);
+
+        return retVal;
+    }
+
+    /**
+     * Set the diagonal of the KKT matrix, using the current rho, and factorise.
+     *
+     * @return false if the factorisation failed (overflow)
+     */
+    private boolean factorise() {
+
+        int n = myNbVariables;
+
+        for (int i = 0; i < myNbConstraints; i++) {
+            if (myLower[i] == myUpper[i]) {
+                myRhos[i] = RHO_EQUALITY * myRho;
+            } else if (Double.isInfinite(myLower[i]) && Double.isInfinite(myUpper[i])) {
+                myRhos[i] = RHO_MIN;
+            } else {
+                myRhos[i] = myRho;
+            }
+        }
+
+        for (int j = 0; j < n; j++) {
+            myKKT.values[myKKT.diagonal + j] = SIGMA;
+        }
+        for (int i = 0; i < myNbConstraints; i++) {
+            myKKT.values[myKKT.diagonal + n + i] = -1.0 / myRhos[i];
+        }
+
+        boolean retVal = myLDL.factor(myKKT.values, 0.0) >= 0;
+
+        myFactorisations++;
+        myRefactorise = !retVal;
+
+        return retVal;
+    }
+
+    /**
+     * Certificate of dual infeasibility (primal unbounded): [Q][dx] = 0, [C]<sup>T</sup>[dx] > 0 and [dx]
+     * is a direction of recession of the feasible set.
+     */
+    private boolean isDualInfeasible(final double[] dx, final double tolerance) {
+
+        int n = myNbVariables;
+
+        double norm = 0.0;
+        for (int j = 0; j < n; j++) {
+            norm = Math.max(norm, Math.abs(myD[j] * dx[j]));
+        }
+        if (norm <= Double.MIN_NORMAL) {
+            return false;
+        }
+        double limit = tolerance * norm;
+
+        double qdx = 0.0;
+        for (int j = 0; j < n; j++) {
+            qdx += myQ[j] * dx[j];
+        }
+        if (qdx / myCost >= -limit) {
+            return false;
+        }
+
+        double[] pdx = new double[n];
+        myQuadratic.multiply(dx, pdx);
+        for (int j = 0; j < n; j++) {
+            if (Math.abs(pdx[j]) / (myCost * myD[j]) > limit) {
+                return false;
+            }
+        }
+
+        double[] adx = new double[myNbConstraints];
+        myA.multiply(dx, adx);
+        for (int i = 0; i < myNbConstraints; i++) {
+            double value = adx[i] / myE[i];
+            if (Double.isFinite(myUpper[i]) && value > limit || Double.isFinite(myLower[i]) && value < -limit) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Certificate of primal infeasibility: [A]<sup>T</sup>[dy] = 0 and [u]<sup>T</sup>[dy]<sub>+</sub> +
+     * [l]<sup>T</sup>[dy]<sub>-</sub> < 0
+     */
+    private boolean isPrimalInfeasible(final double[] dy, final double tolerance) {
+
+        int m = myNbConstraints;
+
+        double[] w = new double[m];
+        double norm = 0.0;
+        for (int i = 0; i < m; i++) {
+            double value = dy[i];
+            if (Double.isInfinite(myUpper[i])) {
+                value = Math.min(value, 0.0);
+            }
+            if (Double.isInfinite(myLower[i])) {
+                value = Math.max(value, 0.0);
+            }
+            w[i] = value;
+            norm = Math.max(norm, Math.abs(myE[i] * value));
+        }
+        if (norm <= Double.MIN_NORMAL) {
+            return false;
+        }
+        double limit = tolerance * norm;
+
+        // Scaled limits times scaled multipliers equals unscaled limits times unscaled multipliers (apart from the cost scaling)
+        double support = 0.0;
+        for (int i = 0; i < m; i++) {
+            if (w[i] > 0.0) {
+                support += myUpper[i] * w[i];
+            } else if (w[i] < 0.0) {
+                support += myLower[i] * w[i];
+            }
+        }
+        if (support >= -limit) {
+            return false;
+        }
+
+        double[] atw = new double[myNbVariables];
+        myA.multiplyTransposed(w, atw);
+        for (int j = 0; j < myNbVariables; j++) {
+            if (Math.abs(atw[j]) / myD[j] > limit) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void kickStart(final Optimisation.Result kickStarter) {
+
+        for (int j = 0; j < myNbVariables; j++) {
+            myX[j] = kickStarter.doubleValue(j) / myD[j];
+        }
+        myA.multiply(myX, myZ);
+        for (int i = 0; i < myNbConstraints; i++) {
+            myZ[i] = Math.max(myLower[i], Math.min(myZ[i], myUpper[i]));
+        }
+
+        Optional<Access1D<?>> multipliers = kickStarter.getMultipliers();
+        if (multipliers.isPresent() && multipliers.get().count() == myNbConstraints) {
+            Access1D<?> values = multipliers.get();
+            for (int i = 0; i < myNbConstraints; i++) {
+                myY[i] = myCost * values.doubleValue(i) / myE[i];
+            }
+        }
+    }
+
+    /**
+     * Modified Ruiz equilibration of the KKT matrix, followed by cost scaling. Scales [Q], [C], [A] and the
+     * limits in place and records the scaling factors.
+     */
+    private void scale() {
+
+        int n = myNbVariables;
+        int m = myNbConstraints;
+
+        double[] colNorms = new double[n];
+        double[] rowNorms = new double[m];
+
+        for (int j = 0; j < n; j++) {
+            myD[j] = 1.0;
+        }
+        for (int i = 0; i < m; i++) {
+            myE[i] = 1.0;
+        }
+
+        for (int iteration = 0; iteration < SCALING_ITERATIONS; iteration++) {
+
+            for (int j = 0; j < n; j++) {
+                colNorms[j] = 0.0;
+            }
+            for (int q = 0; q < myQuadratic.values.length; q++) {
+                colNorms[myQuadratic.columns[q]] = Math.max(colNorms[myQuadratic.columns[q]], Math.abs(myQuadratic.values[q]));
+            }
+            for (int i = 0; i < m; i++) {
+                double norm = 0.0;
+                for (int p = myA.pointers[i]; p < myA.pointers[i + 1]; p++) {
+                    double value = Math.abs(myA.values[p]);
+                    norm = Math.max(norm, value);
+                    colNorms[myA.indices[p]] = Math.max(colNorms[myA.indices[p]], value);
+                }
+                rowNorms[i] = ADMMSolver.scaling(norm);
+            }
+            for (int j = 0; j < n; j++) {
+                colNorms[j] = ADMMSolver.scaling(colNorms[j]);
+            }
+
+            for (int q = 0; q < myQuadratic.values.length; q++) {
+                myQuadratic.values[q] *= colNorms[myQuadratic.rows[q]] * colNorms[myQuadratic.columns[q]];
+            }
+            for (int i = 0; i < m; i++) {
+                for (int p = myA.pointers[i]; p < myA.pointers[i + 1]; p++) {
+                    myA.values[p] *= rowNorms[i] * colNorms[myA.indices[p]];
+                }
+            }
+            for (int j = 0; j < n; j++) {
+                myQ[j] *= colNorms[j];
+                myD[j] *= colNorms[j];
+            }
+            for (int i = 0; i < m; i++) {
+                myE[i] *= rowNorms[i];
+            }
+
+            // Cost scaling
+
+            for (int j = 0; j < n; j++) {
+                colNorms[j] = 0.0;
+            }
+            for (int q = 0; q < myQuadratic.values.length; q++) {
+                colNorms[myQuadratic.columns[q]] = Math.max(colNorms[myQuadratic.columns[q]], Math.abs(myQuadratic.values[q]));
+            }
+            double average = 0.0;
+            for (int j = 0; j < n; j++) {
+                average += colNorms[j];
+            }
+            average = n > 0 ? average / n : 0.0;
+            double cost = ADMMSolver.scaling(Math.max(average, NRMINF.invoke(myQ, 0, n)));
+            cost *= cost;
+
+            for (int q = 0; q < myQuadratic.values.length; q++) {
+                myQuadratic.values[q] *= cost;
+            }
+            for (int j = 0; j < n; j++) {
+                myQ[j] *= cost;
+            }
+            myCost *= cost;
+        }
+
+        for (int i = 0; i < m; i++) {
+            myLower[i] *= myE[i];
+            myUpper[i] *= myE[i];
+        }
+    }
+
+}
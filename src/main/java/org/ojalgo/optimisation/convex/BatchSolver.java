@@ -0,0 +1,301 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.concurrent.ProcessingService;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.structure.Access2D;
+
+/**
+ * Solves many independent, small, convex QP (or LP) problems that all have the same structure – the same
+ * number of variables, equality constraints and inequality constraints – but different data. Same problem
+ * form as {@link ConvexSolver}:
+ * <p>
+ * min 1/2 [X]<sup>T</sup>[Q][X] - [C]<sup>T</sup>[X]<br>
+ * when [AE][X] == [BE]<br>
+ * and [AI][X] <= [BI]
+ * <p>
+ * The problem data is input as flat primitive arrays, with the instances stored one after the other. Any one
+ * of the arrays may instead contain the data of just 1 instance, and is then shared by all instances. The
+ * matrices are stored row by row. [Q] may be null, meaning the instances are LP problems.
+ * <p>
+ * The instances are solved in parallel. Each thread has its own workspace (the dense matrices the data is
+ * copied to) that is reused for all the instances that thread solves. There is no
+ * {@link org.ojalgo.optimisation.ExpressionsBasedModel} involved, no presolve and no {@link java.math.BigDecimal}
+ * conversions.
+ *
+ * @author apete
+ */
+public final class BatchSolver {
+
+    /**
+     * The solutions, with the instances as rows and the variables as columns, and for each instance the
+     * {@link Optimisation.State} and the objective function value.
+     */
+    public static final class Results implements Access2D<Double> {
+
+        private final int myNumberOfVariables;
+        private final double[] mySolutions;
+        private final Optimisation.State[] myStates;
+        private final double[] myValues;
+
+        Results(final int nbInstances, final int nbVariables) {
+
+            super();
+
+            myNumberOfVariables = nbVariables;
+
+            mySolutions = new double[nbInstances * nbVariables];
+            myStates = new Optimisation.State[nbInstances];
+            myValues = new double[nbInstances];
+        }
+
+        public long countColumns() {
+            return myNumberOfVariables;
+        }
+
+        public long countRows() {
+            return myStates.length;
+        }
+
+        public double doubleValue(final long instance, final long variable) {
+            return mySolutions[Math.toIntExact(instance * myNumberOfVariables + variable)];
+        }
+
+        public Double get(final long instance, final long variable) {
+            return Double.valueOf(this.doubleValue(instance, variable));
+        }
+
+        /**
+         * @return The solutions of all instances, one after the other, in the underlying array – not a copy.
+         */
+        public double[] getSolutions() {
+            return mySolutions;
+        }
+
+        public Optimisation.State getState(final int instance) {
+            return myStates[instance];
+        }
+
+        public double getValue(final int instance) {
+            return myValues[instance];
+        }
+
+        /**
+         * @return true if all instances were solved to (at least) feasible states
+         */
+        public boolean isFeasible() {
+            for (int i = 0; i < myStates.length; i++) {
+                if (!myStates[i].isFeasible()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return Access2D.toString(this);
+        }
+
+        void set(final int instance, final Optimisation.Result result) {
+
+            myStates[instance] = result.getState();
+            myValues[instance] = result.getValue();
+
+            int offset = instance * myNumberOfVariables;
+            for (int j = 0; j < myNumberOfVariables; j++) {
+                mySolutions[offset + j] = result.doubleValue(j);
+            }
+        }
+
+    }
+
+    /**
+     * The dense matrices that the data of one instance is copied to. One per thread, reused for all instances
+     * solved by that thread.
+     */
+    final class Workspace {
+
+        private final Primitive64Store myAE;
+        private final Primitive64Store myAI;
+        private final Primitive64Store myBE;
+        private final Primitive64Store myBI;
+        private final Primitive64Store myC;
+        private final Primitive64Store myQ;
+
+        Workspace() {
+
+            super();
+
+            myQ = Primitive64Store.FACTORY.make(myNumberOfVariables, myNumberOfVariables);
+            myC = Primitive64Store.FACTORY.make(myNumberOfVariables, 1);
+
+            myAE = Primitive64Store.FACTORY.make(myNumberOfEqualities, myNumberOfVariables);
+            myBE = Primitive64Store.FACTORY.make(myNumberOfEqualities, 1);
+
+            myAI = Primitive64Store.FACTORY.make(myNumberOfInequalities, myNumberOfVariables);
+            myBI = Primitive64Store.FACTORY.make(myNumberOfInequalities, 1);
+        }
+
+        Optimisation.Result solve(final int instance, final double[] q, final double[] c, final double[] ae, final double[] be, final double[] ai,
+                final double[] bi) {
+
+            if (q != null) {
+                BatchSolver.fill(myQ, q, instance);
+            } else {
+                myQ.fillAll(0.0);
+            }
+            BatchSolver.fill(myC, c, instance);
+
+            ConvexSolver.Builder builder = ConvexSolver.newBuilder().objective(myQ, myC);
+
+            if (myNumberOfEqualities > 0) {
+                BatchSolver.fill(myAE, ae, instance);
+                BatchSolver.fill(myBE, be, instance);
+                builder.equalities(myAE, myBE);
+            }
+
+            if (myNumberOfInequalities > 0) {
+                BatchSolver.fill(myAI, ai, instance);
+                BatchSolver.fill(myBI, bi, instance);
+                builder.inequalities(myAI, myBI);
+            }
+
+            return builder.build(myOptions).solve();
+        }
+
+    }
+
+    /**
+     * The number of instances handled, in sequence, by each work item (task submitted to the
+     * {@link ProcessingService}).
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    public static BatchSolver newInstance(final int nbVariables, final int nbEqualities, final int nbInequalities) {
+        return new BatchSolver(nbVariables, nbEqualities, nbInequalities);
+    }
+
+    /**
+     * Copy the data of one instance, stored row by row, to the (column major) destination. If the source only
+     * contains the data of 1 instance it is shared by all instances.
+     */
+    static void fill(final Primitive64Store destination, final double[] source, final int instance) {
+
+        int nbRows = destination.getRowDim();
+        int nbCols = destination.getColDim();
+        int size = nbRows * nbCols;
+
+        int offset = source.length == size ? 0 : instance * size;
+
+        double[] data = destination.data;
+        for (int i = 0; i < nbRows; i++) {
+            for (int j = 0; j < nbCols; j++) {
+                data[i + j * nbRows] = source[offset + i * nbCols + j];
+            }
+        }
+    }
+
+    private static void validate(final String name, final double[] data, final int size, final int nbInstances) {
+        if (size > 0 && (data == null || data.length != size && data.length != size * nbInstances)) {
+            throw new IllegalArgumentException("Wrong dimensions of " + name + "!");
+        }
+    }
+
+    private final int myNumberOfEqualities;
+    private final int myNumberOfInequalities;
+    private final int myNumberOfVariables;
+    private Optimisation.Options myOptions = new Optimisation.Options();
+    private IntSupplier myParallelism = Parallelism.CORES;
+
+    BatchSolver(final int nbVariables, final int nbEqualities, final int nbInequalities) {
+
+        super();
+
+        myNumberOfVariables = nbVariables;
+        myNumberOfEqualities = nbEqualities;
+        myNumberOfInequalities = nbInequalities;
+    }
+
+    public BatchSolver options(final Optimisation.Options options) {
+        myOptions = options;
+        return this;
+    }
+
+    public BatchSolver parallelism(final IntSupplier parallelism) {
+        myParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param nbInstances The number of problem instances
+     * @param q [Q], n*n per instance (null if all instances are LP problems)
+     * @param c [C], n per instance
+     * @param ae [AE], mE*n per instance (may be null if there are no equality constraints)
+     * @param be [BE], mE per instance
+     * @param ai [AI], mI*n per instance (may be null if there are no inequality constraints)
+     * @param bi [BI], mI per instance
+     * @return The results of all the instances
+     */
+    public Results solve(final int nbInstances, final double[] q, final double[] c, final double[] ae, final double[] be, final double[] ai,
+            final double[] bi) {
+
+        int n = myNumberOfVariables;
+        int mE = myNumberOfEqualities;
+        int mI = myNumberOfInequalities;
+
+        if (q != null) {
+            BatchSolver.validate("Q", q, n * n, nbInstances);
+        }
+        BatchSolver.validate("C", c, n, nbInstances);
+        BatchSolver.validate("AE", ae, mE * n, nbInstances);
+        BatchSolver.validate("BE", be, mE, nbInstances);
+        BatchSolver.validate("AI", ai, mI * n, nbInstances);
+        BatchSolver.validate("BI", bi, mI, nbInstances);
+
+        Results retVal = new Results(nbInstances, n);
+
+        List<int[]> work = new ArrayList<>();
+        for (int first = 0; first < nbInstances; first += BLOCK_SIZE) {
+            work.add(new int[] { first, Math.min(first + BLOCK_SIZE, nbInstances) });
+        }
+
+        ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
+
+        ProcessingService.INSTANCE.process(work, myParallelism, block -> {
+            Workspace local = workspace.get();
+            for (int i = block[0]; i < block[1]; i++) {
+                retVal.set(i, local.solve(i, q, c, ae, be, ai, bi));
+            }
+        });
+
+        return retVal;
+    }
+
+}
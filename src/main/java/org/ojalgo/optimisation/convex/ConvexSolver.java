@@ -60,7 +60,6 @@ import org.ojalgo.structure.Access2D;
 import org.ojalgo.structure.Access2D.Collectable;
 import org.ojalgo.structure.Structure1D.IntIndex;
 import org.ojalgo.structure.Structure2D;
-import org.ojalgo.structure.Structure2D.IntRowColumn;
 import org.ojalgo.type.context.NumberContext;
 
 /**
@@ -366,11 +365,40 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
 
     public static final class Configuration {
 
+        private double myFirstOrderTolerance = 1E-4;
+        private double myInteriorPointTolerance = 1E-9;
         private NumberContext myIterative = NumberContext.of(10, 14).withMode(RoundingMode.HALF_DOWN);
         private double mySmallDiagonal = RELATIVELY_SMALL + MACHINE_EPSILON;
         private Function<Structure2D, MatrixDecomposition.Solver<Double>> mySolverGeneral = LU.R064::make;
         private Function<Structure2D, MatrixDecomposition.Solver<Double>> mySolverSPD = Cholesky.R064::make;
 
+        public double firstOrderTolerance() {
+            return myFirstOrderTolerance;
+        }
+
+        /**
+         * The {@link ADMMSolver} terminates when the primal and dual residuals are smaller than this – both
+         * absolute and relative (to the size of the terms making up the residuals). First order methods
+         * converge quickly to moderate accuracy, but then slowly.
+         */
+        public Configuration firstOrderTolerance(final double tolerance) {
+            myFirstOrderTolerance = tolerance;
+            return this;
+        }
+
+        public double interiorPointTolerance() {
+            return myInteriorPointTolerance;
+        }
+
+        /**
+         * The {@link InteriorPointSolver} terminates when the relative primal and dual residuals, as well as
+         * the relative complementarity gap, are all smaller than this.
+         */
+        public Configuration interiorPointTolerance(final double tolerance) {
+            myInteriorPointTolerance = tolerance;
+            return this;
+        }
+
         public NumberContext iterative() {
             return myIterative;
         }
@@ -487,9 +515,8 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
 
                 Expression expression = tmpEqExpr.get(i).compensate(fixedVariables);
 
-                for (IntIndex key : expression.getLinearKeySet()) {
-                    mtrxAE.set(i, sourceModel.indexOfFreeVariable(key.index), expression.doubleValue(key, true));
-                }
+                int row = i;
+                expression.loopLinear(true, (index, factor) -> mtrxAE.set(row, sourceModel.indexOfFreeVariable(index), factor));
 
                 mtrxBE.set(i, 0, expression.getUpperLimit(true, Double.POSITIVE_INFINITY));
             }
@@ -506,28 +533,26 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
         if (tmpObjExpr.isAnyQuadraticFactorNonZero()) {
             mtrxQ = Primitive64Store.FACTORY.make(nbVariables, nbVariables);
 
-            for (IntRowColumn key : tmpObjExpr.getQuadraticKeySet()) {
-                int row = sourceModel.indexOfFreeVariable(key.row);
-                int col = sourceModel.indexOfFreeVariable(key.column);
+            PhysicalStore<Double> quadratic = mtrxQ;
+            tmpObjExpr.loopQuadratic(true, (row, column, factor) -> {
+                int i = sourceModel.indexOfFreeVariable(row);
+                int j = sourceModel.indexOfFreeVariable(column);
 
-                double factor = max ? -tmpObjExpr.doubleValue(key, true) : tmpObjExpr.doubleValue(key, true);
+                double value = max ? -factor : factor;
 
-                mtrxQ.add(row, col, factor);
-                mtrxQ.add(col, row, factor);
-            }
+                quadratic.add(i, j, value);
+                quadratic.add(j, i, value);
+            });
         }
 
         PhysicalStore<Double> mtrxC = null;
         if (tmpObjExpr.isAnyLinearFactorNonZero()) {
             mtrxC = Primitive64Store.FACTORY.make(nbVariables, 1);
+            PhysicalStore<Double> linear = mtrxC;
             if (max) {
-                for (IntIndex key : tmpObjExpr.getLinearKeySet()) {
-                    mtrxC.set(sourceModel.indexOfFreeVariable(key.index), 0, tmpObjExpr.doubleValue(key, true));
-                }
+                tmpObjExpr.loopLinear(true, (index, factor) -> linear.set(sourceModel.indexOfFreeVariable(index), 0, factor));
             } else {
-                for (IntIndex key : tmpObjExpr.getLinearKeySet()) {
-                    mtrxC.set(sourceModel.indexOfFreeVariable(key.index), 0, -tmpObjExpr.doubleValue(key, true));
-                }
+                tmpObjExpr.loopLinear(true, (index, factor) -> linear.set(sourceModel.indexOfFreeVariable(index), 0, -factor));
             }
         }
 
@@ -567,9 +592,7 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
                 for (int i = 0; i < nbUpExpr; i++) {
                     SparseArray<Double> rowAI = mtrxAI.addRow();
                     Expression expression = tmpUpExpr.get(i).compensate(fixedVariables);
-                    for (IntIndex key : expression.getLinearKeySet()) {
-                        rowAI.set(sourceModel.indexOfFreeVariable(key.index), expression.doubleValue(key, true));
-                    }
+                    expression.loopLinear(true, (index, factor) -> rowAI.set(sourceModel.indexOfFreeVariable(index), factor));
                     mtrxBI.set(i, 0, expression.getUpperLimit(true, Double.POSITIVE_INFINITY));
                 }
             }
@@ -587,9 +610,7 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
                 for (int i = 0; i < nbLoExpr; i++) {
                     SparseArray<Double> rowAI = mtrxAI.addRow();
                     Expression expression = tmpLoExpr.get(i).compensate(fixedVariables);
-                    for (IntIndex key : expression.getLinearKeySet()) {
-                        rowAI.set(sourceModel.indexOfFreeVariable(key.index), -expression.doubleValue(key, true));
-                    }
+                    expression.loopLinear(true, (index, factor) -> rowAI.set(sourceModel.indexOfFreeVariable(index), -factor));
                     mtrxBI.set(nbUpExpr + nbUpVar + i, 0, -expression.getLowerLimit(true, Double.NEGATIVE_INFINITY));
                 }
             }
@@ -657,6 +678,7 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
         return new ConvexObjectiveFunction(tmpQ, tmpC);
     }
 
+    private boolean myDecomposedQ = false;
     private final OptimisationData myMatrices;
     private boolean myPatchedQ = false;
     private final Primitive64Store mySolutionX;
@@ -713,6 +735,24 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
         return myMatrices.toString();
     }
 
+    /**
+     * Only the linear part of the objective function, [C], can be updated. The decomposition of [Q] is
+     * reused when re-solving, and it's a good idea to use the previous result as the kick-starter.
+     */
+    @Override
+    public boolean updateObjective(final int index, final double value) {
+
+        PhysicalStore<Double> mtrxC = myMatrices.getObjective(ConvexObjectiveFunction.class).linear();
+
+        if (index < 0 || index >= mtrxC.count()) {
+            return false;
+        }
+
+        mtrxC.set(index, value);
+
+        return true;
+    }
+
     protected Optimisation.Result buildResult() {
 
         Access1D<?> solution = this.extractSolution();
@@ -862,18 +902,22 @@ public abstract class ConvexSolver extends GenericSolver implements UpdatableSol
             this.log(Q_NOT_SYMMETRIC, matrixQ);
         }
 
-        myPatchedQ = false;
-        myZeroQ = false;
-        if (!mySolverQ.compute(matrixQ)) {
-            double largest = matrixQ.aggregateAll(Aggregator.LARGEST).doubleValue();
-            double small = options.convex().smallDiagonal();
-            if (largest > small) {
-                matrixQ.modifyDiagonal(ADD.by(small * largest));
-                mySolverQ.compute(matrixQ);
-                myPatchedQ = true;
-            } else {
-                myZeroQ = true;
+        if (!myDecomposedQ) {
+            // [Q] is not updatable – decompose (and possibly patch) it only once
+            myPatchedQ = false;
+            myZeroQ = false;
+            if (!mySolverQ.compute(matrixQ)) {
+                double largest = matrixQ.aggregateAll(Aggregator.LARGEST).doubleValue();
+                double small = options.convex().smallDiagonal();
+                if (largest > small) {
+                    matrixQ.modifyDiagonal(ADD.by(small * largest));
+                    mySolverQ.compute(matrixQ);
+                    myPatchedQ = true;
+                } else {
+                    myZeroQ = true;
+                }
             }
+            myDecomposedQ = true;
         }
 
         boolean semidefinite = true;
@@ -0,0 +1,690 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import java.util.Arrays;
+
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.operation.NRMINF;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.GenericSolver;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.OptimisationData;
+import org.ojalgo.optimisation.UpdatableSolver;
+
+/**
+ * A primal-dual interior point solver (Mehrotra predictor-corrector) for convex QP and LP problems of the
+ * same form as {@link ConvexSolver}:
+ * <p>
+ * min 1/2 [X]<sup>T</sup>[Q][X] - [C]<sup>T</sup>[X]<br>
+ * when [AE][X] == [BE]<br>
+ * and [AI][X] <= [BI]
+ * </p>
+ * <p>
+ * Unlike the active set solvers, that are built on dense matrices and whose iteration count grows with the
+ * number of active inequalities, this solver keeps [Q], [AE] and [AI] sparse. Each iteration solves a
+ * (regularised, quasi-definite) augmented KKT system using a sparse LDL<sup>T</sup> factorisation, and the
+ * number of iterations is typically 10-50 regardless of problem size. Inequalities with only 1 nonzero –
+ * variable bounds – are condensed into the diagonal and do not increase the size of the KKT system.
+ * <p>
+ * It is not the default solver for any kind of model. To have {@link ExpressionsBasedModel} use it you need
+ * to register {@link #INTEGRATION} using {@link ExpressionsBasedModel#addIntegration(ExpressionsBasedModel.Integration)}.
+ * It can also be built directly using a {@link InteriorPointSolver.Builder}. If Q is not positive
+ * semidefinite the results are undefined – that is not checked.
+ *
+ * @author apete
+ */
+public final class InteriorPointSolver extends GenericSolver implements UpdatableSolver {
+
+    public static final class Builder extends SparseConvexBuilder<InteriorPointSolver.Builder, InteriorPointSolver> {
+
+        Builder(final int nbVariables) {
+            super(nbVariables);
+        }
+
+        @Override
+        protected InteriorPointSolver doBuild(final Optimisation.Options options) {
+            return new InteriorPointSolver(this, options);
+        }
+
+    }
+
+    public static final class ModelIntegration extends SparseConvexBuilder.SparseIntegration<InteriorPointSolver.Builder, InteriorPointSolver> {
+
+        @Override
+        InteriorPointSolver.Builder newBuilder(final int nbVariables) {
+            return InteriorPointSolver.newBuilder(nbVariables);
+        }
+
+    }
+
+    /**
+     * Iteration statistics from the most recent call to {@link InteriorPointSolver#solve(Optimisation.Result)}
+     */
+    public static final class Statistics {
+
+        /**
+         * The average complementarity, [s]<sup>T</sup>[z]/m, at termination
+         */
+        public final double complementarity;
+        /**
+         * The relative dual residual (norm of the gradient of the Lagrangian) at termination
+         */
+        public final double dualResidual;
+        /**
+         * The number of iterations
+         */
+        public final int iterations;
+        /**
+         * The dimension of the KKT system actually factorised
+         */
+        public final int kktDimension;
+        /**
+         * The number of nonzeros in (one triangle of) the KKT matrix
+         */
+        public final int kktNonzeros;
+        /**
+         * The number of (strictly lower triangular) nonzeros in the LDL<sup>T</sup> factor
+         */
+        public final int nonzerosL;
+        /**
+         * The relative primal residual (constraint violation) at termination
+         */
+        public final double primalResidual;
+        /**
+         * The total number of pivots that needed dynamic regularisation
+         */
+        public final int regularisedPivots;
+        /**
+         * Time spent, in ms
+         */
+        public final long time;
+
+        Statistics(final int iterations, final double primalResidual, final double dualResidual, final double complementarity, final int kktDimension,
+                final int kktNonzeros, final int nonzerosL, final int regularisedPivots, final long time) {
+            super();
+            this.iterations = iterations;
+            this.primalResidual = primalResidual;
+            this.dualResidual = dualResidual;
+            this.complementarity = complementarity;
+            this.kktDimension = kktDimension;
+            this.kktNonzeros = kktNonzeros;
+            this.nonzerosL = nonzerosL;
+            this.regularisedPivots = regularisedPivots;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [iterations=" + iterations + ", primalResidual=" + primalResidual + ", dualResidual=" + dualResidual + ", complementarity="
+                    + complementarity + ", kktDimension=" + kktDimension + ", kktNonzeros=" + kktNonzeros + ", nonzerosL=" + nonzerosL
+                    + ", regularisedPivots=" + regularisedPivots + ", time=" + time + "]";
+        }
+
+    }
+
+    public static final ModelIntegration INTEGRATION = new ModelIntegration();
+
+    /**
+     * Fraction of the distance to the boundary to step
+     */
+    private static final double ETA = 0.995;
+    /**
+     * When the iterates become this large (relative to the problem data) the problem is deemed unbounded or
+     * infeasible.
+     */
+    private static final double HUGE = 1E12;
+    /**
+     * Mehrotra type methods typically converge in 10-50 iterations. Beyond this the iterates have stalled.
+     */
+    private static final int MAX_ITERATIONS = 200;
+    private static final int REFINEMENTS = 3;
+    private static final double REGULARISATION = 1E-8;
+
+    /**
+     * Copies a (continuous) model to an interior point solver builder – the same mapping as
+     * {@link ConvexSolver#copy(ExpressionsBasedModel, ConvexSolver.Builder)} but all matrices are kept sparse.
+     */
+    public static void copy(final ExpressionsBasedModel sourceModel, final InteriorPointSolver.Builder destinationBuilder) {
+        SparseConvexBuilder.copy(sourceModel, destinationBuilder);
+    }
+
+    /**
+     * A builder pre-populated with the contents of a {@link ConvexSolver.Builder}. (Only the nonzero
+     * elements of [Q] are copied.)
+     */
+    public static Builder newBuilder(final ConvexSolver.Builder convex) {
+        return new InteriorPointSolver.Builder(convex.countVariables()).copy(convex);
+    }
+
+    public static Builder newBuilder(final int nbVariables) {
+        return new InteriorPointSolver.Builder(nbVariables);
+    }
+
+    private static double largest(final double[] values) {
+        return NRMINF.invoke(values, 0, values.length);
+    }
+
+    /**
+     * The largest step, not greater than 1, that keeps [v] + step * [dv] non-negative.
+     */
+    private static double step(final double[] v, final double[] dv) {
+        double retVal = 1.0;
+        for (int i = 0; i < v.length; i++) {
+            if (dv[i] < 0.0) {
+                retVal = Math.min(retVal, -v[i] / dv[i]);
+            }
+        }
+        return retVal;
+    }
+
+    private final SparseKKT.Rows myAE;
+    /**
+     * The rows of the inequalities that are not redundant
+     */
+    private final SparseKKT.Rows myAI;
+    private final double[] myBE;
+    private final double[] myBI;
+    private final double[] myC;
+    /**
+     * Index (in the KKT system) of the general (non-singleton) inequalities, or -1 for singletons
+     */
+    private final int[] myGeneral;
+    /**
+     * The inequalities (rows in the original [AI]) that are not redundant – those with finite [BI]
+     */
+    private final int[] myInequalities;
+    private final SparseKKT myKKT;
+    private final SparseLDL myLDL;
+    private final int myNbEqualities;
+    private final int myNbInequalities;
+    private final int myNbVariables;
+    private final int myNbOriginalInequalities;
+    private final SparseKKT.Triplets myQuadratic;
+    private int myRegularisedPivots = 0;
+    private final double[] myRHS;
+    private final double[] myS;
+    private final double[] mySolution;
+    private Statistics myStatistics = null;
+    private final double[] myWork;
+    private final double[] myX;
+    private final double[] myY;
+    private final double[] myZ;
+
+    InteriorPointSolver(final InteriorPointSolver.Builder builder, final Optimisation.Options optimisationOptions) {
+
+        super(optimisationOptions);
+
+        OptimisationData data = builder.getOptimisationData();
+
+        myNbVariables = builder.countVariables();
+        myNbEqualities = data.countEqualityConstraints();
+        myNbOriginalInequalities = data.countInequalityConstraints();
+
+        SparseObjectiveFunction objective = builder.getObjective();
+
+        // Q & C
+
+        myQuadratic = new SparseKKT.Triplets(objective.quadratic());
+
+        myC = objective.linear().toRawCopy1D();
+
+        // AE & BE
+
+        myAE = new SparseKKT.Rows(myNbEqualities, i -> data.getAE(i));
+        myBE = new double[myNbEqualities];
+        for (int i = 0; i < myNbEqualities; i++) {
+            myBE[i] = data.getBE(i);
+        }
+
+        // AI & BI – inequalities with infinite right hand side are disregarded
+
+        int nbActive = 0;
+        for (int i = 0; i < myNbOriginalInequalities; i++) {
+            if (Double.isFinite(data.getBI(i))) {
+                nbActive++;
+            }
+        }
+        myNbInequalities = nbActive;
+        myInequalities = new int[nbActive];
+        myBI = new double[nbActive];
+        for (int i = 0, k = 0; i < myNbOriginalInequalities; i++) {
+            if (Double.isFinite(data.getBI(i))) {
+                myInequalities[k] = i;
+                myBI[k] = data.getBI(i);
+                k++;
+            }
+        }
+        myAI = new SparseKKT.Rows(nbActive, k -> data.getAI(myInequalities[k]));
+
+        // The KKT system pattern: [x | y | z of the general inequalities]
+
+        myGeneral = new int[nbActive];
+        int nbGeneral = 0;
+        int nbGeneralNonzeros = 0;
+        for (int k = 0; k < nbActive; k++) {
+            if (myAI.count(k) == 1) {
+                myGeneral[k] = -1;
+            } else {
+                myGeneral[k] = myNbVariables + myNbEqualities + nbGeneral++;
+                nbGeneralNonzeros += myAI.count(k);
+            }
+        }
+
+        int dim = myNbVariables + myNbEqualities + nbGeneral;
+
+        myKKT = new SparseKKT(dim, myQuadratic.count() + myAE.values.length + nbGeneralNonzeros);
+        myKKT.add(myQuadratic);
+        for (int i = 0; i < myNbEqualities; i++) {
+            myKKT.add(myAE, i, myNbVariables + i);
+        }
+        for (int k = 0; k < nbActive; k++) {
+            if (myGeneral[k] >= 0) {
+                myKKT.add(myAI, k, myGeneral[k]);
+            }
+        }
+
+        myLDL = myKKT.newLDL(myNbVariables);
+
+        myRHS = new double[dim];
+        mySolution = new double[dim];
+        myWork = new double[dim];
+
+        myX = new double[myNbVariables];
+        myY = new double[myNbEqualities];
+        myS = new double[nbActive];
+        myZ = new double[nbActive];
+    }
+
+    public UpdatableSolver.EntityMap getEntityMap() {
+        return null;
+    }
+
+    /**
+     * @return Statistics from the latest solve, or null if not yet solved.
+     */
+    public Statistics getStatistics() {
+        return myStatistics;
+    }
+
+    public Optimisation.Result solve(final Optimisation.Result kickStarter) {
+
+        int n = myNbVariables;
+        int me = myNbEqualities;
+        int m = myNbInequalities;
+
+        double tolerance = options.convex().interiorPointTolerance();
+        boolean linear = myQuadratic.count() == 0;
+
+        this.resetIterationsCount();
+        this.setState(State.VALID);
+        myRegularisedPivots = 0;
+
+        double normB = Math.max(InteriorPointSolver.largest(myBE), InteriorPointSolver.largest(myBI));
+        double normC = InteriorPointSolver.largest(myC);
+
+        double[] rd = new double[n];
+        double[] rpe = new double[me];
+        double[] rpi = new double[m];
+        double[] rc = new double[m];
+        double[] qx = new double[n];
+
+        double[] dx = new double[n];
+        double[] dy = new double[me];
+        double[] dz = new double[m];
+        double[] ds = new double[m];
+        double[] rz = new double[m];
+
+        this.initialise(rz);
+
+        double primal = Double.NaN;
+        double dual = Double.NaN;
+        double mu = 0.0;
+
+        for (;;) {
+
+            // Residuals
+
+            myQuadratic.multiply(myX, qx);
+
+            for (int j = 0; j < n; j++) {
+                rd[j] = qx[j] - myC[j];
+            }
+            myAE.multiplyTransposed(myY, rd);
+            myAI.multiplyTransposed(myZ, rd);
+
+            myAE.multiply(myX, rpe);
+            for (int i = 0; i < me; i++) {
+                rpe[i] -= myBE[i];
+            }
+
+            myAI.multiply(myX, rpi);
+            double sz = 0.0;
+            for (int i = 0; i < m; i++) {
+                rpi[i] += myS[i] - myBI[i];
+                sz += myS[i] * myZ[i];
+            }
+            mu = m > 0 ? sz / m : 0.0;
+
+            double objective = 0.0;
+            for (int j = 0; j < n; j++) {
+                objective += myX[j] * (qx[j] / 2.0 - myC[j]);
+            }
+
+            primal = Math.max(InteriorPointSolver.largest(rpe), InteriorPointSolver.largest(rpi)) / (1.0 + normB);
+            dual = InteriorPointSolver.largest(rd) / (1.0 + Math.max(normC, InteriorPointSolver.largest(qx)));
+            double gap = sz / (1.0 + Math.abs(objective));
+
+            if (this.isLogDebug()) {
+                this.log("{}: objective={} primal={} dual={} gap={} mu={}", this.countIterations(), objective, primal, dual, gap, mu);
+            }
+
+            if (primal <= tolerance && dual <= tolerance && gap <= tolerance) {
+                this.setState(State.OPTIMAL);
+                break;
+            }
+
+            double scale = HUGE * (1.0 + Math.max(normB, normC));
+            if (InteriorPointSolver.largest(myX) > scale) {
+                this.setState(State.UNBOUNDED);
+                break;
+            }
+            if (Math.max(InteriorPointSolver.largest(myY), InteriorPointSolver.largest(myZ)) > scale) {
+                this.setState(State.INFEASIBLE);
+                break;
+            }
+
+            if (!this.isIterationAllowed() || this.countIterations() >= MAX_ITERATIONS || !Double.isFinite(primal + dual + gap)) {
+                this.setState(primal <= tolerance ? State.APPROXIMATE : State.FAILED);
+                break;
+            }
+
+            this.factorise();
+
+            // Predictor (affine scaling) direction
+
+            for (int i = 0; i < m; i++) {
+                rc[i] = myS[i] * myZ[i];
+                rz[i] = -rpi[i] + myS[i];
+            }
+            this.solveKKT(rd, rpe, rz, dx, dy, dz);
+            this.slackStep(rpi, dx, ds);
+
+            double stepP = 1.0;
+            double stepD = 1.0;
+
+            if (m > 0) {
+
+                stepP = InteriorPointSolver.step(myS, ds);
+                stepD = InteriorPointSolver.step(myZ, dz);
+                if (!linear) {
+                    stepP = stepD = Math.min(stepP, stepD);
+                }
+
+                double affine = 0.0;
+                for (int i = 0; i < m; i++) {
+                    affine += (myS[i] + stepP * ds[i]) * (myZ[i] + stepD * dz[i]);
+                }
+                affine /= m;
+
+                double sigma = Math.min(1.0, Math.pow(affine / mu, 3));
+
+                // Corrector (centering and second order correction) direction
+
+                for (int i = 0; i < m; i++) {
+                    rc[i] = myS[i] * myZ[i] + ds[i] * dz[i] - sigma * mu;
+                    rz[i] = -rpi[i] + rc[i] / myZ[i];
+                }
+                this.solveKKT(rd, rpe, rz, dx, dy, dz);
+                this.slackStep(rpi, dx, ds);
+
+                stepP = Math.min(1.0, ETA * InteriorPointSolver.step(myS, ds));
+                stepD = Math.min(1.0, ETA * InteriorPointSolver.step(myZ, dz));
+                if (!linear) {
+                    stepP = stepD = Math.min(stepP, stepD);
+                }
+            }
+
+            if (this.isLogDebug()) {
+                this.log("\tstepP={} stepD={}", stepP, stepD);
+            }
+
+            for (int j = 0; j < n; j++) {
+                myX[j] += stepP * dx[j];
+            }
+            for (int i = 0; i < m; i++) {
+                myS[i] += stepP * ds[i];
+                myZ[i] += stepD * dz[i];
+            }
+            for (int i = 0; i < me; i++) {
+                myY[i] += stepD * dy[i];
+            }
+
+            this.incrementIterationsCount();
+        }
+
+        myStatistics = new Statistics(this.countIterations(), primal, dual, mu, myRHS.length, myKKT.values.length,
+                myLDL.getNonzeros(), myRegularisedPivots, this.countTime());
+
+        if (this.isLogProgress()) {
+            this.log("{} {} {}", this.getClassSimpleName(), this.getState(), myStatistics);
+        }
+
+        return this.buildResult();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClassSimpleName() + " " + this.getState() + " " + myStatistics;
+    }
+
+    private Optimisation.Result buildResult() {
+
+        myQuadratic.multiply(myX, myWork);
+        double value = 0.0;
+        for (int j = 0; j < myNbVariables; j++) {
+            value += myX[j] * (myWork[j] / 2.0 - myC[j]);
+        }
+
+        Optimisation.Result retVal = new Optimisation.Result(this.getState(), value, ArrayR064.wrap(myX.clone()));
+
+        ArrayR064 multipliers = ArrayR064.make(myNbEqualities + myNbOriginalInequalities);
+        for (int i = 0; i < myNbEqualities; i++) {
+            multipliers.set(i, myY[i]);
+        }
+        for (int k = 0; k < myNbInequalities; k++) {
+            multipliers.set(myNbEqualities + myInequalities[k], myZ[k]);
+        }
+        retVal.multipliers(multipliers);
+
+        return retVal;
+    }
+
+    /**
+     * Set the diagonal of the KKT matrix, using the current [s] and [z], and factorise.
+     */
+    private void factorise() {
+
+        double[] values = myKKT.values;
+        int offset = myKKT.diagonal;
+
+        Arrays.fill(values, offset, values.length, 0.0);
+
+        for (int k = 0; k < myNbInequalities; k++) {
+            int general = myGeneral[k];
+            if (general >= 0) {
+                values[offset + general] = -myS[k] / myZ[k];
+            } else {
+                int p = myAI.pointers[k];
+                double a = myAI.values[p];
+                values[offset + myAI.indices[p]] += a * a * myZ[k] / myS[k];
+            }
+        }
+
+        int regularised = myLDL.factor(values, REGULARISATION);
+        for (double regularisation = 100.0 * REGULARISATION; regularised < 0 && regularisation < 1.0; regularisation *= 100.0) {
+            if (this.isLogDebug()) {
+                this.log("Factorisation failed – retry with regularisation {}", regularisation);
+            }
+            regularised = myLDL.factor(values, regularisation);
+        }
+
+        myRegularisedPivots += Math.max(0, regularised);
+    }
+
+    /**
+     * The starting point is derived from the solution of a KKT system with the scaling [S]/[Z] = I, then
+     * shifted to make [s] and [z] strictly positive.
+     */
+    private void initialise(final double[] rz) {
+
+        int m = myNbInequalities;
+
+        for (int k = 0; k < m; k++) {
+            myS[k] = 1.0;
+            myZ[k] = 1.0;
+        }
+
+        this.factorise();
+
+        double[] rx = new double[myNbVariables];
+        for (int j = 0; j < myNbVariables; j++) {
+            rx[j] = -myC[j];
+        }
+        double[] ry = new double[myNbEqualities];
+        for (int i = 0; i < myNbEqualities; i++) {
+            ry[i] = -myBE[i];
+        }
+        for (int k = 0; k < m; k++) {
+            rz[k] = myBI[k];
+        }
+
+        // solveKKT negates the first 2 blocks of the right hand side – [x] = [C], [AE][x] = [BE]
+        this.solveKKT(rx, ry, rz, myX, myY, myZ);
+
+        // [AI][x] - [z] = [BI] => [s] = [BI] - [AI][x] = -[z]
+
+        if (m > 0) {
+
+            double minS = Double.POSITIVE_INFINITY;
+            double minZ = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < m; k++) {
+                myS[k] = -myZ[k];
+                minS = Math.min(minS, myS[k]);
+                minZ = Math.min(minZ, myZ[k]);
+            }
+
+            double shiftS = Math.max(-1.5 * minS, 0.0);
+            double shiftZ = Math.max(-1.5 * minZ, 0.0);
+
+            double sz = 0.0;
+            double sumS = 0.0;
+            double sumZ = 0.0;
+            for (int k = 0; k < m; k++) {
+                myS[k] += shiftS;
+                myZ[k] += shiftZ;
+                sz += myS[k] * myZ[k];
+                sumS += myS[k];
+                sumZ += myZ[k];
+            }
+
+            // Make sure the point is reasonably well centered
+
+            shiftS = sumZ > 0.0 ? 0.5 * sz / sumZ : 1.0;
+            shiftZ = sumS > 0.0 ? 0.5 * sz / sumS : 1.0;
+            if (shiftS <= 0.0 || shiftZ <= 0.0) {
+                shiftS = shiftZ = 1.0;
+            }
+
+            for (int k = 0; k < m; k++) {
+                myS[k] += shiftS;
+                myZ[k] += shiftZ;
+            }
+        }
+    }
+
+    /**
+     * [ds] = -[rpi] - [AI][dx] – calculated this way, rather than from the linearised complementarity
+     * condition, the step is always consistent with the primal inequality residual, even if the KKT system
+     * was only solved approximately.
+     */
+    private void slackStep(final double[] rpi, final double[] dx, final double[] ds) {
+        myAI.multiply(dx, ds);
+        for (int k = 0; k < myNbInequalities; k++) {
+            ds[k] = -rpi[k] - ds[k];
+        }
+    }
+
+    /**
+     * Solves the KKT system (using the current factorisation)
+     *
+     * <pre>
+     * [Q  AE' AI'  ][dx]   [-rd ]
+     * [AE  0   0   ][dy] = [-rpe]
+     * [AI  0  -S/Z ][dz]   [ rz ]
+     * </pre>
+     *
+     * where the rows of the singleton inequalities have already been eliminated.
+     */
+    private void solveKKT(final double[] rd, final double[] rpe, final double[] rz, final double[] dx, final double[] dy, final double[] dz) {
+
+        int n = myNbVariables;
+        int me = myNbEqualities;
+
+        double[] rhs = myRHS;
+
+        for (int j = 0; j < n; j++) {
+            rhs[j] = -rd[j];
+        }
+        for (int i = 0; i < me; i++) {
+            rhs[n + i] = -rpe[i];
+        }
+        for (int k = 0; k < myNbInequalities; k++) {
+            int general = myGeneral[k];
+            if (general >= 0) {
+                rhs[general] = rz[k];
+            } else {
+                int p = myAI.pointers[k];
+                rhs[myAI.indices[p]] += myAI.values[p] * rz[k] * myZ[k] / myS[k];
+            }
+        }
+
+        myLDL.solve(myKKT.values, rhs, mySolution, myWork, REFINEMENTS);
+
+        for (int j = 0; j < n; j++) {
+            dx[j] = mySolution[j];
+        }
+        for (int i = 0; i < me; i++) {
+            dy[i] = mySolution[n + i];
+        }
+        for (int k = 0; k < myNbInequalities; k++) {
+            int general = myGeneral[k];
+            if (general >= 0) {
+                dz[k] = mySolution[general];
+            } else {
+                int p = myAI.pointers[k];
+                dz[k] = myZ[k] / myS[k] * (myAI.values[p] * dx[myAI.indices[p]] - rz[k]);
+            }
+        }
+    }
+
+}
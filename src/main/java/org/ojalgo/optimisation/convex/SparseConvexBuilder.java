@@ -0,0 +1,302 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.matrix.store.SparseStore;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.GenericSolver;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.OptimisationData;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.structure.Access2D;
+import org.ojalgo.structure.ElementView2D;
+import org.ojalgo.structure.Structure1D.IntIndex;
+
+/**
+ * Common builder of the solvers that keep [Q], [AE] and [AI] sparse – same problem form as
+ * {@link ConvexSolver}.
+ *
+ * @author apete
+ */
+abstract class SparseConvexBuilder<B extends SparseConvexBuilder<?, ?>, S extends GenericSolver> extends GenericSolver.Builder<B, S> {
+
+    /**
+     * Common model integration of the solvers that keep [Q], [AE] and [AI] sparse.
+     */
+    abstract static class SparseIntegration<B extends SparseConvexBuilder<B, S>, S extends GenericSolver> extends ExpressionsBasedModel.Integration<S> {
+
+        public S build(final ExpressionsBasedModel model) {
+
+            B builder = this.newBuilder(model.getFreeVariables().size());
+
+            SparseConvexBuilder.copy(model, builder);
+
+            return builder.build(model.options);
+        }
+
+        /**
+         * Any continuous model with linear constraints – LP as well as QP.
+         */
+        public boolean isCapable(final ExpressionsBasedModel model) {
+            return !model.isAnyVariableInteger() && !model.isAnyConstraintQuadratic();
+        }
+
+        @Override
+        protected boolean isSolutionMapped() {
+            return true;
+        }
+
+        abstract B newBuilder(int nbVariables);
+
+    }
+
+    /**
+     * The same mapping as {@link ConvexSolver#copy(ExpressionsBasedModel, ConvexSolver.Builder)} but all
+     * matrices are kept sparse.
+     */
+    static void copy(final ExpressionsBasedModel sourceModel, final SparseConvexBuilder<?, ?> destinationBuilder) {
+
+        List<Variable> freeVariables = sourceModel.getFreeVariables();
+        Set<IntIndex> fixedVariables = sourceModel.getFixedVariables();
+
+        int nbVariables = freeVariables.size();
+
+        // AE & BE
+
+        List<Expression> eqExpr = sourceModel.constraints().filter(c -> c.isEqualityConstraint() && !c.isAnyQuadraticFactorNonZero())
+                .collect(Collectors.toList());
+        int nbEqExpr = eqExpr.size();
+
+        if (nbEqExpr > 0) {
+
+            SparseStore<Double> mtrxAE = SparseStore.R064.make(nbEqExpr, nbVariables);
+            PhysicalStore<Double> mtrxBE = Primitive64Store.FACTORY.make(nbEqExpr, 1);
+
+            for (int i = 0; i < nbEqExpr; i++) {
+
+                Expression expression = eqExpr.get(i).compensate(fixedVariables);
+
+                int row = i;
+                expression.loopLinear(true, (index, factor) -> mtrxAE.set(row, sourceModel.indexOfFreeVariable(index), factor));
+
+                mtrxBE.set(i, 0, expression.getUpperLimit(true, Double.POSITIVE_INFINITY));
+            }
+
+            destinationBuilder.equalities(mtrxAE, mtrxBE);
+        }
+
+        // Q & C
+
+        Expression objective = sourceModel.objective().compensate(fixedVariables);
+        double sign = sourceModel.getOptimisationSense() == Optimisation.Sense.MAX ? -1.0 : 1.0;
+
+        SparseStore<Double> mtrxQ = destinationBuilder.getObjective().quadratic();
+        objective.loopQuadratic(true, (row, column, factor) -> {
+
+            int i = sourceModel.indexOfFreeVariable(row);
+            int j = sourceModel.indexOfFreeVariable(column);
+
+            double value = sign * factor;
+
+            mtrxQ.add(i, j, value);
+            mtrxQ.add(j, i, value);
+        });
+
+        PhysicalStore<Double> mtrxC = destinationBuilder.getObjective().linear();
+        objective.loopLinear(true, (index, factor) -> mtrxC.set(sourceModel.indexOfFreeVariable(index), -sign * factor));
+
+        // AI & BI
+
+        List<Expression> upExpr = sourceModel.constraints().filter(e -> e.isUpperConstraint() && !e.isAnyQuadraticFactorNonZero())
+                .collect(Collectors.toList());
+        List<Variable> upVar = sourceModel.bounds().filter(Variable::isUpperConstraint).collect(Collectors.toList());
+        List<Expression> loExpr = sourceModel.constraints().filter(e -> e.isLowerConstraint() && !e.isAnyQuadraticFactorNonZero())
+                .collect(Collectors.toList());
+        List<Variable> loVar = sourceModel.bounds().filter(Variable::isLowerConstraint).collect(Collectors.toList());
+
+        int nbInequalities = upExpr.size() + upVar.size() + loExpr.size() + loVar.size();
+
+        if (nbInequalities > 0) {
+
+            SparseStore<Double> mtrxAI = SparseStore.R064.make(nbInequalities, nbVariables);
+            PhysicalStore<Double> mtrxBI = Primitive64Store.FACTORY.make(nbInequalities, 1);
+
+            int i = 0;
+
+            for (Expression constraint : upExpr) {
+                Expression expression = constraint.compensate(fixedVariables);
+                int row = i;
+                expression.loopLinear(true, (index, factor) -> mtrxAI.set(row, sourceModel.indexOfFreeVariable(index), factor));
+                mtrxBI.set(i++, 0, expression.getUpperLimit(true, Double.POSITIVE_INFINITY));
+            }
+
+            for (Variable variable : upVar) {
+                mtrxAI.set(i, sourceModel.indexOfFreeVariable(variable), 1.0);
+                mtrxBI.set(i++, 0, variable.getUpperLimit(false, Double.POSITIVE_INFINITY));
+            }
+
+            for (Expression constraint : loExpr) {
+                Expression expression = constraint.compensate(fixedVariables);
+                int row = i;
+                expression.loopLinear(true, (index, factor) -> mtrxAI.set(row, sourceModel.indexOfFreeVariable(index), -factor));
+                mtrxBI.set(i++, 0, -expression.getLowerLimit(true, Double.NEGATIVE_INFINITY));
+            }
+
+            for (Variable variable : loVar) {
+                mtrxAI.set(i, sourceModel.indexOfFreeVariable(variable), -1.0);
+                mtrxBI.set(i++, 0, -variable.getLowerLimit(false, Double.NEGATIVE_INFINITY));
+            }
+
+            destinationBuilder.inequalities(mtrxAI, mtrxBI);
+        }
+    }
+
+    SparseConvexBuilder(final int nbVariables) {
+        super();
+        this.setNumberOfVariables(nbVariables);
+        this.setObjective(new SparseObjectiveFunction(nbVariables));
+    }
+
+    @Override
+    public B inequalities(final Access2D<?> mtrxAI, final Access1D<?> mtrxBI) {
+        return super.inequalities(mtrxAI, mtrxBI);
+    }
+
+    @Override
+    public B inequality(final double rhs, final double... factors) {
+        return super.inequality(rhs, factors);
+    }
+
+    /**
+     * Set the linear part of the objective function
+     */
+    public B linear(final Access1D<?> factors) {
+        this.getObjective().linear().fillMatching(factors);
+        return this.self();
+    }
+
+    /**
+     * Set the linear part of the objective function
+     */
+    public B linear(final double... factors) {
+        this.getObjective().linear().fillMatching(Primitive64Store.FACTORY.column(factors));
+        return this.self();
+    }
+
+    /**
+     * Set one element of the linear part of the objective function
+     */
+    public B objective(final int index, final double value) {
+        this.getObjective().linear().set(index, value);
+        return this.self();
+    }
+
+    /**
+     * Set one element of the quadratic part of the objective function. [Q] must be symmetric – you need to
+     * set both [row,col] and [col,row].
+     */
+    public B objective(final int row, final int col, final double value) {
+        this.getObjective().quadratic().set(row, col, value);
+        return this.self();
+    }
+
+    /**
+     * Set the quadratic part of the objective function. Only the nonzero elements are copied.
+     */
+    public B quadratic(final Access2D<?> factors) {
+        SparseStore<Double> quadratic = this.getObjective().quadratic();
+        if (factors instanceof SparseStore<?>) {
+            for (ElementView2D<?, ?> element : ((SparseStore<?>) factors).nonzeros()) {
+                quadratic.set(element.row(), element.column(), element.doubleValue());
+            }
+        } else {
+            for (int j = 0, nbCols = factors.getColDim(); j < nbCols; j++) {
+                for (int i = 0, nbRows = factors.getRowDim(); i < nbRows; i++) {
+                    double value = factors.doubleValue(i, j);
+                    if (value != 0.0) {
+                        quadratic.set(i, j, value);
+                    }
+                }
+            }
+        }
+        return this.self();
+    }
+
+    @Override
+    protected void append(final StringBuilder builder) {
+
+        super.append(builder);
+
+        GenericSolver.Builder.append(builder, "Q", this.getObjective().quadratic());
+    }
+
+    @Override
+    protected MatrixStore<Double> getC() {
+        return this.getObjective().linear();
+    }
+
+    @Override
+    protected OptimisationData getOptimisationData() {
+        return super.getOptimisationData();
+    }
+
+    /**
+     * Populate with the contents of a {@link ConvexSolver.Builder}. (Only the nonzero elements of [Q] are
+     * copied.)
+     */
+    B copy(final ConvexSolver.Builder convex) {
+
+        this.quadratic(convex.getQ());
+        this.linear(convex.getC());
+
+        OptimisationData data = convex.getOptimisationData();
+
+        if (data.countEqualityConstraints() > 0) {
+            this.equalities(data.getAE(), data.getBE());
+        }
+
+        if (data.countInequalityConstraints() > 0) {
+            this.inequalities(data.getAI(), data.getBI());
+        }
+
+        return this.self();
+    }
+
+    SparseObjectiveFunction getObjective() {
+        return this.getObjective(SparseObjectiveFunction.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private B self() {
+        return (B) this;
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import org.ojalgo.array.SparseArray;
+import org.ojalgo.array.SparseArray.NonzeroView;
+import org.ojalgo.matrix.store.SparseStore;
+import org.ojalgo.structure.ElementView2D;
+
+/**
+ * The (quasi-definite) KKT matrix of the solvers built by {@link SparseConvexBuilder}, assembled from [Q]
+ * and the constraint rows, as well as those sparse data structures themselves. Only the upper triangle of
+ * the KKT matrix is stored, with the diagonal last.
+ *
+ * @author apete
+ */
+final class SparseKKT {
+
+    /**
+     * Constraint rows, [A], compressed – row i has its column indices and values in positions
+     * pointers[i] (inclusive) to pointers[i+1] (exclusive) of indices and values.
+     */
+    static final class Rows {
+
+        final int[] indices;
+        final int[] pointers;
+        final double[] values;
+
+        Rows(final int nbRows, final IntFunction<SparseArray<Double>> rows) {
+
+            super();
+
+            pointers = new int[nbRows + 1];
+            for (int i = 0; i < nbRows; i++) {
+                pointers[i + 1] = pointers[i] + Math.toIntExact(rows.apply(i).countNonzeros());
+            }
+
+            indices = new int[pointers[nbRows]];
+            values = new double[pointers[nbRows]];
+            for (int i = 0; i < nbRows; i++) {
+                int p = pointers[i];
+                for (NonzeroView<Double> nonzero : rows.apply(i).nonzeros()) {
+                    indices[p] = Math.toIntExact(nonzero.index());
+                    values[p++] = nonzero.doubleValue();
+                }
+            }
+        }
+
+        /**
+         * @return The number of nonzeros in the row
+         */
+        int count(final int row) {
+            return pointers[row + 1] - pointers[row];
+        }
+
+        /**
+         * [result] = [A][x]
+         */
+        void multiply(final double[] x, final double[] result) {
+            for (int i = 0, limit = pointers.length - 1; i < limit; i++) {
+                double sum = 0.0;
+                for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                    sum += values[p] * x[indices[p]];
+                }
+                result[i] = sum;
+            }
+        }
+
+        /**
+         * [result] += [A]<sup>T</sup>[y]
+         */
+        void multiplyTransposed(final double[] y, final double[] result) {
+            for (int i = 0, limit = pointers.length - 1; i < limit; i++) {
+                double yi = y[i];
+                for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                    result[indices[p]] += values[p] * yi;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The nonzero elements of a (symmetric) [Q] as row, column and value triplets – both triangles. Empty if
+     * the problem is linear.
+     */
+    static final class Triplets {
+
+        final int[] columns;
+        final int[] rows;
+        final double[] values;
+
+        Triplets(final SparseStore<Double> matrix) {
+
+            super();
+
+            int nbElements = Math.toIntExact(matrix.nonzeros().estimateSize());
+
+            int[] tmpRows = new int[nbElements];
+            int[] tmpColumns = new int[nbElements];
+            double[] tmpValues = new double[nbElements];
+
+            int nbNonzeros = 0;
+            for (ElementView2D<Double, ?> element : matrix.nonzeros()) {
+                double value = element.doubleValue();
+                if (value != 0.0) {
+                    tmpRows[nbNonzeros] = Math.toIntExact(element.row());
+                    tmpColumns[nbNonzeros] = Math.toIntExact(element.column());
+                    tmpValues[nbNonzeros] = value;
+                    nbNonzeros++;
+                }
+            }
+
+            rows = Arrays.copyOf(tmpRows, nbNonzeros);
+            columns = Arrays.copyOf(tmpColumns, nbNonzeros);
+            values = Arrays.copyOf(tmpValues, nbNonzeros);
+        }
+
+        int count() {
+            return values.length;
+        }
+
+        /**
+         * [result] = [Q][x]
+         */
+        void multiply(final double[] x, final double[] result) {
+            Arrays.fill(result, 0.0);
+            for (int q = 0; q < values.length; q++) {
+                result[rows[q]] += values[q] * x[columns[q]];
+            }
+        }
+
+    }
+
+    /**
+     * Offset to the diagonal in {@link #values}
+     */
+    final int diagonal;
+    /**
+     * The (upper triangle) values – the diagonal last
+     */
+    final double[] values;
+
+    private final int[] myColumns;
+    private int myCount = 0;
+    private final int myDimension;
+    private final int[] myRows;
+
+    /**
+     * @param dimension The size of the KKT system
+     * @param nbOffDiagonal The number of values to be added using the add methods – everything but the
+     *        diagonal
+     */
+    SparseKKT(final int dimension, final int nbOffDiagonal) {
+
+        super();
+
+        myDimension = dimension;
+        diagonal = nbOffDiagonal;
+
+        int nbEntries = nbOffDiagonal + dimension;
+        myRows = new int[nbEntries];
+        myColumns = new int[nbEntries];
+        values = new double[nbEntries];
+    }
+
+    /**
+     * Adds a row of the constraints as a column of the KKT matrix.
+     */
+    void add(final SparseKKT.Rows constraints, final int row, final int column) {
+        for (int p = constraints.pointers[row]; p < constraints.pointers[row + 1]; p++) {
+            myRows[myCount] = constraints.indices[p];
+            myColumns[myCount] = column;
+            values[myCount++] = constraints.values[p];
+        }
+    }
+
+    /**
+     * Adds [Q] to the upper left block. Both triangles are added (folded to the upper) – half of each.
+     */
+    void add(final SparseKKT.Triplets quadratic) {
+        for (int q = 0; q < quadratic.values.length; q++) {
+            int row = quadratic.rows[q];
+            int column = quadratic.columns[q];
+            myRows[myCount] = Math.min(row, column);
+            myColumns[myCount] = Math.max(row, column);
+            values[myCount++] = row == column ? quadratic.values[q] : quadratic.values[q] / 2.0;
+        }
+    }
+
+    /**
+     * Completes the pattern with the diagonal, and creates the factorisation. The diagonal values have to be
+     * set before each factorisation.
+     *
+     * @param nbPositive The number of leading diagonal elements expected to be positive (the variables'
+     *        block) – the rest are expected to be negative.
+     */
+    SparseLDL newLDL(final int nbPositive) {
+
+        double[] signs = new double[myDimension];
+        for (int d = 0; d < myDimension; d++) {
+            myRows[diagonal + d] = d;
+            myColumns[diagonal + d] = d;
+            signs[d] = d < nbPositive ? 1.0 : -1.0;
+        }
+
+        return new SparseLDL(myDimension, myRows, myColumns, values.length, signs);
+    }
+
+}
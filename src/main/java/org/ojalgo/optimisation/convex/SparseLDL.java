@@ -0,0 +1,490 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Sparse LDL<sup>T</sup> factorisation of symmetric quasi-definite matrices – the KKT systems of
+ * {@link InteriorPointSolver}. The sparsity pattern is fixed at construction (ordering and symbolic
+ * analysis are done once) and then the numeric factorisation can be recomputed any number of times with
+ * different values.
+ * <p>
+ * The ordering is a minimum degree ordering, where very dense rows/columns are postponed to the end. The
+ * numeric factorisation is an up-looking, elimination tree based, algorithm without pivoting. That works
+ * because quasi-definite matrices are strongly factorisable, and to make sure they really are quasi-definite
+ * the diagonal is regularised. Each index has a sign (+1 or -1) that specify which direction to regularise
+ * in.
+ *
+ * @author apete
+ */
+final class SparseLDL {
+
+    private static final double DYNAMIC_DELTA = 2E-7;
+    private static final double DYNAMIC_EPSILON = 1E-13;
+
+    /**
+     * @param dim The matrix dimension
+     * @param rows The row indices of the (off-diagonal) entries
+     * @param cols The column indices of the (off-diagonal) entries
+     * @param nbEntries The number of entries to consider
+     * @return Permutation, new to old index
+     */
+    static int[] order(final int dim, final int[] rows, final int[] cols, final int nbEntries) {
+
+        int[] counts = new int[dim];
+        for (int e = 0; e < nbEntries; e++) {
+            if (rows[e] != cols[e]) {
+                counts[rows[e]]++;
+                counts[cols[e]]++;
+            }
+        }
+
+        int[][] adjacent = new int[dim][];
+        for (int i = 0; i < dim; i++) {
+            adjacent[i] = new int[counts[i]];
+        }
+        Arrays.fill(counts, 0);
+        for (int e = 0; e < nbEntries; e++) {
+            int r = rows[e];
+            int c = cols[e];
+            if (r != c) {
+                adjacent[r][counts[r]++] = c;
+                adjacent[c][counts[c]++] = r;
+            }
+        }
+
+        // Remove duplicates
+
+        int[] marker = new int[dim];
+        Arrays.fill(marker, -1);
+        for (int i = 0; i < dim; i++) {
+            int[] list = adjacent[i];
+            int length = 0;
+            for (int v : list) {
+                if (marker[v] != i) {
+                    marker[v] = i;
+                    list[length++] = v;
+                }
+            }
+            adjacent[i] = length == list.length ? list : Arrays.copyOf(list, length);
+        }
+
+        // Postpone dense rows/columns
+
+        int threshold = Math.max(16, (int) (10.0 * Math.sqrt(dim)));
+        boolean[] dense = new boolean[dim];
+        int nbDense = 0;
+        for (int i = 0; i < dim; i++) {
+            if (adjacent[i].length > threshold) {
+                dense[i] = true;
+                nbDense++;
+            }
+        }
+        if (nbDense > 0) {
+            for (int i = 0; i < dim; i++) {
+                if (!dense[i]) {
+                    int[] list = adjacent[i];
+                    int length = 0;
+                    for (int v : list) {
+                        if (!dense[v]) {
+                            list[length++] = v;
+                        }
+                    }
+                    adjacent[i] = length == list.length ? list : Arrays.copyOf(list, length);
+                }
+            }
+        }
+
+        // Minimum degree on the elimination graph
+
+        int[] retVal = new int[dim];
+        int nbOrdered = 0;
+
+        boolean[] eliminated = new boolean[dim];
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int i = 0; i < dim; i++) {
+            if (!dense[i]) {
+                queue.add(SparseLDL.key(adjacent[i].length, i));
+            }
+        }
+
+        Arrays.fill(marker, -1);
+        int stamp = -1;
+        int[] work = new int[dim];
+
+        while (!queue.isEmpty()) {
+
+            long key = queue.poll().longValue();
+            int pivot = (int) key;
+
+            if (eliminated[pivot] || adjacent[pivot].length != (int) (key >>> 32)) {
+                continue; // Stale entry
+            }
+
+            eliminated[pivot] = true;
+            retVal[nbOrdered++] = pivot;
+
+            int[] neighbours = adjacent[pivot];
+            adjacent[pivot] = null;
+
+            int nbNeighbours = 0;
+            for (int v : neighbours) {
+                if (!eliminated[v]) {
+                    neighbours[nbNeighbours++] = v;
+                }
+            }
+
+            // The neighbours of the pivot form a clique
+
+            for (int n = 0; n < nbNeighbours; n++) {
+
+                int node = neighbours[n];
+                stamp++;
+
+                int length = 0;
+                for (int v : adjacent[node]) {
+                    if (!eliminated[v] && marker[v] != stamp) {
+                        marker[v] = stamp;
+                        work[length++] = v;
+                    }
+                }
+                for (int m = 0; m < nbNeighbours; m++) {
+                    int v = neighbours[m];
+                    if (v != node && marker[v] != stamp) {
+                        marker[v] = stamp;
+                        work[length++] = v;
+                    }
+                }
+
+                adjacent[node] = Arrays.copyOf(work, length);
+                queue.add(SparseLDL.key(length, node));
+            }
+        }
+
+        if (nbDense > 0) {
+            for (int i = 0; i < dim; i++) {
+                if (dense[i]) {
+                    retVal[nbOrdered++] = i;
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    private static long key(final int degree, final int index) {
+        return (long) degree << 32 | index;
+    }
+
+    private final int[] myAi;
+    private final int[] myAp;
+    private final double[] myAx;
+    private final int[] myCols;
+    private final double[] myD;
+    private final int myDim;
+    private final int[] myFlag;
+    private final int[] myLi;
+    private final int[] myLnz;
+    private final int[] myLp;
+    private final double[] myLx;
+    /**
+     * Entry index to position in myAx
+     */
+    private final int[] myMap;
+    private final int myNbEntries;
+    private final int[] myParent;
+    private final int[] myPattern;
+    /**
+     * new -> old
+     */
+    private final int[] myPermutation;
+    private final int[] myRows;
+    private final double[] mySigns;
+    private final double[] myWork;
+    private final double[] myY;
+
+    /**
+     * @param dim The matrix dimension
+     * @param rows The row indices of the entries – only one of the triangles (either one) should be
+     *        specified, and duplicates are allowed. It's the sum of the duplicates that counts.
+     * @param cols The column indices of the entries
+     * @param nbEntries The number of entries
+     * @param signs The sign of each diagonal element (the direction in which to regularise)
+     */
+    SparseLDL(final int dim, final int[] rows, final int[] cols, final int nbEntries, final double[] signs) {
+
+        super();
+
+        myDim = dim;
+        myRows = rows;
+        myCols = cols;
+        myNbEntries = nbEntries;
+        mySigns = signs;
+
+        myPermutation = SparseLDL.order(dim, rows, cols, nbEntries);
+        int[] inverse = new int[dim];
+        for (int k = 0; k < dim; k++) {
+            inverse[myPermutation[k]] = k;
+        }
+
+        // Upper triangular (compressed column) pattern of the permuted matrix
+
+        myAp = new int[dim + 1];
+        for (int e = 0; e < nbEntries; e++) {
+            myAp[Math.max(inverse[rows[e]], inverse[cols[e]]) + 1]++;
+        }
+        for (int k = 0; k < dim; k++) {
+            myAp[k + 1] += myAp[k];
+        }
+        myAi = new int[nbEntries];
+        myAx = new double[nbEntries];
+        myMap = new int[nbEntries];
+        int[] next = Arrays.copyOf(myAp, dim);
+        for (int e = 0; e < nbEntries; e++) {
+            int r = inverse[rows[e]];
+            int c = inverse[cols[e]];
+            int p = next[Math.max(r, c)]++;
+            myAi[p] = Math.min(r, c);
+            myMap[e] = p;
+        }
+
+        // Symbolic analysis: elimination tree and column counts
+
+        myParent = new int[dim];
+        myLnz = new int[dim];
+        myFlag = new int[dim];
+
+        for (int k = 0; k < dim; k++) {
+            myParent[k] = -1;
+            myFlag[k] = k;
+            myLnz[k] = 0;
+            for (int p = myAp[k]; p < myAp[k + 1]; p++) {
+                int i = myAi[p];
+                if (i < k) {
+                    for (; myFlag[i] != k; i = myParent[i]) {
+                        if (myParent[i] == -1) {
+                            myParent[i] = k;
+                        }
+                        myLnz[i]++;
+                        myFlag[i] = k;
+                    }
+                }
+            }
+        }
+
+        myLp = new int[dim + 1];
+        for (int k = 0; k < dim; k++) {
+            myLp[k + 1] = myLp[k] + myLnz[k];
+        }
+
+        myLi = new int[myLp[dim]];
+        myLx = new double[myLp[dim]];
+        myD = new double[dim];
+        myY = new double[dim];
+        myPattern = new int[dim];
+        myWork = new double[dim];
+    }
+
+    /**
+     * Numeric factorisation
+     *
+     * @param values The entry values (matching the pattern given at construction)
+     * @param regularisation Static regularisation added to the diagonal, in the direction of each index'
+     *        sign.
+     * @return The number of pivots that were (dynamically) regularised because they were too small, or had
+     *         the wrong sign. If the factorisation failed (overflow) -1 is returned.
+     */
+    int factor(final double[] values, final double regularisation) {
+
+        Arrays.fill(myAx, 0.0);
+        for (int e = 0; e < myNbEntries; e++) {
+            myAx[myMap[e]] += values[e];
+        }
+
+        int retVal = 0;
+
+        for (int k = 0; k < myDim; k++) {
+
+            myY[k] = 0.0;
+            int top = myDim;
+            myFlag[k] = k;
+            myLnz[k] = 0;
+
+            for (int p = myAp[k]; p < myAp[k + 1]; p++) {
+                int i = myAi[p];
+                myY[i] += myAx[p];
+                int length = 0;
+                for (; myFlag[i] != k; i = myParent[i]) {
+                    myPattern[length++] = i;
+                    myFlag[i] = k;
+                }
+                while (length > 0) {
+                    myPattern[--top] = myPattern[--length];
+                }
+            }
+
+            double sign = mySigns[myPermutation[k]];
+
+            double diagonal = myY[k] + sign * regularisation;
+            myY[k] = 0.0;
+
+            for (; top < myDim; top++) {
+                int i = myPattern[top];
+                double yi = myY[i];
+                myY[i] = 0.0;
+                int limit = myLp[i] + myLnz[i];
+                for (int p = myLp[i]; p < limit; p++) {
+                    myY[myLi[p]] -= myLx[p] * yi;
+                }
+                double lki = yi / myD[i];
+                diagonal -= lki * yi;
+                myLi[limit] = k;
+                myLx[limit] = lki;
+                myLnz[i]++;
+            }
+
+            if (sign * diagonal <= DYNAMIC_EPSILON) {
+                diagonal = sign * DYNAMIC_DELTA;
+                retVal++;
+            }
+
+            myD[k] = diagonal;
+        }
+
+        for (int p = 0, limit = myLp[myDim]; p < limit; p++) {
+            if (!Double.isFinite(myLx[p])) {
+                return -1;
+            }
+        }
+        for (int k = 0; k < myDim; k++) {
+            if (!Double.isFinite(myD[k])) {
+                return -1;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * The number of (strictly lower triangular) nonzeros in the factor L.
+     */
+    int getNonzeros() {
+        return myLp[myDim];
+    }
+
+    /**
+     * [y] = [K][x] where [K] is defined by the pattern, given at construction, and the supplied values.
+     */
+    void multiply(final double[] values, final double[] x, final double[] y) {
+        Arrays.fill(y, 0.0);
+        for (int e = 0; e < myNbEntries; e++) {
+            int r = myRows[e];
+            int c = myCols[e];
+            y[r] += values[e] * x[c];
+            if (r != c) {
+                y[c] += values[e] * x[r];
+            }
+        }
+    }
+
+    /**
+     * Solve using the latest factorisation. The right hand side and the solution may be the same array.
+     */
+    void solve(final double[] rhs, final double[] solution) {
+
+        double[] work = myWork;
+
+        for (int k = 0; k < myDim; k++) {
+            work[k] = rhs[myPermutation[k]];
+        }
+
+        for (int j = 0; j < myDim; j++) {
+            double xj = work[j];
+            if (xj != 0.0) {
+                for (int p = myLp[j], limit = myLp[j + 1]; p < limit; p++) {
+                    work[myLi[p]] -= myLx[p] * xj;
+                }
+            }
+        }
+
+        for (int j = 0; j < myDim; j++) {
+            work[j] /= myD[j];
+        }
+
+        for (int j = myDim - 1; j >= 0; j--) {
+            double xj = work[j];
+            for (int p = myLp[j], limit = myLp[j + 1]; p < limit; p++) {
+                xj -= myLx[p] * work[myLi[p]];
+            }
+            work[j] = xj;
+        }
+
+        for (int k = 0; k < myDim; k++) {
+            solution[myPermutation[k]] = work[k];
+        }
+    }
+
+    /**
+     * Solve and then iteratively refine the solution against the (unregularised) matrix defined by the
+     * supplied values.
+     *
+     * @param values The entry values of the matrix that was actually meant to be factorised
+     * @param rhs The right hand side (not modified)
+     * @param solution The solution
+     * @param residual Work array
+     * @param refinements The (max) number of refinement steps
+     */
+    void solve(final double[] values, final double[] rhs, final double[] solution, final double[] residual, final int refinements) {
+
+        this.solve(rhs, solution);
+
+        double norm = 0.0;
+        for (int i = 0; i < myDim; i++) {
+            norm = Math.max(norm, Math.abs(rhs[i]));
+        }
+        double tolerance = 1E-14 * (1.0 + norm);
+
+        for (int r = 0; r < refinements; r++) {
+
+            this.multiply(values, solution, residual);
+
+            double largest = 0.0;
+            for (int i = 0; i < myDim; i++) {
+                residual[i] = rhs[i] - residual[i];
+                largest = Math.max(largest, Math.abs(residual[i]));
+            }
+
+            if (largest <= tolerance) {
+                return;
+            }
+
+            this.solve(residual, residual);
+
+            for (int i = 0; i < myDim; i++) {
+                solution[i] += residual[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.convex;
+
+import org.ojalgo.function.multiary.MultiaryFunction;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.matrix.store.SparseStore;
+import org.ojalgo.structure.Access1D;
+
+/**
+ * 1/2 [x]<sup>T</sup>[Q][x] - [C]<sup>T</sup>[x] with [Q] stored sparse.
+ *
+ * @author apete
+ */
+final class SparseObjectiveFunction implements MultiaryFunction.TwiceDifferentiable<Double> {
+
+    private final Primitive64Store myLinear;
+    private final SparseStore<Double> myQuadratic;
+
+    SparseObjectiveFunction(final int arity) {
+
+        super();
+
+        myQuadratic = SparseStore.R064.make(arity, arity);
+        myLinear = Primitive64Store.FACTORY.make(arity, 1);
+    }
+
+    public int arity() {
+        return myLinear.size();
+    }
+
+    public MatrixStore<Double> getGradient(final Access1D<Double> point) {
+        return myQuadratic.multiply(Primitive64Store.FACTORY.columns(point)).subtract(myLinear);
+    }
+
+    public MatrixStore<Double> getHessian(final Access1D<Double> point) {
+        return myQuadratic;
+    }
+
+    public MatrixStore<Double> getLinearFactors(final boolean negated) {
+        return negated ? myLinear : myLinear.negate();
+    }
+
+    @Override
+    public Double invoke(final Access1D<Double> arg) {
+        double quadratic = myQuadratic.multiplyBoth(arg).doubleValue();
+        double linear = myLinear.dot(arg);
+        return Double.valueOf(quadratic / 2.0 - linear);
+    }
+
+    Primitive64Store linear() {
+        return myLinear;
+    }
+
+    SparseStore<Double> quadratic() {
+        return myQuadratic;
+    }
+
+}
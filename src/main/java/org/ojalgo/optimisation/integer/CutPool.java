@@ -0,0 +1,386 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.structure.Access1D;
+
+/**
+ * A pool of globally valid cuts, shared by all branch&bound workers. All cuts are on the form [factors]*[x]
+ * &ge; lower, and stored in primitive arrays.
+ * <ul>
+ * <li>Deduplication: Cuts with (numerically) the same left hand side are only stored once – the one with the
+ * tightest right hand side is kept.
+ * <li>Efficacy: Cuts are ranked by their efficacy, the (euclidean) distance by which they cut off the point
+ * being separated. Cuts that are almost parallel to an already selected cut are not selected.
+ * <li>Aging: Every time a cut is not selected its age is incremented (it's reset when selected). Cuts that
+ * become too old are evicted, and when the pool is full the oldest cuts are evicted.
+ * </ul>
+ * In addition the pool holds the most recently offered (fractional) node solution, so that idle workers can
+ * run the separators on that.
+ *
+ * @author apete
+ */
+final class CutPool {
+
+    static final class Cut {
+
+        private int myAge = 0;
+        private double myEfficacy = 0.0;
+        private final int myId;
+
+        final double[] factors;
+        final int[] indices;
+        final double lower;
+        final double norm;
+
+        Cut(final int id, final int[] indices, final double[] factors, final double lower) {
+
+            super();
+
+            myId = id;
+
+            this.indices = indices;
+            this.factors = factors;
+            this.lower = lower;
+
+            double sumOfSquares = 0.0;
+            for (int i = 0; i < factors.length; i++) {
+                sumOfSquares += factors[i] * factors[i];
+            }
+            norm = Math.sqrt(sumOfSquares);
+        }
+
+        /**
+         * Adds this cut, as a new constraint, to the model.
+         */
+        void addTo(final ExpressionsBasedModel model) {
+
+            Expression constraint = model.newExpression(this.getName());
+
+            for (int i = 0; i < indices.length; i++) {
+                constraint.set(indices[i], factors[i]);
+            }
+
+            constraint.lower(BigDecimal.valueOf(lower));
+        }
+
+        /**
+         * @return The (euclidean) distance by which the point violates this cut. Negative if the point
+         *         satisfies the cut.
+         */
+        double efficacy(final Access1D<?> point) {
+            double activity = 0.0;
+            for (int i = 0; i < indices.length; i++) {
+                activity += factors[i] * point.doubleValue(indices[i]);
+            }
+            return (lower - activity) / norm;
+        }
+
+        String getName() {
+            return "CUT_POOL_" + myId;
+        }
+
+        /**
+         * Cosine of the angle between the two cuts' normals. Both cuts have their indices sorted.
+         */
+        double parallelism(final Cut other) {
+            double product = 0.0;
+            for (int i = 0, j = 0; i < indices.length && j < other.indices.length;) {
+                if (indices[i] == other.indices[j]) {
+                    product += factors[i] * other.factors[j];
+                    i++;
+                    j++;
+                } else if (indices[i] < other.indices[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Math.abs(product) / (norm * other.norm);
+        }
+
+    }
+
+    /**
+     * The left hand side of a cut, with the factors rounded, used to identify duplicates.
+     */
+    private static final class Signature {
+
+        private final long[] myFactors;
+        private final int myHashCode;
+        private final int[] myIndices;
+
+        Signature(final int[] indices, final double[] factors) {
+            super();
+            myIndices = indices;
+            myFactors = new long[factors.length];
+            for (int i = 0; i < factors.length; i++) {
+                myFactors[i] = Math.round(factors[i] * ROUNDING);
+            }
+            myHashCode = 31 * Arrays.hashCode(myIndices) + Arrays.hashCode(myFactors);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) obj;
+            return Arrays.equals(myIndices, other.myIndices) && Arrays.equals(myFactors, other.myFactors);
+        }
+
+        @Override
+        public int hashCode() {
+            return myHashCode;
+        }
+
+    }
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    /**
+     * Cuts with a larger ratio between the largest and smallest (absolute) factor are rejected
+     */
+    private static final double DYNAMISM = 1E6;
+    /**
+     * A cut must cut off the point by (at least) this distance to be selected
+     */
+    private static final double EFFICACY = 1E-5;
+    /**
+     * Cuts more parallel than this, to an already selected cut, are not selected
+     */
+    private static final double PARALLELISM = 0.999;
+    private static final double ROUNDING = 1E9;
+    private static final double ZERO = 1E-12;
+
+    private final int myCapacity;
+    private final Map<Signature, Cut> myCuts = new HashMap<>();
+    private final int myMaxAge;
+    private final AtomicReference<Access1D<?>> myPoint = new AtomicReference<>();
+
+    CutPool(final int capacity, final int maxAge) {
+        super();
+        myCapacity = capacity;
+        myMaxAge = maxAge;
+    }
+
+    /**
+     * Adds a cut [factors]*[x] &ge; lower to the pool. Zeros are removed and the indices sorted. Duplicates
+     * are identified using normalised factors (the largest absolute factor being 1.0).
+     *
+     * @return true if the pool changed – the cut was new, or tighter than an existing duplicate.
+     */
+    boolean add(final int[] indices, final double[] factors, final double lower) {
+
+        int length = indices.length;
+
+        Integer[] order = new Integer[length];
+        double largest = 0.0;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            double magnitude = Math.abs(factors[i]);
+            if (magnitude > ZERO) {
+                order[count++] = i;
+                largest = Math.max(largest, magnitude);
+            }
+        }
+
+        if (count == 0) {
+            return false;
+        }
+
+        Arrays.sort(order, 0, count, Comparator.comparingInt(i -> indices[i]));
+
+        int[] sortedIndices = new int[count];
+        double[] sortedFactors = new double[count];
+        double[] scaledFactors = new double[count];
+        double smallest = largest;
+        for (int i = 0; i < count; i++) {
+            sortedIndices[i] = indices[order[i]];
+            sortedFactors[i] = factors[order[i]];
+            scaledFactors[i] = factors[order[i]] / largest;
+            smallest = Math.min(smallest, Math.abs(factors[order[i]]));
+        }
+
+        if (largest / smallest > DYNAMISM || !Double.isFinite(lower)) {
+            return false;
+        }
+
+        Signature signature = new Signature(sortedIndices, scaledFactors);
+        Cut cut = new Cut(COUNTER.incrementAndGet(), sortedIndices, sortedFactors, lower);
+
+        synchronized (myCuts) {
+
+            Cut existing = myCuts.get(signature);
+            if (existing != null && existing.lower / existing.norm >= lower / cut.norm) {
+                return false;
+            }
+
+            if (existing == null && myCuts.size() >= myCapacity) {
+                this.evictOldest();
+            }
+
+            myCuts.put(signature, cut);
+            return true;
+        }
+    }
+
+    /**
+     * Adds a linear constraint (typically a cut generated elsewhere) to the pool. Constraints with both
+     * limits set are added as 2 cuts.
+     */
+    boolean add(final Expression constraint) {
+
+        int count = constraint.getLinearKeySet().size();
+        int[] indices = new int[count];
+        double[] factors = new double[count];
+        int[] position = { 0 };
+        constraint.loopLinear(false, (index, factor) -> {
+            indices[position[0]] = index;
+            factors[position[0]] = factor;
+            position[0]++;
+        });
+
+        boolean retVal = false;
+
+        if (constraint.isLowerLimitSet()) {
+            retVal |= this.add(indices, factors, constraint.getLowerLimit().doubleValue());
+        }
+        if (constraint.isUpperLimitSet()) {
+            double[] negated = new double[count];
+            for (int i = 0; i < count; i++) {
+                negated[i] = -factors[i];
+            }
+            retVal |= this.add(indices, negated, -constraint.getUpperLimit().doubleValue());
+        }
+
+        return retVal;
+    }
+
+    int countCuts() {
+        synchronized (myCuts) {
+            return myCuts.size();
+        }
+    }
+
+    /**
+     * Offer a (fractional) node solution for idle workers to separate.
+     */
+    void offer(final Access1D<?> point) {
+        myPoint.set(point);
+    }
+
+    /**
+     * @return The most recently offered point, or null if there is none (or it has already been taken).
+     */
+    Access1D<?> poll() {
+        return myPoint.getAndSet(null);
+    }
+
+    /**
+     * Remove cuts from the pool – typically cuts that were tried, and rejected, elsewhere.
+     */
+    void remove(final Collection<Cut> cuts) {
+        synchronized (myCuts) {
+            myCuts.values().removeIf(cuts::contains);
+        }
+    }
+
+    /**
+     * Select, and return, the (at most) max most efficacious cuts violated by the point. Cuts not selected
+     * are aged, and evicted if too old.
+     */
+    List<Cut> select(final Access1D<?> point, final int max) {
+
+        List<Cut> candidates = new ArrayList<>();
+        List<Cut> selected = new ArrayList<>();
+
+        synchronized (myCuts) {
+
+            if (myCuts.isEmpty()) {
+                return selected;
+            }
+
+            for (Cut cut : myCuts.values()) {
+                cut.myEfficacy = cut.efficacy(point);
+                if (cut.myEfficacy > EFFICACY) {
+                    candidates.add(cut);
+                }
+            }
+
+            candidates.sort(Comparator.comparingDouble((final Cut cut) -> -cut.myEfficacy));
+
+            for (Cut candidate : candidates) {
+                if (selected.size() >= max) {
+                    break;
+                }
+                boolean parallel = false;
+                for (int s = 0; !parallel && s < selected.size(); s++) {
+                    parallel = candidate.parallelism(selected.get(s)) > PARALLELISM;
+                }
+                if (!parallel) {
+                    selected.add(candidate);
+                }
+            }
+
+            for (Iterator<Cut> iterator = myCuts.values().iterator(); iterator.hasNext();) {
+                Cut cut = iterator.next();
+                if (selected.contains(cut)) {
+                    cut.myAge = 0;
+                } else if (++cut.myAge > myMaxAge) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        return selected;
+    }
+
+    private void evictOldest() {
+        Signature oldest = null;
+        int age = -1;
+        for (Map.Entry<Signature, Cut> entry : myCuts.entrySet()) {
+            if (entry.getValue().myAge > age) {
+                age = entry.getValue().myAge;
+                oldest = entry.getKey();
+            }
+        }
+        myCuts.remove(oldest);
+    }
+
+}
@@ -0,0 +1,561 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.structure.Access1D;
+
+/**
+ * Separates (globally valid) cuts from the rows of the integer model, and adds them to a {@link CutPool}.
+ * The model data is copied to primitive arrays when the separators are created, so separation can be done
+ * by any thread at any time.
+ *
+ * @author apete
+ */
+abstract class CutSeparator {
+
+    /**
+     * Clique cuts from the conflict graph of the binary variables. 2 binary variables are in conflict if
+     * they can't both be 1 in any row.
+     */
+    static final class Clique extends CutSeparator {
+
+        /**
+         * The conflict graph is not built if there are more binary variables than this.
+         */
+        private static final int MAX_BINARIES = 4_096;
+        /**
+         * The max number of fractional variables to start growing a clique from
+         */
+        private static final int MAX_STARTS = 64;
+
+        private final int[] myBinaries;
+        private final BitSet[] myConflicts;
+
+        Clique(final Rows rows) {
+
+            super(rows);
+
+            int nbVars = rows.lower.length;
+
+            int[] binaryIndex = new int[nbVars];
+            Arrays.fill(binaryIndex, -1);
+            int nbBinaries = 0;
+            for (int j = 0; j < nbVars; j++) {
+                if (rows.isBinary(j)) {
+                    binaryIndex[j] = nbBinaries++;
+                }
+            }
+
+            myBinaries = new int[nbBinaries];
+            for (int j = 0; j < nbVars; j++) {
+                if (binaryIndex[j] >= 0) {
+                    myBinaries[binaryIndex[j]] = j;
+                }
+            }
+
+            myConflicts = new BitSet[nbBinaries <= MAX_BINARIES ? nbBinaries : 0];
+            for (int b = 0; b < myConflicts.length; b++) {
+                myConflicts[b] = new BitSet(nbBinaries);
+            }
+
+            if (myConflicts.length == 0) {
+                return;
+            }
+
+            for (int r = 0; r < rows.rhs.length; r++) {
+
+                int[] indices = rows.indices[r];
+                double[] factors = rows.factors[r];
+
+                double minActivity = rows.minActivity(r, binaryIndex);
+                if (!Double.isFinite(minActivity)) {
+                    continue;
+                }
+                double capacity = rows.rhs[r] - minActivity;
+
+                List<Integer> positive = new ArrayList<>();
+                for (int i = 0; i < indices.length; i++) {
+                    if (binaryIndex[indices[i]] >= 0 && factors[i] > ZERO) {
+                        positive.add(i);
+                    }
+                }
+                positive.sort(Comparator.comparingDouble(i -> -factors[i]));
+
+                for (int p = 0; p < positive.size(); p++) {
+                    double first = factors[positive.get(p)];
+                    int b1 = binaryIndex[indices[positive.get(p)]];
+                    for (int q = p + 1; q < positive.size() && first + factors[positive.get(q)] > capacity + ZERO; q++) {
+                        int b2 = binaryIndex[indices[positive.get(q)]];
+                        myConflicts[b1].set(b2);
+                        myConflicts[b2].set(b1);
+                    }
+                }
+            }
+        }
+
+        @Override
+        void separate(final Access1D<?> point, final CutPool pool) {
+
+            if (myConflicts.length == 0) {
+                return;
+            }
+
+            List<Integer> fractional = new ArrayList<>();
+            for (int b = 0; b < myBinaries.length; b++) {
+                double value = point.doubleValue(myBinaries[b]);
+                if (value > TOLERANCE && !myConflicts[b].isEmpty()) {
+                    fractional.add(b);
+                }
+            }
+            fractional.sort(Comparator.comparingDouble(b -> -point.doubleValue(myBinaries[b])));
+
+            BitSet common = new BitSet(myBinaries.length);
+
+            for (int start = 0, limit = Math.min(fractional.size(), MAX_STARTS); start < limit; start++) {
+
+                int first = fractional.get(start);
+
+                List<Integer> clique = new ArrayList<>();
+                clique.add(first);
+                common.clear();
+                common.or(myConflicts[first]);
+
+                double sum = point.doubleValue(myBinaries[first]);
+
+                for (int other : fractional) {
+                    if (common.get(other)) {
+                        clique.add(other);
+                        common.and(myConflicts[other]);
+                        sum += point.doubleValue(myBinaries[other]);
+                    }
+                }
+
+                if (sum > ONE + TOLERANCE) {
+
+                    // Extend (lift) with variables at 0 that are in conflict with all the others
+                    for (int other = common.nextSetBit(0); other >= 0; other = common.nextSetBit(other + 1)) {
+                        clique.add(other);
+                        common.and(myConflicts[other]);
+                    }
+
+                    int[] indices = new int[clique.size()];
+                    double[] factors = new double[clique.size()];
+                    for (int i = 0; i < indices.length; i++) {
+                        indices[i] = myBinaries[clique.get(i)];
+                        factors[i] = -ONE;
+                    }
+
+                    pool.add(indices, factors, -ONE);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * (Minimal) cover cuts from rows that, when variables other than binaries are replaced by their bounds,
+     * are knapsack constraints. Binary variables with negative factors are complemented.
+     */
+    static final class KnapsackCover extends CutSeparator {
+
+        KnapsackCover(final Rows rows) {
+            super(rows);
+        }
+
+        @Override
+        void separate(final Access1D<?> point, final CutPool pool) {
+
+            for (int r = 0; r < rows.rhs.length; r++) {
+
+                int[] indices = rows.indices[r];
+                double[] factors = rows.factors[r];
+
+                double capacity = rows.rhs[r];
+
+                List<Integer> items = new ArrayList<>();
+                double[] weights = new double[indices.length];
+                double[] values = new double[indices.length];
+                boolean[] complemented = new boolean[indices.length];
+
+                for (int i = 0; i < indices.length && Double.isFinite(capacity); i++) {
+                    int j = indices[i];
+                    double factor = factors[i];
+                    if (rows.isBinary(j)) {
+                        double value = point.doubleValue(j);
+                        if (factor < ZERO) {
+                            // Complement: x = 1 - y
+                            capacity -= factor;
+                            complemented[i] = true;
+                            weights[i] = -factor;
+                            values[i] = ONE - value;
+                        } else {
+                            weights[i] = factor;
+                            values[i] = value;
+                        }
+                        if (weights[i] > ZERO) {
+                            items.add(i);
+                        }
+                    } else {
+                        capacity -= factor > ZERO ? factor * rows.lower[j] : factor * rows.upper[j];
+                    }
+                }
+
+                if (!Double.isFinite(capacity) || capacity < ZERO || items.size() < 2) {
+                    continue;
+                }
+
+                // Greedy: prefer items with large value (per weight)
+                items.sort(Comparator.comparingDouble(i -> (ONE - values[i]) / weights[i]));
+
+                List<Integer> cover = new ArrayList<>();
+                double weight = 0.0;
+                for (int k = 0; k < items.size() && weight <= capacity + ZERO; k++) {
+                    int i = items.get(k);
+                    if (weights[i] <= capacity) {
+                        cover.add(i);
+                        weight += weights[i];
+                    }
+                }
+
+                if (weight <= capacity + ZERO) {
+                    continue;
+                }
+
+                // Make it minimal, removing items with small value first
+                cover.sort(Comparator.comparingDouble(i -> values[i]));
+                for (int k = 0; k < cover.size();) {
+                    int i = cover.get(k);
+                    if (weight - weights[i] > capacity + ZERO) {
+                        weight -= weights[i];
+                        cover.remove(k);
+                    } else {
+                        k++;
+                    }
+                }
+
+                double sum = 0.0;
+                for (int i : cover) {
+                    sum += values[i];
+                }
+
+                if (sum > cover.size() - ONE + TOLERANCE) {
+
+                    // sum(y) <= |C| - 1 as -sum(y) >= 1 - |C|, and then un-complement
+                    int[] cutIndices = new int[cover.size()];
+                    double[] cutFactors = new double[cover.size()];
+                    double cutLower = ONE - cover.size();
+                    for (int k = 0; k < cutIndices.length; k++) {
+                        int i = cover.get(k);
+                        cutIndices[k] = indices[i];
+                        if (complemented[i]) {
+                            cutFactors[k] = ONE;
+                            cutLower += ONE;
+                        } else {
+                            cutFactors[k] = -ONE;
+                        }
+                    }
+
+                    pool.add(cutIndices, cutFactors, cutLower);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * (Complemented) Mixed Integer Rounding cuts derived from single rows. Integer variables are shifted to
+     * their lower bounds, or complemented with their upper bounds, and various divisors are tried.
+     */
+    static final class MixedIntegerRounding extends CutSeparator {
+
+        private static final int MAX_DIVISORS = 8;
+
+        MixedIntegerRounding(final Rows rows) {
+            super(rows);
+        }
+
+        @Override
+        void separate(final Access1D<?> point, final CutPool pool) {
+
+            for (int r = 0; r < rows.rhs.length; r++) {
+
+                int[] indices = rows.indices[r];
+                double[] factors = rows.factors[r];
+                int length = indices.length;
+
+                // Transform to sum(a*x') <= b with all x' >= 0
+                double[] transformed = new double[length];
+                double[] shifted = new double[length];
+                boolean[] complemented = new boolean[length];
+                double rhs = rows.rhs[r];
+
+                boolean anyInteger = false;
+                for (int i = 0; i < length && Double.isFinite(rhs); i++) {
+
+                    int j = indices[i];
+                    double lower = rows.lower[j];
+                    double upper = rows.upper[j];
+
+                    boolean complement;
+                    if (rows.integer[j]) {
+                        complement = Double.isFinite(upper) && (!Double.isFinite(lower) || point.doubleValue(j) > (lower + upper) / 2.0);
+                        anyInteger = true;
+                    } else {
+                        complement = !Double.isFinite(lower);
+                    }
+
+                    if (rows.integer[j] && Math.rint(complement ? upper : lower) != (complement ? upper : lower)) {
+                        // Shifting with a fractional bound would break integrality
+                        rhs = Double.NaN;
+                    }
+
+                    complemented[i] = complement;
+                    if (complement) {
+                        // x = u - x'
+                        shifted[i] = upper;
+                        transformed[i] = -factors[i];
+                        rhs -= factors[i] * upper;
+                    } else {
+                        // x = l + x'
+                        shifted[i] = lower;
+                        transformed[i] = factors[i];
+                        rhs -= factors[i] * lower;
+                    }
+                }
+
+                if (!anyInteger || !Double.isFinite(rhs)) {
+                    continue;
+                }
+
+                double[] divisors = new double[MAX_DIVISORS];
+                int nbDivisors = 0;
+                for (int i = 0; i < length && nbDivisors < MAX_DIVISORS; i++) {
+                    int j = indices[i];
+                    double value = point.doubleValue(j);
+                    if (rows.integer[j] && Math.abs(transformed[i]) > ZERO && value > rows.lower[j] + TOLERANCE && value < rows.upper[j] - TOLERANCE) {
+                        double divisor = Math.abs(transformed[i]);
+                        boolean known = false;
+                        for (int d = 0; !known && d < nbDivisors; d++) {
+                            known = Math.abs(divisors[d] - divisor) <= ZERO;
+                        }
+                        if (!known) {
+                            divisors[nbDivisors++] = divisor;
+                        }
+                    }
+                }
+
+                double bestViolation = TOLERANCE;
+                double[] bestFactors = null;
+                double bestLower = 0.0;
+
+                for (int d = 0; d < nbDivisors; d++) {
+
+                    double divisor = divisors[d];
+
+                    double scaledRHS = rhs / divisor;
+                    double f0 = scaledRHS - Math.floor(scaledRHS);
+                    if (f0 < MIN_FRACTION || f0 > ONE - MIN_FRACTION) {
+                        continue;
+                    }
+
+                    // The MIR inequality, in x', on the form sum(g*x') <= floor(b/divisor)
+                    double[] g = new double[length];
+                    for (int i = 0; i < length; i++) {
+                        double a = transformed[i] / divisor;
+                        if (rows.integer[indices[i]]) {
+                            double fj = a - Math.floor(a);
+                            g[i] = Math.floor(a) + Math.max(0.0, fj - f0) / (ONE - f0);
+                        } else if (a < 0.0) {
+                            g[i] = a / (ONE - f0);
+                        } else {
+                            g[i] = 0.0;
+                        }
+                    }
+
+                    // Back to the original variables, and to the form sum(-c*x) >= -rhs
+                    double[] cutFactors = new double[length];
+                    double cutUpper = Math.floor(scaledRHS);
+                    double activity = 0.0;
+                    for (int i = 0; i < length; i++) {
+                        if (complemented[i]) {
+                            cutFactors[i] = -g[i];
+                            cutUpper -= g[i] * shifted[i];
+                        } else {
+                            cutFactors[i] = g[i];
+                            cutUpper += g[i] * shifted[i];
+                        }
+                        activity += cutFactors[i] * point.doubleValue(indices[i]);
+                    }
+
+                    double violation = activity - cutUpper;
+                    if (violation > bestViolation && Double.isFinite(cutUpper)) {
+                        bestViolation = violation;
+                        bestFactors = cutFactors;
+                        bestLower = -cutUpper;
+                    }
+                }
+
+                if (bestFactors != null) {
+                    for (int i = 0; i < length; i++) {
+                        bestFactors[i] = -bestFactors[i];
+                    }
+                    pool.add(indices, bestFactors, bestLower);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The linear constraints of a model, each on the form [factors]*[x] &le; upper (lower limits are
+     * negated), together with the variable bounds and integrality.
+     */
+    static final class Rows {
+
+        final double[][] factors;
+        final int[][] indices;
+        final boolean[] integer;
+        final double[] lower;
+        /**
+         * Indexed by row, the others (integer, lower and upper) by variable
+         */
+        final double[] rhs;
+        final double[] upper;
+
+        Rows(final ExpressionsBasedModel model) {
+
+            super();
+
+            List<Variable> variables = model.getVariables();
+            int nbVars = variables.size();
+
+            integer = new boolean[nbVars];
+            lower = new double[nbVars];
+            upper = new double[nbVars];
+            for (int j = 0; j < nbVars; j++) {
+                Variable variable = variables.get(j);
+                integer[j] = variable.isInteger();
+                lower[j] = variable.isLowerLimitSet() ? variable.getLowerLimit().doubleValue() : Double.NEGATIVE_INFINITY;
+                upper[j] = variable.isUpperLimitSet() ? variable.getUpperLimit().doubleValue() : Double.POSITIVE_INFINITY;
+            }
+
+            List<int[]> rowIndices = new ArrayList<>();
+            List<double[]> rowFactors = new ArrayList<>();
+            List<Double> rowRHS = new ArrayList<>();
+
+            model.constraints().filter(c -> !c.isAnyQuadraticFactorNonZero()).forEach(constraint -> {
+
+                int count = constraint.getLinearKeySet().size();
+                int[] idx = new int[count];
+                double[] fct = new double[count];
+                int[] position = { 0 };
+                constraint.loopLinear(false, (index, factor) -> {
+                    idx[position[0]] = index;
+                    fct[position[0]] = factor;
+                    position[0]++;
+                });
+
+                if (constraint.isUpperLimitSet()) {
+                    rowIndices.add(idx);
+                    rowFactors.add(fct);
+                    rowRHS.add(constraint.getUpperLimit().doubleValue());
+                }
+                if (constraint.isLowerLimitSet()) {
+                    double[] negated = new double[count];
+                    for (int i = 0; i < count; i++) {
+                        negated[i] = -fct[i];
+                    }
+                    rowIndices.add(idx);
+                    rowFactors.add(negated);
+                    rowRHS.add(constraint.getLowerLimit().negate().doubleValue());
+                }
+            });
+
+            indices = rowIndices.toArray(new int[rowIndices.size()][]);
+            factors = rowFactors.toArray(new double[rowFactors.size()][]);
+            rhs = rowRHS.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        boolean isBinary(final int index) {
+            return integer[index] && lower[index] == 0.0 && upper[index] == ONE;
+        }
+
+        /**
+         * The smallest possible activity of the row, not counting the binary variables with positive factors
+         * (but counting the ones with negative factors).
+         */
+        double minActivity(final int row, final int[] binaryIndex) {
+            double retVal = 0.0;
+            int[] idx = indices[row];
+            double[] fct = factors[row];
+            for (int i = 0; i < idx.length; i++) {
+                int j = idx[i];
+                if (binaryIndex[j] >= 0) {
+                    if (fct[i] < 0.0) {
+                        retVal += fct[i];
+                    }
+                } else {
+                    retVal += fct[i] > 0.0 ? fct[i] * lower[j] : fct[i] * upper[j];
+                }
+            }
+            return retVal;
+        }
+
+    }
+
+    static final double MIN_FRACTION = 0.01;
+    static final double ONE = 1.0;
+    static final double TOLERANCE = 1E-6;
+    static final double ZERO = 1E-9;
+
+    static List<CutSeparator> newInstances(final ExpressionsBasedModel model) {
+
+        Rows rows = new Rows(model);
+
+        List<CutSeparator> retVal = new ArrayList<>();
+        retVal.add(new KnapsackCover(rows));
+        retVal.add(new MixedIntegerRounding(rows));
+        retVal.add(new Clique(rows));
+        return retVal;
+    }
+
+    final Rows rows;
+
+    CutSeparator(final Rows rows) {
+        super();
+        this.rows = rows;
+    }
+
+    /**
+     * Separate the point, adding any violated cuts found to the pool.
+     */
+    abstract void separate(Access1D<?> point, CutPool pool);
+
+}
@@ -25,12 +25,19 @@ import static org.ojalgo.function.constant.PrimitiveMath.*;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
+import org.ojalgo.concurrent.DaemonPoolExecutor;
 import org.ojalgo.concurrent.MultiviewSet;
 import org.ojalgo.concurrent.ProcessingService;
 import org.ojalgo.function.multiary.MultiaryFunction;
@@ -42,6 +49,8 @@ import org.ojalgo.netio.CharacterRing.RingLogger;
 import org.ojalgo.optimisation.ExpressionsBasedModel;
 import org.ojalgo.optimisation.GenericSolver;
 import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicConfiguration;
 import org.ojalgo.structure.Access1D;
 import org.ojalgo.type.CalendarDateDuration;
 import org.ojalgo.type.TypeUtils;
@@ -164,6 +173,42 @@ public final class IntegerSolver extends GenericSolver {
 
     public static final ModelIntegration INTEGRATION = new ModelIntegration();
 
+    /**
+     * Required (relative) improvement of the root node bound to keep a round of root cuts
+     */
+    private static final double IMPROVEMENT = 1E-6;
+    /**
+     * Stop strong branching when this many consecutive candidates did not improve the best score
+     */
+    private static final int LOOKAHEAD = 4;
+    /**
+     * Max number of pool cuts added to a node (that is not the root node)
+     */
+    private static final int NODE_CUTS = 10;
+    /**
+     * Max number of cut rounds (adding cuts and re-solving) at a node (that is not the root node)
+     */
+    private static final int NODE_ROUNDS = 2;
+    /**
+     * Pseudo-costs are considered reliable with at least this many branching attempts (in both
+     * directions). Unreliable candidates are strong branched on.
+     */
+    private static final int RELIABILITY = 4;
+    /**
+     * Max number of cuts added to the integer model in each root cut round
+     */
+    private static final int ROOT_CUTS = 100;
+    private static final int ROOT_ROUNDS = 3;
+    /**
+     * Max number of candidate variables strong branched on, at each node
+     */
+    private static final int STRONG_CANDIDATES = 8;
+    /**
+     * Max number of (LP) iterations of each strong branching subproblem. A subproblem not solved within
+     * that limit gives no information – the candidate is scored using its pseudo-costs.
+     */
+    private static final int STRONG_ITERATIONS = 1_000;
+
     public static IntegerSolver make(final ExpressionsBasedModel model) {
         return new IntegerSolver(model);
     }
@@ -174,12 +219,30 @@ public final class IntegerSolver extends GenericSolver {
         }
     }
 
+    /**
+     * Sleep (at most) the given number of milliseconds, but wake up (within a millisecond) when stopped.
+     */
+    private static void pause(final long millis, final BooleanSupplier stopped) {
+        try {
+            for (long remaining = millis; remaining > 0L && !stopped.getAsBoolean(); remaining--) {
+                Thread.sleep(1L);
+            }
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private volatile Optimisation.Result myBestResultSoFar = null;
+    private final CutPool myCutPool = new CutPool(1_000, 100);
     private final MultiviewSet<NodeKey> myDeferredNodes = new MultiviewSet<>();
     private final MultiaryFunction.TwiceDifferentiable<Double> myFunction;
+    private final AtomicReference<Access1D<?>> myHeuristicPoint = new AtomicReference<>();
     private final ExpressionsBasedModel myIntegerModel;
     private final boolean myMinimisation;
     private final NodeStatistics myNodeStatistics = new NodeStatistics();
+    private final PseudoCostTable myPseudoCosts;
+    private List<CutSeparator> mySeparators = Collections.emptyList();
+    private final Optimisation.Options myStrongOptions;
 
     IntegerSolver(final ExpressionsBasedModel model) {
 
@@ -189,6 +252,19 @@ public final class IntegerSolver extends GenericSolver {
         myFunction = myIntegerModel.limitObjective(null, null).toFunction();
 
         myMinimisation = myIntegerModel.getOptimisationSense() == Optimisation.Sense.MIN;
+
+        myPseudoCosts = new PseudoCostTable(myIntegerModel.getIntegerVariables().size());
+
+        myStrongOptions = new Optimisation.Options();
+        myStrongOptions.convex(options.convex());
+        myStrongOptions.feasibility = options.feasibility;
+        myStrongOptions.iterations_abort = STRONG_ITERATIONS;
+        myStrongOptions.iterations_suffice = STRONG_ITERATIONS;
+        myStrongOptions.linear(options.linear());
+        myStrongOptions.solution = options.solution;
+        myStrongOptions.sparse = options.sparse;
+        myStrongOptions.time_abort = options.time_abort;
+        myStrongOptions.time_suffice = options.time_abort;
     }
 
     public Result solve(final Result kickStarter) {
@@ -205,10 +281,8 @@ public final class IntegerSolver extends GenericSolver {
 
         this.resetIterationsCount();
 
-        ExpressionsBasedModel cutModel = myIntegerModel.snapshot();
-        NodeSolver cutSolver = cutModel.prepare(NodeSolver::new);
-        Result cutResult = cutSolver.solve();
-        cutSolver.generateCuts(strategy, myIntegerModel);
+        mySeparators = CutSeparator.newInstances(myIntegerModel);
+        this.separateRoot(strategy);
 
         NodeKey rootNode = new NodeKey(myIntegerModel);
         ExpressionsBasedModel rootModel = myIntegerModel.snapshot();
@@ -219,6 +293,13 @@ public final class IntegerSolver extends GenericSolver {
         AtomicBoolean solverNormalExit = new AtomicBoolean(this.compute(rootNode, rootModel.prepare(NodeSolver::new), rootPrinter, strategy));
         rootNode.dispose();
 
+        AtomicBoolean searchDone = new AtomicBoolean(false);
+        Future<?> heuristics = null;
+        HeuristicConfiguration heuristicConfiguration = strategy.getHeuristicConfiguration();
+        if (solverNormalExit.get() && !myDeferredNodes.isEmpty() && !heuristicConfiguration.heuristics.isEmpty() && heuristicConfiguration.share > ZERO) {
+            heuristics = DaemonPoolExecutor.invoke(() -> this.runHeuristics(strategy, solverNormalExit, searchDone));
+        }
+
         Map<Comparator<NodeKey>, MultiviewSet<NodeKey>.PrioritisedView> views = new ConcurrentHashMap<>();
 
         ProcessingService.INSTANCE.process(strategy.getWorkerPriorities(), workerStrategy -> {
@@ -229,6 +310,9 @@ public final class IntegerSolver extends GenericSolver {
 
             RingLogger nodePrinter = this.newPrinter();
 
+            // Each worker resets and reuses the same node model
+            ExpressionsBasedModel nodeModel = null;
+
             NodeKey node = null;
             while (workerNormalExit && solverNormalExit.get() && !myDeferredNodes.isEmpty()) {
                 if ((node = view.poll()) != null) {
@@ -238,13 +322,17 @@ public final class IntegerSolver extends GenericSolver {
                     } else if (!strategy.isGoodEnough(myBestResultSoFar, node.objective)) {
                         workerNormalExit = myNodeStatistics.abandoned();
                     } else {
-                        ExpressionsBasedModel nodeModel = myIntegerModel.snapshot();
+                        nodeModel = myIntegerModel.snapshot(nodeModel);
                         node.setNodeState(nodeModel, strategy);
                         NodeSolver nodeSolver = nodeModel.prepare(NodeSolver::new);
                         workerNormalExit &= this.compute(node, nodeSolver, nodePrinter, strategy);
                     }
 
                     node.dispose();
+
+                } else {
+                    // Idle - separate the most recently offered node solution
+                    this.separate(myCutPool.poll());
                 }
 
                 if (!workerNormalExit) {
@@ -253,6 +341,15 @@ public final class IntegerSolver extends GenericSolver {
             }
         });
 
+        searchDone.set(true);
+        if (heuristics != null) {
+            try {
+                heuristics.get();
+            } catch (InterruptedException | ExecutionException cause) {
+                this.log("Primal heuristics failed: {}", cause);
+            }
+        }
+
         views.clear();
         myDeferredNodes.clear();
 
@@ -280,10 +377,281 @@ public final class IntegerSolver extends GenericSolver {
                 this.getBestResultSoFar());
     }
 
+    /**
+     * Validate, and if it is an improvement, use the heuristic solution as the new incumbent.
+     */
+    private synchronized void markHeuristic(final Optimisation.Result candidate, final ModelStrategy strategy) {
+
+        double value = this.evaluateFunction(candidate);
+
+        Optimisation.Result previouslyTheBest = myBestResultSoFar;
+        if (previouslyTheBest != null && (myMinimisation ? value >= previouslyTheBest.getValue() : value <= previouslyTheBest.getValue())) {
+            return;
+        }
+
+        if (myIntegerModel.validate(candidate)) {
+            this.markInteger(null, new Optimisation.Result(Optimisation.State.FEASIBLE, value, candidate), strategy);
+        }
+    }
+
     private RingLogger newPrinter() {
         return options.validate || this.isLogProgress() ? CharacterRing.newRingLogger() : null;
     }
 
+    /**
+     * Update the pseudo-costs with the objective function value change caused by the branch that created
+     * this node. An infinite node value means the node was infeasible.
+     */
+    private void recordPseudoCost(final NodeKey nodeKey, final double nodeValue) {
+        if (nodeKey.index >= 0) {
+            double change = Double.isFinite(nodeValue) ? this.toChange(nodeKey.objective, nodeValue) : this.toCutoffChange(nodeKey.objective);
+            myPseudoCosts.add(nodeKey.index, nodeKey.isUpperBranch(), nodeKey.displacement, change);
+        }
+    }
+
+    /**
+     * Runs the primal heuristics, in a separate thread, on the node solutions offered by the branch&bound
+     * workers – until the search is done. Once there is an incumbent, pauses between the heuristic searches
+     * so that (on average) no more than the configured share of the time is spent running heuristics.
+     */
+    private void runHeuristics(final ModelStrategy strategy, final AtomicBoolean normalExit, final AtomicBoolean done) {
+
+        HeuristicConfiguration configuration = strategy.getHeuristicConfiguration();
+
+        BooleanSupplier stopped = () -> done.get() || !normalExit.get();
+
+        while (!stopped.getAsBoolean()) {
+
+            Access1D<?> point = myHeuristicPoint.getAndSet(null);
+
+            if (point == null) {
+                IntegerSolver.pause(1L, stopped);
+                continue;
+            }
+
+            for (PrimalHeuristic heuristic : configuration.heuristics) {
+
+                if (stopped.getAsBoolean()) {
+                    return;
+                }
+
+                long started = System.currentTimeMillis();
+
+                PrimalHeuristic.Budget budget = new PrimalHeuristic.Budget(configuration.iterations, configuration.time, stopped);
+                Optimisation.Result candidate = heuristic.search(myIntegerModel, point, myBestResultSoFar, strategy, budget);
+                if (candidate != null) {
+                    this.markHeuristic(candidate, strategy);
+                }
+
+                if (myBestResultSoFar != null && configuration.share < ONE) {
+                    long busy = System.currentTimeMillis() - started;
+                    IntegerSolver.pause(Math.round(busy * (ONE - configuration.share) / configuration.share), stopped);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reliability branching: The fractional integer variables are scored by the product of their estimated
+     * down and up branch objective function changes. For variables with reliable pseudo-costs the estimates
+     * are based on those, for the others (a limited number of) strong branching subproblems are solved. The
+     * candidates are considered in the order of the strategy's (static) preference.
+     *
+     * @param fallback The strategy's preferred branching variable, used if there is no pseudo-cost (or
+     *        strong branching) information at all.
+     */
+    private int selectBranchVariable(final NodeKey nodeKey, final Optimisation.Result nodeResult, final double nodeValue, final int fallback,
+            final ModelStrategy strategy) {
+
+        boolean found = myBestResultSoFar != null;
+
+        int nbIntegers = strategy.countIntegerVariables();
+        Integer[] candidates = new Integer[nbIntegers];
+        double[] preferences = new double[nbIntegers];
+        int nbCandidates = 0;
+
+        for (int i = 0; i < nbIntegers; i++) {
+            double displacement = nodeKey.getMinimumDisplacement(i, nodeResult.doubleValue(strategy.getIndex(i)));
+            if (!strategy.getIntegralityTolerance().isZero(displacement)) {
+                preferences[i] = strategy.toComparable(i, displacement, found);
+                candidates[nbCandidates++] = i;
+            }
+        }
+
+        Arrays.sort(candidates, 0, nbCandidates, Comparator.comparingDouble((final Integer i) -> -preferences[i]));
+
+        int retVal = -1;
+        double bestScore = NEGATIVE_INFINITY;
+
+        ExpressionsBasedModel strongModel = null;
+        int nbStrong = 0;
+        int unimproved = 0;
+
+        for (int c = 0; c < nbCandidates; c++) {
+
+            int idx = candidates[c];
+            double value = nodeResult.doubleValue(strategy.getIndex(idx));
+            double floor = Math.floor(value);
+            double fraction = value - floor;
+
+            double score;
+
+            if (myPseudoCosts.countAttempts(idx) < RELIABILITY && nbStrong < STRONG_CANDIDATES && unimproved < LOOKAHEAD && this.isIterationAllowed()) {
+
+                strongModel = myIntegerModel.snapshot(strongModel, myStrongOptions);
+                Optimisation.Result down = this.solveStrongBranch(strongModel, nodeKey, nodeResult, idx, false, floor, strategy);
+                strongModel = myIntegerModel.snapshot(strongModel, myStrongOptions);
+                Optimisation.Result up = this.solveStrongBranch(strongModel, nodeKey, nodeResult, idx, true, floor + ONE, strategy);
+                nbStrong++;
+
+                double downChange = this.toChange(down, nodeValue);
+                double upChange = this.toChange(up, nodeValue);
+
+                if (!Double.isNaN(downChange)) {
+                    myPseudoCosts.add(idx, false, fraction, downChange);
+                }
+                if (!Double.isNaN(upChange)) {
+                    myPseudoCosts.add(idx, true, ONE - fraction, upChange);
+                }
+
+                if (!Double.isNaN(downChange) && !Double.isNaN(upChange)) {
+                    score = PseudoCostTable.score(downChange, upChange);
+                } else if (!myPseudoCosts.isEmpty()) {
+                    score = myPseudoCosts.score(idx, fraction);
+                } else {
+                    score = NEGATIVE_INFINITY;
+                }
+
+                if (score > bestScore) {
+                    unimproved = 0;
+                } else {
+                    unimproved++;
+                }
+
+            } else if (!myPseudoCosts.isEmpty()) {
+
+                score = myPseudoCosts.score(idx, fraction);
+
+            } else {
+
+                continue;
+            }
+
+            if (score > bestScore) {
+                retVal = idx;
+                bestScore = score;
+            }
+        }
+
+        return retVal >= 0 ? retVal : fallback;
+    }
+
+    private void separate(final Access1D<?> point) {
+        if (point != null) {
+            for (CutSeparator separator : mySeparators) {
+                separator.separate(point, myCutPool);
+            }
+        }
+    }
+
+    /**
+     * Cut generation at the root node. First GMI cuts are generated from the simplex tableau and added to the
+     * cut pool. Then there are a few rounds where the separators run in parallel, collecting more cuts in the
+     * cut pool, and the most efficacious ones are added to the integer model (they're globally valid).
+     * Cuts that do not improve the root node bound are removed again, from the model as well as from the cut
+     * pool – they would only make the node problems larger.
+     */
+    private void separateRoot(final ModelStrategy strategy) {
+
+        ExpressionsBasedModel cutModel = myIntegerModel.snapshot();
+        NodeSolver cutSolver = cutModel.prepare(NodeSolver::new);
+        Result cutResult = cutSolver.solve();
+
+        if (cutSolver.generateCuts(strategy, cutModel)) {
+            cutModel.constraints().filter(c -> c.getName().startsWith(NodeSolver.GMI)).forEach(myCutPool::add);
+        }
+
+        for (int round = 0; round < ROOT_ROUNDS && cutResult.getState().isOptimal(); round++) {
+
+            Result point = cutResult;
+
+            ProcessingService.INSTANCE.process(mySeparators, separator -> separator.separate(point, myCutPool));
+
+            List<CutPool.Cut> selected = myCutPool.select(point, ROOT_CUTS);
+            if (selected.isEmpty()) {
+                return;
+            }
+            for (CutPool.Cut cut : selected) {
+                cut.addTo(myIntegerModel);
+            }
+
+            cutModel = myIntegerModel.snapshot();
+            cutSolver = cutModel.prepare(NodeSolver::new);
+            cutResult = cutSolver.solve();
+
+            double improvement = myMinimisation ? cutResult.getValue() - point.getValue() : point.getValue() - cutResult.getValue();
+            if (!cutResult.getState().isOptimal() || !(improvement > IMPROVEMENT * Math.max(ONE, Math.abs(point.getValue())))) {
+                for (CutPool.Cut cut : selected) {
+                    myIntegerModel.removeExpression(cut.getName());
+                }
+                myCutPool.remove(selected);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Solve a strong branching subproblem – the node's subproblem with one of the integer variable's bounds
+     * tightened. The model is a snapshot with the (iterations limited) strong branching options, and the
+     * node's solution is used as the starting point.
+     */
+    private Optimisation.Result solveStrongBranch(final ExpressionsBasedModel model, final NodeKey nodeKey, final Optimisation.Result nodeResult,
+            final int idx, final boolean up, final double bound, final ModelStrategy strategy) {
+
+        nodeKey.setNodeState(model, strategy);
+
+        Variable variable = model.getVariable(strategy.getIndex(idx));
+        if (up) {
+            variable.lower(bound);
+        } else {
+            variable.upper(bound);
+        }
+
+        return model.prepare(NodeSolver::new).solve(nodeResult);
+    }
+
+    /**
+     * The (non-negative) objective function value change, from the node to the strong branching subproblem.
+     * Infinite if the subproblem is infeasible, and NaN if it was not solved (the iterations limit was
+     * reached).
+     */
+    private double toChange(final Optimisation.Result result, final double nodeValue) {
+        if (result.getState().isOptimal()) {
+            return this.toChange(nodeValue, result.getValue());
+        }
+        if (result.getState() == Optimisation.State.INFEASIBLE) {
+            return this.toCutoffChange(nodeValue);
+        }
+        return Double.NaN;
+    }
+
+    private double toChange(final double parentValue, final double childValue) {
+        return Math.max(myMinimisation ? childValue - parentValue : parentValue - childValue, ZERO);
+    }
+
+    /**
+     * An infeasible child is (typically) cut off by the objective function limit derived from the
+     * incumbent. The change required to reach that limit is then a lower bound on the actual change.
+     * Infinite if there is no incumbent.
+     */
+    private double toCutoffChange(final double parentValue) {
+        Optimisation.Result incumbent = myBestResultSoFar;
+        if (incumbent == null) {
+            return POSITIVE_INFINITY;
+        }
+        return this.toChange(parentValue, incumbent.getValue());
+    }
+
     protected Optimisation.Result buildResult() {
 
         Access1D<?> solution = this.extractSolution();
@@ -426,6 +794,15 @@ public final class IntegerSolver extends GenericSolver {
     }
 
     boolean compute(final NodeKey nodeKey, final NodeSolver nodeSolver, final RingLogger nodePrinter, final ModelStrategy strategy) {
+        return this.compute(nodeKey, nodeSolver, nodePrinter, strategy, 0);
+    }
+
+    /**
+     * @param cutRound The number of times cuts have already been added to this node (the node problem
+     *        re-solved) – capped at {@link #NODE_ROUNDS}
+     */
+    private boolean compute(final NodeKey nodeKey, final NodeSolver nodeSolver, final RingLogger nodePrinter, final ModelStrategy strategy,
+            final int cutRound) {
 
         if (this.isLogDebug()) {
             nodePrinter.println();
@@ -460,6 +837,9 @@ public final class IntegerSolver extends GenericSolver {
                 return myNodeStatistics.failed();
             }
             // return true;
+            if (cutRound == 0) {
+                this.recordPseudoCost(nodeKey, POSITIVE_INFINITY);
+            }
             strategy.markInfeasible(nodeKey, myBestResultSoFar != null);
             return myNodeStatistics.infeasible();
         }
@@ -484,6 +864,11 @@ public final class IntegerSolver extends GenericSolver {
         int branchIntegerIndex = this.identifyNonIntegerVariable(nodeResult, nodeKey, strategy);
         double tmpSolutionValue = this.evaluateFunction(nodeResult);
 
+        if (cutRound == 0) {
+            // Only the change caused by branching, not that of the cuts added (to this node) later
+            this.recordPseudoCost(nodeKey, tmpSolutionValue);
+        }
+
         if (branchIntegerIndex == -1) {
             if (this.isLogDebug()) {
                 nodePrinter.println("Integer solution! Store it among the others, and stop this branch!");
@@ -527,16 +912,30 @@ public final class IntegerSolver extends GenericSolver {
             IntegerSolver.flush(nodePrinter, myIntegerModel.options.logger_appender);
         }
 
-        if (strategy.cutting && nodeKey.sequence % 10L == 0L) {
+        if (nodeKey.sequence % 10L == 0L) {
+            myHeuristicPoint.set(nodeResult);
+        }
+
+        if (strategy.cutting && nodeKey.sequence % 10L == 0L && cutRound < NODE_ROUNDS) {
+            myCutPool.offer(nodeResult);
+            if (nodeSolver.addCuts(myCutPool.select(nodeResult, NODE_CUTS))) {
+                return this.compute(nodeKey, nodeSolver, nodePrinter, strategy, cutRound + 1);
+            }
+        }
+
+        if (strategy.cutting && nodeKey.sequence % 10L == 0L && cutRound < NODE_ROUNDS) {
             double displacement = nodeKey.getMinimumDisplacement(branchIntegerIndex, variableValue);
             if (strategy.isCutRatherThanBranch(displacement, myBestResultSoFar != null)) {
                 if (nodeSolver.generateCuts(strategy)) {
-                    return this.compute(nodeKey, nodeSolver, nodePrinter, strategy);
+                    return this.compute(nodeKey, nodeSolver, nodePrinter, strategy, cutRound + 1);
                 }
                 strategy.cutting = false;
             }
         }
 
+        branchIntegerIndex = this.selectBranchVariable(nodeKey, nodeResult, tmpSolutionValue, branchIntegerIndex, strategy);
+        variableValue = nodeResult.doubleValue(strategy.getIndex(branchIntegerIndex));
+
         NodeKey lowerBranch = nodeKey.createLowerBranch(branchIntegerIndex, variableValue, tmpSolutionValue);
         NodeKey upperBranch = nodeKey.createUpperBranch(branchIntegerIndex, variableValue, tmpSolutionValue);
 
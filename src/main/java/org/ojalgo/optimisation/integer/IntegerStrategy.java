@@ -23,6 +23,8 @@ package org.ojalgo.optimisation.integer;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -42,12 +44,14 @@ public interface IntegerStrategy {
         private final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> myFactory;
         private final NumberContext myGapTolerance;
         private final GMICutConfiguration myGMICutConfiguration;
+        private final HeuristicConfiguration myHeuristicConfiguration;
         private final NumberContext myIntegralityTolerance;
         private final IntSupplier myParallelism;
         private final Comparator<NodeKey>[] myPriorityDefinitions;
 
         ConfigurableStrategy(final IntSupplier parallelism, final Comparator<NodeKey>[] definitions, final NumberContext integrality, final NumberContext gap,
-                final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> factory, final GMICutConfiguration configuration) {
+                final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> factory, final GMICutConfiguration configuration,
+                final HeuristicConfiguration heuristics) {
 
             super();
 
@@ -57,6 +61,7 @@ public interface IntegerStrategy {
             myGapTolerance = gap;
             myFactory = factory;
             myGMICutConfiguration = configuration;
+            myHeuristicConfiguration = heuristics;
         }
 
         /**
@@ -75,7 +80,7 @@ public interface IntegerStrategy {
                 totalDefinitions[additionalDefinitions.length + i] = myPriorityDefinitions[i];
             }
 
-            return new ConfigurableStrategy(myParallelism, totalDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, totalDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration, myHeuristicConfiguration);
         }
 
         public NumberContext getGapTolerance() {
@@ -86,6 +91,10 @@ public interface IntegerStrategy {
             return myGMICutConfiguration;
         }
 
+        public HeuristicConfiguration getHeuristicConfiguration() {
+            return myHeuristicConfiguration;
+        }
+
         public NumberContext getIntegralityTolerance() {
             return myIntegralityTolerance;
         }
@@ -107,29 +116,34 @@ public interface IntegerStrategy {
          * Change the MIP gap
          */
         public ConfigurableStrategy withGapTolerance(final NumberContext newTolerance) {
-            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, newTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, newTolerance, myFactory, myGMICutConfiguration, myHeuristicConfiguration);
         }
 
         public ConfigurableStrategy withGMICutConfiguration(final GMICutConfiguration newConfiguration) {
-            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, newConfiguration);
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, newConfiguration, myHeuristicConfiguration);
+        }
+
+        public ConfigurableStrategy withHeuristicConfiguration(final HeuristicConfiguration newConfiguration) {
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration,
+                    newConfiguration);
         }
 
         public ConfigurableStrategy withModelStrategyFactory(final BiFunction<ExpressionsBasedModel, IntegerStrategy, ModelStrategy> newFactory) {
-            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, newFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, newFactory, myGMICutConfiguration, myHeuristicConfiguration);
         }
 
         /**
          * How many threads will be used? Perhaps use {@link Parallelism} to obtain a suitable value.
          */
         public ConfigurableStrategy withParallelism(final IntSupplier newParallelism) {
-            return new ConfigurableStrategy(newParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(newParallelism, myPriorityDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration, myHeuristicConfiguration);
         }
 
         /**
          * Replace the priority definitions with these ones.
          */
         public ConfigurableStrategy withPriorityDefinitions(final Comparator<NodeKey>... newDefinitions) {
-            return new ConfigurableStrategy(myParallelism, newDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration);
+            return new ConfigurableStrategy(myParallelism, newDefinitions, myIntegralityTolerance, myGapTolerance, myFactory, myGMICutConfiguration, myHeuristicConfiguration);
         }
 
     }
@@ -178,6 +192,65 @@ public interface IntegerStrategy {
 
     }
 
+    /**
+     * Primal heuristics configuration – which heuristics to run, and how much effort to spend on them. The
+     * heuristics run in a separate thread, concurrently with the branch&bound workers, starting from recently
+     * evaluated nodes' relaxed solutions.
+     *
+     * @author apete
+     */
+    public static final class HeuristicConfiguration {
+
+        /**
+         * The heuristics to run, in this order, for each node solution. If empty (or if the share is 0) no
+         * heuristics thread is started.
+         */
+        public final List<PrimalHeuristic> heuristics;
+        /**
+         * The max number of LP subproblems solved by a single heuristic search.
+         */
+        public final int iterations;
+        /**
+         * The max share of (1 thread's) time spent running heuristics, [0,1]. Once an integer solution is
+         * found, the heuristics thread pauses after each heuristic search long enough to not exceed this
+         * share. Before that there are no pauses. A share of 0 disables the heuristics.
+         */
+        public final double share;
+        /**
+         * The max time (milliseconds) spent in a single heuristic search.
+         */
+        public final long time;
+
+        public HeuristicConfiguration() {
+            this(Arrays.asList(PrimalHeuristic.ROUNDING, PrimalHeuristic.DIVING, PrimalHeuristic.RINS, PrimalHeuristic.FEASIBILITY_PUMP), 50, 0.1, 1_000L);
+        }
+
+        private HeuristicConfiguration(final List<PrimalHeuristic> newHeuristics, final int newIterations, final double newShare, final long newTime) {
+            super();
+            heuristics = Collections.unmodifiableList(newHeuristics);
+            iterations = newIterations;
+            share = newShare;
+            time = newTime;
+        }
+
+        public HeuristicConfiguration withHeuristics(final PrimalHeuristic... newHeuristics) {
+            return new HeuristicConfiguration(Arrays.asList(newHeuristics), iterations, share, time);
+        }
+
+        public HeuristicConfiguration withIterations(final int newIterations) {
+            return new HeuristicConfiguration(heuristics, Math.max(1, newIterations), share, time);
+        }
+
+        public HeuristicConfiguration withShare(final double newShare) {
+            return new HeuristicConfiguration(heuristics, iterations, Math.min(Math.max(0.0, newShare), 1.0), time);
+        }
+
+        public HeuristicConfiguration withTime(final long newTime) {
+            return new HeuristicConfiguration(heuristics, iterations, share, Math.max(1L, newTime));
+        }
+
+    }
+
     ConfigurableStrategy DEFAULT = IntegerStrategy.newConfigurable();
 
     static ConfigurableStrategy newConfigurable() {
@@ -186,7 +259,7 @@ public interface IntegerStrategy {
                 NodeKey.SMALLEST_DISPLACEMENT, NodeKey.LATEST_SEQUENCE };
 
         return new ConfigurableStrategy(Parallelism.CORES.require(4), definitions, NumberContext.of(12, 8), NumberContext.of(7, 8), DefaultStrategy::new,
-                new GMICutConfiguration());
+                new GMICutConfiguration(), new HeuristicConfiguration());
     }
 
     /**
@@ -202,6 +275,13 @@ public interface IntegerStrategy {
 
     GMICutConfiguration getGMICutConfiguration();
 
+    /**
+     * @return The primal heuristics configuration – by default {@link HeuristicConfiguration#HeuristicConfiguration()}
+     */
+    default HeuristicConfiguration getHeuristicConfiguration() {
+        return new HeuristicConfiguration();
+    }
+
     /**
      * Used to determine if a variable value is integer or not
      */
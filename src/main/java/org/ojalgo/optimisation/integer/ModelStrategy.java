@@ -219,6 +219,10 @@ public abstract class ModelStrategy implements IntegerStrategy {
         return myStrategy.getGMICutConfiguration();
     }
 
+    public HeuristicConfiguration getHeuristicConfiguration() {
+        return myStrategy.getHeuristicConfiguration();
+    }
+
     public NumberContext getIntegralityTolerance() {
         return myStrategy.getIntegralityTolerance();
     }
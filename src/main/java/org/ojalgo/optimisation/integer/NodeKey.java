@@ -98,10 +98,12 @@ public final class NodeKey implements Comparable<NodeKey> {
     private final IntArrayPool myIntArrayPool;
     private final int[] myLowerBounds;
     private final boolean mySignChanged;
+    private final boolean myUpperBranch;
     private final int[] myUpperBounds;
 
     private NodeKey(final int[] lowerBounds, final int[] upperBounds, final long parentSequenceNumber, final int integerIndexBranchedOn,
-            final double branchVariableDisplacement, final double parentObjectiveFunctionValue, final boolean signChanged, final IntArrayPool pool) {
+            final double branchVariableDisplacement, final double parentObjectiveFunctionValue, final boolean signChanged, final boolean upperBranch,
+            final IntArrayPool pool) {
 
         super();
 
@@ -116,6 +118,7 @@ public final class NodeKey implements Comparable<NodeKey> {
         objective = parentObjectiveFunctionValue;
 
         mySignChanged = signChanged;
+        myUpperBranch = upperBranch;
 
         myIntArrayPool = pool;
     }
@@ -158,6 +161,7 @@ public final class NodeKey implements Comparable<NodeKey> {
         objective = NaN;
 
         mySignChanged = false;
+        myUpperBranch = false;
     }
 
     public int compareTo(final NodeKey ref) {
@@ -276,7 +280,7 @@ public final class NodeKey implements Comparable<NodeKey> {
 
         boolean changed = oldVal > 0 && newVal <= 0;
 
-        return new NodeKey(tmpLBs, tmpUBs, sequence, branchIntegerIndex, value - floorValue, objVal, changed, myIntArrayPool);
+        return new NodeKey(tmpLBs, tmpUBs, sequence, branchIntegerIndex, value - floorValue, objVal, changed, false, myIntArrayPool);
     }
 
     NodeKey createUpperBranch(final int branchIntegerIndex, final double value, final double objVal) {
@@ -298,7 +302,7 @@ public final class NodeKey implements Comparable<NodeKey> {
 
         boolean changed = oldVal < 0 && newVal >= 0;
 
-        return new NodeKey(tmpLBs, tmpUBs, sequence, branchIntegerIndex, ceilValue - value, objVal, changed, myIntArrayPool);
+        return new NodeKey(tmpLBs, tmpUBs, sequence, branchIntegerIndex, ceilValue - value, objVal, changed, true, myIntArrayPool);
     }
 
     void dispose() {
@@ -354,7 +358,7 @@ public final class NodeKey implements Comparable<NodeKey> {
     BigDecimal getLowerBound(final int idx) {
         int tmpLower = myLowerBounds[idx];
         if (tmpLower != Integer.MIN_VALUE) {
-            return new BigDecimal(tmpLower);
+            return BigDecimal.valueOf(tmpLower);
         }
         return null;
     }
@@ -369,7 +373,7 @@ public final class NodeKey implements Comparable<NodeKey> {
     BigDecimal getUpperBound(final int idx) {
         int tmpUpper = myUpperBounds[idx];
         if (tmpUpper != Integer.MAX_VALUE) {
-            return new BigDecimal(tmpUpper);
+            return BigDecimal.valueOf(tmpUpper);
         }
         return null;
     }
@@ -378,6 +382,13 @@ public final class NodeKey implements Comparable<NodeKey> {
         return mySignChanged;
     }
 
+    /**
+     * Was this node created as the upper (lower bound increased) branch of its parent?
+     */
+    boolean isUpperBranch() {
+        return myUpperBranch;
+    }
+
     void setNodeState(final ExpressionsBasedModel model, final ModelStrategy strategy) {
         for (int i = 0; i < strategy.countIntegerVariables(); i++) {
             this.enforceBounds(model, i, strategy);
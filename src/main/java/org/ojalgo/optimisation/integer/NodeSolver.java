@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -43,6 +44,11 @@ import org.ojalgo.type.keyvalue.EntryPair;
 
 public final class NodeSolver extends IntermediateSolver {
 
+    /**
+     * Name prefix of the GMI cuts
+     */
+    static final String GMI = "CUT_GMI_";
+
     private static final NumberContext PRECISION = NumberContext.of(12);
     private static final NumberContext COEFFICIENT = PRECISION.withMode(RoundingMode.CEILING);
     private static final AtomicInteger COUNTER = new AtomicInteger();
@@ -55,6 +61,26 @@ public final class NodeSolver extends IntermediateSolver {
         super(model);
     }
 
+    /**
+     * Adds the cuts (from the cut pool) to this node's model.
+     *
+     * @return true if any cuts were added, and the node needs to be solved again
+     */
+    boolean addCuts(final List<CutPool.Cut> cuts) {
+
+        if (cuts.isEmpty()) {
+            return false;
+        }
+
+        ExpressionsBasedModel model = this.getModel();
+        for (CutPool.Cut cut : cuts) {
+            cut.addTo(model);
+        }
+
+        this.reset();
+        return true;
+    }
+
     boolean generateCuts(final ModelStrategy strategy) {
         boolean retVal = this.generateCuts(strategy, this.getModel());
         if (retVal) {
@@ -105,7 +131,7 @@ public final class NodeSolver extends IntermediateSolver {
 
                 for (Equation equation : potentialCuts) {
 
-                    String name = "CUT_GMI_" + equation.index + "_" + COUNTER.incrementAndGet();
+                    String name = GMI + equation.index + "_" + COUNTER.incrementAndGet();
 
                     if (DEBUG) {
                         BasicLogger.debug("{} {}", name, equation.toString());
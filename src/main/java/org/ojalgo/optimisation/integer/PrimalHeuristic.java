@@ -0,0 +1,112 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.function.BooleanSupplier;
+
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.structure.Access1D;
+
+/**
+ * A primal heuristic tries to find integer feasible solutions, typically starting from the (fractional)
+ * solution to some branch&bound node's relaxed problem. The heuristics run in a separate thread,
+ * concurrently with the branch&bound workers, and any solution found is validated and, if it is better
+ * than the currently best solution, used as the new incumbent.
+ * <p>
+ * The integer model passed to the heuristic is shared with the branch&bound workers and must not be
+ * modified. Work with a snapshot of it instead – {@link ExpressionsBasedModel#snapshot(ExpressionsBasedModel)}.
+ * The integer model's objective function limit is updated whenever a new incumbent is found. Snapshots
+ * inherit that limit, and any feasible solution to such a snapshot is an improvement.
+ *
+ * @author apete
+ */
+@FunctionalInterface
+public interface PrimalHeuristic {
+
+    /**
+     * Limits the effort spent in a single heuristic search, and tells the heuristic when to give up. The
+     * branch&bound search may finish, or the solver time limit be reached, while a heuristic is running.
+     *
+     * @author apete
+     */
+    final class Budget {
+
+        private final long myDeadline;
+        private int myIterations;
+        private final BooleanSupplier myStopped;
+
+        Budget(final int iterations, final long time, final BooleanSupplier stopped) {
+            super();
+            myIterations = iterations;
+            myDeadline = System.currentTimeMillis() + time;
+            myStopped = stopped;
+        }
+
+        public boolean isExhausted() {
+            return myIterations <= 0 || System.currentTimeMillis() > myDeadline || myStopped.getAsBoolean();
+        }
+
+        /**
+         * Call once for each (LP) subproblem solved.
+         */
+        public void spend() {
+            myIterations--;
+        }
+
+    }
+
+    /**
+     * Fix-and-dive: Repeatedly fix the integer variables that already have integer values, round the least
+     * fractional one, and resolve. If that becomes infeasible the rounding is reversed once.
+     */
+    PrimalHeuristic DIVING = new PrimalHeuristics.Diving();
+    /**
+     * Alternates between rounding the relaxed solution and solving an LP minimising the (L1) distance to
+     * that rounding. Perturbs the rounding when it cycles. Only the binary variables contribute to the
+     * distance function – general integer variables are just rounded in the end.
+     */
+    PrimalHeuristic FEASIBILITY_PUMP = new PrimalHeuristics.FeasibilityPump();
+    /**
+     * Relaxation Induced Neighbourhood Search: Fix the integer variables where the incumbent and the relaxed
+     * solution agree, and then dive in the remaining (smaller) subproblem. Requires an incumbent.
+     */
+    PrimalHeuristic RINS = new PrimalHeuristics.RINS();
+    /**
+     * Round the integer variables to their nearest integer values. If there are continuous variables those
+     * are recalculated with the integer variables fixed.
+     */
+    PrimalHeuristic ROUNDING = new PrimalHeuristics.Rounding();
+
+    /**
+     * @param model The integer model – must not be modified
+     * @param relaxed A solution to the relaxed problem of some branch&bound node (possibly the root node)
+     * @param incumbent The best integer solution found so far, or null
+     * @param strategy Provides, among other things, the integrality tolerance
+     * @param budget Check it regularly, and call {@link Budget#spend()} for each subproblem solved
+     * @return A candidate integer solution, or null if none was found. The candidate is validated before it
+     *         is used – it does not need to be better than the incumbent, and its objective function value
+     *         need not be set.
+     */
+    Optimisation.Result search(ExpressionsBasedModel model, Access1D<?> relaxed, Optimisation.Result incumbent, IntegerStrategy strategy, Budget budget);
+
+}
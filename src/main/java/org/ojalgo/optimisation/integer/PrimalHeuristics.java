@@ -0,0 +1,469 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.type.context.NumberContext;
+
+/**
+ * The built-in {@link PrimalHeuristic} implementations.
+ *
+ * @author apete
+ */
+final class PrimalHeuristics {
+
+    static final class Diving implements PrimalHeuristic {
+
+        public Optimisation.Result search(final ExpressionsBasedModel model, final Access1D<?> relaxed, final Optimisation.Result incumbent,
+                final IntegerStrategy strategy, final PrimalHeuristic.Budget budget) {
+            return new Subproblem(model, strategy, budget).dive(relaxed);
+        }
+
+    }
+
+    static final class FeasibilityPump implements PrimalHeuristic {
+
+        /**
+         * The number of binary variables flipped when the pump cycles
+         */
+        private static final int PERTURBATION = 10;
+
+        public Optimisation.Result search(final ExpressionsBasedModel model, final Access1D<?> relaxed, final Optimisation.Result incumbent,
+                final IntegerStrategy strategy, final PrimalHeuristic.Budget budget) {
+
+            Subproblem subproblem = new Subproblem(model, strategy, budget);
+
+            if (subproblem.countBinaries() == 0) {
+                return null;
+            }
+
+            Access1D<?> current = relaxed;
+            double[] previous = null;
+
+            while (!budget.isExhausted()) {
+
+                Optimisation.Result candidate = subproblem.toCandidate(current);
+                if (candidate != null) {
+                    return candidate;
+                }
+
+                double[] rounded = subproblem.round(current);
+                if (subproblem.isBinaryIntegral(current, rounded)) {
+                    // Only general integer variables left fractional
+                    return subproblem.complete(rounded);
+                }
+
+                if (previous != null && subproblem.isSameRounding(rounded, previous)) {
+                    subproblem.perturb(current, rounded, PERTURBATION);
+                }
+                previous = rounded;
+
+                Optimisation.Result result = subproblem.solve(rounded);
+                if (!result.getState().isOptimal()) {
+                    return null;
+                }
+                current = result;
+            }
+
+            return null;
+        }
+
+    }
+
+    static final class RINS implements PrimalHeuristic {
+
+        /**
+         * At least this share of the integer variables must be fixed, or the neighbourhood is not small
+         * enough to be worth searching.
+         */
+        private static final double MIN_FIXED = 0.3;
+
+        public Optimisation.Result search(final ExpressionsBasedModel model, final Access1D<?> relaxed, final Optimisation.Result incumbent,
+                final IntegerStrategy strategy, final PrimalHeuristic.Budget budget) {
+
+            if (incumbent == null) {
+                return null;
+            }
+
+            Subproblem subproblem = new Subproblem(model, strategy, budget);
+
+            int fixed = subproblem.fixAgreeing(relaxed, incumbent);
+            if (fixed < MIN_FIXED * subproblem.countIntegers() || fixed == subproblem.countIntegers()) {
+                return null;
+            }
+
+            Optimisation.Result result = subproblem.solve(null);
+            if (!result.getState().isOptimal()) {
+                return null;
+            }
+
+            return subproblem.dive(result);
+        }
+
+    }
+
+    static final class Rounding implements PrimalHeuristic {
+
+        public Optimisation.Result search(final ExpressionsBasedModel model, final Access1D<?> relaxed, final Optimisation.Result incumbent,
+                final IntegerStrategy strategy, final PrimalHeuristic.Budget budget) {
+
+            Subproblem subproblem = new Subproblem(model, strategy, budget);
+
+            double[] rounded = subproblem.round(relaxed);
+
+            if (subproblem.countIntegers() == model.countVariables()) {
+                return new Optimisation.Result(Optimisation.State.FEASIBLE, Access1D.wrap(rounded));
+            }
+
+            return subproblem.complete(rounded);
+        }
+
+    }
+
+    /**
+     * The integer model with (some of) its integer variables' bounds tightened. Each LP subproblem is solved
+     * using a reset snapshot of the integer model, with the current bounds applied.
+     */
+    static final class Subproblem {
+
+        private final PrimalHeuristic.Budget myBudget;
+        private final int[] myIndices;
+        private final NumberContext myIntegrality;
+        private final double[] myLower;
+        private final ExpressionsBasedModel myModel;
+        private final double[] myOriginalLower;
+        private final double[] myOriginalUpper;
+        private ExpressionsBasedModel mySnapshot = null;
+        private final double[] myUpper;
+
+        Subproblem(final ExpressionsBasedModel model, final IntegerStrategy strategy, final PrimalHeuristic.Budget budget) {
+
+            super();
+
+            myModel = model;
+            myIntegrality = strategy.getIntegralityTolerance();
+            myBudget = budget;
+
+            List<Variable> integerVariables = model.getIntegerVariables();
+            int nbIntegers = integerVariables.size();
+
+            myIndices = new int[nbIntegers];
+            myOriginalLower = new double[nbIntegers];
+            myOriginalUpper = new double[nbIntegers];
+            for (int i = 0; i < nbIntegers; i++) {
+                Variable variable = integerVariables.get(i);
+                myIndices[i] = model.indexOf(variable);
+                myOriginalLower[i] = variable.isLowerLimitSet() ? variable.getLowerLimit().doubleValue() : Double.NEGATIVE_INFINITY;
+                myOriginalUpper[i] = variable.isUpperLimitSet() ? variable.getUpperLimit().doubleValue() : Double.POSITIVE_INFINITY;
+            }
+
+            myLower = myOriginalLower.clone();
+            myUpper = myOriginalUpper.clone();
+        }
+
+        /**
+         * Fix the integer variables to the rounded values, and solve for the continuous variables.
+         */
+        Optimisation.Result complete(final double[] rounded) {
+
+            if (myBudget.isExhausted()) {
+                return null;
+            }
+
+            for (int i = 0; i < myIndices.length; i++) {
+                double value = rounded[myIndices[i]];
+                if (value < myOriginalLower[i] || value > myOriginalUpper[i]) {
+                    return null;
+                }
+                myLower[i] = value;
+                myUpper[i] = value;
+            }
+
+            Optimisation.Result result = this.solve(null);
+            return result.getState().isOptimal() ? this.toCandidate(result) : null;
+        }
+
+        int countBinaries() {
+            int retVal = 0;
+            for (int i = 0; i < myIndices.length; i++) {
+                if (this.isBinary(i)) {
+                    retVal++;
+                }
+            }
+            return retVal;
+        }
+
+        int countIntegers() {
+            return myIndices.length;
+        }
+
+        /**
+         * Repeatedly fix the integer variables that have integer values, round the least fractional one, and
+         * resolve.
+         */
+        Optimisation.Result dive(final Access1D<?> point) {
+
+            Access1D<?> current = point;
+
+            while (!myBudget.isExhausted()) {
+
+                int fractional = -1;
+                double smallest = Double.POSITIVE_INFINITY;
+
+                for (int i = 0; i < myIndices.length; i++) {
+                    double value = current.doubleValue(myIndices[i]);
+                    double fraction = Math.abs(value - Math.rint(value));
+                    if (!myIntegrality.isZero(fraction) && fraction < smallest) {
+                        fractional = i;
+                        smallest = fraction;
+                    }
+                }
+
+                if (fractional < 0) {
+                    return this.toCandidate(current);
+                }
+
+                double[] lowerBefore = myLower.clone();
+                double[] upperBefore = myUpper.clone();
+
+                for (int i = 0; i < myIndices.length; i++) {
+                    double value = current.doubleValue(myIndices[i]);
+                    if (i != fractional && myIntegrality.isZero(Math.abs(value - Math.rint(value)))) {
+                        this.fix(i, Math.rint(value));
+                    }
+                }
+
+                double value = current.doubleValue(myIndices[fractional]);
+                double rounded = Math.rint(value);
+                if (rounded < value) {
+                    myUpper[fractional] = rounded;
+                } else {
+                    myLower[fractional] = rounded;
+                }
+
+                Optimisation.Result result = this.solve(null);
+
+                if (!result.getState().isOptimal()) {
+
+                    System.arraycopy(lowerBefore, 0, myLower, 0, myLower.length);
+                    System.arraycopy(upperBefore, 0, myUpper, 0, myUpper.length);
+
+                    if (rounded < value) {
+                        myLower[fractional] = rounded + 1.0;
+                    } else {
+                        myUpper[fractional] = rounded - 1.0;
+                    }
+
+                    if (myBudget.isExhausted()) {
+                        return null;
+                    }
+
+                    result = this.solve(null);
+
+                    if (!result.getState().isOptimal()) {
+                        return null;
+                    }
+                }
+
+                current = result;
+            }
+
+            return null;
+        }
+
+        /**
+         * Fix the integer variables that have the same (integer) value in both solutions.
+         *
+         * @return The number of fixed variables
+         */
+        int fixAgreeing(final Access1D<?> relaxed, final Access1D<?> incumbent) {
+
+            int retVal = 0;
+
+            for (int i = 0; i < myIndices.length; i++) {
+                double value = relaxed.doubleValue(myIndices[i]);
+                double reference = Math.rint(incumbent.doubleValue(myIndices[i]));
+                if (myIntegrality.isZero(Math.abs(value - reference))) {
+                    this.fix(i, reference);
+                    retVal++;
+                }
+            }
+
+            return retVal;
+        }
+
+        /**
+         * @return true if all binary variables have integer values
+         */
+        boolean isBinaryIntegral(final Access1D<?> point, final double[] rounded) {
+            for (int i = 0; i < myIndices.length; i++) {
+                int index = myIndices[i];
+                if (this.isBinary(i) && !myIntegrality.isZero(Math.abs(point.doubleValue(index) - rounded[index]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return true if the integer variables have the same values in both roundings
+         */
+        boolean isSameRounding(final double[] rounded, final double[] other) {
+            for (int i = 0; i < myIndices.length; i++) {
+                if (rounded[myIndices[i]] != other[myIndices[i]]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Flip the rounding of the (at most) count binary variables that are the furthest from their rounded
+         * values.
+         */
+        void perturb(final Access1D<?> point, final double[] rounded, final int count) {
+
+            boolean[] flipped = new boolean[myIndices.length];
+
+            for (int c = 0; c < count; c++) {
+
+                int flip = -1;
+                double largest = 0.0;
+
+                for (int i = 0; i < myIndices.length; i++) {
+                    double distance = Math.abs(point.doubleValue(myIndices[i]) - rounded[myIndices[i]]);
+                    if (!flipped[i] && this.isBinary(i) && distance > largest) {
+                        flip = i;
+                        largest = distance;
+                    }
+                }
+
+                if (flip < 0) {
+                    return;
+                }
+
+                flipped[flip] = true;
+                rounded[myIndices[flip]] = 1.0 - rounded[myIndices[flip]];
+            }
+        }
+
+        /**
+         * @return A copy of the point with the integer variables rounded (within the original bounds)
+         */
+        double[] round(final Access1D<?> point) {
+
+            double[] retVal = point.toRawCopy1D();
+
+            for (int i = 0; i < myIndices.length; i++) {
+                int index = myIndices[i];
+                retVal[index] = Math.min(Math.max(Math.rint(retVal[index]), myOriginalLower[i]), myOriginalUpper[i]);
+            }
+
+            return retVal;
+        }
+
+        /**
+         * Solve the LP subproblem with the current bounds.
+         *
+         * @param target If not null the objective function is replaced by the (L1) distance from the binary
+         *        variables to these (rounded) values.
+         */
+        Optimisation.Result solve(final double[] target) {
+
+            myBudget.spend();
+
+            mySnapshot = myModel.snapshot(mySnapshot);
+
+            for (int i = 0; i < myIndices.length; i++) {
+                if (myLower[i] != myOriginalLower[i]) {
+                    mySnapshot.getVariable(myIndices[i]).lower(myLower[i]);
+                }
+                if (myUpper[i] != myOriginalUpper[i]) {
+                    mySnapshot.getVariable(myIndices[i]).upper(myUpper[i]);
+                }
+            }
+
+            if (target != null) {
+
+                for (Variable variable : mySnapshot.getVariables()) {
+                    variable.weight(null);
+                }
+                for (Expression expression : mySnapshot.getExpressions()) {
+                    if (expression.isObjective()) {
+                        expression.weight(null);
+                    }
+                }
+
+                BigDecimal direction = mySnapshot.getOptimisationSense() == Optimisation.Sense.MAX ? BigDecimal.ONE.negate() : BigDecimal.ONE;
+
+                for (int i = 0; i < myIndices.length; i++) {
+                    if (this.isBinary(i)) {
+                        int index = myIndices[i];
+                        mySnapshot.getVariable(index).weight(target[index] > 0.5 ? direction.negate() : direction);
+                    }
+                }
+            }
+
+            return mySnapshot.prepare(NodeSolver::new).solve();
+        }
+
+        /**
+         * @return The point, with the integer variables rounded, if all integer variables have integer
+         *         values – otherwise null.
+         */
+        Optimisation.Result toCandidate(final Access1D<?> point) {
+
+            double[] values = point.toRawCopy1D();
+
+            for (int i = 0; i < myIndices.length; i++) {
+                int index = myIndices[i];
+                double rounded = Math.rint(values[index]);
+                if (!myIntegrality.isZero(Math.abs(values[index] - rounded))) {
+                    return null;
+                }
+                values[index] = rounded;
+            }
+
+            return new Optimisation.Result(Optimisation.State.FEASIBLE, Access1D.wrap(values));
+        }
+
+        private void fix(final int i, final double value) {
+            if (value >= myOriginalLower[i] && value <= myOriginalUpper[i]) {
+                myLower[i] = value;
+                myUpper[i] = value;
+            }
+        }
+
+        private boolean isBinary(final int i) {
+            return myOriginalLower[i] == 0.0 && myOriginalUpper[i] == 1.0;
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pseudo-costs – the average objective function value change per unit change of an integer variable, when
+ * branching on that variable. Tracked separately for the down (lower) and up (upper) branches. Shared by
+ * all branch&bound worker threads – all updates are lock-free.
+ *
+ * @author apete
+ */
+final class PseudoCostTable {
+
+    /**
+     * Smallest value of each factor of the product score
+     */
+    private static final double EPSILON = 1E-6;
+
+    /**
+     * Branching attempts, feasible or not, 2 per variable: [down, up]. Determines reliability.
+     */
+    private final AtomicLongArray myAttempts;
+    /**
+     * Observation (feasible branch) counts, 2 per variable: [down, up]
+     */
+    private final AtomicLongArray myCounts;
+    private final LongAdder myDownCount = new LongAdder();
+    private final DoubleAdder myDownSum = new DoubleAdder();
+    /**
+     * Sums of the observed per unit changes, 2 per variable: [down, up], stored as double bits.
+     */
+    private final AtomicLongArray mySums;
+    private final LongAdder myUpCount = new LongAdder();
+    private final DoubleAdder myUpSum = new DoubleAdder();
+
+    PseudoCostTable(final int nbIntegers) {
+        super();
+        myAttempts = new AtomicLongArray(2 * nbIntegers);
+        myCounts = new AtomicLongArray(2 * nbIntegers);
+        mySums = new AtomicLongArray(2 * nbIntegers);
+    }
+
+    /**
+     * @param idx Index among the integer variables
+     * @param up Was it the up (lower bound) branch
+     * @param displacement How much the variable was displaced by the branch
+     * @param change The (non-negative) objective function value change, infinite if the branch was
+     *        infeasible.
+     */
+    void add(final int idx, final boolean up, final double displacement, final double change) {
+
+        int slot = up ? 2 * idx + 1 : 2 * idx;
+
+        myAttempts.incrementAndGet(slot);
+
+        if (!(displacement > 0.0) || !Double.isFinite(change)) {
+            return;
+        }
+
+        double unit = Math.max(change, 0.0) / displacement;
+
+        long expected;
+        do {
+            expected = mySums.get(slot);
+        } while (!mySums.compareAndSet(slot, expected, Double.doubleToRawLongBits(Double.longBitsToDouble(expected) + unit)));
+        myCounts.incrementAndGet(slot);
+
+        if (up) {
+            myUpSum.add(unit);
+            myUpCount.increment();
+        } else {
+            myDownSum.add(unit);
+            myDownCount.increment();
+        }
+    }
+
+    /**
+     * The number of branching attempts, feasible or not, in the direction with the fewest.
+     */
+    long countAttempts(final int idx) {
+        return Math.min(myAttempts.get(2 * idx), myAttempts.get(2 * idx + 1));
+    }
+
+    /**
+     * The per unit down branch change. If there are no observations for this variable, the average of all
+     * variables is returned.
+     */
+    double getDown(final int idx) {
+        long count = myCounts.get(2 * idx);
+        if (count > 0L) {
+            return Double.longBitsToDouble(mySums.get(2 * idx)) / count;
+        }
+        return PseudoCostTable.average(myDownSum, myDownCount);
+    }
+
+    /**
+     * The per unit up branch change. If there are no observations for this variable, the average of all
+     * variables is returned.
+     */
+    double getUp(final int idx) {
+        long count = myCounts.get(2 * idx + 1);
+        if (count > 0L) {
+            return Double.longBitsToDouble(mySums.get(2 * idx + 1)) / count;
+        }
+        return PseudoCostTable.average(myUpSum, myUpCount);
+    }
+
+    boolean isEmpty() {
+        return myDownCount.sum() == 0L && myUpCount.sum() == 0L;
+    }
+
+    /**
+     * The product score of the estimated objective function changes of the 2 branches.
+     *
+     * @param idx Index among the integer variables
+     * @param fraction The fractional part of the variable's value
+     */
+    double score(final int idx, final double fraction) {
+        return PseudoCostTable.score(this.getDown(idx) * fraction, this.getUp(idx) * (1.0 - fraction));
+    }
+
+    static double score(final double downChange, final double upChange) {
+        return Math.max(downChange, EPSILON) * Math.max(upChange, EPSILON);
+    }
+
+    private static double average(final DoubleAdder sum, final LongAdder count) {
+        long total = count.sum();
+        return total > 0L ? sum.sum() / total : 1.0;
+    }
+
+}
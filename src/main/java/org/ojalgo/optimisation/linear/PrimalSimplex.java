@@ -141,21 +141,21 @@ final class PrimalSimplex extends SimplexTableauSolver {
         int tmpNegVarsBaseIndex = tmpPosVarsBaseIndex + posVariables.size();
         int tmpSlaVarsBaseIndex = tmpNegVarsBaseIndex + negVariables.size();
 
-        for (IntIndex tmpKey : objFunc.getLinearKeySet()) {
+        double tmpSign = model.getOptimisationSense() == Optimisation.Sense.MAX ? NEG : ONE;
+        objFunc.loopLinear(true, (index, factor) -> {
 
-            double tmpFactor = model.getOptimisationSense() == Optimisation.Sense.MAX ? -objFunc.getAdjustedLinearFactor(tmpKey)
-                    : objFunc.getAdjustedLinearFactor(tmpKey);
+            double tmpFactor = tmpSign * factor;
 
-            int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
+            int tmpPosInd = model.indexOfPositiveVariable(index);
             if (tmpPosInd >= 0) {
                 retVal.objective().set(tmpPosInd, tmpFactor);
             }
 
-            int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
+            int tmpNegInd = model.indexOfNegativeVariable(index);
             if (tmpNegInd >= 0) {
                 retVal.objective().set(tmpNegVarsBaseIndex + tmpNegInd, -tmpFactor);
             }
-        }
+        });
 
         int tmpConstrBaseIndex = 0;
         int tmpCurrentSlackVarIndex = tmpSlaVarsBaseIndex;
@@ -170,39 +170,13 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
                 retVal.constraintsRHS().set(tmpConstrBaseIndex + c, -tmpRHS);
 
-                for (IntIndex tmpKey : tmpExpr.getLinearKeySet()) {
-
-                    double tmpFactor = tmpExpr.getAdjustedLinearFactor(tmpKey);
-
-                    int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
-                    if (tmpPosInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpPosVarsBaseIndex + tmpPosInd, -tmpFactor);
-                    }
-
-                    int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
-                    if (tmpNegInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpNegVarsBaseIndex + tmpNegInd, tmpFactor);
-                    }
-                }
+                PrimalSimplex.set(model, retVal.constraintsBody(), tmpConstrBaseIndex + c, tmpPosVarsBaseIndex, tmpNegVarsBaseIndex, tmpExpr, NEG);
 
             } else {
 
                 retVal.constraintsRHS().set(tmpConstrBaseIndex + c, tmpRHS);
 
-                for (IntIndex tmpKey : tmpExpr.getLinearKeySet()) {
-
-                    double tmpFactor = tmpExpr.getAdjustedLinearFactor(tmpKey);
-
-                    int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
-                    if (tmpPosInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpPosVarsBaseIndex + tmpPosInd, tmpFactor);
-                    }
-
-                    int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
-                    if (tmpNegInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpNegVarsBaseIndex + tmpNegInd, -tmpFactor);
-                    }
-                }
+                PrimalSimplex.set(model, retVal.constraintsBody(), tmpConstrBaseIndex + c, tmpPosVarsBaseIndex, tmpNegVarsBaseIndex, tmpExpr, ONE);
             }
         }
         tmpConstrBaseIndex += tmpExprsEqLength;
@@ -217,20 +191,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
                 retVal.constraintsRHS().set(tmpConstrBaseIndex + c, -tmpRHS);
 
-                for (IntIndex tmpKey : tmpExpr.getLinearKeySet()) {
-
-                    double tmpFactor = tmpExpr.getAdjustedLinearFactor(tmpKey);
-
-                    int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
-                    if (tmpPosInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpPosVarsBaseIndex + tmpPosInd, -tmpFactor);
-                    }
-
-                    int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
-                    if (tmpNegInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpNegVarsBaseIndex + tmpNegInd, tmpFactor);
-                    }
-                }
+                PrimalSimplex.set(model, retVal.constraintsBody(), tmpConstrBaseIndex + c, tmpPosVarsBaseIndex, tmpNegVarsBaseIndex, tmpExpr, NEG);
 
                 retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpCurrentSlackVarIndex++, ONE);
 
@@ -238,20 +199,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
                 retVal.constraintsRHS().set(tmpConstrBaseIndex + c, tmpRHS);
 
-                for (IntIndex tmpKey : tmpExpr.getLinearKeySet()) {
-
-                    double tmpFactor = tmpExpr.getAdjustedLinearFactor(tmpKey);
-
-                    int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
-                    if (tmpPosInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpPosVarsBaseIndex + tmpPosInd, tmpFactor);
-                    }
-
-                    int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
-                    if (tmpNegInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpNegVarsBaseIndex + tmpNegInd, -tmpFactor);
-                    }
-                }
+                PrimalSimplex.set(model, retVal.constraintsBody(), tmpConstrBaseIndex + c, tmpPosVarsBaseIndex, tmpNegVarsBaseIndex, tmpExpr, ONE);
 
                 retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpCurrentSlackVarIndex++, NEG);
             }
@@ -268,20 +216,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
                 retVal.constraintsRHS().set(tmpConstrBaseIndex + c, -tmpRHS);
 
-                for (IntIndex tmpKey : tmpExpr.getLinearKeySet()) {
-
-                    double tmpFactor = tmpExpr.getAdjustedLinearFactor(tmpKey);
-
-                    int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
-                    if (tmpPosInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpPosVarsBaseIndex + tmpPosInd, -tmpFactor);
-                    }
-
-                    int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
-                    if (tmpNegInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpNegVarsBaseIndex + tmpNegInd, tmpFactor);
-                    }
-                }
+                PrimalSimplex.set(model, retVal.constraintsBody(), tmpConstrBaseIndex + c, tmpPosVarsBaseIndex, tmpNegVarsBaseIndex, tmpExpr, NEG);
 
                 retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpCurrentSlackVarIndex++, NEG);
 
@@ -289,20 +224,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
                 retVal.constraintsRHS().set(tmpConstrBaseIndex + c, tmpRHS);
 
-                for (IntIndex tmpKey : tmpExpr.getLinearKeySet()) {
-
-                    double tmpFactor = tmpExpr.getAdjustedLinearFactor(tmpKey);
-
-                    int tmpPosInd = model.indexOfPositiveVariable(tmpKey.index);
-                    if (tmpPosInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpPosVarsBaseIndex + tmpPosInd, tmpFactor);
-                    }
-
-                    int tmpNegInd = model.indexOfNegativeVariable(tmpKey.index);
-                    if (tmpNegInd >= 0) {
-                        retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpNegVarsBaseIndex + tmpNegInd, -tmpFactor);
-                    }
-                }
+                PrimalSimplex.set(model, retVal.constraintsBody(), tmpConstrBaseIndex + c, tmpPosVarsBaseIndex, tmpNegVarsBaseIndex, tmpExpr, ONE);
 
                 retVal.constraintsBody().set(tmpConstrBaseIndex + c, tmpCurrentSlackVarIndex++, ONE);
             }
@@ -412,17 +334,20 @@ final class PrimalSimplex extends SimplexTableauSolver {
     }
 
     private static void set(final ExpressionsBasedModel model, final Primitive2D constraintsBdy, final int indCnstr, final int basePosVars,
-            final int baseNegVars, final IntIndex key, final double factor) {
+            final int baseNegVars, final Expression expression, final double sign) {
 
-        int tmpPosInd = model.indexOfPositiveVariable(key);
-        if (tmpPosInd >= 0) {
-            constraintsBdy.set(indCnstr, basePosVars + tmpPosInd, factor);
-        }
+        expression.loopLinear(true, (index, factor) -> {
 
-        int tmpNegInd = model.indexOfNegativeVariable(key);
-        if (tmpNegInd >= 0) {
-            constraintsBdy.set(indCnstr, baseNegVars + tmpNegInd, -factor);
-        }
+            int tmpPosInd = model.indexOfPositiveVariable(index);
+            if (tmpPosInd >= 0) {
+                constraintsBdy.set(indCnstr, basePosVars + tmpPosInd, sign * factor);
+            }
+
+            int tmpNegInd = model.indexOfNegativeVariable(index);
+            if (tmpNegInd >= 0) {
+                constraintsBdy.set(indCnstr, baseNegVars + tmpNegInd, -sign * factor);
+            }
+        });
     }
 
     private static void set(final ExpressionsBasedModel model, final Primitive2D constraintsBdy, final int indCnstr, final int basePosVars,
@@ -649,21 +574,21 @@ final class PrimalSimplex extends SimplexTableauSolver {
             meta.negativePartVariables[i] = model.indexOf(negVariables.get(i));
         }
 
-        for (IntIndex tmpKey : objective.getLinearKeySet()) {
+        double sign = model.getOptimisationSense() == Optimisation.Sense.MAX ? NEG : ONE;
+        objective.loopLinear(true, (index, factor) -> {
 
-            double tmpFactor = model.getOptimisationSense() == Optimisation.Sense.MAX ? -objective.getAdjustedLinearFactor(tmpKey)
-                    : objective.getAdjustedLinearFactor(tmpKey);
+            double tmpFactor = sign * factor;
 
-            int tmpPosInd = model.indexOfPositiveVariable(tmpKey);
+            int tmpPosInd = model.indexOfPositiveVariable(index);
             if (tmpPosInd >= 0) {
                 retObjective.set(basePosVars + tmpPosInd, tmpFactor);
             }
 
-            int tmpNegInd = model.indexOfNegativeVariable(tmpKey);
+            int tmpNegInd = model.indexOfNegativeVariable(index);
             if (tmpNegInd >= 0) {
                 retObjective.set(baseNegVars + tmpNegInd, -tmpFactor);
             }
-        }
+        });
 
         //  BasicLogger.debug("objective", retVal);
 
@@ -672,10 +597,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
         for (Expression expression : exprUpPos) {
 
-            for (IntIndex key : expression.getLinearKeySet()) {
-                double factor = expression.getAdjustedLinearFactor(key);
-                PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, key, factor);
-            }
+            PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, expression, ONE);
 
             retConstraintsBdy.set(indCnstr, indSlack, ONE);
 
@@ -691,10 +613,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
         for (Expression expression : exprLoNeg) {
 
-            for (IntIndex key : expression.getLinearKeySet()) {
-                double factor = -expression.getAdjustedLinearFactor(key);
-                PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, key, factor);
-            }
+            PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, expression, NEG);
 
             retConstraintsBdy.set(indCnstr, indSlack, ONE);
 
@@ -746,10 +665,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
         for (Expression expression : exprLoPos) {
 
-            for (IntIndex key : expression.getLinearKeySet()) {
-                double factor = expression.getAdjustedLinearFactor(key);
-                PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, key, factor);
-            }
+            PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, expression, ONE);
 
             retConstraintsBdy.set(indCnstr, indSlack, NEG);
 
@@ -765,10 +681,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
         for (Expression expression : exprUpNeg) {
 
-            for (IntIndex key : expression.getLinearKeySet()) {
-                double factor = -expression.getAdjustedLinearFactor(key);
-                PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, key, factor);
-            }
+            PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, expression, NEG);
 
             retConstraintsBdy.set(indCnstr, indSlack, NEG);
 
@@ -820,10 +733,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
         for (Expression expression : exprEqPos) {
 
-            for (IntIndex key : expression.getLinearKeySet()) {
-                double factor = expression.getAdjustedLinearFactor(key);
-                PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, key, factor);
-            }
+            PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, expression, ONE);
 
             double rhs = expression.getAdjustedUpperLimit();
             retConstraintsRHS.set(indCnstr, rhs);
@@ -835,10 +745,7 @@ final class PrimalSimplex extends SimplexTableauSolver {
 
         for (Expression expression : exprEqNeg) {
 
-            for (IntIndex key : expression.getLinearKeySet()) {
-                double factor = -expression.getAdjustedLinearFactor(key);
-                PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, key, factor);
-            }
+            PrimalSimplex.set(model, retConstraintsBdy, indCnstr, basePosVars, baseNegVars, expression, NEG);
 
             double rhs = -expression.getAdjustedLowerLimit();
             retConstraintsRHS.set(indCnstr, rhs);
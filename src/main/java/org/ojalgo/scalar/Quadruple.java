@@ -116,6 +116,17 @@ public class Quadruple implements SelfDeclaringScalar<Quadruple> {
         return value.isSmall(comparedTo);
     }
 
+    /**
+     * Static factory method returning a number from its (double-double) parts. The parts are assumed to
+     * be normalised – the remainder must be small relative to the base.
+     *
+     * @param base The leading part
+     * @param remainder The remainder
+     */
+    public static Quadruple of(final double base, final double remainder) {
+        return new Quadruple(base, remainder);
+    }
+
     public static Quadruple parse(final CharSequence plainNumberString) {
         BigDecimal decimal = new BigDecimal(plainNumberString.toString());
         return Quadruple.valueOf(decimal);
@@ -325,6 +336,20 @@ public class Quadruple implements SelfDeclaringScalar<Quadruple> {
         return this;
     }
 
+    /**
+     * The (double precision) leading part of this number
+     */
+    public double getBase() {
+        return myBase;
+    }
+
+    /**
+     * The remainder – what needs to be added to the base to get the exact value of this number
+     */
+    public double getRemainder() {
+        return myRemainder;
+    }
+
     @Override
     public int hashCode() {
         int prime = 31;
@@ -474,12 +499,4 @@ public class Quadruple implements SelfDeclaringScalar<Quadruple> {
         return new BigDecimal(myBase).add(new BigDecimal(myRemainder), context);
     }
 
-    double getBase() {
-        return myBase;
-    }
-
-    double getRemainder() {
-        return myRemainder;
-    }
-
 }
@@ -0,0 +1,459 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.concurrent.DaemonPoolExecutor;
+import org.ojalgo.machine.MemoryEstimator;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.type.management.CacheStatistics;
+import org.ojalgo.type.management.MBeanUtils;
+
+/**
+ * A concurrent, loading, cache.
+ * <ul>
+ * <li>Reads of valid (cached) values never block – they're plain {@link ConcurrentHashMap} lookups.
+ * <li>Single-flight loading: When a value needs to be loaded, only 1 thread calls the loader. Any other
+ * thread asking for the same key, at the same time, waits for that result.
+ * <li>Values expire a fixed time after they were loaded (TTL). Optionally they can be refreshed ahead of
+ * expiring. Then the current value is returned while a new value is loaded in the background.
+ * <li>The total size of the cache can be bounded by weight – by default the (shallow) memory size estimated
+ * using {@link MemoryEstimator}. When the limit is exceeded the least recently accessed entries are evicted.
+ * <li>Hit/miss/load statistics are always collected, and can be exposed as an MBean.
+ * </ul>
+ * There are no timer threads. Expired entries are removed whenever a value is loaded (at most once per
+ * expiry period) or when {@link #cleanUp()} is called.
+ *
+ * @author apete
+ */
+public final class ConcurrentCache<K, V> {
+
+    public static final class Builder<K, V> {
+
+        private Executor myExecutor = DaemonPoolExecutor::invoke;
+        private long myExpireAfterWrite = Long.MAX_VALUE;
+        private final Function<? super K, ? extends V> myLoader;
+        private String myManagedName = null;
+        private long myMaximumWeight = Long.MAX_VALUE;
+        private long myRefreshAfterWrite = Long.MAX_VALUE;
+        private BiFunction<? super K, ? super V, ? extends V> myReloader = null;
+        private ToLongFunction<? super V> myWeigher = ConcurrentCache::estimateShallowSize;
+
+        Builder(final Function<? super K, ? extends V> loader) {
+            super();
+            myLoader = loader;
+        }
+
+        public ConcurrentCache<K, V> build() {
+            return new ConcurrentCache<>(this);
+        }
+
+        /**
+         * The executor used to refresh values ahead of expiring. The default is to use ojAlgo's daemon
+         * thread pool.
+         */
+        public Builder<K, V> executor(final Executor executor) {
+            myExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Values expire (are reloaded) this long after they were loaded.
+         */
+        public Builder<K, V> expireAfterWrite(final long measure, final CalendarDateUnit unit) {
+            myExpireAfterWrite = Math.multiplyExact(measure, unit.toDurationInNanos());
+            return this;
+        }
+
+        /**
+         * Register the statistics as an MBean with the platform MBean server.
+         */
+        public Builder<K, V> managed(final String name) {
+            myManagedName = name;
+            return this;
+        }
+
+        /**
+         * The maximum total weight of all cached values. With the default weigher that is (an estimate of)
+         * the number of bytes.
+         */
+        public Builder<K, V> maximumWeight(final long maximumWeight) {
+            myMaximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Values that are accessed more than this long after they were loaded, but before they've expired,
+         * are reloaded in the background. Until that's done the current value is returned.
+         */
+        public Builder<K, V> refreshAfterWrite(final long measure, final CalendarDateUnit unit) {
+            myRefreshAfterWrite = Math.multiplyExact(measure, unit.toDurationInNanos());
+            return this;
+        }
+
+        /**
+         * When there is a previous value (refreshing or reloading an expired value) this function is used
+         * rather than the loader. Useful if the new value can be derived incrementally from the old.
+         */
+        public Builder<K, V> reloader(final BiFunction<? super K, ? super V, ? extends V> reloader) {
+            myReloader = reloader;
+            return this;
+        }
+
+        /**
+         * How to weigh the values. The default is the shallow memory size estimated by
+         * {@link MemoryEstimator}.
+         */
+        public Builder<K, V> weigher(final ToLongFunction<? super V> weigher) {
+            myWeigher = weigher;
+            return this;
+        }
+
+    }
+
+    static final class Node<V> {
+
+        volatile long accessed;
+        volatile long loaded;
+        final AtomicReference<CompletableFuture<V>> loading = new AtomicReference<>();
+        boolean removed = false;
+        volatile V value = null;
+        long weight = 0L;
+
+    }
+
+    private static final ClassValue<Long> SHALLOW_SIZE = new ClassValue<>() {
+
+        @Override
+        protected Long computeValue(final Class<?> type) {
+            return Long.valueOf(MemoryEstimator.estimateObject(type));
+        }
+
+    };
+
+    public static <K, V> ConcurrentCache.Builder<K, V> newBuilder(final Function<? super K, ? extends V> loader) {
+        return new ConcurrentCache.Builder<>(loader);
+    }
+
+    static long estimateShallowSize(final Object value) {
+        return SHALLOW_SIZE.get(value.getClass()).longValue();
+    }
+
+    private static <V> V join(final CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException wrapper) {
+            Throwable cause = wrapper.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw wrapper;
+            }
+        }
+    }
+
+    private final ReentrantLock myCleanUpLock = new ReentrantLock();
+    private final Executor myExecutor;
+    private final long myExpireAfterWrite;
+    private volatile long myLastSweep = System.nanoTime();
+    private final Function<? super K, ? extends V> myLoader;
+    private final ConcurrentHashMap<K, Node<V>> myMap = new ConcurrentHashMap<>();
+    private final long myMaximumWeight;
+    private final long myRefreshAfterWrite;
+    private final BiFunction<? super K, ? super V, ? extends V> myReloader;
+    private final CacheStatistics myStatistics;
+    private final ToLongFunction<? super V> myWeigher;
+    private final AtomicLong myWeight = new AtomicLong();
+
+    ConcurrentCache(final Builder<K, V> builder) {
+
+        super();
+
+        myLoader = builder.myLoader;
+        myReloader = builder.myReloader;
+        myExecutor = builder.myExecutor;
+        myExpireAfterWrite = builder.myExpireAfterWrite;
+        myRefreshAfterWrite = builder.myRefreshAfterWrite;
+        myMaximumWeight = builder.myMaximumWeight;
+        myWeigher = builder.myWeigher;
+
+        myStatistics = new CacheStatistics(this::size, this::weight);
+        if (builder.myManagedName != null) {
+            MBeanUtils.register(myStatistics, builder.myManagedName);
+        }
+    }
+
+    /**
+     * Removes all expired entries, and if the total weight exceeds the limit, evicts the least recently
+     * accessed entries. This is done automatically as needed when values are loaded, but can also be called
+     * explicitly.
+     */
+    public void cleanUp() {
+
+        myCleanUpLock.lock();
+        try {
+            this.doCleanUp(System.nanoTime());
+        } finally {
+            myCleanUpLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached value if there is a valid one. Otherwise the value is loaded (blocking), or if it
+     * is already being loaded by some other thread, waits for that to finish.
+     */
+    public V get(final K key) {
+
+        long now = System.nanoTime();
+
+        Node<V> node = myMap.get(key);
+
+        if (node != null) {
+            V value = node.value;
+            long age = now - node.loaded;
+            if (value != null && age < myExpireAfterWrite) {
+                node.accessed = now;
+                myStatistics.recordHit();
+                if (age >= myRefreshAfterWrite) {
+                    this.refresh(key, node);
+                }
+                return value;
+            }
+        } else {
+            node = myMap.computeIfAbsent(key, k -> new Node<>());
+        }
+
+        myStatistics.recordMiss();
+
+        return this.load(key, node);
+    }
+
+    /**
+     * @return The cached value, if there is a valid one, otherwise null. Never loads anything.
+     */
+    public V getIfPresent(final K key) {
+
+        Node<V> node = myMap.get(key);
+
+        if (node != null) {
+            V value = node.value;
+            if (value != null && System.nanoTime() - node.loaded < myExpireAfterWrite) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    public CacheStatistics getStatistics() {
+        return myStatistics;
+    }
+
+    public void invalidate(final K key) {
+        Node<V> node = myMap.remove(key);
+        if (node != null) {
+            this.removed(node);
+        }
+    }
+
+    public void invalidateAll() {
+        for (K key : myMap.keySet()) {
+            this.invalidate(key);
+        }
+    }
+
+    /**
+     * The number of entries, including those that are being loaded and those that have expired but not yet
+     * been removed.
+     */
+    public long size() {
+        return myMap.mappingCount();
+    }
+
+    /**
+     * The total weight of the cached values
+     */
+    public long weight() {
+        return myWeight.get();
+    }
+
+    private void doCleanUp(final long now) {
+
+        myLastSweep = now;
+
+        List<Entry<K, Node<V>>> candidates = new ArrayList<>();
+
+        for (Entry<K, Node<V>> entry : myMap.entrySet()) {
+            Node<V> node = entry.getValue();
+            if (node.loading.get() != null) {
+                continue;
+            }
+            if (node.value == null || now - node.loaded >= myExpireAfterWrite) {
+                if (myMap.remove(entry.getKey(), node)) {
+                    this.removed(node);
+                }
+            } else {
+                candidates.add(entry);
+            }
+        }
+
+        if (myWeight.get() > myMaximumWeight) {
+
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().accessed));
+
+            for (int i = 0, limit = candidates.size(); i < limit && myWeight.get() > myMaximumWeight; i++) {
+                Entry<K, Node<V>> entry = candidates.get(i);
+                Node<V> node = entry.getValue();
+                if (myMap.remove(entry.getKey(), node)) {
+                    this.removed(node);
+                    myStatistics.recordEviction();
+                }
+            }
+        }
+    }
+
+    private V doLoad(final K key, final Node<V> node) {
+
+        long start = System.nanoTime();
+
+        V previous = node.value;
+
+        V value;
+        try {
+            value = previous != null && myReloader != null ? myReloader.apply(key, previous) : myLoader.apply(key);
+            ProgrammingError.throwIfNull(value);
+        } catch (RuntimeException cause) {
+            myStatistics.recordLoad(System.nanoTime() - start, false);
+            throw cause;
+        }
+
+        long done = System.nanoTime();
+        myStatistics.recordLoad(done - start, true);
+
+        long weight = myWeigher.applyAsLong(value);
+
+        synchronized (node) {
+            node.value = value;
+            node.loaded = done;
+            node.accessed = done;
+            if (!node.removed) {
+                myWeight.addAndGet(weight - node.weight);
+            }
+            node.weight = weight;
+        }
+
+        if ((myWeight.get() > myMaximumWeight || done - myLastSweep >= myExpireAfterWrite) && myCleanUpLock.tryLock()) {
+            try {
+                this.doCleanUp(done);
+            } finally {
+                myCleanUpLock.unlock();
+            }
+        }
+
+        return value;
+    }
+
+    private V load(final K key, final Node<V> node) {
+
+        for (;;) {
+
+            CompletableFuture<V> pending = node.loading.get();
+            if (pending != null) {
+                return ConcurrentCache.join(pending);
+            }
+
+            V value = node.value;
+            if (value != null && System.nanoTime() - node.loaded < myExpireAfterWrite) {
+                // Someone else just finished loading it
+                return value;
+            }
+
+            CompletableFuture<V> future = new CompletableFuture<>();
+            if (node.loading.compareAndSet(null, future)) {
+                try {
+                    value = this.doLoad(key, node);
+                    node.loading.set(null);
+                    future.complete(value);
+                    return value;
+                } catch (RuntimeException cause) {
+                    node.loading.set(null);
+                    future.completeExceptionally(cause);
+                    throw cause;
+                }
+            }
+        }
+    }
+
+    private void refresh(final K key, final Node<V> node) {
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+
+        if (node.loading.compareAndSet(null, future)) {
+
+            myStatistics.recordRefresh();
+
+            try {
+                myExecutor.execute(() -> {
+                    try {
+                        V value = this.doLoad(key, node);
+                        node.loading.set(null);
+                        future.complete(value);
+                    } catch (RuntimeException cause) {
+                        node.loading.set(null);
+                        future.completeExceptionally(cause);
+                        BasicLogger.error(cause, "Failed to refresh cached value for {}!", key);
+                    }
+                });
+            } catch (RejectedExecutionException cause) {
+                // Keep the current value, and try again next time
+                node.loading.set(null);
+                future.complete(node.value);
+            }
+        }
+    }
+
+    private void removed(final Node<V> node) {
+        synchronized (node) {
+            if (!node.removed) {
+                node.removed = true;
+                myWeight.addAndGet(-node.weight);
+            }
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ package org.ojalgo.type;
 
 import java.lang.ref.Cleaner;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 
 import sun.misc.Unsafe;
 
@@ -166,6 +167,26 @@ public abstract class NativeMemory {
         NativeMemory.fillShortArray(basePointer, count, ZERO_SHORT);
     }
 
+    /**
+     * Register an action that frees the memory when the owner becomes phantom reachable. The returned
+     * {@link Cleaner.Cleanable} can be used to free the memory explicitly, and immediately. Either way it is
+     * only freed once.
+     */
+    public static Cleaner.Cleanable register(final Object owner, final long pointer) {
+        return CLEANER.register(owner, () -> UNSAFE.freeMemory(pointer));
+    }
+
+    /**
+     * Explicitly releases (unmaps) a direct or memory mapped {@link ByteBuffer} rather than waiting for it to
+     * be garbage collected. The buffer, and any views of it, must not be accessed after this call. Only the
+     * buffer originally returned by the allocation/mapping can be released – not slices or duplicates.
+     */
+    public static void release(final ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect()) {
+            UNSAFE.invokeCleaner(buffer);
+        }
+    }
+
     public static void setByte(final long basePointer, final long index, final byte value) {
         UNSAFE.putByte(basePointer + SIZE_BYTE * index, value);
     }
@@ -190,11 +211,16 @@ public abstract class NativeMemory {
         UNSAFE.putShort(basePointer + SIZE_SHORT * index, value);
     }
 
+    /**
+     * If the owner is null the memory is not freed automatically – use {@link #register(Object, long)}.
+     */
     static long allocate(final Object owner, final long bytes) {
 
         final long pointer = UNSAFE.allocateMemory(bytes);
 
-        CLEANER.register(owner, () -> UNSAFE.freeMemory(pointer));
+        if (owner != null) {
+            NativeMemory.register(owner, pointer);
+        }
 
         return pointer;
     }
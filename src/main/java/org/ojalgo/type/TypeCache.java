@@ -21,32 +21,23 @@
  */
 package org.ojalgo.type;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
+/**
+ * Caches a single object. It is recreated when it's been cached longer than the purge interval, or when
+ * explicitly made dirty. Implemented using a {@link ConcurrentCache} – concurrent readers of a valid cached
+ * object don't block each other.
+ */
 public abstract class TypeCache<T> {
 
-    private static final Timer TIMER = new Timer("TypeCache-Daemon", true);
-    private transient volatile T myCachedObject;
+    private static final Boolean KEY = Boolean.TRUE;
 
+    private final ConcurrentCache<Boolean, T> myCache;
     private volatile boolean myDirty;
 
     public TypeCache(final long aPurgeIntervalMeassure, final CalendarDateUnit aPurgeIntervalUnit) {
 
         super();
 
-        TIMER.schedule(new TimerTask() {
-
-            @Override
-            public void run() {
-                if (TypeCache.this.isDirty()) {
-                    TypeCache.this.flushCache();
-                } else {
-                    TypeCache.this.makeDirty();
-                }
-            }
-
-        }, 0L, aPurgeIntervalMeassure * aPurgeIntervalUnit.toDurationInMillis());
+        myCache = ConcurrentCache.<Boolean, T> newBuilder(key -> this.recreateCache()).expireAfterWrite(aPurgeIntervalMeassure, aPurgeIntervalUnit).build();
     }
 
     @SuppressWarnings("unused")
@@ -54,31 +45,29 @@ public abstract class TypeCache<T> {
         this(8L, CalendarDateUnit.HOUR);
     }
 
-    public synchronized final void flushCache() {
-        myCachedObject = null;
+    public final void flushCache() {
+        myCache.invalidate(KEY);
     }
 
-    public synchronized final T getCachedObject() {
-
-        if ((myCachedObject == null) || myDirty) {
-
-            myCachedObject = this.recreateCache();
+    public final T getCachedObject() {
 
+        if (myDirty) {
             myDirty = false;
+            myCache.invalidate(KEY);
         }
 
-        return myCachedObject;
+        return myCache.get(KEY);
     }
 
-    public synchronized final boolean isCacheSet() {
-        return myCachedObject != null;
+    public final boolean isCacheSet() {
+        return myCache.getIfPresent(KEY) != null;
     }
 
-    public synchronized final boolean isDirty() {
+    public final boolean isDirty() {
         return myDirty;
     }
 
-    public synchronized final void makeDirty() {
+    public final void makeDirty() {
         myDirty = true;
     }
 
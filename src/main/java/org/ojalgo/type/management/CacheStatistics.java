@@ -0,0 +1,125 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public final class CacheStatistics implements CacheStatisticsMBean {
+
+    private static final double MILLIS = 1E6;
+
+    private final LongAdder myEvictions = new LongAdder();
+    private final LongAdder myHits = new LongAdder();
+    private long myLastHits = 0L;
+    private long myLastMisses = 0L;
+    private final LongAdder myLoadFailures = new LongAdder();
+    private final LongAdder myLoads = new LongAdder();
+    private final LongAdder myLoadTime = new LongAdder();
+    private final LongAdder myMisses = new LongAdder();
+    private final LongAdder myRefreshes = new LongAdder();
+    private final LongSupplier mySize;
+    private final LongSupplier myWeight;
+
+    public CacheStatistics(final LongSupplier size, final LongSupplier weight) {
+        super();
+        mySize = size;
+        myWeight = weight;
+    }
+
+    public double getAverageLoadTime() {
+        long loads = myLoads.sum();
+        return loads > 0L ? myLoadTime.sum() / MILLIS / loads : 0.0;
+    }
+
+    public long getEvictionCount() {
+        return myEvictions.sum();
+    }
+
+    public long getHitCount() {
+        return myHits.sum();
+    }
+
+    public double getHitRate() {
+
+        long currentHits = myHits.sum();
+        long currentMisses = myMisses.sum();
+
+        long hits = currentHits - myLastHits;
+        long lookups = hits + currentMisses - myLastMisses;
+
+        myLastHits = currentHits;
+        myLastMisses = currentMisses;
+
+        return lookups > 0L ? (double) hits / lookups : 0.0;
+    }
+
+    public long getLoadFailureCount() {
+        return myLoadFailures.sum();
+    }
+
+    public long getMissCount() {
+        return myMisses.sum();
+    }
+
+    public long getRefreshCount() {
+        return myRefreshes.sum();
+    }
+
+    public long getSize() {
+        return mySize.getAsLong();
+    }
+
+    public long getWeight() {
+        return myWeight.getAsLong();
+    }
+
+    public void recordEviction() {
+        myEvictions.increment();
+    }
+
+    public void recordHit() {
+        myHits.increment();
+    }
+
+    /**
+     * @param nanos The time it took (nanoseconds)
+     * @param success Did the load succeed or fail (throw an exception)
+     */
+    public void recordLoad(final long nanos, final boolean success) {
+        if (success) {
+            myLoads.increment();
+            myLoadTime.add(nanos);
+        } else {
+            myLoadFailures.increment();
+        }
+    }
+
+    public void recordMiss() {
+        myMisses.increment();
+    }
+
+    public void recordRefresh() {
+        myRefreshes.increment();
+    }
+
+}
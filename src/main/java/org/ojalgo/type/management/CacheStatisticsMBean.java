@@ -0,0 +1,71 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.type.management;
+
+public interface CacheStatisticsMBean {
+
+    /**
+     * The average time (milliseconds) it took to load (or reload) a value.
+     */
+    double getAverageLoadTime();
+
+    /**
+     * The number of entries removed because the cache grew too large (weight limit exceeded).
+     */
+    long getEvictionCount();
+
+    /**
+     * The number of lookups that found a valid value in the cache.
+     */
+    long getHitCount();
+
+    /**
+     * The fraction of lookups that were hits – since the previous call to this method.
+     */
+    double getHitRate();
+
+    /**
+     * The number of times the loader threw an exception.
+     */
+    long getLoadFailureCount();
+
+    /**
+     * The number of lookups that had to wait for a value to be loaded.
+     */
+    long getMissCount();
+
+    /**
+     * The number of values that were reloaded in the background, ahead of expiring.
+     */
+    long getRefreshCount();
+
+    /**
+     * The, current, number of entries in the cache.
+     */
+    long getSize();
+
+    /**
+     * The, current, total (estimated) weight of the cached values – typically bytes.
+     */
+    long getWeight();
+
+}
@@ -25,6 +25,7 @@ import java.io.File;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.ojalgo.ProgrammingError;
 import org.ojalgo.TestUtils;
 import org.ojalgo.random.Uniform;
 
@@ -56,6 +57,19 @@ public class BufferArrayTest extends ArrayTests {
     @TempDir
     public File tempDir;
 
+    @Test
+    public void testMappedSegmentsEmpty() {
+
+        File file = new File(tempDir, "MMS0");
+
+        try {
+            BufferArray.R064.newMapped(file).makeSegmented(0L, 10);
+            TestUtils.fail("Should not be possible to map zero elements!");
+        } catch (ProgrammingError expected) {
+            // Expected
+        }
+    }
+
     @Test
     public void testRandomGetSet() {
 
@@ -67,6 +81,45 @@ public class BufferArrayTest extends ArrayTests {
         BufferArrayTest.doTest(array, size);
     }
 
+    @Test
+    public void testMappedSegments() {
+
+        File file = new File(tempDir, "MMS");
+
+        int size = 5000;
+
+        try (MappedSegmentedArray array = BufferArray.R064.newMapped(file).makeSegmented(size, 10)) {
+
+            TestUtils.assertEquals(5, array.getNumberOfSegments());
+
+            BufferArrayTest.doTest(array, size);
+
+            for (int i = 0; i < size; i++) {
+                array.set(i, i);
+            }
+            array.load(0L, size);
+            array.force();
+        }
+
+        TestUtils.assertEquals(size * 8L, file.length());
+
+        // Reopen with different segment size and verify the contents was persisted and correctly addressed
+        try (MappedSegmentedArray array = BufferArray.R064.newMapped(file).makeSegmented(size, 11)) {
+            TestUtils.assertEquals(3, array.getNumberOfSegments());
+            for (int i = 0; i < size; i++) {
+                TestUtils.assertEquals(i, array.doubleValue(i));
+            }
+        }
+
+        try (MappedSegmentedArray array = BufferArray.R064.newMapped(file).makeSegmented(size)) {
+            TestUtils.assertEquals(1, array.getNumberOfSegments());
+            TestUtils.assertEquals(size, array.count());
+            TestUtils.assertEquals(size - 1, array.doubleValue(size - 1));
+            array.close();
+            TestUtils.assertTrue(array.isClosed());
+        }
+    }
+
     @Test
     public void testRandomGetSetOnMappedFile() {
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.data.domain.finance.portfolio;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.MatrixR064;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+public class EfficientFrontierTest extends FinancePortfolioTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(6, 5);
+
+    /**
+     * The frontier calculated in one go should be the same as when the risk aversion factors are set one at a
+     * time.
+     */
+    private static void doTestSweep(final boolean shortingAllowed) {
+
+        int n = 20;
+
+        Primitive64Store samples = Primitive64Store.FACTORY.makeFilled(3 * n, n, new Uniform(-0.1, 0.2));
+        MatrixR064 covariances = MatrixR064.FACTORY.copy(samples.transpose().multiply(samples).divide(3 * n));
+        MatrixR064 returns = MatrixR064.FACTORY.copy(Primitive64Store.FACTORY.makeFilled(n, 1, new Uniform(0.0, 0.1)));
+
+        EfficientFrontier frontier = new EfficientFrontier(covariances, returns);
+        frontier.setShortingAllowed(shortingAllowed);
+
+        double[] riskAversions = { 1000.0, 0.5, 10.0, 2.0, 100.0, 5.0, 1.0, 50.0, 20.0, 200.0, 3.0 };
+
+        List<MatrixR064> sweep = frontier.sweep(riskAversions);
+
+        TestUtils.assertEquals(riskAversions.length, sweep.size());
+
+        for (int i = 0; i < riskAversions.length; i++) {
+            frontier.setRiskAversion(riskAversions[i]);
+            TestUtils.assertEquals(frontier.getAssetWeights(), sweep.get(i), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testSweepLongOnly() {
+        EfficientFrontierTest.doTestSweep(false);
+    }
+
+    @Test
+    public void testSweepShortingAllowed() {
+        EfficientFrontierTest.doTestSweep(true);
+    }
+
+}
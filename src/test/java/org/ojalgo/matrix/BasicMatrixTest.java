@@ -31,6 +31,7 @@ import org.ojalgo.function.UnaryFunction;
 import org.ojalgo.function.aggregator.Aggregator;
 import org.ojalgo.function.constant.PrimitiveMath;
 import org.ojalgo.matrix.decomposition.Eigenvalue.Eigenpair;
+import org.ojalgo.matrix.store.StorePool;
 import org.ojalgo.random.Uniform;
 import org.ojalgo.scalar.Scalar;
 import org.ojalgo.structure.Access2D.ColumnView;
@@ -473,6 +474,56 @@ public abstract class BasicMatrixTest extends MatrixTests {
         }
     }
 
+    /**
+     * The fluent in-place operations of the mutable copy, within a {@link StorePool} scope, should give the
+     * same results as the corresponding immutable operations.
+     */
+    @Test
+    public void testInPlaceInScope() {
+
+        BasicMatrix expected = mtrxA.subtract(mtrxSafe).multiply(scalar).add(1.0).negate().multiply(mtrxX).transpose().divide(2.0);
+
+        for (MatrixFactory factory : BasicMatrixTest.factories()) {
+
+            BasicMatrix tmpA = factory.copy(mtrxA);
+            BasicMatrix tmpSafe = factory.copy(mtrxSafe);
+            BasicMatrix tmpX = factory.copy(mtrxX);
+
+            StorePool pool = StorePool.of(factory.getPhysicalFactory());
+
+            try (StorePool.Scope outer = pool.newScope()) {
+
+                for (int iteration = 0; iteration < 3; iteration++) {
+
+                    BasicMatrix actual;
+
+                    try (StorePool.Scope scope = pool.newScope()) {
+                        DenseMutator2D mutator = tmpA.copy();
+                        mutator.subtract(tmpSafe).multiply(scalar).add(1.0).negate();
+                        actual = mutator.multiply(tmpX).transpose().divide(2.0).get();
+                    }
+
+                    // Still valid after the scope is closed
+                    TestUtils.assertEquals(expected, actual, ACCURACY);
+                }
+
+                // Everything else returned, and reused
+                TestUtils.assertTrue(pool.countFree() > 0);
+                try (StorePool.Scope scope = pool.newScope()) {
+                    tmpA.copy().multiply(tmpX).transpose();
+                }
+                int free = pool.countFree();
+                try (StorePool.Scope scope = pool.newScope()) {
+                    tmpA.copy().multiply(tmpX).transpose();
+                }
+                TestUtils.assertEquals(free, pool.countFree());
+            }
+
+            // Nothing retained after the outermost scope is closed
+            TestUtils.assertEquals(0, pool.countFree());
+        }
+    }
+
     /**
      * @see org.ojalgo.matrix.BasicMatrix#invert()
      */
@@ -724,6 +775,26 @@ public abstract class BasicMatrixTest extends MatrixTests {
         }
     }
 
+    /**
+     * @see org.ojalgo.matrix.BasicMatrix#multiply(BasicMatrix, BasicMatrix...)
+     */
+    @Test
+    public void testMultiplyMatrixChain() {
+
+        BasicMatrix expected = mtrxA.multiply(mtrxX).multiply(mtrxX.transpose()).multiply(mtrxA.transpose());
+
+        BasicMatrix actual;
+        for (MatrixFactory factory : BasicMatrixTest.factories()) {
+
+            BasicMatrix tmpA = factory.copy(mtrxA);
+            BasicMatrix tmpX = factory.copy(mtrxX);
+
+            actual = tmpA.multiply(tmpX, tmpX.transpose(), tmpA.transpose());
+
+            TestUtils.assertEquals(expected, actual, ACCURACY);
+        }
+    }
+
     /**
      * @see org.ojalgo.matrix.BasicMatrix#multiply(java.lang.Number)
      */
@@ -0,0 +1,194 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.TestUtils;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+public class BandedStoreTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(10);
+    private static final int DIM = 200;
+    private static final int NB_COLS = 20;
+
+    /**
+     * [I] + λ[D]<sup>T</sup>[D], with [D] the second order difference matrix – the (pentadiagonal) system
+     * solved when smoothing a time series (Whittaker/Hodrick-Prescott).
+     */
+    static BandedStore makeSmoother(final int dim, final double lambda) {
+
+        BandedStore retVal = BandedStore.make(dim, 2, 2);
+
+        for (int r = 0; r + 2 < dim; r++) {
+            double[] coefficients = { 1.0, -2.0, 1.0 };
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 3; j++) {
+                    retVal.add(r + i, r + j, lambda * coefficients[i] * coefficients[j]);
+                }
+            }
+        }
+        for (int i = 0; i < dim; i++) {
+            retVal.add(i, i, 1.0);
+        }
+
+        return retVal;
+    }
+
+    static BandedStore makeRandom(final int dim, final int lowerBandwidth, final int upperBandwidth) {
+        return BandedStore.copy(Primitive64Store.FACTORY.makeFilled(dim, dim, Uniform.standard()), lowerBandwidth, upperBandwidth);
+    }
+
+    @Test
+    public void testBlockDiagonal() {
+
+        MatrixStore<Double> dense = Primitive64Store.FACTORY.makeSPD(7);
+        BandedStore banded = BandedStoreTest.makeSmoother(40, 100.0);
+        PackedSymmetricStore packed = PackedSymmetricStore.copy(Primitive64Store.FACTORY.makeSPD(11));
+        BandedStore empty = BandedStore.make(0, 1, 1);
+
+        BlockDiagonalStore block = BlockDiagonalStore.of(dense, empty, banded, packed);
+
+        TestUtils.assertEquals(4, block.countBlocks());
+        TestUtils.assertEquals(58, block.countRows());
+        TestUtils.assertEquals(0.0, block.doubleValue(3, 20));
+        TestUtils.assertEquals(banded.doubleValue(1, 0), block.doubleValue(8, 7));
+        TestUtils.assertEquals(7, block.firstInColumn(10));
+        TestUtils.assertEquals(47, block.limitOfRow(10));
+
+        Primitive64Store expected = Primitive64Store.FACTORY.copy(block);
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(58, 3, Uniform.standard());
+
+        TestUtils.assertEquals(expected.multiply(rhs), block.multiply(rhs), ACCURACY);
+
+        Optional<Primitive64Store> solution = block.solve(rhs);
+        TestUtils.assertTrue(solution.isPresent());
+        TestUtils.assertEquals(rhs, expected.multiply(solution.get()), ACCURACY);
+
+        for (int j = 0; j < 11; j++) {
+            packed.set(j, 0, 0.0);
+        }
+        TestUtils.assertFalse(block.solve(rhs).isPresent());
+
+        try {
+            BlockDiagonalStore.of();
+            TestUtils.fail("Should not be possible to make a block diagonal store without blocks!");
+        } catch (ProgrammingError cause) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testCholesky() {
+
+        BandedStore smoother = BandedStoreTest.makeSmoother(DIM, 1600.0);
+        Primitive64Store dense = Primitive64Store.FACTORY.copy(smoother);
+
+        Optional<BandedStore> optional = smoother.cholesky();
+        TestUtils.assertTrue(optional.isPresent());
+        BandedStore factor = optional.get();
+
+        TestUtils.assertEquals(2, factor.getLowerBandwidth());
+        TestUtils.assertEquals(0, factor.getUpperBandwidth());
+        TestUtils.assertEquals(dense, factor.multiply(factor.transpose()), ACCURACY);
+
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(DIM, NB_COLS, Uniform.standard());
+        Primitive64Store solution = Primitive64Store.FACTORY.copy(rhs);
+        factor.substitute(solution, false);
+        factor.substitute(solution, true);
+
+        TestUtils.assertEquals(rhs, dense.multiply(solution), ACCURACY);
+
+        smoother.set(DIM / 2, DIM / 2, -1.0);
+        TestUtils.assertFalse(smoother.cholesky().isPresent());
+    }
+
+    @Test
+    public void testMultiply() {
+
+        Primitive64Store right = Primitive64Store.FACTORY.makeFilled(DIM, NB_COLS + 1, Uniform.standard());
+
+        for (int[] bandwidths : new int[][] { { 0, 0 }, { 3, 0 }, { 0, 2 }, { 3, 2 }, { DIM, DIM } }) {
+
+            BandedStore banded = BandedStoreTest.makeRandom(DIM, bandwidths[0], bandwidths[1]);
+            Primitive64Store dense = Primitive64Store.FACTORY.copy(banded);
+
+            TestUtils.assertEquals(dense.multiply(right), banded.multiply(right), ACCURACY);
+            TestUtils.assertEquals(dense.multiply(right.column(1)), banded.multiply(right.column(1)), ACCURACY);
+        }
+
+        BandedStore banded = BandedStore.make(5, 1, 0);
+        try {
+            banded.set(0, 1, 1.0);
+            TestUtils.fail("Should not be possible to set elements outside the band!");
+        } catch (ProgrammingError expected) {
+            // Expected
+        }
+        banded.set(1, 0, 1.0);
+        TestUtils.assertEquals(1.0, banded.doubleValue(1, 0));
+        TestUtils.assertEquals(0.0, banded.doubleValue(3, 0));
+    }
+
+    @Test
+    public void testSolve() {
+
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(DIM, NB_COLS + 1, Uniform.standard());
+
+        for (int[] bandwidths : new int[][] { { 0, 0 }, { 3, 0 }, { 0, 2 }, { 1, 1 }, { 3, 2 }, { 2, 5 } }) {
+
+            BandedStore banded = BandedStoreTest.makeRandom(DIM, bandwidths[0], bandwidths[1]);
+            for (int i = 0; i < DIM; i++) {
+                banded.add(i, i, 2.0);
+            }
+            Primitive64Store dense = Primitive64Store.FACTORY.copy(banded);
+
+            Optional<Primitive64Store> solution = banded.solve(rhs);
+            TestUtils.assertTrue(solution.isPresent());
+            TestUtils.assertEquals(rhs, dense.multiply(solution.get()), ACCURACY);
+
+            if (bandwidths[0] == 0 || bandwidths[1] == 0) {
+                Primitive64Store transposed = Primitive64Store.FACTORY.copy(rhs);
+                banded.substitute(transposed, true);
+                TestUtils.assertEquals(rhs, dense.transpose().multiply(transposed), ACCURACY);
+            }
+        }
+
+        // Zero diagonal – requires pivoting
+        BandedStore tridiagonal = BandedStore.make(DIM, 1, 1);
+        for (int i = 1; i < DIM; i++) {
+            tridiagonal.set(i, i - 1, 1.0);
+            tridiagonal.set(i - 1, i, 1.0);
+        }
+        Optional<Primitive64Store> solution = tridiagonal.solve(rhs);
+        TestUtils.assertTrue(solution.isPresent());
+        TestUtils.assertEquals(rhs, Primitive64Store.FACTORY.copy(tridiagonal).multiply(solution.get()), ACCURACY);
+
+        tridiagonal.set(1, 0, 0.0);
+        tridiagonal.set(0, 1, 0.0);
+        TestUtils.assertFalse(tridiagonal.solve(rhs).isPresent());
+    }
+
+}
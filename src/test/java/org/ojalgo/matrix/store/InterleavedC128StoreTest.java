@@ -0,0 +1,174 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.LU;
+import org.ojalgo.matrix.decomposition.QR;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.type.context.NumberContext;
+
+public class InterleavedC128StoreTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(12);
+
+    private static GenericStore<ComplexNumber> newRandom(final Random random, final int rows, final int columns) {
+        GenericStore<ComplexNumber> retVal = GenericStore.C128.make(rows, columns);
+        for (int j = 0; j < columns; j++) {
+            for (int i = 0; i < rows; i++) {
+                retVal.set(i, j, ComplexNumber.of(random.nextGaussian(), random.nextGaussian()));
+            }
+        }
+        return retVal;
+    }
+
+    public InterleavedC128StoreTest() {
+        super();
+    }
+
+    @Test
+    public void testCholeskySolve() {
+
+        Random random = new Random(123L);
+        int dim = 9;
+
+        GenericStore<ComplexNumber> base = InterleavedC128StoreTest.newRandom(random, dim, dim);
+        MatrixStore<ComplexNumber> hermitian = base.conjugate().multiply(base).add(GenericStore.C128.makeEye(dim, dim).multiply(dim));
+        InterleavedC128Store body = InterleavedC128Store.FACTORY.copy(hermitian);
+        InterleavedC128Store rhs = InterleavedC128Store.FACTORY.copy(InterleavedC128StoreTest.newRandom(random, dim, 2));
+
+        Cholesky<ComplexNumber> decomposition = Cholesky.C128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+        TestUtils.assertTrue(decomposition.isSPD());
+
+        MatrixStore<ComplexNumber> solution = decomposition.getSolution(rhs);
+
+        TestUtils.assertEquals(rhs, body.multiply(solution), ACCURACY);
+    }
+
+    @Test
+    public void testComplexNumberRoundTrip() {
+
+        InterleavedC128Store store = InterleavedC128Store.FACTORY.make(2, 3);
+
+        ComplexNumber value = ComplexNumber.of(1.5, -2.5);
+        store.set(1, 2, value);
+        store.set(0, 1, 3.0);
+        store.add(0, 1, ComplexNumber.I);
+
+        TestUtils.assertEquals(value, store.get(1, 2));
+        TestUtils.assertEquals(ComplexNumber.of(3.0, 1.0), store.get(0, 1));
+        TestUtils.assertEquals(1.5, store.doubleValue(1, 2));
+
+        TestUtils.assertEquals(1.5, store.data[10]);
+        TestUtils.assertEquals(-2.5, store.data[11]);
+
+        InterleavedC128Store conjugated = InterleavedC128Store.FACTORY.conjugate(store);
+        TestUtils.assertEquals(value.conjugate(), conjugated.get(2, 1));
+        TestUtils.assertEquals(GenericStore.C128.conjugate(store), conjugated);
+
+        InterleavedC128Store transposed = InterleavedC128Store.FACTORY.copy(store.transpose());
+        TestUtils.assertEquals(value, transposed.get(2, 1));
+    }
+
+    @Test
+    public void testLUSolve() {
+
+        Random random = new Random(456L);
+        int dim = 11;
+
+        InterleavedC128Store body = InterleavedC128Store.FACTORY.copy(InterleavedC128StoreTest.newRandom(random, dim, dim));
+        InterleavedC128Store rhs = InterleavedC128Store.FACTORY.copy(InterleavedC128StoreTest.newRandom(random, dim, 3));
+
+        LU<ComplexNumber> decomposition = LU.C128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+
+        MatrixStore<ComplexNumber> solution = decomposition.getSolution(rhs);
+
+        TestUtils.assertEquals(rhs, body.multiply(solution), ACCURACY);
+    }
+
+    @Test
+    public void testMultiply() {
+
+        Random random = new Random(789L);
+
+        int[][] shapes = { { 1, 1, 1 }, { 3, 4, 5 }, { 7, 1, 6 }, { 40, 35, 50 } };
+
+        for (int[] shape : shapes) {
+
+            GenericStore<ComplexNumber> left = InterleavedC128StoreTest.newRandom(random, shape[0], shape[1]);
+            GenericStore<ComplexNumber> right = InterleavedC128StoreTest.newRandom(random, shape[1], shape[2]);
+
+            MatrixStore<ComplexNumber> expected = left.multiply(right);
+
+            InterleavedC128Store interleaved = InterleavedC128Store.FACTORY.copy(left);
+
+            TestUtils.assertEquals(expected, interleaved.multiply(right), ACCURACY);
+            TestUtils.assertEquals(expected, interleaved.multiply(InterleavedC128Store.FACTORY.copy(right)), ACCURACY);
+
+            InterleavedC128Store product = InterleavedC128Store.FACTORY.make(shape[0], shape[2]);
+            product.fillByMultiplying(left, right);
+            TestUtils.assertEquals(expected, product, ACCURACY);
+        }
+    }
+
+    @Test
+    public void testMultiplyBoth() {
+
+        Random random = new Random(321L);
+        int dim = 6;
+
+        GenericStore<ComplexNumber> matrix = InterleavedC128StoreTest.newRandom(random, dim, dim);
+        GenericStore<ComplexNumber> vector = InterleavedC128StoreTest.newRandom(random, dim, 1);
+
+        ComplexNumber expected = matrix.multiplyBoth(vector);
+        ComplexNumber actual = InterleavedC128Store.FACTORY.copy(matrix).multiplyBoth(InterleavedC128Store.FACTORY.copy(vector));
+
+        TestUtils.assertEquals(expected, actual, ACCURACY);
+    }
+
+    @Test
+    public void testQRSolve() {
+
+        Random random = new Random(654L);
+
+        InterleavedC128Store body = InterleavedC128Store.FACTORY.copy(InterleavedC128StoreTest.newRandom(random, 12, 7));
+        InterleavedC128Store rhs = InterleavedC128Store.FACTORY.copy(InterleavedC128StoreTest.newRandom(random, 12, 1));
+
+        QR<ComplexNumber> decomposition = QR.C128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+
+        TestUtils.assertEquals(body, decomposition.getQ().multiply(decomposition.getR()), ACCURACY);
+
+        // Least squares solution – the residual is orthogonal to the columns of the body
+        MatrixStore<ComplexNumber> solution = decomposition.getSolution(rhs);
+        MatrixStore<ComplexNumber> residual = rhs.subtract(body.multiply(solution));
+
+        TestUtils.assertEquals(GenericStore.C128.make(7, 1), body.conjugate().multiply(residual), ACCURACY);
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.LU;
+import org.ojalgo.matrix.decomposition.QR;
+import org.ojalgo.scalar.Quadruple;
+import org.ojalgo.scalar.RationalNumber;
+import org.ojalgo.type.context.NumberContext;
+
+public class InterleavedR128StoreTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(24);
+
+    private static GenericStore<Quadruple> newRandom(final Random random, final int rows, final int columns) {
+        GenericStore<Quadruple> retVal = GenericStore.R128.make(rows, columns);
+        for (int j = 0; j < columns; j++) {
+            for (int i = 0; i < rows; i++) {
+                retVal.set(i, j, Quadruple.valueOf(random.nextGaussian()).divide(Quadruple.valueOf(3.0)));
+            }
+        }
+        return retVal;
+    }
+
+    public InterleavedR128StoreTest() {
+        super();
+    }
+
+    @Test
+    public void testCholeskySolve() {
+
+        Random random = new Random(123L);
+        int dim = 9;
+
+        GenericStore<Quadruple> base = InterleavedR128StoreTest.newRandom(random, dim, dim);
+        MatrixStore<Quadruple> symmetric = base.transpose().multiply(base).add(GenericStore.R128.makeEye(dim, dim).multiply(dim));
+        InterleavedR128Store body = InterleavedR128Store.FACTORY.copy(symmetric);
+        InterleavedR128Store rhs = InterleavedR128Store.FACTORY.copy(InterleavedR128StoreTest.newRandom(random, dim, 2));
+
+        Cholesky<Quadruple> decomposition = Cholesky.R128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+        TestUtils.assertTrue(decomposition.isSPD());
+
+        MatrixStore<Quadruple> solution = decomposition.getSolution(rhs);
+
+        TestUtils.assertEquals(rhs, body.multiply(solution), ACCURACY);
+    }
+
+    /**
+     * The Hilbert matrix of order 10 has condition number ~1.6E13, and the solution elements are of the order
+     * 1E12. Solved in double precision the residual is typically ~1E-4 – in double-double it should be many
+     * orders of magnitude smaller.
+     */
+    @Test
+    public void testHilbertResidual() {
+
+        int dim = 10;
+
+        InterleavedR128Store body = InterleavedR128Store.FACTORY.make(dim, dim);
+        for (int j = 0; j < dim; j++) {
+            for (int i = 0; i < dim; i++) {
+                body.set(i, j, RationalNumber.of(1L, i + j + 1L));
+            }
+        }
+        InterleavedR128Store rhs = InterleavedR128Store.FACTORY.make(dim, 1);
+        rhs.fillAll(Quadruple.ONE);
+
+        LU<Quadruple> decomposition = LU.R128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+
+        MatrixStore<Quadruple> residual = rhs.subtract(body.multiply(decomposition.getSolution(rhs)));
+
+        for (int i = 0; i < dim; i++) {
+            TestUtils.assertTrue(BigDecimal.valueOf(1E-12).compareTo(residual.get(i).toBigDecimal().abs()) > 0);
+        }
+    }
+
+    @Test
+    public void testLUSolve() {
+
+        Random random = new Random(456L);
+        int dim = 11;
+
+        InterleavedR128Store body = InterleavedR128Store.FACTORY.copy(InterleavedR128StoreTest.newRandom(random, dim, dim));
+        InterleavedR128Store rhs = InterleavedR128Store.FACTORY.copy(InterleavedR128StoreTest.newRandom(random, dim, 3));
+
+        LU<Quadruple> decomposition = LU.R128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+
+        MatrixStore<Quadruple> solution = decomposition.getSolution(rhs);
+
+        TestUtils.assertEquals(rhs, body.multiply(solution), ACCURACY);
+    }
+
+    @Test
+    public void testMultiply() {
+
+        Random random = new Random(789L);
+
+        int[][] shapes = { { 1, 1, 1 }, { 3, 4, 5 }, { 7, 1, 6 }, { 40, 35, 50 } };
+
+        for (int[] shape : shapes) {
+
+            GenericStore<Quadruple> left = InterleavedR128StoreTest.newRandom(random, shape[0], shape[1]);
+            GenericStore<Quadruple> right = InterleavedR128StoreTest.newRandom(random, shape[1], shape[2]);
+
+            MatrixStore<Quadruple> expected = left.multiply(right);
+
+            InterleavedR128Store interleaved = InterleavedR128Store.FACTORY.copy(left);
+
+            TestUtils.assertEquals(expected, interleaved.multiply(right), ACCURACY);
+            TestUtils.assertEquals(expected, interleaved.multiply(InterleavedR128Store.FACTORY.copy(right)), ACCURACY);
+
+            InterleavedR128Store product = InterleavedR128Store.FACTORY.make(shape[0], shape[2]);
+            product.fillByMultiplying(left, right);
+            TestUtils.assertEquals(expected, product, ACCURACY);
+        }
+    }
+
+    @Test
+    public void testQRSolve() {
+
+        Random random = new Random(654L);
+
+        InterleavedR128Store body = InterleavedR128Store.FACTORY.copy(InterleavedR128StoreTest.newRandom(random, 12, 7));
+        InterleavedR128Store rhs = InterleavedR128Store.FACTORY.copy(InterleavedR128StoreTest.newRandom(random, 12, 1));
+
+        QR<Quadruple> decomposition = QR.R128_INTERLEAVED.make(body);
+        TestUtils.assertTrue(decomposition.decompose(body));
+
+        TestUtils.assertEquals(body, decomposition.getQ().multiply(decomposition.getR()), ACCURACY);
+
+        // Least squares solution – the residual is orthogonal to the columns of the body
+        MatrixStore<Quadruple> solution = decomposition.getSolution(rhs);
+        MatrixStore<Quadruple> residual = rhs.subtract(body.multiply(solution));
+
+        TestUtils.assertEquals(GenericStore.R128.make(7, 1), body.transpose().multiply(residual), ACCURACY);
+    }
+
+    @Test
+    public void testQuadrupleRoundTrip() {
+
+        InterleavedR128Store store = InterleavedR128Store.FACTORY.make(2, 3);
+
+        Quadruple value = Quadruple.ONE.divide(Quadruple.valueOf(3.0));
+        store.set(1, 2, value);
+        store.set(0, 1, 3.0);
+        store.add(0, 1, value);
+
+        TestUtils.assertEquals(value, store.get(1, 2));
+        TestUtils.assertEquals(value.getBase(), store.data[10]);
+        TestUtils.assertEquals(value.getRemainder(), store.data[11]);
+        TestUtils.assertEquals(Quadruple.valueOf(3.0).add(value), store.get(0, 1));
+
+        InterleavedR128Store transposed = InterleavedR128Store.FACTORY.copy(store.transpose());
+        TestUtils.assertEquals(value, transposed.get(2, 1));
+        TestUtils.assertEquals(GenericStore.R128.transpose(store), transposed);
+    }
+
+}
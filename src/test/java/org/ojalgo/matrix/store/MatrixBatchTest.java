@@ -0,0 +1,113 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.array.DenseArray;
+import org.ojalgo.array.OffHeapArray;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+public class MatrixBatchTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(10);
+    private static final int COUNT = 300;
+
+    static MatrixBatch makeRandom(final DenseArray.Factory<Double> factory, final int count, final int rows, final int columns) {
+        MatrixBatch retVal = MatrixBatch.make(factory, count, rows, columns);
+        for (int m = 0; m < count; m++) {
+            retVal.fill(m, Primitive64Store.FACTORY.makeFilled(rows, columns, Uniform.standard()));
+        }
+        return retVal;
+    }
+
+    @Test
+    public void testMultiply() {
+
+        for (DenseArray.Factory<Double> factory : new DenseArray.Factory[] { Primitive64Store.FACTORY.array(), OffHeapArray.R064 }) {
+            for (int dim : new int[] { 1, 2, 3, 4, 5, 7, 12, 16 }) {
+
+                MatrixBatch left = MatrixBatchTest.makeRandom(factory, COUNT, dim, dim + 1);
+                MatrixBatch right = MatrixBatchTest.makeRandom(factory, COUNT, dim + 1, dim);
+                MatrixBatch shared = MatrixBatchTest.makeRandom(factory, 1, dim + 1, dim);
+
+                MatrixBatch product = MatrixBatch.make(factory, COUNT, dim, dim);
+
+                product.fillByMultiplying(left, right);
+                for (int m = 0; m < COUNT; m++) {
+                    TestUtils.assertEquals(left.toStore(m).multiply(right.toStore(m)), product.toStore(m), ACCURACY);
+                }
+
+                product.fillByMultiplying(left, shared);
+                for (int m = 0; m < COUNT; m++) {
+                    TestUtils.assertEquals(left.toStore(m).multiply(shared.toStore(0)), product.toStore(m), ACCURACY);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSolveAndInvert() {
+
+        for (DenseArray.Factory<Double> factory : new DenseArray.Factory[] { Primitive64Store.FACTORY.array(), OffHeapArray.R064 }) {
+            for (int dim : new int[] { 1, 3, 6, 16 }) {
+
+                MatrixBatch general = MatrixBatchTest.makeRandom(factory, COUNT, dim, dim);
+                MatrixBatch spd = MatrixBatch.make(factory, COUNT, dim, dim);
+                for (int m = 0; m < COUNT; m++) {
+                    spd.fill(m, Primitive64Store.FACTORY.makeSPD(dim));
+                }
+                MatrixBatch rhs = MatrixBatchTest.makeRandom(factory, COUNT, dim, 2);
+
+                MatrixBatch solution = MatrixBatch.make(factory, COUNT, dim, 2);
+                MatrixBatch inverse = MatrixBatch.make(factory, COUNT, dim, dim);
+
+                for (MatrixBatch body : new MatrixBatch[] { general, spd }) {
+
+                    boolean positiveDefinite = body == spd;
+
+                    TestUtils.assertTrue(solution.fillBySolving(body, rhs, positiveDefinite));
+                    TestUtils.assertTrue(inverse.fillByInverting(body, positiveDefinite));
+
+                    for (int m = 0; m < COUNT; m++) {
+                        TestUtils.assertEquals(rhs.toStore(m), body.toStore(m).multiply(solution.toStore(m)), ACCURACY);
+                        TestUtils.assertEquals(Primitive64Store.FACTORY.makeIdentity(dim), body.toStore(m).multiply(inverse.toStore(m)), ACCURACY);
+                    }
+                }
+
+                for (int i = 0; i < dim; i++) {
+                    general.set(7, i, 0, 0.0);
+                    spd.set(7, i, i, -1.0);
+                }
+
+                TestUtils.assertFalse(solution.fillBySolving(general, rhs, false));
+                TestUtils.assertTrue(Double.isNaN(solution.doubleValue(7, 0, 0)));
+                TestUtils.assertFalse(Double.isNaN(solution.doubleValue(8, 0, 0)));
+
+                TestUtils.assertFalse(inverse.fillByInverting(spd, true));
+                TestUtils.assertTrue(Double.isNaN(inverse.doubleValue(7, 0, 0)));
+            }
+        }
+    }
+
+}
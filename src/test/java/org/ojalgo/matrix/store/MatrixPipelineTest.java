@@ -5,9 +5,12 @@ import static org.ojalgo.function.constant.PrimitiveMath.*;
 import org.junit.jupiter.api.Test;
 import org.ojalgo.TestUtils;
 import org.ojalgo.data.DataProcessors;
+import org.ojalgo.function.FunctionSet;
 import org.ojalgo.netio.BasicLogger;
 import org.ojalgo.random.Normal;
 import org.ojalgo.random.Uniform;
+import org.ojalgo.scalar.RationalNumber;
+import org.ojalgo.type.context.NumberContext;
 
 public class MatrixPipelineTest extends MatrixStoreTests {
 
@@ -70,6 +73,52 @@ public class MatrixPipelineTest extends MatrixStoreTests {
         return placeholderF;
     }
 
+    /**
+     * A chain of element-wise operations, with a transpose in the middle, is evaluated in one pass. Compare
+     * with doing it step-by-step, for primitive as well as generic receivers, large enough to be
+     * parallelised.
+     */
+    @Test
+    public void testFusedChain() {
+
+        Primitive64Store mtrxA = Primitive64Store.FACTORY.makeFilled(200, 150, UNIFORM);
+        Primitive64Store mtrxB = Primitive64Store.FACTORY.makeFilled(200, 150, NORMAL);
+        Primitive64Store mtrxC = Primitive64Store.FACTORY.makeFilled(150, 200, UNIFORM);
+        Primitive64Store colArgs = Primitive64Store.FACTORY.makeFilled(1, 200, NORMAL);
+        Primitive64Store rowArgs = Primitive64Store.FACTORY.makeFilled(150, 1, NORMAL);
+
+        Primitive64Store step = mtrxA.copy();
+        step.modifyAll(MULTIPLY.by(2.0));
+        step.modifyMatching(ADD, mtrxB);
+        Primitive64Store expected = Primitive64Store.FACTORY.transpose(step);
+        expected.modifyMatchingInRows(MULTIPLY, colArgs);
+        expected.modifyMatchingInColumns(SUBTRACT, rowArgs);
+        expected.modifyMatching(mtrxC, DIVIDE);
+
+        ElementsSupplier<Double> fused = mtrxA.operate().onAll(MULTIPLY.by(2.0)).onMatching(ADD, mtrxB).transpose().onColumns(MULTIPLY, colArgs)
+                .onRows(SUBTRACT, rowArgs).onMatching(mtrxC, DIVIDE);
+
+        Primitive64Store actual = fused.collect(Primitive64Store.FACTORY);
+        TestUtils.assertEquals(expected, actual);
+        fused.supplyTo(actual);
+        TestUtils.assertEquals(expected, actual);
+
+        // Not starting from a MatrixStore
+        ElementsSupplier<Double> multiplied = mtrxA.premultiply(Primitive64Store.FACTORY.makeEye(200, 200)).onAll(MULTIPLY.by(2.0))
+                .onMatching(ADD, mtrxB).transpose().onColumns(MULTIPLY, colArgs).onRows(SUBTRACT, rowArgs).onMatching(mtrxC, DIVIDE);
+        TestUtils.assertEquals(expected, multiplied.collect(Primitive64Store.FACTORY));
+
+        TestUtils.assertEquals(expected, fused.collect(Primitive32Store.FACTORY), NumberContext.of(6));
+
+        GenericStore<RationalNumber> rational = GenericStore.Q128.copy(mtrxA);
+        FunctionSet<RationalNumber> function = GenericStore.Q128.function();
+        ElementsSupplier<RationalNumber> generic = rational.onAll(function.multiply().second(RationalNumber.TWO))
+                .onMatching(function.add(), GenericStore.Q128.copy(mtrxB)).transpose()
+                .onColumns(function.multiply(), GenericStore.Q128.copy(colArgs)).onRows(function.subtract(), GenericStore.Q128.copy(rowArgs))
+                .onMatching(GenericStore.Q128.copy(mtrxC), function.divide());
+        TestUtils.assertEquals(expected, Primitive64Store.FACTORY.copy(generic.collect(GenericStore.Q128)));
+    }
+
     @Test
     public void testOnAll() {
 
@@ -0,0 +1,212 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.Eigenvalue;
+import org.ojalgo.matrix.decomposition.LDL;
+import org.ojalgo.matrix.decomposition.LU;
+import org.ojalgo.matrix.decomposition.QR;
+import org.ojalgo.matrix.decomposition.Tridiagonal;
+import org.ojalgo.matrix.transformation.Householder;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.scalar.ComplexNumber;
+import org.ojalgo.type.context.NumberContext;
+
+public class OffHeapR064StoreTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(10);
+    private static final int DIM = 300;
+
+    @Test
+    public void testCholeskyAndLDL() {
+
+        Primitive64Store body = Primitive64Store.FACTORY.makeSPD(DIM);
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(DIM, 3, Uniform.standard());
+
+        Cholesky<Double> expected = Cholesky.R064.make(body);
+        expected.decompose(body);
+
+        try (OffHeapR064Store offHeap = OffHeapR064Store.FACTORY.copy(body)) {
+
+            Cholesky<Double> cholesky = Cholesky.OFF_HEAP.make(offHeap);
+            TestUtils.assertTrue(cholesky.decompose(offHeap));
+            TestUtils.assertTrue(cholesky.isSolvable());
+            TestUtils.assertEquals(expected.getL(), cholesky.getL(), ACCURACY);
+            TestUtils.assertEquals(expected.getSolution(rhs), cholesky.getSolution(rhs), ACCURACY);
+
+            LDL<Double> ldl = LDL.OFF_HEAP.make(offHeap);
+            TestUtils.assertTrue(ldl.decompose(offHeap));
+            TestUtils.assertEquals(body, ldl.reconstruct(), ACCURACY);
+            TestUtils.assertEquals(expected.getSolution(rhs), ldl.getSolution(rhs), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testClose() {
+
+        OffHeapR064Store store = OffHeapR064Store.FACTORY.make(7, 5);
+
+        TestUtils.assertEquals(35L, store.count());
+        TestUtils.assertEquals(0.0, store.aggregateAll(Aggregator.LARGEST).doubleValue());
+
+        store.set(6, 4, 3.0);
+        TestUtils.assertEquals(3.0, store.doubleValue(34));
+
+        store.close();
+        store.close();
+    }
+
+    @Test
+    public void testEigenvalueAndTridiagonal() throws Exception {
+
+        Primitive64Store body = Primitive64Store.FACTORY.makeSPD(DIM);
+
+        Eigenvalue<Double> expected = Eigenvalue.R064.make(body, true);
+        expected.decompose(body);
+
+        try (OffHeapR064Store offHeap = OffHeapR064Store.FACTORY.copy(body)) {
+
+            Eigenvalue<Double> eigenvalue = Eigenvalue.OFF_HEAP.make(offHeap, true);
+            TestUtils.assertTrue(eigenvalue.decompose(offHeap));
+            // The two implementations don't order the eigenvalues the same way
+            double[] expectedValues = expected.getEigenvalues().stream().mapToDouble(ComplexNumber::doubleValue).sorted().toArray();
+            double[] actualValues = eigenvalue.getEigenvalues().stream().mapToDouble(ComplexNumber::doubleValue).sorted().toArray();
+            TestUtils.assertEquals(expectedValues, ArrayR064.wrap(actualValues), ACCURACY);
+            TestUtils.assertEquals(body, eigenvalue.reconstruct(), ACCURACY);
+            ((AutoCloseable) eigenvalue).close();
+
+            TestUtils.assertTrue(Eigenvalue.OFF_HEAP.make(offHeap, false) == null);
+
+            Tridiagonal<Double> tridiagonal = Tridiagonal.OFF_HEAP.make(offHeap);
+            TestUtils.assertTrue(tridiagonal.decompose(offHeap));
+            TestUtils.assertEquals(body, tridiagonal.reconstruct(), ACCURACY);
+            ((AutoCloseable) tridiagonal).close();
+
+            Cholesky<Double> cholesky = Cholesky.OFF_HEAP.make(offHeap);
+            TestUtils.assertTrue(cholesky.decompose(offHeap));
+            ((AutoCloseable) cholesky).close();
+            TestUtils.assertTrue(cholesky.decompose(offHeap));
+            TestUtils.assertEquals(body, cholesky.reconstruct(), ACCURACY);
+            ((AutoCloseable) cholesky).close();
+        }
+    }
+
+    @Test
+    public void testHouseholderAndRotation() {
+
+        Primitive64Store expected = Primitive64Store.FACTORY.makeFilled(DIM, DIM / 2, Uniform.standard());
+        OffHeapR064Store actual = OffHeapR064Store.FACTORY.copy(expected);
+
+        Householder.Primitive64 left = new Householder.Primitive64(DIM);
+        Householder.Primitive64 otherLeft = new Householder.Primitive64(DIM);
+        TestUtils.assertEquals(expected.generateApplyAndCopyHouseholderColumn(1, 0, left), actual.generateApplyAndCopyHouseholderColumn(1, 0, otherLeft));
+        TestUtils.assertEquals(left.beta, otherLeft.beta, ACCURACY);
+
+        expected.transformLeft(left, 1);
+        actual.transformLeft(left, 1);
+        TestUtils.assertEquals(expected, actual, ACCURACY);
+
+        Householder.Primitive64 right = new Householder.Primitive64(DIM / 2);
+        expected.generateApplyAndCopyHouseholderRow(0, 1, right);
+        actual.generateApplyAndCopyHouseholderRow(0, 1, new Householder.Primitive64(DIM / 2));
+        expected.transformRight(right, 1);
+        actual.transformRight(right, 1);
+        TestUtils.assertEquals(expected, actual, ACCURACY);
+
+        expected.transformLeft(Primitive64Store.FACTORY.makeRotation(2, 7, 0.6, 0.8));
+        actual.transformLeft(OffHeapR064Store.FACTORY.makeRotation(2, 7, 0.6, 0.8));
+        expected.transformRight(Primitive64Store.FACTORY.makeRotation(3, 5, 0.8, -0.6));
+        actual.transformRight(OffHeapR064Store.FACTORY.makeRotation(3, 5, 0.8, -0.6));
+        TestUtils.assertEquals(expected, actual, ACCURACY);
+
+        expected.exchangeHermitian(3, 9);
+        actual.exchangeHermitian(3, 9);
+        TestUtils.assertEquals(expected, actual, ACCURACY);
+
+        actual.close();
+    }
+
+    @Test
+    public void testLU() {
+
+        Primitive64Store body = Primitive64Store.FACTORY.makeFilled(DIM, DIM, Uniform.standard());
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(DIM, 3, Uniform.standard());
+
+        LU<Double> expected = LU.R064.make(body);
+        expected.decompose(body);
+
+        try (OffHeapR064Store offHeap = OffHeapR064Store.FACTORY.copy(body)) {
+
+            LU<Double> actual = LU.OFF_HEAP.make(offHeap);
+            TestUtils.assertTrue(actual.decompose(offHeap));
+            TestUtils.assertTrue(actual.isSolvable());
+            TestUtils.assertEquals(expected.getSolution(rhs), actual.getSolution(rhs), ACCURACY);
+            TestUtils.assertEquals(expected.getInverse(), actual.getInverse(), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testMultiply() {
+
+        Primitive64Store left = Primitive64Store.FACTORY.makeFilled(DIM, 90, Uniform.standard());
+        Primitive64Store right = Primitive64Store.FACTORY.makeFilled(90, 70, Uniform.standard());
+
+        MatrixStore<Double> expected = left.multiply(right);
+
+        try (OffHeapR064Store offLeft = OffHeapR064Store.FACTORY.copy(left); OffHeapR064Store offRight = OffHeapR064Store.FACTORY.copy(right)) {
+
+            TestUtils.assertEquals(expected, offLeft.multiply(offRight), ACCURACY);
+            TestUtils.assertEquals(expected, offLeft.multiply(right), ACCURACY);
+
+            OffHeapR064Store product = OffHeapR064Store.FACTORY.make(DIM, 70);
+            product.fillByMultiplying(left, offRight);
+            TestUtils.assertEquals(expected, product, ACCURACY);
+            product.close();
+
+            TestUtils.assertEquals(right.transpose(), OffHeapR064Store.FACTORY.transpose(offRight), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testQR() {
+
+        Primitive64Store body = Primitive64Store.FACTORY.makeFilled(DIM, DIM / 3, Uniform.standard());
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(DIM, 1, Uniform.standard());
+
+        QR<Double> expected = QR.R064.make(body);
+        expected.decompose(body);
+
+        try (OffHeapR064Store offHeap = OffHeapR064Store.FACTORY.copy(body)) {
+
+            QR<Double> actual = QR.OFF_HEAP.make(offHeap);
+            TestUtils.assertTrue(actual.decompose(offHeap));
+            TestUtils.assertEquals(body, actual.reconstruct(), ACCURACY);
+            TestUtils.assertEquals(expected.getSolution(rhs), actual.getSolution(rhs), ACCURACY);
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.TestUtils;
+import org.ojalgo.array.operation.TRMM;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.Eigenvalue;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+public class PackedSymmetricStoreTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(12);
+    private static final int DIM = 70;
+    private static final int NB_COLS = 20;
+
+    @Test
+    public void testCholesky() {
+
+        Primitive64Store dense = Primitive64Store.FACTORY.makeSPD(DIM);
+        PackedSymmetricStore packed = PackedSymmetricStore.copy(dense);
+
+        Optional<PackedTriangularStore> optional = packed.cholesky();
+        TestUtils.assertTrue(optional.isPresent());
+        PackedTriangularStore factor = optional.get();
+
+        Cholesky<Double> decomposition = Cholesky.R064.make(packed);
+        TestUtils.assertTrue(decomposition.decompose(packed));
+        TestUtils.assertEquals(decomposition.getL(), factor, ACCURACY);
+
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(DIM, NB_COLS, Uniform.standard());
+
+        Primitive64Store solution = factor.solve(rhs);
+        factor.substitute(solution, true);
+
+        TestUtils.assertEquals(rhs, dense.multiply(solution), ACCURACY);
+        TestUtils.assertEquals(decomposition.getSolution(rhs), solution, ACCURACY);
+
+        PackedTriangularStore upper = PackedTriangularStore.copy(factor.transpose(), true);
+        solution = upper.solve(rhs);
+        TestUtils.assertEquals(rhs, upper.multiply(solution), ACCURACY);
+        solution = Primitive64Store.FACTORY.copy(rhs);
+        upper.substitute(solution, true);
+        TestUtils.assertEquals(rhs, upper.transpose().multiply(solution), ACCURACY);
+
+        try {
+            factor.add(0, 1, 1.0);
+            TestUtils.fail("Should not be possible to add to elements outside the triangle!");
+        } catch (ProgrammingError expected) {
+            // Expected
+        }
+
+        packed.set(DIM / 2, DIM / 2, -1.0);
+        TestUtils.assertFalse(packed.cholesky().isPresent());
+    }
+
+    @Test
+    public void testEigenvalue() {
+
+        Primitive64Store dense = Primitive64Store.FACTORY.makeSPD(DIM);
+        PackedSymmetricStore packed = PackedSymmetricStore.copy(dense);
+
+        TestUtils.assertEquals(dense, packed);
+        TestUtils.assertTrue(packed.isHermitian());
+
+        Eigenvalue<Double> expected = Eigenvalue.R064.make(dense);
+        Eigenvalue<Double> actual = Eigenvalue.R064.make(packed);
+
+        TestUtils.assertTrue(actual.isHermitian());
+        TestUtils.assertTrue(expected.decompose(dense));
+        TestUtils.assertTrue(actual.decompose(packed));
+
+        TestUtils.assertEquals(expected.getEigenvalues(), actual.getEigenvalues(), ACCURACY);
+    }
+
+    /**
+     * The number of packed elements, dim*(dim+1)/2, does not fit in an int.
+     */
+    @Test
+    public void testMakeTooLarge() {
+
+        try {
+            PackedSymmetricStore.make(70_000);
+            TestUtils.fail("Should not be possible to make such a large store!");
+        } catch (ArithmeticException expected) {
+            // Expected
+        }
+
+        try {
+            PackedTriangularStore.make(70_000, false);
+            TestUtils.fail("Should not be possible to make such a large store!");
+        } catch (ArithmeticException expected) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testMultiply() {
+
+        Primitive64Store dense = Primitive64Store.FACTORY.makeSPD(DIM);
+        Primitive64Store right = Primitive64Store.FACTORY.makeFilled(DIM, NB_COLS, Uniform.standard());
+
+        TestUtils.assertEquals(dense.multiply(right), PackedSymmetricStore.copy(dense).multiply(right), ACCURACY);
+        TestUtils.assertEquals(dense.multiply(right.column(0)), PackedSymmetricStore.copy(dense).multiply(right.column(0)), ACCURACY);
+
+        for (boolean upper : new boolean[] { false, true }) {
+            PackedTriangularStore triangular = PackedTriangularStore.copy(dense, upper);
+            Primitive64Store expected = Primitive64Store.FACTORY.copy(triangular);
+            TestUtils.assertEquals(expected.multiply(right), triangular.multiply(right), ACCURACY);
+
+            Primitive64Store product = Primitive64Store.FACTORY.copy(right);
+            TRMM.invoke(product.data, triangular.data, DIM, upper, true, 0, NB_COLS);
+            TestUtils.assertEquals(expected.transpose().multiply(right), product, ACCURACY);
+        }
+    }
+
+    @Test
+    public void testRankKUpdate() {
+
+        Primitive64Store vectors = Primitive64Store.FACTORY.makeFilled(DIM, NB_COLS, Uniform.standard());
+
+        PackedSymmetricStore packed = PackedSymmetricStore.make(DIM);
+        packed.rankKUpdate(0.5, vectors);
+        packed.rankKUpdate(0.5, vectors.transpose().transpose());
+
+        TestUtils.assertEquals(vectors.multiply(vectors.transpose()), packed, ACCURACY);
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.ProgrammingError;
+import org.ojalgo.TestUtils;
+import org.ojalgo.random.Normal;
+import org.ojalgo.scalar.RationalNumber;
+import org.ojalgo.type.context.NumberContext;
+
+public class ProductChainTest extends MatrixStoreTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(12);
+    private static final Normal NORMAL = Normal.standard();
+
+    @Test
+    public void testDimensionMismatch() {
+
+        Primitive64Store mtrxA = Primitive64Store.FACTORY.make(3, 4);
+        Primitive64Store mtrxB = Primitive64Store.FACTORY.make(5, 2);
+
+        try {
+            ProductChain.of(mtrxA, mtrxB);
+            TestUtils.fail("Should not be possible to multiply 3x4 by 5x2!");
+        } catch (ProgrammingError expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * A chain of square matrices – the same cost whatever the order, but the intermediate results all have
+     * the same shape and buffers are reused. Compare with strict left-to-right evaluation, also when the
+     * product is supplied to an existing (non-zero) receiver.
+     */
+    @Test
+    public void testSquareChain() {
+
+        MatrixStore<Double>[] factors = new MatrixStore[6];
+        for (int f = 0; f < factors.length; f++) {
+            factors[f] = Primitive64Store.FACTORY.makeFilled(20, 20, NORMAL);
+        }
+
+        MatrixStore<Double> expected = factors[0];
+        ProductChain<Double> chain = ProductChain.of(factors[0]);
+        for (int f = 1; f < factors.length; f++) {
+            expected = expected.multiply(factors[f]);
+            chain.multiply(factors[f]);
+        }
+
+        TestUtils.assertEquals(5.0 * 20 * 20 * 20, chain.countMultiplications());
+        TestUtils.assertEquals(expected, chain.get(), ACCURACY);
+
+        Primitive64Store receiver = Primitive64Store.FACTORY.makeFilled(20, 20, NORMAL);
+        chain.supplyTo(receiver);
+        TestUtils.assertEquals(expected, receiver, ACCURACY);
+    }
+
+    /**
+     * [A][B][C][x] with tall/skinny [A] and [C], and a vector [x]. Left-to-right would create a large
+     * intermediate [A][B] – the optimal order never does.
+     */
+    @Test
+    public void testTallSkinnyChain() {
+
+        Primitive64Store mtrxA = Primitive64Store.FACTORY.makeFilled(500, 10, NORMAL);
+        Primitive64Store mtrxB = Primitive64Store.FACTORY.makeFilled(10, 500, NORMAL);
+        Primitive64Store mtrxC = Primitive64Store.FACTORY.makeFilled(500, 10, NORMAL);
+        Primitive64Store vctrX = Primitive64Store.FACTORY.makeFilled(10, 1, NORMAL);
+
+        ProductChain<Double> chain = ProductChain.of(mtrxA, mtrxB, mtrxC, vctrX);
+
+        TestUtils.assertEquals("(0 (1 (2 3)))", chain.toString());
+        TestUtils.assertEquals(500.0 * 10 + 10.0 * 500 + 500.0 * 10, chain.countMultiplications());
+        TestUtils.assertEquals(500L, chain.countRows());
+        TestUtils.assertEquals(1L, chain.countColumns());
+
+        MatrixStore<Double> expected = mtrxA.multiply(mtrxB).multiply(mtrxC).multiply(vctrX);
+
+        TestUtils.assertEquals(expected, chain.get(), ACCURACY);
+        TestUtils.assertEquals(expected, chain.collect(Primitive64Store.FACTORY), ACCURACY);
+    }
+
+    /**
+     * Transposed, and other logical, factors as well as generic (non-primitive) element types
+     */
+    @Test
+    public void testTransposedAndLogicalFactors() {
+
+        Primitive64Store mtrxA = Primitive64Store.FACTORY.makeFilled(7, 3, NORMAL);
+        Primitive64Store mtrxB = Primitive64Store.FACTORY.makeFilled(7, 5, NORMAL);
+
+        MatrixStore<Double> expected = mtrxA.transpose().multiply(mtrxB).multiply(mtrxB.transpose()).multiply(mtrxA.below(2).rows(0, 1, 2, 3, 4, 5, 6));
+
+        ProductChain<Double> chain = ProductChain.of(mtrxA.transpose(), mtrxB, mtrxB.transpose(), mtrxA.below(2).rows(0, 1, 2, 3, 4, 5, 6));
+
+        TestUtils.assertEquals(expected, chain.get(), ACCURACY);
+
+        GenericStore<RationalNumber> ratA = GenericStore.Q128.copy(mtrxA);
+        GenericStore<RationalNumber> ratB = GenericStore.Q128.copy(mtrxB);
+
+        MatrixStore<RationalNumber> actual = ProductChain.of(ratA.transpose(), ratB, ratB.transpose(), ratA.below(2).rows(0, 1, 2, 3, 4, 5, 6)).get();
+
+        TestUtils.assertEquals(expected, Primitive64Store.FACTORY.copy(actual), ACCURACY);
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.matrix.store;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.function.aggregator.Aggregator;
+
+public class StorePoolTest extends MatrixStoreTests {
+
+    /**
+     * Scopes have to be closed in reverse order, and each thread has its own pool.
+     */
+    @Test
+    public void testConfinement() throws InterruptedException, ExecutionException {
+
+        StorePool<Double> pool = StorePool.of(Primitive64Store.FACTORY);
+
+        // Idle pools are not registered with the thread
+        TestUtils.assertTrue(pool != StorePool.of(Primitive64Store.FACTORY));
+
+        StorePool<Double>.Scope outer = pool.newScope();
+
+        TestUtils.assertTrue(pool == StorePool.of(Primitive64Store.FACTORY));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+
+            Future<StorePool<Double>> other = executor.submit(() -> StorePool.of(Primitive64Store.FACTORY));
+            TestUtils.assertTrue(pool != other.get());
+
+        } finally {
+            executor.shutdown();
+        }
+
+        StorePool<Double>.Scope inner = pool.newScope();
+        try {
+            outer.close();
+            TestUtils.fail("Should not be possible to close the outer scope first!");
+        } catch (IllegalStateException expected) {
+            // Expected
+        }
+        inner.close();
+        outer.close();
+    }
+
+    /**
+     * A detached store is not returned to the pool when its scope is closed.
+     */
+    @Test
+    public void testDetach() {
+
+        StorePool<Double> pool = StorePool.of(Primitive64Store.FACTORY);
+
+        try (StorePool<Double>.Scope outer = pool.newScope()) {
+
+            PhysicalStore<Double> detached;
+            PhysicalStore<Double> pooled;
+
+            try (StorePool<Double>.Scope scope = pool.newScope()) {
+                detached = pool.make(4, 3);
+                detached.fillAll(2.0);
+                pooled = pool.make(4, 3);
+                StorePool.detach(detached);
+            }
+
+            TestUtils.assertEquals(1, pool.countFree());
+
+            TestUtils.assertTrue(pooled == pool.make(4, 3));
+            TestUtils.assertTrue(detached != pool.make(4, 3));
+            TestUtils.assertEquals(2.0, detached.aggregateAll(Aggregator.SMALLEST).doubleValue());
+        }
+    }
+
+    @Test
+    public void testReuse() {
+
+        StorePool<Double> pool = StorePool.of(Primitive64Store.FACTORY);
+
+        // Outside of any scope, nothing is pooled
+        PhysicalStore<Double> unpooled = pool.make(3, 4);
+        pool.release(unpooled);
+        TestUtils.assertEquals(0, pool.countFree());
+
+        try (StorePool<Double>.Scope outer = pool.newScope()) {
+
+            PhysicalStore<Double> first;
+            PhysicalStore<Double> second;
+
+            try (StorePool<Double>.Scope scope = pool.newScope()) {
+
+                first = pool.make(5, 7);
+                first.fillAll(1.0);
+
+                second = pool.copy(first);
+                TestUtils.assertEquals(first, second);
+
+                try (StorePool<Double>.Scope nested = pool.newScope()) {
+                    // Same shape, but first is still in use
+                    TestUtils.assertTrue(first != pool.make(5, 7));
+                }
+            }
+
+            TestUtils.assertEquals(3, pool.countFree());
+
+            try (StorePool<Double>.Scope scope = pool.newScope()) {
+
+                PhysicalStore<Double> reused = pool.make(5, 7);
+                // Reused – and reset
+                TestUtils.assertTrue(reused == first || reused == second);
+                TestUtils.assertEquals(0.0, reused.aggregateAll(Aggregator.LARGEST).doubleValue());
+
+                // Different size class
+                PhysicalStore<Double> other = pool.make(7, 5);
+                TestUtils.assertTrue(other != first && other != second);
+
+                // Released early, then immediately reused
+                pool.release(reused);
+                TestUtils.assertTrue(reused == pool.make(5, 7));
+            }
+        }
+
+        // Closing the outermost scope clears the pool, and removes it from the thread
+        TestUtils.assertEquals(0, pool.countFree());
+        TestUtils.assertTrue(pool != StorePool.of(Primitive64Store.FACTORY));
+    }
+
+}
@@ -21,12 +21,17 @@
  */
 package org.ojalgo.matrix.task;
 
+import static org.ojalgo.function.constant.PrimitiveMath.*;
+
 import java.util.List;
 import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import org.ojalgo.RecoverableCondition;
 import org.ojalgo.TestUtils;
+import org.ojalgo.function.aggregator.Aggregator;
+import org.ojalgo.matrix.decomposition.Cholesky;
+import org.ojalgo.matrix.decomposition.LU;
 import org.ojalgo.matrix.decomposition.MatrixDecomposition.Solver;
 import org.ojalgo.matrix.decomposition.MatrixDecompositionTests;
 import org.ojalgo.matrix.store.MatrixStore;
@@ -34,8 +39,10 @@ import org.ojalgo.matrix.store.Primitive64Store;
 import org.ojalgo.matrix.task.iterative.ConjugateGradientSolver;
 import org.ojalgo.matrix.task.iterative.GaussSeidelSolver;
 import org.ojalgo.matrix.task.iterative.JacobiSolver;
+import org.ojalgo.matrix.task.iterative.MixedPrecisionSolver;
 import org.ojalgo.matrix.task.iterative.ParallelGaussSeidelSolver;
 import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
 
 public class SolverTest extends MatrixTaskTests {
 
@@ -100,6 +107,53 @@ public class SolverTest extends MatrixTaskTests {
         TestUtils.assertEquals(tmpExpected, tmpParallelGaussSeidelSolver.solve(tmpA, tmpB).get());
     }
 
+    /**
+     * Compare with a double precision LU decomposition – should be (at least) as accurate, using the residual
+     * as the measure.
+     */
+    @Test
+    public void testMixedPrecisionRefinement() throws RecoverableCondition {
+
+        int dim = 200;
+
+        Primitive64Store body = Primitive64Store.FACTORY.makeFilled(dim, dim, new Uniform());
+        body.modifyDiagonal(ADD.second(dim / 4));
+        MatrixStore<Double> spd = body.transpose().multiply(body);
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(dim, 1L, new Uniform());
+
+        double reference = this.residual(body, rhs, LU.R064.make(body).solve(body, rhs));
+
+        TestUtils.assertTrue(this.residual(body, rhs, new MixedPrecisionSolver().solve(body, rhs).get()) <= 10.0 * reference);
+        TestUtils.assertTrue(this.residual(body, rhs, new MixedPrecisionSolver(false, true).solve(body, rhs).get()) <= 10.0 * reference);
+
+        reference = this.residual(spd, rhs, Cholesky.R064.make(spd).solve(spd, rhs));
+
+        TestUtils.assertTrue(this.residual(spd, rhs, new MixedPrecisionSolver(true, false).solve(spd, rhs).get()) <= 10.0 * reference);
+
+        MixedPrecisionSolver limited = new MixedPrecisionSolver();
+        limited.configurator().accuracy(NumberContext.of(6));
+        TestUtils.assertEquals(LU.R064.make(body).solve(body, rhs), limited.solve(body, rhs).get(), NumberContext.of(6));
+    }
+
+    /**
+     * The Hilbert matrix of order 10 is much too ill-conditioned (~1.6E13) for single precision. Should fall
+     * back to a double precision decomposition.
+     */
+    @Test
+    public void testMixedPrecisionFallback() throws RecoverableCondition {
+
+        int dim = 10;
+
+        Primitive64Store body = Primitive64Store.FACTORY.make(dim, dim);
+        body.fillAll(ZERO);
+        body.loopAll((i, j) -> body.set(i, j, ONE / (i + j + 1)));
+        Primitive64Store rhs = Primitive64Store.FACTORY.makeFilled(dim, 1L, new Uniform());
+
+        MatrixStore<Double> expected = LU.R064.make(body).solve(body, rhs);
+
+        TestUtils.assertEquals(expected, new MixedPrecisionSolver().solve(body, rhs).get(), NumberContext.of(4));
+    }
+
     @Test
     public void testSymmetric1X1() {
         this.doCompare(AbstractSolver.FULL_1X1, 1);
@@ -159,6 +213,10 @@ public class SolverTest extends MatrixTaskTests {
         TestUtils.assertEquals(expected, tmpConjugateGradientSolver.solve(body, rhs).get());
     }
 
+    private double residual(final MatrixStore<Double> body, final MatrixStore<Double> rhs, final MatrixStore<Double> solution) {
+        return rhs.subtract(body.multiply(solution)).aggregateAll(Aggregator.LARGEST);
+    }
+
     private void doCompare(final SolverTask<Double> fixed, final int dimension) {
 
         try {
@@ -22,10 +22,18 @@
 package org.ojalgo.netio;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.ojalgo.TestUtils;
+import org.ojalgo.array.ArrayR064;
+import org.ojalgo.array.ArrayZ064;
+import org.ojalgo.concurrent.Parallelism;
+import org.ojalgo.random.Normal;
 
 public class TestCSV extends NetioTests {
 
@@ -40,6 +48,9 @@ public class TestCSV extends NetioTests {
             { "", "", "", "", "", "F", "", "", "", "" }, { "", "", "", "", "", "", "G", "", "", "" }, { "", "", "", "", "", "", "", "H", "", "" },
             { "", "", "", "", "", "", "", "", "I", "" }, { "", "", "", "", "", "", "", "", "", "J" } };
 
+    @TempDir
+    public File tempDir;
+
     public TestCSV() {
         super();
     }
@@ -128,4 +139,67 @@ public class TestCSV extends NetioTests {
         TestUtils.assertEquals(6, tmpCounter.get());
     }
 
+    @Test
+    public void testPrimitiveColumns() throws IOException {
+
+        Normal random = new Normal(0.0, 1000.0);
+
+        int nbRows = 10_000;
+        double[] expectedD = new double[nbRows];
+        long[] expectedZ = new long[nbRows];
+
+        StringBuilder builder = new StringBuilder("Index;Text;Value\r\n");
+        for (int i = 0; i < nbRows; i++) {
+            expectedZ[i] = i - 5_000L * i;
+            expectedD[i] = i % 3 == 0 ? Math.round(random.doubleValue() * 100.0) / 100.0 : random.doubleValue();
+            builder.append(expectedZ[i]).append(';');
+            builder.append(i % 2 == 0 ? "\"a;b\"\"c\"" : "text").append(';');
+            builder.append(i % 5 == 0 ? "\"" + expectedD[i] + "\"" : Double.toString(expectedD[i])).append("\r\n");
+            if (i % 100 == 0) {
+                builder.append("# A comment\n\n");
+            }
+        }
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        File file = new File(tempDir, "primitive.csv");
+        Files.write(file.toPath(), bytes);
+
+        PrimitiveColumnsParser sequential = PrimitiveColumnsParser.make(3).delimiter(';').longs(0).doubles(2).get();
+        PrimitiveColumnsParser parallel = PrimitiveColumnsParser.make(3).delimiter(';').longs(0).doubles(2).parallelism(Parallelism.FOUR).get();
+
+        PrimitiveColumnsParser.Columns[] results = { sequential.parse(bytes, true), parallel.parse(bytes, true), sequential.parse(file, true),
+                sequential.parse(file, true, 4096), parallel.parse(file, true, 4096) };
+
+        for (PrimitiveColumnsParser.Columns columns : results) {
+            TestUtils.assertEquals(nbRows, columns.size());
+            ArrayZ064 actualZ = columns.getZ064(0);
+            ArrayR064 actualD = columns.getR064(2);
+            for (int i = 0; i < nbRows; i++) {
+                TestUtils.assertEquals(expectedZ[i], actualZ.longValue(i));
+                TestUtils.assertEquals(expectedD[i], actualD.doubleValue(i), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveColumnsRFC4180() {
+
+        File file = new File("./src/test/resources/csv/example.csv");
+
+        // Same lines as with EnumeratedColumnsParser, incl. the multi line value
+        PrimitiveColumnsParser.Columns columns = PrimitiveColumnsParser.make(5).get().parse(file, false);
+        TestUtils.assertEquals(6, columns.size());
+
+        String data = "1997,Ford,E350,\"ac, abs, moon\",3000.00\n1999,Chevy,\"Venture \"\"Extended Edition\"\"\",\"\",4900.00\n,,\"\",,\"1.5E3\"";
+        columns = PrimitiveColumnsParser.make(5).longs(0).doubles(4).get().parse(data.getBytes(StandardCharsets.UTF_8), false);
+
+        TestUtils.assertEquals(3, columns.size());
+        TestUtils.assertEquals(1997L, columns.getZ064(0).longValue(0));
+        TestUtils.assertEquals(1999L, columns.getZ064(0).longValue(1));
+        TestUtils.assertEquals(0L, columns.getZ064(0).longValue(2));
+        TestUtils.assertEquals(3000.0, columns.getR064(4).doubleValue(0));
+        TestUtils.assertEquals(4900.0, columns.getR064(4).doubleValue(1));
+        TestUtils.assertEquals(1500.0, columns.getR064(4).doubleValue(2));
+    }
+
 }
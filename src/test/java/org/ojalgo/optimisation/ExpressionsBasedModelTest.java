@@ -25,6 +25,8 @@ import static org.ojalgo.function.constant.BigMath.*;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map.Entry;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,7 @@ import org.ojalgo.netio.BasicLogger;
 import org.ojalgo.optimisation.Optimisation.Result;
 import org.ojalgo.optimisation.linear.LinearSolver;
 import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
 import org.ojalgo.type.context.NumberContext;
 
 public class ExpressionsBasedModelTest extends OptimisationTests {
@@ -78,6 +81,112 @@ public class ExpressionsBasedModelTest extends OptimisationTests {
         TestUtils.assertEquals(4.0, result.doubleValue(2), PrimitiveMath.MACHINE_EPSILON);
     }
 
+    /**
+     * Adding to factors: Doubles are added as doubles, unless the existing factor is an exact decimal. Sums
+     * that are zero remove the factor.
+     */
+    @Test
+    public void testExpressionFactorAddition() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+        for (int i = 0; i < 5; i++) {
+            model.addVariable();
+        }
+
+        Expression expr = model.addExpression();
+
+        BigDecimal exact = new BigDecimal("0.12345678901234567890123");
+
+        expr.add(2, 1.5);
+        expr.add(2, 2.5);
+        expr.add(4, 3L);
+        expr.set(3, exact);
+        expr.add(3, 1.0);
+        expr.add(0, 1.0);
+        expr.add(0, -1.0);
+
+        TestUtils.assertEquals(3, expr.countLinearFactors());
+        TestUtils.assertEquals(4.0, expr.doubleValue(IntIndex.of(2), false));
+        TestUtils.assertEquals(3.0, expr.doubleValue(IntIndex.of(4), false));
+        TestUtils.assertEquals(0, exact.add(BigMath.ONE).compareTo(expr.get(IntIndex.of(3))));
+        TestUtils.assertFalse(expr.getLinearKeySet().contains(IntIndex.of(0)));
+
+        expr.add(1, 3, 2.0);
+        expr.add(1, 3, 2L);
+        expr.add(0, 0, 1.0);
+        expr.add(0, 0, -1.0);
+
+        TestUtils.assertEquals(1, expr.countQuadraticFactors());
+        TestUtils.assertEquals(4.0, expr.doubleValue(new IntRowColumn(1, 3), false));
+    }
+
+    /**
+     * Factors set in arbitrary order, overwritten and removed – via the set methods as well as via the entry
+     * set iterator. Values that can not be recreated from a double are kept exactly.
+     */
+    @Test
+    public void testExpressionFactorStorage() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+        for (int i = 0; i < 10; i++) {
+            model.addVariable();
+        }
+
+        Expression expr = model.addExpression();
+
+        BigDecimal exact = new BigDecimal("0.12345678901234567890123");
+
+        expr.set(7, 7.0);
+        expr.set(2, exact);
+        expr.set(5, 5.0);
+        expr.set(7, 0.7);
+        expr.set(0, 1L);
+        expr.set(9, 9.0);
+        expr.set(5, 0.0);
+
+        TestUtils.assertEquals(4, expr.countLinearFactors());
+        TestUtils.assertEquals(0, exact.compareTo(expr.get(IntIndex.of(2))));
+        TestUtils.assertEquals(BigDecimal.valueOf(0.7), expr.get(IntIndex.of(7)));
+        TestUtils.assertEquals(BigMath.ZERO, expr.get(IntIndex.of(5)));
+        TestUtils.assertFalse(expr.getLinearKeySet().contains(IntIndex.of(5)));
+
+        int[] order = new int[4];
+        int[] count = new int[1];
+        expr.loopLinear(false, (index, factor) -> {
+            order[count[0]++] = index;
+            TestUtils.assertEquals(expr.doubleValue(IntIndex.of(index), false), factor);
+        });
+        TestUtils.assertEquals(new int[] { 0, 2, 7, 9 }, order);
+
+        for (Iterator<Entry<IntIndex, BigDecimal>> iterator = expr.getLinearEntrySet().iterator(); iterator.hasNext();) {
+            Entry<IntIndex, BigDecimal> entry = iterator.next();
+            if (entry.getKey().index == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue().negate());
+            }
+        }
+
+        TestUtils.assertEquals(3, expr.countLinearFactors());
+        TestUtils.assertEquals(0, exact.negate().compareTo(expr.get(IntIndex.of(2))));
+        TestUtils.assertEquals(-9.0, expr.doubleValue(IntIndex.of(9), false));
+
+        expr.set(3, 1, 2.0);
+        expr.set(1, 3, 4.0);
+        expr.set(0, 0, 1.0);
+        expr.set(3, 1, 0.0);
+
+        TestUtils.assertEquals(2, expr.countQuadraticFactors());
+        TestUtils.assertEquals(4.0, expr.doubleValue(new IntRowColumn(1, 3), false));
+        TestUtils.assertEquals(0.0, expr.doubleValue(new IntRowColumn(3, 1), false));
+
+        Expression copy = expr.copy(model, true);
+        copy.set(9, 1.0);
+
+        TestUtils.assertEquals(-9.0, expr.doubleValue(IntIndex.of(9), false));
+        TestUtils.assertEquals(expr.get(IntIndex.of(2)), copy.get(IntIndex.of(2)));
+    }
+
     @Test
     public void testExpressionSetAdd() {
 
@@ -263,6 +372,37 @@ public class ExpressionsBasedModelTest extends OptimisationTests {
         TestUtils.assertFalse(tmpModel.validate());
     }
 
+    /**
+     * A chain of equalities where only the last variable is fixed. Each fixed variable allows the next
+     * expression in the chain to fix another variable, regardless of the order the expressions are stored in.
+     */
+    @Test
+    public void testPresolveChain() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        int length = 20;
+
+        for (int i = 0; i < length; i++) {
+            model.addVariable("X" + i).weight(ONE);
+        }
+        for (int i = 0; i < length - 1; i++) {
+            model.addExpression("C" + i).level(ZERO).set(i, ONE).set(i + 1, NEG);
+        }
+        model.addExpression("LAST").level(FIVE).set(length - 1, ONE);
+
+        model.presolve();
+
+        TestUtils.assertFalse(model.isInfeasible());
+        for (Variable variable : model.getVariables()) {
+            TestUtils.assertTrue(variable.isFixed());
+            TestUtils.assertEquals(FIVE, variable.getValue());
+        }
+        for (Expression expression : model.getExpressions()) {
+            TestUtils.assertTrue(expression.isRedundant());
+        }
+    }
+
     @Test
     public void testPresolverCase2() {
 
@@ -304,6 +444,33 @@ public class ExpressionsBasedModelTest extends OptimisationTests {
 
     }
 
+    @Test
+    public void testReduceSimilar() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable x = model.addVariable("X").lower(ZERO);
+        Variable y = model.addVariable("Y").lower(ZERO);
+        Variable z = model.addVariable("Z").lower(ZERO);
+
+        Expression c1 = model.addExpression("C1").upper(FOUR).set(x, ONE).set(y, TWO);
+        Expression c2 = model.addExpression("C2").upper(SIX).set(x, TWO).set(y, FOUR);
+        Expression c3 = model.addExpression("C3").upper(SIX).set(x, TWO).set(y, ONE);
+        Expression c4 = model.addExpression("C4").upper(SIX).set(x, ONE).set(y, TWO).set(z, ONE);
+
+        TestUtils.assertTrue(Presolvers.reduce(model.getExpressions()));
+
+        TestUtils.assertTrue(c1.isRedundant() != c2.isRedundant());
+        TestUtils.assertFalse(c3.isRedundant());
+        TestUtils.assertFalse(c4.isRedundant());
+
+        // Whichever remains it should now be the tighter x + 2y <= 3
+        Expression remaining = c1.isRedundant() ? c2 : c1;
+        TestUtils.assertEquals(THREE, remaining.getUpperLimit().divide(remaining.get(x)));
+
+        TestUtils.assertFalse(Presolvers.reduce(model.getExpressions()));
+    }
+
     /**
      * https://github.com/optimatika/ojAlgo/issues/415
      */
@@ -374,4 +541,72 @@ public class ExpressionsBasedModelTest extends OptimisationTests {
         TestUtils.assertEquals(1, maxResult.doubleValue(2), precision);
     }
 
+    @Test
+    public void testSnapshotReuse() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable x = model.addVariable("X").lower(ZERO).upper(TEN).integer(true).weight(ONE);
+        Variable y = model.addVariable("Y").lower(ZERO).upper(TEN).integer(true).weight(TWO);
+
+        model.addExpression("SUM").lower(THREE).set(x, ONE).set(y, ONE);
+
+        ExpressionsBasedModel first = model.snapshot();
+
+        first.getVariable(0).lower(FIVE).upper(FIVE).setValue(FIVE);
+        first.getVariable(1).upper(ONE);
+        first.addExpression("CUT").lower(ONE).set(1, ONE);
+        first.getExpression("SUM").upper(FOUR);
+
+        ExpressionsBasedModel second = model.snapshot(first);
+
+        TestUtils.assertTrue(first == second);
+        TestUtils.assertEquals(model.countExpressions(), second.countExpressions());
+        TestUtils.assertTrue(second.getExpression("CUT") == null);
+        TestUtils.assertTrue(second.getExpression("SUM").getUpperLimit() == null);
+        for (int i = 0; i < model.countVariables(); i++) {
+            TestUtils.assertEquals(model.getVariable(i).getLowerLimit(), second.getVariable(i).getLowerLimit());
+            TestUtils.assertEquals(model.getVariable(i).getUpperLimit(), second.getVariable(i).getUpperLimit());
+            TestUtils.assertTrue(second.getVariable(i).getValue() == null);
+        }
+
+        Result expected = model.snapshot().minimise();
+        TestUtils.assertStateAndSolution(expected, second.minimise());
+
+        // Can't reuse when the original model changed structurally, or with some other model
+
+        model.addExpression("MORE").upper(EIGHT).set(x, ONE);
+        TestUtils.assertFalse(second == model.snapshot(second));
+
+        ExpressionsBasedModel other = model.copy();
+        TestUtils.assertFalse(second == other.snapshot(second));
+    }
+
+    @Test
+    public void testSnapshotWithOptions() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable x = model.addVariable("X").lower(ZERO).upper(TEN).weight(ONE);
+        Variable y = model.addVariable("Y").lower(ZERO).upper(TEN).weight(TWO);
+
+        model.addExpression("SUM").lower(THREE).set(x, ONE).set(y, ONE);
+
+        Optimisation.Options options = new Optimisation.Options();
+
+        ExpressionsBasedModel first = model.snapshot(null, options);
+        TestUtils.assertTrue(first.options == options);
+        TestUtils.assertFalse(model.options == options);
+
+        ExpressionsBasedModel second = model.snapshot(first, options);
+        TestUtils.assertTrue(first == second);
+
+        // Not reused with other options
+
+        TestUtils.assertFalse(second == model.snapshot(second, new Optimisation.Options()));
+        TestUtils.assertFalse(second == model.snapshot(second));
+
+        TestUtils.assertStateAndSolution(model.snapshot().minimise(), second.minimise());
+    }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.netio.DataInterpreter;
+import org.ojalgo.netio.DataReader;
+import org.ojalgo.netio.DataWriter;
+import org.ojalgo.netio.InMemoryFile;
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
+
+/**
+ * The binary format should recreate models exactly – names, limits, values and all (exact) coefficients.
+ */
+public class FileFormatBINTest extends OptimisationTests {
+
+    static void assertExact(final BigDecimal expected, final BigDecimal actual) {
+        if (expected == null || actual == null) {
+            TestUtils.assertTrue(expected == actual);
+        } else {
+            TestUtils.assertTrue(expected + " != " + actual, expected.compareTo(actual) == 0);
+        }
+    }
+
+    static void assertExact(final ExpressionsBasedModel expected, final ExpressionsBasedModel actual) {
+
+        TestUtils.assertTrue(expected.getOptimisationSense() == actual.getOptimisationSense());
+
+        TestUtils.assertEquals(expected.countVariables(), actual.countVariables());
+        for (int i = 0; i < expected.countVariables(); i++) {
+            Variable expVar = expected.getVariable(i);
+            Variable actVar = actual.getVariable(i);
+            TestUtils.assertEquals(expVar.getName(), actVar.getName());
+            TestUtils.assertEquals(expVar.isInteger(), actVar.isInteger());
+            FileFormatBINTest.assertExact(expVar.getLowerLimit(), actVar.getLowerLimit());
+            FileFormatBINTest.assertExact(expVar.getUpperLimit(), actVar.getUpperLimit());
+            FileFormatBINTest.assertExact(expVar.getContributionWeight(), actVar.getContributionWeight());
+            FileFormatBINTest.assertExact(expVar.getValue(), actVar.getValue());
+        }
+
+        TestUtils.assertEquals(expected.countExpressions(), actual.countExpressions());
+        for (Expression expExpr : expected.getExpressions()) {
+            Expression actExpr = actual.getExpression(expExpr.getName());
+            TestUtils.assertTrue(expExpr.getName(), actExpr != null);
+            FileFormatBINTest.assertExact(expExpr.getLowerLimit(), actExpr.getLowerLimit());
+            FileFormatBINTest.assertExact(expExpr.getUpperLimit(), actExpr.getUpperLimit());
+            FileFormatBINTest.assertExact(expExpr.getContributionWeight(), actExpr.getContributionWeight());
+            TestUtils.assertEquals(expExpr.getLinearKeySet().size(), actExpr.getLinearKeySet().size());
+            for (Entry<IntIndex, BigDecimal> entry : expExpr.getLinearEntrySet()) {
+                FileFormatBINTest.assertExact(entry.getValue(), actExpr.get(entry.getKey()));
+            }
+            TestUtils.assertEquals(expExpr.getQuadraticKeySet().size(), actExpr.getQuadraticKeySet().size());
+            for (Entry<IntRowColumn, BigDecimal> entry : expExpr.getQuadraticEntrySet()) {
+                FileFormatBINTest.assertExact(entry.getValue(), actExpr.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    public void testDataInterpreter() {
+
+        ExpressionsBasedModel model1 = ModelFileTest.makeModel("netlib", "AFIRO.SIF", false);
+        ExpressionsBasedModel model2 = ModelFileTest.makeModel("marosmeszaros", "QAFIRO.SIF", false);
+        model2.setOptimisationSense(Optimisation.Sense.MAX);
+
+        DataInterpreter<ExpressionsBasedModel> interpreter = ExpressionsBasedModel.newInterpreter();
+
+        InMemoryFile file = new InMemoryFile();
+
+        try (DataWriter<ExpressionsBasedModel> writer = DataWriter.of(file, interpreter)) {
+            writer.write(model1);
+            writer.write(model2);
+        } catch (IOException cause) {
+            TestUtils.fail(cause);
+        }
+
+        try (DataReader<ExpressionsBasedModel> reader = DataReader.of(file, interpreter)) {
+            FileFormatBINTest.assertExact(model1, reader.read());
+            FileFormatBINTest.assertExact(model2, reader.read());
+        } catch (IOException cause) {
+            TestUtils.fail(cause);
+        }
+    }
+
+    /**
+     * Values that can't be represented exactly by a double must still be recreated exactly.
+     */
+    @Test
+    public void testExactNumbers() throws IOException {
+
+        String[] values = { "0", "-0.000", "1", "-1", "9223372036854775807", "-9223372036854775808", "92233720368547758070", "1E+30", "0.1", "-2.5E-7",
+                "0.10000000000000000000000001", "3.14159265358979323846264338327950288", "-1E-400" };
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (String value : values) {
+                FileFormatBIN.writeNumber(new BigDecimal(value), output);
+            }
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (String value : values) {
+                FileFormatBINTest.assertExact(new BigDecimal(value), FileFormatBIN.readNumber(input));
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAndReadBack() throws IOException {
+
+        for (String name : new String[] { "netlib/AFIRO.SIF", "netlib/SCTAP1.SIF", "marosmeszaros/QAFIRO.SIF", "miplib/markshare_4_0.mps",
+                "usersupplied/mod2.mps" }) {
+
+            File file = new File("./src/test/resources/optimisation/" + name);
+            if (!file.exists()) {
+                continue;
+            }
+
+            ExpressionsBasedModel expected = ExpressionsBasedModel.parse(file);
+            expected.getVariable(0).setValue(new BigDecimal("0.1000000000000000000001"));
+
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            expected.writeTo(text, ExpressionsBasedModel.FileFormat.EBM);
+
+            ByteArrayOutputStream binary = new ByteArrayOutputStream();
+            expected.writeTo(binary, ExpressionsBasedModel.FileFormat.BIN);
+
+            // Names take the same space in both formats, and these are small models with short names
+            TestUtils.assertTrue(name, 5 * binary.size() < 3 * text.size());
+
+            ExpressionsBasedModel actual = ExpressionsBasedModel.parse(new ByteArrayInputStream(binary.toByteArray()), ExpressionsBasedModel.FileFormat.BIN);
+
+            FileFormatBINTest.assertExact(expected, actual);
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.structure.Structure1D.IntIndex;
+import org.ojalgo.structure.Structure2D.IntRowColumn;
+
+/**
+ * The fast free-format MPS parser should produce the exact same model as the original fixed-format aware
+ * parser, and writing a model to MPS and then reading it back should recreate the model.
+ */
+public class FileFormatMPSTest extends OptimisationTests {
+
+    static void assertEquals(final BigDecimal expected, final BigDecimal actual) {
+        if (expected == null || actual == null) {
+            TestUtils.assertTrue(expected == actual);
+        } else {
+            TestUtils.assertEquals(expected.doubleValue(), actual.doubleValue(), Math.ulp(expected.doubleValue()));
+        }
+    }
+
+    static void assertEquals(final ExpressionsBasedModel expected, final ExpressionsBasedModel actual, final boolean sameNames) {
+
+        TestUtils.assertEquals(expected.countVariables(), actual.countVariables());
+        TestUtils.assertTrue(expected.getOptimisationSense() == actual.getOptimisationSense());
+        FileFormatMPSTest.assertEquals(expected.getObjectiveConstant(), actual.getObjectiveConstant());
+
+        for (int i = 0; i < expected.countVariables(); i++) {
+            Variable expVar = expected.getVariable(i);
+            Variable actVar = actual.getVariable(i);
+            if (sameNames) {
+                TestUtils.assertEquals(expVar.getName(), actVar.getName());
+            }
+            TestUtils.assertEquals(expVar.isInteger(), actVar.isInteger());
+            FileFormatMPSTest.assertEquals(expVar.getLowerLimit(), actVar.getLowerLimit());
+            FileFormatMPSTest.assertEquals(expVar.getUpperLimit(), actVar.getUpperLimit());
+        }
+
+        Expression expObj = expected.objective();
+        Expression actObj = actual.objective();
+        for (int i = 0; i < expected.countVariables(); i++) {
+            FileFormatMPSTest.assertEquals(expObj.get(expected.getVariable(i)), actObj.get(actual.getVariable(i)));
+        }
+        for (Entry<IntRowColumn, BigDecimal> entry : expObj.getQuadraticEntrySet()) {
+            IntRowColumn key = entry.getKey();
+            BigDecimal expVal = entry.getValue().add(expObj.get(new IntRowColumn(key.column, key.row)));
+            BigDecimal actVal = actObj.get(key).add(actObj.get(new IntRowColumn(key.column, key.row)));
+            FileFormatMPSTest.assertEquals(expVal, actVal);
+        }
+
+        if (sameNames) {
+
+            TestUtils.assertEquals(expected.countExpressions(), actual.countExpressions());
+
+            for (Expression expExpr : expected.getExpressions()) {
+                Expression actExpr = actual.getExpression(expExpr.getName());
+                TestUtils.assertTrue(expExpr.getName(), actExpr != null);
+                FileFormatMPSTest.assertEquals(expExpr.getLowerLimit(), actExpr.getLowerLimit());
+                FileFormatMPSTest.assertEquals(expExpr.getUpperLimit(), actExpr.getUpperLimit());
+                FileFormatMPSTest.assertEquals(expExpr.getContributionWeight(), actExpr.getContributionWeight());
+                TestUtils.assertEquals(expExpr.getLinearKeySet().size(), actExpr.getLinearKeySet().size());
+                for (Entry<IntIndex, BigDecimal> entry : expExpr.getLinearEntrySet()) {
+                    FileFormatMPSTest.assertEquals(entry.getValue(), actExpr.get(entry.getKey()));
+                }
+            }
+
+        } else {
+
+            TestUtils.assertEquals(expected.constraints().count(), actual.constraints().count());
+        }
+    }
+
+    @Test
+    public void testFreeFormatParserEqualsFixedFormatParser() throws IOException {
+
+        int free = 0;
+        int fixed = 0;
+
+        for (File directory : new File("./src/test/resources/optimisation").listFiles(File::isDirectory)) {
+            for (File file : directory.listFiles()) {
+
+                String name = file.getName().toLowerCase();
+                if (!name.endsWith("mps") && !name.endsWith("sif")) {
+                    continue;
+                }
+
+                byte[] bytes = Files.readAllBytes(file.toPath());
+
+                ExpressionsBasedModel expected;
+                try {
+                    expected = FileFormatMPS.readFixed(new ByteArrayInputStream(bytes));
+                } catch (IllegalArgumentException unsupported) {
+                    // Sections (like INDICATORS) not supported by either parser
+                    continue;
+                }
+
+                ExpressionsBasedModel actual;
+                try {
+                    // Use parallel parsing, even if there's only 1 core
+                    actual = FileFormatMPS.readFree(bytes, 4);
+                    free++;
+                } catch (FileFormatMPS.NotFreeFormat | IllegalArgumentException cause) {
+                    fixed++;
+                    continue;
+                }
+
+                FileFormatMPSTest.assertEquals(expected, actual, true);
+            }
+        }
+
+        TestUtils.assertTrue(free > 10 * fixed);
+    }
+
+    @Test
+    public void testWriteAndReadBack() throws IOException {
+
+        for (String name : new String[] { "netlib/AFIRO.SIF", "netlib/SCTAP1.SIF", "marosmeszaros/QAFIRO.SIF", "miplib/markshare_4_0.mps",
+                "usersupplied/mod2.mps" }) {
+
+            File file = new File("./src/test/resources/optimisation/" + name);
+            if (!file.exists()) {
+                continue;
+            }
+
+            ExpressionsBasedModel expected = ExpressionsBasedModel.parse(file);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            expected.writeTo(output, ExpressionsBasedModel.FileFormat.MPS);
+
+            ExpressionsBasedModel actual = ExpressionsBasedModel.parse(new ByteArrayInputStream(output.toByteArray()), ExpressionsBasedModel.FileFormat.MPS);
+
+            FileFormatMPSTest.assertEquals(expected, actual, false);
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.ojalgo.optimisation.convex;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+public class ADMMSolverTest extends OptimisationConvexTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(5, 4);
+
+    private static void doTest(final String name) {
+
+        ExpressionsBasedModel model = CuteMarosMeszarosCase.makeModel(name);
+        model.options.convex().firstOrderTolerance(1E-7);
+
+        if (DEBUG) {
+            model.options.debug(ADMMSolver.class);
+        }
+
+        TestUtils.assertTrue(ADMMSolver.INTEGRATION.isCapable(model));
+
+        ADMMSolver solver = ADMMSolver.INTEGRATION.build(model);
+        Optimisation.Result result = ADMMSolver.INTEGRATION.toModelState(solver.solve(null), model);
+
+        if (DEBUG) {
+            BasicLogger.debug("{} {}", result, solver.getStatistics());
+        }
+
+        TestUtils.assertStateNotLessThanOptimal(result);
+        TestUtils.assertEquals(CuteMarosMeszarosCase.getModelInfo(name).OPT.doubleValue(), model.objective().evaluate(result).doubleValue(), ACCURACY);
+    }
+
+    private static ConvexSolver.Builder newPortfolio(final int n, final MatrixStore<Double> expected) {
+
+        Primitive64Store returns = Primitive64Store.FACTORY.makeFilled(2 * n, n, new Uniform(-0.1, 0.2));
+        MatrixStore<Double> covariance = returns.transpose().multiply(returns);
+
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1.0);
+
+        ConvexSolver.Builder retVal = ConvexSolver.newBuilder().objective(covariance, expected);
+        retVal.equality(1.0, ones);
+        retVal.inequalities(Primitive64Store.FACTORY.makeEye(n, n).negate(), Primitive64Store.FACTORY.make(n, 1));
+
+        return retVal;
+    }
+
+    @Test
+    public void testAUG3DCQP() {
+        ADMMSolverTest.doTest("AUG3DCQP.SIF");
+    }
+
+    @Test
+    public void testCVXQP1_M() {
+        ADMMSolverTest.doTest("CVXQP1_M.SIF");
+    }
+
+    @Test
+    public void testHS() {
+        ADMMSolverTest.doTest("HS21.SIF");
+        ADMMSolverTest.doTest("HS35.SIF");
+        ADMMSolverTest.doTest("HS76.SIF");
+    }
+
+    @Test
+    public void testInfeasible() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable x = model.addVariable("X").lower(0).upper(1);
+        Variable y = model.addVariable("Y").lower(0).upper(1);
+
+        Expression sum = model.addExpression("SUM").lower(3);
+        sum.set(x, 1);
+        sum.set(y, 1);
+
+        Expression objective = model.addExpression("OBJ").weight(1);
+        objective.set(x, x, 1);
+        objective.set(y, y, 1);
+
+        Optimisation.Result result = ADMMSolver.INTEGRATION.build(model).solve(null);
+
+        TestUtils.assertEquals(Optimisation.State.INFEASIBLE, result.getState());
+    }
+
+    @Test
+    public void testMOSARQP2() {
+        ADMMSolverTest.doTest("MOSARQP2.SIF");
+    }
+
+    @Test
+    public void testQAFIRO() {
+        ADMMSolverTest.doTest("QAFIRO.SIF");
+    }
+
+    /**
+     * Solve, update the expected returns (the linear part of the objective) and the budget (right hand side
+     * of the equality constraint), and re-solve. The solver, and its factorisation, is reused and the re-solve is warm
+     * started. Each solution is compared to that of the {@link ConvexSolver}.
+     */
+    @Test
+    public void testResolvePortfolio() {
+
+        int n = 40;
+
+        Primitive64Store expected = Primitive64Store.FACTORY.makeFilled(n, 1, new Uniform(0.0, 0.1));
+        ConvexSolver.Builder convex = ADMMSolverTest.newPortfolio(n, expected);
+
+        Optimisation.Options options = new Optimisation.Options();
+        options.convex().firstOrderTolerance(1E-8);
+
+        ADMMSolver solver = ADMMSolver.newBuilder(convex).build(options);
+
+        Optimisation.Result first = solver.solve(null);
+        TestUtils.assertStateNotLessThanOptimal(first);
+        TestUtils.assertStateAndSolution(convex.build().solve(), first, ACCURACY);
+
+        int iterations = solver.getStatistics().iterations;
+        int factorisations = solver.getStatistics().factorisations;
+
+        Uniform change = new Uniform(-0.01, 0.02);
+        for (int j = 0; j < n; j++) {
+            double value = expected.doubleValue(j) + change.doubleValue();
+            expected.set(j, value);
+            TestUtils.assertTrue(solver.updateObjective(j, value));
+        }
+        TestUtils.assertTrue(solver.updateEquality(0, 1.1));
+
+        ConvexSolver.Builder updated = ConvexSolver.newBuilder().objective(convex.getQ(), expected);
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1.0);
+        updated.equality(1.1, ones);
+        updated.inequalities(Primitive64Store.FACTORY.makeEye(n, n).negate(), Primitive64Store.FACTORY.make(n, 1));
+
+        Optimisation.Result second = solver.solve(null);
+        TestUtils.assertStateNotLessThanOptimal(second);
+        TestUtils.assertStateAndSolution(updated.build().solve(), second, ACCURACY);
+
+        if (DEBUG) {
+            BasicLogger.debug("Cold {} iterations, warm {}", iterations, solver.getStatistics().iterations);
+            BasicLogger.debug("Cold {} factorisations, total {}", factorisations, solver.getStatistics().factorisations);
+        }
+
+        TestUtils.assertTrue(solver.getStatistics().iterations < iterations);
+        TestUtils.assertFalse(solver.updateEquality(1, 1.0));
+        TestUtils.assertFalse(solver.updateObjective(n, 1.0));
+    }
+
+    @Test
+    public void testUnbounded() {
+
+        ADMMSolver.Builder builder = ADMMSolver.newBuilder(2);
+
+        // max x when x - y <= 1 and y <= x
+        builder.linear(1.0, 0.0);
+        builder.inequality(1.0, 1.0, -1.0);
+        builder.inequality(0.0, -1.0, 1.0);
+
+        Optimisation.Result result = builder.build().solve(null);
+
+        TestUtils.assertEquals(Optimisation.State.UNBOUNDED, result.getState());
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.ojalgo.optimisation.convex;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.structure.Access1D;
+import org.ojalgo.type.context.NumberContext;
+
+public class BatchSolverTest extends OptimisationConvexTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(7, 6);
+
+    private static double[] toArray(final MatrixStore<Double> matrix) {
+        // Row by row
+        return matrix.transpose().toRawCopy1D();
+    }
+
+    /**
+     * No [Q] – LP problems: max x + y (with different weights) when x + 2y <= 4 and 3x + y <= 6 and x,y >= 0
+     */
+    @Test
+    public void testLinear() {
+
+        double[] c = { 1.0, 1.0, 1.0, 0.0, 0.0, 1.0 };
+        double[] ai = { 1.0, 2.0, 3.0, 1.0, -1.0, 0.0, 0.0, -1.0 };
+        double[] bi = { 4.0, 6.0, 0.0, 0.0 };
+
+        BatchSolver.Results results = BatchSolver.newInstance(2, 0, 4).solve(3, null, c, null, null, ai, bi);
+
+        TestUtils.assertTrue(results.isFeasible());
+
+        TestUtils.assertEquals(1.6, results.doubleValue(0, 0), ACCURACY);
+        TestUtils.assertEquals(1.2, results.doubleValue(0, 1), ACCURACY);
+        TestUtils.assertEquals(-2.8, results.getValue(0), ACCURACY);
+
+        TestUtils.assertEquals(2.0, results.doubleValue(1, 0), ACCURACY);
+        TestUtils.assertEquals(-2.0, results.getValue(1), ACCURACY);
+
+        TestUtils.assertEquals(2.0, results.doubleValue(2, 1), ACCURACY);
+        TestUtils.assertEquals(-2.0, results.getValue(2), ACCURACY);
+    }
+
+    /**
+     * Many long-only portfolios with individual covariance matrices and expected returns. The constraints
+     * (budget and no shorting) are shared by all instances.
+     */
+    @Test
+    public void testPortfolios() {
+
+        int nbInstances = 300;
+        int n = 12;
+
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1.0);
+        MatrixStore<Double> mtrxAI = Primitive64Store.FACTORY.makeEye(n, n).negate();
+
+        MatrixStore<Double>[] covariances = new MatrixStore[nbInstances];
+        MatrixStore<Double>[] returns = new MatrixStore[nbInstances];
+
+        double[] q = new double[nbInstances * n * n];
+        double[] c = new double[nbInstances * n];
+
+        for (int i = 0; i < nbInstances; i++) {
+
+            Primitive64Store samples = Primitive64Store.FACTORY.makeFilled(2 * n, n, new Uniform(-0.1, 0.2));
+            covariances[i] = samples.transpose().multiply(samples);
+            returns[i] = Primitive64Store.FACTORY.makeFilled(n, 1, new Uniform(0.0, 0.1));
+
+            System.arraycopy(BatchSolverTest.toArray(covariances[i]), 0, q, i * n * n, n * n);
+            System.arraycopy(BatchSolverTest.toArray(returns[i]), 0, c, i * n, n);
+        }
+
+        BatchSolver.Results results = BatchSolver.newInstance(n, 1, n).solve(nbInstances, q, c, ones, new double[] { 1.0 },
+                BatchSolverTest.toArray(mtrxAI), new double[n]);
+
+        TestUtils.assertEquals(nbInstances, results.countRows());
+        TestUtils.assertEquals(n, results.countColumns());
+        TestUtils.assertTrue(results.isFeasible());
+
+        for (int i = 0; i < nbInstances; i += 29) {
+
+            ConvexSolver.Builder builder = ConvexSolver.newBuilder().objective(covariances[i], returns[i]);
+            builder.equality(1.0, ones);
+            builder.inequalities(mtrxAI, Primitive64Store.FACTORY.make(n, 1));
+
+            Optimisation.Result expected = builder.build().solve();
+
+            TestUtils.assertStateNotLessThanOptimal(expected);
+            TestUtils.assertEquals(expected.getState(), results.getState(i));
+            TestUtils.assertEquals(expected.getValue(), results.getValue(i), ACCURACY);
+            TestUtils.assertEquals(expected, Access1D.wrap(Arrays.copyOfRange(results.getSolutions(), i * n, (i + 1) * n)), ACCURACY);
+        }
+    }
+
+    @Test
+    public void testWrongDimensions() {
+
+        BatchSolver solver = BatchSolver.newInstance(2, 0, 1);
+
+        try {
+            solver.solve(3, null, new double[4], null, null, new double[2], new double[1]);
+            TestUtils.fail("[C] has neither 1 nor 3 instances!");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+}
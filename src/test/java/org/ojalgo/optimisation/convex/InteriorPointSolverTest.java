@@ -0,0 +1,193 @@
+package org.ojalgo.optimisation.convex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.Primitive64Store;
+import org.ojalgo.netio.BasicLogger;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.random.Uniform;
+import org.ojalgo.type.context.NumberContext;
+
+public class InteriorPointSolverTest extends OptimisationConvexTests {
+
+    private static final NumberContext ACCURACY = NumberContext.of(7, 6);
+
+    private static void doTest(final ExpressionsBasedModel model, final double expected, final NumberContext accuracy) {
+
+        if (DEBUG) {
+            model.options.debug(InteriorPointSolver.class);
+        }
+
+        TestUtils.assertTrue(InteriorPointSolver.INTEGRATION.isCapable(model));
+
+        InteriorPointSolver solver = InteriorPointSolver.INTEGRATION.build(model);
+        Optimisation.Result result = InteriorPointSolver.INTEGRATION.toModelState(solver.solve(null), model);
+
+        if (DEBUG) {
+            BasicLogger.debug("{} {}", result, solver.getStatistics());
+        }
+
+        TestUtils.assertStateNotLessThanOptimal(result);
+        TestUtils.assertTrue(model.validate(result, ACCURACY));
+        TestUtils.assertEquals(expected, model.objective().evaluate(result).doubleValue(), accuracy);
+    }
+
+    private static void doTest(final String name) {
+        InteriorPointSolverTest.doTest(name, ACCURACY);
+    }
+
+    private static void doTest(final String name, final NumberContext accuracy) {
+        InteriorPointSolverTest.doTest(CuteMarosMeszarosCase.makeModel(name), CuteMarosMeszarosCase.getModelInfo(name).OPT.doubleValue(), accuracy);
+    }
+
+    @Test
+    public void testAFIRO() throws IOException {
+
+        try (InputStream input = ExpressionsBasedModel.class.getResourceAsStream("/optimisation/netlib/AFIRO.SIF")) {
+
+            ExpressionsBasedModel model = ExpressionsBasedModel.parse(input, ExpressionsBasedModel.FileFormat.MPS);
+
+            InteriorPointSolverTest.doTest(model, -4.6475314286E+02, ACCURACY);
+        }
+    }
+
+    @Test
+    public void testAUG3DCQP() {
+        InteriorPointSolverTest.doTest("AUG3DCQP.SIF");
+    }
+
+    /**
+     * The ActiveSetSolver has difficulties with these (marked unstable in {@link CuteMarosMeszarosCase}).
+     */
+    @Test
+    public void testCVXQP_M() {
+        InteriorPointSolverTest.doTest("CVXQP1_M.SIF");
+        InteriorPointSolverTest.doTest("CVXQP2_M.SIF");
+        InteriorPointSolverTest.doTest("CVXQP3_M.SIF");
+    }
+
+    @Test
+    public void testDUALC1() {
+        InteriorPointSolverTest.doTest("DUALC1.SIF");
+    }
+
+    /**
+     * The solution found is (slightly) better than the reference optimal value.
+     */
+    @Test
+    public void testGOULDQP2() {
+        InteriorPointSolverTest.doTest("GOULDQP2.SIF", NumberContext.of(5, 8));
+    }
+
+    @Test
+    public void testHS() {
+        InteriorPointSolverTest.doTest("GENHS28.SIF");
+        InteriorPointSolverTest.doTest("HS21.SIF");
+        InteriorPointSolverTest.doTest("HS35.SIF");
+        InteriorPointSolverTest.doTest("HS76.SIF");
+    }
+
+    @Test
+    public void testInfeasible() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Variable x = model.addVariable("X").lower(0).upper(1);
+        Variable y = model.addVariable("Y").lower(0).upper(1);
+
+        Expression sum = model.addExpression("SUM").lower(3);
+        sum.set(x, 1);
+        sum.set(y, 1);
+
+        Expression objective = model.addExpression("OBJ").weight(1);
+        objective.set(x, x, 1);
+        objective.set(y, y, 1);
+
+        Optimisation.Result result = InteriorPointSolver.INTEGRATION.build(model).solve(null);
+
+        TestUtils.assertFalse(result.getState().isFeasible());
+    }
+
+    @Test
+    public void testMOSARQP2() {
+        InteriorPointSolverTest.doTest("MOSARQP2.SIF");
+    }
+
+    /**
+     * A long-only portfolio (sum of weights 1) solved by both the {@link ConvexSolver} and the
+     * {@link InteriorPointSolver} – the latter created from the former's builder.
+     */
+    @Test
+    public void testPortfolioSameAsConvexSolver() {
+
+        int n = 50;
+
+        Primitive64Store returns = Primitive64Store.FACTORY.makeFilled(2 * n, n, new Uniform(-0.1, 0.2));
+        MatrixStore<Double> covariance = returns.transpose().multiply(returns);
+        Primitive64Store expected = Primitive64Store.FACTORY.makeFilled(n, 1, new Uniform(0.0, 0.1));
+
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1.0);
+
+        ConvexSolver.Builder convex = ConvexSolver.newBuilder().objective(covariance, expected);
+        convex.equality(1.0, ones);
+        convex.inequalities(Primitive64Store.FACTORY.makeEye(n, n).negate(), Primitive64Store.FACTORY.make(n, 1));
+
+        Optimisation.Result activeSet = convex.build().solve();
+        Optimisation.Result interiorPoint = InteriorPointSolver.newBuilder(convex).build().solve();
+
+        TestUtils.assertStateNotLessThanOptimal(activeSet);
+        TestUtils.assertStateNotLessThanOptimal(interiorPoint);
+        TestUtils.assertEquals(activeSet.getValue(), interiorPoint.getValue(), ACCURACY);
+        TestUtils.assertStateAndSolution(activeSet, interiorPoint, NumberContext.of(5, 5));
+    }
+
+    @Test
+    public void testPRIMALC2() {
+        InteriorPointSolverTest.doTest("PRIMALC2.SIF");
+    }
+
+    @Test
+    public void testQADLITTL() {
+        InteriorPointSolverTest.doTest("QADLITTL.SIF");
+    }
+
+    @Test
+    public void testQAFIRO() {
+        InteriorPointSolverTest.doTest("QAFIRO.SIF");
+    }
+
+    @Test
+    public void testQBORE3D() {
+        InteriorPointSolverTest.doTest("QBORE3D.SIF");
+    }
+
+    @Test
+    public void testQPCBLEND() {
+        InteriorPointSolverTest.doTest("QPCBLEND.SIF");
+    }
+
+    @Test
+    public void testQRECIPE() {
+        InteriorPointSolverTest.doTest("QRECIPE.SIF");
+    }
+
+    @Test
+    public void testQSCTAP1() {
+        InteriorPointSolverTest.doTest("QSCTAP1.SIF");
+    }
+
+    @Test
+    public void testQSHARE1B() {
+        InteriorPointSolverTest.doTest("QSHARE1B.SIF");
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.structure.Access1D;
+
+public class CutSeparatorTest {
+
+    /**
+     * Verify that all integer points, within the variable bounds (assumed to be small), that satisfy the
+     * model constraints also satisfy the cuts.
+     */
+    private static void assertValid(final ExpressionsBasedModel model, final List<CutPool.Cut> cuts) {
+
+        int nbVars = model.countVariables();
+        int[] lower = new int[nbVars];
+        int[] upper = new int[nbVars];
+        for (int j = 0; j < nbVars; j++) {
+            lower[j] = model.getVariable(j).getLowerLimit().intValue();
+            upper[j] = model.getVariable(j).getUpperLimit().intValue();
+        }
+
+        double[] point = new double[nbVars];
+        for (int j = 0; j < nbVars; j++) {
+            point[j] = lower[j];
+        }
+
+        Access1D<Double> wrapped = Access1D.wrap(point);
+
+        while (true) {
+
+            if (model.constraints().allMatch(c -> CutSeparatorTest.isSatisfied(c, point))) {
+                for (CutPool.Cut cut : cuts) {
+                    TestUtils.assertTrue(cut.getName(), cut.efficacy(wrapped) <= 1E-9);
+                }
+            }
+
+            int j = 0;
+            while (j < nbVars && point[j] == upper[j]) {
+                point[j] = lower[j];
+                j++;
+            }
+            if (j == nbVars) {
+                return;
+            }
+            point[j]++;
+        }
+    }
+
+    private static boolean isSatisfied(final Expression constraint, final double[] point) {
+        double[] activity = { 0.0 };
+        constraint.loopLinear(false, (index, factor) -> activity[0] += factor * point[index]);
+        if (constraint.isLowerLimitSet() && activity[0] < constraint.getLowerLimit().doubleValue() - 1E-9) {
+            return false;
+        }
+        return !constraint.isUpperLimitSet() || activity[0] <= constraint.getUpperLimit().doubleValue() + 1E-9;
+    }
+
+    private static List<CutPool.Cut> separate(final CutSeparator separator, final double... point) {
+        CutPool pool = new CutPool(100, 10);
+        separator.separate(Access1D.wrap(point), pool);
+        return pool.select(Access1D.wrap(point), 100);
+    }
+
+    @Test
+    public void testClique() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+        Variable x1 = model.addVariable().binary();
+        Variable x2 = model.addVariable().binary();
+        Variable x3 = model.addVariable().binary();
+
+        model.addExpression().set(x1, 1).set(x2, 1).upper(1);
+        model.addExpression().set(x2, 1).set(x3, 1).upper(1);
+        model.addExpression().set(x1, 1).set(x3, 1).upper(1);
+
+        List<CutPool.Cut> cuts = CutSeparatorTest.separate(new CutSeparator.Clique(new CutSeparator.Rows(model)), 0.5, 0.5, 0.5);
+
+        TestUtils.assertEquals(1, cuts.size());
+        TestUtils.assertEquals(3, cuts.get(0).indices.length);
+        CutSeparatorTest.assertValid(model, cuts);
+    }
+
+    @Test
+    public void testKnapsackCover() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+        Variable x1 = model.addVariable().binary();
+        Variable x2 = model.addVariable().binary();
+        Variable x3 = model.addVariable().binary();
+        Variable x4 = model.addVariable().binary();
+
+        model.addExpression().set(x1, 3).set(x2, 4).set(x3, 5).set(x4, -2).upper(7);
+
+        List<CutPool.Cut> cuts = CutSeparatorTest.separate(new CutSeparator.KnapsackCover(new CutSeparator.Rows(model)), 1.0, 1.0, 0.4, 1.0);
+
+        TestUtils.assertFalse(cuts.isEmpty());
+        CutSeparatorTest.assertValid(model, cuts);
+    }
+
+    @Test
+    public void testMixedIntegerRounding() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+        Variable x1 = model.addVariable().integer().lower(0).upper(3);
+        Variable x2 = model.addVariable().integer().lower(0).upper(3);
+        Variable y = model.addVariable().lower(0).upper(1);
+
+        model.addExpression().set(x1, 2).set(x2, 2).set(y, -1).upper(3);
+
+        List<CutPool.Cut> cuts = CutSeparatorTest.separate(new CutSeparator.MixedIntegerRounding(new CutSeparator.Rows(model)), 0.75, 0.75, 0.0);
+
+        TestUtils.assertFalse(cuts.isEmpty());
+        CutSeparatorTest.assertValid(model, cuts);
+    }
+
+    @Test
+    public void testPoolDeduplicationAndAging() {
+
+        CutPool pool = new CutPool(100, 2);
+
+        TestUtils.assertTrue(pool.add(new int[] { 0, 1 }, new double[] { 1.0, 1.0 }, 1.0));
+        // Same cut, scaled and with the indices in a different order
+        TestUtils.assertFalse(pool.add(new int[] { 1, 0 }, new double[] { 2.0, 2.0 }, 2.0));
+        // Same left hand side, but tighter
+        TestUtils.assertTrue(pool.add(new int[] { 0, 1 }, new double[] { 1.0, 1.0 }, 1.5));
+        TestUtils.assertEquals(1, pool.countCuts());
+
+        Access1D<Double> satisfied = Access1D.wrap(new double[] { 1.0, 1.0 });
+        Access1D<Double> violated = Access1D.wrap(new double[] { 0.5, 0.5 });
+
+        TestUtils.assertEquals(1, pool.select(violated, 10).size());
+        TestUtils.assertEquals(0, pool.select(satisfied, 10).size());
+        TestUtils.assertEquals(0, pool.select(satisfied, 10).size());
+        TestUtils.assertEquals(1, pool.countCuts());
+        TestUtils.assertEquals(0, pool.select(satisfied, 10).size());
+        TestUtils.assertEquals(0, pool.countCuts());
+    }
+
+    @Test
+    public void testPoolRemove() {
+
+        CutPool pool = new CutPool(100, 10);
+
+        TestUtils.assertTrue(pool.add(new int[] { 0, 1 }, new double[] { 1.0, 1.0 }, 1.0));
+        TestUtils.assertTrue(pool.add(new int[] { 0, 1 }, new double[] { 1.0, -1.0 }, 0.5));
+
+        Access1D<Double> violated = Access1D.wrap(new double[] { 0.0, 0.0 });
+
+        List<CutPool.Cut> selected = pool.select(violated, 10);
+        TestUtils.assertEquals(2, selected.size());
+
+        pool.remove(selected.subList(0, 1));
+        TestUtils.assertEquals(1, pool.countCuts());
+        TestUtils.assertEquals(1, pool.select(violated, 10).size());
+
+        pool.remove(selected);
+        TestUtils.assertEquals(0, pool.countCuts());
+        TestUtils.assertEquals(0, pool.select(violated, 10).size());
+    }
+
+}
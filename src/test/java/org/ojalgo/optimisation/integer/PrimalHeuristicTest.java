@@ -0,0 +1,124 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+import org.ojalgo.optimisation.integer.IntegerStrategy.HeuristicConfiguration;
+import org.ojalgo.structure.Access1D;
+
+public class PrimalHeuristicTest {
+
+    private static final int[] VALUES = { 12, 9, 17, 4, 11, 8, 15, 6, 13, 10 };
+    private static final int[] WEIGHTS = { 7, 5, 11, 3, 6, 5, 9, 4, 8, 6 };
+
+    /**
+     * A knapsack (binary variables) with an additional continuous variable – capacity can be bought at a
+     * cost. Formulated as a minimisation problem.
+     */
+    private static ExpressionsBasedModel newKnapsack() {
+
+        ExpressionsBasedModel model = new ExpressionsBasedModel();
+
+        Expression capacity = model.addExpression("Capacity").upper(23);
+
+        for (int i = 0; i < VALUES.length; i++) {
+            Variable item = model.addVariable("Item" + i).binary().weight(-VALUES[i]);
+            capacity.set(item, WEIGHTS[i]);
+        }
+
+        Variable extra = model.addVariable("Extra").lower(0).upper(2.5).weight(3);
+        capacity.set(extra, -1);
+
+        return model;
+    }
+
+    private static Optimisation.Result search(final PrimalHeuristic heuristic, final Optimisation.Result incumbent) {
+
+        ExpressionsBasedModel model = PrimalHeuristicTest.newKnapsack();
+
+        Optimisation.Result relaxed = model.snapshot().prepare(NodeSolver::new).solve();
+        TestUtils.assertStateNotLessThanOptimal(relaxed);
+
+        PrimalHeuristic.Budget budget = new PrimalHeuristic.Budget(50, 10_000L, () -> false);
+
+        Optimisation.Result candidate = heuristic.search(model, relaxed, incumbent, IntegerStrategy.DEFAULT, budget);
+
+        if (candidate != null) {
+            TestUtils.assertTrue(model.validate(candidate));
+        }
+
+        return candidate;
+    }
+
+    @Test
+    public void testConfiguredSolve() {
+
+        ExpressionsBasedModel reference = PrimalHeuristicTest.newKnapsack();
+        reference.options.integer(IntegerStrategy.DEFAULT.withHeuristicConfiguration(new HeuristicConfiguration().withHeuristics()));
+        Optimisation.Result expected = reference.minimise();
+
+        for (PrimalHeuristic heuristic : new HeuristicConfiguration().heuristics) {
+
+            ExpressionsBasedModel model = PrimalHeuristicTest.newKnapsack();
+            HeuristicConfiguration configuration = new HeuristicConfiguration().withHeuristics(heuristic).withShare(1.0).withIterations(10);
+            model.options.integer(IntegerStrategy.DEFAULT.withHeuristicConfiguration(configuration));
+            Optimisation.Result actual = model.minimise();
+
+            TestUtils.assertStateNotLessThanOptimal(actual);
+            TestUtils.assertEquals(expected.getValue(), actual.getValue(), 1E-9);
+        }
+    }
+
+    @Test
+    public void testDiving() {
+        TestUtils.assertTrue(PrimalHeuristicTest.search(PrimalHeuristic.DIVING, null) != null);
+    }
+
+    @Test
+    public void testFeasibilityPump() {
+        TestUtils.assertTrue(PrimalHeuristicTest.search(PrimalHeuristic.FEASIBILITY_PUMP, null) != null);
+    }
+
+    @Test
+    public void testRINS() {
+
+        TestUtils.assertTrue(PrimalHeuristicTest.search(PrimalHeuristic.RINS, null) == null);
+
+        // Only the 4 lightest items
+        double[] values = new double[VALUES.length + 1];
+        values[1] = values[3] = values[7] = values[9] = 1.0;
+        Optimisation.Result incumbent = new Optimisation.Result(Optimisation.State.FEASIBLE, Access1D.wrap(values));
+
+        PrimalHeuristicTest.search(PrimalHeuristic.RINS, incumbent);
+    }
+
+    @Test
+    public void testRounding() {
+        PrimalHeuristicTest.search(PrimalHeuristic.ROUNDING, null);
+    }
+
+}
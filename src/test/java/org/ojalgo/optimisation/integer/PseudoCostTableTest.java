@@ -0,0 +1,87 @@
+/*
+ * Copyright 1997-2022 Optimatika
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.ojalgo.optimisation.integer;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+
+public class PseudoCostTableTest {
+
+    @Test
+    public void testAverages() {
+
+        PseudoCostTable table = new PseudoCostTable(3);
+
+        TestUtils.assertTrue(table.isEmpty());
+        TestUtils.assertEquals(1.0, table.getDown(0));
+        TestUtils.assertEquals(1.0, table.getUp(0));
+
+        table.add(0, false, 0.5, 1.0);
+        table.add(0, false, 0.25, 1.0);
+        table.add(1, true, 0.5, 3.0);
+
+        TestUtils.assertFalse(table.isEmpty());
+
+        TestUtils.assertEquals(3.0, table.getDown(0));
+        TestUtils.assertEquals(6.0, table.getUp(1));
+
+        // No observations for that variable/direction - the average of all variables
+        TestUtils.assertEquals(3.0, table.getDown(2));
+        TestUtils.assertEquals(6.0, table.getUp(0));
+
+        TestUtils.assertEquals(PseudoCostTable.score(3.0 * 0.4, 6.0 * 0.6), table.score(0, 0.4));
+    }
+
+    @Test
+    public void testConcurrentUpdates() {
+
+        PseudoCostTable table = new PseudoCostTable(2);
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> table.add(i % 2, i % 4 < 2, 0.5, 1.0));
+
+        TestUtils.assertEquals(2500L, table.countAttempts(0));
+        TestUtils.assertEquals(2500L, table.countAttempts(1));
+        TestUtils.assertEquals(2.0, table.getDown(0));
+        TestUtils.assertEquals(2.0, table.getUp(1));
+    }
+
+    @Test
+    public void testReliability() {
+
+        PseudoCostTable table = new PseudoCostTable(1);
+
+        table.add(0, false, 0.5, 1.0);
+        table.add(0, false, 0.5, Double.POSITIVE_INFINITY);
+        table.add(0, true, 0.5, Double.POSITIVE_INFINITY);
+
+        // Infeasible branches count as attempts, but are not observations
+        TestUtils.assertEquals(1L, table.countAttempts(0));
+        TestUtils.assertEquals(2.0, table.getDown(0));
+        // No (feasible) up observations at all
+        TestUtils.assertEquals(1.0, table.getUp(0));
+
+        TestUtils.assertEquals(1E-6 * 2.0, PseudoCostTable.score(0.0, 2.0));
+    }
+
+}
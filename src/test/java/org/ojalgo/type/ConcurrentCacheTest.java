@@ -0,0 +1,137 @@
+package org.ojalgo.type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.ojalgo.TestUtils;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void testExpireAndRefresh() throws InterruptedException {
+
+        AtomicInteger version = new AtomicInteger();
+
+        ConcurrentCache<String, String> cache = ConcurrentCache.<String, String> newBuilder(key -> key + version.incrementAndGet())
+                .reloader((key, previous) -> previous + "+" + version.incrementAndGet()).refreshAfterWrite(50L, CalendarDateUnit.MILLIS)
+                .expireAfterWrite(1L, CalendarDateUnit.HOUR).executor(Runnable::run).build();
+
+        TestUtils.assertEquals("A1", cache.get("A"));
+        TestUtils.assertEquals("A1", cache.get("A"));
+
+        Thread.sleep(60L);
+
+        // Refreshed (synchronously with this executor) but the previous value is returned
+        TestUtils.assertEquals("A1", cache.get("A"));
+        TestUtils.assertEquals("A1+2", cache.get("A"));
+        TestUtils.assertEquals(1L, cache.getStatistics().getRefreshCount());
+
+        ConcurrentCache<String, String> expiring = ConcurrentCache.<String, String> newBuilder(key -> key + version.incrementAndGet())
+                .expireAfterWrite(50L, CalendarDateUnit.MILLIS).build();
+
+        TestUtils.assertEquals("B3", expiring.get("B"));
+        TestUtils.assertEquals("B3", expiring.getIfPresent("B"));
+
+        Thread.sleep(60L);
+
+        TestUtils.assertTrue(expiring.getIfPresent("B") == null);
+        TestUtils.assertEquals("B4", expiring.get("B"));
+        TestUtils.assertEquals("B4", expiring.get("B"));
+        TestUtils.assertEquals(1L, expiring.getStatistics().getHitCount());
+        TestUtils.assertEquals(2L, expiring.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testLoadFailure() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        ConcurrentCache<Integer, Integer> cache = ConcurrentCache.<Integer, Integer> newBuilder(key -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return key;
+        }).build();
+
+        try {
+            cache.get(1);
+            TestUtils.fail();
+        } catch (IllegalStateException expected) {
+            // First attempt fails
+        }
+
+        TestUtils.assertEquals(1, cache.get(1).intValue());
+        TestUtils.assertEquals(1L, cache.getStatistics().getLoadFailureCount());
+    }
+
+    @Test
+    public void testMaximumWeight() {
+
+        ConcurrentCache<Integer, int[]> cache = ConcurrentCache.<Integer, int[]> newBuilder(key -> new int[key]).weigher(value -> value.length)
+                .maximumWeight(100L).build();
+
+        for (int i = 1; i <= 20; i++) {
+            cache.get(i);
+            TestUtils.assertTrue(cache.weight() <= 100L);
+        }
+
+        // The most recently accessed are kept
+        TestUtils.assertTrue(cache.getIfPresent(20) != null);
+        TestUtils.assertTrue(cache.getIfPresent(1) == null);
+        TestUtils.assertTrue(cache.getStatistics().getEvictionCount() > 0L);
+
+        cache.invalidateAll();
+        TestUtils.assertEquals(0L, cache.weight());
+        TestUtils.assertEquals(0L, cache.size());
+    }
+
+    /**
+     * Many threads asking for the same key at the same time – the loader should only be called once.
+     */
+    @Test
+    public void testSingleFlight() throws Exception {
+
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ConcurrentCache<String, Integer> cache = ConcurrentCache.<String, Integer> newBuilder(key -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException cause) {
+                throw new RuntimeException(cause);
+            }
+            return key.length();
+        }).build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("single");
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                TestUtils.assertEquals(6, result.get().intValue());
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+
+        TestUtils.assertEquals(1, loads.get());
+    }
+
+}